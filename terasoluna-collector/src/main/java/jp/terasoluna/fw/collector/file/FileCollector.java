@@ -16,14 +16,25 @@
 
 package jp.terasoluna.fw.collector.file;
 
+import java.beans.Introspector;
+import java.util.HashMap;
+
 import jp.terasoluna.fw.collector.AbstractCollector;
 import jp.terasoluna.fw.collector.LogId;
 import jp.terasoluna.fw.collector.exception.CollectorExceptionHandler;
+import jp.terasoluna.fw.collector.validate.ValidateErrorStatus;
 import jp.terasoluna.fw.collector.vo.DataValueObject;
+import jp.terasoluna.fw.file.annotation.ColumnConstraint;
+import jp.terasoluna.fw.file.dao.FileColumnConstraintException;
 import jp.terasoluna.fw.file.dao.FileLineIterator;
 import jp.terasoluna.fw.file.dao.FileQueryDAO;
 import jp.terasoluna.fw.logger.TLogger;
 
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MapBindingResult;
+
 /**
  * FileCollector.<br>
  * 独立した別スレッドを起動し、FileQueryDAOを非同期で実行する。
@@ -131,7 +142,20 @@ public class FileCollector<P> extends AbstractCollector<P> {
                 while (fli.hasNext()) {
                     dataCount++;
                     try {
-                        Object value = fli.next();
+                        Object value = null;
+                        try {
+                            value = fli.next();
+                        } catch (FileColumnConstraintException e) {
+                            // 入力チェックエラーハンドラがない場合は、他の例外と同様にキューにつめる
+                            if (this.validationErrorHandler == null) {
+                                throw e;
+                            }
+                            // カラムの制約を満たさない行は、入力チェックエラーとして処理する
+                            if (handleColumnConstraintError(e, dataCount)) {
+                                continue;
+                            }
+                            break;
+                        }
 
                         // 取得したデータを1件キューにつめる
                         addQueue(new DataValueObject(value, dataCount));
@@ -186,4 +210,71 @@ public class FileCollector<P> extends AbstractCollector<P> {
 
         return Integer.valueOf(0);
     }
+
+    /**
+     * カラムの制約を満たさない行の入力チェックエラー時の処理.<br>
+     * <p>
+     * ファイル行オブジェクトへの値の格納前に検出した制約違反をFieldErrorとして持つErrorsを生成し、
+     * 入力チェックエラーハンドラに渡す。<br>
+     * 値を格納していないため、ValidateErrorStatusがCONTINUEの場合もSKIPと同様にキューにつめない。
+     * </p>
+     * @param exception FileColumnConstraintException
+     * @param dataCount データ件数
+     * @return 次の行を読む場合はtrue、ValidateErrorStatusがENDの場合はfalse
+     * @throws InterruptedException キューイングを中断した場合
+     */
+    protected boolean handleColumnConstraintError(
+            FileColumnConstraintException exception, long dataCount)
+                                                                      throws InterruptedException {
+        DataValueObject dataValueObject = new DataValueObject((Object) null, dataCount);
+        ValidateErrorStatus vs = null;
+        try {
+            vs = handleValidationError(dataValueObject,
+                    createColumnConstraintErrors(exception));
+        } catch (Exception e) {
+            // 発生した例外を設定し1件キューにつめる
+            dataValueObject.setThrowable(e);
+            addQueue(dataValueObject);
+            return true;
+        }
+
+        if (ValidateErrorStatus.END.equals(vs)) {
+            addQueue(new DataValueObject(vs));
+            // 強制停止（以降のキューイングを強制停止）
+            setFinish(true);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * カラムの制約違反からErrorsを生成する.<br>
+     * <p>
+     * エラーコードは「errors.」に制約のルール名を付加したものとする。<br>
+     * 半角文字の制約はファイルエンコーディングで1バイトとなる文字で判定するため、
+     * 入力チェックの「errors.hankakuString」ではなく「errors.singleByteString」とする。<br>
+     * メッセージの引数はカラム名とする。最大バイト数の制約の場合は、
+     * 「errors.byteRange」のメッセージに合わせてカラム名・最小バイト数(0)・最大バイト数とする。
+     * </p>
+     * @param exception FileColumnConstraintException
+     * @return Errors
+     */
+    protected Errors createColumnConstraintErrors(
+            FileColumnConstraintException exception) {
+        String objectName = Introspector.decapitalize(this.clazz
+                .getSimpleName());
+        BindingResult errors = new MapBindingResult(new HashMap<String, Object>(), objectName);
+        String code = "errors." + exception.getConstraint().getRuleName();
+        Object[] args;
+        if (ColumnConstraint.MAX_BYTES.equals(exception.getConstraint())) {
+            args = new Object[] { exception.getColumnName(), 0, exception
+                    .getMaxBytes() };
+        } else {
+            args = new Object[] { exception.getColumnName() };
+        }
+        errors.addError(new FieldError(objectName, exception
+                .getColumnName(), exception.getRejectedValue(), false, new String[] { code }, args, exception
+                        .getMessage()));
+        return errors;
+    }
 }
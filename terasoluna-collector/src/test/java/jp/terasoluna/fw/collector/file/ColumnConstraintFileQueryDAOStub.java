@@ -0,0 +1,56 @@
+package jp.terasoluna.fw.collector.file;
+
+import java.util.List;
+
+import jp.terasoluna.fw.file.annotation.ColumnConstraint;
+import jp.terasoluna.fw.file.dao.FileColumnConstraintException;
+import jp.terasoluna.fw.file.dao.FileLineIterator;
+import jp.terasoluna.fw.file.dao.FileQueryDAO;
+
+/**
+ * 2行目でカラムの制約違反が発生する3行のファイルを読み込むFileQueryDAOのスタブ。
+ */
+public class ColumnConstraintFileQueryDAOStub implements FileQueryDAO {
+
+    public <T> FileLineIterator<T> execute(final String fileName,
+            final Class<T> clazz) {
+        return new FileLineIterator<T>() {
+
+            private int lineCount = 0;
+
+            public boolean hasNext() {
+                return lineCount < 3;
+            }
+
+            @SuppressWarnings("unchecked")
+            public T next() {
+                lineCount++;
+                if (lineCount == 2) {
+                    throw new FileColumnConstraintException("Column data violates a constraint.", fileName, lineCount, "familyname", 1, ColumnConstraint.REQUIRED, "");
+                }
+                B000001Data data = new B000001Data();
+                data.setId(lineCount);
+                data.setFamilyname("family" + lineCount);
+                data.setFirstname("first" + lineCount);
+                return (T) data;
+            }
+
+            public void remove() {
+            }
+
+            public List<String> getHeader() {
+                return null;
+            }
+
+            public List<String> getTrailer() {
+                return null;
+            }
+
+            public void skip(int skipLines) {
+            }
+
+            public void closeFile() {
+            }
+        };
+    }
+}
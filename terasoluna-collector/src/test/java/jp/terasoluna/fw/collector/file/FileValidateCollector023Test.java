@@ -0,0 +1,153 @@
+package jp.terasoluna.fw.collector.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jp.terasoluna.fw.collector.Collector;
+import jp.terasoluna.fw.collector.validate.ValidateErrorStatus;
+import jp.terasoluna.fw.file.annotation.ColumnConstraint;
+import jp.terasoluna.fw.file.dao.FileColumnConstraintException;
+
+import org.junit.Test;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+/**
+ * FileValidateCollectorのカラムの制約違反の処理のテスト。
+ */
+public class FileValidateCollector023Test {
+
+    /**
+     * コレクタからすべてのデータを取得する。
+     * @param collector コレクタ
+     * @return 取得したデータのID
+     */
+    private List<Integer> collect(Collector<B000001Data> collector) {
+        List<Integer> ids = new ArrayList<Integer>();
+        try {
+            while (collector.hasNext()) {
+                ids.add(collector.next().getId());
+            }
+        } finally {
+            FileValidateCollector.closeQuietly(collector);
+        }
+        return ids;
+    }
+
+    /**
+     * 制約違反の行がValidationErrorHandlerに通知され、スキップされること。
+     */
+    @Test
+    public void testFileValidateCollector023Skip() throws Exception {
+        SkipValidationErrorHandler validationErrorHandler = new SkipValidationErrorHandler(ValidateErrorStatus.SKIP);
+
+        List<Integer> ids = collect(new FileValidateCollector<B000001Data>(new ColumnConstraintFileQueryDAOStub(), "constraint.csv", B000001Data.class, new ValidatorStub(), validationErrorHandler));
+
+        assertEquals(2, ids.size());
+        assertEquals(Integer.valueOf(1), ids.get(0));
+        assertEquals(Integer.valueOf(3), ids.get(1));
+        assertEquals(1, validationErrorHandler.getErrorFieldCount());
+        Errors[] errors = validationErrorHandler.getErrors();
+        assertEquals(1, errors.length);
+        FieldError fieldError = errors[0].getFieldError();
+        assertEquals("b000001Data", fieldError.getObjectName());
+        assertEquals("familyname", fieldError.getField());
+        assertEquals("errors.required", fieldError.getCode());
+        assertEquals("", fieldError.getRejectedValue());
+        assertArrayEquals(new Object[] { "familyname" }, fieldError
+                .getArguments());
+    }
+
+    /**
+     * 最大バイト数の制約違反の場合、「errors.byteRange」の引数にカラム名・最小バイト数・最大バイト数が設定されること。
+     */
+    @Test
+    public void testFileCollector023MaxBytes() throws Exception {
+        FileCollector<B000001Data> collector = new FileCollector<B000001Data>(new ColumnConstraintFileQueryDAOStub(), "constraint.csv", B000001Data.class);
+        try {
+            Errors errors = collector.createColumnConstraintErrors(new FileColumnConstraintException("Column data violates a constraint.", "constraint.csv", 2, "familyname", 1, ColumnConstraint.MAX_BYTES, "abcdefghijk", 10));
+
+            FieldError fieldError = errors.getFieldError();
+            assertEquals("familyname", fieldError.getField());
+            assertEquals("errors.byteRange", fieldError.getCode());
+            assertEquals("abcdefghijk", fieldError.getRejectedValue());
+            assertArrayEquals(new Object[] { "familyname", 0, 10 }, fieldError
+                    .getArguments());
+        } finally {
+            FileCollector.closeQuietly(collector);
+        }
+    }
+
+    /**
+     * 半角文字の制約違反の場合、入力チェックの「errors.hankakuString」と区別して「errors.singleByteString」が設定されること。
+     */
+    @Test
+    public void testFileCollector023SingleByteString() throws Exception {
+        FileCollector<B000001Data> collector = new FileCollector<B000001Data>(new ColumnConstraintFileQueryDAOStub(), "constraint.csv", B000001Data.class);
+        try {
+            Errors errors = collector.createColumnConstraintErrors(new FileColumnConstraintException("Column data violates a constraint.", "constraint.csv", 2, "familyname", 1, ColumnConstraint.HANKAKU_STRING, "abc\u3042"));
+
+            FieldError fieldError = errors.getFieldError();
+            assertEquals("familyname", fieldError.getField());
+            assertEquals("errors.singleByteString", fieldError.getCode());
+            assertEquals("abc\u3042", fieldError.getRejectedValue());
+            assertArrayEquals(new Object[] { "familyname" }, fieldError
+                    .getArguments());
+        } finally {
+            FileCollector.closeQuietly(collector);
+        }
+    }
+
+    /**
+     * ValidateErrorStatusがCONTINUEの場合も、値を格納していない制約違反の行はキューにつめないこと。
+     */
+    @Test
+    public void testFileValidateCollector023Continue() throws Exception {
+        SkipValidationErrorHandler validationErrorHandler = new SkipValidationErrorHandler(ValidateErrorStatus.CONTINUE);
+
+        List<Integer> ids = collect(new FileValidateCollector<B000001Data>(new ColumnConstraintFileQueryDAOStub(), "constraint.csv", B000001Data.class, new ValidatorStub(), validationErrorHandler));
+
+        assertEquals(2, ids.size());
+        assertEquals(1, validationErrorHandler.getErrorFieldCount());
+    }
+
+    /**
+     * ValidateErrorStatusがENDの場合、制約違反の行で読み込みを終了すること。
+     */
+    @Test
+    public void testFileValidateCollector023End() throws Exception {
+        SkipValidationErrorHandler validationErrorHandler = new SkipValidationErrorHandler(ValidateErrorStatus.END);
+
+        List<Integer> ids = collect(new FileValidateCollector<B000001Data>(new ColumnConstraintFileQueryDAOStub(), "constraint.csv", B000001Data.class, new ValidatorStub(), validationErrorHandler));
+
+        assertEquals(1, ids.size());
+        assertEquals(Integer.valueOf(1), ids.get(0));
+        assertEquals(1, validationErrorHandler.getErrorFieldCount());
+    }
+
+    /**
+     * ValidationErrorHandlerがない場合、制約違反は従来どおり例外として通知されること。
+     */
+    @Test
+    public void testFileCollector023NoHandler() throws Exception {
+        Collector<B000001Data> collector = new FileCollector<B000001Data>(new ColumnConstraintFileQueryDAOStub(), "constraint.csv", B000001Data.class);
+        try {
+            assertEquals(1, collector.next().getId());
+            try {
+                collector.next();
+                fail("FileColumnConstraintExceptionがスローされませんでした。");
+            } catch (FileColumnConstraintException e) {
+                assertSame(ColumnConstraint.REQUIRED, e.getConstraint());
+                assertNull(e.getCause().getMessage());
+            }
+        } finally {
+            FileCollector.closeQuietly(collector);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.util;
+
+/**
+ * 文字種別の判定テーブル。
+ *
+ * <p>
+ *  指定された文字の集合を、基本多言語面(&yen;u0000～&yen;uffff)の
+ *  ビット集合として保持し、文字が集合に含まれるかを
+ *  1文字あたり定数時間で判定する。
+ * </p>
+ * <p>
+ *  生成後は変更されないため、複数スレッドから共有できる。
+ * </p>
+ */
+public final class CharacterClassTable {
+
+    /**
+     * ビット集合の要素数(65536ビット)。
+     */
+    private static final int WORDS = 1 << 10;
+
+    /**
+     * 判定テーブルの元になった文字列。
+     */
+    private final String chars;
+
+    /**
+     * 文字コードをビット位置とするビット集合。
+     */
+    private final long[] bits = new long[WORDS];
+
+    /**
+     * 文字列に含まれる文字の集合から判定テーブルを生成する。
+     *
+     * @param chars 集合に含める文字を並べた文字列
+     */
+    public CharacterClassTable(String chars) {
+        if (chars == null) {
+            throw new IllegalArgumentException("chars is null.");
+        }
+        this.chars = chars;
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            bits[c >>> 6] |= 1L << c;
+        }
+    }
+
+    /**
+     * 指定された文字が集合に含まれるかを判定する。
+     *
+     * @param c 文字
+     * @return 集合に含まれる場合は <code>true</code>
+     */
+    public boolean contains(char c) {
+        return (bits[c >>> 6] & (1L << c)) != 0;
+    }
+
+    /**
+     * 文字列のすべての文字が集合に含まれるかを判定する。
+     *
+     * <p>
+     *  空文字列の場合は <code>true</code> を返す。
+     * </p>
+     *
+     * @param value 文字列
+     * @return すべての文字が集合に含まれる場合は <code>true</code>
+     */
+    public boolean containsAll(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!contains(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判定テーブルの元になった文字列を取得する。
+     *
+     * @return 判定テーブルの元になった文字列
+     */
+    public String getChars() {
+        return chars;
+    }
+}
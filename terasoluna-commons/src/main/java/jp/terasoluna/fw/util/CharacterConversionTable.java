@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.util;
+
+/**
+ * 文字の変換テーブル。
+ *
+ * <p>
+ *  変換元の文字と変換後の文字列の対応を、文字コードの上位8ビットで
+ *  区切ったページ単位の配列として保持し、1文字あたり定数時間で
+ *  変換後の文字列を取得する。変換元の文字を含まないページは生成しない。
+ * </p>
+ * <p>
+ *  同じ変換元の文字を複数回登録した場合は、最初に登録した
+ *  変換後の文字列を有効とする。<br>
+ *  登録処理はスレッドセーフではないため、すべての登録を終えてから
+ *  複数スレッドで共有すること。
+ * </p>
+ */
+public final class CharacterConversionTable {
+
+    /**
+     * 1ページあたりの文字数。
+     */
+    private static final int PAGE_SIZE = 1 << 8;
+
+    /**
+     * 変換後の文字列のページ。
+     */
+    private final String[][] pages = new String[PAGE_SIZE][];
+
+    /**
+     * 変換元の文字と変換後の文字列の対応を登録する。
+     *
+     * @param from 変換元の文字
+     * @param to 変換後の文字列
+     */
+    public void put(char from, String to) {
+        if (to == null) {
+            throw new IllegalArgumentException("to is null.");
+        }
+        String[] page = pages[from >>> 8];
+        if (page == null) {
+            page = new String[PAGE_SIZE];
+            pages[from >>> 8] = page;
+        }
+        if (page[from & 0xff] == null) {
+            page[from & 0xff] = to;
+        }
+    }
+
+    /**
+     * 変換元の文字列と変換後の文字列の同じ位置の文字同士の対応を登録する。
+     *
+     * @param from 変換元の文字を並べた文字列
+     * @param to 変換後の文字を並べた文字列
+     * @param suffix 変換後の文字に付加する文字列
+     */
+    public void putAll(String from, String to, String suffix) {
+        if (from == null || to == null || suffix == null
+                || from.length() != to.length()) {
+            throw new IllegalArgumentException(
+                    "from and to must have the same length.");
+        }
+        for (int i = 0; i < from.length(); i++) {
+            put(from.charAt(i), to.charAt(i) + suffix);
+        }
+    }
+
+    /**
+     * 指定された文字の変換後の文字列を取得する。
+     *
+     * @param c 変換元の文字
+     * @return 変換後の文字列。登録されていない場合は <code>null</code>
+     */
+    public String get(char c) {
+        String[] page = pages[c >>> 8];
+        if (page == null) {
+            return null;
+        }
+        return page[c & 0xff];
+    }
+}
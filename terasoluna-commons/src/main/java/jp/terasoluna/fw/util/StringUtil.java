@@ -104,6 +104,58 @@ public class StringUtil {
      */
     private static final String HANKAKU_HA_LIST = "ﾊﾋﾌﾍﾎ";
 
+    /**
+     * 半角文字リストから全角文字リストへの変換テーブル。
+     */
+    private static final CharacterConversionTable ZENKAKU_TABLE =
+        new CharacterConversionTable();
+
+    /**
+     * 半角カナ(ｶ､ｻ､ﾀ､ﾊ)行とｳから全角カナ(カ、サ、タ、ハ)行とウへの変換テーブル。
+     */
+    private static final CharacterConversionTable ZENKAKU_KASATAHA_TABLE =
+        new CharacterConversionTable();
+
+    /**
+     * 半角カナ(ｶ､ｻ､ﾀ､ﾊ)行とｳから全角カナ(ガ、ザ、ダ、バ)行とヴへの変換テーブル。
+     */
+    private static final CharacterConversionTable ZENKAKU_DAKU_TABLE =
+        new CharacterConversionTable();
+
+    /**
+     * 半角カナ(ﾊ)行から全角カナ(パ)行への変換テーブル。
+     */
+    private static final CharacterConversionTable ZENKAKU_HANDAKU_TABLE =
+        new CharacterConversionTable();
+
+    /**
+     * 全角文字から半角文字への変換テーブル。
+     */
+    private static final CharacterConversionTable HANKAKU_TABLE =
+        new CharacterConversionTable();
+
+    static {
+        // 文字リストの検索を1文字ごとに行わないよう、変換テーブルを生成する。
+        ZENKAKU_TABLE.putAll(HANKAKU_LIST, ZENKAKU_LIST, "");
+        ZENKAKU_KASATAHA_TABLE.putAll(HANKAKU_KASATAHA_LIST,
+                ZENKAKU_KASATAHA_LIST, "");
+        ZENKAKU_DAKU_TABLE.putAll(HANKAKU_KASATAHA_LIST,
+                ZENKAKU_GAZADABA_LIST, "");
+        ZENKAKU_HANDAKU_TABLE.putAll(HANKAKU_HA_LIST, ZENKAKU_PA_LIST, "");
+
+        // 登録順は getHankakuMoji の判定順と同じとする。
+        HANKAKU_TABLE.putAll(ZENKAKU_LIST, HANKAKU_LIST, "");
+        HANKAKU_TABLE.putAll(ZENKAKU_KASATAHA_LIST, HANKAKU_KASATAHA_LIST,
+                "");
+        HANKAKU_TABLE.putAll(ZENKAKU_GAZADABA_LIST, HANKAKU_KASATAHA_LIST,
+                "ﾞ");
+        HANKAKU_TABLE.putAll(ZENKAKU_PA_LIST, HANKAKU_HA_LIST, "ﾟ");
+        HANKAKU_TABLE.put('ワ', "ﾜ");
+        HANKAKU_TABLE.put('ヲ', "ｦ");
+        HANKAKU_TABLE.put(ZENKAKU_WA_DAKUTEN.charValue(), "ﾜﾞ");
+        HANKAKU_TABLE.put(ZENKAKU_WO_DAKUTEN.charValue(), "ｦﾞ");
+    }
+
     /**
      * 指定された文字が半角スペースかどうかを判別する。
      * この StringUtil のトリム系メソッドで共通で利用する。
@@ -653,13 +705,7 @@ public class StringUtil {
      * @return 全角文字
      */
     private static String getZenkakuMoji(char c) {
-
-        int index = HANKAKU_LIST.indexOf(c);
-
-        if (index >= 0) {
-            return String.valueOf(ZENKAKU_LIST.charAt(index));
-        }
-        return null;
+        return ZENKAKU_TABLE.get(c);
     }
 
     /**
@@ -671,12 +717,7 @@ public class StringUtil {
      * @return 全角文字
      */
     private static String getZenkakuDakuMoji(char c) {
-
-        int index = HANKAKU_KASATAHA_LIST.indexOf(c);
-        if (index >= 0) {
-            return String.valueOf(ZENKAKU_GAZADABA_LIST.charAt(index));
-        }
-        return null;
+        return ZENKAKU_DAKU_TABLE.get(c);
     }
 
     /**
@@ -688,12 +729,7 @@ public class StringUtil {
      * @return 全角文字
      */
     private static String getZenkakuHandakuMoji(char c) {
-
-        int index = HANKAKU_HA_LIST.indexOf(c);
-        if (index >= 0) {
-            return String.valueOf(ZENKAKU_PA_LIST.charAt(index));
-        }
-        return null;
+        return ZENKAKU_HANDAKU_TABLE.get(c);
     }
 
     /**
@@ -705,12 +741,7 @@ public class StringUtil {
      * @return 全角文字
      */
     private static String getZenkakuKasatahaMoji(char c) {
-
-        int index = HANKAKU_KASATAHA_LIST.indexOf(c);
-        if (index >= 0) {
-            return String.valueOf(ZENKAKU_KASATAHA_LIST.charAt(index));
-        }
-        return null;
+        return ZENKAKU_KASATAHA_TABLE.get(c);
     }
 
     /**
@@ -730,49 +761,7 @@ public class StringUtil {
      * @return 半角文字
      */
     private static String getHankakuMoji(char c) {
-
-        int index = 0;
-        String value = null;
-
-        index = ZENKAKU_LIST.indexOf(c);
-        if (index >= 0) {
-            return String.valueOf(HANKAKU_LIST.charAt(index));
-        }
-
-        index = ZENKAKU_KASATAHA_LIST.indexOf(c);
-        if (index >= 0) {
-            // カキクケコサシスセソタチツテトハヒフヘホウ
-            return String.valueOf(HANKAKU_KASATAHA_LIST.charAt(index));
-        }
-
-        index = ZENKAKU_GAZADABA_LIST.indexOf(c);
-        if (index >= 0) {
-            // ガギグゲゴザジズゼゾ"ダヂヅデドバビブベボヴ
-            value = String.valueOf(HANKAKU_KASATAHA_LIST.charAt(index));
-            return value + "ﾞ";
-        }
-
-        index = ZENKAKU_PA_LIST.indexOf(c);
-        if (index >= 0) {
-            // パピプペポ
-            value = String.valueOf(HANKAKU_HA_LIST.charAt(index));
-            return value + "ﾟ";
-        } else if ((Character.valueOf(c)).equals(Character.valueOf('ワ'))) {
-            // ワ
-            return "ﾜ";
-        } else if ((Character.valueOf(c)).equals(Character.valueOf('ヲ'))) {
-            // ヲ
-            return "ｦ";
-        } else if ((Character.valueOf(c)).equals(ZENKAKU_WA_DAKUTEN)) {
-            // ワ"[\u30f7]
-            return "ﾜﾞ";
-        } else if ((Character.valueOf(c)).equals(ZENKAKU_WO_DAKUTEN)) {
-            // ヲ"[\u30fa]
-            return "ｦﾞ";
-        } else {
-            // 該当なし
-            return null;
-        }
+        return HANKAKU_TABLE.get(c);
     }
 
     /**
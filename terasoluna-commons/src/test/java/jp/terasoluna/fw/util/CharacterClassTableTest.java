@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2007 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * CharacterClassTable ブラックボックステスト。<br>
+ */
+public class CharacterClassTableTest {
+
+    /**
+     * testContains01() (正常系)<br>
+     * 観点：A<br>
+     * 入力値：集合に含まれる文字、含まれない文字<br>
+     * 期待値：含まれる文字はtrue、含まれない文字はfalse<br>
+     * 基本多言語面の先頭・末尾を含む文字の判定を確認する。
+     * @throws Exception 例外
+     */
+    @Test
+    public void testContains01() throws Exception {
+        // 入力値の設定
+        CharacterClassTable table = new CharacterClassTable("\u0000Aｱア￿");
+
+        // テスト実行と結果確認
+        assertTrue(table.contains('\u0000'));
+        assertTrue(table.contains('A'));
+        assertTrue(table.contains('ｱ'));
+        assertTrue(table.contains('ア'));
+        assertTrue(table.contains('￿'));
+        assertFalse(table.contains('B'));
+        assertFalse(table.contains('@'));
+        assertFalse(table.contains('ｲ'));
+        assertFalse(table.contains('￾'));
+        assertEquals("\u0000Aｱア￿", table.getChars());
+    }
+
+    /**
+     * testContainsAll01() (正常系)<br>
+     * 観点：A<br>
+     * 入力値：すべての文字が集合に含まれる文字列、含まれない文字を持つ文字列、空文字列<br>
+     * 期待値：true、false、true<br>
+     * 文字列の判定を確認する。
+     * @throws Exception 例外
+     */
+    @Test
+    public void testContainsAll01() throws Exception {
+        // 入力値の設定
+        CharacterClassTable table = new CharacterClassTable("アイウ");
+
+        // テスト実行と結果確認
+        assertTrue(table.containsAll("ウイア"));
+        assertFalse(table.containsAll("アイエ"));
+        assertTrue(table.containsAll(""));
+    }
+
+    /**
+     * testCharacterClassTable01() (異常系)<br>
+     * 観点：G<br>
+     * 入力値：null<br>
+     * 期待値：IllegalArgumentException<br>
+     * 文字列がnullの場合に例外が発生することを確認する。
+     * @throws Exception 例外
+     */
+    @Test
+    public void testCharacterClassTable01() throws Exception {
+        try {
+            // テスト実行
+            new CharacterClassTable(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // 結果確認
+            assertEquals("chars is null.", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2007 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * CharacterConversionTable ブラックボックステスト。<br>
+ */
+public class CharacterConversionTableTest {
+
+    /**
+     * testGet01() (正常系)<br>
+     * 観点：A<br>
+     * 入力値：登録済みの文字、未登録の文字(登録済みのページ、未登録のページ)<br>
+     * 期待値：登録した文字列、null<br>
+     * 変換後の文字列が取得できることを確認する。
+     * @throws Exception 例外
+     */
+    @Test
+    public void testGet01() throws Exception {
+        // 入力値の設定
+        CharacterConversionTable table = new CharacterConversionTable();
+        table.putAll("ｶｷ", "カキ", "");
+        table.put('ガ', "ｶﾞ");
+
+        // テスト実行と結果確認
+        assertEquals("カ", table.get('ｶ'));
+        assertEquals("キ", table.get('ｷ'));
+        assertEquals("ｶﾞ", table.get('ガ'));
+        assertNull(table.get('ｸ'));
+        assertNull(table.get('A'));
+    }
+
+    /**
+     * testPut01() (正常系)<br>
+     * 観点：C<br>
+     * 入力値：同じ変換元の文字を2回登録<br>
+     * 期待値：最初に登録した文字列<br>
+     * 最初に登録した変換後の文字列が有効であることを確認する。
+     * @throws Exception 例外
+     */
+    @Test
+    public void testPut01() throws Exception {
+        // 入力値の設定
+        CharacterConversionTable table = new CharacterConversionTable();
+        table.putAll("ｶｶ", "カガ", "");
+        table.putAll("ｶ", "ｶ", "ﾞ");
+
+        // テスト実行と結果確認
+        assertEquals("カ", table.get('ｶ'));
+    }
+
+    /**
+     * testPutAll01() (正常系)<br>
+     * 観点：A<br>
+     * 入力値：付加する文字列「ﾞ」<br>
+     * 期待値：変換後の文字に「ﾞ」が付加された文字列<br>
+     * 付加する文字列が変換後の文字列に付加されることを確認する。
+     * @throws Exception 例外
+     */
+    @Test
+    public void testPutAll01() throws Exception {
+        // 入力値の設定
+        CharacterConversionTable table = new CharacterConversionTable();
+        table.putAll("ガギ", "ｶｷ", "ﾞ");
+
+        // テスト実行と結果確認
+        assertEquals("ｶﾞ", table.get('ガ'));
+        assertEquals("ｷﾞ", table.get('ギ'));
+    }
+
+    /**
+     * testPutAll02() (異常系)<br>
+     * 観点：G<br>
+     * 入力値：長さが異なる変換元・変換後の文字列<br>
+     * 期待値：IllegalArgumentException<br>
+     * 変換元と変換後の文字数が異なる場合に例外が発生することを確認する。
+     * @throws Exception 例外
+     */
+    @Test
+    public void testPutAll02() throws Exception {
+        try {
+            // テスト実行
+            new CharacterConversionTable().putAll("ｶｷ", "カ", "");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // 結果確認
+            assertEquals("from and to must have the same length.", e
+                    .getMessage());
+        }
+    }
+}
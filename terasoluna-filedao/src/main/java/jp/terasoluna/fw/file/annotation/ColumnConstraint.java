@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.annotation;
+
+/**
+ * カラムの制約種別。<br>
+ * <br>
+ * <code>@InputFileColumn</code>に設定する、読み込み時に検査するカラムの制約(必須/最大バイト数/数字/半角文字[REQUIRED/MAX_BYTES/NUMERIC_STRING/HANKAKU_STRING])を示す。<br>
+ * 制約違反のエラーコードに用いるルール名を持つ。
+ */
+public enum ColumnConstraint {
+    /**
+     * 必須
+     */
+    REQUIRED("required"),
+
+    /**
+     * 最大バイト数
+     */
+    MAX_BYTES("byteRange"),
+
+    /**
+     * 数字
+     */
+    NUMERIC_STRING("numericString"),
+
+    /**
+     * 半角文字(ファイルエンコーディングで1バイトとなる文字)
+     * <p>
+     * 入力チェックの<code>hankakuString</code>とは半角文字の定義が異なるため、別のルール名とする。
+     * </p>
+     */
+    HANKAKU_STRING("singleByteString");
+
+    /**
+     * ルール名。
+     */
+    private final String ruleName;
+
+    /**
+     * コンストラクタ。
+     * @param ruleName ルール名
+     */
+    private ColumnConstraint(String ruleName) {
+        this.ruleName = ruleName;
+    }
+
+    /**
+     * ルール名を取得する。<br>
+     * 半角文字以外は、対応する入力チェックのルール名と同じ。
+     * @return ルール名
+     */
+    public String getRuleName() {
+        return ruleName;
+    }
+}
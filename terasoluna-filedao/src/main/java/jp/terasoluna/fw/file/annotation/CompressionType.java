@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.annotation;
+
+/**
+ * 圧縮種別。<br>
+ * <br>
+ * 入出力ファイルの圧縮形式(圧縮なし/GZIP/拡張子による自動判定[NONE/GZIP/AUTO])を示す。
+ */
+public enum CompressionType {
+    /**
+     * 圧縮なし
+     */
+    NONE,
+
+    /**
+     * GZIP形式
+     */
+    GZIP,
+
+    /**
+     * 拡張子による自動判定(「.gz」の場合はGZIP形式、それ以外は圧縮なし)
+     */
+    AUTO;
+
+    /**
+     * GZIP形式の拡張子。
+     */
+    private static final String GZIP_SUFFIX = ".gz";
+
+    /**
+     * ファイル名から、入出力に適用する圧縮種別を判定する。<br>
+     * AUTOの場合は拡張子から判定し、それ以外はこの圧縮種別をそのまま返却する。
+     * @param fileName ファイル名
+     * @return 入出力に適用する圧縮種別(NONEまたはGZIP)
+     */
+    public CompressionType resolve(String fileName) {
+        if (this != AUTO) {
+            return this;
+        }
+        if (fileName != null && fileName.toLowerCase().endsWith(GZIP_SUFFIX)) {
+            return GZIP;
+        }
+        return NONE;
+    }
+}
@@ -94,4 +94,70 @@ public @interface FileFormat {
      * </p>
      */
     boolean overWriteFlg() default false;
+
+    /**
+     * 直接エンコード出力フラグ。
+     * <p>
+     * 出力時に、文字列を{@link java.nio.channels.FileChannel}の再利用するバイトバッファへ直接エンコードして書き込むかどうかを設定する。<br>
+     * <code>true</code>の場合は<code>BufferedWriter</code>と<code>OutputStreamWriter</code>を経由せずに書き込むため、
+     * 大量データ出力時の文字列の複製とバッファ間のコピーを削減できる。<br>
+     * デフォルト値は「false（BufferedWriterを利用する）」。
+     * </p>
+     */
+    boolean directEncoding() default false;
+
+    /**
+     * トレイラ部末尾読込フラグ。
+     * <p>
+     * 入力時に、トレイラ部をファイルの末尾から行区切り文字を遡って読み込むかどうかを設定する。<br>
+     * <code>true</code>の場合はファイルオープン時にトレイラ部のみを読み込み、データ部はトレイラ部の開始位置までを読み込む。
+     * そのため、データ部を読み飛ばさずにトレイラ部を取得でき、トレイラ部の取得後もデータ部を取得できる。<br>
+     * ファイルエンコーディングは行区切り文字がASCIIと同じバイトで表現されるものに限る。
+     * また、トレイラ部のカラムに行区切り文字を含めることはできない。<br>
+     * デフォルト値は「false（データ部を読み終えた後にトレイラ部を取得する）」。
+     * </p>
+     */
+    boolean trailerSeekFromEnd() default false;
+
+    /**
+     * レコードオフセットインデックスの間隔(行数)。
+     * <p>
+     * 入力時に、データ部の指定した行数ごとの開始位置を記録したインデックスを利用するかどうかを設定する。<br>
+     * 1以上の場合はファイルオープン時にインデックスファイル(「ファイル名.idx」)を読み込み、
+     * 読み飛ばし(skip)では直近のインデックス位置へシークし、残りの行のみを読み飛ばす。<br>
+     * インデックスファイルの作成はファイル全体の走査となるため、ファイルオープン時には行わない。
+     * 読込より前に{@link jp.terasoluna.fw.file.dao.standard.RecordOffsetIndex#loadOrBuild}で作成しておくこと。
+     * 存在しない場合やファイルが更新されている場合は、インデックスを利用せずに先頭から読み飛ばす。
+     * 行区切り文字が無い場合は、インデックスファイルを利用せずに1行分のバイト数から開始位置を求める。<br>
+     * デフォルト値は「0（インデックスを利用しない）」。
+     * </p>
+     * @see jp.terasoluna.fw.file.dao.standard.RecordOffsetIndex
+     */
+    int recordIndexInterval() default 0;
+
+    /**
+     * 圧縮種別。
+     * <p>
+     * 入出力ファイルを圧縮形式のまま読み書きするかどうかを設定する。<br>
+     * GZIP形式の場合、入力時は別スレッドで伸張しながら読み込み、出力時はブロックごとに複数スレッドで並列に圧縮する。
+     * AUTOの場合はファイルの拡張子(「.gz」)から判定する。<br>
+     * 圧縮形式の場合は、トレイラ部末尾読込(trailerSeekFromEnd)とレコードオフセットインデックス(recordIndexInterval)は利用できず、
+     * 直接エンコード出力(directEncoding)は適用されない。<br>
+     * デフォルト値は「NONE（圧縮なし）」。
+     * </p>
+     */
+    CompressionType compression() default CompressionType.NONE;
+
+    /**
+     * 先読みバッファ数。
+     * <p>
+     * 入力時に、別スレッドでファイルを読み込んで先読みするかどうかを設定する。<br>
+     * 2以上の場合は指定した数のバッファを使い回し、ファイルの読込とデコードをデータ部の読込処理と並行して行う。
+     * 固定長ホストファイルでは、デコード前のバイト列を先読みする。<br>
+     * デフォルト値は「0（先読みしない）」。
+     * </p>
+     * @see jp.terasoluna.fw.file.dao.standard.ReadAheadReader
+     * @see jp.terasoluna.fw.file.dao.standard.ReadAheadInputStream
+     */
+    int readAheadBufferCount() default 0;
 }
@@ -109,4 +109,73 @@ public @interface InputFileColumn {
      * </p>
      */
     char columnEncloseChar() default Character.MIN_VALUE;
+
+    /**
+     * 数値の符号化種別。
+     * <p>
+     * ホスト形式の固定長ファイル(<code>HostFixedFileLineIterator</code>、<code>HostFixedFileLineWriter</code>)の
+     * 数値カラムをパック10進数、ゾーン10進数で読み込みする場合に設定する。<br>
+     * PACKED、ZONEDの場合は文字コードの変換を行わずにバイト列と数値を直接変換し、
+     * <code>columnFormat</code>に「0.00」のように設定した小数部の桁数を小数点以下の桁数とする。<br>
+     * デフォルト値は「TEXT」(文字)。
+     * </p>
+     */
+    NumberEncoding numberEncoding() default NumberEncoding.TEXT;
+
+    /**
+     * 文字列のキャッシュの利用有無。
+     * <p>
+     * <code>true</code>の場合、区分値のように値の種類が少ないカラムについて、
+     * トリム・パディング・文字列変換後の文字列をファイル行イテレータごとに保持し、
+     * 同じ内容のカラムには同じ<code>String</code>インスタンスを返却する。<br>
+     * レコードをバイト列のまま扱う<code>HostFixedFileLineIterator</code>の文字カラム、
+     * <code>FixedRecordView</code>では、読み込んだカラムのバイト列をキーとして保持し、文字コード変換と文字列の生成も省く。<br>
+     * 文字ストリームで読み込むCSV・固定長・可変長のファイル行イテレータでは、処理後の文字列をキーとして保持するため、
+     * 文字列の生成は省かれない。<br>
+     * 保持する件数には上限があり、上限を超えた内容はキャッシュせずに通常通り処理する。<br>
+     * 文字列変換クラスは入力が同じであれば常に同じ結果を返却すること。<br>
+     * デフォルト値は「false」(利用しない)。
+     * </p>
+     */
+    boolean dictionary() default false;
+
+    /**
+     * 必須の制約。
+     * <p>
+     * <code>true</code>の場合、トリム処理後のカラムの文字列が空文字列のデータを、
+     * ファイル行オブジェクトへの値の格納前に<code>FileColumnConstraintException</code>として通知する。<br>
+     * デフォルト値は「false」(制約なし)。
+     * </p>
+     */
+    boolean required() default false;
+
+    /**
+     * 最大バイト数の制約。
+     * <p>
+     * トリム処理後のカラムの文字列のバイト数(ファイルエンコーディング)が設定値を超えるデータを、
+     * ファイル行オブジェクトへの値の格納前に<code>FileColumnConstraintException</code>として通知する。<br>
+     * デフォルト値は「-1」(制約なし)。
+     * </p>
+     */
+    int maxBytes() default -1;
+
+    /**
+     * 数字の制約。
+     * <p>
+     * <code>true</code>の場合、トリム処理後のカラムの文字列に半角数字(0～9)以外の文字を含むデータを、
+     * ファイル行オブジェクトへの値の格納前に<code>FileColumnConstraintException</code>として通知する。<br>
+     * デフォルト値は「false」(制約なし)。
+     * </p>
+     */
+    boolean numericString() default false;
+
+    /**
+     * 半角文字の制約。
+     * <p>
+     * <code>true</code>の場合、トリム処理後のカラムの文字列にファイルエンコーディングで1バイトとならない文字を含むデータを、
+     * ファイル行オブジェクトへの値の格納前に<code>FileColumnConstraintException</code>として通知する。<br>
+     * デフォルト値は「false」(制約なし)。
+     * </p>
+     */
+    boolean hankakuString() default false;
 }
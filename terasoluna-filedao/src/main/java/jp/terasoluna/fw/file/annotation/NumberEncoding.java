@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.annotation;
+
+/**
+ * 数値の符号化種別。<br>
+ * <br>
+ * ホスト形式の固定長ファイルで、数値カラムをバイト列に符号化する方式(文字/パック10進数/ゾーン10進数[TEXT/PACKED/ZONED])を示す。
+ */
+public enum NumberEncoding {
+    /**
+     * 文字
+     */
+    TEXT,
+
+    /**
+     * パック10進数(COMP-3)
+     */
+    PACKED,
+
+    /**
+     * ゾーン10進数
+     */
+    ZONED
+}
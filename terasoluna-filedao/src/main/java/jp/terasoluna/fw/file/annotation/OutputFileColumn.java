@@ -109,4 +109,16 @@ public @interface OutputFileColumn {
      * </p>
      */
     char columnEncloseChar() default Character.MIN_VALUE;
+
+    /**
+     * 数値の符号化種別。
+     * <p>
+     * ホスト形式の固定長ファイル(<code>HostFixedFileLineIterator</code>、<code>HostFixedFileLineWriter</code>)の
+     * 数値カラムをパック10進数、ゾーン10進数で書き込みする場合に設定する。<br>
+     * PACKED、ZONEDの場合は文字コードの変換を行わずにバイト列と数値を直接変換し、
+     * <code>columnFormat</code>に「0.00」のように設定した小数部の桁数を小数点以下の桁数とする。<br>
+     * デフォルト値は「TEXT」(文字)。
+     * </p>
+     */
+    NumberEncoding numberEncoding() default NumberEncoding.TEXT;
 }
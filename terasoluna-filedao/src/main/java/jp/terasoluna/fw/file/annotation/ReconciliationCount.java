@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * データ部の件数の照合設定用のアノテーション。
+ * <p>
+ * ファイル行オブジェクトクラスに設定すると、
+ * {@link jp.terasoluna.fw.file.dao.standard.ReconcilingFileLineIterator}がデータ部の読み込み完了時に、
+ * 読み込んだデータ行の件数をトレイラ部に記載された件数と照合する。
+ * </p>
+ * @see jp.terasoluna.fw.file.annotation.ReconciliationSum
+ * @see jp.terasoluna.fw.file.dao.standard.ReconciliationTotals
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Target(ElementType.TYPE)
+public @interface ReconciliationCount {
+    /**
+     * トレイラ部の件数を抽出する正規表現。
+     * <p>
+     * トレイラ部の各行から最初に一致した行の、1番目のグループ(グループが無い場合は一致した文字列全体)を件数とする。<br>
+     * (例)"^T,(\\d+)"<br>
+     * 設定しない場合は照合を行わず、件数の集計のみ行う。
+     * </p>
+     */
+    String trailerPattern() default "";
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * データ部の合計値の照合設定用のアノテーション。
+ * <p>
+ * ファイル行オブジェクトの数値の属性に設定すると、
+ * {@link jp.terasoluna.fw.file.dao.standard.ReconcilingFileLineIterator}、
+ * {@link jp.terasoluna.fw.file.dao.standard.ReconcilingFileLineWriter}がデータ行ごとに属性の値を合計する。
+ * 読み込みの場合は、データ部の読み込み完了時にトレイラ部に記載された合計値と照合する。<br>
+ * 設定できる属性の型は、byte、short、int、long、float、double(ラッパークラスを含む)、BigDecimal。
+ * 値が<code>null</code>の場合は合計しない。
+ * </p>
+ * @see jp.terasoluna.fw.file.annotation.ReconciliationCount
+ * @see jp.terasoluna.fw.file.dao.standard.ReconciliationTotals
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Target(ElementType.FIELD)
+public @interface ReconciliationSum {
+    /**
+     * トレイラ部の合計値を抽出する正規表現。
+     * <p>
+     * トレイラ部の各行から最初に一致した行の、1番目のグループ(グループが無い場合は一致した文字列全体)を合計値とする。<br>
+     * (例)"^T,\\d+,([-0-9.]+)"<br>
+     * float、double型の属性は、トレイラ部の合計値の小数点以下の桁数に四捨五入してから照合する。<br>
+     * 設定しない場合は照合を行わず、合計のみ行う。
+     * </p>
+     */
+    String trailerPattern() default "";
+}
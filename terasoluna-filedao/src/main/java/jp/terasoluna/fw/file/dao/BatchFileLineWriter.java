@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao;
+
+import java.util.Collection;
+
+/**
+ * ファイル行オブジェクトのコレクションを一括で書き込む機能を持つファイルアクセス(データ出力)用のインタフェース。
+ * <p>
+ * {@link FileLineWriter}の機能に加えて、ファイル行オブジェクトのコレクションをまとめて書き込むメソッドを提供する。<br>
+ * 一括書き込みに対応するFileLineWriterの実装クラスのみがこのインタフェースを実装する。
+ * </p>
+ * @param <T> ファイル行オブジェクト
+ */
+public interface BatchFileLineWriter<T> extends FileLineWriter<T> {
+
+    /**
+     * ファイル行オブジェクトのコレクションのデータを順に書き込む。
+     * @param collection ファイル行オブジェクトのコレクション
+     */
+    void printDataLines(Collection<? extends T> collection);
+}
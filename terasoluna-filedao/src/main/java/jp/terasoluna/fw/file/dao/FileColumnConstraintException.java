@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao;
+
+import jp.terasoluna.fw.file.annotation.ColumnConstraint;
+
+/**
+ * ファイルから行のデータを読み取る際に、カラムの制約を満たさないデータを検出した場合の例外クラス。<br>
+ * <code>FileLineException</code>のエラー情報に加えて、以下を持つ。<br>
+ * <ul>
+ * <li>満たさなかったカラムの制約</li>
+ * <li>制約を満たさなかったカラムの値(トリム処理後の文字列)</li>
+ * <li>最大バイト数の制約(設定されている場合)</li>
+ * </ul>
+ * この例外はファイル行オブジェクトへの値の格納前にスローされる。
+ */
+public class FileColumnConstraintException extends FileLineException {
+
+    /**
+     * シリアルバージョンUID。
+     */
+    private static final long serialVersionUID = -3856418860723569187L;
+
+    /**
+     * 満たさなかったカラムの制約。
+     */
+    private final ColumnConstraint constraint;
+
+    /**
+     * 制約を満たさなかったカラムの値。
+     */
+    private final String rejectedValue;
+
+    /**
+     * 最大バイト数の制約。制約がない場合は<code>-1</code>。
+     */
+    private final int maxBytes;
+
+    /**
+     * コンストラクタ。
+     * @param message メッセージ
+     * @param fileName ファイル名
+     * @param lineNo エラーが発生したデータのデータ部内行番号
+     * @param columnName カラム名
+     * @param columnIndex エラーが発生したカラム番号
+     * @param constraint 満たさなかったカラムの制約
+     * @param rejectedValue 制約を満たさなかったカラムの値
+     */
+    public FileColumnConstraintException(String message, String fileName,
+            int lineNo, String columnName, int columnIndex,
+            ColumnConstraint constraint, String rejectedValue) {
+        this(message, fileName, lineNo, columnName, columnIndex, constraint, rejectedValue, -1);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param message メッセージ
+     * @param fileName ファイル名
+     * @param lineNo エラーが発生したデータのデータ部内行番号
+     * @param columnName カラム名
+     * @param columnIndex エラーが発生したカラム番号
+     * @param constraint 満たさなかったカラムの制約
+     * @param rejectedValue 制約を満たさなかったカラムの値
+     * @param maxBytes 最大バイト数の制約。制約がない場合は<code>-1</code>
+     */
+    public FileColumnConstraintException(String message, String fileName,
+            int lineNo, String columnName, int columnIndex,
+            ColumnConstraint constraint, String rejectedValue, int maxBytes) {
+        super(message, new IllegalStateException(), fileName, lineNo, columnName, columnIndex);
+        this.constraint = constraint;
+        this.rejectedValue = rejectedValue;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 満たさなかったカラムの制約を取得する。
+     * @return 満たさなかったカラムの制約
+     */
+    public ColumnConstraint getConstraint() {
+        return constraint;
+    }
+
+    /**
+     * 制約を満たさなかったカラムの値を取得する。
+     * @return 制約を満たさなかったカラムの値
+     */
+    public String getRejectedValue() {
+        return rejectedValue;
+    }
+
+    /**
+     * 最大バイト数の制約を取得する。
+     * @return 最大バイト数の制約。制約がない場合は<code>-1</code>
+     */
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+}
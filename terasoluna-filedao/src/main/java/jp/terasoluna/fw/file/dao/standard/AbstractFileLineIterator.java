@@ -20,25 +20,31 @@ import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
 
+import jp.terasoluna.fw.file.annotation.ColumnConstraint;
+import jp.terasoluna.fw.file.annotation.CompressionType;
 import jp.terasoluna.fw.file.annotation.FileFormat;
 import jp.terasoluna.fw.file.annotation.InputFileColumn;
 import jp.terasoluna.fw.file.annotation.PaddingType;
 import jp.terasoluna.fw.file.annotation.StringConverter;
 import jp.terasoluna.fw.file.annotation.TrimType;
+import jp.terasoluna.fw.file.dao.FileColumnConstraintException;
 import jp.terasoluna.fw.file.dao.FileException;
 import jp.terasoluna.fw.file.dao.FileLineException;
 import jp.terasoluna.fw.file.dao.FileLineIterator;
@@ -60,6 +66,8 @@ import org.apache.commons.lang3.StringUtils;
  * </ul>
  * もし、トレイラ部の取得を行うと内部で残っているデータ部を全部スキップするため、 処理途中にトレイラ部を取得するとデータ部の取得が出来なくなります。<br>
  * トレイラ部の取得後データ部取得処理を実行すると<code>IllegalStateException<code>が発生します。<br>
+ * ファイル名の代わりに入力ストリームを指定した場合は、ファイル内の位置へのシークを行わずに先頭から順に読み込むため、
+ * <code>@FileFormat</code>の<code>trailerSeekFromEnd</code>と<code>recordIndexInterval</code>は無視される。<br>
  * @see jp.terasoluna.fw.file.dao.FileLineIterator
  * @see jp.terasoluna.fw.file.dao.standard.CSVFileLineIterator
  * @see jp.terasoluna.fw.file.dao.standard.FixedFileLineIterator
@@ -80,6 +88,11 @@ public abstract class AbstractFileLineIterator<T> implements
      */
     private String fileName = null;
 
+    /**
+     * 読込元の入力ストリーム。ファイル名を指定した場合は<code>null</code>。
+     */
+    private InputStream sourceInputStream = null;
+
     /**
      * 結果クラス。
      */
@@ -175,11 +188,28 @@ public abstract class AbstractFileLineIterator<T> implements
      */
     private StringConverter[] stringConverters = null;
 
+    /**
+     * 各カラムの文字列のキャッシュを格納する変数。<br>
+     * <code>@InputFileColumn</code>の<code>dictionary</code>が<code>false</code>のカラムは<code>null</code>。
+     */
+    private ColumnStringCache[] stringCaches = null;
+
+    /**
+     * 各カラムの制約の検査クラスを格納する変数。<br>
+     * 制約が設定されていないカラムは<code>null</code>。
+     */
+    private ColumnConstraintChecker[] constraintCheckers = null;
+
+    /**
+     * カラムの制約が設定されたカラムを持つかを格納する変数。
+     */
+    private boolean constrained = false;
+
     /**
      * ファイル行オブジェクトのストリングコンバータを格納するマップ。
      */
     @SuppressWarnings("rawtypes")
-    private static Map<Class, StringConverter> stringConverterCacheMap = new HashMap<Class, StringConverter>();
+    private static Map<Class, StringConverter> stringConverterCacheMap = new ConcurrentHashMap<Class, StringConverter>();
 
     /**
      * ファイル行オブジェクトのFieldに対応するsetterメソッドを格納する。
@@ -191,6 +221,11 @@ public abstract class AbstractFileLineIterator<T> implements
      */
     private Map<String, ColumnParser> columnParserMap = null;
 
+    /**
+     * ファイル行オブジェクトの属性ごとの入力カラムバインダを格納する。
+     */
+    private InputColumnBinder[] columnBinders = null;
+
     /**
      * ヘッダ部の文字列リスト。
      */
@@ -211,6 +246,39 @@ public abstract class AbstractFileLineIterator<T> implements
      */
     private Queue<String> trailerQueue = null;
 
+    /**
+     * トレイラ部末尾読込フラグ。
+     */
+    private boolean trailerSeekFromEnd = false;
+
+    /**
+     * データ部の終了位置(ファイル先頭からのバイト数)。
+     * <p>
+     * トレイラ部を末尾から読み込んだ場合のみ設定され、それ以外は-1となる。
+     * </p>
+     */
+    private long dataEndOffset = -1;
+
+    /**
+     * レコードオフセットインデックスの間隔(行数)。
+     */
+    private int recordIndexInterval = 0;
+
+    /**
+     * レコードオフセットインデックス。
+     */
+    private RecordOffsetIndex recordOffsetIndex = null;
+
+    /**
+     * 先読みバッファ数。
+     */
+    private int readAheadBufferCount = 0;
+
+    /**
+     * 圧縮種別(拡張子による自動判定の結果)。
+     */
+    private CompressionType compression = CompressionType.NONE;
+
     /**
      * 1行分の文字列を読み込むオブジェクト
      */
@@ -226,6 +294,11 @@ public abstract class AbstractFileLineIterator<T> implements
      */
     private boolean enclosed = false;
 
+    /**
+     * 登録済みのカラムレイアウト利用フラグ。
+     */
+    private boolean columnLayoutShared = false;
+
     /**
      * コンストラクタ。<br>
      * 引数のチェック及び、ファイル行オブジェクトのFileFormatアノテーション 設定のチェックを行う。<br>
@@ -237,8 +310,39 @@ public abstract class AbstractFileLineIterator<T> implements
      */
     public AbstractFileLineIterator(String fileName, Class<T> clazz,
             Map<String, ColumnParser> columnParserMap) {
+        this(fileName, null, clazz, columnParserMap);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりに入力ストリームからデータを読み込む。入力ストリームは{@link #closeFile()}でクローズされる。<br>
+     * ファイル内の位置へシークできないため、<code>@FileFormat</code>の<code>trailerSeekFromEnd</code>と
+     * <code>recordIndexInterval</code>は無視し、トレイラ部はデータ部に続けて読み込む。<br>
+     * 圧縮種別が<code>AUTO</code>の場合は拡張子で判定できないため、非圧縮として扱う。<br>
+     * その他のチェック内容は{@link #AbstractFileLineIterator(String, Class, Map)}と同じ。
+     * @param inputStream 入力ストリーム
+     * @param clazz ファイル行オブジェクトクラス
+     * @param columnParserMap フォーマット処理リスト
+     * @throws FileException 初期化処理で失敗した場合。
+     */
+    protected AbstractFileLineIterator(InputStream inputStream, Class<T> clazz,
+            Map<String, ColumnParser> columnParserMap) {
+        this(null, checkInputStream(inputStream), clazz, columnParserMap);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * 入力ストリームが<code>null</code>の場合はファイル名のファイルから、それ以外の場合は入力ストリームからデータを読み込む。
+     * @param fileName ファイル名
+     * @param inputStream 入力ストリーム
+     * @param clazz ファイル行オブジェクトクラス
+     * @param columnParserMap フォーマット処理リスト
+     * @throws FileException 初期化処理で失敗した場合。
+     */
+    private AbstractFileLineIterator(String fileName, InputStream inputStream,
+            Class<T> clazz, Map<String, ColumnParser> columnParserMap) {
         // ファイル名の必須チェックを行う。
-        if (fileName == null || "".equals(fileName)) {
+        if (inputStream == null && (fileName == null || "".equals(fileName))) {
             throw new FileException("fileName is required.", new IllegalArgumentException(), fileName);
         }
 
@@ -262,6 +366,7 @@ public abstract class AbstractFileLineIterator<T> implements
         }
 
         this.fileName = fileName;
+        this.sourceInputStream = inputStream;
         this.clazz = clazz;
         this.columnParserMap = columnParserMap;
 
@@ -295,6 +400,45 @@ public abstract class AbstractFileLineIterator<T> implements
 
         // トレイラ行数を設定する。
         this.trailerLineCount = fileFormat.trailerLineCount();
+
+        // トレイラ部末尾読込フラグを設定する。
+        this.trailerSeekFromEnd = fileFormat.trailerSeekFromEnd();
+
+        // レコードオフセットインデックスの間隔を設定する。
+        this.recordIndexInterval = fileFormat.recordIndexInterval();
+
+        // 入力ストリームの場合はシークできないため、トレイラ部末尾読込とレコードオフセットインデックスを利用しない。
+        if (inputStream != null) {
+            this.trailerSeekFromEnd = false;
+            this.recordIndexInterval = 0;
+        }
+
+        // 圧縮種別を設定する。圧縮形式の場合はファイル内の位置へシークできない。
+        this.compression = fileFormat.compression().resolve(fileName);
+        if (compression != CompressionType.NONE && (trailerSeekFromEnd
+                || 0 < recordIndexInterval)) {
+            throw new FileException("trailerSeekFromEnd and recordIndexInterval can not be used with compressed file.", new IllegalStateException(), fileName);
+        }
+
+        // 先読みバッファ数を設定する。
+        // 1つのバッファでは読込とデコードを並行できないため、0または2以上とする。
+        this.readAheadBufferCount = fileFormat.readAheadBufferCount();
+        if (readAheadBufferCount < 0 || readAheadBufferCount == 1) {
+            throw new FileException("readAheadBufferCount must be 0 or 2 or more.", new IllegalStateException(), fileName);
+        }
+    }
+
+    /**
+     * 入力ストリームの必須チェックを行う。
+     * @param inputStream 入力ストリーム
+     * @return 引数の入力ストリーム
+     * @throws FileException 入力ストリームが<code>null</code>の場合。
+     */
+    protected static InputStream checkInputStream(InputStream inputStream) {
+        if (inputStream == null) {
+            throw new FileException("inputStream is required.", new IllegalArgumentException());
+        }
+        return inputStream;
     }
 
     /**
@@ -382,6 +526,12 @@ public abstract class AbstractFileLineIterator<T> implements
         int columnIndex = -1;
         String columnString = null;
 
+        // カラムの制約が設定されている場合は、制約を満たさないデータを値の格納前に例外とするため、
+        // すべてのカラムの文字列を処理した後に値を格納する。
+        String[] columnStrings = null;
+        if (constrained) {
+            columnStrings = new String[fields.length];
+        }
         for (int i = 0; i < fields.length; i++) {
 
             // JavaBeanの入力用のアノテーションを設定する。
@@ -390,55 +540,105 @@ public abstract class AbstractFileLineIterator<T> implements
             // 1カラムの文字列をセットする。
             columnString = columns[columnIndex];
 
-            // カラムのバイト数チェック。
-            if (isCheckByte(columnBytes[i])) {
-                try {
-                    if (columnString.getBytes(
-                            fileEncoding).length != columnBytes[i]) {
-                        throw new FileLineException("Data size is different from a set point "
-                                + "of a column.", new IllegalStateException(), fileName, currentLineCount, fields[i]
-                                        .getName(), columnIndex);
-                    }
-                } catch (UnsupportedEncodingException e) {
-                    throw new FileException("fileEncoding which isn't supported was set.", e, fileName);
-                }
+            // チェック・トリム・パディング・文字列変換を行う。
+            columnString = processColumnString(i, columnString,
+                    currentLineCount);
+
+            // 文字列のキャッシュを利用するカラムは、同じ内容の文字列を同じインスタンスにそろえる。
+            if (stringCaches[i] != null) {
+                columnString = stringCaches[i].canonicalize(columnString);
             }
 
-            // トリム処理
-            columnString = FileDAOUtility.trim(columnString, fileEncoding,
-                    trimChars[i], trimTypes[i]);
+            if (columnStrings != null) {
+                columnStrings[i] = columnString;
+            } else {
+                bindColumn(fileLineObject, i, columnString);
+            }
+        }
 
-            // パディング処理
-            columnString = FileDAOUtility.padding(columnString, fileEncoding,
-                    columnBytes[i], paddingChars[i], paddingTypes[i]);
+        if (columnStrings != null) {
+            for (int i = 0; i < fields.length; i++) {
+                bindColumn(fileLineObject, i, columnStrings[i]);
+            }
+        }
+
+        return fileLineObject;
+    }
 
-            // 文字列変換の処理。
-            columnString = stringConverters[i].convert(columnString);
+    /**
+     * 1カラムの値をファイル行オブジェクトに格納する。<br>
+     * 初期化時に属性の型に応じて生成したカラムバインダで格納する。
+     * @param fileLineObject ファイル行オブジェクト
+     * @param i カラムの定義順
+     * @param columnString 処理後の1カラムの文字列
+     * @throws FileLineException 値の格納に失敗した場合。
+     */
+    private void bindColumn(T fileLineObject, int i, String columnString) {
+        try {
+            columnBinders[i].bind(columnString, fileLineObject,
+                    columnFormats[i]);
+        } catch (IllegalArgumentException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
+                    .getName(), columnIndexs[i]);
+        } catch (IllegalAccessException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
+                    .getName(), columnIndexs[i]);
+        } catch (InvocationTargetException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
+                    .getName(), columnIndexs[i]);
+        } catch (ParseException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
+                    .getName(), columnIndexs[i]);
+        }
+    }
 
-            // 値を格納する処理。
-            // JavaBeanの属性の型の名前によって処理を振り分ける。
-            ColumnParser columnParser = columnParserMap.get(fields[i].getType()
-                    .getName());
+    /**
+     * 1カラムの文字列に対して、バイト数チェック・トリム処理・制約の検査・パディング処理・文字列変換処理を行う。<br>
+     * {@link #next()}と{@link ColumnarFileLineReader}で共通に利用する。
+     * @param i カラムの定義順
+     * @param columnString 1カラムの文字列
+     * @param lineCount 例外に設定するデータ部の行数
+     * @return 処理後の文字列
+     * @throws FileException バイト数チェックで文字コードがサポートされていない場合。
+     * @throws FileLineException カラムのバイト数が設定値と異なる場合。
+     * @throws FileColumnConstraintException カラムの制約を満たさない場合。
+     */
+    String processColumnString(int i, String columnString, int lineCount) {
+        // カラムのバイト数チェック。
+        if (isCheckByte(columnBytes[i])) {
             try {
-                columnParser.parse(columnString, fileLineObject, methods[i],
-                        columnFormats[i]);
-            } catch (IllegalArgumentException e) {
-                throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
-                        .getName(), columnIndex);
-            } catch (IllegalAccessException e) {
-                throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
-                        .getName(), columnIndex);
-            } catch (InvocationTargetException e) {
-                throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
-                        .getName(), columnIndex);
-            } catch (ParseException e) {
-                throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
-                        .getName(), columnIndex);
+                if (columnString.getBytes(
+                        fileEncoding).length != columnBytes[i]) {
+                    throw new FileLineException("Data size is different from a set point "
+                            + "of a column.", new IllegalStateException(), fileName, lineCount, fields[i]
+                                    .getName(), columnIndexs[i]);
+                }
+            } catch (UnsupportedEncodingException e) {
+                throw new FileException("fileEncoding which isn't supported was set.", e, fileName);
             }
+        }
 
+        // トリム処理
+        columnString = FileDAOUtility.trim(columnString, fileEncoding,
+                trimChars[i], trimTypes[i]);
+
+        // 制約の検査
+        if (constraintCheckers != null && constraintCheckers[i] != null) {
+            ColumnConstraint constraint = constraintCheckers[i].check(
+                    columnString);
+            if (constraint != null) {
+                throw new FileColumnConstraintException("Column data violates a constraint.", fileName, lineCount, fields[i]
+                        .getName(), columnIndexs[i], constraint, columnString, constraintCheckers[i]
+                                .getMaxBytes());
+            }
         }
 
-        return fileLineObject;
+        // パディング処理
+        columnString = FileDAOUtility.padding(columnString, fileEncoding,
+                columnBytes[i], paddingChars[i], paddingTypes[i]);
+
+        // 文字列変換の処理。
+        return stringConverters[i].convert(columnString);
     }
 
     /**
@@ -459,9 +659,10 @@ public abstract class AbstractFileLineIterator<T> implements
      * <li>ファイル行オブジェクトの属性(Field)の取得</li>
      * <li>文字変換種別オブジェクト(stringConverters)の生成</li>
      * <li>ファイル行オブジェクトの属性に対するセッタメソッド(methods)の取得</li>
+     * <li>レコードオフセットインデックスの読込(インデックスを利用する場合)</li>
      * <li>ファイルからデータを読込むためのLineReaderの生成</li>
      * <li>ヘッダ部の取得</li>
-     * <li>トレイラキューの初期化</li>
+     * <li>トレイラキューの初期化(トレイラ部末尾読込の場合はトレイラ部の取得)</li>
      * </ul>
      * init()はAbstracFileLineIteratorを継承するクラスのコンストラクタで 呼ぶメソッドである。<br>
      * 下位互換性のため、2回以上実行できないようにしている。
@@ -490,13 +691,35 @@ public abstract class AbstractFileLineIterator<T> implements
             buildStringConverters();
             buildMethods();
 
+            // 生成・検証済みのカラム定義情報をカラムレイアウトとあわせて登録し、以降のファイルオープンで共有する。
+            FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                    .getInputMetadata(clazz);
+            if (metadata == null || !metadata.hasColumnLayout()) {
+                metadata = FileLineObjectMetadataRegistry.registerInputMetadata(
+                        FileLineObjectMetadata.forInput(clazz, fields, methods,
+                                inputFileColumns, stringConverters));
+            }
+            buildColumnBinders(metadata);
+
             try {
+                // トレイラ部を末尾から読み込み、データ部の終了位置を求める。
+                if (trailerSeekFromEnd) {
+                    buildTrailerFromEnd();
+                }
+
+                // 読み飛ばしでシークするためのインデックスを読み込む。
+                if (0 < recordIndexInterval) {
+                    buildRecordOffsetIndex();
+                }
+
                 // ファイルからデータを読込むためのLineReaderを生成する。
                 buildLineReader();
 
                 // ヘッダ部とトレイラ部の取得するための基本情報を生成する。
                 buildHeader();
-                buildTrailerQueue();
+                if (!trailerSeekFromEnd) {
+                    buildTrailerQueue();
+                }
             } catch (FileException e) {
                 if (this.reader != null) {
                     try {
@@ -520,9 +743,61 @@ public abstract class AbstractFileLineIterator<T> implements
      * @throws FileException LineReaderの生成に失敗した場合。
      */
     private void buildLineReader() {
+        buildLineReader(0);
+    }
+
+    /**
+     * ファイルの指定位置からデータを読込むためのLineReaderを生成する。<br>
+     * @param offset 読込を開始する位置(ファイル先頭からのバイト数)
+     * @throws FileException LineReaderの生成に失敗した場合。
+     */
+    private void buildLineReader(long offset) {
         // 対象ファイルに対するReaderを取得する。
         try {
-            this.reader = new BufferedReader(new InputStreamReader((new FileInputStream(fileName)), fileEncoding));
+            InputStream sourceStream = sourceInputStream;
+            if (sourceStream == null) {
+                FileInputStream fileInputStream = new FileInputStream(fileName);
+                if (0 < offset) {
+                    try {
+                        fileInputStream.getChannel().position(offset);
+                    } catch (IOException e) {
+                        try {
+                            fileInputStream.close();
+                        } catch (IOException ce) {
+                            // シーク処理の例外を上書きしないため、クローズ時の例外はハンドリングしない
+                        }
+                        throw new FileException("Failed in generation of reader.", e, fileName);
+                    }
+                }
+                sourceStream = fileInputStream;
+            }
+            InputStream inputStream = sourceStream;
+            if (compression == CompressionType.GZIP) {
+                // 伸張処理は先読みスレッドで行い、読込処理と並行させる。
+                try {
+                    inputStream = new ReadAheadInputStream(new GZIPInputStream(sourceStream, ReadAheadInputStream.DEFAULT_BUFFER_SIZE));
+                } catch (IOException e) {
+                    try {
+                        sourceStream.close();
+                    } catch (IOException ce) {
+                        // 伸張処理の例外を上書きしないため、クローズ時の例外はハンドリングしない
+                    }
+                    throw new FileException("Failed in generation of reader.", e, fileName);
+                }
+            }
+            if (0 <= dataEndOffset) {
+                // トレイラ部を末尾から読み込んだ場合は、データ部の終了位置までに制限する。
+                inputStream = new BoundedInputStream(inputStream, dataEndOffset
+                        - offset);
+            }
+            Reader inputReader;
+            if (0 < readAheadBufferCount) {
+                // 読込とデコードは先読みスレッドで行い、データ部の読込処理と並行させる。
+                inputReader = new ReadAheadReader(inputStream, fileEncoding, ReadAheadReader.DEFAULT_BUFFER_SIZE, readAheadBufferCount);
+            } else {
+                inputReader = new InputStreamReader(inputStream, fileEncoding);
+            }
+            this.reader = new BufferedReader(inputReader);
             if (!reader.markSupported()) {
                 throw new FileException("BufferedReader of this JVM dose not support mark method");
             }
@@ -570,6 +845,95 @@ public abstract class AbstractFileLineIterator<T> implements
      * @throws FileException カラムインデックスが重複した場合。
      */
     private void buildFields() {
+        FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                .getInputMetadata(clazz);
+        // 登録済みのカラムレイアウトは、同じカラムパーサーのマップで入力カラムバインダを生成済みの場合のみ利用する。
+        columnLayoutShared = metadata != null && metadata.hasColumnLayout()
+                && metadata.hasInputColumnBinders(columnParserMap);
+        if (metadata != null) {
+            // 登録済みのカラム定義情報を利用する。
+            // カラム定義の検証は登録時に完了しているため、マッピング可能な型のフィールドなのかのみ確認する。
+            // 確認は入力カラムバインダの取得で行い、同じカラムパーサーのマップでは2回目以降のファイルオープンで省略される。
+            if (metadata.getInputColumnBinders(columnParserMap) == null) {
+                throw new FileException("There is a type which isn't supported in a "
+                        + "mapping target field in FileLineObject.", new IllegalStateException(), fileName);
+            }
+            this.fields = metadata.getFields();
+        } else {
+            this.fields = scanFields();
+        }
+
+        if (columnLayoutShared) {
+            // 登録済みのカラムレイアウトを利用する。（StringConverter以外）
+            inputFileColumns = metadata.getInputFileColumns();
+            columnIndexs = metadata.getColumnIndexs();
+            columnFormats = metadata.getColumnFormats();
+            columnBytes = metadata.getColumnBytes();
+            paddingTypes = metadata.getPaddingTypes();
+            paddingChars = metadata.getPaddingChars();
+            trimTypes = metadata.getTrimTypes();
+            trimChars = metadata.getTrimChars();
+        } else {
+            // InputFileColumn（アノテーション）オブジェクトを変数に格納する。（StringConverter以外）
+            inputFileColumns = new InputFileColumn[fields.length];
+            columnIndexs = new int[fields.length];
+            columnFormats = new String[fields.length];
+            columnBytes = new int[fields.length];
+            paddingTypes = new PaddingType[fields.length];
+            paddingChars = new char[fields.length];
+            trimTypes = new TrimType[fields.length];
+            trimChars = new char[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                inputFileColumns[i] = fields[i].getAnnotation(
+                        InputFileColumn.class);
+                columnIndexs[i] = inputFileColumns[i].columnIndex();
+                columnFormats[i] = inputFileColumns[i].columnFormat();
+                columnBytes[i] = inputFileColumns[i].bytes();
+                paddingTypes[i] = inputFileColumns[i].paddingType();
+                paddingChars[i] = inputFileColumns[i].paddingChar();
+                trimTypes[i] = inputFileColumns[i].trimType();
+                trimChars[i] = inputFileColumns[i].trimChar();
+            }
+        }
+        stringCaches = new ColumnStringCache[fields.length];
+        constraintCheckers = new ColumnConstraintChecker[fields.length];
+
+        // 囲み文字設定。まずFileFormatの設定を適用する。
+        columnEncloseChar = new char[fields.length];
+        if (getEncloseChar() != Character.MIN_VALUE) {
+            enclosed = true;
+            for (int index = 0; index < fields.length; index++) {
+                columnEncloseChar[index] = getEncloseChar();
+            }
+        }
+
+        for (int i = 0; i < fields.length; i++) {
+            totalBytes += columnBytes[i];
+            if (inputFileColumns[i].dictionary()) {
+                stringCaches[i] = new ColumnStringCache();
+            }
+            constraintCheckers[i] = ColumnConstraintChecker.create(
+                    inputFileColumns[i], fileEncoding);
+            if (constraintCheckers[i] != null) {
+                constrained = true;
+            }
+
+            // 囲み文字設定。inputFileColumnsの設定で上書きをする。
+            if (inputFileColumns[i]
+                    .columnEncloseChar() != Character.MIN_VALUE) {
+                columnEncloseChar[i] = inputFileColumns[i].columnEncloseChar();
+                enclosed = true;
+            }
+        }
+    }
+
+    /**
+     * ファイル行オブジェクトと継承元の全クラスの属性を走査し、{@link InputFileColumn}アノテーションが設定されている属性を
+     * カラムインデックスの順に並べた配列を生成する。
+     * @return カラムインデックス順の属性の配列
+     * @throws FileException 属性の設定に問題がある場合。
+     */
+    private Field[] scanFields() {
         // フィールドオブジェクトを生成
         List<Field[]> allFields = new ArrayList<Field[]>();
 
@@ -636,50 +1000,11 @@ public abstract class AbstractFileLineIterator<T> implements
 
         // フィールドをコピー(nullの部分削除)
         if (dataColumnFields.length == columnCount) {
-            this.fields = dataColumnFields;
-        } else {
-            this.fields = new Field[columnCount];
-            System.arraycopy(dataColumnFields, 0, this.fields, 0, columnCount);
-        }
-
-        // InputFileColumn（アノテーション）オブジェクトを変数に格納する。（StringConverter以外）
-        inputFileColumns = new InputFileColumn[fields.length];
-        columnIndexs = new int[fields.length];
-        columnFormats = new String[fields.length];
-        columnBytes = new int[fields.length];
-        paddingTypes = new PaddingType[fields.length];
-        paddingChars = new char[fields.length];
-        trimTypes = new TrimType[fields.length];
-        trimChars = new char[fields.length];
-
-        // 囲み文字設定。まずFileFormatの設定を適用する。
-        columnEncloseChar = new char[fields.length];
-        if (getEncloseChar() != Character.MIN_VALUE) {
-            enclosed = true;
-            for (int index = 0; index < fields.length; index++) {
-                columnEncloseChar[index] = getEncloseChar();
-            }
-        }
-
-        for (int i = 0; i < fields.length; i++) {
-            inputFileColumns[i] = fields[i].getAnnotation(
-                    InputFileColumn.class);
-            columnIndexs[i] = inputFileColumns[i].columnIndex();
-            columnFormats[i] = inputFileColumns[i].columnFormat();
-            columnBytes[i] = inputFileColumns[i].bytes();
-            totalBytes += columnBytes[i];
-            paddingTypes[i] = inputFileColumns[i].paddingType();
-            paddingChars[i] = inputFileColumns[i].paddingChar();
-            trimTypes[i] = inputFileColumns[i].trimType();
-            trimChars[i] = inputFileColumns[i].trimChar();
-
-            // 囲み文字設定。inputFileColumnsの設定で上書きをする。
-            if (inputFileColumns[i]
-                    .columnEncloseChar() != Character.MIN_VALUE) {
-                columnEncloseChar[i] = inputFileColumns[i].columnEncloseChar();
-                enclosed = true;
-            }
+            return dataColumnFields;
         }
+        Field[] columnFields = new Field[columnCount];
+        System.arraycopy(dataColumnFields, 0, columnFields, 0, columnCount);
+        return columnFields;
     }
 
     /**
@@ -689,6 +1014,14 @@ public abstract class AbstractFileLineIterator<T> implements
      * @throws FileLineException 文字変換種別オブジェクトの生成に失敗した場合。
      */
     private void buildStringConverters() {
+        FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                .getInputMetadata(clazz);
+        if (columnLayoutShared && metadata != null
+                && metadata.hasSameFields(fields)) {
+            // 登録済みのカラムレイアウトの文字変換種別オブジェクトを利用する。
+            this.stringConverters = metadata.getStringConverters();
+            return;
+        }
 
         // 文字変換種別の配列を生成
         StringConverter[] dataColumnStringConverters = new StringConverter[fields.length];
@@ -737,10 +1070,48 @@ public abstract class AbstractFileLineIterator<T> implements
      * <ul>
      * <li>属性名の最初の文字を大文字にした文字列の先頭に「set」をつけたもの。</li>
      * </ul>
-     * setterメソッドが検索できない場合は例外が発生する。
+     * setterメソッドが検索できない場合は例外が発生する。<br>
      * @throws FileException setterメソッドが見つからなかった場合。
      */
     private void buildMethods() {
+        FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                .getInputMetadata(clazz);
+        if (metadata != null && metadata.hasSameFields(fields)) {
+            // 登録済みのカラム定義情報を利用する。
+            this.methods = metadata.getMethods();
+        } else {
+            this.methods = scanMethods();
+        }
+    }
+
+    /**
+     * setterメソッドと属性の型に対応するカラムパーサーから入力カラムバインダの配列を生成する。<br>
+     * 登録済みのカラム定義情報と属性が一致する場合は、カラム定義情報が保持する生成済みの入力カラムバインダを利用する。
+     * @param metadata 登録済みのカラム定義情報(未登録の場合は<code>null</code>)
+     */
+    private void buildColumnBinders(FileLineObjectMetadata metadata) {
+        if (metadata != null && metadata.hasSameFields(fields)) {
+            InputColumnBinder[] binders = metadata.getInputColumnBinders(
+                    columnParserMap);
+            if (binders != null) {
+                this.columnBinders = binders;
+                return;
+            }
+        }
+        InputColumnBinder[] dataColumnBinders = new InputColumnBinder[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            dataColumnBinders[i] = ColumnBinderCompiler.compile(methods[i],
+                    columnParserMap.get(fields[i].getType().getName()));
+        }
+        this.columnBinders = dataColumnBinders;
+    }
+
+    /**
+     * ファイル行オブジェクトの属性に対応するsetterメソッドを検索する。
+     * @return setterメソッドの配列
+     * @throws FileException setterメソッドが見つからなかった場合。
+     */
+    private Method[] scanMethods() {
         Method[] dataColumnSetMethods = new Method[fields.length];
         StringBuilder setterName = new StringBuilder();
         String fieldName = null;
@@ -764,7 +1135,7 @@ public abstract class AbstractFileLineIterator<T> implements
                 throw new FileException("The setter method of column doesn't exist.", e, fileName);
             }
         }
-        this.methods = dataColumnSetMethods;
+        return dataColumnSetMethods;
     }
 
     /**
@@ -814,6 +1185,86 @@ public abstract class AbstractFileLineIterator<T> implements
         }
     }
 
+    /**
+     * トレイラ部をファイルの末尾から読み込む。<br>
+     * データ部を読み飛ばさずにトレイラ部を取得し、トレイラ部の開始位置をデータ部の終了位置とする。<br>
+     * 指定された行数分のデータが存在しない場合に例外を返す。<br>
+     * @throws FileException トレイラ部の取得に失敗した場合。
+     */
+    private void buildTrailerFromEnd() {
+        if (0 < trailerLineCount) {
+            ReverseTrailerReader trailerReader = new ReverseTrailerReader(fileName, fileEncoding, lineFeedChar, totalBytes);
+            trailer.addAll(trailerReader.readTrailer(trailerLineCount));
+            dataEndOffset = trailerReader.getTrailerStartOffset();
+        }
+    }
+
+    /**
+     * レコードオフセットインデックスを読み込む。<br>
+     * 行区切り文字が無い場合は、ファイルを読まずに1行分のバイト数から作成する。<br>
+     * 行区切り文字がある場合は、作成済みのインデックスファイルが対象ファイルと一致する場合のみ利用する。
+     * インデックスファイルが存在しない場合や対象ファイルと一致しない場合は、ファイル全体の走査を避けるため作成せず、
+     * インデックスを利用せずに読み飛ばす。<br>
+     * 囲み文字はすべてのカラムで同じ場合のみ利用できる。
+     * @throws FileException インデックスの読込に失敗した場合。
+     */
+    private void buildRecordOffsetIndex() {
+        char indexEncloseChar = Character.MIN_VALUE;
+        if (enclosed) {
+            indexEncloseChar = columnEncloseChar.length == 0 ? getEncloseChar()
+                    : columnEncloseChar[0];
+            for (char c : columnEncloseChar) {
+                if (c != indexEncloseChar) {
+                    throw new FileException("recordIndexInterval can not be used with different columnEncloseChar.", new IllegalStateException(), fileName);
+                }
+            }
+        }
+        if (lineFeedChar.length() == 0) {
+            recordOffsetIndex = RecordOffsetIndex.build(fileName, fileEncoding, lineFeedChar, indexEncloseChar, totalBytes, headerLineCount, recordIndexInterval);
+        } else {
+            recordOffsetIndex = RecordOffsetIndex.loadIfValid(fileName, fileEncoding, lineFeedChar, indexEncloseChar, totalBytes, headerLineCount, recordIndexInterval);
+        }
+    }
+
+    /**
+     * レコードオフセットインデックスを利用して、指定したデータ行の直前の記録位置へシークする。<br>
+     * 記録位置が現在の位置より後ろにある場合のみシークし、トレイラキューを利用している場合はキューを詰め直す。<br>
+     * シーク後は、戻り値のデータ行から指定したデータ行までを読み飛ばす必要がある。
+     * @param currentRecord 次に読み込むデータ行(0始まり)
+     * @param targetRecord 移動先のデータ行(0始まり)
+     * @return シーク後に次に読み込むデータ行。シークしなかった場合は<code>currentRecord</code>
+     * @throws FileException シーク処理で失敗した場合。
+     */
+    protected int seekRecord(int currentRecord, int targetRecord) {
+        if (recordOffsetIndex == null || readTrailer) {
+            return currentRecord;
+        }
+        long dataRecordCount = recordOffsetIndex.getRecordCount()
+                - trailerLineCount;
+        long indexedRecord = recordOffsetIndex.getIndexedRecord(Math.min(
+                targetRecord, dataRecordCount));
+        if (indexedRecord <= currentRecord) {
+            return currentRecord;
+        }
+
+        // 記録位置からReaderとLineReaderを作り直す。
+        closeFile();
+        buildLineReader(recordOffsetIndex.getOffset(indexedRecord));
+
+        // トレイラキューを移動先のデータ行から詰め直す。
+        if (0 < trailerLineCount && !trailerSeekFromEnd) {
+            trailerQueue.clear();
+            for (int i = 0; i < trailerLineCount; i++) {
+                try {
+                    trailerQueue.add(lineReader.readLine());
+                } catch (FileException e) {
+                    throw new FileException("Processing of lineReader was failed.", e, fileName);
+                }
+            }
+        }
+        return (int) indexedRecord;
+    }
+
     /**
      * ファイル閉塞処理を行う。<br>
      * @throws FileException ファイル閉塞処理で失敗した場合。
@@ -843,11 +1294,18 @@ public abstract class AbstractFileLineIterator<T> implements
      * 理由はトレイラ部のデータ取得時に、データ部の情報を全部スキップするためです。<br>
      * <b>※注意事項</b><br>
      * データ部のデータを全部取得する以前にトレイラ部を取得しないこと。<br>
+     * ただし、トレイラ部末尾読込の場合はファイルオープン時に取得したトレイラ部を返却するため、
+     * トレイラ部の取得後もデータ部を取得することが出来る。<br>
      * @return トレイラ部の文字列リスト
      * @throws FileException データ行取得処理で失敗した場合。
      */
     @Override
     public List<String> getTrailer() {
+        // トレイラ部を末尾から読み込んだ場合は、データ部を読み飛ばさない。
+        if (trailerSeekFromEnd) {
+            return trailer;
+        }
+
         // トレイラ部のキャッシュがない場合に実行する。
         if (!readTrailer) {
             String currentData = null;
@@ -881,7 +1339,8 @@ public abstract class AbstractFileLineIterator<T> implements
      * ファイルからデータ部のデータを1行分読み取り、文字列として呼出元に返却する。<br>
      * トレイラ部が存在する場合はトレイラキューからデータを取得して結果文字列に する。<br>
      * その後LineReaderから1行分の文字列を取得しトレイラキューに格納する。<br>
-     * トレイラ部が存在しない場合はLineReaderから取得した1行分の文字列を結果文字列に する。<br>
+     * トレイラ部が存在しない場合、またはトレイラ部を末尾から読み込んだ場合は、
+     * LineReaderから取得した1行分の文字列を結果文字列に する。<br>
      * もし、次の1行分のデータがない場合はnullを返す。
      * @return データ部の１行分の文字列
      * @throws FileException データ行取得処理で失敗した場合。
@@ -903,7 +1362,7 @@ public abstract class AbstractFileLineIterator<T> implements
 
         // トレイラキューが存在する場合は、結果としてキューの先頭データを返す。
         // 今取得した1行分の文字列はトレイラキューに入れる。
-        if (0 < trailerLineCount) {
+        if (0 < trailerLineCount && !trailerSeekFromEnd) {
             String pollingLineString = trailerQueue.poll();
             trailerQueue.add(currentReadLineString);
             return pollingLineString;
@@ -914,10 +1373,17 @@ public abstract class AbstractFileLineIterator<T> implements
 
     /**
      * データ部のデータを読み飛ばす処理を行う。<br>
+     * レコードオフセットインデックスを利用する場合は、直近の記録位置へシークしてから残りの行を読み飛ばす。<br>
      * @param skipLines 読み飛ばす行数。
      */
     @Override
     public void skip(int skipLines) {
+        // インデックスを利用する場合は、直近の記録位置へシークしてから残りを読み飛ばす。
+        int seekedLineCount = seekRecord(currentLineCount, currentLineCount
+                + skipLines);
+        skipLines -= seekedLineCount - currentLineCount;
+        currentLineCount = seekedLineCount;
+
         for (int i = 0; i < skipLines; i++) {
             if (!hasNext()) {
                 throw new FileLineException("The data which can be acquired doesn't exist.", new NoSuchElementException(), fileName, currentLineCount
@@ -1013,6 +1479,14 @@ public abstract class AbstractFileLineIterator<T> implements
         return trailerLineCount;
     }
 
+    /**
+     * トレイラ部末尾読込フラグを取得する。
+     * @return トレイラ部をファイルの末尾から読み込む場合<code>true</code>
+     */
+    protected boolean isTrailerSeekFromEnd() {
+        return trailerSeekFromEnd;
+    }
+
     /**
      * 現在ファイル入力処理済みのデータ部内の行数を取得する。
      * @return ファイル入力処理済みのデータ部の行数。
@@ -20,25 +20,30 @@ import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import jp.terasoluna.fw.file.annotation.CompressionType;
 import jp.terasoluna.fw.file.annotation.FileFormat;
 import jp.terasoluna.fw.file.annotation.OutputFileColumn;
 import jp.terasoluna.fw.file.annotation.PaddingType;
 import jp.terasoluna.fw.file.annotation.StringConverter;
 import jp.terasoluna.fw.file.annotation.TrimType;
+import jp.terasoluna.fw.file.dao.BatchFileLineWriter;
 import jp.terasoluna.fw.file.dao.FileException;
 import jp.terasoluna.fw.file.dao.FileLineException;
-import jp.terasoluna.fw.file.dao.FileLineWriter;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -58,6 +63,10 @@ import org.apache.commons.lang3.StringUtils;
  * </ul>
  * 上記の順番でのみ正確に出力できる。<br>
  * </p>
+ * <p>
+ * ファイル名の代わりにチャネルを指定した場合は、パイプやソケットなどのチャネルへ先頭から順に書き込む。
+ * この場合、<code>@FileFormat</code>の<code>overWriteFlg</code>は利用しない。
+ * </p>
  * @see jp.terasoluna.fw.file.dao.FileLineWriter
  * @see jp.terasoluna.fw.file.dao.standard.CSVFileLineWriter
  * @see jp.terasoluna.fw.file.dao.standard.FixedFileLineWriter
@@ -65,7 +74,7 @@ import org.apache.commons.lang3.StringUtils;
  * @see jp.terasoluna.fw.file.dao.standard.PlainFileLineWriter
  * @param <T> ファイル行オブジェクト。
  */
-public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
+public abstract class AbstractFileLineWriter<T> implements BatchFileLineWriter<T> {
 
     /**
      * 初期化処理時の行番号。
@@ -82,6 +91,11 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
      */
     private String fileName = null;
 
+    /**
+     * 出力先のチャネル。ファイル名を指定した場合は<code>null</code>。
+     */
+    private WritableByteChannel channel = null;
+
     /**
      * ファイルエンコーディング。
      */
@@ -156,7 +170,7 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
      * ファイル行オブジェクトのストリングコンバータを格納するマップ。
      */
     @SuppressWarnings("rawtypes")
-    private static Map<Class, StringConverter> stringConverterCacheMap = new HashMap<Class, StringConverter>();
+    private static Map<Class, StringConverter> stringConverterCacheMap = new ConcurrentHashMap<Class, StringConverter>();
 
     /**
      * メソッドオブジェクト
@@ -168,6 +182,11 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
      */
     private Map<String, ColumnFormatter> columnFormatterMap = null;
 
+    /**
+     * ファイル行オブジェクトの属性ごとの出力カラムバインダを格納する。
+     */
+    private OutputColumnBinder[] columnBinders = null;
+
     /**
      * データ部出力確認用フラグ。
      */
@@ -183,16 +202,46 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
      */
     private int currentLineCount = 0;
 
+    /**
+     * 書き込んだバイト数を数える文字ストリーム。バイト数を数えない場合は<code>null</code>。
+     */
+    private ByteCountingWriter byteCountingWriter = null;
+
+    /**
+     * ファイルチャネルに直接エンコードする文字ストリーム。直接エンコード、非同期出力以外の場合は<code>null</code>。
+     */
+    private EncodingChannelWriter encodingWriter = null;
+
+    /**
+     * カラムのバイト数チェックを、エンコード結果のバイト数で呼出元が行う場合に<code>true</code>とするフラグ。
+     */
+    private boolean columnByteCheckDeferred = false;
+
     /**
      * 初期化処理実行フラグ。
      */
     private boolean calledInit = false;
 
+    /**
+     * データ部の1行分の文字列を組み立てるバッファ。行ごとに再利用する。
+     */
+    private final StringBuilder lineBuilder = new StringBuilder();
+
+    /**
+     * 非同期出力で利用するバイトバッファの数。<code>0</code>の場合は非同期出力を行わない。
+     */
+    private int asyncBufferCount = 0;
+
     /**
      * 囲み文字確認用フラグ。
      */
     private boolean enclosed = false;
 
+    /**
+     * 登録済みのカラムレイアウト利用フラグ。
+     */
+    private boolean columnLayoutShared = false;
+
     /**
      * コンストラクタ。<br>
      * 引数と<code>@FileFormat</code>アノテーションの設定チェックする。 <code>@FileFormat</code>アノテーションが設定されていない場合は非検査例外をスローする。<br>
@@ -204,8 +253,58 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
      */
     public AbstractFileLineWriter(String fileName, Class<T> clazz,
             Map<String, ColumnFormatter> columnFormatterMap) {
+        this(fileName, clazz, columnFormatterMap, 0);
+    }
 
-        if (fileName == null || "".equals(fileName)) {
+    /**
+     * コンストラクタ。<br>
+     * <code>asyncBufferCount</code>に2以上を指定した場合は、{@link AsyncEncodingChannelWriter}により
+     * バックグラウンドスレッドでファイルに書き込む。<br>
+     * その他のチェック内容は{@link #AbstractFileLineWriter(String, Class, Map)}と同じ。
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数。非同期出力を行わない場合は<code>0</code>。
+     */
+    public AbstractFileLineWriter(String fileName, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterMap,
+            int asyncBufferCount) {
+        this(fileName, null, clazz, columnFormatterMap, asyncBufferCount);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりにチャネルへ書き込む。チャネルは{@link #closeFile()}でクローズされる。<br>
+     * <code>@FileFormat</code>の<code>overWriteFlg</code>は利用せず、圧縮種別が<code>AUTO</code>の場合は
+     * 拡張子で判定できないため、非圧縮として扱う。<br>
+     * その他のチェック内容は{@link #AbstractFileLineWriter(String, Class, Map, int)}と同じ。
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数。非同期出力を行わない場合は<code>0</code>。
+     */
+    protected AbstractFileLineWriter(WritableByteChannel channel,
+            Class<T> clazz, Map<String, ColumnFormatter> columnFormatterMap,
+            int asyncBufferCount) {
+        this(null, checkChannel(channel), clazz, columnFormatterMap,
+                asyncBufferCount);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * チャネルが<code>null</code>の場合はファイル名のファイルへ、それ以外の場合はチャネルへ書き込む。
+     * @param fileName ファイル名
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数。非同期出力を行わない場合は<code>0</code>。
+     */
+    private AbstractFileLineWriter(String fileName,
+            WritableByteChannel channel, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterMap,
+            int asyncBufferCount) {
+
+        if (channel == null && (fileName == null || "".equals(fileName))) {
             throw new FileException("fileName is required.", new IllegalArgumentException(), fileName);
         }
 
@@ -217,9 +316,15 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
             throw new FileException("columnFormatterMap is required.", new IllegalArgumentException(), fileName);
         }
 
+        if (asyncBufferCount != 0 && asyncBufferCount < 2) {
+            throw new FileException("asyncBufferCount must be 0 or 2 or more.", new IllegalArgumentException(), fileName);
+        }
+
         this.fileName = fileName;
+        this.channel = channel;
         this.clazz = clazz;
         this.columnFormatterMap = columnFormatterMap;
+        this.asyncBufferCount = asyncBufferCount;
 
         // FileFormatに関するチェック処理。
 
@@ -256,6 +361,20 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
         }
     }
 
+    /**
+     * 出力先のチャネルの必須チェックを行う。
+     * @param channel 出力先のチャネル
+     * @return 引数のチャネル
+     * @throws FileException チャネルが<code>null</code>の場合。
+     */
+    protected static WritableByteChannel checkChannel(
+            WritableByteChannel channel) {
+        if (channel == null) {
+            throw new FileException("channel is required.", new IllegalArgumentException());
+        }
+        return channel;
+    }
+
     /**
      * 初期化処理を行う。<br>
      * 初期化処理で行う処理は以下です。。
@@ -293,10 +412,48 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
             buildStringConverters();
             buildMethods();
 
+            // 生成・検証済みのカラム定義情報をカラムレイアウトとあわせて登録し、以降のファイルオープンで共有する。
+            FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                    .getOutputMetadata(clazz);
+            if (metadata == null || !metadata.hasColumnLayout()) {
+                metadata = FileLineObjectMetadataRegistry.registerOutputMetadata(
+                        FileLineObjectMetadata.forOutput(clazz, fields, methods,
+                                outputFileColumns, stringConverters));
+            }
+            buildColumnBinders(metadata);
+
             // ファイルオープン
             try {
                 boolean append = !fileFormat.overWriteFlg();
-                writer = new BufferedWriter(new OutputStreamWriter((new FileOutputStream(fileName, append)), fileEncoding));
+                if (fileFormat.compression().resolve(fileName) == CompressionType.GZIP) {
+                    // 文字コードを確認してからファイルを開く。圧縮はブロックごとに複数スレッドで並列に行う。
+                    EncodingChannelWriter.forName(fileEncoding);
+                    OutputStream outputStream = openOutputStream(append);
+                    try {
+                        writer = new BufferedWriter(new OutputStreamWriter(new ParallelGzipOutputStream(outputStream), fileEncoding));
+                    } catch (IOException e) {
+                        try {
+                            outputStream.close();
+                        } catch (IOException ce) {
+                            // 例外を上書きしないため、クローズ時の例外はハンドリングしない
+                        }
+                        throw new FileException("Failed in generation of writer.", e, fileName);
+                    }
+                } else if (asyncBufferCount > 0) {
+                    // 文字コードを確認してからファイルを開く。
+                    EncodingChannelWriter.forName(fileEncoding);
+                    encodingWriter = new AsyncEncodingChannelWriter(openChannel(
+                            append), fileEncoding, EncodingChannelWriter.DEFAULT_BUFFER_SIZE, asyncBufferCount);
+                    writer = encodingWriter;
+                } else if (fileFormat.directEncoding()) {
+                    // 文字コードを確認してからファイルを開く。
+                    EncodingChannelWriter.forName(fileEncoding);
+                    encodingWriter = new EncodingChannelWriter(openChannel(append),
+                            fileEncoding, EncodingChannelWriter.DEFAULT_BUFFER_SIZE);
+                    writer = encodingWriter;
+                } else {
+                    writer = new BufferedWriter(new OutputStreamWriter(openOutputStream(append), fileEncoding));
+                }
             } catch (UnsupportedEncodingException e) {
                 throw new FileException("Failed in generation of writer.", e, fileName);
             } catch (FileNotFoundException e) {
@@ -306,10 +463,115 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
         }
     }
 
+    /**
+     * 出力先の出力ストリームを開く。<br>
+     * チャネルが指定されている場合は、チャネルへ書き込む出力ストリームを返却する。
+     * @param append 追記する場合は<code>true</code>
+     * @return 出力ストリーム
+     * @throws FileNotFoundException ファイルが開けない場合
+     */
+    private OutputStream openOutputStream(boolean append) throws FileNotFoundException {
+        if (channel != null) {
+            return Channels.newOutputStream(channel);
+        }
+        return new FileOutputStream(fileName, append);
+    }
+
+    /**
+     * 出力先のチャネルを開く。<br>
+     * チャネルが指定されている場合は、そのチャネルを返却する。
+     * @param append 追記する場合は<code>true</code>
+     * @return 出力先のチャネル
+     * @throws FileNotFoundException ファイルが開けない場合
+     */
+    private WritableByteChannel openChannel(boolean append) throws FileNotFoundException {
+        if (channel != null) {
+            return channel;
+        }
+        return new FileOutputStream(fileName, append).getChannel();
+    }
+
     /**
      * ファイル行オブジェクトの属性のフィールドオブジェクトの配列を生成する。
      */
     private void buildFields() {
+        FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                .getOutputMetadata(clazz);
+        // 登録済みのカラムレイアウトは、同じカラムフォーマッタのマップで出力カラムバインダを生成済みの場合のみ利用する。
+        columnLayoutShared = metadata != null && metadata.hasColumnLayout()
+                && metadata.hasOutputColumnBinders(columnFormatterMap);
+        if (metadata != null) {
+            // 登録済みのカラム定義情報を利用する。
+            // カラム定義の検証は登録時に完了しているため、マッピング可能な型のフィールドなのかのみ確認する。
+            // 確認は出力カラムバインダの取得で行い、同じカラムフォーマッタのマップでは2回目以降のファイルオープンで省略される。
+            if (metadata.getOutputColumnBinders(columnFormatterMap) == null) {
+                throw new FileException("There is a type which isn't supported in a "
+                        + "mapping target field in FileLineObject.", new IllegalStateException(), fileName);
+            }
+            this.fields = metadata.getFields();
+        } else {
+            this.fields = scanFields();
+        }
+
+        if (columnLayoutShared) {
+            // 登録済みのカラムレイアウトを利用する。（StringConverter以外）
+            outputFileColumns = metadata.getOutputFileColumns();
+            columnIndexs = metadata.getColumnIndexs();
+            columnFormats = metadata.getColumnFormats();
+            columnBytes = metadata.getColumnBytes();
+            paddingTypes = metadata.getPaddingTypes();
+            paddingChars = metadata.getPaddingChars();
+            trimTypes = metadata.getTrimTypes();
+            trimChars = metadata.getTrimChars();
+        } else {
+            // OutputFileColumn（アノテーション）をListオブジェクトに格納
+            outputFileColumns = new OutputFileColumn[fields.length];
+            columnIndexs = new int[fields.length];
+            columnFormats = new String[fields.length];
+            columnBytes = new int[fields.length];
+            paddingTypes = new PaddingType[fields.length];
+            paddingChars = new char[fields.length];
+            trimTypes = new TrimType[fields.length];
+            trimChars = new char[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                outputFileColumns[i] = fields[i].getAnnotation(
+                        OutputFileColumn.class);
+                columnIndexs[i] = outputFileColumns[i].columnIndex();
+                columnFormats[i] = outputFileColumns[i].columnFormat();
+                columnBytes[i] = outputFileColumns[i].bytes();
+                paddingTypes[i] = outputFileColumns[i].paddingType();
+                paddingChars[i] = outputFileColumns[i].paddingChar();
+                trimTypes[i] = outputFileColumns[i].trimType();
+                trimChars[i] = outputFileColumns[i].trimChar();
+            }
+        }
+
+        // 囲み文字設定。まずFileFormatの設定を適用する。
+        columnEncloseChar = new char[fields.length];
+        if (getEncloseChar() != Character.MIN_VALUE) {
+            enclosed = true;
+            for (int index = 0; index < fields.length; index++) {
+                columnEncloseChar[index] = getEncloseChar();
+            }
+        }
+
+        for (int i = 0; i < fields.length; i++) {
+            // 囲み文字設定。inputFileColumnsの設定で上書きをする。
+            if (outputFileColumns[i]
+                    .columnEncloseChar() != Character.MIN_VALUE) {
+                columnEncloseChar[i] = outputFileColumns[i].columnEncloseChar();
+                enclosed = true;
+            }
+        }
+    }
+
+    /**
+     * ファイル行オブジェクトと継承元の全クラスの属性を走査し、{@link OutputFileColumn}アノテーションが設定されている属性を
+     * カラムインデックスの順に並べた配列を生成する。
+     * @return カラムインデックス順の属性の配列
+     * @throws FileException 属性の設定に問題がある場合。
+     */
+    private Field[] scanFields() {
         List<Field[]> fieldList = new ArrayList<Field[]>();
 
         // フィールドオブジェクトを生成
@@ -374,54 +636,25 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
 
         // フィールドをコピー(nullの部分削除)
         if (dataColumnFields.length == columnCount) {
-            this.fields = dataColumnFields;
-        } else {
-            this.fields = new Field[columnCount];
-            System.arraycopy(dataColumnFields, 0, this.fields, 0, columnCount);
-        }
-
-        // OutputFileColumn（アノテーション）をListオブジェクトに格納
-        outputFileColumns = new OutputFileColumn[fields.length];
-        columnIndexs = new int[fields.length];
-        columnFormats = new String[fields.length];
-        columnBytes = new int[fields.length];
-        paddingTypes = new PaddingType[fields.length];
-        paddingChars = new char[fields.length];
-        trimTypes = new TrimType[fields.length];
-        trimChars = new char[fields.length];
-
-        // 囲み文字設定。まずFileFormatの設定を適用する。
-        columnEncloseChar = new char[fields.length];
-        if (getEncloseChar() != Character.MIN_VALUE) {
-            enclosed = true;
-            for (int index = 0; index < fields.length; index++) {
-                columnEncloseChar[index] = getEncloseChar();
-            }
-        }
-
-        for (int i = 0; i < fields.length; i++) {
-            outputFileColumns[i] = fields[i].getAnnotation(
-                    OutputFileColumn.class);
-            columnIndexs[i] = outputFileColumns[i].columnIndex();
-            columnFormats[i] = outputFileColumns[i].columnFormat();
-            columnBytes[i] = outputFileColumns[i].bytes();
-            paddingTypes[i] = outputFileColumns[i].paddingType();
-            paddingChars[i] = outputFileColumns[i].paddingChar();
-            trimTypes[i] = outputFileColumns[i].trimType();
-            trimChars[i] = outputFileColumns[i].trimChar();
-            // 囲み文字設定。inputFileColumnsの設定で上書きをする。
-            if (outputFileColumns[i]
-                    .columnEncloseChar() != Character.MIN_VALUE) {
-                columnEncloseChar[i] = outputFileColumns[i].columnEncloseChar();
-                enclosed = true;
-            }
+            return dataColumnFields;
         }
+        Field[] columnFields = new Field[columnCount];
+        System.arraycopy(dataColumnFields, 0, columnFields, 0, columnCount);
+        return columnFields;
     }
 
     /**
      * ファイル行オブジェクトの属性の文字変換種別オブジェクトの配列を生成する。<br>
      */
     private void buildStringConverters() {
+        FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                .getOutputMetadata(clazz);
+        if (columnLayoutShared && metadata != null
+                && metadata.hasSameFields(fields)) {
+            // 登録済みのカラムレイアウトの文字変換種別オブジェクトを利用する。
+            this.stringConverters = metadata.getStringConverters();
+            return;
+        }
 
         // 文字変換種別の配列を生成
         StringConverter[] dataColumnStringConverters = new StringConverter[fields.length];
@@ -468,12 +701,29 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
      * 属性に対するgetterメソッドは以下のルールで検索する。<br>
      * <ul>
      * <li>属性名の最初の文字を大文字にした文字列の先頭に「get」をつけたもの。</li>
-     * <li>is～()、has～()などのgetterメソッドは検索対象外です。</li>
+     * <li>boolean型の属性で上記のメソッドが存在しない場合は、先頭に「is」をつけたもの。</li>
+     * <li>has～()などのgetterメソッドは検索対象外です。</li>
      * </ul>
-     * getterメソッドが検索できない場合は例外が発生する。
+     * getterメソッドが検索できない場合は例外が発生する。<br>
      * @throws FileException getterメソッドが見つからなかった場合。
      */
     private void buildMethods() {
+        FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                .getOutputMetadata(clazz);
+        if (metadata != null && metadata.hasSameFields(fields)) {
+            // 登録済みのカラム定義情報を利用する。
+            this.methods = metadata.getMethods();
+        } else {
+            this.methods = scanMethods();
+        }
+    }
+
+    /**
+     * ファイル行オブジェクトの属性に対応するgetterメソッドを検索する。
+     * @return getterメソッドの配列
+     * @throws FileException getterメソッドが見つからなかった場合。
+     */
+    private Method[] scanMethods() {
         Method[] dataColumnGetMethods = new Method[fields.length];
         StringBuilder getterName = new StringBuilder();
         String fieldName = null;
@@ -493,10 +743,43 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
                 dataColumnGetMethods[i] = clazz.getMethod(getterName
                         .toString());
             } catch (NoSuchMethodException e) {
-                throw new FileException("The getter method of column doesn't exist.", e, fileName);
+                if (fields[i].getType() != boolean.class) {
+                    throw new FileException("The getter method of column doesn't exist.", e, fileName);
+                }
+                // boolean型の属性は「is」で始まるgetterメソッドも検索する。
+                getterName.replace(0, 3, "is");
+                try {
+                    dataColumnGetMethods[i] = clazz.getMethod(getterName
+                            .toString());
+                } catch (NoSuchMethodException ex) {
+                    throw new FileException("The getter method of column doesn't exist.", e, fileName);
+                }
             }
         }
-        this.methods = dataColumnGetMethods;
+        return dataColumnGetMethods;
+    }
+
+    /**
+     * getterメソッドと戻り値の型に対応するカラムフォーマッタから出力カラムバインダの配列を生成する。<br>
+     * 登録済みのカラム定義情報と属性が一致する場合は、カラム定義情報が保持する生成済みの出力カラムバインダを利用する。
+     * @param metadata 登録済みのカラム定義情報(未登録の場合は<code>null</code>)
+     */
+    private void buildColumnBinders(FileLineObjectMetadata metadata) {
+        if (metadata != null && metadata.hasSameFields(fields)) {
+            OutputColumnBinder[] binders = metadata.getOutputColumnBinders(
+                    columnFormatterMap);
+            if (binders != null) {
+                this.columnBinders = binders;
+                return;
+            }
+        }
+        OutputColumnBinder[] dataColumnBinders = new OutputColumnBinder[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            dataColumnBinders[i] = ColumnBinderCompiler.compile(methods[i],
+                    columnFormatterMap.get(methods[i].getReturnType()
+                            .getName()));
+        }
+        this.columnBinders = dataColumnBinders;
     }
 
     /**
@@ -514,13 +797,31 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
 
     /**
      * データ部への書き込み処理。
+     * <p>
+     * 直接エンコード、非同期出力の場合は、カラムごとに行バッファへ直接エンコードし、
+     * カラムのバイト数チェックにはエンコードしたバイト数を利用する。
+     * </p>
      * @param t データ部へ書き込むファイル行オブジェクト
      */
     @Override
     public void printDataLine(T t) {
         checkWriteTrailer();
+        if (encodingWriter != null) {
+            try {
+                int lineBytes = encodeDataLine(encodingWriter, t);
+                if (byteCountingWriter != null) {
+                    byteCountingWriter.addCount(lineBytes);
+                }
+            } catch (IOException e) {
+                throw new FileException("Processing of writer was failed.", e, fileName);
+            }
+            currentLineCount++;
+            setWriteData(true);
+            return;
+        }
         // ファイル書き込みの初期化
-        StringBuilder fileLineBuilder = new StringBuilder();
+        StringBuilder fileLineBuilder = lineBuilder;
+        fileLineBuilder.setLength(0);
 
         // 固定長ファイルの場合
         // (区切り文字、囲み文字がない場合は固定長ファイルと判断する。)
@@ -552,7 +853,7 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
 
         // ファイルへの書き込み処理。
         try {
-            getWriter().write(fileLineBuilder.toString());
+            getWriter().append(fileLineBuilder);
         } catch (IOException e) {
             throw new FileException("Processing of writer was failed.", e, fileName);
         }
@@ -560,6 +861,78 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
         setWriteData(true);
     }
 
+    /**
+     * データ部の1行をカラムごとに行バッファへエンコードして書き込む。
+     * <p>
+     * 囲み文字を付けないカラムは、エンコードしたバイト数でバイト数チェックを行う。
+     * 例外が発生した場合は行バッファを破棄するため、途中までの行は書き込まれない。
+     * </p>
+     * @param channelWriter 書き込み先の文字ストリーム
+     * @param t データ部へ書き込むファイル行オブジェクト
+     * @return 書き込んだ行のバイト数
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    private int encodeDataLine(EncodingChannelWriter channelWriter,
+            T t) throws IOException {
+        // 固定長ファイルの場合
+        // (区切り文字、囲み文字がない場合は固定長ファイルと判断する。)
+        boolean fixedLength = getDelimiter() == Character.MIN_VALUE
+                && getEncloseChar() == Character.MIN_VALUE;
+        boolean committed = false;
+        channelWriter.beginLine();
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                char encloseChar = fixedLength ? Character.MIN_VALUE
+                        : columnEncloseChar[i];
+                if (!fixedLength && i > 0) {
+                    channelWriter.appendToLine(getDelimiter());
+                }
+                if (encloseChar != Character.MIN_VALUE) {
+                    // エスケープ前の文字列でバイト数チェックを行うため、getColumn()内でチェックする。
+                    channelWriter.appendToLine(encloseChar);
+                    channelWriter.appendToLine(getColumn(t, i));
+                    channelWriter.appendToLine(encloseChar);
+                } else if (isCheckByte(columnBytes[i])) {
+                    String columnString;
+                    columnByteCheckDeferred = true;
+                    try {
+                        columnString = getColumn(t, i);
+                    } finally {
+                        columnByteCheckDeferred = false;
+                    }
+                    checkColumnByteLength(i, channelWriter.appendToLine(
+                            columnString));
+                } else {
+                    channelWriter.appendToLine(getColumn(t, i));
+                }
+            }
+            // 行区切り文字を追加する。
+            channelWriter.appendToLine(getLineFeedChar());
+            int lineBytes = channelWriter.commitLine();
+            committed = true;
+            return lineBytes;
+        } finally {
+            if (!committed) {
+                channelWriter.cancelLine();
+            }
+        }
+    }
+
+    /**
+     * データ部への一括書き込み処理。
+     * <p>
+     * コレクションの順にファイル行オブジェクトを書き込む。
+     * 書き込みに失敗した場合は、それ以前のファイル行オブジェクトは書き込み済みとなる。
+     * </p>
+     * @param collection データ部へ書き込むファイル行オブジェクトのコレクション
+     */
+    @Override
+    public void printDataLines(Collection<? extends T> collection) {
+        for (T t : collection) {
+            printDataLine(t);
+        }
+    }
+
     /**
      * トレイラ部への書込み処理。
      * @param trailerLine トレイラ部へ書き込む文字列のリスト
@@ -587,12 +960,20 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
 
     /**
      * ファイルクローズ処理。
+     * <p>
+     * 非同期出力の場合は、書き込み済みのデータがすべてファイルに書き込まれるまで待機し、
+     * バックグラウンドスレッドで発生した入出力エラーを例外として通知する。<br>
+     * フラッシュ処理に失敗した場合もストリームはクローズする。
+     * </p>
      */
     @Override
     public void closeFile() {
         try {
-            getWriter().flush();
-            getWriter().close();
+            try {
+                getWriter().flush();
+            } finally {
+                getWriter().close();
+            }
         } catch (IOException e) {
             throw new FileException("Closing of writer was failed.", e, fileName);
         }
@@ -609,7 +990,8 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
      * <li>文字変換処理<br>
      * <br>
      * ファイル行オブジェクトのアノテーションでカラムのバイト長が指定されている場合、<br>
-     * 返却する文字列がバイト長と一致しているか確認する。
+     * 返却する文字列がバイト長と一致しているか確認する。<br>
+     * 直接エンコード、非同期出力で囲み文字を付けないカラムは、呼出元がエンコードしたバイト数で確認する。
      * </p>
      * @param t ファイル行オブジェクト
      * @param index カラムのインデックス
@@ -620,10 +1002,8 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
         String columnString = null;
 
         // ファイル行オブジェクト(t)からカラムインデックスと一致する属性の値を取得する。
-        ColumnFormatter columnFormatter = columnFormatterMap.get(methods[index]
-                .getReturnType().getName());
         try {
-            columnString = columnFormatter.format(t, methods[index],
+            columnString = columnBinders[index].format(t,
                     columnFormats[index]);
         } catch (IllegalArgumentException e) {
             throw new FileLineException("Failed in column data formatting.", e, fileName, currentLineCount
@@ -663,12 +1043,10 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
                                             .getName(), columnIndexs[index]);
                 }
                 // 設定されたBytes値とデータのサイズが違う場合は例外発生
-                if (columnString.getBytes(
-                        fileEncoding).length != columnBytes[index]) {
-                    throw new FileLineException("The data size is different from bytes value of "
-                            + "the set value of the column .", new IllegalStateException(), fileName, currentLineCount
-                                    + 1, fields[index]
-                                            .getName(), columnIndexs[index]);
+                if (!columnByteCheckDeferred) {
+                    checkColumnByteLength(index, HalfWidthCharacterTable
+                            .getTable(fileEncoding).getByteLength(
+                                    columnString));
                 }
             } catch (UnsupportedEncodingException e) {
                 throw new FileException("fileEncoding which isn't supported was set.", e, fileName);
@@ -677,6 +1055,21 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
         return columnString;
     }
 
+    /**
+     * カラムのバイト数がアノテーションで指定されたバイト長と一致しているか確認する。
+     * @param index カラムのインデックス
+     * @param byteLength カラムのバイト数
+     * @throws FileLineException バイト数が一致しない場合
+     */
+    private void checkColumnByteLength(int index, int byteLength) {
+        if (byteLength != columnBytes[index]) {
+            throw new FileLineException("The data size is different from bytes value of "
+                    + "the set value of the column .", new IllegalStateException(), fileName, currentLineCount
+                            + 1, fields[index]
+                                    .getName(), columnIndexs[index]);
+        }
+    }
+
     /**
      * ファイル名を取得する。
      * @return fileName ファイル名
@@ -708,6 +1101,11 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
     public void setColumnFormatterMap(
             Map<String, ColumnFormatter> columnFormatterMap) {
         this.columnFormatterMap = columnFormatterMap;
+        if (methods != null && columnFormatterMap != null) {
+            // 初期化後に変更された場合は出力カラムバインダを再生成する。
+            buildColumnBinders(FileLineObjectMetadataRegistry
+                    .getOutputMetadata(clazz));
+        }
     }
 
     /**
@@ -718,6 +1116,42 @@ public abstract class AbstractFileLineWriter<T> implements FileLineWriter<T> {
         return writer;
     }
 
+    /**
+     * 書き込んだバイト数の計数を開始する。
+     * <p>
+     * 以降に書き込んだヘッダ部・データ部・トレイラ部の文字列を、ファイルエンコーディングで変換した場合のバイト数として数える。
+     * 圧縮形式の場合は圧縮前のバイト数となる。<br>
+     * 書き込む文字列ごとに変換後のバイト数を求めるため、必要な場合のみ呼び出すこと。
+     * </p>
+     * @throws FileException ファイルエンコーディングがサポートされていない場合。
+     * @see #getWrittenBytes()
+     */
+    public void enableByteCount() {
+        if (byteCountingWriter != null) {
+            return;
+        }
+        try {
+            byteCountingWriter = new ByteCountingWriter(writer, fileEncoding);
+        } catch (UnsupportedEncodingException e) {
+            throw new FileException("Failed in generation of writer.", e, fileName);
+        }
+        writer = byteCountingWriter;
+    }
+
+    /**
+     * 書き込んだバイト数を取得する。
+     * <p>
+     * 出力先でバッファリング中の文字列も含む。{@link #enableByteCount()}を呼び出していない場合は0を返却する。
+     * </p>
+     * @return 書き込んだバイト数
+     */
+    public long getWrittenBytes() {
+        if (byteCountingWriter == null) {
+            return 0L;
+        }
+        return byteCountingWriter.getCount();
+    }
+
     /**
      * ファイル行オブジェクトのField情報（Annotation）を格納する変数を取得する。
      * @return fields ファイル行オブジェクトのField情報（Annotation）を格納する変数
@@ -16,8 +16,12 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Map;
 
+import jp.terasoluna.fw.file.dao.FileException;
 import jp.terasoluna.fw.file.dao.FileLineIterator;
 import jp.terasoluna.fw.file.dao.FileQueryDAO;
 
@@ -51,6 +55,68 @@ public abstract class AbstractFileQueryDAO implements FileQueryDAO {
     public abstract <T> FileLineIterator<T> execute(String fileName,
             Class<T> clazz);
 
+    /**
+     * 入力ストリームを指定して、<code>FileLineIterator</code>を取得する。
+     * <p>
+     * パイプや伸張処理の結果、メモリ上のデータなどを一時ファイルに出力せずに、先頭から順に読み込む。
+     * 入力ストリームは<code>FileLineIterator#closeFile()</code>でクローズされる。<br>
+     * ファイル内の位置へシークできないため、<code>@FileFormat</code>の<code>trailerSeekFromEnd</code>と
+     * <code>recordIndexInterval</code>は無視される。
+     * </p>
+     * このクラスでは入力ストリームからの読込に対応せず、例外をスローする。対応するサブクラスでオーバーライドすること。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param inputStream 入力ストリーム
+     * @param clazz 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @return ファイル行オブジェクト生成用のイテレータ
+     * @throws FileException 入力ストリームからの読込に対応していない場合。
+     */
+    public <T> FileLineIterator<T> execute(InputStream inputStream,
+            Class<T> clazz) {
+        throw new FileException("InputStream is not supported.", new UnsupportedOperationException());
+    }
+
+    /**
+     * チャネルを指定して、<code>FileLineIterator</code>を取得する。
+     * <p>
+     * チャネルを入力ストリームに変換し、{@link #execute(InputStream, Class)}で読み込む。
+     * </p>
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param channel 読込元のチャネル
+     * @param clazz 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @return ファイル行オブジェクト生成用のイテレータ
+     * @throws FileException チャネルが<code>null</code>の場合。
+     */
+    public <T> FileLineIterator<T> execute(ReadableByteChannel channel,
+            Class<T> clazz) {
+        if (channel == null) {
+            throw new FileException("channel is required.", new IllegalArgumentException());
+        }
+        return execute(Channels.newInputStream(channel), clazz);
+    }
+
+    /**
+     * ファイル名を指定して、列指向の一括読込を行う<code>ColumnarFileLineReader</code>を取得する。
+     * <p>
+     * {@link #execute(String, Class)}で生成した<code>FileLineIterator</code>のデータ部を、
+     * ファイル行オブジェクトを生成せずにカラムごとの配列に読み込む。
+     * </p>
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param fileName ファイル名（絶対パスまたは相対パスのどちらか）
+     * @param clazz 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @return 列指向の一括読込クラス
+     * @see jp.terasoluna.fw.file.dao.standard.ColumnarFileLineReader
+     */
+    public <T> ColumnarFileLineReader<T> executeColumnar(String fileName,
+            Class<T> clazz) {
+        FileLineIterator<T> fileLineIterator = execute(fileName, clazz);
+        try {
+            return new ColumnarFileLineReader<T>(fileLineIterator);
+        } catch (FileException e) {
+            fileLineIterator.closeFile();
+            throw e;
+        }
+    }
+
     /**
      * カラムパーサーを格納するマップを取得する。
      * @return カラムパーサーを格納するマップ
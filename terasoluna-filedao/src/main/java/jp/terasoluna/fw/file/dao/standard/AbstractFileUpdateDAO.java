@@ -16,8 +16,10 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.nio.channels.WritableByteChannel;
 import java.util.Map;
 
+import jp.terasoluna.fw.file.dao.FileException;
 import jp.terasoluna.fw.file.dao.FileLineWriter;
 import jp.terasoluna.fw.file.dao.FileUpdateDAO;
 
@@ -40,6 +42,11 @@ public abstract class AbstractFileUpdateDAO implements FileUpdateDAO {
      */
     private Map<String, ColumnFormatter> columnFormatterMap = null;
 
+    /**
+     * 非同期出力で利用するバイトバッファの数。
+     */
+    private int asyncBufferCount = 0;
+
     /**
      * ファイル名を指定して、<code>FileLineWriter</code> を取得する。
      * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
@@ -51,6 +58,25 @@ public abstract class AbstractFileUpdateDAO implements FileUpdateDAO {
     public abstract <T> FileLineWriter<T> execute(String fileName,
             Class<T> clazz);
 
+    /**
+     * チャネルを指定して、<code>FileLineWriter</code> を取得する。
+     * <p>
+     * パイプやソケットなどのチャネルへ、一時ファイルを介さずに先頭から順に書き込む。
+     * チャネルは<code>FileLineWriter#closeFile()</code>でクローズされる。<br>
+     * <code>@FileFormat</code>の<code>overWriteFlg</code>は利用しない。
+     * </p>
+     * このクラスではチャネルへの書込に対応せず、例外をスローする。対応するサブクラスでオーバーライドすること。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param channel 出力先のチャネル
+     * @param clazz 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @return ファイル出力用Writer
+     * @throws FileException チャネルへの書込に対応していない場合。
+     */
+    public <T> FileLineWriter<T> execute(WritableByteChannel channel,
+            Class<T> clazz) {
+        throw new FileException("WritableByteChannel is not supported.", new UnsupportedOperationException());
+    }
+
     /**
      * 文字フォーマット処理マップを取得する。
      * @return 文字フォーマット処理マップ
@@ -67,4 +93,27 @@ public abstract class AbstractFileUpdateDAO implements FileUpdateDAO {
             Map<String, ColumnFormatter> columnFormatterMap) {
         this.columnFormatterMap = columnFormatterMap;
     }
+
+    /**
+     * 非同期出力で利用するバイトバッファの数を取得する。
+     * @return 非同期出力で利用するバイトバッファの数
+     */
+    public int getAsyncBufferCount() {
+        return asyncBufferCount;
+    }
+
+    /**
+     * 非同期出力で利用するバイトバッファの数を設定する。
+     * <p>
+     * 2以上を設定すると、生成する<code>FileLineWriter</code>は1行分の文字列をバイトバッファへエンコードし、
+     * 一杯になったバイトバッファをバックグラウンドスレッドでファイルに書き込む(ダブルバッファリング)。<br>
+     * 書き込み待ちのバイトバッファは最大で「設定値 - 1」個となり、それを超える場合は書き込みが完了するまで待機する。<br>
+     * バックグラウンドスレッドで発生した入出力エラーは、以降の書き込み処理、または<code>closeFile()</code>で例外として通知される。<br>
+     * デフォルト値は「0（非同期出力を行わない）」。
+     * </p>
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数(0または2以上)
+     */
+    public void setAsyncBufferCount(int asyncBufferCount) {
+        this.asyncBufferCount = asyncBufferCount;
+    }
 }
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * バックグラウンドスレッドでファイルチャネルに書き込む文字ストリーム。
+ * <p>
+ * 呼出元のスレッドは{@link EncodingChannelWriter}と同様に文字列をバイトバッファへエンコードし、
+ * バイトバッファが一杯になると書き込み用のスレッドに引き渡して、空いている別のバイトバッファへのエンコードを続ける。<br>
+ * これにより、エンコード処理とファイルへの書き込み処理が並行して行われる。
+ * </p>
+ * <p>
+ * バイトバッファの数は<code>bufferCount</code>で固定され、書き込み待ちのバイトバッファは最大<code>bufferCount - 1</code>個となる。
+ * すべてのバイトバッファが書き込み待ちの場合、呼出元のスレッドは書き込みが完了するまで待機する。
+ * </p>
+ * <p>
+ * 書き込み用のスレッドで発生した入出力エラーは、以降の書き込み、{@link #flush()}、{@link #close()}の呼び出し時に
+ * <code>IOException</code>として呼出元のスレッドに通知される。<br>
+ * {@link #flush()}と{@link #close()}は、それまでに書き込まれたすべての文字列がファイルチャネルに書き込まれるまで待機する。
+ * </p>
+ */
+public class AsyncEncodingChannelWriter extends EncodingChannelWriter {
+
+    /**
+     * 書き込み用のスレッドに終了を通知するための空のバイトバッファ。
+     */
+    private static final ByteBuffer END_OF_BUFFERS = ByteBuffer.allocate(0);
+
+    /**
+     * 空いているバイトバッファを待機する際に、書き込み用のスレッドの状態を確認する間隔(ミリ秒)。
+     */
+    private static final long WAIT_MILLIS = 100L;
+
+    /**
+     * バイトバッファの数。
+     */
+    private final int bufferCount;
+
+    /**
+     * エンコードに利用できる空のバイトバッファのキュー。
+     */
+    private final BlockingQueue<ByteBuffer> freeBuffers;
+
+    /**
+     * 書き込み待ちのバイトバッファのキュー。
+     */
+    private final BlockingQueue<ByteBuffer> fullBuffers;
+
+    /**
+     * 書き込み待ち、書き込み中のバイトバッファの数を管理するためのロック。
+     */
+    private final Object lock = new Object();
+
+    /**
+     * 書き込み待ち、書き込み中のバイトバッファの数。
+     */
+    private int inFlightCount = 0;
+
+    /**
+     * 書き込み用のスレッドで発生したエラー。
+     */
+    private volatile Throwable error = null;
+
+    /**
+     * 書き込み用のスレッドが終了の通知まですべてのバイトバッファを処理したかどうか。
+     */
+    private volatile boolean drained = false;
+
+    /**
+     * 書き込み用のスレッド。
+     */
+    private final Thread flushThread;
+
+    /**
+     * コンストラクタ。
+     * @param channel 書き込み先のチャネル(ファイルチャネルやパイプなど)
+     * @param charsetName 文字コード名
+     * @param bufferSize バイトバッファのサイズ
+     * @param bufferCount バイトバッファの数(2以上)
+     * @throws UnsupportedEncodingException 文字コードがサポートされていない場合
+     * @throws IllegalArgumentException 引数の設定が間違った場合。
+     */
+    public AsyncEncodingChannelWriter(WritableByteChannel channel, String charsetName,
+            int bufferSize,
+            int bufferCount) throws UnsupportedEncodingException {
+        super(channel, charsetName, bufferSize);
+        if (bufferCount < 2) {
+            throw new IllegalArgumentException("bufferCount must be 2 or more.");
+        }
+        this.bufferCount = bufferCount;
+        this.freeBuffers = new ArrayBlockingQueue<ByteBuffer>(bufferCount);
+        this.fullBuffers = new ArrayBlockingQueue<ByteBuffer>(bufferCount);
+        for (int i = 1; i < bufferCount; i++) {
+            freeBuffers.add(ByteBuffer.allocateDirect(getBufferCapacity()));
+        }
+        this.flushThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drainBuffers();
+            }
+        }, "AsyncEncodingChannelWriter-" + System.identityHashCode(this));
+        this.flushThread.setDaemon(true);
+        this.flushThread.start();
+    }
+
+    /**
+     * バイトバッファを書き込み用のスレッドに引き渡し、空いているバイトバッファを返却する。
+     * <p>
+     * 空いているバイトバッファがない場合は、書き込みが完了するまで待機する。
+     * </p>
+     * @param fullBuffer 書き込むバイトバッファ
+     * @return 空のバイトバッファ
+     * @throws IOException 書き込み用のスレッドでエラーが発生していた場合、または待機中に割り込まれた場合
+     */
+    @Override
+    protected ByteBuffer writeBuffer(ByteBuffer fullBuffer) throws IOException {
+        checkError();
+        try {
+            synchronized (lock) {
+                inFlightCount++;
+            }
+            fullBuffers.put(fullBuffer);
+            while (true) {
+                ByteBuffer freeBuffer = freeBuffers.poll(WAIT_MILLIS,
+                        TimeUnit.MILLISECONDS);
+                if (freeBuffer != null) {
+                    return freeBuffer;
+                }
+                if (!flushThread.isAlive()) {
+                    checkError();
+                    throw new IOException("Asynchronous writer thread is not alive.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a free buffer.");
+        }
+    }
+
+    /**
+     * 残りの文字列をファイルチャネルに書き込み、書き込みが完了するまで待機する。
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    @Override
+    public void flush() throws IOException {
+        super.flush();
+        awaitWritten();
+        checkError();
+        if (!flushThread.isAlive()) {
+            throw new IOException("Asynchronous writer thread is not alive.");
+        }
+    }
+
+    /**
+     * 書き込み用のスレッドを終了し、ファイルチャネルをクローズする。
+     * @throws IOException 書き込み用のスレッドでエラーが発生していた場合、
+     *             または書き込み用のスレッドがすべてのバイトバッファを書き込む前に終了していた場合
+     */
+    @Override
+    protected void closeChannel() throws IOException {
+        try {
+            fullBuffers.put(END_OF_BUFFERS);
+            flushThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the writer.");
+        } finally {
+            super.closeChannel();
+        }
+        checkError();
+        if (!drained) {
+            throw new IOException("Asynchronous writer thread ended before writing all buffers.");
+        }
+    }
+
+    /**
+     * バイトバッファの数を取得する。
+     * @return バイトバッファの数
+     */
+    public int getBufferCount() {
+        return bufferCount;
+    }
+
+    /**
+     * 書き込み待ちのバイトバッファを順にファイルチャネルに書き込む。書き込み用のスレッドで実行される。
+     * <p>
+     * エラーが発生した後は書き込みを行わずにバイトバッファを返却し、呼出元のスレッドが待機し続けないようにする。<br>
+     * {@link Error}を含むすべての例外をエラーとして記録し、呼出元のスレッドに通知する。
+     * </p>
+     */
+    private void drainBuffers() {
+        try {
+            drainBuffers(getChannel());
+        } catch (Throwable t) {
+            if (error == null) {
+                error = t;
+            }
+        } finally {
+            // 待機中の呼出元のスレッドに終了を通知する。
+            synchronized (lock) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 書き込み待ちのバイトバッファを順にファイルチャネルに書き込む。
+     * @param channel 書き込み先のチャネル
+     */
+    private void drainBuffers(WritableByteChannel channel) {
+        while (true) {
+            ByteBuffer fullBuffer;
+            try {
+                fullBuffer = fullBuffers.take();
+            } catch (InterruptedException e) {
+                error = e;
+                return;
+            }
+            if (fullBuffer == END_OF_BUFFERS) {
+                drained = true;
+                return;
+            }
+            try {
+                if (error == null) {
+                    while (fullBuffer.hasRemaining()) {
+                        channel.write(fullBuffer);
+                    }
+                }
+            } catch (Throwable t) {
+                error = t;
+            } finally {
+                fullBuffer.clear();
+                freeBuffers.add(fullBuffer);
+                synchronized (lock) {
+                    inFlightCount--;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * 書き込み待ち、書き込み中のバイトバッファがなくなるまで待機する。
+     * @throws IOException 待機中に割り込まれた場合
+     */
+    private void awaitWritten() throws IOException {
+        synchronized (lock) {
+            while (inFlightCount > 0 && flushThread.isAlive()) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while flushing the writer.");
+                }
+            }
+        }
+    }
+
+    /**
+     * 書き込み用のスレッドでエラーが発生していないことを確認する。
+     * @throws IOException 書き込み用のスレッドでエラーが発生していた場合
+     */
+    private void checkError() throws IOException {
+        Throwable t = error;
+        if (t != null) {
+            throw new IOException("Asynchronous write was failed.", t);
+        }
+    }
+}
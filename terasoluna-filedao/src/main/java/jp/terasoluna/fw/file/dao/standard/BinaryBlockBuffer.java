@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * バイナリファイルのブロック用バッファクラス。
+ * <p>
+ * バイナリファイルのブロックの内容を組み立て、または解析するための可変長のバイト配列。<br>
+ * 整数は可変長(7ビットずつ、符号付きの場合はジグザグ符号化)で、文字列はUTF-8のバイト数を前置して格納する。<br>
+ * 書込み位置はバッファの末尾、読込位置は{@link #setReadPosition(int)}で指定した位置となる。
+ * </p>
+ * @see jp.terasoluna.fw.file.dao.standard.BinaryFileLineWriter
+ * @see jp.terasoluna.fw.file.dao.standard.BinaryFileLineIterator
+ */
+class BinaryBlockBuffer {
+
+    /**
+     * 文字列の文字コード。
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * バッファ。
+     */
+    private byte[] data;
+
+    /**
+     * 格納済みのバイト数。
+     */
+    private int size = 0;
+
+    /**
+     * 読込位置。
+     */
+    private int position = 0;
+
+    /**
+     * コンストラクタ。
+     * @param capacity 初期容量
+     */
+    BinaryBlockBuffer(int capacity) {
+        this.data = new byte[Math.max(16, capacity)];
+    }
+
+    /**
+     * 格納済みの内容を破棄する。
+     */
+    void clear() {
+        size = 0;
+        position = 0;
+    }
+
+    /**
+     * バッファを取得する。有効な範囲は先頭から{@link #size()}バイトまで。
+     * @return バッファ
+     */
+    byte[] array() {
+        return data;
+    }
+
+    /**
+     * 格納済みのバイト数を取得する。
+     * @return 格納済みのバイト数
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 指定したバイト数を格納できる容量を確保し、格納済みのバイト数として設定する。<br>
+     * 外部からバッファへ直接読み込む場合に利用する。読込位置は先頭に戻す。
+     * @param length 格納済みのバイト数
+     */
+    void setSize(int length) {
+        ensureCapacity(length);
+        size = length;
+        position = 0;
+    }
+
+    /**
+     * 読込位置を取得する。
+     * @return 読込位置
+     */
+    int getReadPosition() {
+        return position;
+    }
+
+    /**
+     * 読込位置を設定する。
+     * @param position 読込位置
+     */
+    void setReadPosition(int position) {
+        this.position = position;
+    }
+
+    /**
+     * 読み込んでいないバイト数を取得する。
+     * @return 読み込んでいないバイト数
+     */
+    int remaining() {
+        return size - position;
+    }
+
+    /**
+     * 指定したバイト数を格納できる容量を確保する。
+     * @param capacity 容量
+     */
+    void ensureCapacity(int capacity) {
+        if (data.length < capacity) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+        }
+    }
+
+    /**
+     * 1バイトを書き込む。
+     * @param b 書き込むバイト
+     */
+    void writeByte(int b) {
+        ensureCapacity(size + 1);
+        data[size++] = (byte) b;
+    }
+
+    /**
+     * バイト配列を書き込む。
+     * @param bytes 書き込むバイト配列
+     * @param offset 書き込む範囲の開始位置
+     * @param length 書き込むバイト数
+     */
+    void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(bytes, offset, data, size, length);
+        size += length;
+    }
+
+    /**
+     * 符号なしの整数を可変長で書き込む。
+     * @param value 書き込む値
+     */
+    void writeVarInt(int value) {
+        ensureCapacity(size + 5);
+        while ((value & ~0x7F) != 0) {
+            data[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[size++] = (byte) value;
+    }
+
+    /**
+     * 符号なしの長整数を可変長で書き込む。
+     * @param value 書き込む値
+     */
+    void writeVarLong(long value) {
+        ensureCapacity(size + 10);
+        while ((value & ~0x7FL) != 0) {
+            data[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[size++] = (byte) value;
+    }
+
+    /**
+     * 符号付きの整数をジグザグ符号化して可変長で書き込む。
+     * @param value 書き込む値
+     */
+    void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * 符号付きの長整数をジグザグ符号化して可変長で書き込む。
+     * @param value 書き込む値
+     */
+    void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * 長整数を8バイト(ビッグエンディアン)で書き込む。
+     * @param value 書き込む値
+     */
+    void writeLong(long value) {
+        ensureCapacity(size + 8);
+        for (int shift = 56; 0 <= shift; shift -= 8) {
+            data[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * 整数を4バイト(ビッグエンディアン)で書き込む。
+     * @param value 書き込む値
+     */
+    void writeInt(int value) {
+        ensureCapacity(size + 4);
+        for (int shift = 24; 0 <= shift; shift -= 8) {
+            data[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * 文字列をUTF-8のバイト数を前置して書き込む。
+     * @param value 書き込む文字列
+     */
+    void writeString(String value) {
+        byte[] bytes = value.getBytes(UTF_8);
+        writeVarInt(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 1バイトを読み込む。
+     * @return 読み込んだバイト(0～255)
+     * @throws IllegalStateException 読み込むデータが無い場合。
+     */
+    int readByte() {
+        if (size <= position) {
+            throw new IllegalStateException("Binary data is truncated.");
+        }
+        return data[position++] & 0xFF;
+    }
+
+    /**
+     * 可変長で書き込まれた符号なしの整数を読み込む。
+     * @return 読み込んだ値
+     * @throws IllegalStateException データの形式が正しくない場合。
+     */
+    int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Binary data is malformed.");
+    }
+
+    /**
+     * 可変長で書き込まれた符号なしの長整数を読み込む。
+     * @return 読み込んだ値
+     * @throws IllegalStateException データの形式が正しくない場合。
+     */
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Binary data is malformed.");
+    }
+
+    /**
+     * ジグザグ符号化された符号付きの整数を読み込む。
+     * @return 読み込んだ値
+     */
+    int readSignedVarInt() {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * ジグザグ符号化された符号付きの長整数を読み込む。
+     * @return 読み込んだ値
+     */
+    long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 8バイト(ビッグエンディアン)の長整数を読み込む。
+     * @return 読み込んだ値
+     */
+    long readLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+
+    /**
+     * 4バイト(ビッグエンディアン)の整数を読み込む。
+     * @return 読み込んだ値
+     */
+    int readInt() {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+
+    /**
+     * 指定したバイト数のバイト配列を読み込む。
+     * @param length バイト数
+     * @return 読み込んだバイト配列
+     * @throws IllegalStateException 読み込むデータが不足している場合。
+     */
+    byte[] readBytes(int length) {
+        checkRemaining(length);
+        byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    /**
+     * UTF-8のバイト数が前置された文字列を読み込む。
+     * @return 読み込んだ文字列
+     * @throws IllegalStateException 読み込むデータが不足している場合。
+     */
+    String readString() {
+        int length = readVarInt();
+        checkRemaining(length);
+        String value = new String(data, position, length, UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * 指定したバイト数を読み飛ばす。
+     * @param length バイト数
+     * @throws IllegalStateException 読み込むデータが不足している場合。
+     */
+    void skip(int length) {
+        checkRemaining(length);
+        position += length;
+    }
+
+    /**
+     * 指定したバイト数のデータが残っていることを確認する。
+     * @param length バイト数
+     * @throws IllegalStateException 読み込むデータが不足している場合。
+     */
+    private void checkRemaining(int length) {
+        if (length < 0 || size - position < length) {
+            throw new IllegalStateException("Binary data is truncated.");
+        }
+    }
+}
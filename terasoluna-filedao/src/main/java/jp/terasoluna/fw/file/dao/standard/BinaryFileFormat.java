@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.UUID;
+
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * バイナリファイルの形式を定義するクラス。
+ * <p>
+ * バイナリファイルは、ファイルヘッダと複数のブロックで構成される。
+ * </p>
+ * <ul>
+ * <li>ファイルヘッダ：識別子(4バイト)、バージョン(1バイト)、本体のバイト数(4バイト)、
+ * 本体(ファイル行オブジェクトのクラス名とカラム定義)、同期マーカー(16バイト)</li>
+ * <li>ブロック：同期マーカー(16バイト)、種別(1バイト)、フラグ(1バイト)、レコード数(4バイト)、
+ * 格納前のバイト数(4バイト)、格納したバイト数(4バイト)、格納したデータ</li>
+ * </ul>
+ * ブロックの種別はヘッダ部・データ部・トレイラ部のいずれかで、データ部のブロックには
+ * バイト数を前置したレコードを格納する。
+ * フラグで指定された場合、格納したデータはDeflate形式で圧縮されている。<br>
+ * 同期マーカーはファイルごとに生成する値で、ファイルの任意の位置からブロックの先頭を探す(分割して読み込む)ために利用する。
+ * @see jp.terasoluna.fw.file.dao.standard.BinaryFileLineWriter
+ * @see jp.terasoluna.fw.file.dao.standard.BinaryFileLineIterator
+ */
+final class BinaryFileFormat {
+
+    /**
+     * ファイルの識別子。
+     */
+    static final int MAGIC = 0x5442494E;
+
+    /**
+     * ファイル形式のバージョン。
+     */
+    static final int VERSION = 1;
+
+    /**
+     * 同期マーカーのバイト数。
+     */
+    static final int SYNC_SIZE = 16;
+
+    /**
+     * ブロックヘッダのバイト数。
+     */
+    static final int BLOCK_HEADER_SIZE = SYNC_SIZE + 14;
+
+    /**
+     * ブロックの種別：ヘッダ部。
+     */
+    static final int BLOCK_HEADER = 1;
+
+    /**
+     * ブロックの種別：データ部。
+     */
+    static final int BLOCK_DATA = 2;
+
+    /**
+     * ブロックの種別：トレイラ部。
+     */
+    static final int BLOCK_TRAILER = 3;
+
+    /**
+     * ブロックのフラグ：Deflate形式で圧縮。
+     */
+    static final int FLAG_DEFLATE = 1;
+
+    /**
+     * データ部のブロックのバイト数(格納前)のデフォルト値。
+     */
+    static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * コンストラクタ。
+     */
+    private BinaryFileFormat() {
+    }
+
+    /**
+     * 同期マーカーを生成する。
+     * @return 同期マーカー
+     */
+    static byte[] newSyncMarker() {
+        UUID uuid = UUID.randomUUID();
+        BinaryBlockBuffer buffer = new BinaryBlockBuffer(SYNC_SIZE);
+        buffer.writeLong(uuid.getMostSignificantBits());
+        buffer.writeLong(uuid.getLeastSignificantBits());
+        return Arrays.copyOf(buffer.array(), SYNC_SIZE);
+    }
+
+    /**
+     * ファイルヘッダを書き込む。
+     * @param buffer 書込み先のバッファ
+     * @param schema レコード定義
+     * @param syncMarker 同期マーカー
+     */
+    static void writeFileHeader(BinaryBlockBuffer buffer,
+            BinaryRecordSchema schema, byte[] syncMarker) {
+        buffer.writeInt(MAGIC);
+        buffer.writeByte(VERSION);
+        int lengthPosition = buffer.size();
+        buffer.writeInt(0);
+        buffer.writeString(schema.getClazz().getName());
+        schema.writeColumns(buffer);
+        int bodyLength = buffer.size() - lengthPosition - 4;
+        byte[] array = buffer.array();
+        for (int i = 0; i < 4; i++) {
+            array[lengthPosition + i] = (byte) (bodyLength >>> (24 - i * 8));
+        }
+        buffer.writeBytes(syncMarker, 0, SYNC_SIZE);
+    }
+
+    /**
+     * ファイルヘッダを読み込み、レコード定義と一致することを確認する。
+     * @param channel ファイルのFileChannel
+     * @param schema レコード定義
+     * @param fileName ファイル名
+     * @return 同期マーカー
+     * @throws IOException ファイルの読込に失敗した場合。
+     * @throws FileException バイナリファイルではない、またはレコード定義が一致しない場合。
+     */
+    static byte[] readFileHeader(FileChannel channel,
+            BinaryRecordSchema schema, String fileName) throws IOException {
+        BinaryBlockBuffer buffer = new BinaryBlockBuffer(64);
+        buffer.setSize(9);
+        readFully(channel, buffer.array(), 9, 0);
+        int bodyLength = readBodyLength(buffer, fileName);
+        if (channel.size() < 9L + bodyLength + SYNC_SIZE) {
+            throw new FileException("File is not a binary file of FileLineObject.", new IllegalStateException(), fileName);
+        }
+        buffer.setSize(bodyLength + SYNC_SIZE);
+        readFully(channel, buffer.array(), bodyLength + SYNC_SIZE, 9);
+        return checkColumns(buffer, bodyLength, schema, fileName);
+    }
+
+    /**
+     * 入力ストリームの先頭からファイルヘッダを読み込み、レコード定義と一致することを確認する。
+     * @param in 入力ストリーム
+     * @param schema レコード定義
+     * @param fileName ファイル名
+     * @return 同期マーカー
+     * @throws IOException 入力ストリームの読込に失敗した場合。
+     * @throws FileException バイナリファイルではない、またはレコード定義が一致しない場合。
+     */
+    static byte[] readFileHeader(InputStream in, BinaryRecordSchema schema,
+            String fileName) throws IOException {
+        BinaryBlockBuffer buffer = new BinaryBlockBuffer(64);
+        buffer.setSize(9);
+        if (readFully(in, buffer.array(), 9) < 9) {
+            throw new FileException("File is not a binary file of FileLineObject.", new EOFException(), fileName);
+        }
+        int bodyLength = readBodyLength(buffer, fileName);
+        buffer.setSize(bodyLength + SYNC_SIZE);
+        if (readFully(in, buffer.array(), bodyLength + SYNC_SIZE) < bodyLength
+                + SYNC_SIZE) {
+            throw new FileException("File is not a binary file of FileLineObject.", new EOFException(), fileName);
+        }
+        return checkColumns(buffer, bodyLength, schema, fileName);
+    }
+
+    /**
+     * ファイルヘッダの先頭9バイトから、識別子とバージョンを確認して本体のバイト数を取得する。
+     * @param buffer ファイルヘッダの先頭9バイトを格納したバッファ
+     * @param fileName ファイル名
+     * @return 本体のバイト数
+     * @throws FileException バイナリファイルではない場合。
+     */
+    private static int readBodyLength(BinaryBlockBuffer buffer,
+            String fileName) {
+        int bodyLength;
+        try {
+            if (buffer.readInt() != MAGIC || buffer.readByte() != VERSION) {
+                throw new FileException("File is not a binary file of FileLineObject.", new IllegalStateException(), fileName);
+            }
+            bodyLength = buffer.readInt();
+        } catch (IllegalStateException e) {
+            throw new FileException("File is not a binary file of FileLineObject.", e, fileName);
+        }
+        if (bodyLength < 0) {
+            throw new FileException("File is not a binary file of FileLineObject.", new IllegalStateException(), fileName);
+        }
+        return bodyLength;
+    }
+
+    /**
+     * ファイルヘッダの本体のカラム定義がレコード定義と一致することを確認する。
+     * @param buffer ファイルヘッダの本体と同期マーカーを格納したバッファ
+     * @param bodyLength 本体のバイト数
+     * @param schema レコード定義
+     * @param fileName ファイル名
+     * @return 同期マーカー
+     * @throws FileException バイナリファイルではない、またはレコード定義が一致しない場合。
+     */
+    private static byte[] checkColumns(BinaryBlockBuffer buffer,
+            int bodyLength, BinaryRecordSchema schema, String fileName) {
+        try {
+            buffer.readString();
+            if (!schema.matchColumns(buffer)) {
+                throw new FileException("Columns of binary file are different from FileLineObject.", new IllegalStateException(), fileName);
+            }
+        } catch (IllegalStateException e) {
+            throw new FileException("File is not a binary file of FileLineObject.", e, fileName);
+        }
+        return Arrays.copyOfRange(buffer.array(), bodyLength, bodyLength
+                + SYNC_SIZE);
+    }
+
+    /**
+     * ファイルヘッダのバイト数を取得する。
+     * @param channel ファイルのFileChannel
+     * @return ファイルヘッダのバイト数
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    static long fileHeaderLength(FileChannel channel) throws IOException {
+        byte[] bytes = new byte[9];
+        readFully(channel, bytes, 9, 0);
+        BinaryBlockBuffer buffer = new BinaryBlockBuffer(9);
+        buffer.writeBytes(bytes, 0, 9);
+        buffer.skip(5);
+        return 9L + buffer.readInt() + SYNC_SIZE;
+    }
+
+    /**
+     * ファイルの指定位置から、指定したバイト数を読み込む。
+     * @param channel ファイルのFileChannel
+     * @param bytes 読込先のバイト配列
+     * @param length 読み込むバイト数
+     * @param position 読込を開始する位置
+     * @throws IOException ファイルの読込に失敗した場合。
+     * @throws EOFException 指定したバイト数を読み込む前にファイルの終端に達した場合。
+     */
+    static void readFully(FileChannel channel, byte[] bytes, int length,
+            long position) throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, 0, length);
+        long readPosition = position;
+        while (byteBuffer.hasRemaining()) {
+            int read = channel.read(byteBuffer, readPosition);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            readPosition += read;
+        }
+    }
+
+    /**
+     * 入力ストリームから、指定したバイト数を読み込む。
+     * @param in 入力ストリーム
+     * @param bytes 読込先のバイト配列
+     * @param length 読み込むバイト数
+     * @return 読み込んだバイト数。入力ストリームの終端に達した場合のみ、指定したバイト数より小さくなる
+     * @throws IOException 入力ストリームの読込に失敗した場合。
+     */
+    static int readFully(InputStream in, byte[] bytes, int length)
+            throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            int read = in.read(bytes, offset, length - offset);
+            if (read < 0) {
+                break;
+            }
+            offset += read;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,747 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
+import jp.terasoluna.fw.file.dao.FileLineIterator;
+
+/**
+ * バイナリファイル用のファイルアクセス(データ取得)クラス。
+ * <p>
+ * {@link BinaryFileLineWriter}で出力したバイナリファイルを読み込み、ファイル行オブジェクトに格納する。<br>
+ * ファイル行オブジェクトには{@link FileFormat}アノテーションを設定し、
+ * 入力するカラムの属性に{@link jp.terasoluna.fw.file.annotation.InputFileColumn}アノテーションの<code>columnIndex</code>を設定する。
+ * ファイルに記録されたカラム定義(カラム数、カラムごとの属性名と型)と一致しない場合は例外をスローする。<br>
+ * 読み飛ばし処理では、読み飛ばすブロックを復号・伸張せずに読み飛ばす。
+ * </p>
+ * <p>
+ * 読込範囲(バイト位置)を指定した場合、範囲内で始まるデータ部のブロックのみを読み込む。
+ * 範囲の開始位置からファイル中の同期マーカーを探してブロックの先頭を求めるため、
+ * ファイルをバイト数で分割し、複数のスレッド・ジョブで重複なく並列に読み込むことが出来る。
+ * ヘッダ部・トレイラ部は、読込範囲に関わらず取得できる。
+ * </p>
+ * <p>
+ * 入力ストリームを指定した場合は、ファイルの先頭から順に読み込む。
+ * トレイラ部の取得時は残りのデータ部を読み飛ばすため、トレイラ部の取得後はデータ部を取得できない。
+ * </p>
+ * @param <T> ファイル行オブジェクト。
+ * @see jp.terasoluna.fw.file.dao.standard.BinaryFileQueryDAO
+ */
+public class BinaryFileLineIterator<T> implements FileLineIterator<T> {
+
+    /**
+     * ファイル名。
+     */
+    private String fileName = null;
+
+    /**
+     * ファイル行オブジェクトクラス。
+     */
+    private Class<T> clazz = null;
+
+    /**
+     * レコード定義。
+     */
+    private BinaryRecordSchema schema = null;
+
+    /**
+     * 入力元のFileChannel。入力ストリームから読み込む場合は<code>null</code>。
+     */
+    private FileChannel channel = null;
+
+    /**
+     * 入力元の入力ストリーム。ファイルから読み込む場合は<code>null</code>。
+     */
+    private InputStream inputStream = null;
+
+    /**
+     * 入力ストリームから読み込んだブロックヘッダのうち、ブロックのデータを読み込んでいないものがあるかどうか。
+     */
+    private boolean blockPending = false;
+
+    /**
+     * 入力ストリームから読み込む場合に、データ部の読込中に読み込んだトレイラ部の文字列リスト。
+     */
+    private List<String> streamTrailer = new ArrayList<String>();
+
+    /**
+     * ファイルのバイト数。
+     */
+    private long fileLength = 0;
+
+    /**
+     * 同期マーカー。
+     */
+    private byte[] syncMarker = null;
+
+    /**
+     * ヘッダ部の直後のブロックの位置。
+     */
+    private long bodyStart = 0;
+
+    /**
+     * 次に読み込むブロックの位置。
+     */
+    private long nextBlockPosition = 0;
+
+    /**
+     * 読込範囲の終了位置。この位置以降に始まるブロックは読み込まない。
+     */
+    private long splitEnd = Long.MAX_VALUE;
+
+    /**
+     * 読込中のデータ部のブロック。
+     */
+    private BinaryBlockBuffer blockBuffer = new BinaryBlockBuffer(BinaryFileFormat.DEFAULT_BLOCK_SIZE);
+
+    /**
+     * 読込中のデータ部のブロックで、読み込んでいないレコード数。
+     */
+    private int remainingRecords = 0;
+
+    /**
+     * 圧縮されたブロックの読込に利用するバッファ。
+     */
+    private byte[] storedBuffer = new byte[0];
+
+    /**
+     * 圧縮されたブロックの伸張に利用するInflater。
+     */
+    private Inflater inflater = null;
+
+    /**
+     * ブロックヘッダを格納するバッファ。
+     */
+    private final byte[] blockHeader = new byte[BinaryFileFormat.BLOCK_HEADER_SIZE];
+
+    /**
+     * 最後に読み込んだブロックの種別。
+     */
+    private int blockKind = 0;
+
+    /**
+     * 最後に読み込んだブロックのフラグ。
+     */
+    private int blockFlags = 0;
+
+    /**
+     * 最後に読み込んだブロックのレコード数。
+     */
+    private int blockRecordCount = 0;
+
+    /**
+     * 最後に読み込んだブロックの格納前のバイト数。
+     */
+    private int blockRawLength = 0;
+
+    /**
+     * 最後に読み込んだブロックの格納したバイト数。
+     */
+    private int blockStoredLength = 0;
+
+    /**
+     * ヘッダ部の文字列リスト。
+     */
+    private List<String> header = new ArrayList<String>();
+
+    /**
+     * トレイラ部の文字列リスト。取得していない場合は<code>null</code>。
+     */
+    private List<String> trailer = null;
+
+    /**
+     * 読み込んだデータ部の行数。
+     */
+    private int currentLineCount = 0;
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz ファイル行オブジェクトクラス
+     * @throws FileException 初期化処理で失敗した場合。
+     */
+    public BinaryFileLineIterator(String fileName, Class<T> clazz) {
+        this(fileName, clazz, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz ファイル行オブジェクトクラス
+     * @param splitStart 読込範囲の開始位置(ファイル先頭からのバイト数)
+     * @param splitEnd 読込範囲の終了位置(ファイル先頭からのバイト数)
+     * @throws FileException 初期化処理で失敗した場合。
+     */
+    public BinaryFileLineIterator(String fileName, Class<T> clazz,
+            long splitStart, long splitEnd) {
+        this(fileName, null, clazz, splitStart, splitEnd);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりに入力ストリームから先頭から順に読み込む。入力ストリームは{@link #closeFile()}でクローズされる。
+     * @param inputStream 入力ストリーム
+     * @param clazz ファイル行オブジェクトクラス
+     * @throws FileException 初期化処理で失敗した場合。
+     */
+    public BinaryFileLineIterator(InputStream inputStream, Class<T> clazz) {
+        this(null, AbstractFileLineIterator.checkInputStream(inputStream),
+                clazz, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * 入力ストリームが<code>null</code>の場合はファイル名のファイルから、それ以外の場合は入力ストリームから読み込む。
+     * @param fileName ファイル名
+     * @param inputStream 入力ストリーム
+     * @param clazz ファイル行オブジェクトクラス
+     * @param splitStart 読込範囲の開始位置(ファイル先頭からのバイト数)
+     * @param splitEnd 読込範囲の終了位置(ファイル先頭からのバイト数)
+     * @throws FileException 初期化処理で失敗した場合。
+     */
+    private BinaryFileLineIterator(String fileName, InputStream inputStream,
+            Class<T> clazz, long splitStart, long splitEnd) {
+
+        if (inputStream == null && (fileName == null || "".equals(fileName))) {
+            throw new FileException("fileName is required.", new IllegalArgumentException(), fileName);
+        }
+        if (clazz == null) {
+            throw new FileException("clazz is required.", new IllegalArgumentException(), fileName);
+        }
+        if (splitStart < 0 || splitEnd < splitStart) {
+            throw new FileException("splitStart and splitEnd are invalid.", new IllegalArgumentException(), fileName);
+        }
+
+        // ファイル行オブジェクトクラスがインスタンス化できるかをチェックする。
+        try {
+            clazz.newInstance();
+        } catch (InstantiationException e) {
+            throw new FileException("Failed in instantiation of clazz.", e, fileName);
+        } catch (IllegalAccessException e) {
+            throw new FileException("clazz's nullary  constructor is not accessible", e, fileName);
+        }
+
+        // ファイル行オブジェクトのClassにFileFormatアノテーションがあるかチェックする。
+        if (clazz.getAnnotation(FileFormat.class) == null) {
+            throw new FileException("FileFormat annotation is not found.", new IllegalStateException(), fileName);
+        }
+
+        this.fileName = fileName;
+        this.clazz = clazz;
+        this.splitEnd = splitEnd;
+        this.schema = BinaryRecordSchema.forInput(clazz, fileName);
+        this.inputStream = inputStream;
+
+        try {
+            if (inputStream != null) {
+                // 入力ストリームの場合は、データ部の最初のブロックヘッダまで順に読み込む。
+                fileLength = Long.MAX_VALUE;
+                syncMarker = BinaryFileFormat.readFileHeader(inputStream,
+                        schema, fileName);
+                BinaryBlockBuffer linesBuffer = new BinaryBlockBuffer(256);
+                while (nextBlock()
+                        && blockKind == BinaryFileFormat.BLOCK_HEADER) {
+                    readPayload(0, linesBuffer);
+                    for (int i = 0; i < blockRecordCount; i++) {
+                        header.add(linesBuffer.readString());
+                    }
+                }
+                return;
+            }
+            channel = new FileInputStream(fileName).getChannel();
+            fileLength = channel.size();
+            syncMarker = BinaryFileFormat.readFileHeader(channel, schema,
+                    fileName);
+
+            // ヘッダ部のブロックを読み込む。
+            long position = BinaryFileFormat.fileHeaderLength(channel);
+            BinaryBlockBuffer linesBuffer = new BinaryBlockBuffer(256);
+            while (position < fileLength && readBlockHeader(position)
+                    && blockKind == BinaryFileFormat.BLOCK_HEADER) {
+                long payloadPosition = position
+                        + BinaryFileFormat.BLOCK_HEADER_SIZE;
+                readPayload(payloadPosition, linesBuffer);
+                for (int i = 0; i < blockRecordCount; i++) {
+                    header.add(linesBuffer.readString());
+                }
+                position = payloadPosition + blockStoredLength;
+            }
+            bodyStart = position;
+
+            // 読込範囲の開始位置以降で、最初のブロックを探す。
+            nextBlockPosition = splitStart <= bodyStart ? bodyStart
+                    : findBlock(splitStart);
+        } catch (FileNotFoundException e) {
+            throw new FileException("Failed in generation of reader.", e, fileName);
+        } catch (IOException e) {
+            closeQuietly();
+            throw new FileException("Failed in generation of reader.", e, fileName);
+        } catch (IllegalStateException e) {
+            closeQuietly();
+            throw new FileException("Failed in generation of reader.", e, fileName);
+        } catch (FileException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    /**
+     * 次の行のレコードが存在するかどうかを判定する。<br>
+     * 読込中のブロックのレコードを読み終えた場合は、読込範囲内の次のデータ部のブロックを読み込む。
+     * @return 次の行のレコードがあればtrue
+     * @throws FileException ブロックの読込に失敗した場合。
+     */
+    @Override
+    public boolean hasNext() {
+        try {
+            while (remainingRecords == 0) {
+                if (!nextBlock()) {
+                    return false;
+                }
+                long payloadPosition = nextBlockPosition
+                        + BinaryFileFormat.BLOCK_HEADER_SIZE;
+                nextBlockPosition = payloadPosition + blockStoredLength;
+                if (blockKind == BinaryFileFormat.BLOCK_DATA) {
+                    readPayload(payloadPosition, blockBuffer);
+                    remainingRecords = blockRecordCount;
+                } else {
+                    skipBlock();
+                }
+            }
+        } catch (IOException e) {
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        } catch (IllegalStateException e) {
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        }
+        return true;
+    }
+
+    /**
+     * ファイル行オブジェクトを返却する。
+     * @return ファイル行オブジェクト
+     * @throws FileException ファイル行オブジェクトの生成に失敗した場合。
+     * @throws FileLineException レコードの復号に失敗した場合。
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new FileLineException("The data which can be acquired doesn't exist.", new NoSuchElementException(), fileName, currentLineCount
+                    + 1);
+        }
+
+        T fileLineObject = null;
+        try {
+            fileLineObject = clazz.newInstance();
+        } catch (InstantiationException e) {
+            throw new FileException("Failed in an instantiate of a FileLineObject.", e, fileName);
+        } catch (IllegalAccessException e) {
+            throw new FileException("Failed in an instantiate of a FileLineObject.", e, fileName);
+        }
+
+        currentLineCount++;
+        remainingRecords--;
+        int recordEnd;
+        try {
+            int recordLength = blockBuffer.readVarInt();
+            recordEnd = blockBuffer.getReadPosition() + recordLength;
+        } catch (IllegalStateException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount);
+        }
+        schema.decode(blockBuffer, fileLineObject, fileName,
+                currentLineCount);
+        if (blockBuffer.getReadPosition() != recordEnd) {
+            throw new FileLineException("Column Count is different from "
+                    + "FileLineObject's column counts", new IllegalStateException(), fileName, currentLineCount);
+        }
+        return fileLineObject;
+    }
+
+    /**
+     * サポートしない。<br>
+     * Iteratorで定義されているメソッド。<br>
+     * FileQueryDAOでは実装しないので、他のクラスから呼び出した場合、 UnsupportedOperationExceptionをスローする。
+     * @throws UnsupportedOperationException このメソッドはサポートしない。
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove() isn't supported.");
+    }
+
+    /**
+     * ヘッダ部のデータを取得する。<br>
+     * データ部とトレイラ部の取得処理の実行可否と関係なくヘッダ部を取得することが 出来る。
+     * @return header ヘッダ部の文字列リスト
+     */
+    @Override
+    public List<String> getHeader() {
+        return header;
+    }
+
+    /**
+     * トレイラ部のデータを取得する。<br>
+     * ブロックヘッダのみを読み込んでトレイラ部のブロックを探すため、データ部の読込位置は変わらない。
+     * トレイラ部の取得後もデータ部を取得することが出来る。<br>
+     * 入力ストリームから読み込む場合は、残りのデータ部を読み飛ばしてトレイラ部を取得する。
+     * @return トレイラ部の文字列リスト
+     * @throws FileException トレイラ部の取得に失敗した場合。
+     */
+    @Override
+    public List<String> getTrailer() {
+        if (trailer == null && inputStream != null) {
+            try {
+                remainingRecords = 0;
+                while (nextBlock()) {
+                    skipBlock();
+                }
+            } catch (IOException e) {
+                throw new FileException("Processing of reader was failed.", e, fileName);
+            } catch (IllegalStateException e) {
+                throw new FileException("Processing of reader was failed.", e, fileName);
+            }
+            trailer = streamTrailer;
+        }
+        if (trailer == null) {
+            List<String> lines = new ArrayList<String>();
+            BinaryBlockBuffer linesBuffer = new BinaryBlockBuffer(256);
+            long position = bodyStart;
+            try {
+                while (position < fileLength) {
+                    if (!readBlockHeader(position)) {
+                        throw new IllegalStateException("Binary file is broken.");
+                    }
+                    long payloadPosition = position
+                            + BinaryFileFormat.BLOCK_HEADER_SIZE;
+                    if (blockKind == BinaryFileFormat.BLOCK_TRAILER) {
+                        readPayload(payloadPosition, linesBuffer);
+                        for (int i = 0; i < blockRecordCount; i++) {
+                            lines.add(linesBuffer.readString());
+                        }
+                    }
+                    position = payloadPosition + blockStoredLength;
+                }
+            } catch (IOException e) {
+                throw new FileException("Processing of reader was failed.", e, fileName);
+            } catch (IllegalStateException e) {
+                throw new FileException("Processing of reader was failed.", e, fileName);
+            }
+            trailer = lines;
+        }
+        return trailer;
+    }
+
+    /**
+     * データ部のデータを読み飛ばす処理を行う。<br>
+     * ブロック単位で読み飛ばせる場合は、ブロックを読み込まずに読み飛ばす。
+     * @param skipLines 読み飛ばす行数。
+     */
+    @Override
+    public void skip(int skipLines) {
+        int skipped = 0;
+        try {
+            while (skipped < skipLines) {
+                if (remainingRecords == 0 && nextBlock()
+                        && (blockKind != BinaryFileFormat.BLOCK_DATA
+                                || blockRecordCount <= skipLines - skipped)) {
+                    // ブロック全体を読み飛ばす。
+                    if (blockKind == BinaryFileFormat.BLOCK_DATA) {
+                        skipped += blockRecordCount;
+                        currentLineCount += blockRecordCount;
+                    }
+                    nextBlockPosition += BinaryFileFormat.BLOCK_HEADER_SIZE
+                            + blockStoredLength;
+                    skipBlock();
+                    continue;
+                }
+                if (!hasNext()) {
+                    throw new FileLineException("The data which can be acquired doesn't exist.", new NoSuchElementException(), fileName, currentLineCount
+                            + 1);
+                }
+                blockBuffer.skip(blockBuffer.readVarInt());
+                remainingRecords--;
+                currentLineCount++;
+                skipped++;
+            }
+        } catch (IOException e) {
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        } catch (IllegalStateException e) {
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        }
+    }
+
+    /**
+     * ファイルクローズ.
+     * @throws FileException クローズ処理で失敗した場合。
+     */
+    @Override
+    public void closeFile() {
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+        try {
+            if (inputStream != null) {
+                inputStream.close();
+            } else {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        }
+    }
+
+    /**
+     * 読み込んだデータ部の行数を取得する。
+     * @return 読み込んだデータ部の行数
+     */
+    public int getCurrentLineCount() {
+        return currentLineCount;
+    }
+
+    /**
+     * 読込範囲内に次のブロックがある場合、そのブロックヘッダを読み込む。
+     * @return 次のブロックがある場合<code>true</code>
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    private boolean nextBlock() throws IOException {
+        if (inputStream != null) {
+            if (!blockPending) {
+                blockPending = readStreamBlockHeader();
+            }
+            return blockPending;
+        }
+        if (fileLength <= nextBlockPosition || splitEnd <= nextBlockPosition) {
+            return false;
+        }
+        if (!readBlockHeader(nextBlockPosition)) {
+            throw new IllegalStateException("Binary file is broken.");
+        }
+        return true;
+    }
+
+    /**
+     * 指定した位置のブロックヘッダを読み込む。
+     * @param position ブロックの位置
+     * @return 同期マーカーが一致し、ブロックヘッダとして正しい場合<code>true</code>
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    private boolean readBlockHeader(long position) throws IOException {
+        if (fileLength - position < BinaryFileFormat.BLOCK_HEADER_SIZE) {
+            return false;
+        }
+        BinaryFileFormat.readFully(channel, blockHeader,
+                BinaryFileFormat.BLOCK_HEADER_SIZE, position);
+        return parseBlockHeader()
+                && blockStoredLength <= fileLength - position
+                        - BinaryFileFormat.BLOCK_HEADER_SIZE;
+    }
+
+    /**
+     * 入力ストリームから次のブロックヘッダを読み込む。
+     * @return ブロックヘッダを読み込んだ場合<code>true</code>。入力ストリームの終端に達した場合<code>false</code>
+     * @throws IOException 入力ストリームの読込に失敗した場合。
+     * @throws IllegalStateException ブロックヘッダとして正しくない場合。
+     */
+    private boolean readStreamBlockHeader() throws IOException {
+        int length = BinaryFileFormat.readFully(inputStream, blockHeader,
+                BinaryFileFormat.BLOCK_HEADER_SIZE);
+        if (length == 0) {
+            return false;
+        }
+        if (length < BinaryFileFormat.BLOCK_HEADER_SIZE
+                || !parseBlockHeader()) {
+            throw new IllegalStateException("Binary file is broken.");
+        }
+        return true;
+    }
+
+    /**
+     * 読み込んだブロックヘッダの同期マーカーを確認し、ブロックの種別などを取得する。
+     * @return 同期マーカーが一致し、ブロックヘッダとして正しい場合<code>true</code>
+     */
+    private boolean parseBlockHeader() {
+        for (int i = 0; i < BinaryFileFormat.SYNC_SIZE; i++) {
+            if (blockHeader[i] != syncMarker[i]) {
+                return false;
+            }
+        }
+        ByteBuffer byteBuffer = ByteBuffer.wrap(blockHeader,
+                BinaryFileFormat.SYNC_SIZE, BinaryFileFormat.BLOCK_HEADER_SIZE
+                        - BinaryFileFormat.SYNC_SIZE);
+        blockKind = byteBuffer.get();
+        blockFlags = byteBuffer.get();
+        blockRecordCount = byteBuffer.getInt();
+        blockRawLength = byteBuffer.getInt();
+        blockStoredLength = byteBuffer.getInt();
+        return BinaryFileFormat.BLOCK_HEADER <= blockKind
+                && blockKind <= BinaryFileFormat.BLOCK_TRAILER
+                && 0 <= blockRecordCount && 0 <= blockRawLength
+                && 0 <= blockStoredLength;
+    }
+
+    /**
+     * 最後に読み込んだブロックヘッダのブロックを、データを取得せずに読み終える。
+     * <p>
+     * ファイルから読み込む場合は、ブロックの位置で読込位置を管理するため何もしない。
+     * 入力ストリームから読み込む場合は、ブロックのデータを読み飛ばす。
+     * ただし、トレイラ部のブロックは読み込んでトレイラ部の文字列リストに追加する。
+     * </p>
+     * @throws IOException 入力ストリームの読込に失敗した場合。
+     */
+    private void skipBlock() throws IOException {
+        if (inputStream == null) {
+            return;
+        }
+        if (blockKind == BinaryFileFormat.BLOCK_TRAILER) {
+            BinaryBlockBuffer linesBuffer = new BinaryBlockBuffer(256);
+            readPayload(0, linesBuffer);
+            for (int i = 0; i < blockRecordCount; i++) {
+                streamTrailer.add(linesBuffer.readString());
+            }
+            return;
+        }
+        blockPending = false;
+        long remaining = blockStoredLength;
+        while (0 < remaining) {
+            long skipped = inputStream.skip(remaining);
+            if (skipped <= 0) {
+                if (inputStream.read() < 0) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * 最後に読み込んだブロックヘッダのブロックのデータを読み込み、必要であれば伸張する。
+     * @param payloadPosition ブロックのデータの位置
+     * @param target 読込先のバッファ
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    private void readPayload(long payloadPosition, BinaryBlockBuffer target)
+            throws IOException {
+        blockPending = false;
+        if ((blockFlags & BinaryFileFormat.FLAG_DEFLATE) == 0) {
+            target.setSize(blockStoredLength);
+            readBytes(target.array(), blockStoredLength, payloadPosition);
+            return;
+        }
+        if (storedBuffer.length < blockStoredLength) {
+            storedBuffer = new byte[blockStoredLength];
+        }
+        readBytes(storedBuffer, blockStoredLength, payloadPosition);
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        inflater.reset();
+        inflater.setInput(storedBuffer, 0, blockStoredLength);
+        target.setSize(blockRawLength);
+        try {
+            int length = 0;
+            while (length < blockRawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(target.array(), length,
+                        blockRawLength - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != blockRawLength) {
+                throw new IllegalStateException("Binary file is broken.");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Binary file is broken.", e);
+        }
+    }
+
+    /**
+     * 指定したバイト数を読み込む。入力ストリームから読み込む場合は、位置を利用せずに続きを読み込む。
+     * @param bytes 読込先のバイト配列
+     * @param length 読み込むバイト数
+     * @param position 読込を開始する位置
+     * @throws IOException ファイルの読込に失敗した場合。
+     * @throws EOFException 指定したバイト数を読み込む前にファイルの終端に達した場合。
+     */
+    private void readBytes(byte[] bytes, int length, long position)
+            throws IOException {
+        if (inputStream == null) {
+            BinaryFileFormat.readFully(channel, bytes, length, position);
+        } else if (BinaryFileFormat.readFully(inputStream, bytes,
+                length) < length) {
+            throw new EOFException();
+        }
+    }
+
+    /**
+     * 指定した位置以降で、同期マーカーから始まる最初のブロックの位置を探す。
+     * @param from 探索を開始する位置
+     * @return ブロックの位置。見つからない場合はファイルのバイト数
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    private long findBlock(long from) throws IOException {
+        byte[] buffer = new byte[BinaryFileFormat.DEFAULT_BLOCK_SIZE];
+        long position = from;
+        while (position + BinaryFileFormat.SYNC_SIZE <= fileLength) {
+            int length = (int) Math.min(buffer.length, fileLength - position);
+            BinaryFileFormat.readFully(channel, buffer, length, position);
+            int last = length - BinaryFileFormat.SYNC_SIZE;
+            for (int i = 0; i <= last; i++) {
+                if (buffer[i] == syncMarker[0]
+                        && Arrays.equals(syncMarker, Arrays.copyOfRange(
+                                buffer, i, i + BinaryFileFormat.SYNC_SIZE))
+                        && readBlockHeader(position + i)) {
+                    return position + i;
+                }
+            }
+            // 同期マーカーが読込単位の境界をまたぐ場合に備え、重ねて読み込む。
+            position += last + 1;
+        }
+        return fileLength;
+    }
+
+    /**
+     * 入力元のFileChannelまたは入力ストリームを閉じる。クローズ時の例外は無視する。
+     */
+    private void closeQuietly() {
+        try {
+            if (inputStream != null) {
+                inputStream.close();
+            } else if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            // 例外を上書きしないため、クローズ時の例外はハンドリングしない
+        }
+    }
+}
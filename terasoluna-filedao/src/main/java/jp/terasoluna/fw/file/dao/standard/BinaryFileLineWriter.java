@@ -0,0 +1,446 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.dao.BatchFileLineWriter;
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * バイナリファイル用のファイルアクセス(データ出力)クラス。
+ * <p>
+ * ファイル行オブジェクトを、文字列に変換せずにカラムの型に応じたバイナリ形式で出力する。<br>
+ * 後続のジョブが同じファイル行オブジェクトで読み込む中間ファイルに利用することで、
+ * 文字列への変換とその解析にかかる処理を省くことが出来る。<br>
+ * 出力したファイルは{@link BinaryFileLineIterator}で読み込む。ファイルの形式は{@link BinaryFileFormat}を参照のこと。
+ * </p>
+ * ファイル行オブジェクトには{@link FileFormat}アノテーションを設定し、
+ * 出力するカラムの属性に{@link jp.terasoluna.fw.file.annotation.OutputFileColumn}アノテーションの<code>columnIndex</code>を設定する。
+ * <code>columnIndex</code>以外の設定(フォーマット、パディング、トリム、文字変換など)は利用しない。<br>
+ * <code>overWriteFlg</code>が<code>false</code>で既にファイルが存在する場合は、
+ * カラム定義が一致することを確認してファイルの末尾に追記する。<br>
+ * チャネルを指定した場合は、<code>overWriteFlg</code>を利用せずにファイルヘッダから出力する。
+ * <p>
+ * <b>※注意事項</b><br>
+ * データ部はブロック単位で出力するため、ファイルを閉じるまでファイルに出力されない行がある。<br>
+ * 必ず{@link #closeFile()}を実行すること。
+ * </p>
+ * @param <T> ファイル行オブジェクト。
+ * @see jp.terasoluna.fw.file.dao.standard.BinaryFileUpdateDAO
+ */
+public class BinaryFileLineWriter<T> implements BatchFileLineWriter<T> {
+
+    /**
+     * ファイル名。
+     */
+    private String fileName = null;
+
+    /**
+     * レコード定義。
+     */
+    private BinaryRecordSchema schema = null;
+
+    /**
+     * 出力先のチャネル。
+     */
+    private WritableByteChannel channel = null;
+
+    /**
+     * 同期マーカー。
+     */
+    private byte[] syncMarker = null;
+
+    /**
+     * データ部のブロックのバイト数(格納前)。
+     */
+    private int blockSize = BinaryFileFormat.DEFAULT_BLOCK_SIZE;
+
+    /**
+     * ブロックを圧縮する場合に利用するDeflater。圧縮しない場合は<code>null</code>。
+     */
+    private Deflater deflater = null;
+
+    /**
+     * 出力中のデータ部のブロック。
+     */
+    private BinaryBlockBuffer blockBuffer = null;
+
+    /**
+     * 出力中のデータ部のブロックのレコード数。
+     */
+    private int blockRecordCount = 0;
+
+    /**
+     * 1レコード分の符号化に利用するバッファ。
+     */
+    private BinaryBlockBuffer recordBuffer = null;
+
+    /**
+     * 圧縮後のブロックを格納するバッファ。
+     */
+    private BinaryBlockBuffer compressBuffer = null;
+
+    /**
+     * ブロックヘッダを格納するバッファ。
+     */
+    private final byte[] blockHeader = new byte[BinaryFileFormat.BLOCK_HEADER_SIZE];
+
+    /**
+     * 書き込みを行ったデータ部の行数。
+     */
+    private int currentLineCount = 0;
+
+    /**
+     * データ部の出力が開始されたかどうかを表す。
+     */
+    private boolean writeData = false;
+
+    /**
+     * トレイラ部の出力が完了したかどうかを表す。
+     */
+    private boolean writeTrailer = false;
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz ファイル行オブジェクトクラス
+     */
+    public BinaryFileLineWriter(String fileName, Class<T> clazz) {
+        this(fileName, clazz, BinaryFileFormat.DEFAULT_BLOCK_SIZE, false);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz ファイル行オブジェクトクラス
+     * @param blockSize データ部のブロックのバイト数(格納前)。この大きさに達するとブロックを出力する
+     * @param blockCompression ブロックをDeflate形式で圧縮する場合<code>true</code>
+     * @throws FileException 初期化処理で失敗した場合。
+     */
+    public BinaryFileLineWriter(String fileName, Class<T> clazz,
+            int blockSize, boolean blockCompression) {
+        this(fileName, null, clazz, blockSize, blockCompression);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりにチャネルへ書き込む。チャネルは{@link #closeFile()}でクローズされる。
+     * @param channel 出力先のチャネル
+     * @param clazz ファイル行オブジェクトクラス
+     * @param blockSize データ部のブロックのバイト数(格納前)。この大きさに達するとブロックを出力する
+     * @param blockCompression ブロックをDeflate形式で圧縮する場合<code>true</code>
+     * @throws FileException 初期化処理で失敗した場合。
+     */
+    public BinaryFileLineWriter(WritableByteChannel channel, Class<T> clazz,
+            int blockSize, boolean blockCompression) {
+        this(null, AbstractFileLineWriter.checkChannel(channel), clazz,
+                blockSize, blockCompression);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * チャネルが<code>null</code>の場合はファイル名のファイルへ、それ以外の場合はチャネルへ書き込む。
+     * @param fileName ファイル名
+     * @param channel 出力先のチャネル
+     * @param clazz ファイル行オブジェクトクラス
+     * @param blockSize データ部のブロックのバイト数(格納前)。この大きさに達するとブロックを出力する
+     * @param blockCompression ブロックをDeflate形式で圧縮する場合<code>true</code>
+     * @throws FileException 初期化処理で失敗した場合。
+     */
+    private BinaryFileLineWriter(String fileName, WritableByteChannel channel,
+            Class<T> clazz, int blockSize, boolean blockCompression) {
+
+        if (channel == null && (fileName == null || "".equals(fileName))) {
+            throw new FileException("fileName is required.", new IllegalArgumentException(), fileName);
+        }
+        if (clazz == null) {
+            throw new FileException("clazz is required.", new IllegalArgumentException(), fileName);
+        }
+        if (blockSize <= 0) {
+            throw new FileException("blockSize must be 1 or more.", new IllegalArgumentException(), fileName);
+        }
+        FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
+        // ファイル行オブジェクトのClassにFileFormatアノテーションがあるかチェックする。
+        if (fileFormat == null) {
+            throw new FileException("FileFormat annotation is not found.", new IllegalStateException(), fileName);
+        }
+
+        this.fileName = fileName;
+        this.blockSize = blockSize;
+        this.schema = BinaryRecordSchema.forOutput(clazz, fileName);
+        this.blockBuffer = new BinaryBlockBuffer(blockSize + 1024);
+        this.recordBuffer = new BinaryBlockBuffer(256);
+        if (blockCompression) {
+            this.deflater = new Deflater(Deflater.BEST_SPEED);
+            this.compressBuffer = new BinaryBlockBuffer(blockSize + 1024);
+        }
+
+        // ファイルオープン
+        this.channel = channel;
+        File file = channel == null ? new File(fileName) : null;
+        boolean append = channel == null && !fileFormat.overWriteFlg()
+                && 0 < file.length();
+        try {
+            if (append) {
+                // 追記する場合は、既存のファイルのカラム定義と同期マーカーを引き継ぐ。
+                FileInputStream fileInputStream = new FileInputStream(file);
+                try {
+                    syncMarker = BinaryFileFormat.readFileHeader(
+                            fileInputStream.getChannel(), schema, fileName);
+                } finally {
+                    fileInputStream.close();
+                }
+                this.channel = new FileOutputStream(file, true).getChannel();
+            } else {
+                syncMarker = BinaryFileFormat.newSyncMarker();
+                if (channel == null) {
+                    this.channel = new FileOutputStream(file, false)
+                            .getChannel();
+                }
+                BinaryBlockBuffer fileHeader = new BinaryBlockBuffer(256);
+                BinaryFileFormat.writeFileHeader(fileHeader, schema,
+                        syncMarker);
+                write(fileHeader.array(), fileHeader.size());
+            }
+        } catch (FileNotFoundException e) {
+            throw new FileException("Failed in generation of writer.", e, fileName);
+        } catch (IOException e) {
+            closeChannelQuietly();
+            throw new FileException("Failed in generation of writer.", e, fileName);
+        } catch (FileException e) {
+            closeChannelQuietly();
+            throw e;
+        }
+    }
+
+    /**
+     * ヘッダ部への書込み処理。
+     * @param headerLine ヘッダ部へ書き込む文字列のリスト
+     */
+    @Override
+    public void printHeaderLine(List<String> headerLine) {
+        if (writeData || writeTrailer) {
+            throw new FileException("Header part should be called before "
+                    + "data part or trailer part.", new IllegalStateException(), fileName);
+        }
+        printLines(BinaryFileFormat.BLOCK_HEADER, headerLine);
+    }
+
+    /**
+     * データ部への書き込み処理。<br>
+     * ブロックのバイト数に達するまでは、ファイルに出力しない。
+     * @param t データ部へ書き込むファイル行オブジェクト
+     */
+    @Override
+    public void printDataLine(T t) {
+        checkWriteTrailer();
+
+        recordBuffer.clear();
+        schema.encode(t, recordBuffer, fileName, currentLineCount + 1);
+        blockBuffer.writeVarInt(recordBuffer.size());
+        blockBuffer.writeBytes(recordBuffer.array(), 0, recordBuffer.size());
+        blockRecordCount++;
+        currentLineCount++;
+        writeData = true;
+
+        if (blockSize <= blockBuffer.size()) {
+            flushDataBlock();
+        }
+    }
+
+    /**
+     * データ部への書き込み処理。<br>
+     * コレクションのファイル行オブジェクトを順に書き込む。
+     * @param collection データ部へ書き込むファイル行オブジェクトのコレクション
+     */
+    @Override
+    public void printDataLines(Collection<? extends T> collection) {
+        for (T t : collection) {
+            printDataLine(t);
+        }
+    }
+
+    /**
+     * トレイラ部への書込み処理。
+     * @param trailerLine トレイラ部へ書き込む文字列のリスト
+     */
+    @Override
+    public void printTrailerLine(List<String> trailerLine) {
+        flushDataBlock();
+        printLines(BinaryFileFormat.BLOCK_TRAILER, trailerLine);
+        writeTrailer = true;
+    }
+
+    /**
+     * ファイルクローズ処理。<br>
+     * 出力していないデータ部のブロックを出力してからファイルを閉じる。
+     */
+    @Override
+    public void closeFile() {
+        try {
+            flushDataBlock();
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new FileException("Closing of writer was failed.", e, fileName);
+            }
+        }
+    }
+
+    /**
+     * 書き込みを行ったデータ部の行数を取得する。
+     * @return 書き込みを行ったデータ部の行数
+     */
+    public int getCurrentLineCount() {
+        return currentLineCount;
+    }
+
+    /**
+     * トレイラ部の処理が終わっているかどうかを判定する。<br>
+     * 処理が完了している場合、例外をスローする。
+     */
+    protected void checkWriteTrailer() {
+        if (writeTrailer) {
+            throw new FileException("Header part or data part should be "
+                    + "called before TrailerPart", new IllegalStateException(), fileName);
+        }
+    }
+
+    /**
+     * 文字列のリストを1つのブロックとして出力する。
+     * @param kind ブロックの種別
+     * @param lines 文字列のリスト
+     */
+    private void printLines(int kind, List<String> lines) {
+        BinaryBlockBuffer linesBuffer = new BinaryBlockBuffer(256);
+        for (String line : lines) {
+            linesBuffer.writeString(line);
+        }
+        writeBlock(kind, lines.size(), linesBuffer);
+    }
+
+    /**
+     * 出力中のデータ部のブロックを出力する。
+     */
+    private void flushDataBlock() {
+        if (0 < blockRecordCount) {
+            writeBlock(BinaryFileFormat.BLOCK_DATA, blockRecordCount,
+                    blockBuffer);
+            blockBuffer.clear();
+            blockRecordCount = 0;
+        }
+    }
+
+    /**
+     * ブロックを出力する。<br>
+     * 圧縮する場合でも、圧縮後のバイト数が小さくならない場合は圧縮せずに出力する。
+     * @param kind ブロックの種別
+     * @param recordCount ブロックのレコード数
+     * @param payload ブロックに格納するデータ
+     * @throws FileException 出力に失敗した場合。
+     */
+    private void writeBlock(int kind, int recordCount,
+            BinaryBlockBuffer payload) {
+        BinaryBlockBuffer stored = payload;
+        int flags = 0;
+        if (deflater != null && 0 < payload.size()) {
+            compressBuffer.clear();
+            deflater.reset();
+            deflater.setInput(payload.array(), 0, payload.size());
+            deflater.finish();
+            while (!deflater.finished()) {
+                compressBuffer.ensureCapacity(compressBuffer.size() + 4096);
+                int length = deflater.deflate(compressBuffer.array(),
+                        compressBuffer.size(), compressBuffer.array().length
+                                - compressBuffer.size());
+                compressBuffer.setSize(compressBuffer.size() + length);
+            }
+            if (compressBuffer.size() < payload.size()) {
+                stored = compressBuffer;
+                flags = BinaryFileFormat.FLAG_DEFLATE;
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.wrap(blockHeader);
+        header.put(syncMarker);
+        header.put((byte) kind);
+        header.put((byte) flags);
+        header.putInt(recordCount);
+        header.putInt(payload.size());
+        header.putInt(stored.size());
+        header.flip();
+        try {
+            if (channel instanceof GatheringByteChannel) {
+                ByteBuffer[] buffers = new ByteBuffer[] { header,
+                        ByteBuffer.wrap(stored.array(), 0, stored.size()) };
+                while (header.hasRemaining() || buffers[1].hasRemaining()) {
+                    ((GatheringByteChannel) channel).write(buffers);
+                }
+            } else {
+                write(blockHeader, blockHeader.length);
+                write(stored.array(), stored.size());
+            }
+        } catch (IOException e) {
+            throw new FileException("Processing of writer was failed.", e, fileName);
+        }
+    }
+
+    /**
+     * バイト配列を出力する。
+     * @param bytes バイト配列
+     * @param length 出力するバイト数
+     * @throws IOException 出力に失敗した場合。
+     */
+    private void write(byte[] bytes, int length) throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, 0, length);
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+    }
+
+    /**
+     * 出力先のチャネルを閉じる。クローズ時の例外は無視する。
+     */
+    private void closeChannelQuietly() {
+        if (deflater != null) {
+            deflater.end();
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // 例外を上書きしないため、クローズ時の例外はハンドリングしない
+            }
+        }
+    }
+}
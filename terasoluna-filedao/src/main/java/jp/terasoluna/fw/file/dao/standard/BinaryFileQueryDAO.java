@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineIterator;
+import jp.terasoluna.fw.file.dao.FileQueryDAO;
+
+/**
+ * ファイル読取用のFileLineIterator生成クラス。
+ * <p>
+ * バイナリファイル用のFileLineIteratorを生成する。<br>
+ * バイナリファイルは、カラムの値を文字列に変換せずに格納するため、カラムパーサーは利用しない。
+ * </p>
+ * 行オブジェクトに設定出来るアノテーションの説明は{@link BinaryFileLineIterator} のJavaDocを参考して下さい。
+ */
+public class BinaryFileQueryDAO implements FileQueryDAO {
+
+    /**
+     * FileLineIterator取得用メソッド。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @return バイナリファイル読取用オブジェクト
+     */
+    @Override
+    public <T> FileLineIterator<T> execute(String fileName, Class<T> clazz) {
+
+        // FileLineIteratorを生成する。
+        BinaryFileLineIterator<T> fileLineIterator = new BinaryFileLineIterator<T>(
+                fileName, clazz);
+
+        return fileLineIterator;
+    }
+
+    /**
+     * 入力ストリームを指定したFileLineIterator取得用メソッド。<br>
+     * 入力ストリームの先頭から順に読み込む。入力ストリームは<code>FileLineIterator#closeFile()</code>でクローズされる。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param inputStream 入力ストリーム
+     * @param clazz パラメータクラス
+     * @return バイナリファイル読取用オブジェクト
+     */
+    public <T> FileLineIterator<T> execute(InputStream inputStream,
+            Class<T> clazz) {
+
+        // FileLineIteratorを生成する。
+        BinaryFileLineIterator<T> fileLineIterator = new BinaryFileLineIterator<T>(
+                inputStream, clazz);
+
+        return fileLineIterator;
+    }
+
+    /**
+     * チャネルを指定したFileLineIterator取得用メソッド。<br>
+     * チャネルを入力ストリームに変換し、{@link #execute(InputStream, Class)}で読み込む。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param channel 読込元のチャネル
+     * @param clazz パラメータクラス
+     * @return バイナリファイル読取用オブジェクト
+     * @throws FileException チャネルが<code>null</code>の場合。
+     */
+    public <T> FileLineIterator<T> execute(ReadableByteChannel channel,
+            Class<T> clazz) {
+        if (channel == null) {
+            throw new FileException("channel is required.", new IllegalArgumentException());
+        }
+        return execute(Channels.newInputStream(channel), clazz);
+    }
+
+    /**
+     * 読込範囲を指定したFileLineIterator取得用メソッド。<br>
+     * 読込範囲内で始まるデータ部のブロックのみを読み込む。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @param splitStart 読込範囲の開始位置(ファイル先頭からのバイト数)
+     * @param splitEnd 読込範囲の終了位置(ファイル先頭からのバイト数)
+     * @return バイナリファイル読取用オブジェクト
+     */
+    public <T> FileLineIterator<T> execute(String fileName, Class<T> clazz,
+            long splitStart, long splitEnd) {
+
+        // FileLineIteratorを生成する。
+        BinaryFileLineIterator<T> fileLineIterator = new BinaryFileLineIterator<T>(
+                fileName, clazz, splitStart, splitEnd);
+
+        return fileLineIterator;
+    }
+}
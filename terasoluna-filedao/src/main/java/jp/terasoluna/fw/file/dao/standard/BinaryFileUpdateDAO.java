@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.nio.channels.WritableByteChannel;
+
+import jp.terasoluna.fw.file.dao.FileLineWriter;
+import jp.terasoluna.fw.file.dao.FileUpdateDAO;
+
+/**
+ * ファイル書込み用のFileLineWriter生成クラス。
+ * <p>
+ * バイナリファイル用のFileLineWriterを生成する。<br>
+ * バイナリファイルは、カラムの値を文字列に変換せずに格納するため、カラムフォーマッタは利用しない。
+ * </p>
+ * 行オブジェクトに設定出来るアノテーションの説明は{@link BinaryFileLineWriter} のJavaDocを参考して下さい。
+ */
+public class BinaryFileUpdateDAO implements FileUpdateDAO {
+
+    /**
+     * データ部のブロックのバイト数(格納前)。
+     */
+    private int blockSize = BinaryFileFormat.DEFAULT_BLOCK_SIZE;
+
+    /**
+     * ブロックをDeflate形式で圧縮するかどうか。
+     */
+    private boolean blockCompression = false;
+
+    /**
+     * FileLineWriter取得用メソッド。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @return バイナリファイル用のFileLineWriter
+     */
+    @Override
+    public <T> FileLineWriter<T> execute(String fileName, Class<T> clazz) {
+
+        // FileLineWriterを生成する。
+        BinaryFileLineWriter<T> fileLineWriter = new BinaryFileLineWriter<T>(
+                fileName, clazz, blockSize, blockCompression);
+
+        return fileLineWriter;
+    }
+
+    /**
+     * チャネルを指定したFileLineWriter取得用メソッド。<br>
+     * チャネルの先頭からファイルヘッダを出力する。チャネルは<code>FileLineWriter#closeFile()</code>でクローズされる。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @return バイナリファイル用のFileLineWriter
+     */
+    public <T> FileLineWriter<T> execute(WritableByteChannel channel,
+            Class<T> clazz) {
+
+        // FileLineWriterを生成する。
+        BinaryFileLineWriter<T> fileLineWriter = new BinaryFileLineWriter<T>(
+                channel, clazz, blockSize, blockCompression);
+
+        return fileLineWriter;
+    }
+
+    /**
+     * データ部のブロックのバイト数(格納前)を取得する。
+     * @return データ部のブロックのバイト数
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * データ部のブロックのバイト数(格納前)を設定する。<br>
+     * ブロックは分割して読み込む単位となる。デフォルトは64KB。
+     * @param blockSize データ部のブロックのバイト数
+     */
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * ブロックをDeflate形式で圧縮するかどうかを取得する。
+     * @return 圧縮する場合<code>true</code>
+     */
+    public boolean isBlockCompression() {
+        return blockCompression;
+    }
+
+    /**
+     * ブロックをDeflate形式で圧縮するかどうかを設定する。デフォルトは<code>false</code>。
+     * @param blockCompression 圧縮する場合<code>true</code>
+     */
+    public void setBlockCompression(boolean blockCompression) {
+        this.blockCompression = blockCompression;
+    }
+}
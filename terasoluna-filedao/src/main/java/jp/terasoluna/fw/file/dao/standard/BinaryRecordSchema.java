@@ -0,0 +1,536 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
+
+/**
+ * バイナリファイルのレコード定義クラス。
+ * <p>
+ * ファイル行オブジェクトのカラム定義情報から、バイナリファイルの1レコード分の符号化・復号を行う。<br>
+ * カラム定義情報は{@link FileLineObjectMetadataRegistry}に登録済みの情報を利用し、
+ * 未登録の場合はアノテーションから生成して登録する。<br>
+ * レコードは、null値のカラムを示すビットマップと、null値以外のカラムの値を型に応じて符号化したバイト列で構成される。
+ * </p>
+ * 対応するカラムの型は以下の通り。(プリミティブ型とラッパークラスは同じ形式で符号化する)
+ * <ul>
+ * <li>String</li>
+ * <li>int、long、short、byte、double、float、boolean、char</li>
+ * <li>java.math.BigDecimal</li>
+ * <li>java.util.Date</li>
+ * </ul>
+ * @see jp.terasoluna.fw.file.dao.standard.BinaryFileLineWriter
+ * @see jp.terasoluna.fw.file.dao.standard.BinaryFileLineIterator
+ */
+final class BinaryRecordSchema {
+
+    /**
+     * カラムの型：文字列。
+     */
+    static final int KIND_STRING = 1;
+
+    /**
+     * カラムの型：整数(int)。
+     */
+    static final int KIND_INT = 2;
+
+    /**
+     * カラムの型：長整数(long)。
+     */
+    static final int KIND_LONG = 3;
+
+    /**
+     * カラムの型：短整数(short)。
+     */
+    static final int KIND_SHORT = 4;
+
+    /**
+     * カラムの型：バイト(byte)。
+     */
+    static final int KIND_BYTE = 5;
+
+    /**
+     * カラムの型：倍精度浮動小数点数(double)。
+     */
+    static final int KIND_DOUBLE = 6;
+
+    /**
+     * カラムの型：単精度浮動小数点数(float)。
+     */
+    static final int KIND_FLOAT = 7;
+
+    /**
+     * カラムの型：真偽値(boolean)。
+     */
+    static final int KIND_BOOLEAN = 8;
+
+    /**
+     * カラムの型：文字(char)。
+     */
+    static final int KIND_CHAR = 9;
+
+    /**
+     * カラムの型：10進数(BigDecimal)。
+     */
+    static final int KIND_DECIMAL = 10;
+
+    /**
+     * カラムの型：日付(Date)。
+     */
+    static final int KIND_DATE = 11;
+
+    /**
+     * 属性の型とカラムの型の対応。
+     */
+    private static final Map<Class<?>, Integer> KIND_MAP = new HashMap<Class<?>, Integer>();
+
+    static {
+        KIND_MAP.put(String.class, KIND_STRING);
+        KIND_MAP.put(int.class, KIND_INT);
+        KIND_MAP.put(Integer.class, KIND_INT);
+        KIND_MAP.put(long.class, KIND_LONG);
+        KIND_MAP.put(Long.class, KIND_LONG);
+        KIND_MAP.put(short.class, KIND_SHORT);
+        KIND_MAP.put(Short.class, KIND_SHORT);
+        KIND_MAP.put(byte.class, KIND_BYTE);
+        KIND_MAP.put(Byte.class, KIND_BYTE);
+        KIND_MAP.put(double.class, KIND_DOUBLE);
+        KIND_MAP.put(Double.class, KIND_DOUBLE);
+        KIND_MAP.put(float.class, KIND_FLOAT);
+        KIND_MAP.put(Float.class, KIND_FLOAT);
+        KIND_MAP.put(boolean.class, KIND_BOOLEAN);
+        KIND_MAP.put(Boolean.class, KIND_BOOLEAN);
+        KIND_MAP.put(char.class, KIND_CHAR);
+        KIND_MAP.put(Character.class, KIND_CHAR);
+        KIND_MAP.put(BigDecimal.class, KIND_DECIMAL);
+        KIND_MAP.put(Date.class, KIND_DATE);
+    }
+
+    /**
+     * ファイル行オブジェクトのクラス。
+     */
+    private final Class<?> clazz;
+
+    /**
+     * カラムインデックス順の属性。
+     */
+    private final Field[] fields;
+
+    /**
+     * 属性に対応するアクセサメソッド(入力用はsetter、出力用はgetter)。
+     */
+    private final Method[] methods;
+
+    /**
+     * 属性に対応するカラムの型。
+     */
+    private final int[] kinds;
+
+    /**
+     * null値のカラムを示すビットマップのバイト数。
+     */
+    private final int bitmapBytes;
+
+    /**
+     * コンストラクタ。
+     * @param metadata カラム定義情報
+     * @param fileName ファイル名
+     * @throws FileException 対応していない型の属性がある場合。
+     */
+    private BinaryRecordSchema(FileLineObjectMetadata metadata,
+            String fileName) {
+        this.clazz = metadata.getClazz();
+        this.fields = metadata.getFields();
+        this.methods = metadata.getMethods();
+        this.kinds = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            Integer kind = KIND_MAP.get(fields[i].getType());
+            if (kind == null) {
+                throw new FileException("There is a type which isn't supported in a "
+                        + "mapping target field in FileLineObject.", new IllegalStateException(), fileName);
+            }
+            kinds[i] = kind;
+        }
+        this.bitmapBytes = (fields.length + 7) / 8;
+    }
+
+    /**
+     * 入力用のレコード定義を生成する。<br>
+     * {@link InputFileColumn}アノテーションが設定された属性と、そのsetterメソッドを利用する。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param fileName ファイル名
+     * @return レコード定義
+     * @throws FileException カラム定義に問題がある場合。
+     */
+    static BinaryRecordSchema forInput(Class<?> clazz, String fileName) {
+        return new BinaryRecordSchema(inputMetadata(clazz, fileName), fileName);
+    }
+
+    /**
+     * 入力用のカラム定義情報を取得する。<br>
+     * 未登録の場合は、{@link InputFileColumn}アノテーションが設定された属性と、そのsetterメソッドから生成して登録する。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param fileName ファイル名
+     * @return カラム定義情報
+     * @throws FileException カラム定義に問題がある場合。
+     */
+    static FileLineObjectMetadata inputMetadata(Class<?> clazz,
+            String fileName) {
+        FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                .getInputMetadata(clazz);
+        if (metadata == null) {
+            Field[] fields = scanFields(clazz, true, fileName);
+            Method[] methods = new Method[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                try {
+                    methods[i] = clazz.getMethod(accessorName("set",
+                            fields[i]), new Class<?>[] { fields[i].getType() });
+                } catch (NoSuchMethodException e) {
+                    throw new FileException("The setter method of column doesn't exist.", e, fileName);
+                }
+            }
+            metadata = FileLineObjectMetadataRegistry.registerInputMetadata(
+                    new FileLineObjectMetadata(clazz, fields, methods));
+        }
+        return metadata;
+    }
+
+    /**
+     * 出力用のレコード定義を生成する。<br>
+     * {@link OutputFileColumn}アノテーションが設定された属性と、そのgetterメソッドを利用する。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param fileName ファイル名
+     * @return レコード定義
+     * @throws FileException カラム定義に問題がある場合。
+     */
+    static BinaryRecordSchema forOutput(Class<?> clazz, String fileName) {
+        return new BinaryRecordSchema(outputMetadata(clazz, fileName), fileName);
+    }
+
+    /**
+     * 出力用のカラム定義情報を取得する。<br>
+     * 未登録の場合は、{@link OutputFileColumn}アノテーションが設定された属性と、そのgetterメソッドから生成して登録する。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param fileName ファイル名
+     * @return カラム定義情報
+     * @throws FileException カラム定義に問題がある場合。
+     */
+    static FileLineObjectMetadata outputMetadata(Class<?> clazz,
+            String fileName) {
+        FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                .getOutputMetadata(clazz);
+        if (metadata == null) {
+            Field[] fields = scanFields(clazz, false, fileName);
+            Method[] methods = new Method[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                try {
+                    methods[i] = clazz.getMethod(accessorName("get",
+                            fields[i]));
+                } catch (NoSuchMethodException e) {
+                    if (fields[i].getType() != boolean.class) {
+                        throw new FileException("The getter method of column doesn't exist.", e, fileName);
+                    }
+                    // boolean型の属性は「is」で始まるgetterメソッドも検索する。
+                    try {
+                        methods[i] = clazz.getMethod(accessorName("is",
+                                fields[i]));
+                    } catch (NoSuchMethodException ex) {
+                        throw new FileException("The getter method of column doesn't exist.", e, fileName);
+                    }
+                }
+            }
+            metadata = FileLineObjectMetadataRegistry.registerOutputMetadata(
+                    new FileLineObjectMetadata(clazz, fields, methods));
+        }
+        return metadata;
+    }
+
+    /**
+     * ファイル行オブジェクトと継承元の全クラスの属性を走査し、カラムアノテーションが設定されている属性を
+     * カラムインデックスの順に並べた配列を生成する。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param input 入力用の場合<code>true</code>
+     * @param fileName ファイル名
+     * @return カラムインデックス順の属性の配列
+     * @throws FileException 属性の設定に問題がある場合。
+     */
+    static Field[] scanFields(Class<?> clazz, boolean input,
+            String fileName) {
+        List<Field> columnFields = new ArrayList<Field>();
+        List<Integer> columnIndexs = new ArrayList<Integer>();
+        int maxColumnIndex = -1;
+        Class<?> tempClass = clazz;
+        while (tempClass != null) {
+            for (Field field : tempClass.getDeclaredFields()) {
+                int columnIndex;
+                if (input) {
+                    InputFileColumn inputFileColumn = field.getAnnotation(
+                            InputFileColumn.class);
+                    if (inputFileColumn == null) {
+                        continue;
+                    }
+                    columnIndex = inputFileColumn.columnIndex();
+                } else {
+                    OutputFileColumn outputFileColumn = field.getAnnotation(
+                            OutputFileColumn.class);
+                    if (outputFileColumn == null) {
+                        continue;
+                    }
+                    columnIndex = outputFileColumn.columnIndex();
+                }
+                // カラムIndexがマイナス値なのか確認する。
+                if (columnIndex < 0) {
+                    throw new FileException("Column Index in FileLineObject is the minus "
+                            + "number.", new IllegalStateException(), fileName);
+                }
+                // カラムIndexが重複してないのか確認する。
+                if (columnIndexs.contains(columnIndex)) {
+                    throw new FileException("Column Index is duplicate : "
+                            + columnIndex, fileName);
+                }
+                columnFields.add(field);
+                columnIndexs.add(columnIndex);
+                maxColumnIndex = Math.max(maxColumnIndex, columnIndex);
+            }
+            tempClass = tempClass.getSuperclass();
+        }
+        if (columnFields.isEmpty()) {
+            throw new FileException((input ? "InputFileColumn"
+                    : "OutputFileColumn") + " is not found.", new IllegalStateException(), fileName);
+        }
+        // columnIndexが連番で定義されているかをチェックする
+        if (columnFields.size() != maxColumnIndex + 1) {
+            throw new FileException("columnIndex in FileLineObject is not sequential order.", new IllegalStateException(), fileName);
+        }
+        Field[] fields = new Field[columnFields.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[columnIndexs.get(i)] = columnFields.get(i);
+        }
+        return fields;
+    }
+
+    /**
+     * 属性名からアクセサメソッドの名前を生成する。
+     * @param prefix 接頭辞
+     * @param field 属性
+     * @return アクセサメソッドの名前
+     */
+    private static String accessorName(String prefix, Field field) {
+        String fieldName = field.getName();
+        return prefix + StringUtils.upperCase(fieldName.substring(0, 1))
+                + fieldName.substring(1);
+    }
+
+    /**
+     * ファイル行オブジェクトのクラスを取得する。
+     * @return ファイル行オブジェクトのクラス
+     */
+    Class<?> getClazz() {
+        return clazz;
+    }
+
+    /**
+     * カラム定義(カラム数、カラムごとの属性名と型)を書き込む。
+     * @param buffer 書込み先のバッファ
+     */
+    void writeColumns(BinaryBlockBuffer buffer) {
+        buffer.writeVarInt(fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            buffer.writeString(fields[i].getName());
+            buffer.writeByte(kinds[i]);
+        }
+    }
+
+    /**
+     * 書き込まれたカラム定義を読み込み、このレコード定義と一致することを確認する。<br>
+     * カラム数、カラムごとの属性名と型が一致する場合に一致と判断する。
+     * @param buffer 読込元のバッファ
+     * @return 一致する場合<code>true</code>
+     */
+    boolean matchColumns(BinaryBlockBuffer buffer) {
+        int columnCount = buffer.readVarInt();
+        boolean matched = columnCount == fields.length;
+        for (int i = 0; i < columnCount; i++) {
+            String name = buffer.readString();
+            int kind = buffer.readByte();
+            matched = matched && fields[i].getName().equals(name)
+                    && kinds[i] == kind;
+        }
+        return matched;
+    }
+
+    /**
+     * ファイル行オブジェクトの値を1レコードとして符号化する。
+     * @param fileLineObject ファイル行オブジェクト
+     * @param buffer 書込み先のバッファ
+     * @param fileName ファイル名
+     * @param lineNo 行番号
+     * @throws FileLineException 値の取得に失敗した場合。
+     */
+    void encode(Object fileLineObject, BinaryBlockBuffer buffer,
+            String fileName, int lineNo) {
+        int bitmapStart = buffer.size();
+        for (int i = 0; i < bitmapBytes; i++) {
+            buffer.writeByte(0);
+        }
+        for (int i = 0; i < fields.length; i++) {
+            Object value;
+            try {
+                value = methods[i].invoke(fileLineObject);
+            } catch (IllegalAccessException e) {
+                throw new FileLineException("Failed in column data formatting.", e, fileName, lineNo, fields[i]
+                        .getName(), i);
+            } catch (InvocationTargetException e) {
+                throw new FileLineException("Failed in column data formatting.", e, fileName, lineNo, fields[i]
+                        .getName(), i);
+            }
+            if (value == null) {
+                buffer.array()[bitmapStart + i / 8] |= (byte) (1 << (i % 8));
+                continue;
+            }
+            switch (kinds[i]) {
+            case KIND_STRING:
+                buffer.writeString((String) value);
+                break;
+            case KIND_INT:
+                buffer.writeSignedVarInt((Integer) value);
+                break;
+            case KIND_LONG:
+                buffer.writeSignedVarLong((Long) value);
+                break;
+            case KIND_SHORT:
+                buffer.writeSignedVarInt((Short) value);
+                break;
+            case KIND_BYTE:
+                buffer.writeByte((Byte) value);
+                break;
+            case KIND_DOUBLE:
+                buffer.writeLong(Double.doubleToRawLongBits((Double) value));
+                break;
+            case KIND_FLOAT:
+                buffer.writeInt(Float.floatToRawIntBits((Float) value));
+                break;
+            case KIND_BOOLEAN:
+                buffer.writeByte(((Boolean) value) ? 1 : 0);
+                break;
+            case KIND_CHAR:
+                buffer.writeVarInt((Character) value);
+                break;
+            case KIND_DECIMAL:
+                BigDecimal decimal = (BigDecimal) value;
+                byte[] unscaled = decimal.unscaledValue().toByteArray();
+                buffer.writeSignedVarInt(decimal.scale());
+                buffer.writeVarInt(unscaled.length);
+                buffer.writeBytes(unscaled, 0, unscaled.length);
+                break;
+            default:
+                buffer.writeSignedVarLong(((Date) value).getTime());
+                break;
+            }
+        }
+    }
+
+    /**
+     * 1レコードを復号し、ファイル行オブジェクトに格納する。
+     * @param buffer 読込元のバッファ
+     * @param fileLineObject ファイル行オブジェクト
+     * @param fileName ファイル名
+     * @param lineNo 行番号
+     * @throws FileLineException 値の復号・格納に失敗した場合。
+     */
+    void decode(BinaryBlockBuffer buffer, Object fileLineObject,
+            String fileName, int lineNo) {
+        int i = 0;
+        try {
+            int bitmapStart = buffer.getReadPosition();
+            buffer.skip(bitmapBytes);
+            byte[] bitmap = buffer.array();
+            for (; i < fields.length; i++) {
+                Object value = null;
+                if ((bitmap[bitmapStart + i / 8] & (1 << (i % 8))) == 0) {
+                    value = readValue(buffer, kinds[i]);
+                } else if (fields[i].getType().isPrimitive()) {
+                    throw new IllegalArgumentException("null can not be set to primitive type.");
+                }
+                methods[i].invoke(fileLineObject, value);
+            }
+        } catch (IllegalStateException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, lineNo, fields[Math
+                    .min(i, fields.length - 1)].getName(), i);
+        } catch (IllegalArgumentException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, lineNo, fields[i]
+                    .getName(), i);
+        } catch (IllegalAccessException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, lineNo, fields[i]
+                    .getName(), i);
+        } catch (InvocationTargetException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, lineNo, fields[i]
+                    .getName(), i);
+        }
+    }
+
+    /**
+     * カラムの型に応じて値を1つ読み込む。
+     * @param buffer 読込元のバッファ
+     * @param kind カラムの型
+     * @return 読み込んだ値
+     */
+    private static Object readValue(BinaryBlockBuffer buffer, int kind) {
+        switch (kind) {
+        case KIND_STRING:
+            return buffer.readString();
+        case KIND_INT:
+            return buffer.readSignedVarInt();
+        case KIND_LONG:
+            return buffer.readSignedVarLong();
+        case KIND_SHORT:
+            return (short) buffer.readSignedVarInt();
+        case KIND_BYTE:
+            return (byte) buffer.readByte();
+        case KIND_DOUBLE:
+            return Double.longBitsToDouble(buffer.readLong());
+        case KIND_FLOAT:
+            return Float.intBitsToFloat(buffer.readInt());
+        case KIND_BOOLEAN:
+            return buffer.readByte() != 0;
+        case KIND_CHAR:
+            return (char) buffer.readVarInt();
+        case KIND_DECIMAL:
+            int scale = buffer.readSignedVarInt();
+            byte[] unscaled = buffer.readBytes(buffer.readVarInt());
+            return new BigDecimal(new BigInteger(unscaled), scale);
+        default:
+            return new Date(buffer.readSignedVarLong());
+        }
+    }
+}
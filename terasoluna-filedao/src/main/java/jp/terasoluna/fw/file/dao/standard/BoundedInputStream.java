@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 読込範囲制限付き入力ストリーム。
+ * <p>
+ * 元のストリームの先頭から指定されたバイト数までを読み込み、それ以降はストリームの終端として扱う。<br>
+ * トレイラ部を末尾から読み込んだ場合に、データ部をトレイラ部の開始位置までに制限するために利用する。
+ * </p>
+ * @see ReverseTrailerReader
+ */
+public class BoundedInputStream extends FilterInputStream {
+
+    /**
+     * 残りの読込可能なバイト数。
+     */
+    private long remaining;
+
+    /**
+     * コンストラクタ。
+     * @param in 元の入力ストリーム
+     * @param limit 読込可能なバイト数
+     * @throws IllegalArgumentException 引数の設定が間違った場合。
+     */
+    public BoundedInputStream(InputStream in, long limit) {
+        super(in);
+        if (in == null) {
+            throw new IllegalArgumentException("in is required.");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be 0 or more.");
+        }
+        this.remaining = limit;
+    }
+
+    /**
+     * 1バイト読み込む。
+     * @return 読み込んだバイト。読込可能な範囲の終端に達した場合は-1
+     * @throws IOException 入出力エラーが発生した場合。
+     */
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int b = in.read();
+        if (b != -1) {
+            remaining--;
+        }
+        return b;
+    }
+
+    /**
+     * 読込可能な範囲でバイト配列に読み込む。
+     * @param b 読み込み先のバイト配列
+     * @param off 読み込み先の開始位置
+     * @param len 読み込む最大バイト数
+     * @return 読み込んだバイト数。読込可能な範囲の終端に達した場合は-1
+     * @throws IOException 入出力エラーが発生した場合。
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int count = in.read(b, off, (int) Math.min(len, remaining));
+        if (count > 0) {
+            remaining -= count;
+        }
+        return count;
+    }
+
+    /**
+     * 読込可能な範囲でバイトを読み飛ばす。
+     * @param n 読み飛ばすバイト数
+     * @return 読み飛ばしたバイト数
+     * @throws IOException 入出力エラーが発生した場合。
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(Math.min(n, remaining));
+        if (skipped > 0) {
+            remaining -= skipped;
+        }
+        return skipped;
+    }
+
+    /**
+     * 読込可能な範囲で、ブロックせずに読み込めるバイト数を取得する。
+     * @return ブロックせずに読み込めるバイト数
+     * @throws IOException 入出力エラーが発生した場合。
+     */
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(in.available(), remaining);
+    }
+
+    /**
+     * マーク処理はサポートしない。
+     * @return 常に<code>false</code>
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
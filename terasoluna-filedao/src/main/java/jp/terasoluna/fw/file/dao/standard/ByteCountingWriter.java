@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * 書き込んだ文字列のエンコード後のバイト数を数える文字出力ストリーム。
+ * <p>
+ * 書き込んだ文字列を出力先にそのまま渡し、ファイルエンコーディングで変換した場合のバイト数を加算する。
+ * 出力先でバッファリング中の文字列も書き込んだ時点で数えるため、フラッシュせずにバイト数を取得できる。<br>
+ * サロゲートペアが書き込みをまたいで分割された場合も、1文字として数える。
+ * 変換できない文字は、出力処理と同様に置換文字として数える。
+ * </p>
+ * <b>※注意事項</b><br>
+ * このクラスはスレッドセーフではない。<br>
+ * @see jp.terasoluna.fw.file.dao.standard.AbstractFileLineWriter#enableByteCount()
+ */
+final class ByteCountingWriter extends FilterWriter {
+
+    /**
+     * エンコード結果を一時的に格納するバッファのサイズ。
+     */
+    private static final int SCRATCH_SIZE = 1024;
+
+    /**
+     * バイト数を数えるためのエンコーダ。
+     */
+    private final CharsetEncoder encoder;
+
+    /**
+     * エンコード結果を一時的に格納するバッファ(内容は利用しない)。
+     */
+    private final ByteBuffer scratch = ByteBuffer.allocate(SCRATCH_SIZE);
+
+    /**
+     * 前回の書き込みでエンコードできなかった末尾の文字(サロゲートペアの上位)。
+     */
+    private final CharBuffer carry = CharBuffer.allocate(2);
+
+    /**
+     * 書き込んだバイト数。
+     */
+    private long count = 0;
+
+    /**
+     * コンストラクタ。
+     * @param out 出力先
+     * @param charsetName ファイルエンコーディング
+     * @throws UnsupportedEncodingException ファイルエンコーディングがサポートされていない場合
+     */
+    ByteCountingWriter(Writer out,
+            String charsetName) throws UnsupportedEncodingException {
+        super(out);
+        this.encoder = EncodingChannelWriter.forName(charsetName)
+                .newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * 1文字書き込む。
+     * @param c 文字
+     * @throws IOException 出力先への書き込みに失敗した場合
+     */
+    @Override
+    public void write(int c) throws IOException {
+        out.write(c);
+        count(CharBuffer.wrap(String.valueOf((char) c)));
+    }
+
+    /**
+     * 文字配列の一部を書き込む。
+     * @param cbuf 文字配列
+     * @param off 開始位置
+     * @param len 文字数
+     * @throws IOException 出力先への書き込みに失敗した場合
+     */
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        out.write(cbuf, off, len);
+        count(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    /**
+     * 文字列の一部を書き込む。
+     * @param str 文字列
+     * @param off 開始位置
+     * @param len 文字数
+     * @throws IOException 出力先への書き込みに失敗した場合
+     */
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        out.write(str, off, len);
+        count(CharBuffer.wrap(str, off, off + len));
+    }
+
+    /**
+     * この文字ストリームを経由せずに出力先へ書き込んだバイト数を加算する。
+     * @param bytes 加算するバイト数
+     */
+    void addCount(long bytes) {
+        count += bytes;
+    }
+
+    /**
+     * 書き込んだバイト数を取得する。
+     * @return 書き込んだバイト数
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * 文字列をエンコードした場合のバイト数を加算する。
+     * <p>
+     * 末尾のサロゲートペアの上位は、次の書き込みの先頭の文字と合わせて数える。
+     * </p>
+     * @param in 書き込んだ文字列
+     */
+    private void count(CharBuffer in) {
+        while (carry.position() > 0 && in.hasRemaining()) {
+            carry.put(in.get());
+            carry.flip();
+            encode(carry);
+            carry.compact();
+        }
+        encode(in);
+        if (in.hasRemaining()) {
+            carry.put(in);
+        }
+    }
+
+    /**
+     * エンコードした場合のバイト数を加算する。
+     * @param in エンコードする文字列
+     */
+    private void encode(CharBuffer in) {
+        while (true) {
+            scratch.clear();
+            CoderResult result = encoder.encode(in, scratch, false);
+            count += scratch.position();
+            if (!result.isOverflow()) {
+                return;
+            }
+        }
+    }
+}
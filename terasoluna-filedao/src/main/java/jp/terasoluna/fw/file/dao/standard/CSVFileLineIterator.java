@@ -16,6 +16,7 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.io.InputStream;
 import java.util.Map;
 
 import jp.terasoluna.fw.file.dao.FileException;
@@ -146,11 +147,35 @@ public class CSVFileLineIterator<T> extends VariableFileLineIterator<T> {
 
         super(fileName, clazz, columnParserMap);
 
+        // 区切り文字をチェックし、初期化処理を行う。
+        checkDelimiter();
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりに入力ストリームからデータを読み込む。入力ストリームは{@link #closeFile()}でクローズされる。
+     * @param inputStream 入力ストリーム
+     * @param clazz ファイル行結果クラス
+     * @param columnParserMap カラムフォーマット処理を格納するマップ
+     */
+    public CSVFileLineIterator(InputStream inputStream, Class<T> clazz,
+            Map<String, ColumnParser> columnParserMap) {
+
+        super(inputStream, clazz, columnParserMap);
+
+        // 区切り文字をチェックし、初期化処理を行う。
+        checkDelimiter();
+    }
+
+    /**
+     * 区切り文字が初期値であることをチェックし、初期化処理を行う。
+     */
+    private void checkDelimiter() {
         // 区切り文字が初期値以外の場合、例外をスローする。
         if (getDelimiter() != ',') {
             closeFile();
             throw new FileException("Delimiter can not change.",
-                    new IllegalStateException(), fileName);
+                    new IllegalStateException(), getFileName());
         }
 
         // 初期化処理を行う。
@@ -16,6 +16,7 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.nio.channels.WritableByteChannel;
 import java.util.Map;
 
 import jp.terasoluna.fw.file.dao.FileException;
@@ -137,14 +138,65 @@ public class CSVFileLineWriter<T> extends VariableFileLineWriter<T> {
      */
     public CSVFileLineWriter(String fileName, Class<T> clazz,
             Map<String, ColumnFormatter> columnFormatterMap) {
+        this(fileName, clazz, columnFormatterMap, 0);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数。非同期出力を行わない場合は<code>0</code>。
+     */
+    public CSVFileLineWriter(String fileName, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterMap,
+            int asyncBufferCount) {
+
+        super(fileName, clazz, columnFormatterMap, asyncBufferCount);
+
+        // 区切り文字をチェックし、初期化処理を行う。
+        checkDelimiter();
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりにチャネルへ書き込む。チャネルは{@link #closeFile()}でクローズされる。
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     */
+    public CSVFileLineWriter(WritableByteChannel channel, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterMap) {
+        this(channel, clazz, columnFormatterMap, 0);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりにチャネルへ書き込む。チャネルは{@link #closeFile()}でクローズされる。
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数。非同期出力を行わない場合は<code>0</code>。
+     */
+    public CSVFileLineWriter(WritableByteChannel channel, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterMap,
+            int asyncBufferCount) {
 
-        super(fileName, clazz, columnFormatterMap);
+        super(channel, clazz, columnFormatterMap, asyncBufferCount);
 
+        // 区切り文字をチェックし、初期化処理を行う。
+        checkDelimiter();
+    }
+
+    /**
+     * 区切り文字が初期値であることをチェックし、初期化処理を行う。
+     */
+    private void checkDelimiter() {
         // 区切り文字が初期値以外の場合、例外をスローする。
         if (getDelimiter() != ',') {
             closeFile();
             throw new FileException("Delimiter can not change.",
-                    new IllegalStateException(), fileName);
+                    new IllegalStateException(), getFileName());
         }
 
         // 初期化処理
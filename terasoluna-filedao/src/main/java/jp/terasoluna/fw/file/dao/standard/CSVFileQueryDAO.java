@@ -16,6 +16,8 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.io.InputStream;
+
 import jp.terasoluna.fw.file.dao.FileLineIterator;
 
 /**
@@ -43,4 +45,22 @@ public class CSVFileQueryDAO extends AbstractFileQueryDAO {
 
         return fileLineIterator;
     }
+
+    /**
+     * 入力ストリームを指定したFileLineIterator取得用メソッド。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param inputStream 入力ストリーム
+     * @param clazz パラメータクラス
+     * @return CSVファイル読取用オブジェクト
+     */
+    @Override
+    public <T> FileLineIterator<T> execute(InputStream inputStream,
+            Class<T> clazz) {
+
+        // FileLineIteratorを生成する。
+        CSVFileLineIterator<T> fileLineIterator = new CSVFileLineIterator<T>(
+                inputStream, clazz, getColumnParserMap());
+
+        return fileLineIterator;
+    }
 }
@@ -16,6 +16,8 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.nio.channels.WritableByteChannel;
+
 import jp.terasoluna.fw.file.dao.FileLineWriter;
 
 /**
@@ -39,7 +41,27 @@ public class CSVFileUpdateDAO extends AbstractFileUpdateDAO {
 
         // FileLineWriterを生成する。
         CSVFileLineWriter<T> fileLineWriter = new CSVFileLineWriter<T>(
-                fileName, clazz, getColumnFormatterMap());
+                fileName, clazz, getColumnFormatterMap(),
+                getAsyncBufferCount());
+
+        return fileLineWriter;
+    }
+
+    /**
+     * チャネルを指定したFileLineWriter取得用メソッド。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @return CSVファイル用のFileLineWriter
+     */
+    @Override
+    public <T> FileLineWriter<T> execute(WritableByteChannel channel,
+            Class<T> clazz) {
+
+        // FileLineWriterを生成する。
+        CSVFileLineWriter<T> fileLineWriter = new CSVFileLineWriter<T>(
+                channel, clazz, getColumnFormatterMap(),
+                getAsyncBufferCount());
 
         return fileLineWriter;
     }
@@ -0,0 +1,529 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.util.Date;
+
+/**
+ * カラムバインダ生成クラス。
+ * <p>
+ * ファイル行オブジェクトの属性のsetter/getterメソッドと、カラムパーサー/カラムフォーマッタの組み合わせから、
+ * 1属性分の値の格納・取得を行うカラムバインダを生成する。<br>
+ * 標準のカラムパーサー/カラムフォーマッタ({@link NullColumnParser}、{@link IntColumnParser}、
+ * {@link LongColumnParser}、{@link ShortColumnParser}、{@link DoubleColumnParser}、
+ * {@link BooleanColumnParser}、{@link CharColumnParser}、{@link DecimalColumnParser}、
+ * {@link DateColumnParser}、{@link FastDecimalColumnParser}、{@link FastDateColumnParser}と、それぞれに対応するフォーマッタ)が
+ * 属性の型と一致する組み合わせで利用される場合は、変換処理とsetter/getterメソッドを
+ * <code>MethodHandle</code>で型を固定したまま連結したカラムバインダを生成し、1行ごとのリフレクション呼び出しとボクシングを省略する。<br>
+ * 上記以外の組み合わせ(利用者が独自に定義したカラムパーサー/カラムフォーマッタ、
+ * 標準クラスを継承したクラスなど)の場合は、従来通りカラムパーサー/カラムフォーマッタに処理を委譲するカラムバインダを生成する。
+ * </p>
+ * <p>
+ * <code>MethodHandle</code>によるカラムバインダでも、リフレクションによる呼び出しと同様に
+ * setter/getterメソッドがスローした例外はすべて<code>InvocationTargetException</code>でラップする。<br>
+ * 変換処理がスローした例外(<code>NumberFormatException</code>、<code>ParseException</code>など)はそのままスローする。
+ * </p>
+ * @see InputColumnBinder
+ * @see OutputColumnBinder
+ */
+public class ColumnBinderCompiler {
+
+    /**
+     * このクラスから参照可能なメソッドを検索するルックアップ。
+     */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * コンストラクタ。
+     */
+    protected ColumnBinderCompiler() {
+    }
+
+    /**
+     * 入力カラムバインダを生成する。
+     * @param setter カラムの文字列をファイル行オブジェクトに格納するメソッド
+     * @param columnParser カラムパーサー
+     * @return 入力カラムバインダ
+     */
+    public static InputColumnBinder compile(Method setter,
+            ColumnParser columnParser) {
+        if (columnParser != null
+                && !Modifier.isStatic(setter.getModifiers())) {
+            Class<?> parserClass = columnParser.getClass();
+            Class<?> type = setter.getParameterTypes()[0];
+            try {
+                // (String,String)属性の型 のカラムの文字列の変換処理
+                MethodHandle parser = null;
+                if (parserClass == NullColumnParser.class
+                        && type == String.class) {
+                    parser = MethodHandles.identity(String.class);
+                } else if (parserClass == IntColumnParser.class
+                        && type == int.class) {
+                    parser = findStatic(Integer.class, "parseInt", int.class,
+                            String.class);
+                } else if (parserClass == LongColumnParser.class
+                        && type == long.class) {
+                    parser = findStatic(Long.class, "parseLong", long.class,
+                            String.class);
+                } else if (parserClass == ShortColumnParser.class
+                        && type == short.class) {
+                    parser = findStatic(Short.class, "parseShort", short.class,
+                            String.class);
+                } else if (parserClass == DoubleColumnParser.class
+                        && type == double.class) {
+                    parser = findStatic(Double.class, "parseDouble",
+                            double.class, String.class);
+                } else if (parserClass == BooleanColumnParser.class
+                        && type == boolean.class) {
+                    parser = findStatic(BooleanColumnParser.class,
+                            "parseBoolean", boolean.class, String.class);
+                } else if (parserClass == CharColumnParser.class
+                        && type == char.class) {
+                    parser = findStatic(CharColumnParser.class, "parseChar",
+                            char.class, String.class);
+                } else if ((parserClass == DecimalColumnParser.class
+                        || parserClass == FastDecimalColumnParser.class)
+                        && type == BigDecimal.class) {
+                    MethodHandle parseDecimal = LOOKUP.findVirtual(
+                            DecimalColumnParser.class, "parseDecimal",
+                            MethodType.methodType(Number.class, String.class,
+                                    String.class)).bindTo(columnParser);
+                    parser = MethodHandles.filterReturnValue(parseDecimal,
+                            findStatic(ColumnBinderCompiler.class,
+                                    "toBigDecimal", BigDecimal.class,
+                                    Number.class));
+                } else if ((parserClass == DateColumnParser.class
+                        || parserClass == FastDateColumnParser.class)
+                        && type == Date.class) {
+                    parser = LOOKUP.findVirtual(DateColumnParser.class,
+                            "parseDate", MethodType.methodType(Date.class,
+                                    String.class, String.class)).bindTo(
+                                            columnParser);
+                }
+                if (parser != null) {
+                    if (parser.type().parameterCount() == 1) {
+                        // フォーマット文字列を利用しない変換処理の場合は単に無視する。
+                        parser = MethodHandles.dropArguments(parser, 1,
+                                String.class);
+                    }
+                    return new MethodHandleInputColumnBinder(bindSetter(setter,
+                            parser));
+                }
+            } catch (ReflectiveOperationException e) {
+                // MethodHandleが取得できない場合はリフレクションによる呼び出しを行う。
+            }
+        }
+        return new ReflectiveInputColumnBinder(setter, columnParser);
+    }
+
+    /**
+     * 出力カラムバインダを生成する。
+     * @param getter カラムフォーマットを行う属性のゲッタメソッド
+     * @param columnFormatter カラムフォーマッタ
+     * @return 出力カラムバインダ
+     */
+    public static OutputColumnBinder compile(Method getter,
+            ColumnFormatter columnFormatter) {
+        if (columnFormatter != null
+                && !Modifier.isStatic(getter.getModifiers())) {
+            Class<?> formatterClass = columnFormatter.getClass();
+            Class<?> type = getter.getReturnType();
+            try {
+                // (属性の型,String)String の属性の値の変換処理
+                MethodHandle formatter = null;
+                if (formatterClass == NullColumnFormatter.class
+                        && type != void.class) {
+                    formatter = findStatic(ColumnBinderCompiler.class,
+                            "toColumnString", String.class, Object.class);
+                } else if (formatterClass == IntColumnFormatter.class
+                        && type == int.class) {
+                    formatter = findStatic(Integer.class, "toString",
+                            String.class, int.class);
+                } else if (formatterClass == LongColumnFormatter.class
+                        && type == long.class) {
+                    formatter = findStatic(Long.class, "toString", String.class,
+                            long.class);
+                } else if (formatterClass == ShortColumnFormatter.class
+                        && type == short.class) {
+                    formatter = findStatic(Short.class, "toString",
+                            String.class, short.class);
+                } else if (formatterClass == DoubleColumnFormatter.class
+                        && type == double.class) {
+                    formatter = findStatic(Double.class, "toString",
+                            String.class, double.class);
+                } else if (formatterClass == BooleanColumnFormatter.class
+                        && type == boolean.class) {
+                    formatter = findStatic(String.class, "valueOf",
+                            String.class, boolean.class);
+                } else if (formatterClass == CharColumnFormatter.class
+                        && type == char.class) {
+                    formatter = findStatic(String.class, "valueOf",
+                            String.class, char.class);
+                } else if ((formatterClass == DecimalColumnFormatter.class
+                        || formatterClass == FastDecimalColumnFormatter.class)
+                        && type == BigDecimal.class) {
+                    formatter = LOOKUP.findVirtual(DecimalColumnFormatter.class,
+                            "formatDecimal", MethodType.methodType(
+                                    String.class, Object.class, String.class))
+                            .bindTo(columnFormatter);
+                } else if ((formatterClass == DateColumnFormatter.class
+                        || formatterClass == FastDateColumnFormatter.class)
+                        && type == Date.class) {
+                    formatter = LOOKUP.findVirtual(DateColumnFormatter.class,
+                            "formatDate", MethodType.methodType(String.class,
+                                    Date.class, String.class)).bindTo(
+                                            columnFormatter);
+                }
+                if (formatter != null) {
+                    if (formatter.type().parameterCount() == 1) {
+                        // カラムフォーマット用の文字列を利用しない変換処理の場合は単に無視する。
+                        formatter = MethodHandles.dropArguments(formatter, 1,
+                                String.class);
+                    }
+                    return new MethodHandleOutputColumnBinder(bindGetter(getter,
+                            formatter));
+                }
+            } catch (ReflectiveOperationException e) {
+                // MethodHandleが取得できない場合はリフレクションによる呼び出しを行う。
+            }
+        }
+        return new ReflectiveOutputColumnBinder(getter, columnFormatter);
+    }
+
+    /**
+     * staticメソッドのMethodHandleを取得する。
+     * @param refc メソッドを宣言するクラス
+     * @param name メソッド名
+     * @param rtype 戻り値の型
+     * @param ptype 引数の型
+     * @return MethodHandle
+     * @throws ReflectiveOperationException メソッドが見つからない場合、またはアクセスできない場合
+     */
+    private static MethodHandle findStatic(Class<?> refc, String name,
+            Class<?> rtype,
+            Class<?> ptype) throws ReflectiveOperationException {
+        return LOOKUP.findStatic(refc, name, MethodType.methodType(rtype,
+                ptype));
+    }
+
+    /**
+     * setterメソッドとカラムの文字列の変換処理を連結する。
+     * <p>
+     * 変換処理の後にファイル行オブジェクトの確認とsetterメソッドの呼び出しを行う、
+     * (String,String,Object)void 型のMethodHandleを生成する。
+     * </p>
+     * @param setter setterメソッド
+     * @param parser (String,String)属性の型 の変換処理
+     * @return (カラムの文字列,フォーマット文字列,ファイル行オブジェクト)void のMethodHandle
+     * @throws ReflectiveOperationException メソッドまたはメソッドを宣言するクラスがpublicではない場合
+     */
+    private static MethodHandle bindSetter(Method setter,
+            MethodHandle parser) throws ReflectiveOperationException {
+        Class<?> type = parser.type().returnType();
+        MethodHandle handle = wrapTargetException(MethodHandles.publicLookup()
+                .unreflect(setter)).asType(MethodType.methodType(void.class,
+                        Object.class, type));
+        handle = MethodHandles.filterArguments(handle, 0, findStatic(
+                ColumnBinderCompiler.class, "checkTarget", Object.class,
+                Object.class));
+        // (属性の値,カラムの文字列,フォーマット文字列,ファイル行オブジェクト)void
+        handle = MethodHandles.permuteArguments(handle, MethodType.methodType(
+                void.class, type, String.class, String.class, Object.class),
+                3, 0);
+        return MethodHandles.foldArguments(handle, parser);
+    }
+
+    /**
+     * getterメソッドと属性の値の変換処理を連結する。
+     * <p>
+     * ファイル行オブジェクトの確認とgetterメソッドの呼び出しの後に変換処理を行う、
+     * (Object,String)String 型のMethodHandleを生成する。
+     * </p>
+     * @param getter getterメソッド
+     * @param formatter (属性の型,String)String の変換処理
+     * @return (ファイル行オブジェクト,カラムフォーマット用の文字列)String のMethodHandle
+     * @throws ReflectiveOperationException メソッドまたはメソッドを宣言するクラスがpublicではない場合
+     */
+    private static MethodHandle bindGetter(Method getter,
+            MethodHandle formatter) throws ReflectiveOperationException {
+        MethodHandle handle = wrapTargetException(MethodHandles.publicLookup()
+                .unreflect(getter)).asType(MethodType.methodType(formatter
+                        .type().parameterType(0), Object.class));
+        handle = MethodHandles.filterArguments(handle, 0, findStatic(
+                ColumnBinderCompiler.class, "checkTarget", Object.class,
+                Object.class));
+        return MethodHandles.filterArguments(formatter, 0, handle);
+    }
+
+    /**
+     * setter/getterメソッドがスローした例外を<code>InvocationTargetException</code>でラップするMethodHandleを生成する。
+     * <p>
+     * リフレクションによる呼び出しと同様に、実行時例外とエラーを含むすべての例外をラップする。
+     * </p>
+     * @param target setter/getterメソッドのMethodHandle
+     * @return 例外をラップするMethodHandle
+     * @throws ReflectiveOperationException <code>InvocationTargetException</code>のコンストラクタが取得できない場合
+     */
+    private static MethodHandle wrapTargetException(
+            MethodHandle target) throws ReflectiveOperationException {
+        MethodType type = target.type();
+        // (Throwable)戻り値の型 : InvocationTargetExceptionを生成してスローする
+        MethodHandle handler = MethodHandles.filterArguments(MethodHandles
+                .throwException(type.returnType(),
+                        InvocationTargetException.class), 0, LOOKUP
+                                .findConstructor(
+                                        InvocationTargetException.class,
+                                        MethodType.methodType(void.class,
+                                                Throwable.class)));
+        handler = MethodHandles.dropArguments(handler, 1, type
+                .parameterList());
+        return MethodHandles.catchException(target, Throwable.class, handler);
+    }
+
+    /**
+     * ファイル行オブジェクトが<code>null</code>でないことを確認する。
+     * <p>
+     * リフレクションによる呼び出しと同様に、ファイル行オブジェクトが<code>null</code>の場合は
+     * <code>NullPointerException</code>をスローする。
+     * </p>
+     * @param t ファイル行オブジェクト
+     * @return ファイル行オブジェクト
+     * @throws NullPointerException ファイル行オブジェクトが<code>null</code>の場合
+     */
+    private static Object checkTarget(Object t) {
+        if (t == null) {
+            throw new NullPointerException();
+        }
+        return t;
+    }
+
+    /**
+     * パース結果をBigDecimal型として返却する。
+     * @param value パース結果
+     * @return BigDecimal型の値
+     * @throws IllegalArgumentException パース結果がBigDecimal型ではないとき
+     */
+    private static BigDecimal toBigDecimal(Number value) {
+        if (!(value instanceof BigDecimal)) {
+            // リフレクション呼び出し時と同様に型の不一致として扱う。
+            throw new IllegalArgumentException("argument type mismatch");
+        }
+        return (BigDecimal) value;
+    }
+
+    /**
+     * 属性の値を文字列として返却する。
+     * @param column 属性の値
+     * @return 文字列。属性の値が<code>null</code>の場合は空文字
+     */
+    private static String toColumnString(Object column) {
+        if (column == null) {
+            return "";
+        }
+        return column.toString();
+    }
+
+    /**
+     * カラムパーサーに処理を委譲する入力カラムバインダ。
+     */
+    private static final class ReflectiveInputColumnBinder implements
+                                                           InputColumnBinder {
+
+        /**
+         * setterメソッド。
+         */
+        private final Method setter;
+
+        /**
+         * カラムパーサー。
+         */
+        private final ColumnParser columnParser;
+
+        /**
+         * コンストラクタ。
+         * @param setter setterメソッド
+         * @param columnParser カラムパーサー
+         */
+        ReflectiveInputColumnBinder(Method setter, ColumnParser columnParser) {
+            this.setter = setter;
+            this.columnParser = columnParser;
+        }
+
+        /**
+         * カラムパーサーによりカラムの文字列をファイル行オブジェクトに格納する。
+         * @param column カラムの文字列
+         * @param t ファイル行オブジェクト
+         * @param columnFormat パースする際のフォーマット文字列
+         * @throws IllegalArgumentException フォーマット文字列がフォーマットとして不正であるとき
+         * @throws IllegalAccessException ファイル行オブジェクトへの設定が失敗したとき
+         * @throws InvocationTargetException ファイル行オブジェクトのメソッドが例外をスローしたとき
+         * @throws ParseException パース処理が失敗したとき
+         */
+        @Override
+        public void bind(String column, Object t,
+                String columnFormat) throws IllegalArgumentException,
+                                    IllegalAccessException,
+                                    InvocationTargetException, ParseException {
+            columnParser.parse(column, t, setter, columnFormat);
+        }
+    }
+
+    /**
+     * 変換処理とsetterメソッドを連結したMethodHandleによる入力カラムバインダ。
+     */
+    private static final class MethodHandleInputColumnBinder implements
+                                                             InputColumnBinder {
+
+        /**
+         * 変換処理とsetterメソッドを連結したMethodHandle。(String,String,Object)void
+         */
+        private final MethodHandle setter;
+
+        /**
+         * コンストラクタ。
+         * @param setter 変換処理とsetterメソッドを連結したMethodHandle
+         */
+        MethodHandleInputColumnBinder(MethodHandle setter) {
+            this.setter = setter;
+        }
+
+        /**
+         * カラムの文字列を属性の型に変換し、ファイル行オブジェクトに格納する。
+         * @param column カラムの文字列
+         * @param t ファイル行オブジェクト
+         * @param columnFormat パースする際のフォーマット文字列
+         * @throws InvocationTargetException ファイル行オブジェクトのメソッドが例外をスローしたとき
+         * @throws ParseException パース処理が失敗したとき
+         */
+        @Override
+        public void bind(String column, Object t,
+                String columnFormat) throws InvocationTargetException,
+                                    ParseException {
+            try {
+                setter.invokeExact(column, columnFormat, t);
+            } catch (InvocationTargetException e) {
+                // setterメソッドがスローした例外(MethodHandle内でラップ済み)
+                throw e;
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Error e) {
+                throw e;
+            } catch (ParseException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+
+    /**
+     * カラムフォーマッタに処理を委譲する出力カラムバインダ。
+     */
+    private static final class ReflectiveOutputColumnBinder implements
+                                                            OutputColumnBinder {
+
+        /**
+         * getterメソッド。
+         */
+        private final Method getter;
+
+        /**
+         * カラムフォーマッタ。
+         */
+        private final ColumnFormatter columnFormatter;
+
+        /**
+         * コンストラクタ。
+         * @param getter getterメソッド
+         * @param columnFormatter カラムフォーマッタ
+         */
+        ReflectiveOutputColumnBinder(Method getter,
+                ColumnFormatter columnFormatter) {
+            this.getter = getter;
+            this.columnFormatter = columnFormatter;
+        }
+
+        /**
+         * カラムフォーマッタによりファイル行オブジェクトの属性をフォーマットする。
+         * @param t ファイル行オブジェクト
+         * @param columnFormat カラムフォーマット用の文字列
+         * @return 文字列
+         * @throws IllegalArgumentException ファイル行オブジェクトのgetterメソッドのアクセスに失敗したとき
+         * @throws IllegalAccessException ファイル行オブジェクトへの設定が失敗したとき
+         * @throws InvocationTargetException ファイル行オブジェクトのメソッドが例外をスローしたとき
+         */
+        @Override
+        public String format(Object t,
+                String columnFormat) throws IllegalArgumentException,
+                                    IllegalAccessException,
+                                    InvocationTargetException {
+            return columnFormatter.format(t, getter, columnFormat);
+        }
+    }
+
+    /**
+     * getterメソッドと変換処理を連結したMethodHandleによる出力カラムバインダ。
+     */
+    private static final class MethodHandleOutputColumnBinder implements
+                                                              OutputColumnBinder {
+
+        /**
+         * getterメソッドと変換処理を連結したMethodHandle。(Object,String)String
+         */
+        private final MethodHandle getter;
+
+        /**
+         * コンストラクタ。
+         * @param getter getterメソッドと変換処理を連結したMethodHandle
+         */
+        MethodHandleOutputColumnBinder(MethodHandle getter) {
+            this.getter = getter;
+        }
+
+        /**
+         * ファイル行オブジェクトの属性を文字列に変換して返却する。
+         * @param t ファイル行オブジェクト
+         * @param columnFormat カラムフォーマット用の文字列
+         * @return 文字列
+         * @throws InvocationTargetException ファイル行オブジェクトのメソッドが例外をスローしたとき
+         */
+        @Override
+        public String format(Object t,
+                String columnFormat) throws InvocationTargetException {
+            try {
+                return (String) getter.invokeExact(t, columnFormat);
+            } catch (InvocationTargetException e) {
+                // getterメソッドがスローした例外(MethodHandle内でラップ済み)
+                throw e;
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+}
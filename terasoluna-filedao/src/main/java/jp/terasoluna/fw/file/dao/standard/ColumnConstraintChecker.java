@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.UnsupportedEncodingException;
+
+import jp.terasoluna.fw.file.annotation.ColumnConstraint;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * カラムの制約の検査クラス。
+ * <p>
+ * <code>@InputFileColumn</code>の<code>required</code>、<code>maxBytes</code>、
+ * <code>numericString</code>、<code>hankakuString</code>に設定された制約を、
+ * トリム処理後のカラムの文字列に対して検査する。<br>
+ * 必須以外の制約は、空文字列の場合は検査しない。<br>
+ * 半角文字はファイルエンコーディングで1バイトとなる文字とし、ファイルエンコーディングごとの判定テーブルで判定する。<br>
+ * バイト数も同じ判定テーブルで数え、すべて半角文字の場合はバイト配列を生成しない。
+ * </p>
+ */
+final class ColumnConstraintChecker {
+
+    /**
+     * 必須の制約。
+     */
+    private final boolean required;
+
+    /**
+     * 最大バイト数の制約。制約がない場合は<code>-1</code>。
+     */
+    private final int maxBytes;
+
+    /**
+     * 数字の制約。
+     */
+    private final boolean numericString;
+
+    /**
+     * 半角文字の制約。
+     */
+    private final boolean hankakuString;
+
+    /**
+     * ファイルエンコーディング。
+     */
+    private final String fileEncoding;
+
+    /**
+     * コンストラクタ。
+     * @param inputFileColumn カラムの定義
+     * @param fileEncoding ファイルエンコーディング
+     */
+    private ColumnConstraintChecker(InputFileColumn inputFileColumn,
+            String fileEncoding) {
+        this.required = inputFileColumn.required();
+        this.maxBytes = inputFileColumn.maxBytes();
+        this.numericString = inputFileColumn.numericString();
+        this.hankakuString = inputFileColumn.hankakuString();
+        this.fileEncoding = fileEncoding;
+    }
+
+    /**
+     * カラムの制約の検査クラスを生成する。
+     * @param inputFileColumn カラムの定義
+     * @param fileEncoding ファイルエンコーディング
+     * @return カラムの制約の検査クラス。制約が設定されていない場合は<code>null</code>
+     */
+    static ColumnConstraintChecker create(InputFileColumn inputFileColumn,
+            String fileEncoding) {
+        if (!inputFileColumn.required() && inputFileColumn.maxBytes() < 0
+                && !inputFileColumn.numericString()
+                && !inputFileColumn.hankakuString()) {
+            return null;
+        }
+        return new ColumnConstraintChecker(inputFileColumn, fileEncoding);
+    }
+
+    /**
+     * 最大バイト数の制約を取得する。
+     * @return 最大バイト数の制約。制約がない場合は<code>-1</code>
+     */
+    int getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * カラムの文字列の制約を検査する。
+     * @param columnString トリム処理後のカラムの文字列
+     * @return 満たさなかった制約。すべての制約を満たす場合は<code>null</code>
+     * @throws FileException ファイルエンコーディングがサポートされていない場合。
+     */
+    ColumnConstraint check(String columnString) {
+        int length = columnString.length();
+        if (length == 0) {
+            return required ? ColumnConstraint.REQUIRED : null;
+        }
+        if (numericString) {
+            for (int i = 0; i < length; i++) {
+                char c = columnString.charAt(i);
+                if (c < '0' || '9' < c) {
+                    return ColumnConstraint.NUMERIC_STRING;
+                }
+            }
+        }
+        if (maxBytes < 0 && !hankakuString) {
+            return null;
+        }
+        try {
+            HalfWidthCharacterTable table = HalfWidthCharacterTable.getTable(
+                    fileEncoding);
+            if (0 <= maxBytes && maxBytes < table.getByteLength(columnString)) {
+                return ColumnConstraint.MAX_BYTES;
+            }
+            if (hankakuString && !table.isHalfWidth(columnString)) {
+                return ColumnConstraint.HANKAKU_STRING;
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new FileException("fileEncoding which isn't supported was set.", e);
+        }
+        return null;
+    }
+}
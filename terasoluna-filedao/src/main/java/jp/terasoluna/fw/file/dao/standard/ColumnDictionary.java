@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文字列カラムの辞書クラス。
+ * <p>
+ * {@link ColumnarFileLineReader}で読み込んだ文字列カラムの値を、出現順に0から採番したコードに対応付ける。<br>
+ * 1つのリーダで読み込んだバッチはすべて同じ辞書を参照するため、コードはバッチをまたいで同じ値を表す。
+ * </p>
+ * <b>※注意事項</b><br>
+ * 辞書への追加はリーダの読込処理のみで行う。参照するメソッドは他スレッドから呼び出しても良い。
+ * @see jp.terasoluna.fw.file.dao.standard.ColumnarBatch
+ */
+public class ColumnDictionary {
+
+    /**
+     * コードに対応する値のリスト。
+     */
+    private final List<String> values = new ArrayList<String>();
+
+    /**
+     * 値に対応するコードのマップ。
+     */
+    private final Map<String, Integer> codes = new HashMap<String, Integer>();
+
+    /**
+     * 値に対応するコードを取得する。未登録の値の場合は新たにコードを採番する。
+     * @param value 値
+     * @return コード
+     */
+    synchronized int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = Integer.valueOf(values.size());
+            values.add(value);
+            codes.put(value, code);
+        }
+        return code.intValue();
+    }
+
+    /**
+     * コードに対応する値を取得する。
+     * @param code コード
+     * @return 値
+     */
+    public synchronized String get(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * 値に対応するコードを取得する。
+     * @param value 値
+     * @return コード。登録されていない値の場合は-1
+     */
+    public synchronized int getCode(String value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code.intValue();
+    }
+
+    /**
+     * 登録されている値の数を取得する。
+     * @return 登録されている値の数
+     */
+    public synchronized int size() {
+        return values.size();
+    }
+}
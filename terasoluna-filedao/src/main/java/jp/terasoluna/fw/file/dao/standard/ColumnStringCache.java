@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao.standard;
+
+/**
+ * カラムの文字列のキャッシュクラス。
+ * <p>
+ * <code>@InputFileColumn</code>の<code>dictionary</code>が<code>true</code>のカラムについて、
+ * ファイルから読み込んだカラムのバイト列と、文字コード変換・トリム・パディング・文字列変換後の文字列を対応付けて保持する。<br>
+ * 同じバイト列のカラムには同じ<code>String</code>インスタンスを返却するため、区分値のように値の種類が少ないカラムで
+ * 文字コード変換と文字列の生成を省き、保持するファイル行オブジェクトのメモリ使用量を削減できる。<br>
+ * レコードをバイト列のまま扱う<code>HostFixedFileLineIterator</code>、<code>FixedRecordView</code>で利用する。
+ * </p>
+ * <p>
+ * 文字ストリームで読み込むCSV・固定長・可変長のファイル行イテレータでは、処理後の文字列をキーとして
+ * {@link #canonicalize(String)}で同じ内容の文字列を最初に登録したインスタンスにそろえ、
+ * 保持するファイル行オブジェクトのメモリ使用量を削減する。
+ * </p>
+ * <p>
+ * キャッシュはオープンアドレス法のハッシュ表であり、保持する件数は生成時に指定した上限までとする。
+ * 上限に達した後は新たな内容を登録しないため、値の種類が多いカラムでもメモリ使用量は増加しない。
+ * </p>
+ * <b>※注意事項</b><br>
+ * このクラスはスレッドセーフではない。ファイル行イテレータごとに生成すること。
+ */
+public class ColumnStringCache {
+
+    /**
+     * 保持する件数の上限のデフォルト値。
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    /**
+     * バイト列のキー。
+     */
+    private final byte[][] byteKeys;
+
+    /**
+     * キーのハッシュ値。
+     */
+    private final int[] hashes;
+
+    /**
+     * キーに対応する文字列。
+     */
+    private final String[] values;
+
+    /**
+     * ハッシュ表の添字のマスク。
+     */
+    private final int mask;
+
+    /**
+     * 保持する件数の上限。
+     */
+    private final int maxEntries;
+
+    /**
+     * 保持している件数。
+     */
+    private int size = 0;
+
+    /**
+     * コンストラクタ。
+     */
+    public ColumnStringCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param maxEntries 保持する件数の上限
+     */
+    public ColumnStringCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0.");
+        }
+        // 使用率が1/2以下となるよう、上限の2倍以上の2のべき乗をハッシュ表の大きさとする。
+        int capacity = Integer.highestOneBit(maxEntries) << 2;
+        this.byteKeys = new byte[capacity][];
+        this.hashes = new int[capacity];
+        this.values = new String[capacity];
+        this.mask = capacity - 1;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * バイト列のキーに対応する文字列を取得する。
+     * @param bytes キーを含むバイト配列
+     * @param offset キーの開始位置
+     * @param length キーのバイト数
+     * @return キーに対応する文字列。登録されていない場合は<code>null</code>
+     */
+    public String get(byte[] bytes, int offset, int length) {
+        int hash = hash(bytes, offset, length);
+        for (int i = hash & mask; values[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && equals(byteKeys[i], bytes, offset,
+                    length)) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * バイト列のキーに対応する文字列を登録する。キーのバイト列は複製して保持する。
+     * @param bytes キーを含むバイト配列
+     * @param offset キーの開始位置
+     * @param length キーのバイト数
+     * @param value キーに対応する文字列
+     */
+    public void put(byte[] bytes, int offset, int length, String value) {
+        if (value == null || maxEntries <= size) {
+            return;
+        }
+        int hash = hash(bytes, offset, length);
+        int i = hash & mask;
+        while (values[i] != null) {
+            if (hashes[i] == hash && equals(byteKeys[i], bytes, offset,
+                    length)) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        byte[] key = new byte[length];
+        System.arraycopy(bytes, offset, key, 0, length);
+        byteKeys[i] = key;
+        hashes[i] = hash;
+        values[i] = value;
+        size++;
+    }
+
+    /**
+     * 文字列を、登録済みの同じ内容の文字列のインスタンスにそろえる。<br>
+     * 登録されていない場合は、上限に達していなければ引数の文字列を登録する。
+     * @param value 文字列
+     * @return 登録済みの同じ内容の文字列。登録されていない場合は引数の文字列
+     */
+    public String canonicalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        int hash = value.hashCode();
+        int i = hash & mask;
+        while (values[i] != null) {
+            if (hashes[i] == hash && byteKeys[i] == null && value.equals(
+                    values[i])) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        if (size < maxEntries) {
+            hashes[i] = hash;
+            values[i] = value;
+            size++;
+        }
+        return value;
+    }
+
+    /**
+     * 保持している件数を取得する。
+     * @return 保持している件数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * バイト列のハッシュ値を求める。
+     * @param bytes バイト配列
+     * @param offset 開始位置
+     * @param length バイト数
+     * @return ハッシュ値
+     */
+    private static int hash(byte[] bytes, int offset, int length) {
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        // 下位ビットに偏りが出ないよう、上位ビットを混ぜる。
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 保持しているキーとバイト列が等しいかを判定する。
+     * @param key 保持しているキー
+     * @param bytes バイト配列
+     * @param offset 開始位置
+     * @param length バイト数
+     * @return 等しい場合は<code>true</code>
+     */
+    private static boolean equals(byte[] key, byte[] bytes, int offset,
+            int length) {
+        if (key == null || key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
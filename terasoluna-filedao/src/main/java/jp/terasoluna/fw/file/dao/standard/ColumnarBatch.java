@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * 列指向のデータ行のバッチクラス。
+ * <p>
+ * {@link ColumnarFileLineReader}で読み込んだ複数のデータ行を、カラムごとのプリミティブ型の配列に格納する。<br>
+ * 配列は生成時に確保し、読込のたびに再利用するため、データ行ごとのオブジェクト生成を行わない。<br>
+ * カラムの型ごとに、値は以下の配列に格納する。
+ * </p>
+ * <ul>
+ * <li>{@link ColumnType#LONG}：整数。{@link #getLongVector(int)}</li>
+ * <li>{@link ColumnType#DOUBLE}：浮動小数点数。{@link #getDoubleVector(int)}</li>
+ * <li>{@link ColumnType#DECIMAL}：{@link #getScale(int)}桁の固定小数点数。スケールを除いた値を{@link #getLongVector(int)}</li>
+ * <li>{@link ColumnType#DATE}：日付。1970年1月1日0時(UTC)からのミリ秒を{@link #getLongVector(int)}</li>
+ * <li>{@link ColumnType#STRING}：文字列。辞書のコードを{@link #getCodeVector(int)}</li>
+ * </ul>
+ * <p>
+ * 値が存在しないカラム(トリム後に空文字となった文字列以外のカラム)は、 有効ビットマップの該当ビットを0とする。<br>
+ * 有効ビットマップは1行を1ビットとし、<code>row</code>行目のビットは
+ * <code>(validity[row &gt;&gt; 6] &amp; (1L &lt;&lt; row)) != 0</code>で判定できる。
+ * </p>
+ * <p>
+ * バッチごとに独立した配列を持つため、複数のバッチを生成して並列に集計することが出来る。
+ * </p>
+ * @see jp.terasoluna.fw.file.dao.standard.ColumnarFileLineReader
+ */
+public class ColumnarBatch {
+
+    /**
+     * カラムの型。
+     */
+    public enum ColumnType {
+        /**
+         * 整数。
+         */
+        LONG,
+        /**
+         * 浮動小数点数。
+         */
+        DOUBLE,
+        /**
+         * 固定小数点数。
+         */
+        DECIMAL,
+        /**
+         * 日付。
+         */
+        DATE,
+        /**
+         * 文字列。
+         */
+        STRING
+    }
+
+    /**
+     * ファイル名。
+     */
+    private final String fileName;
+
+    /**
+     * カラム名(ファイル行オブジェクトの属性名)。
+     */
+    private final String[] columnNames;
+
+    /**
+     * カラムの型。
+     */
+    private final ColumnType[] columnTypes;
+
+    /**
+     * 固定小数点数のスケール。
+     */
+    private final int[] scales;
+
+    /**
+     * 整数、固定小数点数、日付の値。
+     */
+    private final long[][] longVectors;
+
+    /**
+     * 浮動小数点数の値。
+     */
+    private final double[][] doubleVectors;
+
+    /**
+     * 文字列の辞書のコード。
+     */
+    private final int[][] codeVectors;
+
+    /**
+     * 文字列の辞書。
+     */
+    private final ColumnDictionary[] dictionaries;
+
+    /**
+     * 有効ビットマップ。
+     */
+    private final long[][] validities;
+
+    /**
+     * 格納できる行数。
+     */
+    private final int capacity;
+
+    /**
+     * 格納している行数。
+     */
+    private int rowCount = 0;
+
+    /**
+     * 先頭行の行番号。
+     */
+    private int firstLineNo = 0;
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param columnNames カラム名
+     * @param columnTypes カラムの型
+     * @param scales 固定小数点数のスケール
+     * @param dictionaries 文字列の辞書
+     * @param capacity 格納できる行数
+     */
+    ColumnarBatch(String fileName, String[] columnNames,
+            ColumnType[] columnTypes, int[] scales,
+            ColumnDictionary[] dictionaries, int capacity) {
+        if (capacity <= 0) {
+            throw new FileException("capacity must be greater than 0.", new IllegalArgumentException(), fileName);
+        }
+        int size = columnNames.length;
+        this.fileName = fileName;
+        this.columnNames = columnNames;
+        this.columnTypes = columnTypes;
+        this.scales = scales;
+        this.dictionaries = dictionaries;
+        this.capacity = capacity;
+        this.longVectors = new long[size][];
+        this.doubleVectors = new double[size][];
+        this.codeVectors = new int[size][];
+        this.validities = new long[size][];
+        for (int i = 0; i < size; i++) {
+            switch (columnTypes[i]) {
+            case DOUBLE:
+                doubleVectors[i] = new double[capacity];
+                break;
+            case STRING:
+                codeVectors[i] = new int[capacity];
+                break;
+            default:
+                longVectors[i] = new long[capacity];
+                break;
+            }
+            validities[i] = new long[(capacity + 63) >> 6];
+        }
+    }
+
+    /**
+     * 格納している行をクリアする。
+     * @param lineNo 先頭行の行番号
+     * @param currentScales 固定小数点数のスケール
+     */
+    void clear(int lineNo, int[] currentScales) {
+        this.rowCount = 0;
+        this.firstLineNo = lineNo;
+        System.arraycopy(currentScales, 0, scales, 0, scales.length);
+        for (long[] validity : validities) {
+            for (int i = 0; i < validity.length; i++) {
+                validity[i] = 0L;
+            }
+        }
+    }
+
+    /**
+     * 行を追加する。値は{@link #setValid(int, int)}の前に格納しておくこと。
+     * @return 追加した行のインデックス
+     */
+    int addRow() {
+        return rowCount++;
+    }
+
+    /**
+     * 値が存在することを設定する。
+     * @param columnIndex カラムインデックス
+     * @param row 行のインデックス
+     */
+    void setValid(int columnIndex, int row) {
+        validities[columnIndex][row >> 6] |= 1L << row;
+    }
+
+    /**
+     * ファイル名を取得する。
+     * @return ファイル名
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * 格納できる行数を取得する。
+     * @return 格納できる行数
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 格納している行数を取得する。
+     * @return 格納している行数
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 先頭行のデータ部の行番号(1から始まる)を取得する。
+     * @return 先頭行の行番号
+     */
+    public int getFirstLineNo() {
+        return firstLineNo;
+    }
+
+    /**
+     * カラム数を取得する。
+     * @return カラム数
+     */
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * ファイル行オブジェクトの属性名に対応するカラムインデックスを取得する。
+     * <p>
+     * カラムインデックスはファイル行オブジェクトの属性の順序であり、<code>@InputFileColumn</code>の<code>columnIndex</code>とは異なることがある。
+     * </p>
+     * @param fieldName 属性名
+     * @return カラムインデックス
+     * @throws FileException 属性が存在しない場合
+     */
+    public int getColumnIndex(String fieldName) {
+        for (int i = 0; i < columnNames.length; i++) {
+            if (columnNames[i].equals(fieldName)) {
+                return i;
+            }
+        }
+        throw new FileException("InputFileColumn is not found. field: "
+                + fieldName, new IllegalArgumentException(), fileName);
+    }
+
+    /**
+     * カラム名(ファイル行オブジェクトの属性名)を取得する。
+     * @param columnIndex カラムインデックス
+     * @return カラム名
+     */
+    public String getColumnName(int columnIndex) {
+        return columnNames[columnIndex];
+    }
+
+    /**
+     * カラムの型を取得する。
+     * @param columnIndex カラムインデックス
+     * @return カラムの型
+     */
+    public ColumnType getColumnType(int columnIndex) {
+        return columnTypes[columnIndex];
+    }
+
+    /**
+     * 固定小数点数のスケールを取得する。
+     * @param columnIndex カラムインデックス
+     * @return スケール
+     */
+    public int getScale(int columnIndex) {
+        return scales[columnIndex];
+    }
+
+    /**
+     * 整数、固定小数点数、日付のカラムの値の配列を取得する。
+     * <p>
+     * 配列の長さは{@link #getCapacity()}であり、{@link #getRowCount()}以降の要素は利用しないこと。
+     * </p>
+     * @param columnIndex カラムインデックス
+     * @return 値の配列
+     * @throws FileException カラムの型が異なる場合
+     */
+    public long[] getLongVector(int columnIndex) {
+        if (longVectors[columnIndex] == null) {
+            throw typeError(columnIndex);
+        }
+        return longVectors[columnIndex];
+    }
+
+    /**
+     * 浮動小数点数のカラムの値の配列を取得する。
+     * @param columnIndex カラムインデックス
+     * @return 値の配列
+     * @throws FileException カラムの型が異なる場合
+     */
+    public double[] getDoubleVector(int columnIndex) {
+        if (doubleVectors[columnIndex] == null) {
+            throw typeError(columnIndex);
+        }
+        return doubleVectors[columnIndex];
+    }
+
+    /**
+     * 文字列のカラムの辞書のコードの配列を取得する。
+     * @param columnIndex カラムインデックス
+     * @return コードの配列
+     * @throws FileException カラムの型が異なる場合
+     */
+    public int[] getCodeVector(int columnIndex) {
+        if (codeVectors[columnIndex] == null) {
+            throw typeError(columnIndex);
+        }
+        return codeVectors[columnIndex];
+    }
+
+    /**
+     * 文字列のカラムの辞書を取得する。
+     * @param columnIndex カラムインデックス
+     * @return 辞書
+     * @throws FileException カラムの型が異なる場合
+     */
+    public ColumnDictionary getDictionary(int columnIndex) {
+        if (dictionaries[columnIndex] == null) {
+            throw typeError(columnIndex);
+        }
+        return dictionaries[columnIndex];
+    }
+
+    /**
+     * カラムの有効ビットマップを取得する。
+     * @param columnIndex カラムインデックス
+     * @return 有効ビットマップ
+     */
+    public long[] getValidity(int columnIndex) {
+        return validities[columnIndex];
+    }
+
+    /**
+     * 値が存在しないかどうかを判定する。
+     * @param columnIndex カラムインデックス
+     * @param row 行のインデックス
+     * @return 値が存在しない場合は<code>true</code>
+     */
+    public boolean isNull(int columnIndex, int row) {
+        return (validities[columnIndex][row >> 6] & (1L << row)) == 0;
+    }
+
+    /**
+     * カラムの型が異なる場合の例外を生成する。
+     * @param columnIndex カラムインデックス
+     * @return 例外
+     */
+    private FileException typeError(int columnIndex) {
+        return new FileException("Column type is different. column: "
+                + columnNames[columnIndex] + ", type: "
+                + columnTypes[columnIndex], new IllegalArgumentException(), fileName);
+    }
+}
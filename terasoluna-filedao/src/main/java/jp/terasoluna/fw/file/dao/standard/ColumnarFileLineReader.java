@@ -0,0 +1,493 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.dao.FileColumnConstraintException;
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
+import jp.terasoluna.fw.file.dao.FileLineIterator;
+import jp.terasoluna.fw.file.dao.standard.ColumnarBatch.ColumnType;
+
+/**
+ * 列指向の一括読込クラス。
+ * <p>
+ * {@link FileLineIterator}のデータ部を、ファイル行オブジェクトを生成せずに指定した行数ごとに読み込み、
+ * {@link ColumnarBatch}のカラムごとの配列に格納する。<br>
+ * 集計処理のように一部のカラムの値を大量に参照する場合に、データ行ごとのオブジェクト生成を省き、
+ * 配列に対する単純なループで処理することが出来る。<br>
+ * バイト数チェック、トリム、制約の検査、パディング、文字列変換は{@link FileLineIterator#next()}と同じ処理で行う。
+ * 型変換はファイル行オブジェクトの属性の型に応じて以下のように行い、カラムパーサーは使用しない。
+ * </p>
+ * <ul>
+ * <li>int、long、short、byte(ラッパークラスを含む)：{@link ColumnType#LONG}</li>
+ * <li>double、float(ラッパークラスを含む)：{@link ColumnType#DOUBLE}</li>
+ * <li>BigDecimal：{@link ColumnType#DECIMAL}。スケールは<code>columnFormat</code>の小数部の桁数(未設定の場合は0)とし、
+ * {@link #setScale(String, int)}で変更できる。スケールを超える小数部を持つ値は例外とする。</li>
+ * <li>Date：{@link ColumnType#DATE}</li>
+ * <li>上記以外：{@link ColumnType#STRING}</li>
+ * </ul>
+ * <p>
+ * <strong>使用例</strong><br>
+ * <code><pre>
+ * ColumnarFileLineReader&lt;SampleFileLine&gt; reader = fileQueryDAO.executeColumnar(
+ *         "sample.csv", SampleFileLine.class);
+ * try {
+ *     ColumnarBatch batch = reader.newBatch(4096);
+ *     int amount = batch.getColumnIndex("amount");
+ *     long total = 0;
+ *     while (reader.readBatch(batch) &gt; 0) {
+ *         long[] amounts = batch.getLongVector(amount);
+ *         for (int i = 0; i &lt; batch.getRowCount(); i++) {
+ *             total += amounts[i];
+ *         }
+ *     }
+ * } finally {
+ *     reader.closeFile();
+ * }
+ * </pre></code>
+ * </p>
+ * <b>※注意事項</b><br>
+ * 読込中は元の{@link FileLineIterator}を直接操作しないこと。<br>
+ * 1つのリーダの読込処理は1スレッドから行うこと。読み込んだバッチは他スレッドで集計しても良い。
+ * @see jp.terasoluna.fw.file.dao.standard.ColumnarBatch
+ * @see jp.terasoluna.fw.file.dao.standard.AbstractFileQueryDAO#executeColumnar(String, Class)
+ */
+public class ColumnarFileLineReader<T> {
+
+    /**
+     * long型で誤差なく扱える最大の桁数。
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * 10のべき乗。
+     */
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    /**
+     * 読込元のファイル行イテレータ。
+     */
+    private final AbstractFileLineIterator<T> iterator;
+
+    /**
+     * ファイル名。
+     */
+    private final String fileName;
+
+    /**
+     * ファイル行オブジェクトの属性。
+     */
+    private final Field[] fields;
+
+    /**
+     * カラム名。
+     */
+    private final String[] columnNames;
+
+    /**
+     * 区切られたカラムの位置。
+     */
+    private final int[] columnIndexs;
+
+    /**
+     * カラムのフォーマット。
+     */
+    private final String[] columnFormats;
+
+    /**
+     * カラムの型。
+     */
+    private final ColumnType[] columnTypes;
+
+    /**
+     * 固定小数点数のスケール。
+     */
+    private final int[] scales;
+
+    /**
+     * 文字列の辞書。
+     */
+    private final ColumnDictionary[] dictionaries;
+
+    /**
+     * 固定桁の日付パターン。
+     */
+    private final FixedWidthDatePattern[] datePatterns;
+
+    /**
+     * 固定小数点数の変換に利用するカラムパーサー。
+     */
+    private final DecimalColumnParser decimalColumnParser = new DecimalColumnParser();
+
+    /**
+     * 日付の変換に利用するカラムパーサー。
+     */
+    private final DateColumnParser dateColumnParser = new DateColumnParser();
+
+    /**
+     * 読み込んだデータ部の行数。
+     */
+    private int lineCount;
+
+    /**
+     * コンストラクタ。
+     * @param fileLineIterator 読込元のファイル行イテレータ
+     * @throws FileException 列指向の読込に対応しないファイル行イテレータの場合
+     */
+    public ColumnarFileLineReader(FileLineIterator<T> fileLineIterator) {
+        if (fileLineIterator == null) {
+            throw new FileException("fileLineIterator is required.", new IllegalArgumentException());
+        }
+        if (!(fileLineIterator instanceof AbstractFileLineIterator)) {
+            throw new FileException("Columnar read is not supported.", new IllegalArgumentException());
+        }
+        this.iterator = (AbstractFileLineIterator<T>) fileLineIterator;
+        this.fileName = iterator.getFileName();
+        this.fields = iterator.getFields();
+        this.lineCount = iterator.getCurrentLineCount();
+
+        int size = fields.length;
+        this.columnNames = new String[size];
+        this.columnIndexs = new int[size];
+        this.columnFormats = new String[size];
+        this.columnTypes = new ColumnType[size];
+        this.scales = new int[size];
+        this.dictionaries = new ColumnDictionary[size];
+        this.datePatterns = new FixedWidthDatePattern[size];
+        for (int i = 0; i < size; i++) {
+            InputFileColumn inputFileColumn = fields[i].getAnnotation(
+                    InputFileColumn.class);
+            columnNames[i] = fields[i].getName();
+            columnIndexs[i] = inputFileColumn.columnIndex();
+            columnFormats[i] = inputFileColumn.columnFormat();
+            columnTypes[i] = resolveColumnType(fields[i].getType());
+            if (columnTypes[i] == ColumnType.DECIMAL) {
+                scales[i] = getFractionDigits(columnFormats[i]);
+            } else if (columnTypes[i] == ColumnType.DATE) {
+                datePatterns[i] = new FixedWidthDatePattern("".equals(
+                        columnFormats[i]) ? "yyyyMMdd" : columnFormats[i]);
+            } else if (columnTypes[i] == ColumnType.STRING) {
+                dictionaries[i] = new ColumnDictionary();
+            }
+        }
+    }
+
+    /**
+     * 属性の型に対応するカラムの型を取得する。
+     * @param type 属性の型
+     * @return カラムの型
+     */
+    static ColumnType resolveColumnType(Class<?> type) {
+        if (type == int.class || type == Integer.class || type == long.class
+                || type == Long.class || type == short.class
+                || type == Short.class || type == byte.class
+                || type == Byte.class) {
+            return ColumnType.LONG;
+        }
+        if (type == double.class || type == Double.class
+                || type == float.class || type == Float.class) {
+            return ColumnType.DOUBLE;
+        }
+        if (type == BigDecimal.class) {
+            return ColumnType.DECIMAL;
+        }
+        if (Date.class.isAssignableFrom(type)) {
+            return ColumnType.DATE;
+        }
+        return ColumnType.STRING;
+    }
+
+    /**
+     * 数値パターンの小数部の桁数を取得する。
+     * @param columnFormat 数値パターン
+     * @return 小数部の桁数
+     */
+    static int getFractionDigits(String columnFormat) {
+        int separator = columnFormat.indexOf('.');
+        if (separator < 0) {
+            return 0;
+        }
+        int digits = 0;
+        for (int i = separator + 1; i < columnFormat.length(); i++) {
+            char c = columnFormat.charAt(i);
+            if (c == '0' || c == '#') {
+                digits++;
+            }
+        }
+        return Math.min(digits, MAX_LONG_DIGITS);
+    }
+
+    /**
+     * 固定小数点数のカラムのスケールを設定する。
+     * <p>
+     * 以降に読み込むバッチに反映される。
+     * </p>
+     * @param fieldName 属性名
+     * @param scale スケール(0～18)
+     * @throws FileException 固定小数点数のカラムではない場合、またはスケールが範囲外の場合
+     */
+    public void setScale(String fieldName, int scale) {
+        int columnIndex = getColumnIndex(fieldName);
+        if (columnTypes[columnIndex] != ColumnType.DECIMAL) {
+            throw new FileException("Column type is different. column: "
+                    + fieldName + ", type: "
+                    + columnTypes[columnIndex], new IllegalArgumentException(), fileName);
+        }
+        if (scale < 0 || MAX_LONG_DIGITS < scale) {
+            throw new FileException("scale must be between 0 and "
+                    + MAX_LONG_DIGITS + ".", new IllegalArgumentException(), fileName);
+        }
+        scales[columnIndex] = scale;
+    }
+
+    /**
+     * 属性名に対応するカラムインデックスを取得する。
+     * @param fieldName 属性名
+     * @return カラムインデックス
+     */
+    private int getColumnIndex(String fieldName) {
+        for (int i = 0; i < columnNames.length; i++) {
+            if (columnNames[i].equals(fieldName)) {
+                return i;
+            }
+        }
+        throw new FileException("InputFileColumn is not found. field: "
+                + fieldName, new IllegalArgumentException(), fileName);
+    }
+
+    /**
+     * バッチを生成する。
+     * <p>
+     * 生成したバッチは、このリーダの読込に繰り返し利用できる。
+     * </p>
+     * @param capacity 1回に読み込む行数
+     * @return バッチ
+     */
+    public ColumnarBatch newBatch(int capacity) {
+        return new ColumnarBatch(fileName, columnNames, columnTypes, scales
+                .clone(), dictionaries, capacity);
+    }
+
+    /**
+     * データ部を最大でバッチの行数まで読み込み、バッチに格納する。
+     * <p>
+     * バッチに格納されていた行はクリアされる。
+     * </p>
+     * @param batch 格納先のバッチ
+     * @return 読み込んだ行数。データ部の終端に達した場合は0
+     * @throws FileException データ行の読込に失敗した場合
+     * @throws FileLineException カラムの値の変換に失敗した場合
+     * @throws FileColumnConstraintException カラムの制約を満たさない場合
+     */
+    public int readBatch(ColumnarBatch batch) {
+        if (batch == null) {
+            throw new FileException("batch is required.", new IllegalArgumentException(), fileName);
+        }
+        batch.clear(lineCount + 1, scales);
+        int capacity = batch.getCapacity();
+        while (batch.getRowCount() < capacity && iterator.hasNext()) {
+            String currentString = iterator.readLine();
+            lineCount++;
+
+            String[] columns = iterator.separateColumns(currentString);
+            if (fields.length != columns.length) {
+                throw new FileLineException("Column Count is different from "
+                        + "FileLineObject's column counts", new IllegalStateException(), fileName, lineCount);
+            }
+            int row = batch.getRowCount();
+            for (int i = 0; i < fields.length; i++) {
+                storeColumn(batch, i, row, columns[columnIndexs[i]]);
+            }
+            batch.addRow();
+        }
+        return batch.getRowCount();
+    }
+
+    /**
+     * 1カラムの文字列を変換し、バッチに格納する。
+     * @param batch 格納先のバッチ
+     * @param i カラムインデックス
+     * @param row 行のインデックス
+     * @param columnString カラムの文字列
+     * @throws FileColumnConstraintException カラムの制約を満たさない場合
+     */
+    private void storeColumn(ColumnarBatch batch, int i, int row,
+            String columnString) {
+        // チェック・トリム・パディング・文字列変換を行う。
+        columnString = iterator.processColumnString(i, columnString,
+                lineCount);
+
+        if (columnTypes[i] == ColumnType.STRING) {
+            batch.getCodeVector(i)[row] = dictionaries[i].encode(
+                    columnString);
+            batch.setValid(i, row);
+            return;
+        }
+        if (columnString == null || columnString.length() == 0) {
+            // 値が存在しないカラムは有効ビットを設定しない。
+            return;
+        }
+        try {
+            switch (columnTypes[i]) {
+            case LONG:
+                batch.getLongVector(i)[row] = Long.parseLong(columnString);
+                break;
+            case DOUBLE:
+                batch.getDoubleVector(i)[row] = Double.parseDouble(
+                        columnString);
+                break;
+            case DECIMAL:
+                batch.getLongVector(i)[row] = parseUnscaled(columnString, i,
+                        batch.getScale(i));
+                break;
+            default:
+                Date date = datePatterns[i].parse(columnString);
+                if (date == null) {
+                    date = dateColumnParser.parseDate(columnString,
+                            columnFormats[i]);
+                }
+                batch.getLongVector(i)[row] = date.getTime();
+                break;
+            }
+        } catch (NumberFormatException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, lineCount, columnNames[i], columnIndexs[i]);
+        } catch (ArithmeticException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, lineCount, columnNames[i], columnIndexs[i]);
+        } catch (ParseException e) {
+            throw new FileLineException("Failed in coluomn data parsing.", e, fileName, lineCount, columnNames[i], columnIndexs[i]);
+        }
+        batch.setValid(i, row);
+    }
+
+    /**
+     * 数値の文字列を、スケールを除いた固定小数点数に変換する。
+     * <p>
+     * フォーマット文字列が未設定で、符号・数字・小数点のみで構成された18桁以下の値は、
+     * <code>BigDecimal</code>を生成せずに変換する。
+     * </p>
+     * @param columnString カラムの文字列
+     * @param i カラムインデックス
+     * @param scale スケール
+     * @return スケールを除いた値
+     * @throws ParseException フォーマット文字列による変換に失敗した場合
+     * @throws ArithmeticException スケールを超える小数部を持つ場合、またはlong型の範囲を超える場合
+     */
+    private long parseUnscaled(String columnString, int i,
+            int scale) throws ParseException {
+        if ("".equals(columnFormats[i])) {
+            int length = columnString.length();
+            int position = 0;
+            boolean negative = false;
+            char first = columnString.charAt(0);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                position++;
+            }
+            long value = 0L;
+            int digits = 0;
+            int fractionDigits = -1;
+            boolean simple = position < length;
+            for (; simple && position < length; position++) {
+                char c = columnString.charAt(position);
+                if (c == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else if ('0' <= c && c <= '9'
+                        && digits < MAX_LONG_DIGITS) {
+                    value = value * 10L + (c - '0');
+                    digits++;
+                    if (0 <= fractionDigits) {
+                        fractionDigits++;
+                    }
+                } else {
+                    simple = false;
+                }
+            }
+            if (fractionDigits < 0) {
+                fractionDigits = 0;
+            }
+            if (simple && 0 < digits && fractionDigits <= scale
+                    && digits + scale - fractionDigits <= MAX_LONG_DIGITS) {
+                value *= POWERS_OF_TEN[scale - fractionDigits];
+                return negative ? -value : value;
+            }
+        }
+
+        // 高速に変換できない場合はBigDecimalで変換する。
+        Number number = decimalColumnParser.parseDecimal(columnString,
+                columnFormats[i]);
+        if (!(number instanceof BigDecimal)) {
+            throw new NumberFormatException("Not a decimal value: "
+                    + columnString);
+        }
+        BigInteger unscaled = ((BigDecimal) number).setScale(scale)
+                .unscaledValue();
+        if (63 < unscaled.bitLength()) {
+            throw new ArithmeticException("Overflow: " + columnString);
+        }
+        return unscaled.longValue();
+    }
+
+    /**
+     * ヘッダ部の取得を行う。
+     * @return ヘッダ部の文字列リスト
+     */
+    public List<String> getHeader() {
+        return iterator.getHeader();
+    }
+
+    /**
+     * トレイラ部の取得を行う。
+     * <p>
+     * データ部を読み込み終える前に呼び出した場合、残りのデータ部は読み込めない。
+     * </p>
+     * @return トレイラ部の文字列リスト
+     */
+    public List<String> getTrailer() {
+        return iterator.getTrailer();
+    }
+
+    /**
+     * 読み込んだデータ部の行数を取得する。
+     * @return 読み込んだデータ部の行数
+     */
+    public int getCurrentLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * ファイルをクローズする。
+     */
+    public void closeFile() {
+        iterator.closeFile();
+    }
+}
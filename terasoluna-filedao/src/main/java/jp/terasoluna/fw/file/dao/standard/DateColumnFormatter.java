@@ -53,6 +53,16 @@ public class DateColumnFormatter implements ColumnFormatter {
                                                                       InvocationTargetException {
 
         Date column = (Date) method.invoke(t);
+        return formatDate(column, columnFormat);
+    }
+
+    /**
+     * Date型の値をフォーマットし、文字列を返却する。
+     * @param column カラム値
+     * @param columnFormat カラムフォーマット用の文字列
+     * @return 文字列
+     */
+    String formatDate(Date column, String columnFormat) {
 
         // カラム値がnullの場合は空文字を返す。
         if (column == null) {
@@ -20,6 +20,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.text.DateFormat;
 import java.text.ParseException;
+import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -52,6 +53,17 @@ public class DateColumnParser implements ColumnParser {
             String columnFormat) throws IllegalArgumentException,
                                 IllegalAccessException,
                                 InvocationTargetException, ParseException {
+        method.invoke(t, parseDate(column, columnFormat));
+    }
+
+    /**
+     * 指定された文字列をパースし、Date型に変換する。
+     * @param column カラムの文字列
+     * @param columnFormat パースする際のフォーマット文字列
+     * @return 変換結果
+     * @throws ParseException パース処理が失敗したとき
+     */
+    Date parseDate(String column, String columnFormat) throws ParseException {
         String pattern = columnFormat;
         if (pattern == null || "".equals(pattern)) {
             pattern = "yyyyMMdd";
@@ -63,6 +75,6 @@ public class DateColumnParser implements ColumnParser {
             map.put(pattern, dflocal);
         }
         DateFormat df = dflocal.get();
-        method.invoke(t, df.parse(column));
+        return df.parse(column);
     }
 }
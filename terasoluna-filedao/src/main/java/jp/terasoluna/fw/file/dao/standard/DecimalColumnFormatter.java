@@ -54,6 +54,16 @@ public class DecimalColumnFormatter implements ColumnFormatter {
                                                                       InvocationTargetException {
 
         Object column = method.invoke(t);
+        return formatDecimal(column, columnFormat);
+    }
+
+    /**
+     * BigDecimal型の値をフォーマットし、文字列を返却する。
+     * @param column カラム値
+     * @param columnFormat カラムフォーマット用の文字列
+     * @return 文字列
+     */
+    String formatDecimal(Object column, String columnFormat) {
 
         // カラム値がnullの場合は空文字を返す。
         if (column == null) {
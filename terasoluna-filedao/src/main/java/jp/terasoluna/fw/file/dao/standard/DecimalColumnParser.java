@@ -53,6 +53,21 @@ public class DecimalColumnParser implements ColumnParser {
             String columnFormat) throws IllegalArgumentException,
                                 IllegalAccessException,
                                 InvocationTargetException, ParseException {
+        method.invoke(t, parseDecimal(column, columnFormat));
+    }
+
+    /**
+     * 指定された文字列をパースし、数値に変換する。
+     * <p>
+     * フォーマット文字列が指定された場合は<code>DecimalFormat</code>でパースするため、 NaNや無限大などBigDecimal以外の値が返却されることがある。
+     * </p>
+     * @param column カラムの文字列
+     * @param columnFormat パースする際のフォーマット文字列
+     * @return 変換結果
+     * @throws ParseException パース処理が失敗したとき
+     */
+    Number parseDecimal(String column, String columnFormat)
+                                                           throws ParseException {
 
         // 数値のパース
         if (columnFormat != null && !"".equals(columnFormat)) {
@@ -63,9 +78,9 @@ public class DecimalColumnParser implements ColumnParser {
             }
             DecimalFormat decimalFormat = dfLocal.get();
             decimalFormat.setParseBigDecimal(true);
-            method.invoke(t, decimalFormat.parse(column));
+            return decimalFormat.parse(column);
         } else {
-            method.invoke(t, new BigDecimal(column));
+            return new BigDecimal(column);
         }
     }
 }
@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+
+/**
+ * ファイルチャネルに直接書き込む文字ストリーム。
+ * <p>
+ * 書き込まれた文字列を中間の文字バッファや<code>String</code>を経由せずに、再利用するバイトバッファへ直接エンコードし、
+ * バッファが一杯になった時点でファイルチャネルに書き込む。<br>
+ * <code>BufferedWriter</code>と<code>OutputStreamWriter</code>を組み合わせた場合と同じく、
+ * エンコードできない文字は文字コードの代替バイトに置換する。
+ * </p>
+ * <p>
+ * スレッドセーフではないため、1つのファイル行ライタからのみ利用すること。<br>
+ * 一杯になったバイトバッファの書き込み方法は、サブクラスで{@link #writeBuffer(ByteBuffer)}をオーバーライドすることで変更できる。
+ * </p>
+ * @see AsyncEncodingChannelWriter
+ */
+public class EncodingChannelWriter extends Writer {
+
+    /**
+     * バッファサイズのデフォルト値(バイト)。
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * 行バッファの初期サイズ(バイト)。
+     */
+    private static final int INITIAL_LINE_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * 書き込み先のチャネル。
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * 文字コードのエンコーダ。
+     */
+    private final CharsetEncoder encoder;
+
+    /**
+     * エンコード結果を格納するバイトバッファ。
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * サロゲートペアの上位文字を一時的に保持するバッファ。
+     */
+    private final CharBuffer leftover = CharBuffer.allocate(2);
+
+    /**
+     * 1文字を書き込む際に再利用する文字バッファ。
+     */
+    private final CharBuffer singleChar = CharBuffer.allocate(1);
+
+    /**
+     * 1行分のエンコード結果を格納するバイトバッファ。行の書き込みを開始するまでは<code>null</code>。
+     */
+    private ByteBuffer lineBuffer = null;
+
+    /**
+     * 行の書き込み中フラグ。<code>true</code>の間はエンコード結果を行バッファに格納する。
+     */
+    private boolean inLine = false;
+
+    /**
+     * ファイルチャネルに書き込んだバイト数。
+     */
+    private long writtenBytes = 0;
+
+    /**
+     * クローズ済みフラグ。
+     */
+    private boolean closed = false;
+
+    /**
+     * コンストラクタ。
+     * @param channel 書き込み先のチャネル(ファイルチャネルやパイプなど)
+     * @param charsetName 文字コード名
+     * @param bufferSize バイトバッファのサイズ
+     * @throws UnsupportedEncodingException 文字コードがサポートされていない場合
+     * @throws IllegalArgumentException 引数の設定が間違った場合。
+     */
+    public EncodingChannelWriter(WritableByteChannel channel, String charsetName,
+            int bufferSize) throws UnsupportedEncodingException {
+        if (channel == null) {
+            throw new IllegalArgumentException("channel is required.");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be greater than 0.");
+        }
+        this.channel = channel;
+        this.encoder = forName(charsetName).newEncoder().onMalformedInput(
+                CodingErrorAction.REPLACE).onUnmappableCharacter(
+                        CodingErrorAction.REPLACE);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize,
+                (int) Math.ceil(encoder.maxBytesPerChar() * 2)));
+        this.leftover.flip();
+    }
+
+    /**
+     * 文字コード名から文字コードを取得する。
+     * @param charsetName 文字コード名
+     * @return 文字コード
+     * @throws UnsupportedEncodingException 文字コードがサポートされていない場合
+     */
+    static Charset forName(String charsetName)
+                                              throws UnsupportedEncodingException {
+        if (charsetName == null) {
+            throw new UnsupportedEncodingException("charsetName is null.");
+        }
+        try {
+            if (Charset.isSupported(charsetName)) {
+                return Charset.forName(charsetName);
+            }
+        } catch (IllegalCharsetNameException e) {
+            // サポートされていない文字コードとして扱う。
+        }
+        throw new UnsupportedEncodingException(charsetName);
+    }
+
+    /**
+     * 文字配列の一部を書き込む。
+     * @param cbuf 文字配列
+     * @param off 開始位置
+     * @param len 文字数
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        encode(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    /**
+     * 文字列の一部を書き込む。
+     * @param str 文字列
+     * @param off 開始位置
+     * @param len 文字数
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        encode(CharBuffer.wrap(str, off, off + len));
+    }
+
+    /**
+     * 文字シーケンスを書き込む。
+     * <p>
+     * <code>toString()</code>による文字列の複製を行わずにエンコードする。
+     * </p>
+     * @param csq 文字シーケンス。<code>null</code>の場合は「null」を書き込む。
+     * @return この文字ストリーム
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+        if (csq == null) {
+            write("null");
+        } else {
+            encode(CharBuffer.wrap(csq));
+        }
+        return this;
+    }
+
+    /**
+     * 1行分の書き込みを開始する。
+     * <p>
+     * {@link #commitLine()}または{@link #cancelLine()}を呼び出すまでは、書き込んだ文字列を行バッファにエンコードし、
+     * ファイルチャネル用のバイトバッファには格納しない。
+     * </p>
+     * @throws IOException クローズ済みの場合
+     */
+    void beginLine() throws IOException {
+        ensureOpen();
+        if (lineBuffer == null) {
+            lineBuffer = ByteBuffer.allocate(Math.max(INITIAL_LINE_BUFFER_SIZE,
+                    (int) Math.ceil(encoder.maxBytesPerChar() * 2)));
+        }
+        lineBuffer.clear();
+        inLine = true;
+    }
+
+    /**
+     * 書き込み中の行に文字列をエンコードする。
+     * @param csq 文字シーケンス
+     * @return エンコードしたバイト数
+     * @throws IOException クローズ済みの場合
+     */
+    int appendToLine(CharSequence csq) throws IOException {
+        return encodeToLine(CharBuffer.wrap(csq));
+    }
+
+    /**
+     * 書き込み中の行に1文字をエンコードする。
+     * @param c 文字
+     * @return エンコードしたバイト数
+     * @throws IOException クローズ済みの場合
+     */
+    int appendToLine(char c) throws IOException {
+        singleChar.clear();
+        singleChar.put(c);
+        singleChar.flip();
+        return encodeToLine(singleChar);
+    }
+
+    /**
+     * 書き込み中の行のエンコード結果をバイトバッファに移し、行の書き込みを終了する。
+     * <p>
+     * バイトバッファが一杯になった場合はファイルチャネルに書き込む。
+     * </p>
+     * @return 行のバイト数
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    int commitLine() throws IOException {
+        inLine = false;
+        lineBuffer.flip();
+        int lineBytes = lineBuffer.remaining();
+        while (lineBuffer.hasRemaining()) {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            int length = Math.min(lineBuffer.remaining(), buffer.remaining());
+            ByteBuffer src = lineBuffer.duplicate();
+            src.limit(src.position() + length);
+            buffer.put(src);
+            lineBuffer.position(lineBuffer.position() + length);
+        }
+        lineBuffer.clear();
+        return lineBytes;
+    }
+
+    /**
+     * 書き込み中の行のエンコード結果を破棄し、行の書き込みを終了する。
+     */
+    void cancelLine() {
+        inLine = false;
+        if (lineBuffer != null) {
+            lineBuffer.clear();
+        }
+        leftover.clear();
+        leftover.flip();
+        encoder.reset();
+    }
+
+    /**
+     * 書き込み中の行に文字列をエンコードする。
+     * @param in 文字列
+     * @return エンコードしたバイト数
+     * @throws IOException クローズ済みの場合
+     */
+    private int encodeToLine(CharBuffer in) throws IOException {
+        int start = lineBuffer.position();
+        encode(in);
+        return lineBuffer.position() - start;
+    }
+
+    /**
+     * 文字列をバイトバッファにエンコードする。バッファが一杯になった場合はファイルチャネルに書き込む。
+     * @param in 文字列
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    private void encode(CharBuffer in) throws IOException {
+        ensureOpen();
+        if (leftover.hasRemaining()) {
+            // 前回の書き込みで残ったサロゲートペアの上位文字と結合する。
+            char high = leftover.get();
+            leftover.clear();
+            leftover.put(high);
+            if (in.hasRemaining()) {
+                leftover.put(in.get());
+            }
+            leftover.flip();
+            encodeBuffer(leftover, false);
+            if (leftover.hasRemaining()) {
+                return;
+            }
+        }
+        encodeBuffer(in, false);
+        if (in.hasRemaining()) {
+            // サロゲートペアの上位文字のみが残った場合は次の書き込みまで保持する。
+            leftover.clear();
+            leftover.put(in.get());
+            leftover.flip();
+        }
+    }
+
+    /**
+     * 文字列をバイトバッファにエンコードする。
+     * <p>
+     * 行の書き込み中は行バッファにエンコードし、行バッファが一杯になった場合は拡張する。
+     * </p>
+     * @param in 文字列
+     * @param endOfInput 入力の終端の場合は<code>true</code>
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    private void encodeBuffer(CharBuffer in,
+            boolean endOfInput) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(in, inLine ? lineBuffer
+                    : buffer, endOfInput);
+            if (!result.isOverflow()) {
+                return;
+            }
+            if (inLine) {
+                ByteBuffer expanded = ByteBuffer.allocate(lineBuffer
+                        .capacity() * 2);
+                lineBuffer.flip();
+                expanded.put(lineBuffer);
+                lineBuffer = expanded;
+            } else {
+                flushBuffer();
+            }
+        }
+    }
+
+    /**
+     * バイトバッファの内容をファイルチャネルに書き込む。
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            return;
+        }
+        writtenBytes += buffer.remaining();
+        buffer = writeBuffer(buffer);
+    }
+
+    /**
+     * エンコード結果を格納したバイトバッファ(flip済み)の内容をファイルチャネルに書き込み、次にエンコード結果を格納するバイトバッファを返却する。
+     * <p>
+     * このクラスでは、呼出元のスレッドでファイルチャネルに書き込み、同じバイトバッファを空にして返却する。
+     * </p>
+     * @param fullBuffer 書き込むバイトバッファ
+     * @return 空のバイトバッファ
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    protected ByteBuffer writeBuffer(ByteBuffer fullBuffer) throws IOException {
+        while (fullBuffer.hasRemaining()) {
+            channel.write(fullBuffer);
+        }
+        fullBuffer.clear();
+        return fullBuffer;
+    }
+
+    /**
+     * ファイルチャネルをクローズする。
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    protected void closeChannel() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 書き込み先のチャネルを取得する。
+     * @return チャネル
+     */
+    protected WritableByteChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * バイトバッファの容量を取得する。
+     * @return バイトバッファの容量(バイト)
+     */
+    protected int getBufferCapacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * バイトバッファの内容をファイルチャネルに書き込む。
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        flushBuffer();
+    }
+
+    /**
+     * 残りの文字をエンコードしてファイルチャネルに書き込み、ファイルチャネルをクローズする。<br>
+     * クローズ済みの場合は何もしない。
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            // 書き込み中の行は破棄する。
+            if (inLine) {
+                cancelLine();
+            }
+            encodeBuffer(leftover, true);
+            while (encoder.flush(buffer).isOverflow()) {
+                flushBuffer();
+            }
+            flushBuffer();
+        } finally {
+            closed = true;
+            closeChannel();
+        }
+    }
+
+    /**
+     * ファイルチャネルに書き込んだバイト数を取得する。
+     * <p>
+     * バイトバッファに格納され、まだファイルチャネルに書き込まれていないバイト数も含む。
+     * </p>
+     * @return 書き込んだバイト数
+     */
+    public long getWrittenBytes() {
+        return writtenBytes + buffer.position();
+    }
+
+    /**
+     * クローズされていないことを確認する。
+     * @throws IOException クローズ済みの場合
+     */
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 日付のための高速なカラムフォーマッタクラス。
+ * <p>
+ * 「yyyyMMdd」「yyyy/MM/dd」「HHmmss」などの固定桁の日付パターンについて、
+ * <code>SimpleDateFormat</code>を使用せずにDate型から直接文字列に変換する。<br>
+ * 固定桁で表現できないパターンの場合は、カラムごとに{@link DateColumnFormatter}の汎用処理に切り替える。
+ * </p>
+ * @see FixedWidthDatePattern
+ */
+public class FastDateColumnFormatter extends DateColumnFormatter {
+
+    /**
+     * 固定桁の日付パターンを格納するマップ。
+     */
+    private Map<String, FixedWidthDatePattern> patternMap = new ConcurrentHashMap<String, FixedWidthDatePattern>();
+
+    /**
+     * Date型の値をフォーマットし、文字列を返却する。
+     * @param column カラム値
+     * @param columnFormat カラムフォーマット用の文字列
+     * @return 文字列
+     */
+    @Override
+    String formatDate(Date column, String columnFormat) {
+        if (column == null) {
+            return "";
+        }
+        String pattern = columnFormat;
+        if (pattern == null || "".equals(pattern)) {
+            pattern = "yyyyMMdd";
+        }
+        FixedWidthDatePattern datePattern = patternMap.get(pattern);
+        if (datePattern == null) {
+            datePattern = new FixedWidthDatePattern(pattern);
+            patternMap.put(pattern, datePattern);
+        }
+        String result = datePattern.format(column);
+        if (result != null) {
+            return result;
+        }
+        return super.formatDate(column, columnFormat);
+    }
+}
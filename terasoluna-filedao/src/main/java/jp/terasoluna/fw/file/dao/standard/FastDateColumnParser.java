@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 日付文字列のための高速なカラムパーサークラス。
+ * <p>
+ * 「yyyyMMdd」「yyyy/MM/dd」「HHmmss」などの固定桁の日付パターンについて、
+ * <code>SimpleDateFormat</code>を使用せずに文字列から直接Date型に変換する。<br>
+ * 固定桁で表現できないパターンや、パターンと形式が一致しない文字列の場合は、
+ * カラムごとに{@link DateColumnParser}の汎用処理に切り替えるため、変換結果と例外は{@link DateColumnParser}と同一となる。
+ * </p>
+ * @see FixedWidthDatePattern
+ */
+public class FastDateColumnParser extends DateColumnParser {
+
+    /**
+     * 固定桁の日付パターンを格納するマップ。
+     */
+    private Map<String, FixedWidthDatePattern> patternMap = new ConcurrentHashMap<String, FixedWidthDatePattern>();
+
+    /**
+     * 指定された文字列をパースし、Date型に変換する。
+     * @param column カラムの文字列
+     * @param columnFormat パースする際のフォーマット文字列
+     * @return 変換結果
+     * @throws ParseException パース処理が失敗したとき
+     */
+    @Override
+    Date parseDate(String column, String columnFormat) throws ParseException {
+        String pattern = columnFormat;
+        if (pattern == null || "".equals(pattern)) {
+            pattern = "yyyyMMdd";
+        }
+        FixedWidthDatePattern datePattern = patternMap.get(pattern);
+        if (datePattern == null) {
+            datePattern = new FixedWidthDatePattern(pattern);
+            patternMap.put(pattern, datePattern);
+        }
+        Date date = datePattern.parse(column);
+        if (date != null) {
+            return date;
+        }
+        return super.parseDate(column, columnFormat);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 数値のための高速なカラムフォーマッタクラス。
+ * <p>
+ * 「#,##0.00」のように「#」「0」「,」「.」のみで構成されるフォーマット文字列について、
+ * <code>DecimalFormat</code>を使用せずにBigDecimal型から直接文字列に変換する。<br>
+ * それ以外のフォーマット文字列の場合は、カラムごとに{@link DecimalColumnFormatter}の汎用処理に切り替える。
+ * </p>
+ * @see FixedScaleDecimalPattern
+ */
+public class FastDecimalColumnFormatter extends DecimalColumnFormatter {
+
+    /**
+     * 固定小数桁の数値パターンを格納するマップ。
+     */
+    private Map<String, FixedScaleDecimalPattern> patternMap = new ConcurrentHashMap<String, FixedScaleDecimalPattern>();
+
+    /**
+     * BigDecimal型の値をフォーマットし、文字列を返却する。
+     * @param column カラム値
+     * @param columnFormat カラムフォーマット用の文字列
+     * @return 文字列
+     */
+    @Override
+    String formatDecimal(Object column, String columnFormat) {
+        if (column instanceof BigDecimal && columnFormat != null
+                && !"".equals(columnFormat)) {
+            FixedScaleDecimalPattern decimalPattern = patternMap.get(
+                    columnFormat);
+            if (decimalPattern == null) {
+                decimalPattern = new FixedScaleDecimalPattern(columnFormat);
+                patternMap.put(columnFormat, decimalPattern);
+            }
+            String result = decimalPattern.format((BigDecimal) column);
+            if (result != null) {
+                return result;
+            }
+        }
+        return super.formatDecimal(column, columnFormat);
+    }
+}
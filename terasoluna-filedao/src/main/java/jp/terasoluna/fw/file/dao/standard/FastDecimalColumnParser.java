@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 数値文字列のための高速なカラムパーサークラス。
+ * <p>
+ * フォーマット文字列が未指定の場合、または「#,##0.00」のように「#」「0」「,」「.」のみで構成される場合に、
+ * 符号・数字・小数点のみで構成された文字列を<code>DecimalFormat</code>を使用せずに直接BigDecimal型に変換する。<br>
+ * それ以外のフォーマット文字列や、3桁区切り文字・指数表記を含む文字列の場合は、
+ * カラムごとに{@link DecimalColumnParser}の汎用処理に切り替えるため、変換結果と例外は{@link DecimalColumnParser}と同一となる。
+ * </p>
+ * @see FixedScaleDecimalPattern
+ */
+public class FastDecimalColumnParser extends DecimalColumnParser {
+
+    /**
+     * 固定小数桁の数値パターンを格納するマップ。
+     */
+    private Map<String, FixedScaleDecimalPattern> patternMap = new ConcurrentHashMap<String, FixedScaleDecimalPattern>();
+
+    /**
+     * 指定された文字列をパースし、数値に変換する。
+     * @param column カラムの文字列
+     * @param columnFormat パースする際のフォーマット文字列
+     * @return 変換結果
+     * @throws ParseException パース処理が失敗したとき
+     */
+    @Override
+    Number parseDecimal(String column,
+            String columnFormat) throws ParseException {
+        BigDecimal value;
+        if (columnFormat == null || "".equals(columnFormat)) {
+            value = FixedScaleDecimalPattern.parsePlain(column);
+        } else {
+            FixedScaleDecimalPattern decimalPattern = patternMap.get(
+                    columnFormat);
+            if (decimalPattern == null) {
+                decimalPattern = new FixedScaleDecimalPattern(columnFormat);
+                patternMap.put(columnFormat, decimalPattern);
+            }
+            value = decimalPattern.parse(column);
+        }
+        if (value != null) {
+            return value;
+        }
+        return super.parseDecimal(column, columnFormat);
+    }
+}
@@ -34,9 +34,9 @@ import jp.terasoluna.fw.file.dao.FileException;
 public class FileDAOUtility {
 
     /**
-     * ファイルエンコーディングのキャッシュ。
+     * ファイルエンコーディングごとのASCII互換判定結果のキャッシュ。
      */
-    private static final Map<String, Map<Character, Boolean>> encodingCache = new ConcurrentHashMap<String, Map<Character, Boolean>>();
+    private static final Map<String, Boolean> asciiCompatibleCache = new ConcurrentHashMap<String, Boolean>();
 
     /**
      * パディング処理。<br>
@@ -67,7 +67,7 @@ public class FileDAOUtility {
         try {
             // パディング処理後のバイト数より対象文字列が長い場合はパディング処理しない。
             int paddingSize = columnBytes
-                    - columnString.getBytes(fileEncoding).length;
+                    - getByteLength(columnString, fileEncoding);
 
             if (paddingSize <= 0) {
                 return columnString;
@@ -138,32 +138,87 @@ public class FileDAOUtility {
     }
 
     /**
-     * 半角文字かチェックを行う。
+     * 文字列をファイルエンコーディングで変換した際のバイト数を取得する。
+     * <p>
+     * 文字列がファイルエンコーディングで1バイトとなる文字のみで構成される場合は、
+     * バイト配列を生成せずに文字数をバイト数として返却する。
+     * </p>
+     * @param columnString 文字列
      * @param fileEncoding ファイルエンコーディング
-     * @param checkChar チェックを行う文字
-     * @return 半角文字の場合にtrueを返却する
-     * @throws FileException 存在しないエンコーディングの場合
+     * @return バイト数
+     * @throws UnsupportedEncodingException 存在しないエンコーディングの場合
      */
-    private static boolean isHalfWidthChar(String fileEncoding, char checkChar)
-                                                                               throws FileException {
+    public static int getByteLength(String columnString,
+            String fileEncoding) throws UnsupportedEncodingException {
+        return HalfWidthCharacterTable.getTable(fileEncoding).getByteLength(
+                columnString);
+    }
 
-        Map<Character, Boolean> cache = encodingCache.get(fileEncoding);
-        if (cache == null) {
-            cache = new ConcurrentHashMap<Character, Boolean>();
-            encodingCache.put(fileEncoding, cache);
+    /**
+     * 文字列をファイルエンコーディングで変換したバイト列を取得する。
+     * <p>
+     * 文字列の各文字が1文字1バイトのASCIIと同じバイトで表現される場合のみバイト列を返却する。<br>
+     * 行区切り文字や囲み文字のバイト列から、デコードせずに行の境界を判断するために利用する。
+     * </p>
+     * @param chars 文字列
+     * @param fileEncoding ファイルエンコーディング
+     * @return バイト列。ASCIIと同じバイトで表現されない場合は<code>null</code>
+     * @throws UnsupportedEncodingException 存在しないエンコーディングの場合
+     */
+    public static byte[] getAsciiBytes(String chars,
+            String fileEncoding) throws UnsupportedEncodingException {
+        byte[] bytes = chars.getBytes(fileEncoding);
+        if (bytes.length != chars.length()) {
+            return null;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (chars.charAt(i) >= 0x80 || bytes[i] != chars.charAt(i)) {
+                return null;
+            }
         }
+        return bytes;
+    }
 
-        Boolean result = cache.get(checkChar);
+    /**
+     * ファイルエンコーディングがASCII文字を1バイトの同じ値で表現するかチェックを行う。
+     * @param fileEncoding ファイルエンコーディング
+     * @return ASCII互換の場合にtrueを返却する
+     * @throws UnsupportedEncodingException 存在しないエンコーディングの場合
+     */
+    static boolean isAsciiCompatible(
+            String fileEncoding) throws UnsupportedEncodingException {
+        Boolean result = asciiCompatibleCache.get(fileEncoding);
         if (result == null) {
-            try {
-                result = (1 == Character.toString(checkChar).getBytes(
-                        fileEncoding).length);
-                cache.put(checkChar, result);
-            } catch (UnsupportedEncodingException e) {
-                throw new FileException("Specified Encoding : " + fileEncoding
-                        + " is not supported", e);
+            char[] asciiChars = new char[0x80];
+            for (int i = 0; i < asciiChars.length; i++) {
+                asciiChars[i] = (char) i;
+            }
+            byte[] bytes = new String(asciiChars).getBytes(fileEncoding);
+            boolean compatible = (bytes.length == asciiChars.length);
+            for (int i = 0; compatible && i < bytes.length; i++) {
+                compatible = (bytes[i] == i);
             }
+            result = Boolean.valueOf(compatible);
+            asciiCompatibleCache.put(fileEncoding, result);
         }
         return result.booleanValue();
     }
+
+    /**
+     * 半角文字かチェックを行う。
+     * @param fileEncoding ファイルエンコーディング
+     * @param checkChar チェックを行う文字
+     * @return 半角文字の場合にtrueを返却する
+     * @throws FileException 存在しないエンコーディングの場合
+     */
+    private static boolean isHalfWidthChar(String fileEncoding, char checkChar)
+                                                                               throws FileException {
+        try {
+            return HalfWidthCharacterTable.getTable(fileEncoding).isHalfWidth(
+                    checkChar);
+        } catch (UnsupportedEncodingException e) {
+            throw new FileException("Specified Encoding : " + fileEncoding
+                    + " is not supported", e);
+        }
+    }
 }
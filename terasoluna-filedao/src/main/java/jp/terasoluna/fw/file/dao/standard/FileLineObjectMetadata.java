@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+import jp.terasoluna.fw.file.annotation.PaddingType;
+import jp.terasoluna.fw.file.annotation.StringConverter;
+import jp.terasoluna.fw.file.annotation.TrimType;
+
+/**
+ * ファイル行オブジェクトのカラム定義情報クラス。
+ * <p>
+ * ファイル行オブジェクトのクラス階層から取得した、カラムインデックス順に整列済みの属性と、
+ * 属性に対応するアクセサメソッド(入力の場合はsetter、出力の場合はgetter)を保持する。<br>
+ * {@link #forInput(Class, Field[], Method[], InputFileColumn[], StringConverter[])}、
+ * {@link #forOutput(Class, Field[], Method[], OutputFileColumn[], StringConverter[])}で生成した場合は、
+ * カラムのアノテーション、アノテーションから取得したカラムごとの設定値、文字変換クラスのインスタンス(カラムレイアウト)もあわせて保持する。<br>
+ * 生成後に内容が変更されることはなく、複数スレッドから共有して利用できる。配列を返却するメソッドは複製を返却する。
+ * </p>
+ * <p>
+ * アクセサメソッドから生成したカラムバインダは、カラムパーサー(カラムフォーマッタ)のマップごとに初回のみ生成して保持する。<br>
+ * マップは弱参照のキーとして保持するため、マップを利用するFileQueryDAO/FileUpdateDAOが不要になった場合は、カラムバインダも解放される。
+ * </p>
+ * @see FileLineObjectMetadataRegistry
+ */
+public final class FileLineObjectMetadata {
+
+    /**
+     * ファイル行オブジェクトのクラス。
+     */
+    private final Class<?> clazz;
+
+    /**
+     * カラムインデックス順に整列されたファイル行オブジェクトの属性。
+     */
+    private final Field[] fields;
+
+    /**
+     * 属性に対応するアクセサメソッド。
+     */
+    private final Method[] methods;
+
+    /**
+     * 属性の入力設定アノテーション。入力用のカラムレイアウトを持たない場合は<code>null</code>。
+     */
+    private final InputFileColumn[] inputFileColumns;
+
+    /**
+     * 属性の出力設定アノテーション。出力用のカラムレイアウトを持たない場合は<code>null</code>。
+     */
+    private final OutputFileColumn[] outputFileColumns;
+
+    /**
+     * 各カラムごとのカラムIndex。
+     */
+    private final int[] columnIndexs;
+
+    /**
+     * 各カラムごとのカラムのフォーマット。
+     */
+    private final String[] columnFormats;
+
+    /**
+     * 各カラムごとのバイト数。
+     */
+    private final int[] columnBytes;
+
+    /**
+     * 各カラムごとのパディング種別。
+     */
+    private final PaddingType[] paddingTypes;
+
+    /**
+     * 各カラムごとのパディング文字。
+     */
+    private final char[] paddingChars;
+
+    /**
+     * 各カラムごとのトリム種別。
+     */
+    private final TrimType[] trimTypes;
+
+    /**
+     * 各カラムのトリム文字。
+     */
+    private final char[] trimChars;
+
+    /**
+     * 各カラムの文字変換クラスのインスタンス。カラムレイアウトを持たない場合は<code>null</code>。
+     */
+    private final StringConverter[] stringConverters;
+
+    /**
+     * カラムパーサーのマップごとの入力カラムバインダ。
+     */
+    private final Map<Map<String, ColumnParser>, InputColumnBinder[]> inputColumnBinders = Collections
+            .synchronizedMap(new WeakHashMap<Map<String, ColumnParser>, InputColumnBinder[]>());
+
+    /**
+     * カラムフォーマッタのマップごとの出力カラムバインダ。
+     */
+    private final Map<Map<String, ColumnFormatter>, OutputColumnBinder[]> outputColumnBinders = Collections
+            .synchronizedMap(new WeakHashMap<Map<String, ColumnFormatter>, OutputColumnBinder[]>());
+
+    /**
+     * コンストラクタ。<br>
+     * カラムレイアウトを持たないカラム定義情報を生成する。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param fields カラムインデックス順に整列されたファイル行オブジェクトの属性
+     * @param methods 属性に対応するアクセサメソッド
+     */
+    public FileLineObjectMetadata(Class<?> clazz, Field[] fields,
+            Method[] methods) {
+        this(clazz, fields, methods, null, null, null);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param fields カラムインデックス順に整列されたファイル行オブジェクトの属性
+     * @param methods 属性に対応するアクセサメソッド
+     * @param inputFileColumns 属性の入力設定アノテーション
+     * @param outputFileColumns 属性の出力設定アノテーション
+     * @param stringConverters 各カラムの文字変換クラスのインスタンス
+     */
+    private FileLineObjectMetadata(Class<?> clazz, Field[] fields,
+            Method[] methods, InputFileColumn[] inputFileColumns,
+            OutputFileColumn[] outputFileColumns,
+            StringConverter[] stringConverters) {
+        if (clazz == null || fields == null || methods == null
+                || fields.length != methods.length) {
+            throw new IllegalArgumentException("Invalid FileLineObject metadata.");
+        }
+        int length = fields.length;
+        if (stringConverters != null && (stringConverters.length != length
+                || (inputFileColumns != null
+                        && inputFileColumns.length != length)
+                || (outputFileColumns != null
+                        && outputFileColumns.length != length))) {
+            throw new IllegalArgumentException("Invalid FileLineObject metadata.");
+        }
+        this.clazz = clazz;
+        this.fields = fields.clone();
+        this.methods = methods.clone();
+        this.inputFileColumns = (inputFileColumns == null) ? null
+                : inputFileColumns.clone();
+        this.outputFileColumns = (outputFileColumns == null) ? null
+                : outputFileColumns.clone();
+        this.stringConverters = (stringConverters == null) ? null
+                : stringConverters.clone();
+        this.columnIndexs = new int[length];
+        this.columnFormats = new String[length];
+        this.columnBytes = new int[length];
+        this.paddingTypes = new PaddingType[length];
+        this.paddingChars = new char[length];
+        this.trimTypes = new TrimType[length];
+        this.trimChars = new char[length];
+        if (stringConverters == null) {
+            return;
+        }
+        // アノテーションから取得したカラムごとの設定値を保持する。
+        for (int i = 0; i < length; i++) {
+            if (inputFileColumns != null) {
+                InputFileColumn column = inputFileColumns[i];
+                columnIndexs[i] = column.columnIndex();
+                columnFormats[i] = column.columnFormat();
+                columnBytes[i] = column.bytes();
+                paddingTypes[i] = column.paddingType();
+                paddingChars[i] = column.paddingChar();
+                trimTypes[i] = column.trimType();
+                trimChars[i] = column.trimChar();
+            } else {
+                OutputFileColumn column = outputFileColumns[i];
+                columnIndexs[i] = column.columnIndex();
+                columnFormats[i] = column.columnFormat();
+                columnBytes[i] = column.bytes();
+                paddingTypes[i] = column.paddingType();
+                paddingChars[i] = column.paddingChar();
+                trimTypes[i] = column.trimType();
+                trimChars[i] = column.trimChar();
+            }
+        }
+    }
+
+    /**
+     * 入力用のカラムレイアウトを持つカラム定義情報を生成する。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param fields カラムインデックス順に整列されたファイル行オブジェクトの属性
+     * @param methods 属性に対応するsetterメソッド
+     * @param inputFileColumns 属性の入力設定アノテーション
+     * @param stringConverters 各カラムの文字変換クラスのインスタンス
+     * @return カラム定義情報
+     * @throws IllegalArgumentException 引数の設定が間違った場合。
+     */
+    public static FileLineObjectMetadata forInput(Class<?> clazz,
+            Field[] fields, Method[] methods,
+            InputFileColumn[] inputFileColumns,
+            StringConverter[] stringConverters) {
+        if (inputFileColumns == null || stringConverters == null) {
+            throw new IllegalArgumentException("Invalid FileLineObject metadata.");
+        }
+        return new FileLineObjectMetadata(clazz, fields, methods, inputFileColumns, null, stringConverters);
+    }
+
+    /**
+     * 出力用のカラムレイアウトを持つカラム定義情報を生成する。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param fields カラムインデックス順に整列されたファイル行オブジェクトの属性
+     * @param methods 属性に対応するgetterメソッド
+     * @param outputFileColumns 属性の出力設定アノテーション
+     * @param stringConverters 各カラムの文字変換クラスのインスタンス
+     * @return カラム定義情報
+     * @throws IllegalArgumentException 引数の設定が間違った場合。
+     */
+    public static FileLineObjectMetadata forOutput(Class<?> clazz,
+            Field[] fields, Method[] methods,
+            OutputFileColumn[] outputFileColumns,
+            StringConverter[] stringConverters) {
+        if (outputFileColumns == null || stringConverters == null) {
+            throw new IllegalArgumentException("Invalid FileLineObject metadata.");
+        }
+        return new FileLineObjectMetadata(clazz, fields, methods, null, outputFileColumns, stringConverters);
+    }
+
+    /**
+     * ファイル行オブジェクトのクラスを取得する。
+     * @return ファイル行オブジェクトのクラス
+     */
+    public Class<?> getClazz() {
+        return clazz;
+    }
+
+    /**
+     * カラムインデックス順に整列されたファイル行オブジェクトの属性を取得する。
+     * @return ファイル行オブジェクトの属性の配列(複製)
+     */
+    public Field[] getFields() {
+        return fields.clone();
+    }
+
+    /**
+     * 属性に対応するアクセサメソッドを取得する。
+     * @return アクセサメソッドの配列(複製)
+     */
+    public Method[] getMethods() {
+        return methods.clone();
+    }
+
+    /**
+     * 指定された属性の配列が、保持している属性の配列と一致するかを判定する。
+     * @param otherFields 属性の配列
+     * @return 一致する場合は<code>true</code>
+     */
+    public boolean hasSameFields(Field[] otherFields) {
+        return Arrays.equals(fields, otherFields);
+    }
+
+    /**
+     * カラムレイアウトを保持しているかを判定する。
+     * @return カラムレイアウトを保持している場合は<code>true</code>
+     */
+    public boolean hasColumnLayout() {
+        return stringConverters != null;
+    }
+
+    /**
+     * 属性の入力設定アノテーションを取得する。
+     * @return 入力設定アノテーションの配列(複製)。入力用のカラムレイアウトを持たない場合は<code>null</code>
+     */
+    public InputFileColumn[] getInputFileColumns() {
+        return (inputFileColumns == null) ? null : inputFileColumns.clone();
+    }
+
+    /**
+     * 属性の出力設定アノテーションを取得する。
+     * @return 出力設定アノテーションの配列(複製)。出力用のカラムレイアウトを持たない場合は<code>null</code>
+     */
+    public OutputFileColumn[] getOutputFileColumns() {
+        return (outputFileColumns == null) ? null : outputFileColumns.clone();
+    }
+
+    /**
+     * 各カラムごとのカラムIndexを取得する。
+     * @return カラムIndexの配列(複製)
+     */
+    public int[] getColumnIndexs() {
+        return columnIndexs.clone();
+    }
+
+    /**
+     * 各カラムごとのカラムのフォーマットを取得する。
+     * @return カラムのフォーマットの配列(複製)
+     */
+    public String[] getColumnFormats() {
+        return columnFormats.clone();
+    }
+
+    /**
+     * 各カラムごとのバイト数を取得する。
+     * @return バイト数の配列(複製)
+     */
+    public int[] getColumnBytes() {
+        return columnBytes.clone();
+    }
+
+    /**
+     * 各カラムごとのパディング種別を取得する。
+     * @return パディング種別の配列(複製)
+     */
+    public PaddingType[] getPaddingTypes() {
+        return paddingTypes.clone();
+    }
+
+    /**
+     * 各カラムごとのパディング文字を取得する。
+     * @return パディング文字の配列(複製)
+     */
+    public char[] getPaddingChars() {
+        return paddingChars.clone();
+    }
+
+    /**
+     * 各カラムごとのトリム種別を取得する。
+     * @return トリム種別の配列(複製)
+     */
+    public TrimType[] getTrimTypes() {
+        return trimTypes.clone();
+    }
+
+    /**
+     * 各カラムのトリム文字を取得する。
+     * @return トリム文字の配列(複製)
+     */
+    public char[] getTrimChars() {
+        return trimChars.clone();
+    }
+
+    /**
+     * 各カラムの文字変換クラスのインスタンスを取得する。
+     * @return 文字変換クラスのインスタンスの配列(複製)。カラムレイアウトを持たない場合は<code>null</code>
+     */
+    public StringConverter[] getStringConverters() {
+        return (stringConverters == null) ? null : stringConverters.clone();
+    }
+
+    /**
+     * カラムパーサーのマップに対応する入力カラムバインダが生成済みかを判定する。
+     * @param columnParserMap カラムパーサーのマップ
+     * @return 生成済みの場合は<code>true</code>
+     */
+    public boolean hasInputColumnBinders(
+            Map<String, ColumnParser> columnParserMap) {
+        return inputColumnBinders.containsKey(columnParserMap);
+    }
+
+    /**
+     * カラムフォーマッタのマップに対応する出力カラムバインダが生成済みかを判定する。
+     * @param columnFormatterMap カラムフォーマッタのマップ
+     * @return 生成済みの場合は<code>true</code>
+     */
+    public boolean hasOutputColumnBinders(
+            Map<String, ColumnFormatter> columnFormatterMap) {
+        return outputColumnBinders.containsKey(columnFormatterMap);
+    }
+
+    /**
+     * 属性に対応するsetterメソッドと属性の型に対応するカラムパーサーから生成した入力カラムバインダを取得する。<br>
+     * カラムパーサーのマップごとに初回のみ生成し、以降は生成済みの入力カラムバインダを返却する。<br>
+     * 属性の型に対応するカラムパーサーがマップに無い場合は生成しない。
+     * @param columnParserMap カラムパーサーのマップ
+     * @return 入力カラムバインダの配列(複製)。属性の型に対応するカラムパーサーが無い場合は<code>null</code>
+     */
+    public InputColumnBinder[] getInputColumnBinders(
+            Map<String, ColumnParser> columnParserMap) {
+        InputColumnBinder[] binders = inputColumnBinders.get(columnParserMap);
+        if (binders == null) {
+            binders = new InputColumnBinder[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                ColumnParser columnParser = columnParserMap.get(fields[i]
+                        .getType().getName());
+                if (columnParser == null) {
+                    return null;
+                }
+                binders[i] = ColumnBinderCompiler.compile(methods[i],
+                        columnParser);
+            }
+            inputColumnBinders.put(columnParserMap, binders);
+        }
+        return binders.clone();
+    }
+
+    /**
+     * 属性に対応するgetterメソッドと戻り値の型に対応するカラムフォーマッタから生成した出力カラムバインダを取得する。<br>
+     * カラムフォーマッタのマップごとに初回のみ生成し、以降は生成済みの出力カラムバインダを返却する。<br>
+     * 属性の型に対応するカラムフォーマッタがマップに無い場合は生成しない。
+     * @param columnFormatterMap カラムフォーマッタのマップ
+     * @return 出力カラムバインダの配列(複製)。属性の型に対応するカラムフォーマッタが無い場合は<code>null</code>
+     */
+    public OutputColumnBinder[] getOutputColumnBinders(
+            Map<String, ColumnFormatter> columnFormatterMap) {
+        OutputColumnBinder[] binders = outputColumnBinders.get(
+                columnFormatterMap);
+        if (binders == null) {
+            for (Field field : fields) {
+                if (columnFormatterMap.get(field.getType().getName()) == null) {
+                    return null;
+                }
+            }
+            binders = new OutputColumnBinder[methods.length];
+            for (int i = 0; i < methods.length; i++) {
+                binders[i] = ColumnBinderCompiler.compile(methods[i],
+                        columnFormatterMap.get(methods[i].getReturnType()
+                                .getName()));
+            }
+            outputColumnBinders.put(columnFormatterMap, binders);
+        }
+        return binders.clone();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * ファイル行オブジェクトのカラム定義情報を保持するレジストリ。
+ * <p>
+ * ファイル行オブジェクトのクラスと用途(入力/出力)ごとに{@link FileLineObjectMetadata}を保持し、
+ * 同一プロセス内のすべてのFileQueryDAO/FileUpdateDAOで共有する。<br>
+ * クラス階層の走査、アノテーションの検証、アクセサメソッドの検索はクラスごとに初回のみ行われ、
+ * 以降のファイルオープンでは登録済みのカラム定義情報が利用される。
+ * カラムバインダの生成と、属性の型に対応するカラムパーサー(カラムフォーマッタ)の確認も、
+ * カラムパーサー(カラムフォーマッタ)のマップごとに初回のみ行われる。<br>
+ * 登録はカラム定義情報の生成・検証に成功した場合のみ行われるため、
+ * 設定誤りのあるクラスでは従来通りファイルオープンのたびに例外が発生する。
+ * </p>
+ * <p>
+ * ファイル行オブジェクトのクラスは弱参照のキーとして保持し、カラム定義情報はソフト参照で保持する。<br>
+ * カラム定義情報の属性やアクセサメソッドはクラスを参照するため、強参照で保持するとクラスローダを解放できなくなる。
+ * アプリケーションの再デプロイなどでクラスローダが不要になった場合は、メモリが不足した時点でカラム定義情報とクラスが解放される。
+ * 解放されたクラスを再度利用した場合は、カラム定義情報を再生成して登録する。
+ * </p>
+ * @see FileLineObjectMetadata
+ */
+public class FileLineObjectMetadataRegistry {
+
+    /**
+     * 入力(FileQueryDAO)用のカラム定義情報を格納するマップ。
+     */
+    private static final Map<Class<?>, SoftReference<FileLineObjectMetadata>> INPUT_METADATA_MAP = Collections
+            .synchronizedMap(new WeakHashMap<Class<?>, SoftReference<FileLineObjectMetadata>>());
+
+    /**
+     * 出力(FileUpdateDAO)用のカラム定義情報を格納するマップ。
+     */
+    private static final Map<Class<?>, SoftReference<FileLineObjectMetadata>> OUTPUT_METADATA_MAP = Collections
+            .synchronizedMap(new WeakHashMap<Class<?>, SoftReference<FileLineObjectMetadata>>());
+
+    /**
+     * コンストラクタ。
+     */
+    protected FileLineObjectMetadataRegistry() {
+    }
+
+    /**
+     * 入力用のカラム定義情報を取得する。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @return カラム定義情報。未登録の場合は<code>null</code>
+     */
+    public static FileLineObjectMetadata getInputMetadata(Class<?> clazz) {
+        return get(INPUT_METADATA_MAP, clazz);
+    }
+
+    /**
+     * 出力用のカラム定義情報を取得する。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @return カラム定義情報。未登録の場合は<code>null</code>
+     */
+    public static FileLineObjectMetadata getOutputMetadata(Class<?> clazz) {
+        return get(OUTPUT_METADATA_MAP, clazz);
+    }
+
+    /**
+     * 入力用のカラム定義情報を登録する。<br>
+     * 既に登録済みの場合は登録済みのカラム定義情報を返却する。
+     * ただし、登録済みのカラム定義情報がカラムレイアウトを持たず、登録するカラム定義情報が持つ場合は置き換える。
+     * @param metadata カラム定義情報
+     * @return 登録されているカラム定義情報
+     */
+    public static FileLineObjectMetadata registerInputMetadata(
+            FileLineObjectMetadata metadata) {
+        return register(INPUT_METADATA_MAP, metadata);
+    }
+
+    /**
+     * 出力用のカラム定義情報を登録する。<br>
+     * 既に登録済みの場合は登録済みのカラム定義情報を返却する。
+     * ただし、登録済みのカラム定義情報がカラムレイアウトを持たず、登録するカラム定義情報が持つ場合は置き換える。
+     * @param metadata カラム定義情報
+     * @return 登録されているカラム定義情報
+     */
+    public static FileLineObjectMetadata registerOutputMetadata(
+            FileLineObjectMetadata metadata) {
+        return register(OUTPUT_METADATA_MAP, metadata);
+    }
+
+    /**
+     * 登録されているすべてのカラム定義情報を削除する。<br>
+     * ファイル行オブジェクトのクラスを再ロードする場合などに利用する。
+     */
+    public static void clear() {
+        INPUT_METADATA_MAP.clear();
+        OUTPUT_METADATA_MAP.clear();
+    }
+
+    /**
+     * マップからカラム定義情報を取得する。
+     * @param map 取得元のマップ
+     * @param clazz ファイル行オブジェクトのクラス
+     * @return カラム定義情報。未登録、または解放済みの場合は<code>null</code>
+     */
+    private static FileLineObjectMetadata get(
+            Map<Class<?>, SoftReference<FileLineObjectMetadata>> map,
+            Class<?> clazz) {
+        SoftReference<FileLineObjectMetadata> reference = map.get(clazz);
+        if (reference == null) {
+            return null;
+        }
+        return reference.get();
+    }
+
+    /**
+     * カラム定義情報をマップに登録する。
+     * @param map 登録先のマップ
+     * @param metadata カラム定義情報
+     * @return 登録されているカラム定義情報
+     */
+    private static FileLineObjectMetadata register(
+            Map<Class<?>, SoftReference<FileLineObjectMetadata>> map,
+            FileLineObjectMetadata metadata) {
+        synchronized (map) {
+            FileLineObjectMetadata registered = get(map, metadata.getClazz());
+            if (registered != null && (registered.hasColumnLayout()
+                    || !metadata.hasColumnLayout())) {
+                return registered;
+            }
+            map.put(metadata.getClazz(),
+                    new SoftReference<FileLineObjectMetadata>(metadata));
+            return metadata;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+/**
+ * ファイル行オブジェクトの出力先パーティションを決定するインタフェース。
+ * <p>
+ * {@link PartitionedFileLineWriter}が、ファイル行オブジェクトごとに出力先のファイルを選択するために利用する。<br>
+ * キー項目(支店コード等)の値から出力先を決める場合は、このインタフェースを実装する。
+ * キー項目のハッシュ値で振り分ける場合は{@link HashFileLinePartitioner}を利用できる。
+ * </p>
+ * @see jp.terasoluna.fw.file.dao.standard.PartitionedFileLineWriter
+ * @see jp.terasoluna.fw.file.dao.standard.HashFileLinePartitioner
+ * @param <T> ファイル行オブジェクト。
+ */
+public interface FileLinePartitioner<T> {
+
+    /**
+     * ファイル行オブジェクトの出力先パーティションの番号を返却する。
+     * @param t ファイル行オブジェクト
+     * @param partitionCount パーティション数
+     * @return パーティションの番号(0以上、パーティション数未満)
+     */
+    int getPartition(T t, int partitionCount);
+}
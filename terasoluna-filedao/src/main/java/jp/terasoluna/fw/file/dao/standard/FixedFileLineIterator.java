@@ -16,6 +16,7 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.Map;
 
@@ -156,18 +157,43 @@ public class FixedFileLineIterator<T> extends AbstractFileLineIterator<T> {
 
         super(fileName, clazz, columnParserMap);
 
+        // 固定長ファイルの設定をチェックし、初期化処理を行う。
+        initFileFormat(clazz);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりに入力ストリームからデータを読み込む。入力ストリームは{@link #closeFile()}でクローズされる。
+     * @param inputStream 入力ストリーム
+     * @param clazz 結果クラス
+     * @param columnParserMap フォーマット処理リスト
+     */
+    public FixedFileLineIterator(InputStream inputStream, Class<T> clazz,
+            Map<String, ColumnParser> columnParserMap) {
+
+        super(inputStream, clazz, columnParserMap);
+
+        // 固定長ファイルの設定をチェックし、初期化処理を行う。
+        initFileFormat(clazz);
+    }
+
+    /**
+     * 区切り文字、囲み文字、行区切り文字の設定をチェックして設定し、初期化処理を行う。
+     * @param clazz 結果クラス
+     */
+    private void initFileFormat(Class<T> clazz) {
         FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
 
         // 区切り文字が初期値以外の場合、例外をスローする。
         if (fileFormat.delimiter() != DELIMITER) {
             throw new FileException("Delimiter can not change.",
-                    new IllegalStateException(), fileName);
+                    new IllegalStateException(), getFileName());
         }
 
         // 囲み文字が初期値以外の場合、例外をスローする。
         if (fileFormat.encloseChar() != ENCLOSE_CHAR) {
             throw new FileException("EncloseChar can not change.",
-                    new IllegalStateException(), fileName);
+                    new IllegalStateException(), getFileName());
         }
 
         // 行区切り文字が無い場合、ヘッダ・トレイラは利用不可なので例外をスローする。
@@ -175,7 +201,7 @@ public class FixedFileLineIterator<T> extends AbstractFileLineIterator<T> {
                 && (fileFormat.headerLineCount() > 0 || fileFormat
                         .trailerLineCount() > 0)) {
             throw new FileException("HeaderLineCount or trailerLineCount cannot be used.",
-                    new IllegalStateException(), fileName);
+                    new IllegalStateException(), getFileName());
         }
         
         // 行区切り文字を設定する。
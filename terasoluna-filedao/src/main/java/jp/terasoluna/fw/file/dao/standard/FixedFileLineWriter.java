@@ -16,6 +16,7 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.nio.channels.WritableByteChannel;
 import java.util.Map;
 
 import jp.terasoluna.fw.file.annotation.FileFormat;
@@ -144,21 +145,73 @@ public class FixedFileLineWriter<T> extends AbstractFileLineWriter<T> {
      */
     public FixedFileLineWriter(String fileName, Class<T> clazz,
             Map<String, ColumnFormatter> columnFormatterrMap) {
+        this(fileName, clazz, columnFormatterrMap, 0);
+    }
 
-        super(fileName, clazz, columnFormatterrMap);
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @param columnFormatterrMap テキスト取得ルール
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数。非同期出力を行わない場合は<code>0</code>。
+     */
+    public FixedFileLineWriter(String fileName, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterrMap,
+            int asyncBufferCount) {
 
+        super(fileName, clazz, columnFormatterrMap, asyncBufferCount);
+
+        // 固定長ファイルの設定をチェックし、初期化処理を行う。
+        initFileFormat(clazz);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりにチャネルへ書き込む。チャネルは{@link #closeFile()}でクローズされる。
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @param columnFormatterrMap テキスト取得ルール
+     */
+    public FixedFileLineWriter(WritableByteChannel channel, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterrMap) {
+        this(channel, clazz, columnFormatterrMap, 0);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりにチャネルへ書き込む。チャネルは{@link #closeFile()}でクローズされる。
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @param columnFormatterrMap テキスト取得ルール
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数。非同期出力を行わない場合は<code>0</code>。
+     */
+    public FixedFileLineWriter(WritableByteChannel channel, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterrMap,
+            int asyncBufferCount) {
+
+        super(channel, clazz, columnFormatterrMap, asyncBufferCount);
+
+        // 固定長ファイルの設定をチェックし、初期化処理を行う。
+        initFileFormat(clazz);
+    }
+
+    /**
+     * 区切り文字、囲み文字、行区切り文字の設定をチェックして設定し、初期化処理を行う。
+     * @param clazz パラメータクラス
+     */
+    private void initFileFormat(Class<T> clazz) {
         FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
 
         // 区切り文字が初期値以外の場合、例外をスローする。
         if (fileFormat.delimiter() != ',') {
             throw new FileException("Delimiter can not change.",
-                    new IllegalStateException(), fileName);
+                    new IllegalStateException(), getFileName());
         }
 
         // 囲み文字が初期値以外の場合、例外をスローする。
         if (fileFormat.encloseChar() != ENCLOSE_CHAR) {
             throw new FileException("EncloseChar can not change.",
-                    new IllegalStateException(), fileName);
+                    new IllegalStateException(), getFileName());
         }
 
         // 行区切り文字を設定する。
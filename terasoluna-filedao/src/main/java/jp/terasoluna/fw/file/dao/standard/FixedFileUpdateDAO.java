@@ -16,6 +16,8 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.nio.channels.WritableByteChannel;
+
 import jp.terasoluna.fw.file.dao.FileLineWriter;
 
 /**
@@ -39,9 +41,45 @@ public class FixedFileUpdateDAO extends AbstractFileUpdateDAO {
 
         // FileLineWriterを生成する。
         FixedFileLineWriter<T> fileLineWriter = new FixedFileLineWriter<T>(
-                fileName, clazz, getColumnFormatterMap());
+                fileName, clazz, getColumnFormatterMap(),
+                getAsyncBufferCount());
 
         return fileLineWriter;
     }
 
+    /**
+     * 位置指定出力用のFileLineWriter取得用メソッド。
+     * <p>
+     * 返却するFileLineWriterは、複数のスレッドからデータ行のインデックスを指定して出力できる。
+     * 非同期出力の設定は適用しない。
+     * </p>
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @return 固定長ファイルの位置指定出力用のFileLineWriter
+     * @see jp.terasoluna.fw.file.dao.standard.PositionalFixedFileLineWriter
+     */
+    public <T> PositionalFixedFileLineWriter<T> executePositional(
+            String fileName, Class<T> clazz) {
+        return new PositionalFixedFileLineWriter<T>(fileName, clazz, getColumnFormatterMap());
+    }
+
+    /**
+     * チャネルを指定したFileLineWriter取得用メソッド。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @return 固定長ファイル用のFileLineWriter
+     */
+    @Override
+    public <T> FileLineWriter<T> execute(WritableByteChannel channel,
+            Class<T> clazz) {
+
+        // FileLineWriterを生成する。
+        FixedFileLineWriter<T> fileLineWriter = new FixedFileLineWriter<T>(
+                channel, clazz, getColumnFormatterMap(),
+                getAsyncBufferCount());
+
+        return fileLineWriter;
+    }
 }
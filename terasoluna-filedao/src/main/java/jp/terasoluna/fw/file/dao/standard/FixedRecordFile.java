@@ -0,0 +1,659 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.BufferedInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.StringConverter;
+import jp.terasoluna.fw.file.annotation.TrimType;
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
+
+/**
+ * 固定長ファイルのメモリマップ読込クラス。
+ * <p>
+ * 固定長ファイルのデータ部をメモリにマップし、{@link FixedRecordView}でデータ行を直接参照する。<br>
+ * ファイル行オブジェクトを生成せずに、<code>@InputFileColumn</code>の<code>columnIndex</code>、<code>bytes</code>から求めたカラムの位置を
+ * 型ごとのgetterで参照するため、一部のカラムのみ判定してデータ行をそのまま出力するような処理で、データ行ごとのオブジェクト生成を省くことが出来る。<br>
+ * データ行はすべて同じバイト数であるため、データ行の番号を指定して任意の順序で参照できる。
+ * </p>
+ * <p>
+ * ファイル行オブジェクトクラスの設定は{@link FixedFileLineIterator}と同じものを利用する。
+ * ヘッダ部・トレイラ部は生成時に読み込む。トレイラ部はファイルの末尾から読み込む。
+ * </p>
+ * <p>
+ * 数値のカラムをバイト列から直接変換するのは、ファイルエンコーディングがASCII文字をASCIIと同じ1バイトで表現し、
+ * トリム文字もASCII文字である場合のみとする。それ以外のカラム(EBCDIC、UTF-16のファイル、全角のトリム文字など)は、
+ * 文字列にデコードしてから変換する。
+ * </p>
+ * <b>※注意事項</b><br>
+ * データ行を参照している間はファイルを変更しないこと。<br>
+ * <code>close()</code>の後もマップしたメモリはガベージコレクションまで解放されない。<br>
+ * @see jp.terasoluna.fw.file.dao.standard.FixedRecordView
+ */
+public class FixedRecordFile {
+
+    /**
+     * 1回にマップするバイト数の上限のデフォルト値。
+     */
+    static final long DEFAULT_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    /**
+     * ファイル名。
+     */
+    private final String fileName;
+
+    /**
+     * ファイルエンコーディング。
+     */
+    private final String fileEncoding;
+
+    /**
+     * ファイルエンコーディングの文字セット。
+     */
+    private final Charset charset;
+
+    /**
+     * ファイル。
+     */
+    private final RandomAccessFile file;
+
+    /**
+     * ファイルチャネル。
+     */
+    private final FileChannel channel;
+
+    /**
+     * カラムインデックス順の属性。
+     */
+    private final Field[] fields;
+
+    /**
+     * カラムの開始位置(データ行の先頭からのバイト数)。
+     */
+    private final int[] columnOffsets;
+
+    /**
+     * カラムのバイト数。
+     */
+    private final int[] columnBytes;
+
+    /**
+     * カラムのフォーマット。
+     */
+    private final String[] columnFormats;
+
+    /**
+     * カラムのトリム種別。
+     */
+    private final TrimType[] trimTypes;
+
+    /**
+     * カラムのトリム文字。
+     */
+    private final char[] trimChars;
+
+    /**
+     * カラムの文字変換種別。
+     */
+    private final StringConverter[] stringConverters;
+
+    /**
+     * カラムの文字列のキャッシュの利用有無。
+     */
+    private final boolean[] dictionaries;
+
+    /**
+     * カラムをバイト列から直接変換できるかどうか(ASCII互換のファイルエンコーディングで、トリム文字がASCII文字の場合)。
+     */
+    private final boolean[] asciiColumns;
+
+    /**
+     * カラムの日付の固定桁パターン。
+     */
+    private final FixedWidthDatePattern[] datePatterns;
+
+    /**
+     * 1行分のバイト数(行区切り文字を含む)。
+     */
+    private final int recordBytes;
+
+    /**
+     * データ部の開始位置。
+     */
+    private final long dataStart;
+
+    /**
+     * データ部の行数。
+     */
+    private final long recordCount;
+
+    /**
+     * 1回にマップする行数。
+     */
+    private final int segmentRecords;
+
+    /**
+     * マップしたデータ部(1回にマップする行数ごと)。
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * ヘッダ部の文字列リスト。
+     */
+    private final List<String> header;
+
+    /**
+     * トレイラ部の文字列リスト。
+     */
+    private final List<String> trailer;
+
+    /**
+     * BigDecimal型のカラムの変換処理(フォーマット指定時)。
+     */
+    private final DecimalColumnParser decimalColumnParser = new DecimalColumnParser();
+
+    /**
+     * Date型のカラムの変換処理(固定桁パターンで変換できない場合)。
+     */
+    private final DateColumnParser dateColumnParser = new DateColumnParser();
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz ファイル行オブジェクトクラス
+     */
+    public FixedRecordFile(String fileName, Class<?> clazz) {
+        this(fileName, clazz, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz ファイル行オブジェクトクラス
+     * @param segmentBytes 1回にマップするバイト数の上限
+     */
+    FixedRecordFile(String fileName, Class<?> clazz, long segmentBytes) {
+        if (fileName == null || "".equals(fileName)) {
+            throw new FileException("fileName is required.", new IllegalArgumentException(), fileName);
+        }
+        if (clazz == null) {
+            throw new FileException("clazz is required.", new IllegalArgumentException(), fileName);
+        }
+        FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
+        if (fileFormat == null) {
+            throw new FileException("FileFormat annotation is not found.", new IllegalStateException(), fileName);
+        }
+        this.fileName = fileName;
+        String encoding = fileFormat.fileEncoding();
+        if (encoding == null || "".equals(encoding)) {
+            encoding = System.getProperty("file.encoding");
+        }
+        this.fileEncoding = encoding;
+        this.charset = Charset.forName(encoding);
+
+        // カラムの位置を求める。
+        FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                .getInputMetadata(clazz);
+        this.fields = metadata != null ? metadata.getFields()
+                : BinaryRecordSchema.scanFields(clazz, true, fileName);
+        int size = fields.length;
+        this.columnOffsets = new int[size];
+        this.columnBytes = new int[size];
+        this.columnFormats = new String[size];
+        this.trimTypes = new TrimType[size];
+        this.trimChars = new char[size];
+        this.stringConverters = new StringConverter[size];
+        this.dictionaries = new boolean[size];
+        this.datePatterns = new FixedWidthDatePattern[size];
+        this.asciiColumns = new boolean[size];
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            InputFileColumn inputFileColumn = fields[i].getAnnotation(
+                    InputFileColumn.class);
+            if (inputFileColumn.bytes() <= 0) {
+                throw new FileException("bytes is not set "
+                        + "or a number equal to or less than 0 is set.", new IllegalStateException(), fileName);
+            }
+            columnOffsets[i] = offset;
+            columnBytes[i] = inputFileColumn.bytes();
+            columnFormats[i] = inputFileColumn.columnFormat();
+            trimTypes[i] = inputFileColumn.trimType();
+            trimChars[i] = inputFileColumn.trimChar();
+            dictionaries[i] = inputFileColumn.dictionary();
+            try {
+                stringConverters[i] = inputFileColumn.stringConverter()
+                        .newInstance();
+            } catch (InstantiationException e) {
+                throw new FileLineException("Failed in an instantiate of a stringConverter.", e, fileName, -1, fields[i]
+                        .getName(), i);
+            } catch (IllegalAccessException e) {
+                throw new FileLineException("Failed in an instantiate of a stringConverter.", e, fileName, -1, fields[i]
+                        .getName(), i);
+            }
+            datePatterns[i] = new FixedWidthDatePattern("".equals(
+                    columnFormats[i]) ? "yyyyMMdd" : columnFormats[i]);
+            offset += columnBytes[i];
+        }
+        try {
+            boolean asciiCompatible = FileDAOUtility.isAsciiCompatible(
+                    encoding);
+            for (int i = 0; i < size; i++) {
+                asciiColumns[i] = asciiCompatible && (TrimType.NONE.equals(
+                        trimTypes[i]) || FileDAOUtility.getAsciiBytes(String
+                                .valueOf(trimChars[i]), encoding) != null);
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new FileException("Failed in generation of reader.", e, fileName);
+        }
+        byte[] lineFeedBytes = fileFormat.lineFeedChar().getBytes(charset);
+        this.recordBytes = offset + lineFeedBytes.length;
+
+        try {
+            this.file = new RandomAccessFile(fileName, "r");
+        } catch (FileNotFoundException e) {
+            throw new FileException("Failed in generation of reader.", e, fileName);
+        }
+        this.channel = file.getChannel();
+        boolean success = false;
+        try {
+            long length = channel.size();
+
+            // ヘッダ部を読み込む。
+            List<String> headerLines = new ArrayList<String>();
+            this.dataStart = readHeader(fileFormat.headerLineCount(),
+                    lineFeedBytes, headerLines);
+            this.header = Collections.unmodifiableList(headerLines);
+
+            // トレイラ部をファイルの末尾から読み込む。
+            long dataEnd = length;
+            if (fileFormat.trailerLineCount() > 0) {
+                ReverseTrailerReader trailerReader = new ReverseTrailerReader(fileName, fileEncoding, fileFormat
+                        .lineFeedChar(), recordBytes);
+                this.trailer = Collections.unmodifiableList(trailerReader
+                        .readTrailer(fileFormat.trailerLineCount()));
+                dataEnd = trailerReader.getTrailerStartOffset();
+            } else {
+                this.trailer = Collections.emptyList();
+            }
+
+            if (dataEnd < dataStart || (dataEnd - dataStart)
+                    % recordBytes != 0) {
+                throw new FileException("Data size is not a multiple of record bytes.", new IllegalStateException(), fileName);
+            }
+            this.recordCount = (dataEnd - dataStart) / recordBytes;
+
+            // データ部を1行のバイト数の倍数ごとにマップする。
+            this.segmentRecords = (int) Math.max(1, Math.min(
+                    segmentBytes / recordBytes, Integer.MAX_VALUE
+                            / recordBytes));
+            int segmentCount = (int) ((recordCount + segmentRecords - 1)
+                    / segmentRecords);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long first = (long) i * segmentRecords;
+                long records = Math.min(segmentRecords, recordCount - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        dataStart + first * recordBytes, records
+                                * recordBytes);
+            }
+            success = true;
+        } catch (IOException e) {
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        } finally {
+            if (!success) {
+                closeQuietly();
+            }
+        }
+    }
+
+    /**
+     * ヘッダ部を読み込む。
+     * <p>
+     * 行区切り文字が無い場合は、ヘッダ部の各行のバイト数を1行分のバイト数とする。
+     * </p>
+     * @param headerLineCount ヘッダ行数
+     * @param lineFeedBytes 行区切り文字のバイト列
+     * @param headerLines 読み込んだ行を格納するリスト
+     * @return データ部の開始位置
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    private long readHeader(int headerLineCount, byte[] lineFeedBytes,
+            List<String> headerLines) throws IOException {
+        if (headerLineCount <= 0) {
+            return 0;
+        }
+        InputStream in = new BufferedInputStream(Channels.newInputStream(
+                channel.position(0)));
+        byte[] line = new byte[Math.max(recordBytes, 64)];
+        int lineLength = 0;
+        long position = 0;
+        while (headerLines.size() < headerLineCount) {
+            int b = in.read();
+            if (b < 0) {
+                throw new FileException("Header part is shorter than headerLineCount.", new IllegalStateException(), fileName);
+            }
+            position++;
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, line.length * 2);
+            }
+            line[lineLength++] = (byte) b;
+            if (isEndOfLine(line, lineLength, lineFeedBytes)) {
+                headerLines.add(new String(line, 0, lineLength
+                        - lineFeedBytes.length, charset));
+                lineLength = 0;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * 読み込んだバイト列が1行分となったかどうかを判定する。
+     * @param line 読み込んだバイト列
+     * @param lineLength 読み込んだバイト数
+     * @param lineFeedBytes 行区切り文字のバイト列
+     * @return 1行分となった場合は<code>true</code>
+     */
+    private boolean isEndOfLine(byte[] line, int lineLength,
+            byte[] lineFeedBytes) {
+        if (lineFeedBytes.length == 0) {
+            return lineLength == recordBytes;
+        }
+        if (lineLength < lineFeedBytes.length) {
+            return false;
+        }
+        int start = lineLength - lineFeedBytes.length;
+        for (int i = 0; i < lineFeedBytes.length; i++) {
+            if (line[start + i] != lineFeedBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * データ行を参照するビューを生成する。
+     * <p>
+     * ビューはデータ部の先頭行の前に位置する。{@link FixedRecordView#next()}または
+     * {@link FixedRecordView#moveTo(long)}で参照するデータ行に移動すること。<br>
+     * ビューはスレッドセーフではない。複数のスレッドから参照する場合は、スレッドごとにビューを生成すること。
+     * </p>
+     * @return ビュー
+     */
+    public FixedRecordView newView() {
+        return new FixedRecordView(this);
+    }
+
+    /**
+     * データ部の連続する行のバイト列をそのまま出力する。
+     * <p>
+     * ファイルチャネルの転送機能を利用するため、データ行をメモリに読み込まずに出力できる。
+     * </p>
+     * @param firstRecord 出力する最初のデータ行の番号
+     * @param count 出力する行数
+     * @param target 出力先
+     */
+    public void transferRecords(long firstRecord, long count,
+            WritableByteChannel target) {
+        if (firstRecord < 0 || count < 0 || firstRecord + count > recordCount) {
+            throw new FileException("Record number is out of range.", new IllegalArgumentException(), fileName);
+        }
+        long position = dataStart + firstRecord * recordBytes;
+        long end = position + count * recordBytes;
+        try {
+            while (position < end) {
+                position += channel.transferTo(position, end - position,
+                        target);
+            }
+        } catch (IOException e) {
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        }
+    }
+
+    /**
+     * ファイルを閉じる。
+     */
+    public void close() {
+        try {
+            file.close();
+        } catch (IOException e) {
+            throw new FileException("Closing of reader was failed.", e, fileName);
+        }
+    }
+
+    /**
+     * 例外を通知せずにファイルを閉じる。
+     */
+    private void closeQuietly() {
+        try {
+            file.close();
+        } catch (IOException e) {
+            // 生成時の例外を上書きしないため、クローズ時の例外はハンドリングしない
+        }
+    }
+
+    /**
+     * 属性名からカラムインデックスを取得する。
+     * @param fieldName 属性名
+     * @return カラムインデックス
+     */
+    public int getColumnIndex(String fieldName) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getName().equals(fieldName)) {
+                return i;
+            }
+        }
+        throw new FileException("InputFileColumn is not found. field: "
+                + fieldName, new IllegalArgumentException(), fileName);
+    }
+
+    /**
+     * ファイル名を取得する。
+     * @return ファイル名
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * データ部の行数を取得する。
+     * @return データ部の行数
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * 1行分のバイト数(行区切り文字を含む)を取得する。
+     * @return 1行分のバイト数
+     */
+    public int getRecordBytes() {
+        return recordBytes;
+    }
+
+    /**
+     * カラム数を取得する。
+     * @return カラム数
+     */
+    public int getColumnCount() {
+        return fields.length;
+    }
+
+    /**
+     * ヘッダ部の文字列リストを取得する。
+     * @return ヘッダ部の文字列リスト
+     */
+    public List<String> getHeader() {
+        return header;
+    }
+
+    /**
+     * トレイラ部の文字列リストを取得する。
+     * @return トレイラ部の文字列リスト
+     */
+    public List<String> getTrailer() {
+        return trailer;
+    }
+
+    /**
+     * データ行を含むマップしたデータ部を取得する。
+     * @param recordNumber データ行の番号
+     * @return マップしたデータ部
+     */
+    ByteBuffer getSegment(long recordNumber) {
+        return segments[(int) (recordNumber / segmentRecords)];
+    }
+
+    /**
+     * マップしたデータ部の中でのデータ行の開始位置を取得する。
+     * @param recordNumber データ行の番号
+     * @return 開始位置
+     */
+    int getSegmentOffset(long recordNumber) {
+        return (int) (recordNumber % segmentRecords) * recordBytes;
+    }
+
+    /**
+     * ファイルエンコーディングを取得する。
+     * @return ファイルエンコーディング
+     */
+    String getFileEncoding() {
+        return fileEncoding;
+    }
+
+    /**
+     * ファイルエンコーディングの文字セットを取得する。
+     * @return 文字セット
+     */
+    Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * カラムインデックス順の属性を取得する。
+     * @return 属性
+     */
+    Field[] getFields() {
+        return fields;
+    }
+
+    /**
+     * カラムの開始位置を取得する。
+     * @return カラムの開始位置
+     */
+    int[] getColumnOffsets() {
+        return columnOffsets;
+    }
+
+    /**
+     * カラムのバイト数を取得する。
+     * @return カラムのバイト数
+     */
+    int[] getColumnBytes() {
+        return columnBytes;
+    }
+
+    /**
+     * カラムのフォーマットを取得する。
+     * @return カラムのフォーマット
+     */
+    String[] getColumnFormats() {
+        return columnFormats;
+    }
+
+    /**
+     * カラムのトリム種別を取得する。
+     * @return カラムのトリム種別
+     */
+    TrimType[] getTrimTypes() {
+        return trimTypes;
+    }
+
+    /**
+     * カラムのトリム文字を取得する。
+     * @return カラムのトリム文字
+     */
+    char[] getTrimChars() {
+        return trimChars;
+    }
+
+    /**
+     * カラムの文字変換種別を取得する。
+     * @return カラムの文字変換種別
+     */
+    StringConverter[] getStringConverters() {
+        return stringConverters;
+    }
+
+    /**
+     * カラムの文字列のキャッシュの利用有無を取得する。
+     * @return カラムの文字列のキャッシュの利用有無
+     */
+    boolean[] getDictionaries() {
+        return dictionaries;
+    }
+
+    /**
+     * カラムをバイト列から直接変換できるかどうかを取得する。
+     * @return カラムをバイト列から直接変換できるかどうか
+     */
+    boolean[] getAsciiColumns() {
+        return asciiColumns;
+    }
+
+    /**
+     * カラムの日付の固定桁パターンを取得する。
+     * @return カラムの日付の固定桁パターン
+     */
+    FixedWidthDatePattern[] getDatePatterns() {
+        return datePatterns;
+    }
+
+    /**
+     * BigDecimal型のカラムの変換処理を取得する。
+     * @return 変換処理
+     */
+    DecimalColumnParser getDecimalColumnParser() {
+        return decimalColumnParser;
+    }
+
+    /**
+     * Date型のカラムの変換処理を取得する。
+     * @return 変換処理
+     */
+    DateColumnParser getDateColumnParser() {
+        return dateColumnParser;
+    }
+}
@@ -0,0 +1,507 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.text.ParseException;
+import java.util.Date;
+
+import jp.terasoluna.fw.file.annotation.TrimType;
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
+
+/**
+ * 固定長ファイルのデータ行のビュー(フライウェイト)。
+ * <p>
+ * {@link FixedRecordFile}がメモリにマップしたデータ部の1行を参照する。
+ * 参照するデータ行を移動しながら同じインスタンスを再利用するため、データ行ごとのオブジェクト生成が発生しない。<br>
+ * int、long型のgetterは、バイト列から直接数値に変換する。
+ * 変換前に、<code>@InputFileColumn</code>の<code>trimType</code>、<code>trimChar</code>の設定に従いトリムする。
+ * ただし、ファイルエンコーディングがASCII互換ではない場合、またはトリム文字がASCII文字ではない場合は、文字列に変換してから数値に変換する。<br>
+ * String、BigDecimal、Date型のgetterは、{@link FixedFileLineIterator}と同じ変換を行う(トリム、文字変換、フォーマット)。
+ * </p>
+ * <p>
+ * 使用例:
+ * <pre>
+ * FixedRecordFile recordFile = new FixedRecordFile(fileName, SampleFileLine.class);
+ * try {
+ *     int status = recordFile.getColumnIndex(&quot;status&quot;);
+ *     FixedRecordView view = recordFile.newView();
+ *     while (view.next()) {
+ *         if (view.getInt(status) == 1) {
+ *             view.copyTo(outputChannel);
+ *         }
+ *     }
+ * } finally {
+ *     recordFile.close();
+ * }
+ * </pre>
+ * </p>
+ * <b>※注意事項</b><br>
+ * このクラスはスレッドセーフではない。<br>
+ * @see jp.terasoluna.fw.file.dao.standard.FixedRecordFile
+ */
+public class FixedRecordView {
+
+    /**
+     * 参照するファイル。
+     */
+    private final FixedRecordFile recordFile;
+
+    /**
+     * 1行分のバイト数。
+     */
+    private final int recordBytes;
+
+    /**
+     * カラムの開始位置。
+     */
+    private final int[] columnOffsets;
+
+    /**
+     * カラムのバイト数。
+     */
+    private final int[] columnBytes;
+
+    /**
+     * カラムのトリム種別。
+     */
+    private final TrimType[] trimTypes;
+
+    /**
+     * カラムのトリム文字。
+     */
+    private final char[] trimChars;
+
+    /**
+     * カラムをバイト列から直接変換できるかどうか。
+     */
+    private final boolean[] asciiColumns;
+
+    /**
+     * カラムの文字列のキャッシュ。キャッシュを利用しないカラムは<code>null</code>。
+     */
+    private final ColumnStringCache[] stringCaches;
+
+    /**
+     * 文字列への変換、出力に利用するバイト配列。
+     */
+    private final byte[] bytes;
+
+    /**
+     * 参照しているデータ行の番号(データ部の先頭行が0)。
+     */
+    private long recordNumber = -1;
+
+    /**
+     * 参照しているデータ行を含むマップしたデータ部。
+     */
+    private ByteBuffer segment = null;
+
+    /**
+     * 出力用に複製したマップしたデータ部。
+     */
+    private ByteBuffer copySegment = null;
+
+    /**
+     * マップしたデータ部の中でのデータ行の開始位置。
+     */
+    private int base = 0;
+
+    /**
+     * コンストラクタ。
+     * @param recordFile 参照するファイル
+     */
+    FixedRecordView(FixedRecordFile recordFile) {
+        this.recordFile = recordFile;
+        this.recordBytes = recordFile.getRecordBytes();
+        this.columnOffsets = recordFile.getColumnOffsets();
+        this.columnBytes = recordFile.getColumnBytes();
+        this.trimTypes = recordFile.getTrimTypes();
+        this.trimChars = recordFile.getTrimChars();
+        this.asciiColumns = recordFile.getAsciiColumns();
+        this.bytes = new byte[recordBytes];
+        boolean[] dictionaries = recordFile.getDictionaries();
+        this.stringCaches = new ColumnStringCache[dictionaries.length];
+        for (int i = 0; i < dictionaries.length; i++) {
+            if (dictionaries[i]) {
+                stringCaches[i] = new ColumnStringCache();
+            }
+        }
+    }
+
+    /**
+     * 指定した番号のデータ行に移動する。
+     * @param number データ行の番号(データ部の先頭行が0)
+     * @return このビュー
+     */
+    public FixedRecordView moveTo(long number) {
+        if (number < 0 || number >= recordFile.getRecordCount()) {
+            throw new FileException("Record number is out of range.", new IllegalArgumentException(), recordFile
+                    .getFileName());
+        }
+        ByteBuffer target = recordFile.getSegment(number);
+        if (target != segment) {
+            segment = target;
+            copySegment = null;
+        }
+        base = recordFile.getSegmentOffset(number);
+        recordNumber = number;
+        return this;
+    }
+
+    /**
+     * 次のデータ行に移動する。
+     * @return 次のデータ行が存在する場合は<code>true</code>
+     */
+    public boolean next() {
+        if (recordNumber + 1 >= recordFile.getRecordCount()) {
+            return false;
+        }
+        moveTo(recordNumber + 1);
+        return true;
+    }
+
+    /**
+     * 参照しているデータ行の番号を取得する。
+     * @return データ行の番号(データ部の先頭行が0)
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * カラムの値をint型で取得する。
+     * @param columnIndex カラムインデックス
+     * @return カラムの値
+     */
+    public int getInt(int columnIndex) {
+        long value = parseLong(columnIndex);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw parseError(columnIndex, new NumberFormatException());
+        }
+        return (int) value;
+    }
+
+    /**
+     * カラムの値をlong型で取得する。
+     * @param columnIndex カラムインデックス
+     * @return カラムの値
+     */
+    public long getLong(int columnIndex) {
+        return parseLong(columnIndex);
+    }
+
+    /**
+     * カラムの値をBigDecimal型で取得する。
+     * <p>
+     * カラムのフォーマットが設定されていない場合、18桁以下の数値はバイト列から直接変換する。
+     * </p>
+     * @param columnIndex カラムインデックス
+     * @return カラムの値
+     */
+    public BigDecimal getDecimal(int columnIndex) {
+        String columnFormat = recordFile.getColumnFormats()[columnIndex];
+        if ("".equals(columnFormat)) {
+            BigDecimal value = parseDecimal(columnIndex);
+            if (value != null) {
+                return value;
+            }
+        }
+        String column = getString(columnIndex);
+        try {
+            Number number = recordFile.getDecimalColumnParser().parseDecimal(
+                    column, columnFormat);
+            return number instanceof BigDecimal ? (BigDecimal) number
+                    : new BigDecimal(number.toString());
+        } catch (NumberFormatException e) {
+            throw parseError(columnIndex, e);
+        } catch (ParseException e) {
+            throw parseError(columnIndex, e);
+        }
+    }
+
+    /**
+     * カラムの値をDate型で取得する。
+     * <p>
+     * カラムのフォーマットが設定されていない場合は「yyyyMMdd」で変換する。
+     * </p>
+     * @param columnIndex カラムインデックス
+     * @return カラムの値
+     */
+    public Date getDate(int columnIndex) {
+        String column = getString(columnIndex);
+        Date date = recordFile.getDatePatterns()[columnIndex].parse(column);
+        if (date != null) {
+            return date;
+        }
+        String columnFormat = recordFile.getColumnFormats()[columnIndex];
+        try {
+            return recordFile.getDateColumnParser().parseDate(column,
+                    columnFormat);
+        } catch (ParseException e) {
+            throw parseError(columnIndex, e);
+        }
+    }
+
+    /**
+     * カラムの値を文字列で取得する。
+     * <p>
+     * トリム、文字変換を行った文字列を返却する。<br>
+     * <code>@InputFileColumn</code>の<code>dictionary</code>が<code>true</code>のカラムは、
+     * 同じバイト列に対して同じ<code>String</code>インスタンスを返却する。
+     * </p>
+     * @param columnIndex カラムインデックス
+     * @return カラムの値
+     */
+    public String getString(int columnIndex) {
+        checkSelected();
+        int length = columnBytes[columnIndex];
+        int position = base + columnOffsets[columnIndex];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = segment.get(position + i);
+        }
+        ColumnStringCache stringCache = stringCaches[columnIndex];
+        if (stringCache != null) {
+            String cached = stringCache.get(bytes, 0, length);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String column = new String(bytes, 0, length, recordFile.getCharset());
+        column = FileDAOUtility.trim(column, recordFile.getFileEncoding(),
+                trimChars[columnIndex], trimTypes[columnIndex]);
+        column = recordFile.getStringConverters()[columnIndex].convert(column);
+        if (stringCache != null) {
+            stringCache.put(bytes, 0, length, column);
+        }
+        return column;
+    }
+
+    /**
+     * 参照しているデータ行のバイト列(行区切り文字を含む)をそのまま出力する。
+     * @param target 出力先
+     */
+    public void copyTo(WritableByteChannel target) {
+        ByteBuffer buffer = getCopySegment();
+        buffer.clear();
+        buffer.position(base);
+        buffer.limit(base + recordBytes);
+        try {
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new FileException("Processing of writer was failed.", e, recordFile
+                    .getFileName());
+        }
+    }
+
+    /**
+     * 参照しているデータ行のバイト列(行区切り文字を含む)をそのまま出力する。
+     * @param target 出力先
+     */
+    public void copyTo(OutputStream target) {
+        ByteBuffer buffer = getCopySegment();
+        buffer.clear();
+        buffer.position(base);
+        buffer.get(bytes, 0, recordBytes);
+        try {
+            target.write(bytes, 0, recordBytes);
+        } catch (IOException e) {
+            throw new FileException("Processing of writer was failed.", e, recordFile
+                    .getFileName());
+        }
+    }
+
+    /**
+     * 出力用に複製したマップしたデータ部を取得する。
+     * <p>
+     * 参照位置を変更しても他のビューに影響しないよう、マップしたデータ部ごとに1回だけ複製する。
+     * </p>
+     * @return 複製したマップしたデータ部
+     */
+    private ByteBuffer getCopySegment() {
+        checkSelected();
+        if (copySegment == null) {
+            copySegment = segment.duplicate();
+        }
+        return copySegment;
+    }
+
+    /**
+     * データ行に移動済みであることを確認する。
+     */
+    private void checkSelected() {
+        if (segment == null) {
+            throw new FileException("Record is not selected.", new IllegalStateException(), recordFile
+                    .getFileName());
+        }
+    }
+
+    /**
+     * カラムのバイト列を整数に変換する。
+     * <p>
+     * 符号(「+」「-」)と数字(「0」～「9」)のみ許容する。<br>
+     * バイト列から直接変換できないカラムは、文字列に変換してから変換する。
+     * </p>
+     * @param columnIndex カラムインデックス
+     * @return 変換結果
+     */
+    private long parseLong(int columnIndex) {
+        if (!asciiColumns[columnIndex]) {
+            try {
+                return Long.parseLong(getString(columnIndex));
+            } catch (NumberFormatException e) {
+                throw parseError(columnIndex, e);
+            }
+        }
+        int start = trimStart(columnIndex);
+        int end = trimEnd(columnIndex, start);
+        boolean negative = false;
+        if (start < end) {
+            byte sign = segment.get(start);
+            if (sign == '-' || sign == '+') {
+                negative = (sign == '-');
+                start++;
+            }
+        }
+        if (start >= end) {
+            throw parseError(columnIndex, new NumberFormatException());
+        }
+        // Long.MIN_VALUEを扱えるよう、負の値で累積する。
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = limit / 10;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = segment.get(i) - '0';
+            if (digit < 0 || digit > 9 || result < multmin) {
+                throw parseError(columnIndex, new NumberFormatException());
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw parseError(columnIndex, new NumberFormatException());
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * カラムのバイト列を10進数に変換する。
+     * <p>
+     * 符号(「+」「-」)、数字(「0」～「9」)、小数点(「.」)で構成された18桁以下の数値のみ変換する。
+     * </p>
+     * @param columnIndex カラムインデックス
+     * @return 変換結果。バイト列から直接変換できない場合は<code>null</code>
+     */
+    private BigDecimal parseDecimal(int columnIndex) {
+        if (!asciiColumns[columnIndex]) {
+            return null;
+        }
+        int start = trimStart(columnIndex);
+        int end = trimEnd(columnIndex, start);
+        boolean negative = false;
+        if (start < end) {
+            byte sign = segment.get(start);
+            if (sign == '-' || sign == '+') {
+                negative = (sign == '-');
+                start++;
+            }
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int i = start; i < end; i++) {
+            byte b = segment.get(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || ++digits > 18) {
+                return null;
+            }
+            unscaled = unscaled * 10 + digit;
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(
+                scale, 0));
+    }
+
+    /**
+     * トリム後のカラムの開始位置を取得する。<br>
+     * バイト列から直接変換できるカラムのみ利用できる。
+     * @param columnIndex カラムインデックス
+     * @return 開始位置
+     */
+    private int trimStart(int columnIndex) {
+        checkSelected();
+        int start = base + columnOffsets[columnIndex];
+        int end = start + columnBytes[columnIndex];
+        TrimType trimType = trimTypes[columnIndex];
+        if (TrimType.LEFT.equals(trimType) || TrimType.BOTH.equals(
+                trimType)) {
+            byte trimChar = (byte) trimChars[columnIndex];
+            while (start < end && segment.get(start) == trimChar) {
+                start++;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * トリム後のカラムの終了位置を取得する。<br>
+     * バイト列から直接変換できるカラムのみ利用できる。
+     * @param columnIndex カラムインデックス
+     * @param start トリム後のカラムの開始位置
+     * @return 終了位置
+     */
+    private int trimEnd(int columnIndex, int start) {
+        int end = base + columnOffsets[columnIndex] + columnBytes[columnIndex];
+        TrimType trimType = trimTypes[columnIndex];
+        if (TrimType.RIGHT.equals(trimType) || TrimType.BOTH.equals(
+                trimType)) {
+            byte trimChar = (byte) trimChars[columnIndex];
+            while (start < end && segment.get(end - 1) == trimChar) {
+                end--;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * カラムの変換に失敗した場合の例外を生成する。
+     * @param columnIndex カラムインデックス
+     * @param e 原因となった例外
+     * @return 例外
+     */
+    private FileLineException parseError(int columnIndex, Exception e) {
+        return new FileLineException("Failed in coluomn data parsing.", e, recordFile
+                .getFileName(), (int) (recordNumber + 1), recordFile.getFields()[columnIndex]
+                        .getName(), columnIndex);
+    }
+}
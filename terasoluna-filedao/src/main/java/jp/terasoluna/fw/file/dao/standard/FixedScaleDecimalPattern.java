@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * 固定小数桁の数値パターンを高速に変換するクラス。
+ * <p>
+ * 「#,##0.00」「###,###.##」「0.000」のように、「#」「0」「,」「.」のみで構成される数値パターンについて、
+ * <code>DecimalFormat</code>を使用せずに文字列と<code>BigDecimal</code>の変換を行う。<br>
+ * パターンが空文字の場合は、<code>new BigDecimal(String)</code>/<code>BigDecimal#toPlainString()</code>
+ * と同じ変換を行う。<br>
+ * 接頭辞・接尾辞・指数表記などを含むパターンや、デフォルトロケールの記号が
+ * 「.」「,」「-」「0」以外の場合は{@link #isSupported()}が<code>false</code>を返す。
+ * </p>
+ * <p>
+ * 変換結果は<code>DecimalFormat</code>(パース時は<code>setParseBigDecimal(true)</code>)と同一となる。<br>
+ * 入力文字列が符号・数字・小数点のみで構成されていない場合や、有効桁数が18桁を超える場合は
+ * {@link #parse(String)}が<code>null</code>を返すため、呼び出し側は汎用処理に切り替えること。
+ * </p>
+ */
+public class FixedScaleDecimalPattern {
+
+    /**
+     * long型で誤差なく扱える最大の桁数。
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * パターン文字列。
+     */
+    private final String pattern;
+
+    /**
+     * 固定小数桁パターンとして処理可能かどうか。
+     */
+    private final boolean supported;
+
+    /**
+     * 整数部の最小桁数。
+     */
+    private final int minimumIntegerDigits;
+
+    /**
+     * 整数部の最大桁数。
+     */
+    private final int maximumIntegerDigits;
+
+    /**
+     * 小数部の最小桁数。
+     */
+    private final int minimumFractionDigits;
+
+    /**
+     * 小数部の最大桁数。
+     */
+    private final int maximumFractionDigits;
+
+    /**
+     * 3桁区切りの桁数。区切りを行わない場合は0。
+     */
+    private final int groupingSize;
+
+    /**
+     * 小数点を常に出力するかどうか。
+     */
+    private final boolean decimalSeparatorAlwaysShown;
+
+    /**
+     * コンストラクタ。
+     * @param pattern 数値パターン
+     */
+    public FixedScaleDecimalPattern(String pattern) {
+        this.pattern = pattern;
+        DecimalFormat decimalFormat = null;
+        if (pattern != null && !"".equals(pattern) && isSimplePattern(
+                pattern)) {
+            decimalFormat = new DecimalFormat(pattern);
+        }
+        if (decimalFormat != null && hasStandardSymbols(decimalFormat)) {
+            this.supported = true;
+            this.minimumIntegerDigits = decimalFormat
+                    .getMinimumIntegerDigits();
+            this.maximumIntegerDigits = decimalFormat
+                    .getMaximumIntegerDigits();
+            this.minimumFractionDigits = decimalFormat
+                    .getMinimumFractionDigits();
+            this.maximumFractionDigits = decimalFormat
+                    .getMaximumFractionDigits();
+            this.groupingSize = decimalFormat.isGroupingUsed() ? decimalFormat
+                    .getGroupingSize() : 0;
+            this.decimalSeparatorAlwaysShown = decimalFormat
+                    .isDecimalSeparatorAlwaysShown();
+        } else {
+            this.supported = false;
+            this.minimumIntegerDigits = 0;
+            this.maximumIntegerDigits = 0;
+            this.minimumFractionDigits = 0;
+            this.maximumFractionDigits = 0;
+            this.groupingSize = 0;
+            this.decimalSeparatorAlwaysShown = false;
+        }
+    }
+
+    /**
+     * パターンが「#」「0」「,」「.」のみで構成されているかを判定する。
+     * @param pattern 数値パターン
+     * @return 構成されている場合は<code>true</code>
+     */
+    private static boolean isSimplePattern(String pattern) {
+        boolean decimalSeparator = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '.') {
+                if (decimalSeparator) {
+                    return false;
+                }
+                decimalSeparator = true;
+            } else if (c != '#' && c != '0' && c != ',') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <code>DecimalFormat</code>の記号と接頭辞・接尾辞が標準のものかを判定する。
+     * @param decimalFormat 判定対象
+     * @return 標準の場合は<code>true</code>
+     */
+    private static boolean hasStandardSymbols(DecimalFormat decimalFormat) {
+        DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+        return symbols.getDecimalSeparator() == '.'
+                && symbols.getGroupingSeparator() == ','
+                && symbols.getMinusSign() == '-'
+                && symbols.getZeroDigit() == '0'
+                && decimalFormat.getMultiplier() == 1
+                && "".equals(decimalFormat.getPositivePrefix())
+                && "".equals(decimalFormat.getPositiveSuffix())
+                && "-".equals(decimalFormat.getNegativePrefix())
+                && "".equals(decimalFormat.getNegativeSuffix())
+                && decimalFormat.getRoundingMode() == RoundingMode.HALF_EVEN;
+    }
+
+    /**
+     * 数値パターンを取得する。
+     * @return 数値パターン
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 固定小数桁パターンとして処理可能かどうかを取得する。
+     * @return 処理可能な場合は<code>true</code>
+     */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * 文字列を数値に変換する。
+     * <p>
+     * 「-」、数字、小数点のみで構成された文字列を、文字列から直接<code>BigDecimal</code>に変換する。
+     * </p>
+     * @param source 変換対象の文字列
+     * @return 変換結果。高速に変換できない場合は<code>null</code>
+     */
+    public BigDecimal parse(String source) {
+        if (!supported) {
+            return null;
+        }
+        return parseSimple(source, false);
+    }
+
+    /**
+     * 数値パターンを指定しない場合の、文字列から数値への変換を行う。
+     * <p>
+     * 符号、数字、小数点のみで構成された文字列を、<code>new BigDecimal(String)</code>と同じ値・スケールの
+     * <code>BigDecimal</code>に変換する。
+     * </p>
+     * @param source 変換対象の文字列
+     * @return 変換結果。高速に変換できない場合は<code>null</code>
+     */
+    public static BigDecimal parsePlain(String source) {
+        return parseSimple(source, true);
+    }
+
+    /**
+     * 符号、数字、小数点のみで構成された文字列を数値に変換する。
+     * @param source 変換対象の文字列
+     * @param allowPlusSign 「+」符号を許可する場合は<code>true</code>
+     * @return 変換結果。高速に変換できない場合は<code>null</code>
+     */
+    private static BigDecimal parseSimple(String source,
+            boolean allowPlusSign) {
+        if (source == null) {
+            return null;
+        }
+        int length = source.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length) {
+            char c = source.charAt(i);
+            if (c == '-') {
+                negative = true;
+                i++;
+            } else if (c == '+' && allowPlusSign) {
+                i++;
+            }
+        }
+        long unscaled = 0L;
+        int digits = 0;
+        int significantDigits = 0;
+        int scale = 0;
+        boolean decimalSeparator = false;
+        for (; i < length; i++) {
+            char c = source.charAt(i);
+            if (c == '.') {
+                if (decimalSeparator) {
+                    return null;
+                }
+                decimalSeparator = true;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            if (significantDigits > 0 || digit != 0) {
+                if (++significantDigits > MAX_LONG_DIGITS) {
+                    return null;
+                }
+            }
+            unscaled = unscaled * 10 + digit;
+            digits++;
+            if (decimalSeparator) {
+                scale++;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    /**
+     * 数値を文字列に変換する。
+     * @param value 変換対象の数値
+     * @return 変換結果。高速に変換できない場合は<code>null</code>
+     */
+    public String format(BigDecimal value) {
+        if (!supported || value == null) {
+            return null;
+        }
+        BigDecimal rounded = value;
+        if (rounded.scale() > maximumFractionDigits) {
+            rounded = rounded.setScale(maximumFractionDigits,
+                    RoundingMode.HALF_EVEN);
+        }
+        BigInteger unscaled = rounded.unscaledValue().abs();
+        int scale = rounded.scale();
+        String digits = unscaled.toString();
+        String integerDigits;
+        String fractionDigits;
+        if (scale <= 0) {
+            StringBuilder builder = new StringBuilder(digits);
+            if (unscaled.signum() != 0) {
+                for (int i = 0; i < -scale; i++) {
+                    builder.append('0');
+                }
+            }
+            integerDigits = builder.toString();
+            fractionDigits = "";
+        } else if (digits.length() > scale) {
+            integerDigits = digits.substring(0, digits.length() - scale);
+            fractionDigits = digits.substring(digits.length() - scale);
+        } else {
+            StringBuilder builder = new StringBuilder();
+            for (int i = digits.length(); i < scale; i++) {
+                builder.append('0');
+            }
+            integerDigits = "0";
+            fractionDigits = builder.append(digits).toString();
+        }
+
+        // 整数部の0は桁として扱わない。
+        if ("0".equals(integerDigits)) {
+            integerDigits = "";
+        }
+        if (integerDigits.length() > maximumIntegerDigits) {
+            return null;
+        }
+
+        // 小数部の末尾の0を最小桁数まで削除する。
+        int fractionLength = Math.max(fractionDigits.length(),
+                minimumFractionDigits);
+        while (fractionLength > minimumFractionDigits
+                && fractionDigits.charAt(fractionLength - 1) == '0') {
+            fractionLength--;
+        }
+
+        StringBuilder result = new StringBuilder(integerDigits.length()
+                + fractionLength + 8);
+        if (value.signum() < 0) {
+            result.append('-');
+        }
+        int integerLength = Math.max(minimumIntegerDigits, integerDigits
+                .length());
+        if (integerLength == 0 && fractionLength == 0) {
+            // 出力する桁が無い場合は0を出力する。
+            integerLength = 1;
+        }
+        for (int i = integerLength - 1; i >= 0; i--) {
+            int index = integerDigits.length() - 1 - i;
+            result.append(index >= 0 ? integerDigits.charAt(index) : '0');
+            if (groupingSize > 0 && i > 0 && i % groupingSize == 0) {
+                result.append(',');
+            }
+        }
+        if (fractionLength > 0 || decimalSeparatorAlwaysShown) {
+            result.append('.');
+        }
+        for (int i = 0; i < fractionLength; i++) {
+            result.append(i < fractionDigits.length() ? fractionDigits
+                    .charAt(i) : '0');
+        }
+        return result.toString();
+    }
+}
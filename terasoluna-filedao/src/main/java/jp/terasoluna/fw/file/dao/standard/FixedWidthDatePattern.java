@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+/**
+ * 固定桁の日付パターンを高速に変換するクラス。
+ * <p>
+ * 「yyyyMMdd」「yyyy/MM/dd」「HHmmss」のように、数値フィールドの桁数が固定で、
+ * 区切り文字のみを含む日付パターンについて、<code>SimpleDateFormat</code>を使用せずに
+ * 文字列と<code>Date</code>の変換を行う。<br>
+ * 利用可能なパターン文字は「yyyy」「MM」「dd」「HH」「mm」「ss」「SSS」のみで、
+ * それ以外のパターン文字を含む場合は{@link #isSupported()}が<code>false</code>を返す。
+ * </p>
+ * <p>
+ * 変換結果は<code>setLenient(false)</code>を設定した<code>SimpleDateFormat</code>と同一となる。<br>
+ * 入力文字列の形式がパターンと完全に一致しない場合や、日付として存在しない値の場合は
+ * {@link #parse(String)}が<code>null</code>を返すため、呼び出し側は<code>SimpleDateFormat</code>による
+ * 汎用処理に切り替えること。
+ * </p>
+ */
+public class FixedWidthDatePattern {
+
+    /**
+     * 区切り文字を表すフィールド種別。
+     */
+    private static final int LITERAL = -1;
+
+    /**
+     * パターン文字列。
+     */
+    private final String pattern;
+
+    /**
+     * 文字位置ごとのカレンダーフィールド。区切り文字の位置は{@link #LITERAL}。
+     */
+    private final int[] positionFields;
+
+    /**
+     * 固定桁パターンとして処理可能かどうか。
+     */
+    private final boolean supported;
+
+    /**
+     * スレッドごとのカレンダー。
+     */
+    private final ThreadLocal<Calendar> calendarLocal = new ThreadLocal<Calendar>() {
+        @Override
+        protected Calendar initialValue() {
+            Calendar calendar = Calendar.getInstance();
+            calendar.setLenient(false);
+            return calendar;
+        }
+    };
+
+    /**
+     * コンストラクタ。
+     * @param pattern 日付パターン
+     */
+    public FixedWidthDatePattern(String pattern) {
+        this.pattern = pattern;
+        this.positionFields = new int[pattern.length()];
+        this.supported = compile(pattern, positionFields)
+                && Calendar.getInstance() instanceof GregorianCalendar;
+    }
+
+    /**
+     * 日付パターンを文字位置ごとのカレンダーフィールドに分解する。
+     * @param pattern 日付パターン
+     * @param fields 文字位置ごとのカレンダーフィールドの格納先
+     * @return 固定桁パターンとして処理可能な場合は<code>true</code>
+     */
+    private static boolean compile(String pattern, int[] fields) {
+        int length = pattern.length();
+        if (length == 0) {
+            return false;
+        }
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            int run = 1;
+            while (i + run < length && pattern.charAt(i + run) == c) {
+                run++;
+            }
+            int field;
+            int width;
+            switch (c) {
+            case 'y':
+                field = Calendar.YEAR;
+                width = 4;
+                break;
+            case 'M':
+                field = Calendar.MONTH;
+                width = 2;
+                break;
+            case 'd':
+                field = Calendar.DAY_OF_MONTH;
+                width = 2;
+                break;
+            case 'H':
+                field = Calendar.HOUR_OF_DAY;
+                width = 2;
+                break;
+            case 'm':
+                field = Calendar.MINUTE;
+                width = 2;
+                break;
+            case 's':
+                field = Calendar.SECOND;
+                width = 2;
+                break;
+            case 'S':
+                field = Calendar.MILLISECOND;
+                width = 3;
+                break;
+            default:
+                // 英字と引用符はパターン文字として扱われるため対象外とする。
+                if (c == '\'' || (c >= 'a' && c <= 'z')
+                        || (c >= 'A' && c <= 'Z')) {
+                    return false;
+                }
+                field = LITERAL;
+                width = run;
+                break;
+            }
+            if (run != width) {
+                return false;
+            }
+            for (int j = 0; j < run; j++) {
+                fields[i + j] = field;
+            }
+            i += run;
+        }
+        return true;
+    }
+
+    /**
+     * 日付パターンを取得する。
+     * @return 日付パターン
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 固定桁パターンとして処理可能かどうかを取得する。
+     * @return 処理可能な場合は<code>true</code>
+     */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * 文字列を日付に変換する。
+     * @param source 変換対象の文字列
+     * @return 変換結果。高速に変換できない場合は<code>null</code>
+     */
+    public Date parse(String source) {
+        if (!supported || source == null
+                || source.length() != positionFields.length) {
+            return null;
+        }
+        int year = 1970;
+        int month = 1;
+        int day = 1;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int millis = 0;
+        int i = 0;
+        int length = positionFields.length;
+        while (i < length) {
+            int field = positionFields[i];
+            if (field == LITERAL) {
+                if (source.charAt(i) != pattern.charAt(i)) {
+                    return null;
+                }
+                i++;
+                continue;
+            }
+            int value = 0;
+            while (i < length && positionFields[i] == field) {
+                int digit = source.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return null;
+                }
+                value = value * 10 + digit;
+                i++;
+            }
+            switch (field) {
+            case Calendar.YEAR:
+                year = value;
+                break;
+            case Calendar.MONTH:
+                month = value;
+                break;
+            case Calendar.DAY_OF_MONTH:
+                day = value;
+                break;
+            case Calendar.HOUR_OF_DAY:
+                hour = value;
+                break;
+            case Calendar.MINUTE:
+                minute = value;
+                break;
+            case Calendar.SECOND:
+                second = value;
+                break;
+            default:
+                millis = value;
+                break;
+            }
+        }
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+        Calendar calendar = calendarLocal.get();
+        calendar.clear();
+        calendar.set(year, month - 1, day, hour, minute, second);
+        calendar.set(Calendar.MILLISECOND, millis);
+        try {
+            return new Date(calendar.getTimeInMillis());
+        } catch (IllegalArgumentException e) {
+            // 存在しない日付(2月30日、夏時間の切替で存在しない時刻など)
+            return null;
+        }
+    }
+
+    /**
+     * 日付を文字列に変換する。
+     * @param date 変換対象の日付
+     * @return 変換結果。高速に変換できない場合は<code>null</code>
+     */
+    public String format(Date date) {
+        if (!supported || date == null) {
+            return null;
+        }
+        Calendar calendar = calendarLocal.get();
+        calendar.setTimeInMillis(date.getTime());
+        int year = calendar.get(Calendar.YEAR);
+        if (calendar.get(Calendar.ERA) != GregorianCalendar.AD
+                || year > 9999) {
+            return null;
+        }
+        int length = positionFields.length;
+        char[] chars = new char[length];
+        int i = 0;
+        while (i < length) {
+            int field = positionFields[i];
+            if (field == LITERAL) {
+                chars[i] = pattern.charAt(i);
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < length && positionFields[end] == field) {
+                end++;
+            }
+            int value = calendar.get(field);
+            if (field == Calendar.MONTH) {
+                value++;
+            }
+            for (int j = end - 1; j >= i; j--) {
+                chars[j] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            i = end;
+        }
+        return new String(chars);
+    }
+}
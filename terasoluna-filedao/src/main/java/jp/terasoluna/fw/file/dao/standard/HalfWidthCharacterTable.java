@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ファイルエンコーディングごとの半角文字の判定テーブル。
+ * <p>
+ * ファイルエンコーディングで1バイトとなる文字を半角文字とし、基本多言語面の文字を
+ * 文字コードの上位8ビットで区切ったページ単位のビット集合として保持する。<br>
+ * ページは最初に判定した時に生成するため、利用しない範囲の文字は変換しない。<br>
+ * サロゲート文字は単独では符号化できないため、半角文字としない。
+ * </p>
+ */
+final class HalfWidthCharacterTable {
+
+    /**
+     * 1ページあたりの文字数。
+     */
+    private static final int PAGE_SIZE = 1 << 8;
+
+    /**
+     * ファイルエンコーディングごとの判定テーブル。
+     */
+    private static final ConcurrentMap<String, HalfWidthCharacterTable> TABLES = new ConcurrentHashMap<String, HalfWidthCharacterTable>();
+
+    /**
+     * ファイルエンコーディング。
+     */
+    private final Charset charset;
+
+    /**
+     * 半角文字のビット集合のページ。
+     */
+    private final AtomicReferenceArray<long[]> pages = new AtomicReferenceArray<long[]>(PAGE_SIZE);
+
+    /**
+     * コンストラクタ。
+     * @param charset ファイルエンコーディング
+     */
+    private HalfWidthCharacterTable(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * ファイルエンコーディングの判定テーブルを取得する。
+     * @param fileEncoding ファイルエンコーディング
+     * @return 判定テーブル
+     * @throws UnsupportedEncodingException 存在しないエンコーディングの場合
+     */
+    static HalfWidthCharacterTable getTable(
+            String fileEncoding) throws UnsupportedEncodingException {
+        HalfWidthCharacterTable table = TABLES.get(fileEncoding);
+        if (table == null) {
+            Charset charset;
+            try {
+                charset = Charset.forName(fileEncoding);
+            } catch (IllegalCharsetNameException e) {
+                throw new UnsupportedEncodingException(fileEncoding);
+            } catch (UnsupportedCharsetException e) {
+                throw new UnsupportedEncodingException(fileEncoding);
+            }
+            table = new HalfWidthCharacterTable(charset);
+            HalfWidthCharacterTable registered = TABLES.putIfAbsent(
+                    fileEncoding, table);
+            if (registered != null) {
+                table = registered;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 半角文字かを判定する。
+     * @param c 文字
+     * @return 半角文字の場合は<code>true</code>
+     */
+    boolean isHalfWidth(char c) {
+        int pageIndex = c >>> 8;
+        long[] page = pages.get(pageIndex);
+        if (page == null) {
+            // 複数スレッドで同時に生成した場合も内容は同じため、後勝ちとする。
+            page = buildPage(pageIndex);
+            pages.set(pageIndex, page);
+        }
+        return (page[(c & 0xff) >>> 6] & (1L << c)) != 0;
+    }
+
+    /**
+     * 文字列のすべての文字が半角文字かを判定する。
+     * @param value 文字列
+     * @return すべての文字が半角文字の場合は<code>true</code>
+     */
+    boolean isHalfWidth(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!isHalfWidth(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 文字列をファイルエンコーディングで変換した際のバイト数を取得する。
+     * <p>
+     * すべての文字が半角文字の場合は、バイト配列を生成せずに文字数をバイト数とする。
+     * </p>
+     * @param value 文字列
+     * @return バイト数
+     */
+    int getByteLength(String value) {
+        if (isHalfWidth(value)) {
+            return value.length();
+        }
+        return value.getBytes(charset).length;
+    }
+
+    /**
+     * ページのビット集合を生成する。
+     * @param pageIndex ページ番号(文字コードの上位8ビット)
+     * @return ビット集合
+     */
+    private long[] buildPage(int pageIndex) {
+        long[] page = new long[PAGE_SIZE / 64];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            char c = (char) ((pageIndex << 8) | i);
+            if (!Character.isSurrogate(c)
+                    && String.valueOf(c).getBytes(charset).length == 1) {
+                page[i >>> 6] |= 1L << i;
+            }
+        }
+        return page;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import jp.terasoluna.fw.file.dao.FileException;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * キー項目のハッシュ値で出力先パーティションを決定するクラス。
+ * <p>
+ * ファイル行オブジェクトのキー項目の値を取得し、<code>hashCode()</code>をパーティション数で割った余りを
+ * パーティションの番号とする。同じ値のファイル行オブジェクトは常に同じパーティションに出力される。<br>
+ * キー項目の値が<code>null</code>の場合は、パーティション0とする。<br>
+ * キー項目は、ファイル行オブジェクトのgetterメソッド(<code>get</code>または<code>is</code>で始まるメソッド)で取得する。
+ * </p>
+ * @see jp.terasoluna.fw.file.dao.standard.FileLinePartitioner
+ * @param <T> ファイル行オブジェクト。
+ */
+public class HashFileLinePartitioner<T> implements FileLinePartitioner<T> {
+
+    /**
+     * キー項目の属性名。
+     */
+    private final String propertyName;
+
+    /**
+     * キー項目のgetterメソッド(最後に利用したクラスのもの)。
+     */
+    private volatile Method getter = null;
+
+    /**
+     * コンストラクタ。
+     * @param propertyName キー項目の属性名
+     */
+    public HashFileLinePartitioner(String propertyName) {
+        if (propertyName == null || propertyName.length() == 0) {
+            throw new IllegalArgumentException("propertyName is required.");
+        }
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * キー項目の値のハッシュ値から出力先パーティションの番号を返却する。
+     * @param t ファイル行オブジェクト
+     * @param partitionCount パーティション数
+     * @return パーティションの番号
+     */
+    @Override
+    public int getPartition(T t, int partitionCount) {
+        Object key = getKey(t);
+        if (key == null) {
+            return 0;
+        }
+        return (key.hashCode() & Integer.MAX_VALUE) % partitionCount;
+    }
+
+    /**
+     * ファイル行オブジェクトからキー項目の値を取得する。
+     * @param t ファイル行オブジェクト
+     * @return キー項目の値
+     */
+    protected Object getKey(T t) {
+        Method method = getter;
+        if (method == null || !method.getDeclaringClass().isInstance(t)) {
+            method = findGetter(t.getClass());
+            getter = method;
+        }
+        try {
+            return method.invoke(t);
+        } catch (IllegalAccessException e) {
+            throw new FileException(e);
+        } catch (InvocationTargetException e) {
+            throw new FileException(e);
+        }
+    }
+
+    /**
+     * キー項目のgetterメソッドを取得する。
+     * @param clazz ファイル行オブジェクトのクラス
+     * @return getterメソッド
+     */
+    private Method findGetter(Class<?> clazz) {
+        String suffix = StringUtils.capitalize(propertyName);
+        try {
+            return clazz.getMethod("get" + suffix);
+        } catch (NoSuchMethodException e) {
+            try {
+                return clazz.getMethod("is" + suffix);
+            } catch (NoSuchMethodException ex) {
+                throw new FileException("The getter method of column doesn't exist.", ex);
+            }
+        }
+    }
+}
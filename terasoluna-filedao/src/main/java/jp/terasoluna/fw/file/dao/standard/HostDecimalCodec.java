@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * パック10進数、ゾーン10進数の変換クラス。
+ * <p>
+ * ホスト形式のファイルの数値カラムのバイト列と、<code>long</code>、<code>BigDecimal</code>を 文字列を介さずに直接変換する。
+ * </p>
+ * <ul>
+ * <li>パック10進数(COMP-3)：1バイトに2桁を格納し、最後の4ビットを符号とする。nバイトで2n-1桁を表現する。</li>
+ * <li>ゾーン10進数：1バイトに1桁を格納する。上位4ビットはゾーン(0xF)とし、最後のバイトの上位4ビットを符号とする。</li>
+ * </ul>
+ * <p>
+ * 符号は0xC、0xA、0xE、0xFを正、0xD、0xBを負として読み込み、正は0xC、負は0xDで書き込む。<br>
+ * 小数点は格納しないため、<code>BigDecimal</code>との変換では小数点以下の桁数(スケール)を指定する。
+ * </p>
+ * @see jp.terasoluna.fw.file.annotation.NumberEncoding
+ */
+public class HostDecimalCodec {
+
+    /**
+     * long型で誤差なく扱える最大の桁数。
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * 書き込み時の正の符号。
+     */
+    private static final int SIGN_PLUS = 0x0C;
+
+    /**
+     * 書き込み時の負の符号。
+     */
+    private static final int SIGN_MINUS = 0x0D;
+
+    /**
+     * ゾーン10進数の数字のゾーン。
+     */
+    private static final int ZONE = 0x0F;
+
+    /**
+     * コンストラクタ。
+     */
+    private HostDecimalCodec() {
+    }
+
+    /**
+     * パック10進数をlong値に変換する。
+     * @param bytes バイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @return 変換結果
+     * @throws NumberFormatException 数字、符号が不正な場合、またはlong型の範囲を超える場合
+     */
+    public static long decodePacked(byte[] bytes, int offset, int length) {
+        return decodeLong(bytes, offset, length, true);
+    }
+
+    /**
+     * パック10進数を<code>BigDecimal</code>に変換する。
+     * @param bytes バイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @param scale 小数点以下の桁数
+     * @return 変換結果
+     * @throws NumberFormatException 数字、符号が不正な場合
+     */
+    public static BigDecimal decodePacked(byte[] bytes, int offset,
+            int length, int scale) {
+        return decodeDecimal(bytes, offset, length, scale, true);
+    }
+
+    /**
+     * ゾーン10進数をlong値に変換する。
+     * @param bytes バイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @return 変換結果
+     * @throws NumberFormatException 数字、ゾーン、符号が不正な場合、またはlong型の範囲を超える場合
+     */
+    public static long decodeZoned(byte[] bytes, int offset, int length) {
+        return decodeLong(bytes, offset, length, false);
+    }
+
+    /**
+     * ゾーン10進数を<code>BigDecimal</code>に変換する。
+     * @param bytes バイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @param scale 小数点以下の桁数
+     * @return 変換結果
+     * @throws NumberFormatException 数字、ゾーン、符号が不正な場合
+     */
+    public static BigDecimal decodeZoned(byte[] bytes, int offset,
+            int length, int scale) {
+        return decodeDecimal(bytes, offset, length, scale, false);
+    }
+
+    /**
+     * long値をパック10進数に変換する。
+     * @param value 変換する値
+     * @param bytes 格納先のバイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @throws IllegalArgumentException カラムの桁数を超える場合
+     */
+    public static void encodePacked(long value, byte[] bytes, int offset,
+            int length) {
+        encode(Long.toString(value), bytes, offset, length, true);
+    }
+
+    /**
+     * <code>BigDecimal</code>をパック10進数に変換する。
+     * @param value 変換する値
+     * @param scale 小数点以下の桁数
+     * @param bytes 格納先のバイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @throws IllegalArgumentException カラムの桁数を超える場合
+     * @throws ArithmeticException 小数点以下の桁数を超える値の場合
+     */
+    public static void encodePacked(BigDecimal value, int scale,
+            byte[] bytes, int offset, int length) {
+        encode(value.setScale(scale).unscaledValue().toString(), bytes,
+                offset, length, true);
+    }
+
+    /**
+     * long値をゾーン10進数に変換する。
+     * @param value 変換する値
+     * @param bytes 格納先のバイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @throws IllegalArgumentException カラムの桁数を超える場合
+     */
+    public static void encodeZoned(long value, byte[] bytes, int offset,
+            int length) {
+        encode(Long.toString(value), bytes, offset, length, false);
+    }
+
+    /**
+     * <code>BigDecimal</code>をゾーン10進数に変換する。
+     * @param value 変換する値
+     * @param scale 小数点以下の桁数
+     * @param bytes 格納先のバイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @throws IllegalArgumentException カラムの桁数を超える場合
+     * @throws ArithmeticException 小数点以下の桁数を超える値の場合
+     */
+    public static void encodeZoned(BigDecimal value, int scale, byte[] bytes,
+            int offset, int length) {
+        encode(value.setScale(scale).unscaledValue().toString(), bytes,
+                offset, length, false);
+    }
+
+    /**
+     * カラムの桁数を取得する。
+     * @param length カラムのバイト数
+     * @param packed パック10進数の場合は<code>true</code>
+     * @return 桁数
+     */
+    private static int digitCount(int length, boolean packed) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("length must be greater than 0.");
+        }
+        return packed ? length * 2 - 1 : length;
+    }
+
+    /**
+     * 指定した桁の数字を取得する。
+     * @param bytes バイト配列
+     * @param offset カラムの開始位置
+     * @param index 桁の位置(上位桁から0始まり)
+     * @param packed パック10進数の場合は<code>true</code>
+     * @param last 最後の桁の場合は<code>true</code>
+     * @return 数字
+     * @throws NumberFormatException 数字、ゾーンが不正な場合
+     */
+    private static int digitAt(byte[] bytes, int offset, int index,
+            boolean packed, boolean last) {
+        int digit;
+        if (packed) {
+            int b = bytes[offset + (index >> 1)];
+            digit = (index & 1) == 0 ? (b >> 4) & 0x0F : b & 0x0F;
+        } else {
+            int b = bytes[offset + index];
+            if (!last && ((b >> 4) & 0x0F) != ZONE) {
+                throw new NumberFormatException("Invalid zone. position: "
+                        + index);
+            }
+            digit = b & 0x0F;
+        }
+        if (9 < digit) {
+            throw new NumberFormatException("Invalid digit. position: "
+                    + index);
+        }
+        return digit;
+    }
+
+    /**
+     * 符号が負かどうかを判定する。
+     * @param bytes バイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @param packed パック10進数の場合は<code>true</code>
+     * @return 負の場合は<code>true</code>
+     * @throws NumberFormatException 符号が不正な場合
+     */
+    private static boolean isNegative(byte[] bytes, int offset, int length,
+            boolean packed) {
+        int b = bytes[offset + length - 1];
+        int sign = packed ? b & 0x0F : (b >> 4) & 0x0F;
+        switch (sign) {
+        case 0x0A:
+        case 0x0C:
+        case 0x0E:
+        case 0x0F:
+            return false;
+        case 0x0B:
+        case 0x0D:
+            return true;
+        default:
+            throw new NumberFormatException("Invalid sign: "
+                    + Integer.toHexString(sign));
+        }
+    }
+
+    /**
+     * パック10進数、ゾーン10進数をlong値に変換する。
+     * @param bytes バイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @param packed パック10進数の場合は<code>true</code>
+     * @return 変換結果
+     */
+    private static long decodeLong(byte[] bytes, int offset, int length,
+            boolean packed) {
+        int digits = digitCount(length, packed);
+        boolean negative = isNegative(bytes, offset, length, packed);
+        long value = 0L;
+        for (int i = 0; i < digits; i++) {
+            int digit = digitAt(bytes, offset, i, packed, i == digits - 1);
+            // 負の値で累積し、Long.MIN_VALUEまで表現できるようにする。
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                throw new NumberFormatException("Value is out of range of long.");
+            }
+            value = value * 10L - digit;
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                throw new NumberFormatException("Value is out of range of long.");
+            }
+            value = -value;
+        }
+        return value;
+    }
+
+    /**
+     * パック10進数、ゾーン10進数を<code>BigDecimal</code>に変換する。
+     * @param bytes バイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @param scale 小数点以下の桁数
+     * @param packed パック10進数の場合は<code>true</code>
+     * @return 変換結果
+     */
+    private static BigDecimal decodeDecimal(byte[] bytes, int offset,
+            int length, int scale, boolean packed) {
+        int digits = digitCount(length, packed);
+        if (digits <= MAX_LONG_DIGITS) {
+            return BigDecimal.valueOf(decodeLong(bytes, offset, length,
+                    packed), scale);
+        }
+        char[] chars = new char[digits + 1];
+        chars[0] = isNegative(bytes, offset, length, packed) ? '-' : '+';
+        for (int i = 0; i < digits; i++) {
+            chars[i + 1] = (char) ('0' + digitAt(bytes, offset, i, packed,
+                    i == digits - 1));
+        }
+        return new BigDecimal(new BigInteger(new String(chars)), scale);
+    }
+
+    /**
+     * 整数の文字列をパック10進数、ゾーン10進数に変換する。
+     * @param value 整数の文字列
+     * @param bytes 格納先のバイト配列
+     * @param offset カラムの開始位置
+     * @param length カラムのバイト数
+     * @param packed パック10進数の場合は<code>true</code>
+     */
+    private static void encode(String value, byte[] bytes, int offset,
+            int length, boolean packed) {
+        int digits = digitCount(length, packed);
+        boolean negative = value.charAt(0) == '-';
+        int start = negative ? 1 : 0;
+        if (digits < value.length() - start) {
+            throw new IllegalArgumentException("Value is too large for the column. value: "
+                    + value + ", digits: " + digits);
+        }
+        int padding = digits - (value.length() - start);
+        int sign = negative ? SIGN_MINUS : SIGN_PLUS;
+        if (packed) {
+            // 1バイトに2桁ずつ格納する。最後のバイトの下位4ビットは符号とする。
+            for (int i = 0; i < length; i++) {
+                int high = digitOf(value, start, padding, i * 2);
+                int low = i * 2 + 1 == digits ? sign : digitOf(value, start,
+                        padding, i * 2 + 1);
+                bytes[offset + i] = (byte) ((high << 4) | low);
+            }
+        } else {
+            for (int i = 0; i < digits; i++) {
+                int zone = i == digits - 1 ? sign : ZONE;
+                bytes[offset + i] = (byte) ((zone << 4) | digitOf(value,
+                        start, padding, i));
+            }
+        }
+    }
+
+    /**
+     * 上位桁を0で埋めた場合の、指定した桁の数字を取得する。
+     * @param value 整数の文字列
+     * @param start 数字の開始位置
+     * @param padding 0で埋める桁数
+     * @param index 桁の位置(上位桁から0始まり)
+     * @return 数字
+     */
+    private static int digitOf(String value, int start, int padding,
+            int index) {
+        return index < padding ? 0 : value.charAt(start + index - padding)
+                - '0';
+    }
+}
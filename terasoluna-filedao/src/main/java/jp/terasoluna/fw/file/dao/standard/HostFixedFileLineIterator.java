@@ -0,0 +1,916 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import jp.terasoluna.fw.file.annotation.ColumnConstraint;
+import jp.terasoluna.fw.file.annotation.CompressionType;
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.NumberEncoding;
+import jp.terasoluna.fw.file.annotation.PaddingType;
+import jp.terasoluna.fw.file.annotation.StringConverter;
+import jp.terasoluna.fw.file.annotation.TrimType;
+import jp.terasoluna.fw.file.dao.FileColumnConstraintException;
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
+import jp.terasoluna.fw.file.dao.FileLineIterator;
+
+/**
+ * ホスト形式の固定長ファイル用のファイルアクセス(データ取得)クラス。
+ * <p>
+ * EBCDICなどの文字コードで、パック10進数・ゾーン10進数の数値カラムを含む固定長ファイルを、
+ * 事前に文字コードを変換せずに読み込む。<br>
+ * 1レコード分のバイト列を読み込み、<code>@InputFileColumn</code>の<code>numberEncoding</code>が
+ * PACKED、ZONEDのカラムは{@link HostDecimalCodec}でバイト列から直接数値に変換する。
+ * TEXTのカラムのみファイルエンコーディングで文字列に変換し、{@link FixedFileLineIterator}と同様に
+ * トリム、パディング、文字列変換、カラムパーサーによる型変換を行う。
+ * </p>
+ * <p>
+ * ファイルエンコーディングには「Cp037」「Cp1047」「x-IBM930」など、JavaでサポートされるEBCDICの文字コードを設定できる。<br>
+ * 行区切り文字は未設定の場合はレコードの間に区切りが無いものとし、設定した場合はファイルエンコーディングで変換したバイト列とする。
+ * </p>
+ * <p>
+ * PACKED、ZONEDのカラムに設定できる属性の型は、int、long、short(ラッパークラスを含む)、BigDecimalである。<br>
+ * BigDecimalの場合は<code>columnFormat</code>の小数部の桁数を小数点以下の桁数とする。
+ * </p>
+ * <b>※注意事項</b><br>
+ * ヘッダ部、トレイラ部もデータ部と同じバイト数のレコードとする。ヘッダ部、トレイラ部の文字列は末尾の空白を除去して返却する。<br>
+ * 入力ストリームから読み込む場合はシークできないため、ヘッダ部から順に読み込み、トレイラ部の行数分のレコードを先読みして保持する。
+ * データ部を読み終える前にトレイラ部を取得した場合、残りのデータ部は読み飛ばされる。<br>
+ * 圧縮ファイルには対応しない。
+ * @see jp.terasoluna.fw.file.dao.standard.HostDecimalCodec
+ * @see jp.terasoluna.fw.file.dao.standard.HostFixedFileLineWriter
+ */
+public class HostFixedFileLineIterator<T> implements FileLineIterator<T> {
+
+    /**
+     * ファイル名。
+     */
+    private final String fileName;
+
+    /**
+     * ファイル行オブジェクトのクラス。
+     */
+    private final Class<T> clazz;
+
+    /**
+     * ファイルエンコーディングの文字セット。
+     */
+    private final Charset charset;
+
+    /**
+     * ファイル行オブジェクトの属性。
+     */
+    private final Field[] fields;
+
+    /**
+     * 属性のsetterメソッド。
+     */
+    private final Method[] methods;
+
+    /**
+     * カラムインデックス。
+     */
+    private final int[] columnIndexs;
+
+    /**
+     * レコード内のカラムの開始位置。
+     */
+    private final int[] columnOffsets;
+
+    /**
+     * カラムのバイト数。
+     */
+    private final int[] columnBytes;
+
+    /**
+     * カラムのフォーマット。
+     */
+    private final String[] columnFormats;
+
+    /**
+     * 数値の符号化種別。
+     */
+    private final NumberEncoding[] numberEncodings;
+
+    /**
+     * 小数点以下の桁数。
+     */
+    private final int[] scales;
+
+    /**
+     * トリム種別。
+     */
+    private final TrimType[] trimTypes;
+
+    /**
+     * トリム文字。
+     */
+    private final char[] trimChars;
+
+    /**
+     * パディング種別。
+     */
+    private final PaddingType[] paddingTypes;
+
+    /**
+     * パディング文字。
+     */
+    private final char[] paddingChars;
+
+    /**
+     * 文字列変換ルール。
+     */
+    private final StringConverter[] stringConverters;
+
+    /**
+     * 文字カラムのカラムパーサー。
+     */
+    private final ColumnParser[] columnParsers;
+
+    /**
+     * 文字カラムの文字列のキャッシュ。キャッシュを利用しないカラムは<code>null</code>。
+     */
+    private final ColumnStringCache[] stringCaches;
+
+    /**
+     * 文字カラムの制約の検査クラス。制約が設定されていないカラムは<code>null</code>。
+     */
+    private final ColumnConstraintChecker[] constraintCheckers;
+
+    /**
+     * ファイルエンコーディング。
+     */
+    private final String fileEncoding;
+
+    /**
+     * 行区切り文字のバイト列。
+     */
+    private final byte[] lineFeedBytes;
+
+    /**
+     * 1レコードのバイト数(行区切り文字を含む)。
+     */
+    private final int recordBytes;
+
+    /**
+     * データ部の開始位置。
+     */
+    private final long dataOffset;
+
+    /**
+     * データ部の行数。
+     */
+    private final long dataLineCount;
+
+    /**
+     * ヘッダ部の文字列リスト。
+     */
+    private final List<String> header;
+
+    /**
+     * トレイラ部の文字列リスト。
+     * <p>
+     * 入力ストリームから読み込む場合は、データ部をすべて読み込むまで<code>null</code>となる。
+     * </p>
+     */
+    private List<String> trailer;
+
+    /**
+     * 入力ストリームから読み込む場合に、トレイラ部の行数分先読みしたレコード。ファイルから読み込む場合は<code>null</code>。
+     */
+    private final ArrayDeque<byte[]> trailerQueue;
+
+    /**
+     * 入力ストリームから読み込む場合に、次のデータ行の有無を確認するために先読みしたレコード。
+     */
+    private byte[] nextRecord = null;
+
+    /**
+     * 次のデータ行のレコードを先読み済みかどうか。
+     */
+    private boolean nextRecordRead = false;
+
+    /**
+     * 1レコード分のバイト列。
+     */
+    private final byte[] record;
+
+    /**
+     * ファイル。入力ストリームから読み込む場合は<code>null</code>。
+     */
+    private final RandomAccessFile file;
+
+    /**
+     * データ部の入力ストリーム。
+     */
+    private InputStream input = null;
+
+    /**
+     * 先読みバッファ数。
+     */
+    private final int readAheadBufferCount;
+
+    /**
+     * 読み込んだデータ部の行数。
+     */
+    private int currentLineCount = 0;
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param columnParserMap カラムパーサーを格納するマップ
+     * @throws FileException 初期化処理に失敗した場合
+     */
+    public HostFixedFileLineIterator(String fileName, Class<T> clazz,
+            Map<String, ColumnParser> columnParserMap) {
+        this(fileName, null, clazz, columnParserMap);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりに入力ストリームからレコードを先頭から順に読み込む。入力ストリームは{@link #closeFile()}でクローズされる。<br>
+     * 圧縮種別が<code>AUTO</code>の場合は拡張子で判定できないため、非圧縮として扱う。
+     * @param inputStream 入力ストリーム
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param columnParserMap カラムパーサーを格納するマップ
+     * @throws FileException 初期化処理に失敗した場合
+     */
+    public HostFixedFileLineIterator(InputStream inputStream, Class<T> clazz,
+            Map<String, ColumnParser> columnParserMap) {
+        this(null, AbstractFileLineIterator.checkInputStream(inputStream),
+                clazz, columnParserMap);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * 入力ストリームが<code>null</code>の場合はファイル名のファイルから、それ以外の場合は入力ストリームから読み込む。
+     * @param fileName ファイル名
+     * @param inputStream 入力ストリーム
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param columnParserMap カラムパーサーを格納するマップ
+     * @throws FileException 初期化処理に失敗した場合
+     */
+    private HostFixedFileLineIterator(String fileName, InputStream inputStream,
+            Class<T> clazz, Map<String, ColumnParser> columnParserMap) {
+        if (inputStream == null && (fileName == null || "".equals(fileName))) {
+            throw new FileException("fileName is required.", new IllegalArgumentException(), fileName);
+        }
+        if (clazz == null) {
+            throw new FileException("clazz is required.", new IllegalArgumentException(), fileName);
+        }
+        if (columnParserMap == null || columnParserMap.isEmpty()) {
+            throw new FileException("columnParserMap is required.", new IllegalArgumentException(), fileName);
+        }
+        FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
+        if (fileFormat == null) {
+            throw new FileException("FileFormat annotation is not found.", new IllegalStateException(), fileName);
+        }
+        if (fileFormat.compression().resolve(
+                fileName) != CompressionType.NONE) {
+            throw new FileException("Compression is not supported.", new IllegalStateException(), fileName);
+        }
+        if (fileFormat.readAheadBufferCount() < 0
+                || fileFormat.readAheadBufferCount() == 1) {
+            throw new FileException("readAheadBufferCount must be 0 or 2 or more.", new IllegalStateException(), fileName);
+        }
+        this.fileName = fileName;
+        this.clazz = clazz;
+        this.readAheadBufferCount = fileFormat.readAheadBufferCount();
+        String encoding = fileFormat.fileEncoding();
+        if (encoding == null || "".equals(encoding)) {
+            encoding = System.getProperty("file.encoding");
+        }
+        this.fileEncoding = encoding;
+        this.charset = Charset.forName(encoding);
+        this.lineFeedBytes = fileFormat.lineFeedChar().getBytes(charset);
+
+        // カラムの定義を生成する。
+        FileLineObjectMetadata metadata = BinaryRecordSchema.inputMetadata(
+                clazz, fileName);
+        this.fields = metadata.getFields();
+        this.methods = metadata.getMethods();
+        int size = fields.length;
+        this.columnIndexs = new int[size];
+        this.columnOffsets = new int[size];
+        this.columnBytes = new int[size];
+        this.columnFormats = new String[size];
+        this.numberEncodings = new NumberEncoding[size];
+        this.scales = new int[size];
+        this.trimTypes = new TrimType[size];
+        this.trimChars = new char[size];
+        this.paddingTypes = new PaddingType[size];
+        this.paddingChars = new char[size];
+        this.stringConverters = new StringConverter[size];
+        this.columnParsers = new ColumnParser[size];
+        this.stringCaches = new ColumnStringCache[size];
+        this.constraintCheckers = new ColumnConstraintChecker[size];
+        int[] bytesByIndex = new int[size];
+        for (int i = 0; i < size; i++) {
+            InputFileColumn inputFileColumn = fields[i].getAnnotation(
+                    InputFileColumn.class);
+            if (inputFileColumn.bytes() <= 0) {
+                throw new FileException("bytes is not set "
+                        + "or a number equal to or less than 0 is set.", new IllegalStateException(), fileName);
+            }
+            columnIndexs[i] = inputFileColumn.columnIndex();
+            columnBytes[i] = inputFileColumn.bytes();
+            bytesByIndex[columnIndexs[i]] = columnBytes[i];
+            columnFormats[i] = inputFileColumn.columnFormat();
+            numberEncodings[i] = inputFileColumn.numberEncoding();
+            trimTypes[i] = inputFileColumn.trimType();
+            trimChars[i] = inputFileColumn.trimChar();
+            paddingTypes[i] = inputFileColumn.paddingType();
+            paddingChars[i] = inputFileColumn.paddingChar();
+            if (inputFileColumn.dictionary()
+                    && numberEncodings[i] == NumberEncoding.TEXT) {
+                stringCaches[i] = new ColumnStringCache();
+            }
+            if (numberEncodings[i] == NumberEncoding.TEXT) {
+                constraintCheckers[i] = ColumnConstraintChecker.create(
+                        inputFileColumn, encoding);
+            }
+            try {
+                stringConverters[i] = inputFileColumn.stringConverter()
+                        .newInstance();
+            } catch (InstantiationException e) {
+                throw new FileLineException("Failed in an instantiate of a stringConverter.", e, fileName, -1, fields[i]
+                        .getName(), columnIndexs[i]);
+            } catch (IllegalAccessException e) {
+                throw new FileLineException("Failed in an instantiate of a stringConverter.", e, fileName, -1, fields[i]
+                        .getName(), columnIndexs[i]);
+            }
+            if (numberEncodings[i] == NumberEncoding.TEXT) {
+                columnParsers[i] = columnParserMap.get(fields[i].getType()
+                        .getName());
+                if (columnParsers[i] == null) {
+                    throw new FileException("There is a type which isn't supported in a "
+                            + "mapping target field in FileLineObject.", new IllegalStateException(), fileName);
+                }
+            } else {
+                scales[i] = checkNumberField(fields[i], columnFormats[i],
+                        fileName);
+            }
+        }
+        int totalBytes = 0;
+        int[] offsetsByIndex = new int[size];
+        for (int i = 0; i < size; i++) {
+            offsetsByIndex[i] = totalBytes;
+            totalBytes += bytesByIndex[i];
+        }
+        for (int i = 0; i < size; i++) {
+            columnOffsets[i] = offsetsByIndex[columnIndexs[i]];
+        }
+        this.recordBytes = totalBytes + lineFeedBytes.length;
+        this.record = new byte[recordBytes];
+
+        int headerLineCount = fileFormat.headerLineCount();
+        int trailerLineCount = fileFormat.trailerLineCount();
+        if (inputStream != null) {
+            // 入力ストリームはシークできないため、ヘッダ部を読み込み、トレイラ部の行数分のレコードを先読みする。
+            this.file = null;
+            this.dataOffset = 0L;
+            this.dataLineCount = -1L;
+            this.trailerQueue = new ArrayDeque<byte[]>(trailerLineCount + 1);
+            this.nextRecord = new byte[recordBytes];
+            if (0 < readAheadBufferCount) {
+                input = new ReadAheadInputStream(inputStream, Math.max(ReadAheadInputStream.DEFAULT_BUFFER_SIZE, recordBytes), readAheadBufferCount);
+            } else {
+                input = new BufferedInputStream(inputStream, Math.max(8192,
+                        recordBytes));
+            }
+            try {
+                List<String> lines = new ArrayList<String>();
+                for (int i = 0; i < headerLineCount + trailerLineCount; i++) {
+                    byte[] buffer = i < headerLineCount ? record
+                            : new byte[recordBytes];
+                    if (!readRecord(buffer)) {
+                        throw new FileException("Header part or trailer part is shorter than line count.", new IllegalStateException(), fileName);
+                    }
+                    if (i < headerLineCount) {
+                        lines.add(decodeTextRecord(buffer));
+                    } else {
+                        trailerQueue.add(buffer);
+                    }
+                }
+                this.header = Collections.unmodifiableList(lines);
+            } catch (IOException e) {
+                closeQuietly();
+                throw new FileException("Processing of reader was failed.", e, fileName);
+            } catch (FileException e) {
+                closeQuietly();
+                throw e;
+            }
+            return;
+        }
+
+        // ヘッダ部、トレイラ部を読み込み、データ部の範囲を求める。
+        this.trailerQueue = null;
+        try {
+            this.file = new RandomAccessFile(fileName, "r");
+        } catch (FileNotFoundException e) {
+            throw new FileException("Failed in generation of reader.", e, fileName);
+        }
+        try {
+            long length = file.length();
+            if (length % recordBytes != 0) {
+                throw new FileException("Data size is not a multiple of record bytes.", new IllegalStateException(), fileName);
+            }
+            long recordCount = length / recordBytes;
+            if (recordCount < headerLineCount + trailerLineCount) {
+                throw new FileException("Header part or trailer part is shorter than line count.", new IllegalStateException(), fileName);
+            }
+            this.dataOffset = (long) headerLineCount * recordBytes;
+            this.dataLineCount = recordCount - headerLineCount
+                    - trailerLineCount;
+            this.header = readTextRecords(0L, headerLineCount);
+            this.trailer = readTextRecords(dataOffset + dataLineCount
+                    * recordBytes, trailerLineCount);
+            openInput(0);
+        } catch (IOException e) {
+            closeQuietly();
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        } catch (FileException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    /**
+     * パック10進数、ゾーン10進数のカラムの属性を検証し、小数点以下の桁数を取得する。
+     * @param field 属性
+     * @param columnFormat カラムのフォーマット
+     * @param fileName ファイル名
+     * @return 小数点以下の桁数
+     * @throws FileException 対応していない型の属性の場合
+     */
+    static int checkNumberField(Field field, String columnFormat,
+            String fileName) {
+        Class<?> type = field.getType();
+        int scale = ColumnarFileLineReader.getFractionDigits(columnFormat);
+        if (type == BigDecimal.class) {
+            return scale;
+        }
+        if (type != int.class && type != Integer.class && type != long.class
+                && type != Long.class && type != short.class
+                && type != Short.class) {
+            throw new FileException("There is a type which isn't supported in a "
+                    + "mapping target field in FileLineObject.", new IllegalStateException(), fileName);
+        }
+        if (scale != 0) {
+            throw new FileException("columnFormat with fraction digits is not supported for integer field. field: "
+                    + field.getName(), new IllegalStateException(), fileName);
+        }
+        return 0;
+    }
+
+    /**
+     * 指定位置からヘッダ部・トレイラ部のレコードを読み込み、文字列に変換する。
+     * @param position 読込開始位置
+     * @param count レコード数
+     * @return 文字列リスト
+     * @throws IOException 読込に失敗した場合
+     */
+    private List<String> readTextRecords(long position,
+            int count) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        file.seek(position);
+        for (int i = 0; i < count; i++) {
+            file.readFully(record);
+            lines.add(decodeTextRecord(record));
+        }
+        return Collections.unmodifiableList(lines);
+    }
+
+    /**
+     * ヘッダ部・トレイラ部のレコードを文字列に変換し、末尾の空白を除去する。
+     * @param bytes 1レコード分のバイト列
+     * @return 文字列
+     */
+    private String decodeTextRecord(byte[] bytes) {
+        String line = new String(bytes, 0, recordBytes - lineFeedBytes.length,
+                charset);
+        int end = line.length();
+        while (0 < end && line.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return line.substring(0, end);
+    }
+
+    /**
+     * 入力ストリームから1レコード分のバイト列を読み込む。
+     * @param buffer 格納先
+     * @return 読み込んだ場合は<code>true</code>、レコードの先頭で終端に達した場合は<code>false</code>
+     * @throws IOException 読込に失敗した場合
+     * @throws FileException レコードの途中で終端に達した場合
+     */
+    private boolean readRecord(byte[] buffer) throws IOException {
+        int read = 0;
+        while (read < recordBytes) {
+            int n = input.read(buffer, read, recordBytes - read);
+            if (n < 0) {
+                if (read == 0) {
+                    return false;
+                }
+                throw new FileException("Data size is not a multiple of record bytes.", new IllegalStateException(), fileName);
+            }
+            read += n;
+        }
+        return true;
+    }
+
+    /**
+     * 次のデータ行のレコードを読み込む。
+     * <p>
+     * 入力ストリームから読み込む場合は、先読みしたレコードのうち最も古いものをデータ行とし、
+     * {@link #hasNext()}で先読みしたレコードを先読みの末尾に加える。
+     * </p>
+     * @throws IOException 読込に失敗した場合
+     */
+    private void readDataRecord() throws IOException {
+        if (file != null) {
+            if (!readRecord(record)) {
+                throw new FileException("The data which can be acquired doesn't exist.", new IllegalStateException(), fileName);
+            }
+            return;
+        }
+        byte[] data = nextRecord;
+        if (!trailerQueue.isEmpty()) {
+            trailerQueue.add(nextRecord);
+            data = trailerQueue.poll();
+        }
+        System.arraycopy(data, 0, record, 0, recordBytes);
+        nextRecord = data;
+        nextRecordRead = false;
+    }
+
+    /**
+     * データ部の指定行から読み込む入力ストリームを生成する。
+     * <p>
+     * 先読みする場合は、先読みスレッドの中断でファイルのチャネルが閉じられないよう別のストリームで開き、
+     * データ部の終端までを先読みする。
+     * </p>
+     * @param lineCount 読込開始行(0始まり)
+     * @throws IOException シークに失敗した場合
+     */
+    private void openInput(long lineCount) throws IOException {
+        long position = dataOffset + lineCount * recordBytes;
+        if (0 < readAheadBufferCount) {
+            closeInput();
+            FileInputStream fileInputStream = new FileInputStream(fileName);
+            try {
+                fileInputStream.getChannel().position(position);
+            } catch (IOException e) {
+                try {
+                    fileInputStream.close();
+                } catch (IOException ce) {
+                    // シーク処理の例外を上書きしないため、クローズ時の例外はハンドリングしない
+                }
+                throw e;
+            }
+            input = new ReadAheadInputStream(new BoundedInputStream(fileInputStream, (dataLineCount
+                    - lineCount) * recordBytes), Math.max(ReadAheadInputStream.DEFAULT_BUFFER_SIZE, recordBytes), readAheadBufferCount);
+            return;
+        }
+        file.getChannel().position(position);
+        input = new BufferedInputStream(Channels.newInputStream(file
+                .getChannel()), Math.max(8192, recordBytes));
+    }
+
+    /**
+     * 先読みしている入力ストリーム、または引数で指定された入力ストリームをクローズする。
+     * @throws IOException クローズに失敗した場合
+     */
+    private void closeInput() throws IOException {
+        if ((0 < readAheadBufferCount || file == null) && input != null) {
+            InputStream current = input;
+            input = null;
+            current.close();
+        }
+    }
+
+    /**
+     * 次の行のレコードがあるかどうか確認する。
+     * @return 次の行のレコードがある場合は<code>true</code>
+     */
+    @Override
+    public boolean hasNext() {
+        if (file != null) {
+            return currentLineCount < dataLineCount;
+        }
+        if (nextRecordRead) {
+            return true;
+        }
+        if (trailer != null) {
+            return false;
+        }
+        try {
+            if (readRecord(nextRecord)) {
+                nextRecordRead = true;
+                return true;
+            }
+        } catch (IOException e) {
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        }
+
+        // 入力ストリームの終端に達した場合は、先読みしたレコードをトレイラ部とする。
+        List<String> lines = new ArrayList<String>();
+        for (byte[] buffer : trailerQueue) {
+            lines.add(decodeTextRecord(buffer));
+        }
+        trailerQueue.clear();
+        trailer = Collections.unmodifiableList(lines);
+        return false;
+    }
+
+    /**
+     * 次の行のレコードをファイル行オブジェクトに格納して返却する。
+     * @return ファイル行オブジェクト
+     * @throws FileException ファイル行オブジェクトの生成に失敗した場合。
+     * @throws FileLineException カラムの変換に失敗した場合。
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new FileLineException("The data which can be acquired doesn't exist.", new NoSuchElementException(), fileName, currentLineCount
+                    + 1);
+        }
+        try {
+            readDataRecord();
+        } catch (IOException e) {
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        }
+        currentLineCount++;
+
+        // 行区切り文字の位置を確認し、レコードの位置ずれを検出する。
+        int textBytes = recordBytes - lineFeedBytes.length;
+        for (int i = 0; i < lineFeedBytes.length; i++) {
+            if (record[textBytes + i] != lineFeedBytes[i]) {
+                throw new FileLineException("Line feed is not found at the end of record.", new IllegalStateException(), fileName, currentLineCount);
+            }
+        }
+
+        T fileLineObject = null;
+        try {
+            fileLineObject = clazz.newInstance();
+        } catch (InstantiationException e) {
+            throw new FileException("Failed in an instantiate of a FileLineObject.", e, fileName);
+        } catch (IllegalAccessException e) {
+            throw new FileException("Failed in an instantiate of a FileLineObject.", e, fileName);
+        }
+
+        for (int i = 0; i < fields.length; i++) {
+            try {
+                if (numberEncodings[i] == NumberEncoding.TEXT) {
+                    String columnString = null;
+                    if (stringCaches[i] != null) {
+                        // 同じバイト列のカラムは文字コードの変換を行わずにキャッシュした文字列を利用する。
+                        columnString = stringCaches[i].get(record,
+                                columnOffsets[i], columnBytes[i]);
+                    }
+                    if (columnString == null) {
+                        columnString = decodeText(i);
+                        if (stringCaches[i] != null) {
+                            stringCaches[i].put(record, columnOffsets[i],
+                                    columnBytes[i], columnString);
+                        }
+                    }
+                    columnParsers[i].parse(columnString, fileLineObject,
+                            methods[i], columnFormats[i]);
+                } else {
+                    methods[i].invoke(fileLineObject, decodeNumber(i));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
+                        .getName(), columnIndexs[i]);
+            } catch (IllegalAccessException e) {
+                throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
+                        .getName(), columnIndexs[i]);
+            } catch (InvocationTargetException e) {
+                throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
+                        .getName(), columnIndexs[i]);
+            } catch (ParseException e) {
+                throw new FileLineException("Failed in coluomn data parsing.", e, fileName, currentLineCount, fields[i]
+                        .getName(), columnIndexs[i]);
+            }
+        }
+        return fileLineObject;
+    }
+
+    /**
+     * 文字カラムのバイト列を文字列に変換し、トリム処理・制約の検査・パディング処理・文字列変換処理を行う。
+     * @param i カラムの定義順
+     * @return 処理後の文字列
+     * @throws FileColumnConstraintException カラムの制約を満たさない場合。
+     */
+    private String decodeText(int i) {
+        String columnString = new String(record, columnOffsets[i], columnBytes[i], charset);
+        columnString = FileDAOUtility.trim(columnString, fileEncoding,
+                trimChars[i], trimTypes[i]);
+        if (constraintCheckers[i] != null) {
+            ColumnConstraint constraint = constraintCheckers[i].check(
+                    columnString);
+            if (constraint != null) {
+                throw new FileColumnConstraintException("Column data violates a constraint.", fileName, currentLineCount, fields[i]
+                        .getName(), columnIndexs[i], constraint, columnString, constraintCheckers[i]
+                                .getMaxBytes());
+            }
+        }
+        columnString = FileDAOUtility.padding(columnString, fileEncoding,
+                columnBytes[i], paddingChars[i], paddingTypes[i]);
+        return stringConverters[i].convert(columnString);
+    }
+
+    /**
+     * パック10進数、ゾーン10進数のカラムを属性の型の値に変換する。
+     * @param i 属性のインデックス
+     * @return 変換結果
+     * @throws NumberFormatException 変換に失敗した場合、または属性の型の範囲を超える場合
+     */
+    private Object decodeNumber(int i) {
+        boolean packed = numberEncodings[i] == NumberEncoding.PACKED;
+        Class<?> type = fields[i].getType();
+        if (type == BigDecimal.class) {
+            return packed ? HostDecimalCodec.decodePacked(record,
+                    columnOffsets[i], columnBytes[i], scales[i])
+                    : HostDecimalCodec.decodeZoned(record, columnOffsets[i],
+                            columnBytes[i], scales[i]);
+        }
+        long value = packed ? HostDecimalCodec.decodePacked(record,
+                columnOffsets[i], columnBytes[i])
+                : HostDecimalCodec.decodeZoned(record, columnOffsets[i],
+                        columnBytes[i]);
+        if (type == long.class || type == Long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == int.class || type == Integer.class) {
+            if (value < Integer.MIN_VALUE || Integer.MAX_VALUE < value) {
+                throw new NumberFormatException("Value is out of range of int. value: "
+                        + value);
+            }
+            return Integer.valueOf((int) value);
+        }
+        if (value < Short.MIN_VALUE || Short.MAX_VALUE < value) {
+            throw new NumberFormatException("Value is out of range of short. value: "
+                    + value);
+        }
+        return Short.valueOf((short) value);
+    }
+
+    /**
+     * サポートしない。
+     * @throws UnsupportedOperationException このメソッドはサポートしない。
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove() isn't supported.");
+    }
+
+    /**
+     * ヘッダ部の取得を行う。
+     * @return ヘッダ部の文字列リスト
+     */
+    @Override
+    public List<String> getHeader() {
+        return header;
+    }
+
+    /**
+     * トレイラ部の取得を行う。
+     * <p>
+     * 入力ストリームから読み込む場合は、残っているデータ部を読み飛ばしてトレイラ部を取得する。
+     * 以降はデータ部を取得することは出来ない。
+     * </p>
+     * @return トレイラ部の文字列リスト
+     * @throws FileException データ部の読み飛ばしに失敗した場合。
+     */
+    @Override
+    public List<String> getTrailer() {
+        while (trailer == null && hasNext()) {
+            try {
+                readDataRecord();
+            } catch (IOException e) {
+                throw new FileException("Processing of reader was failed.", e, fileName);
+            }
+        }
+        return trailer;
+    }
+
+    /**
+     * データ部のデータを読み飛ばす。
+     * <p>
+     * レコードのバイト数は一定のため、読み飛ばした位置へシークする。
+     * 入力ストリームから読み込む場合は、先頭から順に読み飛ばす。
+     * </p>
+     * @param skipLines 読み飛ばす行数
+     */
+    @Override
+    public void skip(int skipLines) {
+        if (file == null) {
+            for (int i = 0; i < skipLines; i++) {
+                if (!hasNext()) {
+                    throw new FileLineException("The data which can be acquired doesn't exist.", new NoSuchElementException(), fileName, currentLineCount
+                            + 1);
+                }
+                try {
+                    readDataRecord();
+                } catch (IOException e) {
+                    throw new FileException("Processing of reader was failed.", e, fileName);
+                }
+                currentLineCount++;
+            }
+            return;
+        }
+        if (dataLineCount < (long) currentLineCount + skipLines) {
+            throw new FileLineException("The data which can be acquired doesn't exist.", new NoSuchElementException(), fileName, (int) dataLineCount
+                    + 1);
+        }
+        currentLineCount += skipLines;
+        try {
+            openInput(currentLineCount);
+        } catch (IOException e) {
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        }
+    }
+
+    /**
+     * ファイルをクローズする。
+     */
+    @Override
+    public void closeFile() {
+        try {
+            try {
+                closeInput();
+            } finally {
+                if (file != null) {
+                    file.close();
+                }
+            }
+        } catch (IOException e) {
+            throw new FileException("Processing of reader was failed.", e, fileName);
+        }
+    }
+
+    /**
+     * 例外を通知中にファイルをクローズする。
+     */
+    private void closeQuietly() {
+        try {
+            closeInput();
+        } catch (IOException e) {
+            // 通知中の例外を上書きしないため、クローズ時の例外はハンドリングしない
+        }
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            // 通知中の例外を上書きしないため、クローズ時の例外はハンドリングしない
+        }
+    }
+
+    /**
+     * 読み込んだデータ部の行数を取得する。
+     * @return 読み込んだデータ部の行数
+     */
+    public int getCurrentLineCount() {
+        return currentLineCount;
+    }
+}
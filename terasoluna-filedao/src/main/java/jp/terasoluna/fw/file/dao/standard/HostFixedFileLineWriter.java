@@ -0,0 +1,525 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import jp.terasoluna.fw.file.annotation.CompressionType;
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.NumberEncoding;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+import jp.terasoluna.fw.file.annotation.PaddingType;
+import jp.terasoluna.fw.file.annotation.StringConverter;
+import jp.terasoluna.fw.file.annotation.TrimType;
+import jp.terasoluna.fw.file.dao.BatchFileLineWriter;
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
+
+/**
+ * ホスト形式の固定長ファイル用のファイルアクセス(データ書込)クラス。
+ * <p>
+ * ファイル行オブジェクトの値を1レコード分のバイト列に変換し、EBCDICなどの文字コードで
+ * パック10進数・ゾーン10進数の数値カラムを含む固定長ファイルに書き込む。<br>
+ * <code>@OutputFileColumn</code>の<code>numberEncoding</code>がPACKED、ZONEDのカラムは
+ * {@link HostDecimalCodec}で数値から直接バイト列に変換する。
+ * TEXTのカラムは{@link FixedFileLineWriter}と同様にカラムフォーマッタ、トリム、パディング、文字列変換を行い、
+ * ファイルエンコーディングでバイト列に変換する。
+ * </p>
+ * <p>
+ * 行区切り文字は未設定の場合はレコードの間に区切りを出力せず、設定した場合はファイルエンコーディングで変換して出力する。<br>
+ * ヘッダ部、トレイラ部の文字列はデータ部と同じバイト数になるよう、末尾を空白で埋めて出力する。
+ * </p>
+ * <b>※注意事項</b><br>
+ * PACKED、ZONEDのカラムの値がnullの場合は例外とする。<br>
+ * 圧縮ファイルには対応しない。
+ * @see jp.terasoluna.fw.file.dao.standard.HostDecimalCodec
+ * @see jp.terasoluna.fw.file.dao.standard.HostFixedFileLineIterator
+ */
+public class HostFixedFileLineWriter<T> implements BatchFileLineWriter<T> {
+
+    /**
+     * 行番号の初期値。
+     */
+    private static final int INITIAL_LINE_NO = -1;
+
+    /**
+     * ファイル名。
+     */
+    private final String fileName;
+
+    /**
+     * ファイルエンコーディング。
+     */
+    private final String fileEncoding;
+
+    /**
+     * ファイルエンコーディングの文字セット。
+     */
+    private final Charset charset;
+
+    /**
+     * ファイル行オブジェクトの属性。
+     */
+    private final Field[] fields;
+
+    /**
+     * 属性のgetterメソッド。
+     */
+    private final Method[] methods;
+
+    /**
+     * カラムインデックス。
+     */
+    private final int[] columnIndexs;
+
+    /**
+     * レコード内のカラムの開始位置。
+     */
+    private final int[] columnOffsets;
+
+    /**
+     * カラムのバイト数。
+     */
+    private final int[] columnBytes;
+
+    /**
+     * カラムのフォーマット。
+     */
+    private final String[] columnFormats;
+
+    /**
+     * 数値の符号化種別。
+     */
+    private final NumberEncoding[] numberEncodings;
+
+    /**
+     * 小数点以下の桁数。
+     */
+    private final int[] scales;
+
+    /**
+     * トリム種別。
+     */
+    private final TrimType[] trimTypes;
+
+    /**
+     * トリム文字。
+     */
+    private final char[] trimChars;
+
+    /**
+     * パディング種別。
+     */
+    private final PaddingType[] paddingTypes;
+
+    /**
+     * パディング文字。
+     */
+    private final char[] paddingChars;
+
+    /**
+     * 文字列変換ルール。
+     */
+    private final StringConverter[] stringConverters;
+
+    /**
+     * 文字カラムのカラムフォーマッタ。
+     */
+    private final ColumnFormatter[] columnFormatters;
+
+    /**
+     * 行区切り文字のバイト列。
+     */
+    private final byte[] lineFeedBytes;
+
+    /**
+     * 1レコード分のバイト列。
+     */
+    private final byte[] record;
+
+    /**
+     * 空白のバイト列。
+     */
+    private final byte[] spaceBytes;
+
+    /**
+     * 出力ストリーム。
+     */
+    private final OutputStream output;
+
+    /**
+     * 書き込んだデータ部の行数。
+     */
+    private int currentLineCount = 0;
+
+    /**
+     * データ部の出力が開始されているかどうか。
+     */
+    private boolean writeData = false;
+
+    /**
+     * トレイラ部の出力が開始されているかどうか。
+     */
+    private boolean writeTrailer = false;
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param columnFormatterMap カラムフォーマッタを格納するマップ
+     * @throws FileException 初期化処理に失敗した場合
+     */
+    public HostFixedFileLineWriter(String fileName, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterMap) {
+        this(fileName, null, clazz, columnFormatterMap);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりにチャネルへ書き込む。チャネルは{@link #closeFile()}でクローズされる。<br>
+     * <code>@FileFormat</code>の<code>overWriteFlg</code>は利用しない。
+     * @param channel 出力先のチャネル
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param columnFormatterMap カラムフォーマッタを格納するマップ
+     * @throws FileException 初期化処理に失敗した場合
+     */
+    public HostFixedFileLineWriter(WritableByteChannel channel,
+            Class<T> clazz, Map<String, ColumnFormatter> columnFormatterMap) {
+        this(null, AbstractFileLineWriter.checkChannel(channel), clazz,
+                columnFormatterMap);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * チャネルが<code>null</code>の場合はファイル名のファイルへ、それ以外の場合はチャネルへ書き込む。
+     * @param fileName ファイル名
+     * @param channel 出力先のチャネル
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param columnFormatterMap カラムフォーマッタを格納するマップ
+     * @throws FileException 初期化処理に失敗した場合
+     */
+    private HostFixedFileLineWriter(String fileName,
+            WritableByteChannel channel, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterMap) {
+        if (channel == null && (fileName == null || "".equals(fileName))) {
+            throw new FileException("fileName is required.", new IllegalArgumentException(), fileName);
+        }
+        if (clazz == null) {
+            throw new FileException("clazz is required.", new IllegalArgumentException(), fileName);
+        }
+        if (columnFormatterMap == null || columnFormatterMap.isEmpty()) {
+            throw new FileException("columnFormatterMap is required.", new IllegalArgumentException(), fileName);
+        }
+        FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
+        if (fileFormat == null) {
+            throw new FileException("FileFormat annotation is not found.", new IllegalStateException(), fileName);
+        }
+        if (fileFormat.compression().resolve(
+                fileName) != CompressionType.NONE) {
+            throw new FileException("Compression is not supported.", new IllegalStateException(), fileName);
+        }
+        this.fileName = fileName;
+        String encoding = fileFormat.fileEncoding();
+        if (encoding == null || "".equals(encoding)) {
+            encoding = System.getProperty("file.encoding");
+        }
+        this.fileEncoding = encoding;
+        this.charset = Charset.forName(encoding);
+        this.lineFeedBytes = fileFormat.lineFeedChar().getBytes(charset);
+        this.spaceBytes = " ".getBytes(charset);
+
+        // カラムの定義を生成する。
+        FileLineObjectMetadata metadata = BinaryRecordSchema.outputMetadata(
+                clazz, fileName);
+        this.fields = metadata.getFields();
+        this.methods = metadata.getMethods();
+        int size = fields.length;
+        this.columnIndexs = new int[size];
+        this.columnOffsets = new int[size];
+        this.columnBytes = new int[size];
+        this.columnFormats = new String[size];
+        this.numberEncodings = new NumberEncoding[size];
+        this.scales = new int[size];
+        this.trimTypes = new TrimType[size];
+        this.trimChars = new char[size];
+        this.paddingTypes = new PaddingType[size];
+        this.paddingChars = new char[size];
+        this.stringConverters = new StringConverter[size];
+        this.columnFormatters = new ColumnFormatter[size];
+        int[] bytesByIndex = new int[size];
+        for (int i = 0; i < size; i++) {
+            OutputFileColumn outputFileColumn = fields[i].getAnnotation(
+                    OutputFileColumn.class);
+            if (outputFileColumn.bytes() <= 0) {
+                throw new FileException("bytes is not set "
+                        + "or a number equal to or less than 0 is set.", new IllegalStateException(), fileName);
+            }
+            columnIndexs[i] = outputFileColumn.columnIndex();
+            columnBytes[i] = outputFileColumn.bytes();
+            bytesByIndex[columnIndexs[i]] = columnBytes[i];
+            columnFormats[i] = outputFileColumn.columnFormat();
+            numberEncodings[i] = outputFileColumn.numberEncoding();
+            trimTypes[i] = outputFileColumn.trimType();
+            trimChars[i] = outputFileColumn.trimChar();
+            paddingTypes[i] = outputFileColumn.paddingType();
+            paddingChars[i] = outputFileColumn.paddingChar();
+            try {
+                stringConverters[i] = outputFileColumn.stringConverter()
+                        .newInstance();
+            } catch (InstantiationException e) {
+                throw new FileLineException("Failed in an instantiate of a stringConverter.", e, fileName, INITIAL_LINE_NO, fields[i]
+                        .getName(), columnIndexs[i]);
+            } catch (IllegalAccessException e) {
+                throw new FileLineException("Failed in an instantiate of a stringConverter.", e, fileName, INITIAL_LINE_NO, fields[i]
+                        .getName(), columnIndexs[i]);
+            }
+            if (numberEncodings[i] == NumberEncoding.TEXT) {
+                columnFormatters[i] = columnFormatterMap.get(methods[i]
+                        .getReturnType().getName());
+                if (columnFormatters[i] == null) {
+                    throw new FileException("There is a type which isn't supported in a "
+                            + "mapping target field in FileLineObject.", new IllegalStateException(), fileName);
+                }
+            } else {
+                scales[i] = HostFixedFileLineIterator.checkNumberField(
+                        fields[i], columnFormats[i], fileName);
+            }
+        }
+        int totalBytes = 0;
+        int[] offsetsByIndex = new int[size];
+        for (int i = 0; i < size; i++) {
+            offsetsByIndex[i] = totalBytes;
+            totalBytes += bytesByIndex[i];
+        }
+        for (int i = 0; i < size; i++) {
+            columnOffsets[i] = offsetsByIndex[columnIndexs[i]];
+        }
+        this.record = new byte[totalBytes + lineFeedBytes.length];
+        System.arraycopy(lineFeedBytes, 0, record, totalBytes,
+                lineFeedBytes.length);
+
+        if (channel != null) {
+            this.output = new BufferedOutputStream(Channels.newOutputStream(
+                    channel));
+        } else {
+            try {
+                this.output = new BufferedOutputStream(new FileOutputStream(fileName, !fileFormat
+                        .overWriteFlg()));
+            } catch (FileNotFoundException e) {
+                throw new FileException("Failed in generation of writer.", e, fileName);
+            }
+        }
+    }
+
+    /**
+     * ヘッダ部への書込み処理。
+     * @param headerLine ヘッダ部へ書き込む文字列のリスト
+     */
+    @Override
+    public void printHeaderLine(List<String> headerLine) {
+        if (writeData || writeTrailer) {
+            throw new FileException("Header part should be called before "
+                    + "data part or trailer part.", new IllegalStateException(), fileName);
+        }
+        printList(headerLine);
+    }
+
+    /**
+     * データ部への書き込み処理。
+     * @param t データ部へ書き込むファイル行オブジェクト
+     */
+    @Override
+    public void printDataLine(T t) {
+        if (writeTrailer) {
+            throw new FileException("Header part or data part should be "
+                    + "called before TrailerPart", new IllegalStateException(), fileName);
+        }
+        for (int i = 0; i < fields.length; i++) {
+            try {
+                if (numberEncodings[i] == NumberEncoding.TEXT) {
+                    putText(t, i);
+                } else {
+                    putNumber(t, i);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new FileLineException("Failed in column data formatting.", e, fileName, currentLineCount
+                        + 1, fields[i].getName(), columnIndexs[i]);
+            } catch (ArithmeticException e) {
+                throw new FileLineException("Failed in column data formatting.", e, fileName, currentLineCount
+                        + 1, fields[i].getName(), columnIndexs[i]);
+            } catch (IllegalAccessException e) {
+                throw new FileLineException("Failed in column data formatting.", e, fileName, currentLineCount
+                        + 1, fields[i].getName(), columnIndexs[i]);
+            } catch (InvocationTargetException e) {
+                throw new FileLineException("Failed in column data formatting.", e, fileName, currentLineCount
+                        + 1, fields[i].getName(), columnIndexs[i]);
+            }
+        }
+        try {
+            output.write(record);
+        } catch (IOException e) {
+            throw new FileException("Processing of writer was failed.", e, fileName);
+        }
+        currentLineCount++;
+        writeData = true;
+    }
+
+    /**
+     * 文字カラムをバイト列に変換し、レコードに格納する。
+     * @param t ファイル行オブジェクト
+     * @param i 属性のインデックス
+     * @throws IllegalAccessException getterメソッドの呼び出しに失敗した場合
+     * @throws InvocationTargetException getterメソッドが例外をスローした場合
+     */
+    private void putText(T t, int i) throws IllegalAccessException,
+                                     InvocationTargetException {
+        String columnString = columnFormatters[i].format(t, methods[i],
+                columnFormats[i]);
+        if (columnString == null) {
+            columnString = "";
+        }
+        columnString = FileDAOUtility.trim(columnString, fileEncoding,
+                trimChars[i], trimTypes[i]);
+        columnString = FileDAOUtility.padding(columnString, fileEncoding,
+                columnBytes[i], paddingChars[i], paddingTypes[i]);
+        columnString = stringConverters[i].convert(columnString);
+        byte[] bytes = columnString.getBytes(charset);
+        if (bytes.length != columnBytes[i]) {
+            throw new FileLineException("The data size is different from bytes value of "
+                    + "the set value of the column .", new IllegalStateException(), fileName, currentLineCount
+                            + 1, fields[i].getName(), columnIndexs[i]);
+        }
+        System.arraycopy(bytes, 0, record, columnOffsets[i], bytes.length);
+    }
+
+    /**
+     * 数値カラムをパック10進数、ゾーン10進数に変換し、レコードに格納する。
+     * @param t ファイル行オブジェクト
+     * @param i 属性のインデックス
+     * @throws IllegalAccessException getterメソッドの呼び出しに失敗した場合
+     * @throws InvocationTargetException getterメソッドが例外をスローした場合
+     */
+    private void putNumber(T t, int i) throws IllegalAccessException,
+                                       InvocationTargetException {
+        Object value = methods[i].invoke(t);
+        if (value == null) {
+            throw new IllegalArgumentException("Value of numeric column is null.");
+        }
+        boolean packed = numberEncodings[i] == NumberEncoding.PACKED;
+        if (value instanceof BigDecimal) {
+            if (packed) {
+                HostDecimalCodec.encodePacked((BigDecimal) value, scales[i],
+                        record, columnOffsets[i], columnBytes[i]);
+            } else {
+                HostDecimalCodec.encodeZoned((BigDecimal) value, scales[i],
+                        record, columnOffsets[i], columnBytes[i]);
+            }
+        } else {
+            long longValue = ((Number) value).longValue();
+            if (packed) {
+                HostDecimalCodec.encodePacked(longValue, record,
+                        columnOffsets[i], columnBytes[i]);
+            } else {
+                HostDecimalCodec.encodeZoned(longValue, record,
+                        columnOffsets[i], columnBytes[i]);
+            }
+        }
+    }
+
+    /**
+     * データ部への一括書き込み処理。
+     * @param collection データ部へ書き込むファイル行オブジェクトのコレクション
+     */
+    @Override
+    public void printDataLines(Collection<? extends T> collection) {
+        for (T t : collection) {
+            printDataLine(t);
+        }
+    }
+
+    /**
+     * トレイラ部への書込み処理。
+     * @param trailerLine トレイラ部へ書き込む文字列のリスト
+     */
+    @Override
+    public void printTrailerLine(List<String> trailerLine) {
+        printList(trailerLine);
+        writeTrailer = true;
+    }
+
+    /**
+     * ヘッダ部、トレイラ部の文字列を、データ部と同じバイト数のレコードとして書き込む。
+     * @param stringList 文字列のリスト
+     */
+    private void printList(List<String> stringList) {
+        int textBytes = record.length - lineFeedBytes.length;
+        for (String stringData : stringList) {
+            byte[] bytes = stringData.getBytes(charset);
+            if (textBytes < bytes.length) {
+                throw new FileException("Header or trailer line is longer than record bytes.", new IllegalArgumentException(), fileName);
+            }
+            try {
+                output.write(bytes);
+                for (int i = bytes.length; i < textBytes; i += spaceBytes.length) {
+                    output.write(spaceBytes);
+                }
+                output.write(lineFeedBytes);
+            } catch (IOException e) {
+                throw new FileException("Processing of writer was failed.", e, fileName);
+            }
+        }
+    }
+
+    /**
+     * ファイルクローズ処理。
+     */
+    @Override
+    public void closeFile() {
+        try {
+            try {
+                output.flush();
+            } finally {
+                output.close();
+            }
+        } catch (IOException e) {
+            throw new FileException("Closing of writer was failed.", e, fileName);
+        }
+    }
+
+    /**
+     * 書き込んだデータ部の行数を取得する。
+     * @return 書き込んだデータ部の行数
+     */
+    public int getCurrentLineCount() {
+        return currentLineCount;
+    }
+}
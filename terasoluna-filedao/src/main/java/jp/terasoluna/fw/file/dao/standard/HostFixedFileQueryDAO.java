@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.InputStream;
+
+import jp.terasoluna.fw.file.dao.FileLineIterator;
+
+/**
+ * ホスト形式の固定長ファイル読取用のFileLineIterator生成クラス。
+ * <p>
+ * EBCDICなどの文字コードで、パック10進数・ゾーン10進数の数値カラムを含む固定長ファイルから
+ * ファイル行オブジェクトを生成する<code>FileLineIterator</code>を生成する。
+ * </p>
+ * 行オブジェクトに設定出来るアノテーションの説明は{@link HostFixedFileLineIterator} のJavaDocを参考して下さい。
+ */
+public class HostFixedFileQueryDAO extends AbstractFileQueryDAO {
+
+    /**
+     * FileLineIterator取得用メソッド。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @return ホスト形式の固定長ファイル読取用オブジェクト
+     */
+    @Override
+    public <T> FileLineIterator<T> execute(String fileName, Class<T> clazz) {
+
+        // FileLineIteratorを生成する。
+        HostFixedFileLineIterator<T> fileLineIterator = new HostFixedFileLineIterator<T>(
+                fileName, clazz, getColumnParserMap());
+
+        return fileLineIterator;
+    }
+
+    /**
+     * 入力ストリームを指定したFileLineIterator取得用メソッド。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param inputStream 入力ストリーム
+     * @param clazz パラメータクラス
+     * @return ホスト形式の固定長ファイル読取用オブジェクト
+     */
+    @Override
+    public <T> FileLineIterator<T> execute(InputStream inputStream,
+            Class<T> clazz) {
+
+        // FileLineIteratorを生成する。
+        HostFixedFileLineIterator<T> fileLineIterator = new HostFixedFileLineIterator<T>(
+                inputStream, clazz, getColumnParserMap());
+
+        return fileLineIterator;
+    }
+}
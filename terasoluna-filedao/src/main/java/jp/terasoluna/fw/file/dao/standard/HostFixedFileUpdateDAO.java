@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.nio.channels.WritableByteChannel;
+
+import jp.terasoluna.fw.file.dao.FileLineWriter;
+
+/**
+ * ファイル書込み用のFileLineWriter生成クラス。
+ * <p>
+ * ホスト形式の固定長ファイル用のFileLineWriterを生成する。非同期出力の設定は適用しない。
+ * </p>
+ * 行オブジェクトに設定出来るアノテーションの説明は{@link HostFixedFileLineWriter} のJavaDocを参考して下さい。
+ */
+public class HostFixedFileUpdateDAO extends AbstractFileUpdateDAO {
+
+    /**
+     * FileLineWriter取得用メソッド。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @return ホスト形式の固定長ファイル用のFileLineWriter
+     */
+    @Override
+    public <T> FileLineWriter<T> execute(String fileName, Class<T> clazz) {
+
+        // FileLineWriterを生成する。
+        HostFixedFileLineWriter<T> fileLineWriter = new HostFixedFileLineWriter<T>(
+                fileName, clazz, getColumnFormatterMap());
+
+        return fileLineWriter;
+    }
+
+    /**
+     * チャネルを指定したFileLineWriter取得用メソッド。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @return ホスト形式の固定長ファイル用のFileLineWriter
+     */
+    @Override
+    public <T> FileLineWriter<T> execute(WritableByteChannel channel,
+            Class<T> clazz) {
+
+        // FileLineWriterを生成する。
+        HostFixedFileLineWriter<T> fileLineWriter = new HostFixedFileLineWriter<T>(
+                channel, clazz, getColumnFormatterMap());
+
+        return fileLineWriter;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * 出力カラムバインダインタフェース。
+ * <p>
+ * ファイル行オブジェクトの1属性に対応し、属性の値を取得してカラムの文字列にフォーマットする。<br>
+ * インスタンスは{@link ColumnBinderCompiler}が属性のgetterメソッドとカラムフォーマッタから生成する。
+ * </p>
+ * @see ColumnBinderCompiler
+ */
+public interface OutputColumnBinder {
+
+    /**
+     * ファイル行オブジェクトから属性の値を取得し、フォーマットした文字列を返却する。
+     * @param t ファイル行オブジェクト
+     * @param columnFormat カラムフォーマット用の文字列
+     * @return 文字列
+     * @throws IllegalArgumentException ファイル行オブジェクトのgetterメソッドのアクセスに失敗したとき
+     * @throws IllegalAccessException ファイル行オブジェクトへの設定が失敗したとき
+     * @throws InvocationTargetException ファイル行オブジェクトのメソッドが例外をスローしたとき
+     */
+    String format(Object t, String columnFormat)
+                                                throws IllegalArgumentException,
+                                                IllegalAccessException,
+                                                InvocationTargetException;
+}
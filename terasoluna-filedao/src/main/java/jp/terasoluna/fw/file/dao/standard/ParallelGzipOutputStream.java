@@ -0,0 +1,508 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 並列GZIP圧縮出力ストリーム。
+ * <p>
+ * 書き込まれたデータを一定サイズのブロックに分割し、複数スレッドで並列にDEFLATE圧縮してGZIP形式で出力する。<br>
+ * 各ブロックは直前のデータ(最大32KB)を辞書として圧縮し、SYNC_FLUSHで区切って連結するため、
+ * 出力は1つのGZIPメンバとなり、一般的なGZIP伸張処理でそのまま読み込むことが出来る。<br>
+ * 圧縮結果はブロックの順序どおりに出力し、圧縮待ちのブロック数が上限に達した場合は書込処理を待機させる。<br>
+ * 圧縮スレッドは全てのインスタンスで共有する実行環境のプロセッサ数のデーモンスレッドであり、
+ * 圧縮スレッドごとにDeflaterを使い回す。出力済みのブロックの配列は次のブロックで再利用する。
+ * </p>
+ * <b>※注意事項</b><br>
+ * このクラスはスレッドセーフではない。1つのスレッドから書き込むこと。<br>
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    /**
+     * ブロックサイズのデフォルト値(128KB)。
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    /**
+     * DEFLATEの辞書(スライディングウィンドウ)のサイズ。
+     */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    /**
+     * GZIPヘッダ(圧縮方式:DEFLATE、フラグ・更新日時なし)。
+     */
+    private static final byte[] GZIP_HEADER = new byte[] { 0x1f, (byte) 0x8b,
+            Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0 };
+
+    /**
+     * 圧縮スレッドの待機時間(秒)。この時間を超えて圧縮するブロックがない場合、圧縮スレッドを終了する。
+     */
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    /**
+     * スレッド名の連番。
+     */
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    /**
+     * 圧縮スレッドごとの圧縮処理。
+     */
+    private static final ThreadLocal<Compressor> COMPRESSOR = new ThreadLocal<Compressor>() {
+        @Override
+        protected Compressor initialValue() {
+            return new Compressor();
+        }
+    };
+
+    /**
+     * 全てのインスタンスで共有する圧縮スレッド。<br>
+     * 初回の利用時に生成する。
+     */
+    private static class SharedExecutor {
+
+        /**
+         * 圧縮スレッド。
+         */
+        static final ExecutorService INSTANCE = createExecutor();
+
+        /**
+         * 実行環境のプロセッサ数を上限とし、待機時間を超えると終了するデーモンスレッドのスレッドプールを生成する。
+         * @return 圧縮スレッド
+         */
+        private static ExecutorService createExecutor() {
+            int threads = Runtime.getRuntime().availableProcessors();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "ParallelGzipOutputStream-"
+                            + THREAD_NUMBER.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    /**
+     * 圧縮スレッドごとに使い回すDeflaterとバッファ。
+     */
+    private static class Compressor {
+
+        /**
+         * 圧縮レベルごとのDeflater(添字は圧縮レベル+1)。
+         */
+        private final Deflater[] deflaters = new Deflater[Deflater.BEST_COMPRESSION
+                - Deflater.DEFAULT_COMPRESSION + 1];
+
+        /**
+         * 圧縮結果を受け取るバッファ。
+         */
+        private final byte[] buffer = new byte[8192];
+
+        /**
+         * 圧縮結果。
+         */
+        private final ByteArrayOutputStream result = new ByteArrayOutputStream();
+
+        /**
+         * 初期状態に戻した圧縮レベルのDeflaterを取得する。
+         * @param level 圧縮レベル
+         * @return Deflater
+         */
+        Deflater deflater(int level) {
+            int index = level - Deflater.DEFAULT_COMPRESSION;
+            Deflater deflater = deflaters[index];
+            if (deflater == null) {
+                deflater = new Deflater(level, true);
+                deflaters[index] = deflater;
+            } else {
+                deflater.reset();
+            }
+            return deflater;
+        }
+    }
+
+    /**
+     * 圧縮待ちのブロック。
+     */
+    private static class PendingBlock {
+
+        /**
+         * ブロック。圧縮完了後に再利用する。
+         */
+        private final byte[] data;
+
+        /**
+         * 圧縮結果。
+         */
+        private final Future<byte[]> result;
+
+        /**
+         * コンストラクタ。
+         * @param data ブロック
+         * @param result 圧縮結果
+         */
+        PendingBlock(byte[] data, Future<byte[]> result) {
+            this.data = data;
+            this.result = result;
+        }
+    }
+
+    /**
+     * 出力先のストリーム。
+     */
+    private final OutputStream out;
+
+    /**
+     * ブロックサイズ。
+     */
+    private final int blockSize;
+
+    /**
+     * 圧縮レベル。
+     */
+    private final int level;
+
+    /**
+     * 圧縮待ちのブロック数の上限。
+     */
+    private final int maxPending;
+
+    /**
+     * 圧縮待ちのブロック(書き込んだ順)。
+     */
+    private final Queue<PendingBlock> pending = new ArrayDeque<PendingBlock>();
+
+    /**
+     * 再利用するブロック。
+     */
+    private final Queue<byte[]> freeBlocks = new ArrayDeque<byte[]>();
+
+    /**
+     * 非圧縮データのCRC32。
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * 非圧縮データのバイト数。
+     */
+    private long totalBytes = 0;
+
+    /**
+     * 書込中のブロック。
+     */
+    private byte[] block;
+
+    /**
+     * 書込中のブロックのバイト数。
+     */
+    private int count = 0;
+
+    /**
+     * 直前のデータ(次のブロックの辞書)。
+     */
+    private byte[] dictionary = new byte[0];
+
+    /**
+     * クローズ済みフラグ。
+     */
+    private boolean closed = false;
+
+    /**
+     * コンストラクタ。<br>
+     * 実行環境のプロセッサ数の並列度で、デフォルトのブロックサイズ・圧縮レベルで圧縮する。
+     * @param out 出力先のストリーム
+     * @throws IOException GZIPヘッダの出力に失敗した場合。
+     */
+    public ParallelGzipOutputStream(OutputStream out) throws IOException {
+        this(out, DEFAULT_BLOCK_SIZE, Runtime.getRuntime()
+                .availableProcessors(), Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param out 出力先のストリーム
+     * @param blockSize ブロックサイズ
+     * @param threads 並列に圧縮するブロック数(共有する圧縮スレッドの数を超えて並列には圧縮しない)
+     * @param level 圧縮レベル(-1～9)
+     * @throws IOException GZIPヘッダの出力に失敗した場合。
+     * @throws IllegalArgumentException 引数の設定が間違った場合。
+     */
+    public ParallelGzipOutputStream(OutputStream out, int blockSize,
+            int threads, int level) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("out is required.");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize is larger than 0.");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads is larger than 0.");
+        }
+        if (level < Deflater.DEFAULT_COMPRESSION
+                || Deflater.BEST_COMPRESSION < level) {
+            throw new IllegalArgumentException("level is between -1 and 9.");
+        }
+        this.out = out;
+        this.blockSize = blockSize;
+        this.level = level;
+        this.maxPending = threads * 2;
+        this.block = new byte[blockSize];
+        out.write(GZIP_HEADER);
+    }
+
+    /**
+     * 1バイト書き込む。
+     * @param b 書き込むバイト
+     * @throws IOException 書込処理に失敗した場合。
+     */
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[count++] = (byte) b;
+        crc.update(b);
+        totalBytes++;
+        if (count == blockSize) {
+            submitBlock(false);
+        }
+    }
+
+    /**
+     * バイト配列を書き込む。
+     * @param b 書き込むバイト配列
+     * @param off 開始位置
+     * @param len 書き込むバイト数
+     * @throws IOException 書込処理に失敗した場合。
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        crc.update(b, off, len);
+        totalBytes += len;
+        while (0 < len) {
+            int n = Math.min(len, blockSize - count);
+            System.arraycopy(b, off, block, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == blockSize) {
+                submitBlock(false);
+            }
+        }
+    }
+
+    /**
+     * 書込中のブロックを圧縮し、圧縮済みのデータをすべて出力先に書き込む。
+     * @throws IOException 圧縮処理または書込処理に失敗した場合。
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (0 < count) {
+            submitBlock(false);
+        }
+        drain(0);
+        out.flush();
+    }
+
+    /**
+     * 最後のブロックを圧縮してGZIPトレイラを出力し、ストリームを閉じる。<br>
+     * 圧縮処理で例外が発生した場合も、圧縮待ちのブロックを取り消して出力先のストリームを閉じる。
+     * @throws IOException 圧縮処理または書込処理に失敗した場合。
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            submitBlock(true);
+            drain(0);
+            writeTrailer();
+            out.flush();
+        } finally {
+            closed = true;
+            cancelPending();
+            out.close();
+        }
+    }
+
+    /**
+     * 書込中のブロックを圧縮スレッドに渡す。<br>
+     * 圧縮待ちのブロック数が上限に達している場合は、先頭のブロックの圧縮完了を待って出力する。
+     * @param last 最後のブロックの場合<code>true</code>
+     * @throws IOException 圧縮処理または書込処理に失敗した場合。
+     */
+    private void submitBlock(final boolean last) throws IOException {
+        final byte[] data = block;
+        final int length = count;
+        final byte[] dict = dictionary;
+        pending.add(new PendingBlock(data, SharedExecutor.INSTANCE
+                .submit(new Callable<byte[]>() {
+                    public byte[] call() {
+                        return deflate(data, length, dict, last, level);
+                    }
+                })));
+        dictionary = nextDictionary(dict, data, length);
+        block = freeBlocks.poll();
+        if (block == null) {
+            block = new byte[blockSize];
+        }
+        count = 0;
+        drain(maxPending);
+    }
+
+    /**
+     * 圧縮待ちのブロック数が指定数以下になるまで、先頭のブロックから順に出力する。<br>
+     * 出力したブロックの配列は再利用する。
+     * @param limit 圧縮待ちのブロック数の上限
+     * @throws IOException 圧縮処理または書込処理に失敗した場合。
+     */
+    private void drain(int limit) throws IOException {
+        while (limit < pending.size()) {
+            PendingBlock head = pending.poll();
+            try {
+                out.write(head.result.get());
+                freeBlocks.add(head.data);
+            } catch (InterruptedException e) {
+                InterruptedIOException ie = new InterruptedIOException("Parallel compression was interrupted.");
+                ie.initCause(e);
+                throw ie;
+            } catch (ExecutionException e) {
+                throw new IOException("Parallel compression was failed.", e
+                        .getCause());
+            }
+        }
+    }
+
+    /**
+     * 圧縮待ちのブロックを取り消す。
+     */
+    private void cancelPending() {
+        PendingBlock head;
+        while ((head = pending.poll()) != null) {
+            head.result.cancel(false);
+        }
+    }
+
+    /**
+     * GZIPトレイラ(CRC32と非圧縮データのバイト数、リトルエンディアン)を出力する。
+     * @throws IOException 書込処理に失敗した場合。
+     */
+    private void writeTrailer() throws IOException {
+        byte[] trailer = new byte[8];
+        writeInt((int) crc.getValue(), trailer, 0);
+        writeInt((int) totalBytes, trailer, 4);
+        out.write(trailer);
+    }
+
+    /**
+     * int値をリトルエンディアンでバイト配列に格納する。
+     * @param value 値
+     * @param b 格納先のバイト配列
+     * @param off 格納先の開始位置
+     */
+    private static void writeInt(int value, byte[] b, int off) {
+        b[off] = (byte) value;
+        b[off + 1] = (byte) (value >>> 8);
+        b[off + 2] = (byte) (value >>> 16);
+        b[off + 3] = (byte) (value >>> 24);
+    }
+
+    /**
+     * 直前の辞書とブロックから、次のブロックの辞書(末尾の最大32KB)を生成する。
+     * @param dict 直前の辞書
+     * @param data ブロック
+     * @param length ブロックのバイト数
+     * @return 次のブロックの辞書
+     */
+    private static byte[] nextDictionary(byte[] dict, byte[] data, int length) {
+        int size = Math.min(DICTIONARY_SIZE, dict.length + length);
+        byte[] next = new byte[size];
+        int fromData = Math.min(size, length);
+        int fromDict = size - fromData;
+        System.arraycopy(dict, dict.length - fromDict, next, 0, fromDict);
+        System.arraycopy(data, length - fromData, next, fromDict, fromData);
+        return next;
+    }
+
+    /**
+     * 1ブロックをDEFLATE圧縮する。<br>
+     * 最後のブロック以外はSYNC_FLUSHでバイト境界に揃え、後続のブロックと連結できるようにする。<br>
+     * 呼び出したスレッドのDeflaterとバッファを使い回す。
+     * @param data ブロック
+     * @param length ブロックのバイト数
+     * @param dict 辞書
+     * @param last 最後のブロックの場合<code>true</code>
+     * @param level 圧縮レベル
+     * @return 圧縮したデータ
+     */
+    static byte[] deflate(byte[] data, int length, byte[] dict, boolean last,
+            int level) {
+        Compressor compressor = COMPRESSOR.get();
+        Deflater deflater = compressor.deflater(level);
+        if (0 < dict.length) {
+            deflater.setDictionary(dict);
+        }
+        deflater.setInput(data, 0, length);
+        ByteArrayOutputStream result = compressor.result;
+        byte[] buffer = compressor.buffer;
+        result.reset();
+        int n;
+        if (last) {
+            deflater.finish();
+            while (!deflater.finished()) {
+                n = deflater.deflate(buffer);
+                result.write(buffer, 0, n);
+            }
+        } else {
+            do {
+                n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                result.write(buffer, 0, n);
+            } while (n == buffer.length);
+        }
+        return result.toByteArray();
+    }
+
+    /**
+     * ストリームが閉じられていないことを確認する。
+     * @throws IOException ストリームが閉じられている場合。
+     */
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed.");
+        }
+    }
+}
@@ -0,0 +1,670 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.dao.BatchFileLineWriter;
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineWriter;
+import jp.terasoluna.fw.file.dao.FileUpdateDAO;
+
+/**
+ * 複数ファイルへの振り分け出力用のFileLineWriter。
+ * <p>
+ * ファイル行オブジェクトを{@link FileLinePartitioner}が決定したパーティションのファイルに出力する。
+ * 各パーティションのファイルは、コンストラクタで指定した{@link FileUpdateDAO}が生成する<code>FileLineWriter</code>で出力する。<br>
+ * 各パーティションのファイルを最初に開く時は、ファイル書き込み用DAOと同じく<code>@FileFormat</code>の<code>overWriteFlg</code>に従い、
+ * <code>true</code>の場合は既存のファイルを削除して新規に作成し、<code>false</code>(デフォルト)の場合は既存のファイルに追記する。
+ * ヘッダ部は各パーティションのファイルを最初に開いた時に出力し、トレイラ部はすべてのパーティションのファイルに出力する。
+ * データ行が1件も振り分けられなかったパーティションも、<code>closeFile()</code>でヘッダ部・トレイラ部のみのファイルとして作成する。
+ * </p>
+ * <p>
+ * <b>同時に開くファイル数の上限</b><br>
+ * 同時に開くファイル数の上限を指定した場合、上限を超えるとき最も長く使われていないパーティションのファイルを閉じ、
+ * 再度振り分けられた時に追記モードで開き直す。<br>
+ * ファイル行オブジェクトの<code>@FileFormat</code>の<code>overWriteFlg</code>が<code>true</code>の場合は、
+ * 追記モードで開いたチャネルを{@link AbstractFileUpdateDAO#execute(java.nio.channels.WritableByteChannel, Class)}に渡して開き直す。
+ * このため、ファイル書き込み用DAOは<code>AbstractFileUpdateDAO</code>のサブクラスであること、
+ * 圧縮種別は<code>AUTO</code>以外(またはファイル名が圧縮の拡張子ではない)であることが必要となる。
+ * </p>
+ * <p>
+ * <b>出力スレッド</b><br>
+ * 出力スレッド数を指定した場合、パーティションを出力スレッドに割り当て(パーティション番号をスレッド数で割った余り)、
+ * 振り分けたデータ行を一定件数ごとにまとめてバックグラウンドで出力する。同じパーティションのデータ行は振り分けた順に出力される。
+ * 同時に開くファイル数の上限は出力スレッドごとに均等に割り当てる。<br>
+ * 出力スレッドに渡したファイル行オブジェクトは出力が完了するまで参照されるため、出力後に再利用しないこと。<br>
+ * バックグラウンドで発生したエラーは、以降の出力処理、または<code>closeFile()</code>で例外として通知される。
+ * </p>
+ * <b>※注意事項</b><br>
+ * このクラスはスレッドセーフではない。1つのスレッドから出力すること。<br>
+ * @see jp.terasoluna.fw.file.dao.standard.FileLinePartitioner
+ * @see jp.terasoluna.fw.file.dao.standard.HashFileLinePartitioner
+ * @param <T> ファイル行オブジェクト。
+ */
+public class PartitionedFileLineWriter<T> implements BatchFileLineWriter<T> {
+
+    /**
+     * 出力スレッドにまとめて渡すデータ行の件数。
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * 出力スレッドごとの出力待ちのデータ行のまとまりの数の上限。
+     */
+    private static final int MAX_PENDING_BATCHES = 4;
+
+    /**
+     * スレッド名の連番。
+     */
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    /**
+     * 各パーティションのFileLineWriterを生成するファイル書き込み用DAO。
+     */
+    private final FileUpdateDAO fileUpdateDAO;
+
+    /**
+     * ファイル行オブジェクトクラス。
+     */
+    private final Class<T> clazz;
+
+    /**
+     * パーティションごとのファイル名。
+     */
+    private final String[] fileNames;
+
+    /**
+     * 出力先パーティションの決定処理。
+     */
+    private final FileLinePartitioner<T> partitioner;
+
+    /**
+     * パーティションのファイルをこの出力で開いたことがあるかどうか(パーティションごと)。
+     */
+    private final boolean[] opened;
+
+    /**
+     * パーティションのファイルを最初に開く時に、既存のファイルを削除するかどうか(<code>overWriteFlg</code>)。
+     */
+    private final boolean overWrite;
+
+    /**
+     * ファイルを開き直す場合に、追記モードで開いたチャネルを利用するかどうか。
+     */
+    private final boolean appendByChannel;
+
+    /**
+     * パーティションのグループ(出力スレッドごと。出力スレッドを利用しない場合は1つ)。
+     */
+    private final List<PartitionGroup> groups = new ArrayList<PartitionGroup>();
+
+    /**
+     * 出力スレッド(出力スレッドを利用しない場合は<code>null</code>)。
+     */
+    private final List<ExecutorService> executors;
+
+    /**
+     * 出力スレッドごとの出力待ちのデータ行のまとまりの数を制限するセマフォ。
+     */
+    private final List<Semaphore> pendings;
+
+    /**
+     * 出力スレッドごとに、まとめている途中のデータ行のパーティション番号。
+     */
+    private final List<List<Integer>> batchPartitions;
+
+    /**
+     * 出力スレッドごとに、まとめている途中のデータ行。
+     */
+    private final List<List<T>> batchRecords;
+
+    /**
+     * 出力スレッドで発生したエラー。
+     */
+    private volatile Throwable error = null;
+
+    /**
+     * ヘッダ部の文字列。
+     */
+    private final List<String> headerLine = new ArrayList<String>();
+
+    /**
+     * データ部の出力が開始されたかどうか。
+     */
+    private boolean writeData = false;
+
+    /**
+     * トレイラ部の出力が開始されたかどうか。
+     */
+    private boolean writeTrailer = false;
+
+    /**
+     * 出力したデータ行の件数。
+     */
+    private int currentLineCount = 0;
+
+    /**
+     * コンストラクタ。<br>
+     * 同時に開くファイル数の上限を設けず、出力スレッドを利用せずに出力する。
+     * @param fileUpdateDAO 各パーティションのFileLineWriterを生成するファイル書き込み用DAO
+     * @param clazz ファイル行オブジェクトクラス
+     * @param fileNames パーティションごとのファイル名(リストの順序がパーティションの番号となる)
+     * @param partitioner 出力先パーティションの決定処理
+     */
+    public PartitionedFileLineWriter(FileUpdateDAO fileUpdateDAO,
+            Class<T> clazz, List<String> fileNames,
+            FileLinePartitioner<T> partitioner) {
+        this(fileUpdateDAO, clazz, fileNames, partitioner, 0, 0);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param fileUpdateDAO 各パーティションのFileLineWriterを生成するファイル書き込み用DAO
+     * @param clazz ファイル行オブジェクトクラス
+     * @param fileNames パーティションごとのファイル名(リストの順序がパーティションの番号となる)
+     * @param partitioner 出力先パーティションの決定処理
+     * @param maxOpenFiles 同時に開くファイル数の上限(0の場合は上限なし)
+     * @param writerThreads 出力スレッド数(0の場合は出力スレッドを利用しない。パーティション数、同時に開くファイル数の上限を超える場合はその数とする)
+     */
+    public PartitionedFileLineWriter(FileUpdateDAO fileUpdateDAO,
+            Class<T> clazz, List<String> fileNames,
+            FileLinePartitioner<T> partitioner, int maxOpenFiles,
+            int writerThreads) {
+        if (fileUpdateDAO == null) {
+            throw new IllegalArgumentException("fileUpdateDAO is required.");
+        }
+        if (clazz == null) {
+            throw new IllegalArgumentException("clazz is required.");
+        }
+        if (fileNames == null || fileNames.isEmpty()) {
+            throw new IllegalArgumentException("fileNames is required.");
+        }
+        if (partitioner == null) {
+            throw new IllegalArgumentException("partitioner is required.");
+        }
+        if (maxOpenFiles < 0) {
+            throw new IllegalArgumentException("maxOpenFiles must be 0 or more.");
+        }
+        if (writerThreads < 0) {
+            throw new IllegalArgumentException("writerThreads must be 0 or more.");
+        }
+        this.fileUpdateDAO = fileUpdateDAO;
+        this.clazz = clazz;
+        this.fileNames = fileNames.toArray(new String[fileNames.size()]);
+        this.partitioner = partitioner;
+        this.opened = new boolean[this.fileNames.length];
+
+        // 出力スレッドごとに1ファイル以上開くため、グループ数は同時に開くファイル数の上限以下とする。
+        int groupCount = Math.max(1, Math.min(writerThreads,
+                this.fileNames.length));
+        if (maxOpenFiles > 0) {
+            groupCount = Math.min(groupCount, maxOpenFiles);
+        }
+        int groupMaxOpenFiles = maxOpenFiles / groupCount;
+
+        // ファイルを開き直す場合、overWriteFlgがtrueのファイルはチャネルを追記モードで開いて出力する。
+        FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
+        this.overWrite = fileFormat != null && fileFormat.overWriteFlg();
+        this.appendByChannel = groupMaxOpenFiles > 0
+                && groupMaxOpenFiles * groupCount < this.fileNames.length
+                && fileFormat != null && fileFormat.overWriteFlg();
+        if (appendByChannel) {
+            if (!(fileUpdateDAO instanceof AbstractFileUpdateDAO)) {
+                throw new FileException("fileUpdateDAO must support "
+                        + "WritableByteChannel to reopen partition files.", new IllegalStateException(), this.fileNames[0]);
+            }
+            for (String fileName : this.fileNames) {
+                // チャネルへの出力では拡張子から圧縮種別を判定できない。
+                if (fileFormat.compression().resolve(fileName) != fileFormat
+                        .compression().resolve(null)) {
+                    throw new FileException("compression must be specified "
+                            + "explicitly to reopen partition files.", new IllegalStateException(), fileName);
+                }
+            }
+        }
+
+        for (int i = 0; i < groupCount; i++) {
+            List<Integer> partitions = new ArrayList<Integer>();
+            for (int p = i; p < this.fileNames.length; p += groupCount) {
+                partitions.add(p);
+            }
+            groups.add(new PartitionGroup(partitions, groupMaxOpenFiles));
+        }
+
+        if (writerThreads > 0) {
+            executors = new ArrayList<ExecutorService>();
+            pendings = new ArrayList<Semaphore>();
+            batchPartitions = new ArrayList<List<Integer>>();
+            batchRecords = new ArrayList<List<T>>();
+            for (int i = 0; i < groupCount; i++) {
+                executors.add(Executors.newSingleThreadExecutor(new ThreadFactory() {
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "PartitionedFileLineWriter-"
+                                + THREAD_NUMBER.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                }));
+                pendings.add(new Semaphore(MAX_PENDING_BATCHES));
+                batchPartitions.add(new ArrayList<Integer>(BATCH_SIZE));
+                batchRecords.add(new ArrayList<T>(BATCH_SIZE));
+            }
+        } else {
+            executors = null;
+            pendings = null;
+            batchPartitions = null;
+            batchRecords = null;
+        }
+    }
+
+    /**
+     * ヘッダ部への書込み処理。
+     * <p>
+     * ヘッダ部の文字列を保持し、各パーティションのファイルを最初に開いた時に出力する。
+     * </p>
+     * @param headerLine ヘッダ部へ書き込む文字列のリスト
+     */
+    @Override
+    public void printHeaderLine(List<String> headerLine) {
+        checkError();
+        if (writeData || writeTrailer) {
+            throw new FileException("Header part should be called before "
+                    + "data part or trailer part.", new IllegalStateException(), fileNames[0]);
+        }
+        this.headerLine.addAll(headerLine);
+    }
+
+    /**
+     * データ部への書き込み処理。
+     * @param t データ部へ書き込むファイル行オブジェクト
+     */
+    @Override
+    public void printDataLine(T t) {
+        checkError();
+        if (writeTrailer) {
+            throw new FileException("Header part or data part should be "
+                    + "called before TrailerPart", new IllegalStateException(), fileNames[0]);
+        }
+        int partition = partitioner.getPartition(t, fileNames.length);
+        if (partition < 0 || partition >= fileNames.length) {
+            throw new FileException("Partition is out of range.", new IllegalStateException(), fileNames[0]);
+        }
+        writeData = true;
+        currentLineCount++;
+
+        if (executors == null) {
+            groups.get(0).printDataLine(partition, t);
+            return;
+        }
+        int group = partition % groups.size();
+        batchPartitions.get(group).add(partition);
+        batchRecords.get(group).add(t);
+        if (batchRecords.get(group).size() >= BATCH_SIZE) {
+            flushBatch(group);
+        }
+    }
+
+    /**
+     * データ部への一括書き込み処理。
+     * @param collection データ部へ書き込むファイル行オブジェクトのコレクション
+     */
+    @Override
+    public void printDataLines(Collection<? extends T> collection) {
+        for (T t : collection) {
+            printDataLine(t);
+        }
+    }
+
+    /**
+     * トレイラ部への書込み処理。
+     * <p>
+     * すべてのパーティションのファイルにトレイラ部を出力する。
+     * </p>
+     * @param trailerLine トレイラ部へ書き込む文字列のリスト
+     */
+    @Override
+    public void printTrailerLine(final List<String> trailerLine) {
+        checkError();
+        writeTrailer = true;
+        if (executors == null) {
+            groups.get(0).printTrailerLine(trailerLine);
+            return;
+        }
+        final List<String> lines = new ArrayList<String>(trailerLine);
+        for (int i = 0; i < groups.size(); i++) {
+            flushBatch(i);
+            final PartitionGroup group = groups.get(i);
+            submit(i, new Runnable() {
+                public void run() {
+                    group.printTrailerLine(lines);
+                }
+            }, false);
+        }
+    }
+
+    /**
+     * ファイルクローズ処理。
+     * <p>
+     * 出力スレッドを利用する場合は、すべてのデータ行の出力が完了するまで待機する。<br>
+     * 1件もデータ行が振り分けられなかったパーティションのファイルを作成し、すべてのパーティションのファイルを閉じる。
+     * </p>
+     */
+    @Override
+    public void closeFile() {
+        if (executors == null) {
+            groups.get(0).close();
+            return;
+        }
+        try {
+            for (int i = 0; i < groups.size(); i++) {
+                flushBatch(i);
+                final PartitionGroup group = groups.get(i);
+                submit(i, new Runnable() {
+                    public void run() {
+                        group.close();
+                    }
+                }, true);
+            }
+        } finally {
+            boolean interrupted = false;
+            for (ExecutorService executor : executors) {
+                executor.shutdown();
+            }
+            for (ExecutorService executor : executors) {
+                while (true) {
+                    try {
+                        if (executor.awaitTermination(Long.MAX_VALUE,
+                                TimeUnit.MILLISECONDS)) {
+                            break;
+                        }
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        checkError();
+    }
+
+    /**
+     * 出力したデータ行の件数を取得する。
+     * @return 出力したデータ行の件数
+     */
+    public int getCurrentLineCount() {
+        return currentLineCount;
+    }
+
+    /**
+     * まとめている途中のデータ行を出力スレッドに渡す。
+     * @param index 出力スレッドのインデックス
+     */
+    private void flushBatch(int index) {
+        List<T> records = batchRecords.get(index);
+        if (records.isEmpty()) {
+            return;
+        }
+        final List<Integer> partitions = batchPartitions.get(index);
+        final List<T> batch = records;
+        final PartitionGroup group = groups.get(index);
+        batchPartitions.set(index, new ArrayList<Integer>(BATCH_SIZE));
+        batchRecords.set(index, new ArrayList<T>(BATCH_SIZE));
+        submit(index, new Runnable() {
+            public void run() {
+                for (int i = 0; i < batch.size(); i++) {
+                    group.printDataLine(partitions.get(i), batch.get(i));
+                }
+            }
+        }, false);
+    }
+
+    /**
+     * 出力スレッドに処理を渡す。
+     * <p>
+     * 出力待ちの処理の数が上限に達している場合は、出力が進むまで待機する。
+     * </p>
+     * @param index 出力スレッドのインデックス
+     * @param task 処理
+     * @param always エラー発生後も処理を実行する場合<code>true</code>
+     */
+    private void submit(int index, final Runnable task, final boolean always) {
+        final Semaphore pending = pendings.get(index);
+        try {
+            pending.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileException("Processing of writer was interrupted.", e, fileNames[0]);
+        }
+        executors.get(index).execute(new Runnable() {
+            public void run() {
+                try {
+                    if (always || error == null) {
+                        task.run();
+                    }
+                } catch (Throwable e) {
+                    if (error == null) {
+                        error = e;
+                    }
+                } finally {
+                    pending.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * 出力スレッドで発生したエラーを例外として通知する。
+     */
+    private void checkError() {
+        Throwable e = error;
+        if (e == null) {
+            return;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new FileException("Processing of writer was failed.", (Exception) e, fileNames[0]);
+    }
+
+    /**
+     * 1つのスレッドから出力するパーティションのグループ。
+     * <p>
+     * 開いているファイルを最後に利用した順に保持し、上限を超える場合は最も長く使われていないファイルを閉じる。
+     * </p>
+     */
+    private final class PartitionGroup {
+
+        /**
+         * グループに属するパーティションの番号。
+         */
+        private final List<Integer> partitions;
+
+        /**
+         * 同時に開くファイル数の上限(0の場合は上限なし)。
+         */
+        private final int maxOpenFiles;
+
+        /**
+         * 開いているパーティションのFileLineWriter(最後に利用した順)。
+         */
+        private final LinkedHashMap<Integer, FileLineWriter<T>> openWriters = new LinkedHashMap<Integer, FileLineWriter<T>>(16, 0.75f, true);
+
+        /**
+         * コンストラクタ。
+         * @param partitions グループに属するパーティションの番号
+         * @param maxOpenFiles 同時に開くファイル数の上限
+         */
+        PartitionGroup(List<Integer> partitions, int maxOpenFiles) {
+            this.partitions = partitions;
+            this.maxOpenFiles = maxOpenFiles;
+        }
+
+        /**
+         * パーティションのファイルにデータ行を出力する。
+         * @param partition パーティションの番号
+         * @param t ファイル行オブジェクト
+         */
+        void printDataLine(int partition, T t) {
+            getWriter(partition).printDataLine(t);
+        }
+
+        /**
+         * グループのすべてのパーティションのファイルにトレイラ部を出力する。
+         * @param trailerLine トレイラ部へ書き込む文字列のリスト
+         */
+        void printTrailerLine(List<String> trailerLine) {
+            for (Integer partition : partitions) {
+                getWriter(partition).printTrailerLine(trailerLine);
+            }
+        }
+
+        /**
+         * 開いていないパーティションのファイルを作成し、開いているすべてのファイルを閉じる。
+         * <p>
+         * ファイルを閉じる処理に失敗した場合も、残りのファイルを閉じてから最初の例外をスローする。
+         * </p>
+         */
+        void close() {
+            RuntimeException exception = null;
+            try {
+                for (Integer partition : partitions) {
+                    if (!opened[partition]) {
+                        getWriter(partition);
+                    }
+                }
+            } catch (RuntimeException e) {
+                exception = e;
+            }
+            for (FileLineWriter<T> writer : openWriters.values()) {
+                try {
+                    writer.closeFile();
+                } catch (RuntimeException e) {
+                    if (exception == null) {
+                        exception = e;
+                    }
+                }
+            }
+            openWriters.clear();
+            if (exception != null) {
+                throw exception;
+            }
+        }
+
+        /**
+         * パーティションのFileLineWriterを取得する。
+         * <p>
+         * 開いていない場合は、上限を超えないよう最も長く使われていないファイルを閉じてから開く。
+         * 初めて開く場合は、<code>overWriteFlg</code>が<code>true</code>であれば既存のファイルを削除してから開き、ヘッダ部を出力する。
+         * 開き直す場合は、追記モードで開く。
+         * </p>
+         * @param partition パーティションの番号
+         * @return FileLineWriter
+         */
+        private FileLineWriter<T> getWriter(int partition) {
+            FileLineWriter<T> writer = openWriters.get(partition);
+            if (writer != null) {
+                return writer;
+            }
+            if (maxOpenFiles > 0 && openWriters.size() >= maxOpenFiles) {
+                Iterator<Map.Entry<Integer, FileLineWriter<T>>> it = openWriters
+                        .entrySet().iterator();
+                FileLineWriter<T> eldest = it.next().getValue();
+                it.remove();
+                eldest.closeFile();
+            }
+            if (opened[partition]) {
+                writer = reopen(partition);
+            } else {
+                if (overWrite) {
+                    delete(fileNames[partition]);
+                }
+                writer = fileUpdateDAO.execute(fileNames[partition], clazz);
+            }
+            openWriters.put(partition, writer);
+            if (!opened[partition]) {
+                opened[partition] = true;
+                if (!headerLine.isEmpty()) {
+                    writer.printHeaderLine(headerLine);
+                }
+            }
+            return writer;
+        }
+
+        /**
+         * 閉じたパーティションのファイルを追記モードで開き直す。
+         * @param partition パーティションの番号
+         * @return FileLineWriter
+         */
+        private FileLineWriter<T> reopen(int partition) {
+            if (!appendByChannel) {
+                return fileUpdateDAO.execute(fileNames[partition], clazz);
+            }
+            FileChannel channel = null;
+            try {
+                channel = new FileOutputStream(fileNames[partition], true)
+                        .getChannel();
+            } catch (FileNotFoundException e) {
+                throw new FileException("Failed in generation of writer.", e, fileNames[partition]);
+            }
+            try {
+                return ((AbstractFileUpdateDAO) fileUpdateDAO).execute(channel,
+                        clazz);
+            } catch (RuntimeException e) {
+                try {
+                    channel.close();
+                } catch (IOException ce) {
+                    // 例外を上書きしないため、クローズ時の例外はハンドリングしない
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * パーティションのファイルが存在する場合は削除する。
+         * @param fileName ファイル名
+         */
+        private void delete(String fileName) {
+            File file = new File(fileName);
+            if (file.exists() && !file.delete()) {
+                throw new FileException("Failed in deleting a partition file.", new IllegalStateException(), fileName);
+            }
+        }
+    }
+}
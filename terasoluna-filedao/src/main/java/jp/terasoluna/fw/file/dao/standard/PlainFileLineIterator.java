@@ -16,6 +16,7 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -106,6 +107,23 @@ public class PlainFileLineIterator extends AbstractFileLineIterator<Object> {
         super.init();
     }
 
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりに入力ストリームからデータを読み込む。入力ストリームは{@link #closeFile()}でクローズされる。
+     * @param inputStream 入力ストリーム
+     * @param clazz 結果クラス
+     * @param columnParserMap フォーマット処理リスト
+     */
+    @SuppressWarnings("unchecked")
+    public PlainFileLineIterator(InputStream inputStream,
+            @SuppressWarnings("rawtypes") Class clazz,
+            Map<String, ColumnParser> columnParserMap) {
+        super(inputStream, clazz, columnParserMap);
+
+        // 初期化処理を行う。
+        super.init();
+    }
+
     /**
      * 文字列分割処理。
      * <p>
@@ -142,9 +160,16 @@ public class PlainFileLineIterator extends AbstractFileLineIterator<Object> {
 
     /**
      * データ部のデータを読み飛ばす処理を行う。<br>
+     * レコードオフセットインデックスを利用する場合は、直近の記録位置へシークしてから残りの行を読み飛ばす。<br>
      * @param skipLines 読み飛ばす行数。
      */
     public void skip(int skipLines) {
+        // インデックスを利用する場合は、直近の記録位置へシークしてから残りを読み飛ばす。
+        int seekedLineCount = seekRecord(currentLineCount, currentLineCount
+                + skipLines);
+        skipLines -= seekedLineCount - currentLineCount;
+        currentLineCount = seekedLineCount;
+
         for (int i = 0; i < skipLines; i++) {
             if (!hasNext()) {
                 throw new FileLineException("The data which can be acquired doesn't exist.", new NoSuchElementException(), getFileName(), currentLineCount
@@ -163,7 +188,9 @@ public class PlainFileLineIterator extends AbstractFileLineIterator<Object> {
     @Override
     public List<String> getTrailer() {
         List<String> trailer = super.getTrailer();
-        readTrailer = true;
+        if (!isTrailerSeekFromEnd()) {
+            readTrailer = true;
+        }
         return trailer;
     }
 
@@ -17,6 +17,7 @@
 package jp.terasoluna.fw.file.dao.standard;
 
 import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.Map;
 
 import jp.terasoluna.fw.file.dao.FileException;
@@ -70,10 +71,55 @@ public class PlainFileLineWriter extends AbstractFileLineWriter<String> {
      * @param clazz パラメータクラス
      * @param columnFormatterMap テキスト取得ルール
      */
+    public PlainFileLineWriter(String fileName, @SuppressWarnings("rawtypes") Class clazz,
+            Map<String, ColumnFormatter> columnFormatterMap) {
+        this(fileName, clazz, columnFormatterMap, 0);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数。非同期出力を行わない場合は<code>0</code>。
+     */
     @SuppressWarnings("unchecked")
     public PlainFileLineWriter(String fileName, @SuppressWarnings("rawtypes") Class clazz,
+            Map<String, ColumnFormatter> columnFormatterMap,
+            int asyncBufferCount) {
+        super(fileName, clazz, columnFormatterMap, asyncBufferCount);
+
+        // 初期化処理
+        super.init();
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりにチャネルへ書き込む。チャネルは{@link #closeFile()}でクローズされる。
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     */
+    public PlainFileLineWriter(WritableByteChannel channel,
+            @SuppressWarnings("rawtypes") Class clazz,
             Map<String, ColumnFormatter> columnFormatterMap) {
-        super(fileName, clazz, columnFormatterMap);
+        this(channel, clazz, columnFormatterMap, 0);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりにチャネルへ書き込む。チャネルは{@link #closeFile()}でクローズされる。
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数。非同期出力を行わない場合は<code>0</code>。
+     */
+    @SuppressWarnings("unchecked")
+    public PlainFileLineWriter(WritableByteChannel channel,
+            @SuppressWarnings("rawtypes") Class clazz,
+            Map<String, ColumnFormatter> columnFormatterMap,
+            int asyncBufferCount) {
+        super(channel, clazz, columnFormatterMap, asyncBufferCount);
 
         // 初期化処理
         super.init();
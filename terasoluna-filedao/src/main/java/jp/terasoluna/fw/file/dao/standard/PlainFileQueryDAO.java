@@ -16,6 +16,8 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.io.InputStream;
+
 import jp.terasoluna.fw.file.dao.FileLineIterator;
 
 /**
@@ -44,4 +46,23 @@ public class PlainFileQueryDAO extends AbstractFileQueryDAO {
 
         return (FileLineIterator<T>) fileLineIterator;
     }
+
+    /**
+     * 入力ストリームを指定したFileLineIterator取得用メソッド。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param inputStream 入力ストリーム
+     * @param clazz パラメータクラス
+     * @return ファイル読取用オブジェクト
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> FileLineIterator<T> execute(InputStream inputStream,
+            Class<T> clazz) {
+
+        // FileLineIteratorを生成する。
+        PlainFileLineIterator fileLineIterator = new PlainFileLineIterator(
+                inputStream, clazz, getColumnParserMap());
+
+        return (FileLineIterator<T>) fileLineIterator;
+    }
 }
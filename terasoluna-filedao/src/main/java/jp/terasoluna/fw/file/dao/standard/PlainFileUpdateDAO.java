@@ -16,6 +16,8 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.nio.channels.WritableByteChannel;
+
 import jp.terasoluna.fw.file.dao.FileLineWriter;
 
 /**
@@ -40,7 +42,28 @@ public class PlainFileUpdateDAO extends AbstractFileUpdateDAO {
 
         // FileLineWriterを生成する。
         PlainFileLineWriter fileLineWriter = new PlainFileLineWriter(fileName,
-                clazz, getColumnFormatterMap());
+                clazz, getColumnFormatterMap(),
+                getAsyncBufferCount());
+
+        return (FileLineWriter<T>) fileLineWriter;
+    }
+
+    /**
+     * チャネルを指定したFileLineWriter取得用メソッド。
+     * @param <T> 1行分の文字列を格納するファイル行オブジェクトクラス
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @return ファイル行オブジェクトを用いないファイル出力用のFileLineWriter
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> FileLineWriter<T> execute(WritableByteChannel channel,
+            Class<T> clazz) {
+
+        // FileLineWriterを生成する。
+        PlainFileLineWriter fileLineWriter = new PlainFileLineWriter(channel,
+                clazz, getColumnFormatterMap(),
+                getAsyncBufferCount());
 
         return (FileLineWriter<T>) fileLineWriter;
     }
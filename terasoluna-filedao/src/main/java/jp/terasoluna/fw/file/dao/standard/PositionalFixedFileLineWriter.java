@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jp.terasoluna.fw.file.annotation.CompressionType;
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * 固定長ファイルの位置指定出力用のFileLineWriter。
+ * <p>
+ * 固定長ファイルはすべてのデータ行のバイト数が同じ(各カラムの<code>@OutputFileColumn</code>の<code>bytes</code>の合計と行区切り文字のバイト数)であるため、
+ * データ行のインデックスからファイル上の位置が決まる。<br>
+ * {@link #printDataLine(long, Object)}は、指定したインデックスの位置に<code>FileChannel</code>の位置指定書き込みで直接出力するため、
+ * 複数のスレッドから排他制御なしに呼び出すことができる。複数のスレッドで生成したデータ行を、並べ替えずに1つのファイルに出力できる。
+ * </p>
+ * <p>
+ * 出力手順は下記の通り。
+ * <ul>
+ * <li>ヘッダ部出力(printHeaderLine()、1つのスレッドから)</li>
+ * <li>データ部出力(printDataLine(long, T)、複数のスレッドから)</li>
+ * <li>すべてのスレッドのデータ部出力の完了後、トレイラ部出力(printTrailerLine()、1つのスレッドから)</li>
+ * </ul>
+ * データ部はヘッダ部の直後から始まり、トレイラ部は出力されたデータ行の最大のインデックスの次の位置から出力する。<br>
+ * 出力されなかったインデックスの位置は、0x00で埋められる。
+ * </p>
+ * <b>※注意事項</b><br>
+ * GZIP形式の圧縮出力には対応しない。<br>
+ * @see jp.terasoluna.fw.file.dao.standard.FixedFileLineWriter
+ * @param <T> ファイル行オブジェクト。
+ */
+public class PositionalFixedFileLineWriter<T> extends FixedFileLineWriter<T> {
+
+    /**
+     * 位置指定書き込み用のファイルチャネル。
+     */
+    private final FileChannel channel;
+
+    /**
+     * ファイルエンコーディング。
+     */
+    private final Charset charset;
+
+    /**
+     * 1行分のバイト数(行区切り文字を含む)。
+     */
+    private final int recordBytes;
+
+    /**
+     * ヘッダ部・トレイラ部を次に書き込む位置。
+     */
+    private long position;
+
+    /**
+     * データ部の開始位置(データ部の出力開始前は-1)。
+     */
+    private volatile long dataPosition = -1;
+
+    /**
+     * 出力されたデータ行の最大のインデックス+1。
+     */
+    private final AtomicLong recordCount = new AtomicLong();
+
+    /**
+     * トレイラ部の出力が開始されたかどうか。
+     */
+    private volatile boolean writeTrailer = false;
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     */
+    public PositionalFixedFileLineWriter(String fileName, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterMap) {
+
+        super(fileName, checkCompression(fileName, clazz), columnFormatterMap);
+
+        FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
+        String fileEncoding = fileFormat.fileEncoding();
+        if (fileEncoding == null || "".equals(fileEncoding)) {
+            fileEncoding = System.getProperty("file.encoding");
+        }
+        this.charset = Charset.forName(fileEncoding);
+
+        // 1行分のバイト数を算出する。
+        int bytes = charset.encode(getLineFeedChar()).remaining();
+        for (Field field : getFields()) {
+            OutputFileColumn outputFileColumn = field.getAnnotation(
+                    OutputFileColumn.class);
+            if (outputFileColumn.bytes() <= 0) {
+                throw new FileException("bytes is not set "
+                        + "or a number equal to or less than 0 is set.", new IllegalStateException(), fileName);
+            }
+            bytes += outputFileColumn.bytes();
+        }
+        this.recordBytes = bytes;
+
+        // 上書きの場合はファイルの生成時に空になっているため、ファイルの末尾から出力する。
+        try {
+            this.channel = new RandomAccessFile(fileName, "rw").getChannel();
+            this.position = channel.size();
+        } catch (FileNotFoundException e) {
+            super.closeFile();
+            throw new FileException("Failed in generation of writer.", e, fileName);
+        } catch (IOException e) {
+            super.closeFile();
+            throw new FileException("Failed in generation of writer.", e, fileName);
+        }
+    }
+
+    /**
+     * GZIP形式の圧縮出力が指定されていないことを確認する。
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @param <T> ファイル行オブジェクト
+     * @return パラメータクラス
+     */
+    private static <T> Class<T> checkCompression(String fileName,
+            Class<T> clazz) {
+        FileFormat fileFormat = clazz == null ? null : clazz.getAnnotation(
+                FileFormat.class);
+        if (fileFormat != null && fileFormat.compression().resolve(
+                fileName) == CompressionType.GZIP) {
+            throw new FileException("Compression is not supported.", new IllegalStateException(), fileName);
+        }
+        return clazz;
+    }
+
+    /**
+     * ヘッダ部への書込み処理。
+     * @param headerLine ヘッダ部へ書き込む文字列のリスト
+     */
+    @Override
+    public synchronized void printHeaderLine(List<String> headerLine) {
+        if (dataPosition >= 0 || writeTrailer) {
+            throw new FileException("Header part should be called before "
+                    + "data part or trailer part.", new IllegalStateException(), getFileName());
+        }
+        printList(headerLine);
+    }
+
+    /**
+     * データ部への書き込み処理。
+     * <p>
+     * 出力されたデータ行の最大のインデックスの次の位置に書き込む。
+     * 複数のスレッドから出力する場合は、{@link #printDataLine(long, Object)}を利用すること。
+     * </p>
+     * @param t データ部へ書き込むファイル行オブジェクト
+     */
+    @Override
+    public void printDataLine(T t) {
+        printDataLine(recordCount.get(), t);
+    }
+
+    /**
+     * データ部の指定したインデックスの位置への書き込み処理。
+     * <p>
+     * このメソッドは複数のスレッドから同時に呼び出すことができる。
+     * 同じインデックスに複数回書き込んだ場合は、最後に書き込んだデータ行となる。
+     * </p>
+     * @param index データ行のインデックス(データ部の先頭行が0)
+     * @param t データ部へ書き込むファイル行オブジェクト
+     */
+    public void printDataLine(long index, T t) {
+        if (index < 0) {
+            throw new FileException("index must be 0 or more.", new IllegalArgumentException(), getFileName());
+        }
+        if (writeTrailer) {
+            throw new FileException("Header part or data part should be "
+                    + "called before TrailerPart", new IllegalStateException(), getFileName());
+        }
+        long start = getDataPosition();
+
+        // 1行分の文字列を生成する。カラムのバイト数はgetColumn()で確認済み。
+        StringBuilder fileLineBuilder = new StringBuilder();
+        for (int i = 0; i < getFields().length; i++) {
+            fileLineBuilder.append(getColumn(t, i));
+        }
+        fileLineBuilder.append(getLineFeedChar());
+        ByteBuffer buffer = charset.encode(CharBuffer.wrap(fileLineBuilder));
+        if (buffer.remaining() != recordBytes) {
+            throw new FileException("The data size is different from bytes value of "
+                    + "the record.", new IllegalStateException(), getFileName());
+        }
+
+        write(buffer, start + index * recordBytes);
+
+        long count = recordCount.get();
+        while (count <= index && !recordCount.compareAndSet(count, index + 1)) {
+            count = recordCount.get();
+        }
+    }
+
+    /**
+     * トレイラ部への書込み処理。
+     * <p>
+     * 出力されたデータ行の最大のインデックスの次の位置から書き込む。
+     * すべてのスレッドのデータ部の出力が完了してから呼び出すこと。
+     * </p>
+     * @param trailerLine トレイラ部へ書き込む文字列のリスト
+     */
+    @Override
+    public synchronized void printTrailerLine(List<String> trailerLine) {
+        if (!writeTrailer) {
+            position = getDataPosition() + recordCount.get() * recordBytes;
+            writeTrailer = true;
+        }
+        printList(trailerLine);
+    }
+
+    /**
+     * ファイルクローズ処理。
+     * <p>
+     * ファイルチャネルのクローズに失敗した場合も、ファイル生成時に開いたストリームはクローズする。
+     * </p>
+     */
+    @Override
+    public void closeFile() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new FileException("Closing of writer was failed.", e, getFileName());
+        } finally {
+            super.closeFile();
+        }
+    }
+
+    /**
+     * 出力されたデータ行の最大のインデックス+1を取得する。
+     * @return 出力されたデータ行の最大のインデックス+1
+     */
+    public long getRecordCount() {
+        return recordCount.get();
+    }
+
+    /**
+     * 1行分のバイト数(行区切り文字を含む)を取得する。
+     * @return 1行分のバイト数
+     */
+    public int getRecordBytes() {
+        return recordBytes;
+    }
+
+    /**
+     * データ部の開始位置を取得する。
+     * <p>
+     * 初回の呼び出し時にヘッダ部の末尾をデータ部の開始位置とする。
+     * </p>
+     * @return データ部の開始位置
+     */
+    private long getDataPosition() {
+        long start = dataPosition;
+        if (start < 0) {
+            synchronized (this) {
+                if (dataPosition < 0) {
+                    dataPosition = position;
+                }
+                start = dataPosition;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * ヘッダ部、トレイラ部の書き込み用の共通メソッド。
+     * @param stringList 文字列のリスト
+     */
+    private void printList(List<String> stringList) {
+        for (String stringData : stringList) {
+            ByteBuffer buffer = charset.encode(stringData + getLineFeedChar());
+            int length = buffer.remaining();
+            write(buffer, position);
+            position += length;
+        }
+    }
+
+    /**
+     * バッファの内容をファイルの指定した位置に書き込む。
+     * @param buffer バッファ
+     * @param writePosition 書き込む位置
+     */
+    private void write(ByteBuffer buffer, long writePosition) {
+        long current = writePosition;
+        try {
+            while (buffer.hasRemaining()) {
+                current += channel.write(buffer, current);
+            }
+        } catch (IOException e) {
+            throw new FileException("Processing of writer was failed.", e, getFileName());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 先読み入力ストリーム。
+ * <p>
+ * 別スレッドで元のストリームから固定サイズのバッファに先読みし、読込処理と元のストリームの処理(ディスク読込や伸張)を並行させる。<br>
+ * バッファは指定された数だけを使い回すため、先読みするデータ量はバッファサイズ×バッファ数を超えない。<br>
+ * 元のストリームで発生した例外({@link Error}を含む)は、読込処理で{@link IOException}として通知する。
+ * </p>
+ * <b>※注意事項</b><br>
+ * このクラスはスレッドセーフではない。1つのスレッドから読み込むこと。<br>
+ */
+public class ReadAheadInputStream extends InputStream {
+
+    /**
+     * バッファサイズのデフォルト値(64KB)。
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * バッファ数のデフォルト値。
+     */
+    public static final int DEFAULT_BUFFER_COUNT = 4;
+
+    /**
+     * 元のストリーム。
+     */
+    private final InputStream in;
+
+    /**
+     * 先読みキュー。
+     */
+    private final ReadAheadQueue<byte[]> queue;
+
+    /**
+     * コンストラクタ。<br>
+     * デフォルトのバッファサイズ・バッファ数で先読みする。
+     * @param in 元のストリーム
+     */
+    public ReadAheadInputStream(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param in 元のストリーム
+     * @param bufferSize バッファサイズ
+     * @param bufferCount バッファ数
+     * @throws IllegalArgumentException 引数の設定が間違った場合。
+     */
+    public ReadAheadInputStream(InputStream in, int bufferSize,
+            int bufferCount) {
+        if (in == null) {
+            throw new IllegalArgumentException("in is required.");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize is larger than 0.");
+        }
+        if (bufferCount <= 0) {
+            throw new IllegalArgumentException("bufferCount is larger than 0.");
+        }
+        this.in = in;
+        List<byte[]> buffers = new ArrayList<byte[]>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            buffers.add(new byte[bufferSize]);
+        }
+        this.queue = new ReadAheadQueue<byte[]>(new StreamSource(in), buffers,
+                "ReadAheadInputStream-" + System.identityHashCode(this));
+    }
+
+    /**
+     * 先読みスレッドの処理。<br>
+     * 空きバッファを満たすまで元のストリームから読み込む。
+     */
+    private static class StreamSource implements ReadAheadQueue.Source<byte[]> {
+
+        /**
+         * 元のストリーム。
+         */
+        private final InputStream in;
+
+        /**
+         * 終端に達したかどうか。
+         */
+        private boolean endOfInput = false;
+
+        /**
+         * コンストラクタ。
+         * @param in 元のストリーム
+         */
+        StreamSource(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int fill(byte[] buffer) throws IOException {
+            int length = 0;
+            int n = 0;
+            while (length < buffer.length
+                    && (n = in.read(buffer, length, buffer.length - length)) != -1) {
+                length += n;
+            }
+            endOfInput = (n == -1);
+            return length;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isEndOfInput() {
+            return endOfInput;
+        }
+    }
+
+    /**
+     * 1バイト読み込む。
+     * @return 読み込んだバイト。終端に達した場合は-1
+     * @throws IOException 先読みで例外が発生した場合。
+     */
+    @Override
+    public int read() throws IOException {
+        if (!queue.fill()) {
+            return -1;
+        }
+        int b = queue.buffer()[queue.position()] & 0xff;
+        queue.advance(1);
+        return b;
+    }
+
+    /**
+     * バイト配列に読み込む。
+     * @param b 読み込み先のバイト配列
+     * @param off 読み込み先の開始位置
+     * @param len 読み込む最大バイト数
+     * @return 読み込んだバイト数。終端に達した場合は-1
+     * @throws IOException 先読みで例外が発生した場合。
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!queue.fill()) {
+            return -1;
+        }
+        int n = Math.min(len, queue.remaining());
+        System.arraycopy(queue.buffer(), queue.position(), b, off, n);
+        queue.advance(n);
+        return n;
+    }
+
+    /**
+     * ブロックせずに読み込めるバイト数を取得する。
+     * @return 読込中のデータの残りのバイト数
+     * @throws IOException ストリームが閉じられている場合。
+     */
+    @Override
+    public int available() throws IOException {
+        queue.ensureOpen();
+        return queue.remaining();
+    }
+
+    /**
+     * 元のストリームを閉じ、先読みスレッドを停止する。
+     * @throws IOException 元のストリームのクローズに失敗した場合、または先読みスレッドが一定時間内に停止しない場合。
+     */
+    @Override
+    public void close() throws IOException {
+        queue.close(in);
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 先読みキュー。
+ * <p>
+ * {@link ReadAheadInputStream}と{@link ReadAheadReader}が共通で利用する、先読みスレッドとバッファの受け渡しを行う。<br>
+ * 先読みスレッドは空きバッファを{@link Source}で満たして先読み済みのデータとして渡し、読込処理は読み終えたバッファを空きバッファとして返却する。<br>
+ * 先読みスレッドで発生した例外({@link Error}を含む)は、読込処理で{@link IOException}として通知する。
+ * </p>
+ * <b>※注意事項</b><br>
+ * 先読みスレッド以外からの操作はスレッドセーフではない。1つのスレッドから読み込むこと。<br>
+ * @param <T> バッファの型
+ */
+final class ReadAheadQueue<T> {
+
+    /**
+     * 先読みスレッドでバッファを満たす処理。
+     * @param <T> バッファの型
+     */
+    interface Source<T> {
+
+        /**
+         * バッファを満たす。
+         * @param buffer バッファ
+         * @return バッファに格納したデータ数
+         * @throws IOException 元のストリームの読込に失敗した場合。
+         */
+        int fill(T buffer) throws IOException;
+
+        /**
+         * 元のストリームの終端に達したかどうかを取得する。
+         * @return 終端に達し、全てのデータをバッファに格納した場合は<code>true</code>
+         */
+        boolean isEndOfInput();
+    }
+
+    /**
+     * 先読みしたデータ。
+     * @param <T> バッファの型
+     */
+    private static class Chunk<T> {
+
+        /**
+         * バッファ。
+         */
+        private final T buffer;
+
+        /**
+         * バッファ内の有効なデータ数。
+         */
+        private final int length;
+
+        /**
+         * 先読みで発生した例外。
+         */
+        private final IOException error;
+
+        /**
+         * コンストラクタ。
+         * @param buffer バッファ
+         * @param length バッファ内の有効なデータ数
+         * @param error 先読みで発生した例外
+         */
+        Chunk(T buffer, int length, IOException error) {
+            this.buffer = buffer;
+            this.length = length;
+            this.error = error;
+        }
+    }
+
+    /**
+     * 終端を示すデータ。
+     */
+    private static final Chunk<Object> END_OF_STREAM = new Chunk<Object>(null, 0, null);
+
+    /**
+     * クローズ時に先読みスレッドの停止を待機する時間(ミリ秒)。
+     */
+    private static final long CLOSE_TIMEOUT_MILLIS = 10000L;
+
+    /**
+     * バッファを満たす処理。
+     */
+    private final Source<T> source;
+
+    /**
+     * 先読み済みのデータ。
+     */
+    private final BlockingQueue<Chunk<T>> filledChunks;
+
+    /**
+     * 空きバッファ。
+     */
+    private final BlockingQueue<T> freeBuffers;
+
+    /**
+     * 先読みスレッド。
+     */
+    private final Thread readThread;
+
+    /**
+     * クローズ済みフラグ。
+     */
+    private volatile boolean closed = false;
+
+    /**
+     * 読込中のデータ。
+     */
+    private Chunk<T> current = null;
+
+    /**
+     * 読込中のデータの読込位置。
+     */
+    private int position = 0;
+
+    /**
+     * 終端に達したかどうか。
+     */
+    private boolean endOfStream = false;
+
+    /**
+     * 先読みで発生した例外。
+     */
+    private IOException error = null;
+
+    /**
+     * コンストラクタ。<br>
+     * 先読みスレッドを開始する。
+     * @param source バッファを満たす処理
+     * @param buffers 使い回すバッファ
+     * @param threadName 先読みスレッドのスレッド名
+     */
+    ReadAheadQueue(Source<T> source, List<T> buffers, String threadName) {
+        this.source = source;
+        this.filledChunks = new ArrayBlockingQueue<Chunk<T>>(buffers.size() + 1);
+        this.freeBuffers = new ArrayBlockingQueue<T>(buffers.size(), false, buffers);
+        this.readThread = new Thread(new Runnable() {
+            public void run() {
+                readAhead();
+            }
+        }, threadName);
+        readThread.setDaemon(true);
+        readThread.start();
+    }
+
+    /**
+     * 先読みスレッドの処理。<br>
+     * 空きバッファを満たし、先読み済みのデータとして渡す。
+     */
+    @SuppressWarnings("unchecked")
+    private void readAhead() {
+        try {
+            while (!closed) {
+                T buffer = freeBuffers.take();
+                int length = source.fill(buffer);
+                if (0 < length) {
+                    filledChunks.put(new Chunk<T>(buffer, length, null));
+                } else {
+                    freeBuffers.put(buffer);
+                }
+                if (source.isEndOfInput()) {
+                    filledChunks.put((Chunk<T>) (Chunk<?>) END_OF_STREAM);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // クローズされたため、先読みを終了する
+        } catch (Throwable e) {
+            // Errorを含め、読込処理に通知せずに終了すると読込処理が待機し続けるため、必ず通知する
+            IOException cause = (e instanceof IOException) ? (IOException) e
+                    : new IOException(e);
+            try {
+                filledChunks.put(new Chunk<T>(null, 0, cause));
+            } catch (InterruptedException ie) {
+                // クローズされたため、例外を通知する必要はない
+            }
+        }
+    }
+
+    /**
+     * 読込中のデータを用意する。読込中のデータが無い場合は先読み済みのデータを待って取得する。
+     * @return 読込中のデータがある場合は<code>true</code>。終端に達した場合は<code>false</code>
+     * @throws IOException キューが閉じられている場合、または先読みで例外が発生した場合。
+     */
+    boolean fill() throws IOException {
+        ensureOpen();
+        if (error != null) {
+            throw new IOException("Read-ahead was failed.", error);
+        }
+        if (current == null) {
+            if (endOfStream) {
+                return false;
+            }
+            Chunk<T> chunk;
+            try {
+                chunk = filledChunks.take();
+            } catch (InterruptedException e) {
+                InterruptedIOException ie = new InterruptedIOException("Read-ahead was interrupted.");
+                ie.initCause(e);
+                throw ie;
+            }
+            if (chunk == END_OF_STREAM) {
+                endOfStream = true;
+                return false;
+            }
+            if (chunk.error != null) {
+                error = chunk.error;
+                throw new IOException("Read-ahead was failed.", error);
+            }
+            current = chunk;
+            position = 0;
+        }
+        return true;
+    }
+
+    /**
+     * 読込中のバッファを取得する。{@link #fill()}で読込中のデータを用意した後に呼び出すこと。
+     * @return 読込中のバッファ
+     */
+    T buffer() {
+        return current.buffer;
+    }
+
+    /**
+     * 読込中のデータの読込位置を取得する。
+     * @return 読込位置
+     */
+    int position() {
+        return position;
+    }
+
+    /**
+     * 読込中のデータの残りのデータ数を取得する。
+     * @return 残りのデータ数。読込中のデータが無い場合は0
+     */
+    int remaining() {
+        return current == null ? 0 : current.length - position;
+    }
+
+    /**
+     * 読込位置を進める。読込中のデータを読み終えた場合、バッファを先読みスレッドに返却する。
+     * @param n 読み込んだデータ数
+     */
+    void advance(int n) {
+        position += n;
+        if (position == current.length) {
+            freeBuffers.offer(current.buffer);
+            current = null;
+        }
+    }
+
+    /**
+     * ブロックせずに読み込めるかどうかを取得する。
+     * @return 読込中のデータが残っているか、先読み済みのデータがある場合は<code>true</code>
+     * @throws IOException キューが閉じられている場合。
+     */
+    boolean ready() throws IOException {
+        ensureOpen();
+        return current != null || !filledChunks.isEmpty();
+    }
+
+    /**
+     * クローズ済みかどうかを取得する。
+     * @return クローズ済みの場合は<code>true</code>
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 先読みスレッドを停止し、元のストリームを閉じる。<br>
+     * 割り込みに応答しない読込(パイプ、ソケットなど)で先読みスレッドが待機している場合も停止できるよう、
+     * 先読みスレッドの停止を待つ前に元のストリームを閉じる。
+     * @param in 元のストリーム
+     * @throws IOException 元のストリームのクローズに失敗した場合、または先読みスレッドが一定時間内に停止しない場合。
+     */
+    void close(Closeable in) throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        readThread.interrupt();
+        IOException failure = null;
+        try {
+            in.close();
+        } catch (IOException e) {
+            failure = e;
+        }
+        try {
+            readThread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (readThread.isAlive()) {
+            IOException e = new IOException("Read-ahead thread did not stop.");
+            if (failure == null) {
+                failure = e;
+            } else {
+                failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * キューが閉じられていないことを確認する。
+     * @throws IOException キューが閉じられている場合。
+     */
+    void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed.");
+        }
+    }
+}
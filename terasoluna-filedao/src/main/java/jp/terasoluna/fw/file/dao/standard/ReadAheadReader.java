@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 先読み文字入力ストリーム。
+ * <p>
+ * 別スレッドで元のストリームから読み込んで文字列へデコードし、固定サイズの文字バッファに先読みする。<br>
+ * ディスクやネットワークストレージからの読込とデコードを読込処理と並行させるため、バッファの補充で読込処理が待機しない。<br>
+ * バッファは指定された数だけを使い回すため、先読みするデータ量はバッファサイズ×バッファ数を超えない。<br>
+ * 不正なバイト列とマッピングできない文字は、<code>InputStreamReader</code>と同様に置換文字に置き換える。<br>
+ * 元のストリームで発生した例外({@link Error}を含む)は、読込処理で{@link IOException}として通知する。
+ * </p>
+ * <b>※注意事項</b><br>
+ * このクラスはスレッドセーフではない。1つのスレッドから読み込むこと。<br>
+ * @see jp.terasoluna.fw.file.dao.standard.ReadAheadInputStream
+ */
+public class ReadAheadReader extends Reader {
+
+    /**
+     * バッファサイズ(文字数)のデフォルト値(32K文字)。
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 32 * 1024;
+
+    /**
+     * バッファ数のデフォルト値。
+     */
+    public static final int DEFAULT_BUFFER_COUNT = 4;
+
+    /**
+     * バイトバッファの最小サイズ。1文字分のバイト列が必ず格納できる大きさとする。
+     */
+    private static final int MIN_BYTE_BUFFER_SIZE = 16;
+
+    /**
+     * 元のストリーム。
+     */
+    private final InputStream in;
+
+    /**
+     * 先読みキュー。
+     */
+    private final ReadAheadQueue<char[]> queue;
+
+    /**
+     * コンストラクタ。<br>
+     * デフォルトのバッファサイズ・バッファ数で先読みする。
+     * @param in 元のストリーム
+     * @param charsetName 文字コード名
+     * @throws UnsupportedEncodingException 文字コードがサポートされていない場合
+     */
+    public ReadAheadReader(InputStream in,
+            String charsetName) throws UnsupportedEncodingException {
+        this(in, charsetName, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param in 元のストリーム
+     * @param charsetName 文字コード名
+     * @param bufferSize バッファサイズ(文字数)
+     * @param bufferCount バッファ数
+     * @throws UnsupportedEncodingException 文字コードがサポートされていない場合
+     * @throws IllegalArgumentException 引数の設定が間違った場合。
+     */
+    public ReadAheadReader(InputStream in, String charsetName, int bufferSize,
+            int bufferCount) throws UnsupportedEncodingException {
+        if (in == null) {
+            throw new IllegalArgumentException("in is required.");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize is larger than 0.");
+        }
+        if (bufferCount <= 0) {
+            throw new IllegalArgumentException("bufferCount is larger than 0.");
+        }
+        this.in = in;
+        CharsetDecoder decoder = EncodingChannelWriter.forName(charsetName)
+                .newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        List<char[]> buffers = new ArrayList<char[]>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            buffers.add(new char[bufferSize]);
+        }
+        this.queue = new ReadAheadQueue<char[]>(new DecodingSource(in, decoder,
+                bufferSize), buffers, "ReadAheadReader-"
+                + System.identityHashCode(this));
+    }
+
+    /**
+     * 先読みスレッドの処理。<br>
+     * 空きバッファを満たすまで元のストリームから読み込んでデコードする。
+     */
+    private static class DecodingSource implements ReadAheadQueue.Source<char[]> {
+
+        /**
+         * 元のストリーム。
+         */
+        private final InputStream in;
+
+        /**
+         * 文字コードのデコーダ。
+         */
+        private final CharsetDecoder decoder;
+
+        /**
+         * 元のストリームから読み込んだバイト列を格納するバッファ。
+         */
+        private final ByteBuffer bytes;
+
+        /**
+         * 元のストリームの終端に達したかどうか。
+         */
+        private boolean endOfInput = false;
+
+        /**
+         * デコーダのフラッシュが完了したかどうか。
+         */
+        private boolean flushed = false;
+
+        /**
+         * コンストラクタ。
+         * @param in 元のストリーム
+         * @param decoder 文字コードのデコーダ
+         * @param bufferSize バッファサイズ(文字数)
+         */
+        DecodingSource(InputStream in, CharsetDecoder decoder, int bufferSize) {
+            this.in = in;
+            this.decoder = decoder;
+            this.bytes = ByteBuffer.allocate(Math.max(bufferSize,
+                    MIN_BYTE_BUFFER_SIZE));
+            bytes.flip();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int fill(char[] buffer) throws IOException {
+            CharBuffer out = CharBuffer.wrap(buffer);
+            while (out.hasRemaining() && !flushed) {
+                if (!endOfInput) {
+                    bytes.compact();
+                    int n = in.read(bytes.array(), bytes.position(), bytes
+                            .remaining());
+                    if (n == -1) {
+                        endOfInput = true;
+                    } else {
+                        bytes.position(bytes.position() + n);
+                    }
+                    bytes.flip();
+                }
+                CoderResult result = decoder.decode(bytes, out, endOfInput);
+                if (result.isOverflow()) {
+                    break;
+                }
+                if (endOfInput) {
+                    if (decoder.flush(out).isOverflow()) {
+                        break;
+                    }
+                    flushed = true;
+                }
+            }
+            return out.position();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isEndOfInput() {
+            return flushed;
+        }
+    }
+
+    /**
+     * 1文字読み込む。
+     * @return 読み込んだ文字。終端に達した場合は-1
+     * @throws IOException 先読みで例外が発生した場合。
+     */
+    @Override
+    public int read() throws IOException {
+        if (!queue.fill()) {
+            return -1;
+        }
+        char c = queue.buffer()[queue.position()];
+        queue.advance(1);
+        return c;
+    }
+
+    /**
+     * 文字配列に読み込む。
+     * @param cbuf 読み込み先の文字配列
+     * @param off 読み込み先の開始位置
+     * @param len 読み込む最大文字数
+     * @return 読み込んだ文字数。終端に達した場合は-1
+     * @throws IOException 先読みで例外が発生した場合。
+     */
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!queue.fill()) {
+            return -1;
+        }
+        int n = Math.min(len, queue.remaining());
+        System.arraycopy(queue.buffer(), queue.position(), cbuf, off, n);
+        queue.advance(n);
+        return n;
+    }
+
+    /**
+     * ブロックせずに読み込めるかどうかを取得する。
+     * @return 読込中のデータが残っているか、先読み済みのデータがある場合は<code>true</code>
+     * @throws IOException ストリームが閉じられている場合。
+     */
+    @Override
+    public boolean ready() throws IOException {
+        return queue.ready();
+    }
+
+    /**
+     * 元のストリームを閉じ、先読みスレッドを停止する。
+     * @throws IOException 元のストリームのクローズに失敗した場合、または先読みスレッドが一定時間内に停止しない場合。
+     */
+    @Override
+    public void close() throws IOException {
+        queue.close(in);
+    }
+}
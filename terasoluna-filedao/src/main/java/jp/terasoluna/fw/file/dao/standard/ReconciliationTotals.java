@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import jp.terasoluna.fw.file.annotation.ReconciliationCount;
+import jp.terasoluna.fw.file.annotation.ReconciliationSum;
+import jp.terasoluna.fw.file.dao.FileException;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * データ部の件数・合計値の集計結果。
+ * <p>
+ * ファイル行オブジェクトクラスの{@link ReconciliationCount}、{@link ReconciliationSum}の設定に従い、
+ * データ行の件数と属性ごとの合計値を集計し、トレイラ部に記載された値と照合する。<br>
+ * 整数型の属性はlong、浮動小数点型の属性はdouble、BigDecimal型の属性はBigDecimalで合計する。
+ * longで合計する属性は、合計値がlongの範囲を超えた分をBigDecimalに繰り越して合計する。<br>
+ * 属性の値はコンストラクタで生成したMethodHandleで取得し、プリミティブ型の属性はボクシングせずに合計する。
+ * </p>
+ * <b>※注意事項</b><br>
+ * このクラスはスレッドセーフではない。<br>
+ * @see jp.terasoluna.fw.file.dao.standard.ReconcilingFileLineIterator
+ * @see jp.terasoluna.fw.file.dao.standard.ReconcilingFileLineWriter
+ */
+public class ReconciliationTotals {
+
+    /**
+     * 合計方法:long。
+     */
+    private static final int KIND_LONG = 0;
+
+    /**
+     * 合計方法:double。
+     */
+    private static final int KIND_DOUBLE = 1;
+
+    /**
+     * 合計方法:BigDecimal。
+     */
+    private static final int KIND_DECIMAL = 2;
+
+    /**
+     * このクラスから参照可能なメソッドを検索するルックアップ。
+     */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * トレイラ部の件数を抽出する正規表現(照合しない場合は<code>null</code>)。
+     */
+    private final Pattern countPattern;
+
+    /**
+     * 合計する属性の名前。
+     */
+    private final String[] names;
+
+    /**
+     * 合計する属性のgetterメソッド。<br>
+     * プリミティブ型の属性は(Object)long または(Object)double 型、それ以外の属性は(Object)Object 型とする。
+     */
+    private final MethodHandle[] getters;
+
+    /**
+     * 合計する属性がプリミティブ型かどうか。
+     */
+    private final boolean[] primitives;
+
+    /**
+     * 合計する属性の合計方法。
+     */
+    private final int[] kinds;
+
+    /**
+     * トレイラ部の合計値を抽出する正規表現(照合しない場合は<code>null</code>)。
+     */
+    private final Pattern[] sumPatterns;
+
+    /**
+     * longで合計する属性の合計値。
+     */
+    private final long[] longSums;
+
+    /**
+     * doubleで合計する属性の合計値。
+     */
+    private final double[] doubleSums;
+
+    /**
+     * BigDecimalで合計する属性の合計値。<br>
+     * longで合計する属性の場合は、longの範囲を超えて繰り越した合計値。
+     */
+    private final BigDecimal[] decimalSums;
+
+    /**
+     * データ行の件数。
+     */
+    private long count = 0;
+
+    /**
+     * コンストラクタ。
+     * @param clazz ファイル行オブジェクトクラス
+     */
+    public ReconciliationTotals(Class<?> clazz) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("clazz is required.");
+        }
+        ReconciliationCount reconciliationCount = clazz.getAnnotation(
+                ReconciliationCount.class);
+        this.countPattern = reconciliationCount == null ? null
+                : compile(reconciliationCount.trailerPattern());
+
+        List<Field> sumFields = new ArrayList<Field>();
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c
+                .getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getAnnotation(ReconciliationSum.class) != null) {
+                    sumFields.add(field);
+                }
+            }
+        }
+
+        int size = sumFields.size();
+        this.names = new String[size];
+        this.getters = new MethodHandle[size];
+        this.primitives = new boolean[size];
+        this.kinds = new int[size];
+        this.sumPatterns = new Pattern[size];
+        this.longSums = new long[size];
+        this.doubleSums = new double[size];
+        this.decimalSums = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            Field field = sumFields.get(i);
+            names[i] = field.getName();
+            kinds[i] = getKind(field.getType());
+            primitives[i] = field.getType().isPrimitive();
+            sumPatterns[i] = compile(field.getAnnotation(ReconciliationSum.class)
+                    .trailerPattern());
+            decimalSums[i] = BigDecimal.ZERO;
+            Method getter;
+            try {
+                getter = clazz.getMethod("get" + StringUtils.capitalize(
+                        names[i]));
+            } catch (NoSuchMethodException e) {
+                throw new FileException("The getter method of column doesn't exist.", e);
+            }
+            getters[i] = bindGetter(getter, kinds[i], primitives[i]);
+        }
+    }
+
+    /**
+     * getterメソッドを、合計方法に応じた型のMethodHandleに変換する。
+     * @param getter getterメソッド
+     * @param kind 合計方法
+     * @param primitive 属性がプリミティブ型の場合<code>true</code>
+     * @return (Object)long、(Object)double または(Object)Object 型のMethodHandle
+     */
+    private static MethodHandle bindGetter(Method getter, int kind,
+            boolean primitive) {
+        Class<?> returnType = Object.class;
+        if (primitive) {
+            returnType = kind == KIND_LONG ? long.class : double.class;
+        }
+        try {
+            return LOOKUP.unreflect(getter).asType(MethodType.methodType(
+                    returnType, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new FileException(e);
+        }
+    }
+
+    /**
+     * 属性の型から合計方法を取得する。
+     * @param type 属性の型
+     * @return 合計方法
+     */
+    private static int getKind(Class<?> type) {
+        if (type == int.class || type == long.class || type == short.class
+                || type == byte.class || type == Integer.class
+                || type == Long.class || type == Short.class
+                || type == Byte.class) {
+            return KIND_LONG;
+        }
+        if (type == double.class || type == float.class
+                || type == Double.class || type == Float.class) {
+            return KIND_DOUBLE;
+        }
+        if (type == BigDecimal.class) {
+            return KIND_DECIMAL;
+        }
+        throw new FileException("ReconciliationSum is not supported for the "
+                + "type of field.", new IllegalStateException());
+    }
+
+    /**
+     * 正規表現をコンパイルする。
+     * @param regex 正規表現
+     * @return コンパイルした正規表現(未設定の場合は<code>null</code>)
+     */
+    private static Pattern compile(String regex) {
+        if (regex == null || regex.length() == 0) {
+            return null;
+        }
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new FileException("trailerPattern is invalid.", e);
+        }
+    }
+
+    /**
+     * データ行を集計する。
+     * @param t ファイル行オブジェクト
+     */
+    void add(Object t) {
+        count++;
+        for (int i = 0; i < getters.length; i++) {
+            try {
+                if (primitives[i]) {
+                    if (kinds[i] == KIND_LONG) {
+                        addLong(i, (long) getters[i].invokeExact(t));
+                    } else {
+                        doubleSums[i] += (double) getters[i].invokeExact(t);
+                    }
+                    continue;
+                }
+                Object value = (Object) getters[i].invokeExact(t);
+                if (value == null) {
+                    continue;
+                }
+                switch (kinds[i]) {
+                case KIND_LONG:
+                    addLong(i, ((Number) value).longValue());
+                    break;
+                case KIND_DOUBLE:
+                    doubleSums[i] += ((Number) value).doubleValue();
+                    break;
+                default:
+                    decimalSums[i] = decimalSums[i].add((BigDecimal) value);
+                    break;
+                }
+            } catch (Throwable e) {
+                throw new FileException(new InvocationTargetException(e));
+            }
+        }
+    }
+
+    /**
+     * longで合計する属性に値を加算する。<br>
+     * 加算結果がlongの範囲を超える場合は、それまでの合計値をBigDecimalに繰り越す。
+     * @param index 属性のインデックス
+     * @param value 加算する値
+     */
+    private void addLong(int index, long value) {
+        long sum = longSums[index];
+        long result = sum + value;
+        // 符号が同じ値の加算で、結果の符号が変わった場合はオーバーフロー
+        if (((sum ^ result) & (value ^ result)) < 0) {
+            decimalSums[index] = decimalSums[index].add(BigDecimal.valueOf(
+                    sum));
+            result = value;
+        }
+        longSums[index] = result;
+    }
+
+    /**
+     * データ行の件数を取得する。
+     * @return データ行の件数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 属性の合計値を取得する。
+     * @param fieldName 属性名
+     * @return 合計値
+     */
+    public BigDecimal getSum(String fieldName) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(fieldName)) {
+                return getSum(i);
+            }
+        }
+        throw new IllegalArgumentException("ReconciliationSum is not set to "
+                + fieldName + ".");
+    }
+
+    /**
+     * すべての属性の合計値を取得する。
+     * @return 属性名をキーとする合計値のマップ
+     */
+    public Map<String, BigDecimal> getSums() {
+        Map<String, BigDecimal> sums = new LinkedHashMap<String, BigDecimal>();
+        for (int i = 0; i < names.length; i++) {
+            sums.put(names[i], getSum(i));
+        }
+        return sums;
+    }
+
+    /**
+     * 属性の合計値を取得する。
+     * @param index 属性のインデックス
+     * @return 合計値
+     */
+    private BigDecimal getSum(int index) {
+        switch (kinds[index]) {
+        case KIND_LONG:
+            return decimalSums[index].add(BigDecimal.valueOf(
+                    longSums[index]));
+        case KIND_DOUBLE:
+            return BigDecimal.valueOf(doubleSums[index]);
+        default:
+            return decimalSums[index];
+        }
+    }
+
+    /**
+     * 集計結果をトレイラ部に記載された値と照合する。
+     * <p>
+     * 正規表現が設定されていない件数・合計値は照合しない。
+     * </p>
+     * @param trailerLines トレイラ部の文字列のリスト
+     * @throws FileException 一致しない場合、またはトレイラ部に値が記載されていない場合
+     */
+    public void verify(List<String> trailerLines) {
+        if (countPattern != null) {
+            BigDecimal expected = findValue(trailerLines, countPattern);
+            if (expected.compareTo(BigDecimal.valueOf(count)) != 0) {
+                throw new FileException("Record count is different from trailer. count: "
+                        + count + ", trailer: "
+                        + expected, new IllegalStateException());
+            }
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (sumPatterns[i] == null) {
+                continue;
+            }
+            BigDecimal expected = findValue(trailerLines, sumPatterns[i]);
+            BigDecimal sum = getSum(i);
+            if (kinds[i] == KIND_DOUBLE && expected.scale() >= 0) {
+                sum = sum.setScale(expected.scale(), RoundingMode.HALF_UP);
+            }
+            if (expected.compareTo(sum) != 0) {
+                throw new FileException("Sum of column is different from trailer. column: "
+                        + names[i] + ", sum: " + sum + ", trailer: "
+                        + expected, new IllegalStateException());
+            }
+        }
+    }
+
+    /**
+     * トレイラ部から正規表現に一致する値を抽出する。
+     * @param trailerLines トレイラ部の文字列のリスト
+     * @param pattern 正規表現
+     * @return 抽出した値
+     */
+    private static BigDecimal findValue(List<String> trailerLines,
+            Pattern pattern) {
+        for (String line : trailerLines) {
+            Matcher matcher = pattern.matcher(line);
+            if (matcher.find()) {
+                String value = matcher.groupCount() > 0 ? matcher.group(1)
+                        : matcher.group();
+                try {
+                    return new BigDecimal(StringUtils.remove(value.trim(), ','));
+                } catch (NumberFormatException e) {
+                    throw new FileException("Reconciliation value of trailer is not a number. value: "
+                            + value, e);
+                }
+            }
+        }
+        throw new FileException("Reconciliation value is not found in trailer. pattern: "
+                + pattern.pattern(), new IllegalStateException());
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.util.List;
+
+import jp.terasoluna.fw.file.dao.FileLineIterator;
+
+/**
+ * データ部の件数・合計値を集計しながら読み込むFileLineIterator。
+ * <p>
+ * ファイル行オブジェクトクラスの<code>@ReconciliationCount</code>、<code>@ReconciliationSum</code>の設定に従い、
+ * 読み込んだデータ行の件数と合計値を{@link ReconciliationTotals}に集計する。<br>
+ * <code>hasNext()</code>が初めて<code>false</code>を返す時(データ部の読み込み完了時)に、集計結果をトレイラ部と照合し、
+ * 一致しない場合は<code>FileException</code>をスローする。
+ * データ部を読み込んだ後にトレイラ部を再度読み込む必要がないため、照合のためにファイルを2回読み込む必要がない。<br>
+ * <code>skip()</code>で読み飛ばしたデータ行は集計されないため、<code>skip()</code>を呼び出した場合は照合を行わない。
+ * </p>
+ * <p>
+ * 使用例:
+ * <pre>
+ * FileLineIterator&lt;SampleFileLine&gt; iterator = new ReconcilingFileLineIterator&lt;SampleFileLine&gt;(
+ *         fileQueryDAO.execute(fileName, SampleFileLine.class), SampleFileLine.class);
+ * </pre>
+ * </p>
+ * @see jp.terasoluna.fw.file.annotation.ReconciliationCount
+ * @see jp.terasoluna.fw.file.annotation.ReconciliationSum
+ * @param <T> ファイル行オブジェクト。
+ */
+public class ReconcilingFileLineIterator<T> implements FileLineIterator<T> {
+
+    /**
+     * 読み込み元のFileLineIterator。
+     */
+    private final FileLineIterator<T> iterator;
+
+    /**
+     * 集計結果。
+     */
+    private final ReconciliationTotals totals;
+
+    /**
+     * データ行を読み飛ばしたかどうか。
+     */
+    private boolean skipped = false;
+
+    /**
+     * 照合済みかどうか。
+     */
+    private boolean verified = false;
+
+    /**
+     * コンストラクタ。
+     * @param iterator 読み込み元のFileLineIterator
+     * @param clazz ファイル行オブジェクトクラス
+     */
+    public ReconcilingFileLineIterator(FileLineIterator<T> iterator,
+            Class<T> clazz) {
+        if (iterator == null) {
+            throw new IllegalArgumentException("iterator is required.");
+        }
+        this.iterator = iterator;
+        this.totals = new ReconciliationTotals(clazz);
+    }
+
+    /**
+     * ファイルからデータが取得できるか確認する。
+     * <p>
+     * データ部の読み込みが完了した場合は、集計結果をトレイラ部と照合する。
+     * </p>
+     * @return 反復子がさらに要素を持つ場合は<code>true</code>。
+     */
+    @Override
+    public boolean hasNext() {
+        boolean hasNext = iterator.hasNext();
+        if (!hasNext && !verified && !skipped) {
+            verified = true;
+            totals.verify(iterator.getTrailer());
+        }
+        return hasNext;
+    }
+
+    /**
+     * ファイル行オブジェクトを返却し、集計する。
+     * @return 次のファイル行オブジェクト。
+     */
+    @Override
+    public T next() {
+        T t = iterator.next();
+        totals.add(t);
+        return t;
+    }
+
+    /**
+     * サポートしない。
+     */
+    @Override
+    public void remove() {
+        iterator.remove();
+    }
+
+    /**
+     * ヘッダ部の文字列を返却する。
+     * @return header ヘッダ部の文字列リスト
+     */
+    @Override
+    public List<String> getHeader() {
+        return iterator.getHeader();
+    }
+
+    /**
+     * トレイラ部の文字列を返却する。
+     * @return トレイラ部の文字列リスト
+     */
+    @Override
+    public List<String> getTrailer() {
+        return iterator.getTrailer();
+    }
+
+    /**
+     * データ部のデータを読み飛ばす。
+     * <p>
+     * 読み飛ばしたデータ行は集計されないため、以降は照合を行わない。
+     * </p>
+     * @param skipLines 読み飛ばす行数
+     */
+    @Override
+    public void skip(int skipLines) {
+        iterator.skip(skipLines);
+        skipped = true;
+    }
+
+    /**
+     * ファイル閉塞処理。
+     */
+    @Override
+    public void closeFile() {
+        iterator.closeFile();
+    }
+
+    /**
+     * 集計結果を取得する。
+     * @return 集計結果
+     */
+    public ReconciliationTotals getTotals() {
+        return totals;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.util.Collection;
+import java.util.List;
+
+import jp.terasoluna.fw.file.dao.BatchFileLineWriter;
+import jp.terasoluna.fw.file.dao.FileLineWriter;
+
+/**
+ * データ部の件数・合計値を集計しながら出力するFileLineWriter。
+ * <p>
+ * ファイル行オブジェクトクラスの<code>@ReconciliationCount</code>、<code>@ReconciliationSum</code>の設定に従い、
+ * 出力したデータ行の件数と合計値を{@link ReconciliationTotals}に集計する。
+ * トレイラ部に件数・合計値を出力する場合は、データ部の出力後に{@link #getTotals()}の集計結果を利用できる。
+ * </p>
+ * <p>
+ * 使用例:
+ * <pre>
+ * ReconcilingFileLineWriter&lt;SampleFileLine&gt; writer = new ReconcilingFileLineWriter&lt;SampleFileLine&gt;(
+ *         fileUpdateDAO.execute(fileName, SampleFileLine.class), SampleFileLine.class);
+ * ...
+ * ReconciliationTotals totals = writer.getTotals();
+ * writer.printTrailerLine(Arrays.asList("T," + totals.getCount() + "," + totals.getSum("amount")));
+ * </pre>
+ * </p>
+ * @see jp.terasoluna.fw.file.annotation.ReconciliationCount
+ * @see jp.terasoluna.fw.file.annotation.ReconciliationSum
+ * @param <T> ファイル行オブジェクト。
+ */
+public class ReconcilingFileLineWriter<T> implements BatchFileLineWriter<T> {
+
+    /**
+     * 出力先のFileLineWriter。
+     */
+    private final FileLineWriter<T> writer;
+
+    /**
+     * 集計結果。
+     */
+    private final ReconciliationTotals totals;
+
+    /**
+     * コンストラクタ。
+     * @param writer 出力先のFileLineWriter
+     * @param clazz ファイル行オブジェクトクラス
+     */
+    public ReconcilingFileLineWriter(FileLineWriter<T> writer,
+            Class<T> clazz) {
+        if (writer == null) {
+            throw new IllegalArgumentException("writer is required.");
+        }
+        this.writer = writer;
+        this.totals = new ReconciliationTotals(clazz);
+    }
+
+    /**
+     * ヘッダ部への書込み処理。
+     * @param headerLine ヘッダ部へ書き込む文字列のリスト
+     */
+    @Override
+    public void printHeaderLine(List<String> headerLine) {
+        writer.printHeaderLine(headerLine);
+    }
+
+    /**
+     * データ部への書き込み処理。
+     * <p>
+     * 書き込みに成功したデータ行を集計する。
+     * </p>
+     * @param t データ部へ書き込むファイル行オブジェクト
+     */
+    @Override
+    public void printDataLine(T t) {
+        writer.printDataLine(t);
+        totals.add(t);
+    }
+
+    /**
+     * データ部への一括書き込み処理。
+     * @param collection データ部へ書き込むファイル行オブジェクトのコレクション
+     */
+    @Override
+    public void printDataLines(Collection<? extends T> collection) {
+        for (T t : collection) {
+            printDataLine(t);
+        }
+    }
+
+    /**
+     * トレイラ部への書込み処理。
+     * @param trailerLine トレイラ部へ書き込む文字列のリスト
+     */
+    @Override
+    public void printTrailerLine(List<String> trailerLine) {
+        writer.printTrailerLine(trailerLine);
+    }
+
+    /**
+     * ファイル閉塞処理。
+     */
+    @Override
+    public void closeFile() {
+        writer.closeFile();
+    }
+
+    /**
+     * 集計結果を取得する。
+     * @return 集計結果
+     */
+    public ReconciliationTotals getTotals() {
+        return totals;
+    }
+}
@@ -0,0 +1,543 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * レコードオフセットインデックスクラス。
+ * <p>
+ * データ部の一定行数(間隔)ごとに、行の開始位置(ファイル先頭からのバイト数)を保持する疎なインデックス。<br>
+ * 任意のデータ行の直前のインデックス位置へシークし、残りの行のみを読み飛ばすことで、
+ * 大きなファイルでも読み飛ばし(リスタート)や行番号による範囲指定の読込を高速に行うことが出来る。<br>
+ * インデックスは対象ファイルと同じディレクトリに「ファイル名 + {@link #INDEX_FILE_SUFFIX}」のファイルとして保存する。
+ * 対象ファイルの長さ・更新日時・フォーマットが保存時と異なる場合、そのインデックスは利用しない。
+ * </p>
+ * <p>
+ * 行区切り文字があるファイルのインデックスの作成はファイル全体の走査となるため、ファイル行イテレータでは作成せず、
+ * 保存済みのインデックスファイルのみを利用する。ファイルの受信後など、読込より前に{@link #loadOrBuild}で作成しておくこと。
+ * </p>
+ * <b>※注意事項</b><br>
+ * 行区切り文字と囲み文字はファイルエンコーディングでASCIIと同じバイトで表現されること。<br>
+ * 囲み文字で囲まれていない範囲に囲み文字を含むファイルでは、行の境界を正しく判断できない。<br>
+ * @see jp.terasoluna.fw.file.annotation.FileFormat#recordIndexInterval()
+ */
+public class RecordOffsetIndex {
+
+    /**
+     * インデックスファイルの拡張子。
+     */
+    public static final String INDEX_FILE_SUFFIX = ".idx";
+
+    /**
+     * インデックスファイルの識別子。
+     */
+    private static final int MAGIC = 0x54524f49;
+
+    /**
+     * インデックスファイルの形式のバージョン。
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * 1回の読込で扱うバイト数。
+     */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * 作成時の対象ファイルのバイト数。
+     */
+    private final long fileLength;
+
+    /**
+     * 作成時の対象ファイルの更新日時。
+     */
+    private final long lastModified;
+
+    /**
+     * ファイルエンコーディング。
+     */
+    private final String fileEncoding;
+
+    /**
+     * 行区切り文字。
+     */
+    private final String lineFeedChar;
+
+    /**
+     * 囲み文字。
+     */
+    private final char encloseChar;
+
+    /**
+     * 1行分のバイト数(行区切り文字が無い場合のみ利用)。
+     */
+    private final int totalBytes;
+
+    /**
+     * ヘッダ行数。
+     */
+    private final int headerLineCount;
+
+    /**
+     * インデックスの間隔(行数)。
+     */
+    private final int interval;
+
+    /**
+     * ヘッダ部を除いた行数。
+     */
+    private final long recordCount;
+
+    /**
+     * インデックスの間隔ごとの行の開始位置。
+     */
+    private final long[] offsets;
+
+    /**
+     * コンストラクタ。
+     * @param fileLength 作成時の対象ファイルのバイト数
+     * @param lastModified 作成時の対象ファイルの更新日時
+     * @param fileEncoding ファイルエンコーディング
+     * @param lineFeedChar 行区切り文字
+     * @param encloseChar 囲み文字
+     * @param totalBytes 1行分のバイト数
+     * @param headerLineCount ヘッダ行数
+     * @param interval インデックスの間隔
+     * @param recordCount ヘッダ部を除いた行数
+     * @param offsets インデックスの間隔ごとの行の開始位置
+     */
+    private RecordOffsetIndex(long fileLength, long lastModified,
+            String fileEncoding, String lineFeedChar, char encloseChar,
+            int totalBytes, int headerLineCount, int interval,
+            long recordCount, long[] offsets) {
+        this.fileLength = fileLength;
+        this.lastModified = lastModified;
+        this.fileEncoding = fileEncoding;
+        this.lineFeedChar = lineFeedChar;
+        this.encloseChar = encloseChar;
+        this.totalBytes = totalBytes;
+        this.headerLineCount = headerLineCount;
+        this.interval = interval;
+        this.recordCount = recordCount;
+        this.offsets = offsets;
+    }
+
+    /**
+     * インデックスファイルを読み込み、対象ファイルに対して有効な場合は返却する。<br>
+     * インデックスファイルが存在しない、読み込めない、または対象ファイル・フォーマットと一致しない場合は新たに作成し、
+     * インデックスファイルに保存する。<br>
+     * インデックスファイルの保存に失敗した場合(読込専用のディレクトリなど)は、作成したインデックスをそのまま返却する。
+     * @param fileName 対象ファイル名
+     * @param fileEncoding ファイルエンコーディング
+     * @param lineFeedChar 行区切り文字
+     * @param encloseChar 囲み文字。囲み文字無しの場合は<code>Character.MIN_VALUE</code>
+     * @param totalBytes 1行分のバイト数(行区切り文字が無い場合のみ利用)
+     * @param headerLineCount ヘッダ行数
+     * @param interval インデックスの間隔(行数)
+     * @return レコードオフセットインデックス
+     * @throws FileException インデックスの作成に失敗した場合。
+     */
+    public static RecordOffsetIndex loadOrBuild(String fileName,
+            String fileEncoding, String lineFeedChar, char encloseChar,
+            int totalBytes, int headerLineCount, int interval) {
+        RecordOffsetIndex index = loadIfValid(fileName, fileEncoding,
+                lineFeedChar, encloseChar, totalBytes, headerLineCount,
+                interval);
+        if (index != null) {
+            return index;
+        }
+
+        String indexFileName = fileName + INDEX_FILE_SUFFIX;
+        index = build(fileName, fileEncoding, lineFeedChar, encloseChar,
+                totalBytes, headerLineCount, interval);
+        try {
+            index.store(indexFileName);
+        } catch (FileException e) {
+            // インデックスはメモリ上で利用できるため、保存に失敗した場合も処理を継続する。
+        }
+        return index;
+    }
+
+    /**
+     * 保存済みのインデックスファイルを読み込み、対象ファイルに対して有効な場合は返却する。<br>
+     * 対象ファイルの走査は行わない。
+     * @param fileName 対象ファイル名
+     * @param fileEncoding ファイルエンコーディング
+     * @param lineFeedChar 行区切り文字
+     * @param encloseChar 囲み文字。囲み文字無しの場合は<code>Character.MIN_VALUE</code>
+     * @param totalBytes 1行分のバイト数(行区切り文字が無い場合のみ利用)
+     * @param headerLineCount ヘッダ行数
+     * @param interval インデックスの間隔(行数)
+     * @return レコードオフセットインデックス。インデックスファイルが存在しない、読み込めない、
+     * または対象ファイル・フォーマットと一致しない場合は<code>null</code>
+     */
+    public static RecordOffsetIndex loadIfValid(String fileName,
+            String fileEncoding, String lineFeedChar, char encloseChar,
+            int totalBytes, int headerLineCount, int interval) {
+        RecordOffsetIndex index = load(fileName + INDEX_FILE_SUFFIX);
+        if (index != null && index.isValidFor(fileName, fileEncoding,
+                lineFeedChar, encloseChar, totalBytes, headerLineCount,
+                interval)) {
+            return index;
+        }
+        return null;
+    }
+
+    /**
+     * 対象ファイルを先頭から読み込み、インデックスを作成する。<br>
+     * 行区切り文字が無い場合(固定長ファイル)は、1行分のバイト数から作成する。
+     * @param fileName 対象ファイル名
+     * @param fileEncoding ファイルエンコーディング
+     * @param lineFeedChar 行区切り文字
+     * @param encloseChar 囲み文字。囲み文字無しの場合は<code>Character.MIN_VALUE</code>
+     * @param totalBytes 1行分のバイト数(行区切り文字が無い場合のみ利用)
+     * @param headerLineCount ヘッダ行数
+     * @param interval インデックスの間隔(行数)
+     * @return レコードオフセットインデックス
+     * @throws IllegalArgumentException 引数の設定が間違った場合。
+     * @throws FileException インデックスの作成に失敗した場合。
+     */
+    public static RecordOffsetIndex build(String fileName,
+            String fileEncoding, String lineFeedChar, char encloseChar,
+            int totalBytes, int headerLineCount, int interval) {
+        if (fileName == null || fileEncoding == null || lineFeedChar == null) {
+            throw new IllegalArgumentException("fileName, fileEncoding and lineFeedChar are required.");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval is larger than 0.");
+        }
+        if (lineFeedChar.length() == 0 && totalBytes <= 0) {
+            throw new IllegalArgumentException("totalBytes is larger than 0.");
+        }
+
+        File file = new File(fileName);
+        long lastModified = file.lastModified();
+        long length = file.length();
+        if (!file.isFile()) {
+            throw new FileException("Failed in generation of reader.", new FileNotFoundException(fileName), fileName);
+        }
+
+        long recordCount;
+        long[] offsets;
+        if (lineFeedChar.length() == 0) {
+            // 固定長ファイルは行の開始位置を計算で求める。
+            long dataStart = Math.min(length, (long) totalBytes
+                    * headerLineCount);
+            recordCount = (length - dataStart + totalBytes - 1) / totalBytes;
+            offsets = new long[(int) ((recordCount + interval - 1) / interval)];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = dataStart + (long) totalBytes * interval * i;
+            }
+        } else {
+            byte[] lineFeedBytes = toAsciiBytes(lineFeedChar, fileEncoding,
+                    fileName);
+            int encloseByte = -1;
+            if (encloseChar != Character.MIN_VALUE) {
+                encloseByte = toAsciiBytes(String.valueOf(encloseChar),
+                        fileEncoding, fileName)[0];
+            }
+            long[] result = new long[16];
+            long lineCount = 0;
+            int count = 0;
+
+            // 先頭行の開始位置を記録する。
+            if (0 < length) {
+                if (headerLineCount == 0) {
+                    result[count++] = 0;
+                }
+                lineCount++;
+            }
+
+            InputStream in = null;
+            try {
+                in = new FileInputStream(file);
+                byte[] buffer = new byte[BLOCK_SIZE];
+                long position = 0;
+                int matched = 0;
+                boolean inEnclose = false;
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    for (int i = 0; i < read; i++) {
+                        byte b = buffer[i];
+                        if (b == encloseByte) {
+                            inEnclose = !inEnclose;
+                            matched = 0;
+                        } else if (!inEnclose) {
+                            if (b == lineFeedBytes[matched]) {
+                                matched++;
+                            } else {
+                                matched = (b == lineFeedBytes[0]) ? 1 : 0;
+                            }
+                            if (matched == lineFeedBytes.length) {
+                                matched = 0;
+                                // 行区切り文字の直後が次の行の開始位置となる。
+                                long nextLineStart = position + i + 1;
+                                if (nextLineStart < length) {
+                                    long record = lineCount - headerLineCount;
+                                    if (0 <= record && record % interval == 0) {
+                                        if (count == result.length) {
+                                            result = Arrays.copyOf(result,
+                                                    count * 2);
+                                        }
+                                        result[count++] = nextLineStart;
+                                    }
+                                    lineCount++;
+                                }
+                            }
+                        }
+                    }
+                    position += read;
+                }
+            } catch (IOException e) {
+                throw new FileException("Processing of record index was failed.", e, fileName);
+            } finally {
+                if (in != null) {
+                    try {
+                        in.close();
+                    } catch (IOException e) {
+                        // 読込処理の例外を上書きしないため、クローズ時の例外はハンドリングしない
+                    }
+                }
+            }
+            recordCount = Math.max(0, lineCount - headerLineCount);
+            offsets = Arrays.copyOf(result, count);
+        }
+
+        return new RecordOffsetIndex(length, lastModified, fileEncoding, lineFeedChar, encloseChar, totalBytes, headerLineCount, interval, recordCount, offsets);
+    }
+
+    /**
+     * インデックスファイルを読み込む。
+     * @param indexFileName インデックスファイル名
+     * @return レコードオフセットインデックス。インデックスファイルが存在しない、または形式が正しくない場合は<code>null</code>
+     */
+    public static RecordOffsetIndex load(String indexFileName) {
+        File indexFile = new File(indexFileName);
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            long fileLength = in.readLong();
+            long lastModified = in.readLong();
+            String fileEncoding = in.readUTF();
+            String lineFeedChar = in.readUTF();
+            char encloseChar = in.readChar();
+            int totalBytes = in.readInt();
+            int headerLineCount = in.readInt();
+            int interval = in.readInt();
+            long recordCount = in.readLong();
+            int count = in.readInt();
+            if (interval <= 0 || count < 0
+                    || count != (recordCount + interval - 1) / interval) {
+                return null;
+            }
+            long[] offsets = new long[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = in.readLong();
+            }
+            return new RecordOffsetIndex(fileLength, lastModified, fileEncoding, lineFeedChar, encloseChar, totalBytes, headerLineCount, interval, recordCount, offsets);
+        } catch (IOException e) {
+            // 書きかけ・破損したインデックスファイルは利用しない。
+            return null;
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    // 読込結果に影響しないため、クローズ時の例外はハンドリングしない
+                }
+            }
+        }
+    }
+
+    /**
+     * インデックスをインデックスファイルに保存する。<br>
+     * 同じディレクトリの一時ファイルに書き込んでから名前を変更するため、
+     * 他の処理が書きかけのインデックスファイルを読み込むことはない。
+     * @param indexFileName インデックスファイル名
+     * @throws FileException インデックスファイルの保存に失敗した場合。
+     */
+    public void store(String indexFileName) {
+        File indexFile = new File(indexFileName).getAbsoluteFile();
+        File tempFile = null;
+        DataOutputStream out = null;
+        try {
+            tempFile = File.createTempFile(indexFile.getName(), ".tmp",
+                    indexFile.getParentFile());
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fileLength);
+            out.writeLong(lastModified);
+            out.writeUTF(fileEncoding);
+            out.writeUTF(lineFeedChar);
+            out.writeChar(encloseChar);
+            out.writeInt(totalBytes);
+            out.writeInt(headerLineCount);
+            out.writeInt(interval);
+            out.writeLong(recordCount);
+            out.writeInt(offsets.length);
+            for (long offset : offsets) {
+                out.writeLong(offset);
+            }
+            out.close();
+            out = null;
+
+            // 既存のインデックスファイルを置き換える。置き換えられない環境では削除してから名前を変更する。
+            if (!tempFile.renameTo(indexFile)) {
+                if (indexFile.exists() && !indexFile.delete()) {
+                    throw new FileException("File control operation was failed.", new IllegalStateException(), indexFileName);
+                }
+                if (!tempFile.renameTo(indexFile)) {
+                    throw new FileException("File control operation was failed.", new IllegalStateException(), indexFileName);
+                }
+            }
+            tempFile = null;
+        } catch (IOException e) {
+            throw new FileException("Processing of record index was failed.", e, indexFileName);
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    // 書込処理の例外を上書きしないため、クローズ時の例外はハンドリングしない
+                }
+            }
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    /**
+     * インデックスが対象ファイルとフォーマットに対して有効かどうかを判定する。
+     * @param fileName 対象ファイル名
+     * @param fileEncoding ファイルエンコーディング
+     * @param lineFeedChar 行区切り文字
+     * @param encloseChar 囲み文字
+     * @param totalBytes 1行分のバイト数
+     * @param headerLineCount ヘッダ行数
+     * @param interval インデックスの間隔
+     * @return 有効な場合<code>true</code>
+     */
+    public boolean isValidFor(String fileName, String fileEncoding,
+            String lineFeedChar, char encloseChar, int totalBytes,
+            int headerLineCount, int interval) {
+        File file = new File(fileName);
+        return file.length() == this.fileLength
+                && file.lastModified() == this.lastModified
+                && this.fileEncoding.equals(fileEncoding)
+                && this.lineFeedChar.equals(lineFeedChar)
+                && this.encloseChar == encloseChar
+                && (lineFeedChar.length() != 0 || this.totalBytes == totalBytes)
+                && this.headerLineCount == headerLineCount
+                && this.interval == interval;
+    }
+
+    /**
+     * 指定したデータ行以前で、インデックスに開始位置が記録されている直近のデータ行を取得する。
+     * @param record データ行(ヘッダ部を除いた0始まりの行番号)
+     * @return インデックスに記録されている直近のデータ行
+     */
+    public long getIndexedRecord(long record) {
+        long clamped = Math.max(0, Math.min(record, recordCount));
+        long slot = Math.min(clamped / interval, offsets.length - 1);
+        return Math.max(0, slot) * interval;
+    }
+
+    /**
+     * {@link #getIndexedRecord(long)}で取得したデータ行の開始位置を取得する。
+     * @param record データ行(ヘッダ部を除いた0始まりの行番号)
+     * @return 開始位置(ファイル先頭からのバイト数)。データ行が存在しない場合は-1
+     */
+    public long getOffset(long record) {
+        if (offsets.length == 0) {
+            return -1;
+        }
+        return offsets[(int) (getIndexedRecord(record) / interval)];
+    }
+
+    /**
+     * 指定した位置以前で、インデックスに記録されている直近の行の開始位置を取得する。
+     * @param position 位置(ファイル先頭からのバイト数)
+     * @return インデックスに記録されている直近の行の開始位置。存在しない場合は-1
+     */
+    public long getOffsetBefore(long position) {
+        int slot = Arrays.binarySearch(offsets, position);
+        if (slot < 0) {
+            slot = -slot - 2;
+        }
+        return slot < 0 ? -1 : offsets[slot];
+    }
+
+    /**
+     * ヘッダ部を除いた行数(データ部とトレイラ部の行数)を取得する。
+     * @return ヘッダ部を除いた行数
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * インデックスの間隔(行数)を取得する。
+     * @return インデックスの間隔
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * 1文字1バイトのASCIIと同じバイトで表現されることを確認し、バイト列に変換する。
+     * @param chars 変換する文字列
+     * @param fileEncoding ファイルエンコーディング
+     * @param fileName 対象ファイル名
+     * @return バイト列
+     * @throws FileException ASCIIと同じバイトで表現されない場合。
+     */
+    private static byte[] toAsciiBytes(String chars, String fileEncoding,
+            String fileName) {
+        byte[] bytes;
+        try {
+            bytes = FileDAOUtility.getAsciiBytes(chars, fileEncoding);
+        } catch (UnsupportedEncodingException e) {
+            throw new FileException("Failed in generation of reader.", e, fileName);
+        }
+        if (bytes == null) {
+            throw new FileException("lineFeedChar and encloseChar must be ASCII in fileEncoding to build record index.", new IllegalStateException(), fileName);
+        }
+        return bytes;
+    }
+}
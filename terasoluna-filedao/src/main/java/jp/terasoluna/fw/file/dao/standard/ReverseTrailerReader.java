@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * トレイラ部末尾読込クラス。
+ * <p>
+ * ファイルの末尾から行区切り文字を遡ってトレイラ部を読み込み、トレイラ部の開始位置(バイト数)を求める。<br>
+ * データ部を読み飛ばさないため、トレイラ部の取得にかかる処理量はトレイラ部の大きさにのみ依存する。<br>
+ * 行区切り文字が無い場合(固定長ファイル)は、1行分のバイト数からトレイラ部の開始位置を求める。
+ * </p>
+ * <b>※注意事項</b><br>
+ * 行区切り文字はファイルエンコーディングでASCIIと同じバイトで表現されること。<br>
+ * トレイラ部のカラムに行区切り文字が含まれる場合は正しく読み込めない。<br>
+ * @see jp.terasoluna.fw.file.annotation.FileFormat#trailerSeekFromEnd()
+ */
+public class ReverseTrailerReader {
+
+    /**
+     * 1回の読込で扱うバイト数。
+     */
+    private static final int BLOCK_SIZE = 8192;
+
+    /**
+     * ファイル名。
+     */
+    private final String fileName;
+
+    /**
+     * ファイルエンコーディング。
+     */
+    private final String fileEncoding;
+
+    /**
+     * 行区切り文字のバイト列。
+     */
+    private final byte[] lineFeedBytes;
+
+    /**
+     * 1行分のバイト数(行区切り文字が無い場合のみ利用)。
+     */
+    private final int totalBytes;
+
+    /**
+     * 読込済みのブロック。
+     */
+    private final byte[] block = new byte[BLOCK_SIZE];
+
+    /**
+     * 読込済みのブロックの開始位置。
+     */
+    private long blockStart = -1;
+
+    /**
+     * 読込済みのブロックの長さ。
+     */
+    private int blockLength = 0;
+
+    /**
+     * ファイルのバイト数。
+     */
+    private long fileLength = 0;
+
+    /**
+     * トレイラ部の開始位置。
+     */
+    private long trailerStartOffset = -1;
+
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param fileEncoding ファイルエンコーディング
+     * @param lineFeedChar 行区切り文字
+     * @param totalBytes 1行分のバイト数(行区切り文字が無い場合のみ利用)
+     * @throws IllegalArgumentException 引数の設定が間違った場合。
+     * @throws FileException 行区切り文字がASCIIと同じバイトで表現されないファイルエンコーディングの場合。
+     */
+    public ReverseTrailerReader(String fileName, String fileEncoding,
+            String lineFeedChar, int totalBytes) {
+        if (fileName == null) {
+            throw new IllegalArgumentException("fileName is required.");
+        }
+        if (fileEncoding == null) {
+            throw new IllegalArgumentException("fileEncoding is required.");
+        }
+        if (lineFeedChar == null) {
+            throw new IllegalArgumentException("lineFeedChar is required.");
+        }
+        if (lineFeedChar.length() == 0 && totalBytes <= 0) {
+            throw new IllegalArgumentException("totalBytes is larger than 0.");
+        }
+
+        this.fileName = fileName;
+        this.fileEncoding = fileEncoding;
+        this.totalBytes = totalBytes;
+        try {
+            this.lineFeedBytes = FileDAOUtility.getAsciiBytes(lineFeedChar,
+                    fileEncoding);
+        } catch (UnsupportedEncodingException e) {
+            throw new FileException("Failed in generation of reader.", e, fileName);
+        }
+
+        // 行区切り文字が1文字1バイトのASCIIと同じバイトで表現されない場合は、
+        // バイト列を遡って行の境界を判断できない。
+        if (lineFeedBytes == null) {
+            throw new FileException("lineFeedChar must be ASCII in fileEncoding to read trailer from the end of file.", new IllegalStateException(), fileName);
+        }
+    }
+
+    /**
+     * ファイルの末尾からトレイラ部を読み込む。<br>
+     * 指定された行数分のデータが存在しない場合に例外を返す。
+     * @param trailerLineCount トレイラ行数
+     * @return トレイラ部の文字列リスト(ファイル内の順序)
+     * @throws FileException トレイラ部の読込に失敗した場合。
+     */
+    public List<String> readTrailer(int trailerLineCount) {
+        List<String> trailer = new ArrayList<String>(trailerLineCount);
+        if (trailerLineCount <= 0) {
+            return trailer;
+        }
+
+        RandomAccessFile file = null;
+        try {
+            file = new RandomAccessFile(fileName, "r");
+            long length = file.length();
+            fileLength = length;
+            blockStart = -1;
+            if (lineFeedBytes.length == 0) {
+                readFixedTrailer(file, length, trailerLineCount, trailer);
+            } else {
+                readLineFeedTrailer(file, length, trailerLineCount, trailer);
+            }
+        } catch (FileNotFoundException e) {
+            throw new FileException("Failed in generation of reader.", e, fileName);
+        } catch (IOException e) {
+            throw new FileException("Processing of trailer reading was failed.", e, fileName);
+        } finally {
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException e) {
+                    // 読込処理の例外を上書きしないため、クローズ時の例外はハンドリングしない
+                }
+            }
+        }
+
+        // 末尾から読み込んだため、ファイル内の順序に並び替える。
+        Collections.reverse(trailer);
+        return trailer;
+    }
+
+    /**
+     * トレイラ部の開始位置(ファイル先頭からのバイト数)を取得する。<br>
+     * データ部はこの位置の直前で終わる。
+     * @return トレイラ部の開始位置。トレイラ部を読み込んでいない場合は-1
+     */
+    public long getTrailerStartOffset() {
+        return trailerStartOffset;
+    }
+
+    /**
+     * 行区切り文字が無いファイルのトレイラ部を読み込む。
+     * @param file ファイル
+     * @param length ファイルのバイト数
+     * @param trailerLineCount トレイラ行数
+     * @param trailer 読み込んだ行を末尾から順に格納するリスト
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    private void readFixedTrailer(RandomAccessFile file, long length,
+            int trailerLineCount, List<String> trailer) throws IOException {
+        long trailerBytes = (long) totalBytes * trailerLineCount;
+        if (length < trailerBytes) {
+            throw new FileException("The data which can be acquired doesn't exist.", new NoSuchElementException(), fileName);
+        }
+        byte[] line = new byte[totalBytes];
+        long lineStart = length;
+        for (int i = 0; i < trailerLineCount; i++) {
+            lineStart -= totalBytes;
+            file.seek(lineStart);
+            file.readFully(line);
+            trailer.add(new String(line, fileEncoding));
+        }
+        trailerStartOffset = lineStart;
+    }
+
+    /**
+     * 行区切り文字があるファイルのトレイラ部を、末尾から行区切り文字を遡って読み込む。<br>
+     * ファイルの最終行が行区切り文字で終わる場合、その行区切り文字は行の終端として扱う。
+     * @param file ファイル
+     * @param length ファイルのバイト数
+     * @param trailerLineCount トレイラ行数
+     * @param trailer 読み込んだ行を末尾から順に格納するリスト
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    private void readLineFeedTrailer(RandomAccessFile file, long length,
+            int trailerLineCount, List<String> trailer) throws IOException {
+        if (length == 0) {
+            throw new FileException("The data which can be acquired doesn't exist.", new NoSuchElementException(), fileName);
+        }
+        long lineEnd = length;
+        if (isLineFeedAt(file, length - lineFeedBytes.length)) {
+            lineEnd -= lineFeedBytes.length;
+        }
+
+        long position = lineEnd - 1;
+        while (trailer.size() < trailerLineCount) {
+            // 行区切り文字を遡って探す。見つからない場合は先頭行となる。
+            while (0 <= position && !isLineFeedAt(file, position
+                    - lineFeedBytes.length + 1)) {
+                position--;
+            }
+            long lineStart = position + 1;
+            trailer.add(readString(file, lineStart, lineEnd));
+
+            if (trailer.size() < trailerLineCount && lineStart == 0) {
+                throw new FileException("The data which can be acquired doesn't exist.", new NoSuchElementException(), fileName);
+            }
+            trailerStartOffset = lineStart;
+            lineEnd = lineStart - lineFeedBytes.length;
+            position = lineEnd - 1;
+        }
+    }
+
+    /**
+     * 指定位置から行区切り文字が始まるかどうかを判定する。
+     * @param file ファイル
+     * @param offset 判定する位置
+     * @return 行区切り文字が始まる場合<code>true</code>
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    private boolean isLineFeedAt(RandomAccessFile file, long offset)
+                                                                  throws IOException {
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < lineFeedBytes.length; i++) {
+            int b = byteAt(file, offset + i);
+            if (b != lineFeedBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 指定位置の1バイトを取得する。<br>
+     * 末尾から遡って読み込むため、指定位置を末尾とするブロック単位で読み込む。
+     * @param file ファイル
+     * @param offset 取得する位置
+     * @return 指定位置のバイト。ファイルの範囲外の場合は-1
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    private int byteAt(RandomAccessFile file, long offset) throws IOException {
+        if (offset < 0 || fileLength <= offset) {
+            return -1;
+        }
+        if (blockStart < 0 || offset < blockStart
+                || blockStart + blockLength <= offset) {
+            long end = Math.min(offset + lineFeedBytes.length, fileLength);
+            blockStart = Math.max(0, end - BLOCK_SIZE);
+            blockLength = (int) (end - blockStart);
+            file.seek(blockStart);
+            file.readFully(block, 0, blockLength);
+        }
+        return block[(int) (offset - blockStart)];
+    }
+
+    /**
+     * 指定範囲のバイト列を文字列に変換する。
+     * @param file ファイル
+     * @param start 開始位置
+     * @param end 終了位置(この位置は含まない)
+     * @return 文字列
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    private String readString(RandomAccessFile file, long start, long end)
+                                                                          throws IOException {
+        byte[] bytes = new byte[(int) (end - start)];
+        file.seek(start);
+        file.readFully(bytes);
+        return new String(bytes, fileEncoding);
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IllegalFormatException;
+import java.util.List;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.dao.BatchFileLineWriter;
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineWriter;
+import jp.terasoluna.fw.file.dao.FileUpdateDAO;
+
+/**
+ * 件数・サイズごとに出力ファイルを切り替えるFileLineWriter。
+ * <p>
+ * データ行を順に出力し、1ファイルあたりのデータ行の件数、またはバイト数が上限に達した場合は次のファイルに切り替える。
+ * 各ファイル(パート)は、コンストラクタで指定した{@link FileUpdateDAO}が生成する<code>FileLineWriter</code>で出力する。
+ * パートのファイル名は、ファイル名パターンに1から始まるパート番号を<code>String.format()</code>で埋め込んで生成する
+ * (例:「/output/data_%03d.csv」の場合は「/output/data_001.csv」、「/output/data_002.csv」…)。<br>
+ * バイト数はファイルエンコーディングで変換した場合のバイト数(圧縮形式の場合は圧縮前)で、ヘッダ部を含む。
+ * バイト数の上限を指定する場合、<code>FileUpdateDAO</code>は{@link AbstractFileLineWriter}を生成するものであること。
+ * </p>
+ * <p>
+ * <b>ヘッダ部・トレイラ部</b><br>
+ * ヘッダ部は各パートで繰り返す設定の場合はすべてのパートの先頭に、それ以外の場合は最初のパートのみに出力する。
+ * トレイラ部は最後のパートのみに出力する。
+ * データ行が1件もない場合も、<code>closeFile()</code>でヘッダ部・トレイラ部のみのパートを1つ作成する。
+ * </p>
+ * <p>
+ * <b>マニフェストファイル</b><br>
+ * マニフェストファイル名を指定した場合、<code>closeFile()</code>でパートごとに「ファイル名,データ行の件数」の行を出力する。
+ * 文字コードと行区切り文字は、ファイル行オブジェクトの<code>@FileFormat</code>の設定に従う。
+ * 後続処理はマニフェストファイルからパートの一覧を取得し、パートごとに並列に処理できる。
+ * </p>
+ * <b>※注意事項</b><br>
+ * このクラスはスレッドセーフではない。1つのスレッドから出力すること。<br>
+ * 既存のパートのファイルが上書きされるよう、ファイル行オブジェクトの<code>@FileFormat</code>の<code>overWriteFlg</code>を
+ * <code>true</code>にするか、出力前に既存のファイルを削除しておくこと。<br>
+ * @see jp.terasoluna.fw.file.dao.standard.PartitionedFileLineWriter
+ * @param <T> ファイル行オブジェクト。
+ */
+public class RollingFileLineWriter<T> implements BatchFileLineWriter<T> {
+
+    /**
+     * 各パートのFileLineWriterを生成するファイル書き込み用DAO。
+     */
+    private final FileUpdateDAO fileUpdateDAO;
+
+    /**
+     * ファイル行オブジェクトクラス。
+     */
+    private final Class<T> clazz;
+
+    /**
+     * パートのファイル名パターン。
+     */
+    private final String fileNamePattern;
+
+    /**
+     * 1パートあたりのデータ行の件数の上限(0の場合は上限なし)。
+     */
+    private final int maxLineCount;
+
+    /**
+     * 1パートあたりのバイト数の上限(0の場合は上限なし)。
+     */
+    private final long maxBytes;
+
+    /**
+     * ヘッダ部を各パートで繰り返すかどうか。
+     */
+    private final boolean repeatHeader;
+
+    /**
+     * マニフェストファイル名(出力しない場合は<code>null</code>)。
+     */
+    private final String manifestFileName;
+
+    /**
+     * 作成したパートのファイル名。
+     */
+    private final List<String> partFileNames = new ArrayList<String>();
+
+    /**
+     * 作成したパートのデータ行の件数。
+     */
+    private final List<Integer> partLineCounts = new ArrayList<Integer>();
+
+    /**
+     * ヘッダ部の文字列。
+     */
+    private final List<String> headerLine = new ArrayList<String>();
+
+    /**
+     * 出力中のパートのFileLineWriter。
+     */
+    private FileLineWriter<T> writer = null;
+
+    /**
+     * 出力中のパートのバイト数を数えるFileLineWriter(バイト数の上限がない場合は<code>null</code>)。
+     */
+    private AbstractFileLineWriter<T> byteCountWriter = null;
+
+    /**
+     * 出力中のパートのデータ行の件数。
+     */
+    private int partLineCount = 0;
+
+    /**
+     * データ部の出力が開始されたかどうか。
+     */
+    private boolean writeData = false;
+
+    /**
+     * トレイラ部の出力が開始されたかどうか。
+     */
+    private boolean writeTrailer = false;
+
+    /**
+     * 出力したデータ行の件数。
+     */
+    private int currentLineCount = 0;
+
+    /**
+     * コンストラクタ。<br>
+     * データ行の件数ごとにパートを切り替え、ヘッダ部は各パートで繰り返し、マニフェストファイルは出力しない。
+     * @param fileUpdateDAO 各パートのFileLineWriterを生成するファイル書き込み用DAO
+     * @param clazz ファイル行オブジェクトクラス
+     * @param fileNamePattern パートのファイル名パターン(パート番号を埋め込む書式を含む)
+     * @param maxLineCount 1パートあたりのデータ行の件数の上限
+     */
+    public RollingFileLineWriter(FileUpdateDAO fileUpdateDAO, Class<T> clazz,
+            String fileNamePattern, int maxLineCount) {
+        this(fileUpdateDAO, clazz, fileNamePattern, maxLineCount, 0L, true,
+                null);
+    }
+
+    /**
+     * コンストラクタ。
+     * @param fileUpdateDAO 各パートのFileLineWriterを生成するファイル書き込み用DAO
+     * @param clazz ファイル行オブジェクトクラス
+     * @param fileNamePattern パートのファイル名パターン(パート番号を埋め込む書式を含む)
+     * @param maxLineCount 1パートあたりのデータ行の件数の上限(0の場合は上限なし)
+     * @param maxBytes 1パートあたりのバイト数の上限(0の場合は上限なし)
+     * @param repeatHeader ヘッダ部を各パートで繰り返す場合は<code>true</code>
+     * @param manifestFileName マニフェストファイル名(出力しない場合は<code>null</code>)
+     */
+    public RollingFileLineWriter(FileUpdateDAO fileUpdateDAO, Class<T> clazz,
+            String fileNamePattern, int maxLineCount, long maxBytes,
+            boolean repeatHeader, String manifestFileName) {
+        if (fileUpdateDAO == null) {
+            throw new IllegalArgumentException("fileUpdateDAO is required.");
+        }
+        if (clazz == null) {
+            throw new IllegalArgumentException("clazz is required.");
+        }
+        if (fileNamePattern == null || "".equals(fileNamePattern)) {
+            throw new IllegalArgumentException("fileNamePattern is required.");
+        }
+        if (maxLineCount < 0) {
+            throw new IllegalArgumentException("maxLineCount must be 0 or more.");
+        }
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must be 0 or more.");
+        }
+        if (maxLineCount == 0 && maxBytes == 0) {
+            throw new IllegalArgumentException("maxLineCount or maxBytes is required.");
+        }
+        try {
+            if (String.format(fileNamePattern, 1).equals(String.format(
+                    fileNamePattern, 2))) {
+                throw new IllegalArgumentException("fileNamePattern must contain part number.");
+            }
+        } catch (IllegalFormatException e) {
+            throw new IllegalArgumentException("fileNamePattern is invalid.", e);
+        }
+        this.fileUpdateDAO = fileUpdateDAO;
+        this.clazz = clazz;
+        this.fileNamePattern = fileNamePattern;
+        this.maxLineCount = maxLineCount;
+        this.maxBytes = maxBytes;
+        this.repeatHeader = repeatHeader;
+        this.manifestFileName = manifestFileName;
+    }
+
+    /**
+     * ヘッダ部への書込み処理。
+     * <p>
+     * ヘッダ部の文字列を保持し、パートのファイルを開いた時に出力する。
+     * </p>
+     * @param headerLine ヘッダ部へ書き込む文字列のリスト
+     */
+    @Override
+    public void printHeaderLine(List<String> headerLine) {
+        if (writeData || writeTrailer) {
+            throw new FileException("Header part should be called before "
+                    + "data part or trailer part.", new IllegalStateException(), fileNamePattern);
+        }
+        this.headerLine.addAll(headerLine);
+    }
+
+    /**
+     * データ部への書き込み処理。
+     * <p>
+     * 出力中のパートのデータ行の件数、またはバイト数が上限に達している場合は、次のパートに切り替えてから出力する。
+     * </p>
+     * @param t データ部へ書き込むファイル行オブジェクト
+     */
+    @Override
+    public void printDataLine(T t) {
+        if (writeTrailer) {
+            throw new FileException("Header part or data part should be "
+                    + "called before TrailerPart", new IllegalStateException(), fileNamePattern);
+        }
+        if (writer == null) {
+            openPart();
+        } else if (isFull()) {
+            closePart();
+            openPart();
+        }
+        writer.printDataLine(t);
+        partLineCount++;
+        currentLineCount++;
+        writeData = true;
+    }
+
+    /**
+     * データ部への一括書き込み処理。
+     * @param collection データ部へ書き込むファイル行オブジェクトのコレクション
+     */
+    @Override
+    public void printDataLines(Collection<? extends T> collection) {
+        for (T t : collection) {
+            printDataLine(t);
+        }
+    }
+
+    /**
+     * トレイラ部への書込み処理。
+     * <p>
+     * 出力中の(最後の)パートにトレイラ部を出力する。
+     * </p>
+     * @param trailerLine トレイラ部へ書き込む文字列のリスト
+     */
+    @Override
+    public void printTrailerLine(List<String> trailerLine) {
+        if (writer == null) {
+            openPart();
+        }
+        writer.printTrailerLine(trailerLine);
+        writeTrailer = true;
+    }
+
+    /**
+     * ファイルクローズ処理。
+     * <p>
+     * 出力中のパートのファイルを閉じ、マニフェストファイルを出力する。
+     * パートが1つもない場合は、ヘッダ部・トレイラ部のみのパートを作成する。
+     * </p>
+     */
+    @Override
+    public void closeFile() {
+        if (writer == null && partFileNames.isEmpty()) {
+            openPart();
+        }
+        if (writer != null) {
+            closePart();
+        }
+        if (manifestFileName != null) {
+            writeManifest();
+        }
+    }
+
+    /**
+     * 出力したデータ行の件数を取得する。
+     * @return 出力したデータ行の件数
+     */
+    public int getCurrentLineCount() {
+        return currentLineCount;
+    }
+
+    /**
+     * 作成したパートのファイル名を取得する。
+     * @return パートのファイル名のリスト(パート番号順)
+     */
+    public List<String> getPartFileNames() {
+        return Collections.unmodifiableList(partFileNames);
+    }
+
+    /**
+     * 作成したパートのデータ行の件数を取得する。
+     * <p>
+     * 出力中のパートは、閉じるまで含まれない。
+     * </p>
+     * @return パートのデータ行の件数のリスト(パート番号順)
+     */
+    public List<Integer> getPartLineCounts() {
+        return Collections.unmodifiableList(partLineCounts);
+    }
+
+    /**
+     * 出力中のパートが上限に達しているかどうかを確認する。
+     * @return データ行の件数、またはバイト数が上限に達している場合は<code>true</code>
+     */
+    private boolean isFull() {
+        if (maxLineCount > 0 && partLineCount >= maxLineCount) {
+            return true;
+        }
+        return byteCountWriter != null
+                && byteCountWriter.getWrittenBytes() >= maxBytes;
+    }
+
+    /**
+     * 次のパートのファイルを開き、ヘッダ部を出力する。
+     * @throws FileException バイト数の上限を指定し、FileLineWriterがAbstractFileLineWriterではない場合。
+     */
+    private void openPart() {
+        int partNumber = partFileNames.size() + 1;
+        String fileName = String.format(fileNamePattern, partNumber);
+        FileLineWriter<T> partWriter = fileUpdateDAO.execute(fileName, clazz);
+        if (maxBytes > 0) {
+            if (!(partWriter instanceof AbstractFileLineWriter)) {
+                partWriter.closeFile();
+                throw new FileException("maxBytes requires AbstractFileLineWriter.", new IllegalStateException(), fileName);
+            }
+            byteCountWriter = (AbstractFileLineWriter<T>) partWriter;
+            byteCountWriter.enableByteCount();
+        }
+        writer = partWriter;
+        partLineCount = 0;
+        partFileNames.add(fileName);
+        if ((partNumber == 1 || repeatHeader) && !headerLine.isEmpty()) {
+            writer.printHeaderLine(headerLine);
+        }
+    }
+
+    /**
+     * 出力中のパートのファイルを閉じ、データ行の件数を記録する。
+     */
+    private void closePart() {
+        FileLineWriter<T> partWriter = writer;
+        writer = null;
+        byteCountWriter = null;
+        partLineCounts.add(partLineCount);
+        partWriter.closeFile();
+    }
+
+    /**
+     * マニフェストファイルを出力する。
+     * @throws FileException マニフェストファイルの出力に失敗した場合。
+     */
+    private void writeManifest() {
+        String fileEncoding = System.getProperty("file.encoding");
+        String lineFeedChar = System.getProperty("line.separator");
+        FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
+        if (fileFormat != null) {
+            if (!"".equals(fileFormat.fileEncoding())) {
+                fileEncoding = fileFormat.fileEncoding();
+            }
+            if (!"".equals(fileFormat.lineFeedChar())) {
+                lineFeedChar = fileFormat.lineFeedChar();
+            }
+        }
+        try {
+            Writer manifest = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(manifestFileName), fileEncoding));
+            try {
+                for (int i = 0; i < partFileNames.size(); i++) {
+                    manifest.write(partFileNames.get(i));
+                    manifest.write(',');
+                    manifest.write(String.valueOf(partLineCounts.get(i)));
+                    manifest.write(lineFeedChar);
+                }
+            } finally {
+                manifest.close();
+            }
+        } catch (IOException e) {
+            throw new FileException("Processing of writer was failed.", e, manifestFileName);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -166,19 +167,44 @@ public class VariableFileLineIterator<T> extends AbstractFileLineIterator<T> {
 
         super(fileName, clazz, columnParserMap);
 
+        // 区切り文字と囲み文字を設定し、初期化処理を行う。
+        initFileFormat(clazz);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりに入力ストリームからデータを読み込む。入力ストリームは{@link #closeFile()}でクローズされる。
+     * @param inputStream 入力ストリーム
+     * @param clazz ファイル行オブジェクトクラス
+     * @param columnParserMap テキスト設定ルール
+     */
+    public VariableFileLineIterator(InputStream inputStream, Class<T> clazz,
+            Map<String, ColumnParser> columnParserMap) {
+
+        super(inputStream, clazz, columnParserMap);
+
+        // 区切り文字と囲み文字を設定し、初期化処理を行う。
+        initFileFormat(clazz);
+    }
+
+    /**
+     * 区切り文字と囲み文字の設定をチェックして設定し、初期化処理を行う。
+     * @param clazz ファイル行オブジェクトクラス
+     */
+    private void initFileFormat(Class<T> clazz) {
         FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
 
         // 区切り文字がCharacter.MIN_VALUEの場合、例外をスローする。
         if (fileFormat.delimiter() == Character.MIN_VALUE) {
             throw new FileException("Delimiter can not use '\\u0000'.",
-                    new IllegalStateException(), fileName);
+                    new IllegalStateException(), getFileName());
         }
 
         // 改行文字内に区切り文字が含まれている場合、例外をスローする。
         if (fileFormat.lineFeedChar().indexOf(fileFormat.delimiter()) >= 0) {
             throw new FileException(
                     "delimiter is the same as lineFeedChar and is no use.",
-                    new IllegalStateException(), fileName);
+                    new IllegalStateException(), getFileName());
         }
 
         // 囲み文字を設定する。
@@ -16,6 +16,7 @@
 
 package jp.terasoluna.fw.file.dao.standard;
 
+import java.nio.channels.WritableByteChannel;
 import java.util.Map;
 
 import jp.terasoluna.fw.file.annotation.FileFormat;
@@ -154,22 +155,74 @@ public class VariableFileLineWriter<T> extends AbstractFileLineWriter<T> {
      */
     public VariableFileLineWriter(String fileName, Class<T> clazz,
             Map<String, ColumnFormatter> columnFormatterMap) {
+        this(fileName, clazz, columnFormatterMap, 0);
+    }
 
-        super(fileName, clazz, columnFormatterMap);
+    /**
+     * コンストラクタ。
+     * @param fileName ファイル名
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数。非同期出力を行わない場合は<code>0</code>。
+     */
+    public VariableFileLineWriter(String fileName, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterMap,
+            int asyncBufferCount) {
 
+        super(fileName, clazz, columnFormatterMap, asyncBufferCount);
+
+        // 区切り文字と囲み文字を設定し、初期化処理を行う。
+        initFileFormat(clazz);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりにチャネルへ書き込む。チャネルは{@link #closeFile()}でクローズされる。
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     */
+    public VariableFileLineWriter(WritableByteChannel channel, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterMap) {
+        this(channel, clazz, columnFormatterMap, 0);
+    }
+
+    /**
+     * コンストラクタ。<br>
+     * ファイル名の代わりにチャネルへ書き込む。チャネルは{@link #closeFile()}でクローズされる。
+     * @param channel 出力先のチャネル
+     * @param clazz パラメータクラス
+     * @param columnFormatterMap テキスト取得ルール
+     * @param asyncBufferCount 非同期出力で利用するバイトバッファの数。非同期出力を行わない場合は<code>0</code>。
+     */
+    public VariableFileLineWriter(WritableByteChannel channel, Class<T> clazz,
+            Map<String, ColumnFormatter> columnFormatterMap,
+            int asyncBufferCount) {
+
+        super(channel, clazz, columnFormatterMap, asyncBufferCount);
+
+        // 区切り文字と囲み文字を設定し、初期化処理を行う。
+        initFileFormat(clazz);
+    }
+
+    /**
+     * 区切り文字と囲み文字の設定をチェックして設定し、初期化処理を行う。
+     * @param clazz パラメータクラス
+     */
+    private void initFileFormat(Class<T> clazz) {
         FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
 
         // 区切り文字がCharacter.MIN_VALUEの場合、例外をスローする。
         if (fileFormat.delimiter() == Character.MIN_VALUE) {
             throw new FileException("Delimiter can not use '\\u0000'.",
-                    new IllegalStateException(), fileName);
+                    new IllegalStateException(), getFileName());
         }
 
         // 改行文字内に区切り文字が含まれている場合、例外をスローする。
         if (fileFormat.lineFeedChar().indexOf(fileFormat.delimiter()) >= 0) {
             throw new FileException(
                     "delimiter is the same as lineFeedChar and is no use.",
-                    new IllegalStateException(), fileName);
+                    new IllegalStateException(), getFileName());
         }
 
         // 区切り文字を設定する。
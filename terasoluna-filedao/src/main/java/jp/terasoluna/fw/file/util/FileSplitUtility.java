@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import jp.terasoluna.fw.file.annotation.CompressionType;
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.standard.FileDAOUtility;
+import jp.terasoluna.fw.file.dao.standard.RecordOffsetIndex;
+import jp.terasoluna.fw.file.dao.standard.ReverseTrailerReader;
+
+/**
+ * ファイル分割機能を実装するクラス。
+ * <p>
+ * ファイル行オブジェクトの{@link FileFormat}の設定に従い、ファイルを行の途中で分割することなく複数のファイルに分割する。<br>
+ * 複数のジョブでファイルを並列に処理する際の、入力ファイルの振り分けに利用する。<br>
+ * データ部を分割数で等分した位置から次の行の開始位置を求めて分割位置とするため、
+ * 行の内容は解析せず、分割位置の近傍のみを走査する。
+ * 分割したデータは、ヒープ上のバッファを経由せずに転送(ゼロコピー)する。<br>
+ * ヘッダ部・トレイラ部は、{@link HeaderTrailerPolicy}に従って分割後のファイルに出力する。
+ * </p>
+ * ファイル分割機能は以下の通り。
+ * <ul>
+ * <li>CSV・可変長ファイル、行区切り文字がある固定長ファイルの分割</li>
+ * <li>行区切り文字が無い固定長ファイルの分割</li>
+ * </ul>
+ * 囲み文字が設定されている場合、囲み文字で囲まれた行区切り文字では分割しない。<br>
+ * 囲み文字の内外は行の開始位置からしか判断できないため、直前の分割位置から走査する。
+ * <code>recordIndexInterval</code>が設定されている場合は、レコードオフセットインデックスに記録された
+ * 分割位置の直前の行の開始位置から走査する。
+ * <p>
+ * <b>※注意事項</b><br>
+ * 行区切り文字と囲み文字はファイルエンコーディングでASCIIと同じバイトで表現されること。<br>
+ * 圧縮されたファイルは分割できない。<br>
+ * 分割後のファイルが存在する場合の扱いは、{@link FileUtility#isCheckFileExist()}の設定に従う。
+ * </p>
+ * @see jp.terasoluna.fw.file.util.HeaderTrailerPolicy
+ */
+public class FileSplitUtility {
+
+    /**
+     * 1回の読込で扱うバイト数。
+     */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * CSV・可変長ファイル、行区切り文字がある固定長ファイルを分割する。
+     * <p>
+     * 行区切り文字が設定されていない場合は、システムデフォルトの行区切り文字を利用する。<br>
+     * 分割後のファイル数は<code>partFiles</code>の要素数となる。
+     * データ部の行数が分割数より少ない場合、データ部を含まないファイルが出力される。
+     * </p>
+     * @param srcFile 分割するファイルのパス
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param partFiles 分割後のファイルのパスのリスト
+     * @param policy ヘッダ部・トレイラ部の分割方針
+     * @throws FileException ファイルの分割に失敗した場合。
+     */
+    public static void splitFile(String srcFile, Class<?> clazz,
+            List<String> partFiles, HeaderTrailerPolicy policy) {
+        split(srcFile, clazz, partFiles, policy, false);
+    }
+
+    /**
+     * 固定長ファイルを分割する。
+     * <p>
+     * 行区切り文字が設定されていない場合は、ファイル行オブジェクトのカラムのバイト数の合計を
+     * 1行分のバイト数として分割する。<br>
+     * 分割後のファイル数は<code>partFiles</code>の要素数となる。
+     * データ部の行数が分割数より少ない場合、データ部を含まないファイルが出力される。
+     * </p>
+     * @param srcFile 分割するファイルのパス
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param partFiles 分割後のファイルのパスのリスト
+     * @param policy ヘッダ部・トレイラ部の分割方針
+     * @throws FileException ファイルの分割に失敗した場合。
+     */
+    public static void splitFixedFile(String srcFile, Class<?> clazz,
+            List<String> partFiles, HeaderTrailerPolicy policy) {
+        split(srcFile, clazz, partFiles, policy, true);
+    }
+
+    /**
+     * ファイルを分割する。
+     * @param srcFile 分割するファイルのパス
+     * @param clazz ファイル行オブジェクトのクラス
+     * @param partFiles 分割後のファイルのパスのリスト
+     * @param policy ヘッダ部・トレイラ部の分割方針
+     * @param fixed 固定長ファイルの場合<code>true</code>
+     * @throws FileException ファイルの分割に失敗した場合。
+     */
+    private static void split(String srcFile, Class<?> clazz,
+            List<String> partFiles, HeaderTrailerPolicy policy,
+            boolean fixed) {
+
+        checkAbsolutePath(srcFile);
+        if (partFiles == null || partFiles.isEmpty()) {
+            throw new FileException("partFiles is not set.", srcFile);
+        }
+        for (String partFile : partFiles) {
+            checkAbsolutePath(partFile);
+        }
+        if (policy == null) {
+            throw new FileException("policy is not set.", srcFile);
+        }
+
+        File srcFileObject = new File(srcFile);
+        // 分割元のパスにファイルが存在しない場合、エラーを投げて処理を終了する。
+        if (!srcFileObject.exists()) {
+            throw new FileException(srcFile + " is not exist.", srcFile);
+        }
+
+        FileFormat fileFormat = clazz.getAnnotation(FileFormat.class);
+        // ファイル行オブジェクトのClassにFileFormatアノテーションがあるかチェックする。
+        if (fileFormat == null) {
+            throw new FileException("FileFormat annotation is not found.", new IllegalStateException(), srcFile);
+        }
+        if (fileFormat.compression().resolve(srcFile) != CompressionType.NONE) {
+            throw new FileException("Compressed file can not be split.", new IllegalStateException(), srcFile);
+        }
+
+        // 行区切り文字・ファイルエンコーディングは、ファイル行イテレータと同じ規則で決定する。
+        String lineFeedChar = fileFormat.lineFeedChar();
+        if ("".equals(lineFeedChar) && !fixed) {
+            lineFeedChar = System.getProperty("line.separator");
+        }
+        String fileEncoding = fileFormat.fileEncoding();
+        if ("".equals(fileEncoding)) {
+            fileEncoding = System.getProperty("file.encoding");
+        }
+
+        // 1行分のバイト数と囲み文字をファイル行オブジェクトから求める。
+        int totalBytes = 0;
+        char encloseChar = fixed ? Character.MIN_VALUE
+                : fileFormat.encloseChar();
+        Class<?> tempClass = clazz;
+        while (tempClass != null) {
+            for (Field field : tempClass.getDeclaredFields()) {
+                InputFileColumn inputFileColumn = field.getAnnotation(
+                        InputFileColumn.class);
+                if (inputFileColumn == null) {
+                    continue;
+                }
+                totalBytes += inputFileColumn.bytes();
+                char columnEncloseChar = inputFileColumn.columnEncloseChar();
+                if (!fixed && columnEncloseChar != Character.MIN_VALUE) {
+                    if (encloseChar == Character.MIN_VALUE) {
+                        encloseChar = columnEncloseChar;
+                    } else if (encloseChar != columnEncloseChar) {
+                        throw new FileException("File can not be split with different columnEncloseChar.", new IllegalStateException(), srcFile);
+                    }
+                }
+            }
+            tempClass = tempClass.getSuperclass();
+        }
+        if (lineFeedChar.length() == 0 && totalBytes <= 0) {
+            throw new FileException("Total bytes of InputFileColumn is not set.", new IllegalStateException(), srcFile);
+        }
+
+        byte[] lineFeedBytes = toAsciiBytes(lineFeedChar, fileEncoding,
+                srcFile);
+        boolean enclosed = encloseChar != Character.MIN_VALUE;
+        byte encloseByte = enclosed ? toAsciiBytes(String.valueOf(
+                encloseChar), fileEncoding, srcFile)[0] : 0;
+
+        // 分割後のファイルが存在する場合は、分割を始める前に削除またはエラーとする。
+        for (String partFile : partFiles) {
+            File partFileObject = new File(partFile);
+            if (partFileObject.exists() && FileUtility.isCheckFileExist()) {
+                if (!partFileObject.delete()) {
+                    throw new FileException("File control operation was failed.", partFile);
+                }
+            } else if (partFileObject.exists()) {
+                throw new FileException(partFile + " is exist.", partFile);
+            }
+        }
+
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(srcFileObject);
+            FileChannel srcChannel = fis.getChannel();
+            long length = srcChannel.size();
+
+            // データ部の開始位置と終了位置を求める。
+            long dataStart;
+            if (lineFeedBytes.length == 0) {
+                dataStart = Math.min(length, (long) totalBytes
+                        * fileFormat.headerLineCount());
+            } else {
+                dataStart = scanLineStart(srcChannel, 0, 0, fileFormat
+                        .headerLineCount(), length, lineFeedBytes, enclosed,
+                        encloseByte);
+            }
+            long dataEnd = length;
+            if (0 < fileFormat.trailerLineCount()) {
+                ReverseTrailerReader trailerReader = new ReverseTrailerReader(srcFile, fileEncoding, lineFeedChar, totalBytes);
+                trailerReader.readTrailer(fileFormat.trailerLineCount());
+                dataEnd = Math.max(dataStart, trailerReader
+                        .getTrailerStartOffset());
+            }
+
+            RecordOffsetIndex index = null;
+            if (enclosed && 0 < fileFormat.recordIndexInterval()) {
+                index = RecordOffsetIndex.loadOrBuild(srcFile, fileEncoding,
+                        lineFeedChar, encloseChar, totalBytes, fileFormat
+                                .headerLineCount(), fileFormat
+                                .recordIndexInterval());
+            }
+
+            // データ部を等分した位置から、次の行の開始位置を分割位置とする。
+            int parts = partFiles.size();
+            long[] boundaries = new long[parts + 1];
+            boundaries[0] = dataStart;
+            boundaries[parts] = dataEnd;
+            for (int i = 1; i < parts; i++) {
+                long previous = boundaries[i - 1];
+                long target = dataStart + (dataEnd - dataStart) / parts * i;
+                if (target <= previous) {
+                    boundaries[i] = previous;
+                } else if (lineFeedBytes.length == 0) {
+                    long records = (target - dataStart + totalBytes - 1)
+                            / totalBytes;
+                    boundaries[i] = Math.min(dataEnd, dataStart + records
+                            * totalBytes);
+                } else if (!enclosed) {
+                    // 分割位置の直前で終わる行区切り文字も検出できる位置から走査する。
+                    boundaries[i] = scanLineStart(srcChannel, Math.max(
+                            previous, target - lineFeedBytes.length), target,
+                            1, dataEnd, lineFeedBytes, false, encloseByte);
+                } else {
+                    long from = previous;
+                    if (index != null) {
+                        from = Math.max(previous, index.getOffsetBefore(
+                                target));
+                    }
+                    boundaries[i] = scanLineStart(srcChannel, from, target,
+                            1, dataEnd, lineFeedBytes, true, encloseByte);
+                }
+            }
+
+            for (int i = 0; i < parts; i++) {
+                boolean withHeader = policy == HeaderTrailerPolicy.ALL
+                        || (policy == HeaderTrailerPolicy.FIRST_AND_LAST
+                                && i == 0);
+                boolean withTrailer = policy == HeaderTrailerPolicy.ALL
+                        || (policy == HeaderTrailerPolicy.FIRST_AND_LAST
+                                && i == parts - 1);
+                FileOutputStream fos = null;
+                try {
+                    fos = new FileOutputStream(partFiles.get(i));
+                    FileChannel partChannel = fos.getChannel();
+                    if (withHeader) {
+                        FileUtility.transferEntirely(srcChannel, 0, dataStart, partChannel);
+                    }
+                    FileUtility.transferEntirely(srcChannel, boundaries[i],
+                            boundaries[i + 1], partChannel);
+                    if (withTrailer) {
+                        FileUtility.transferEntirely(srcChannel, dataEnd,
+                                length, partChannel);
+                    }
+                } finally {
+                    if (fos != null) {
+                        try {
+                            fos.close();
+                        } catch (IOException e) {
+                            // 転送処理の例外を上書きしないため、クローズ時の例外はハンドリングしない
+                        }
+                    }
+                }
+            }
+        } catch (FileNotFoundException e) {
+            throw new FileException("File control operation was failed.", e);
+        } catch (IOException e) {
+            throw new FileException("File control operation was failed.", e);
+        } finally {
+            if (fis != null) {
+                try {
+                    fis.close();
+                } catch (IOException e) {
+                    // 何もしない。(例外を無視する)
+                }
+            }
+        }
+    }
+
+    /**
+     * 指定した位置から走査し、指定した位置以降に開始する行を指定行数分数えて、その行の開始位置を返却する。<br>
+     * 囲み文字を利用する場合、走査の開始位置は囲み文字で囲まれていない位置(行の開始位置)であること。
+     * @param channel 走査するFileChannel
+     * @param from 走査の開始位置
+     * @param minPosition 数える行の開始位置の下限
+     * @param lineCount 数える行数
+     * @param limit 走査の終了位置
+     * @param lineFeedBytes 行区切り文字のバイト列
+     * @param enclosed 囲み文字を利用する場合<code>true</code>
+     * @param encloseByte 囲み文字のバイト
+     * @return 行の開始位置。走査の終了位置までに見つからない場合は走査の終了位置
+     * @throws IOException ファイルの読込に失敗した場合。
+     */
+    private static long scanLineStart(FileChannel channel, long from,
+            long minPosition, int lineCount, long limit,
+            byte[] lineFeedBytes, boolean enclosed, byte encloseByte)
+            throws IOException {
+        if (lineCount <= 0) {
+            return Math.min(from, limit);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+        long position = from;
+        int matched = 0;
+        int found = 0;
+        boolean inEnclose = false;
+        while (position < limit) {
+            buffer.clear();
+            if (limit - position < buffer.capacity()) {
+                buffer.limit((int) (limit - position));
+            }
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (enclosed && b == encloseByte) {
+                    inEnclose = !inEnclose;
+                    matched = 0;
+                } else if (!inEnclose) {
+                    if (b == lineFeedBytes[matched]) {
+                        matched++;
+                    } else {
+                        matched = (b == lineFeedBytes[0]) ? 1 : 0;
+                    }
+                    if (matched == lineFeedBytes.length) {
+                        matched = 0;
+                        // 行区切り文字の直後が次の行の開始位置となる。
+                        long lineStart = position + i + 1;
+                        if (minPosition <= lineStart && ++found == lineCount) {
+                            return lineStart;
+                        }
+                    }
+                }
+            }
+            position += read;
+        }
+        return limit;
+    }
+
+    /**
+     * 1文字1バイトのASCIIと同じバイトで表現されることを確認し、バイト列に変換する。
+     * @param chars 変換する文字列
+     * @param fileEncoding ファイルエンコーディング
+     * @param fileName 対象ファイル名
+     * @return バイト列
+     * @throws FileException ASCIIと同じバイトで表現されない場合。
+     */
+    private static byte[] toAsciiBytes(String chars, String fileEncoding,
+            String fileName) {
+        byte[] bytes;
+        try {
+            bytes = FileDAOUtility.getAsciiBytes(chars, fileEncoding);
+        } catch (UnsupportedEncodingException e) {
+            throw new FileException("fileEncoding which isn't supported was set.", e, fileName);
+        }
+        if (bytes == null) {
+            throw new FileException("lineFeedChar and encloseChar must be ASCII in fileEncoding to split file.", new IllegalStateException(), fileName);
+        }
+        return bytes;
+    }
+
+    /**
+     * 引数のパスが絶対パスであることを確認する。 絶対パスでない場合、例外をスローする。
+     * @param filePath ファイルのパス
+     * @throws FileException ファイルのパスがnullまたは絶対パスでない場合。
+     */
+    private static void checkAbsolutePath(String filePath) {
+        if (filePath == null) {
+            throw new FileException("File path is not set.", filePath);
+        }
+        File file = new File(filePath);
+        if (!file.isAbsolute()) {
+            throw new FileException("File path is not absolute.", filePath);
+        }
+    }
+}
@@ -0,0 +1,540 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * ファイル文字コード変換機能を実装するクラス。
+ * <p>
+ * ファイル行オブジェクトを経由せずに、ファイルの文字コードを変換する(例:MS932からUTF-8)。<br>
+ * 変換元のファイルを行区切り文字(LF)の直後で区切った大きなブロック単位で読み込み、
+ * 複数スレッドで並列にデコード・エンコードした後、元の順序で変換先のファイルに書き込む。
+ * LFを含まないブロック(行区切り文字の無い固定長ファイルや、行区切り文字がCRのファイルなど)は、文字の境界で区切る。
+ * デコーダ・エンコーダは変換スレッドごとに生成し、ブロック間で再利用する。<br>
+ * 同時に変換中とするブロックは変換スレッド数の2倍までとするため、ファイルサイズに関わらず利用するメモリは一定となる。<br>
+ * 置換文字列・文字の対応表(ベンダー固有文字の対応表)は、{@link TranscodeOptions}で指定する。
+ * </p>
+ * <p>
+ * <b>※注意事項</b><br>
+ * 変換元の文字コードは、LFがASCIIと同じ1バイトで表現され、マルチバイト文字の一部にそのバイトが現れないこと
+ * (MS932、EUC-JP、UTF-8など)。<br>
+ * 変換先のファイルが存在する場合の扱いは、{@link FileUtility#isCheckFileExist()}の設定に従う。<br>
+ * 変換結果は変換先のファイルと同じディレクトリの一時ファイルに書き込み、変換が完了してから変換先のファイル名に変更する。
+ * 変換に失敗した場合は一時ファイルを削除するため、変換先のファイルは作成・変更されない。
+ * </p>
+ * @see jp.terasoluna.fw.file.util.TranscodeOptions
+ */
+public class FileTranscodeUtility {
+
+    /**
+     * 行区切り文字(LF)。
+     */
+    private static final byte LF = '\n';
+
+    /**
+     * ファイルの文字コードを変換する。
+     * <p>
+     * デフォルトの設定({@link TranscodeOptions})で変換する。
+     * </p>
+     * @param srcFile 変換元のファイルのパス
+     * @param newFile 変換先のファイルのパス
+     * @param srcEncoding 変換元の文字コード
+     * @param newEncoding 変換先の文字コード
+     * @throws FileException ファイルの文字コード変換に失敗した場合。
+     */
+    public static void transcodeFile(String srcFile, String newFile,
+            String srcEncoding, String newEncoding) {
+        transcodeFile(srcFile, newFile, srcEncoding, newEncoding,
+                new TranscodeOptions());
+    }
+
+    /**
+     * ファイルの文字コードを変換する。
+     * @param srcFile 変換元のファイルのパス
+     * @param newFile 変換先のファイルのパス
+     * @param srcEncoding 変換元の文字コード
+     * @param newEncoding 変換先の文字コード
+     * @param options 文字コード変換の設定
+     * @throws FileException ファイルの文字コード変換に失敗した場合。
+     */
+    public static void transcodeFile(String srcFile, String newFile,
+            String srcEncoding, String newEncoding,
+            final TranscodeOptions options) {
+
+        FileUtility.checkAbsolutePath(srcFile);
+        FileUtility.checkAbsolutePath(newFile);
+        if (options == null) {
+            throw new FileException("options is not set.", srcFile);
+        }
+
+        File srcFileObject = new File(srcFile);
+        // 変換元のパスにファイルが存在しない場合、エラーを投げて処理を終了する。
+        if (!srcFileObject.exists()) {
+            throw new FileException(srcFile + " is not exist.", srcFile);
+        }
+
+        final Charset srcCharset = toCharset(srcEncoding, srcFile);
+        final Charset newCharset = toCharset(newEncoding, newFile);
+        // ブロックの区切り位置を判定するため、変換元の文字コードでLFが1バイトで表現されることを確認する。
+        byte[] lineFeedBytes = "\n".getBytes(srcCharset);
+        if (lineFeedBytes.length != 1 || lineFeedBytes[0] != LF) {
+            throw new FileException("LF must be ASCII in source encoding to transcode file.", new IllegalStateException(), srcFile);
+        }
+        final byte[] replacementBytes = toReplacementBytes(options
+                .getReplacement(), newCharset, newFile);
+
+        // 変換先のファイルが存在し、上書きしない設定の場合は、変換を始める前にエラーとする。
+        File newFileObject = new File(newFile);
+        if (newFileObject.exists() && !FileUtility.isCheckFileExist()) {
+            throw new FileException(newFile + " is exist.", newFile);
+        }
+
+        int threads = options.getThreads();
+        final BlockingQueue<Transcoder> transcoders = new ArrayBlockingQueue<Transcoder>(threads);
+        for (int i = 0; i < threads; i++) {
+            transcoders.add(new Transcoder(srcCharset, newCharset, options
+                    .getReplacement(), replacementBytes, options
+                    .getCharacterTable(), srcFile));
+        }
+
+        FileInputStream fis = null;
+        FileOutputStream fos = null;
+        File tempFile = null;
+        ExecutorService executor = null;
+        try {
+            fis = new FileInputStream(srcFileObject);
+            tempFile = File.createTempFile(newFileObject.getName(), ".tmp",
+                    newFileObject.getParentFile());
+            fos = new FileOutputStream(tempFile);
+            FileChannel srcChannel = fis.getChannel();
+            FileChannel newChannel = fos.getChannel();
+            executor = Executors.newFixedThreadPool(threads);
+
+            // ブロックを順に読み込んで変換スレッドに渡し、変換中のブロックが上限に達したら最も古いブロックから書き込む。
+            Deque<Future<ByteBuffer>> pending = new ArrayDeque<Future<ByteBuffer>>();
+            int maxPending = threads * 2;
+            int blockSize = options.getBlockSize();
+            byte[] carry = new byte[0];
+            CharsetDecoder boundaryDecoder = srcCharset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+            CharBuffer boundaryChars = CharBuffer.allocate(1024);
+            long offset = 0L;
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                ByteBuffer buffer = ByteBuffer.allocate(carry.length
+                        + blockSize);
+                buffer.put(carry);
+                while (buffer.hasRemaining()) {
+                    if (srcChannel.read(buffer) < 0) {
+                        endOfFile = true;
+                        break;
+                    }
+                }
+                byte[] bytes = buffer.array();
+                int length = buffer.position();
+                int end = length;
+                if (!endOfFile) {
+                    // 最後のLFの直後で区切り、残りは次のブロックの先頭とする。
+                    end = 0;
+                    for (int i = length - 1; i >= 0; i--) {
+                        if (bytes[i] == LF) {
+                            end = i + 1;
+                            break;
+                        }
+                    }
+                    if (end == 0) {
+                        // LFが無い場合は、次のブロックに持ち越すバイト列が増え続けないよう文字の境界で区切る。
+                        end = lastCharBoundary(boundaryDecoder, boundaryChars,
+                                bytes, length);
+                    }
+                }
+                carry = new byte[length - end];
+                System.arraycopy(bytes, end, carry, 0, carry.length);
+                if (end == 0) {
+                    continue;
+                }
+
+                final ByteBuffer block = ByteBuffer.wrap(bytes, 0, end);
+                final long blockOffset = offset;
+                offset += end;
+                pending.add(executor.submit(new Callable<ByteBuffer>() {
+                    public ByteBuffer call() throws InterruptedException {
+                        Transcoder transcoder = transcoders.take();
+                        try {
+                            return transcoder.transcode(block, blockOffset);
+                        } finally {
+                            transcoders.add(transcoder);
+                        }
+                    }
+                }));
+                if (pending.size() >= maxPending) {
+                    write(newChannel, pending.poll().get());
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(newChannel, pending.poll().get());
+            }
+            fos.close();
+            fos = null;
+
+            // 変換先のファイルを置き換える。置き換えられない環境では削除してから名前を変更する。
+            if (!tempFile.renameTo(newFileObject)) {
+                if (newFileObject.exists() && !newFileObject.delete()) {
+                    throw new FileException("File control operation was failed.", newFile);
+                }
+                if (!tempFile.renameTo(newFileObject)) {
+                    throw new FileException("File control operation was failed.", newFile);
+                }
+            }
+            tempFile = null;
+        } catch (FileNotFoundException e) {
+            throw new FileException("File control operation was failed.", e);
+        } catch (IOException e) {
+            throw new FileException("File control operation was failed.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof FileException) {
+                throw (FileException) cause;
+            }
+            throw new FileException("File control operation was failed.",
+                    (Exception) cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileException("File control operation was failed.", e);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            closeQuietly(fis);
+            closeQuietly(fos);
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    /**
+     * ブロック内の最後の文字の境界を取得する。
+     * <p>
+     * ブロックの先頭は文字の境界であるため、先頭からデコードし、デコードできずに残ったバイト列(文字の途中)の先頭を境界とする。
+     * デコード結果は利用しない。不正なバイト列は変換スレッドで扱うため、読み飛ばす。
+     * </p>
+     * @param decoder 変換元の文字コードのデコーダ
+     * @param chars デコード結果を受け取る作業用の文字バッファ
+     * @param bytes ブロック
+     * @param length ブロックのバイト数
+     * @return 最後の文字の境界の位置
+     */
+    private static int lastCharBoundary(CharsetDecoder decoder,
+            CharBuffer chars, byte[] bytes, int length) {
+        decoder.reset();
+        ByteBuffer block = ByteBuffer.wrap(bytes, 0, length);
+        while (true) {
+            chars.clear();
+            CoderResult result = decoder.decode(block, chars, false);
+            if (result.isUnderflow()) {
+                return block.position();
+            }
+            if (result.isError()) {
+                block.position(block.position() + result.length());
+            }
+        }
+    }
+
+    /**
+     * 変換したブロックを書き込む。
+     * @param channel 変換先のファイルのチャネル
+     * @param buffer 変換したブロック
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static void write(FileChannel channel,
+            ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * 文字コード名から文字セットを取得する。
+     * @param encoding 文字コード名
+     * @param fileName ファイル名
+     * @return 文字セット
+     * @throws FileException 文字コードがサポートされていない場合。
+     */
+    private static Charset toCharset(String encoding, String fileName) {
+        if (encoding == null || "".equals(encoding)) {
+            throw new FileException("fileEncoding is not set.", fileName);
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalCharsetNameException e) {
+            throw new FileException("fileEncoding which isn't supported was set.", e, fileName);
+        } catch (UnsupportedCharsetException e) {
+            throw new FileException("fileEncoding which isn't supported was set.", e, fileName);
+        }
+    }
+
+    /**
+     * 置換文字列を変換先の文字コードでエンコードする。
+     * @param replacement 置換文字列
+     * @param newCharset 変換先の文字セット
+     * @param newFile 変換先のファイルのパス
+     * @return エンコードした置換文字列。置換文字列が設定されていない場合は<code>null</code>
+     * @throws FileException 置換文字列が変換先の文字コードで表現できない場合。
+     */
+    private static byte[] toReplacementBytes(String replacement,
+            Charset newCharset, String newFile) {
+        if (replacement == null) {
+            return null;
+        }
+        try {
+            ByteBuffer bytes = newCharset.newEncoder().encode(CharBuffer
+                    .wrap(replacement));
+            byte[] replacementBytes = new byte[bytes.remaining()];
+            bytes.get(replacementBytes);
+            return replacementBytes;
+        } catch (CharacterCodingException e) {
+            throw new FileException("replacement can not be encoded.", e, newFile);
+        }
+    }
+
+    /**
+     * ストリームを閉じる。クローズ時の例外は無視する。
+     * @param closeable ストリーム
+     */
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // 何もしない。(例外を無視する)
+        }
+    }
+
+    /**
+     * 1つの変換スレッドが利用するデコーダ・エンコーダ。
+     * <p>
+     * デコード結果の文字バッファはブロック間で再利用し、不足する場合は拡張する。
+     * </p>
+     */
+    private static final class Transcoder {
+
+        /**
+         * 変換元の文字コードのデコーダ。
+         */
+        private final CharsetDecoder decoder;
+
+        /**
+         * 変換先の文字コードのエンコーダ。
+         */
+        private final CharsetEncoder encoder;
+
+        /**
+         * 置換文字列(エラーとする場合は<code>null</code>)。
+         */
+        private final String replacement;
+
+        /**
+         * 変換先の文字コードでエンコードした置換文字列(エラーとする場合は<code>null</code>)。
+         */
+        private final byte[] replacementBytes;
+
+        /**
+         * 文字の対応表(置き換えない場合は<code>null</code>)。
+         */
+        private final char[] characterTable;
+
+        /**
+         * 変換元のファイルのパス。
+         */
+        private final String srcFile;
+
+        /**
+         * デコード結果の文字バッファ。
+         */
+        private CharBuffer chars = CharBuffer.allocate(0);
+
+        /**
+         * コンストラクタ。
+         * @param srcCharset 変換元の文字セット
+         * @param newCharset 変換先の文字セット
+         * @param replacement 置換文字列
+         * @param replacementBytes 変換先の文字コードでエンコードした置換文字列
+         * @param characterTable 文字の対応表
+         * @param srcFile 変換元のファイルのパス
+         */
+        Transcoder(Charset srcCharset, Charset newCharset,
+                String replacement, byte[] replacementBytes,
+                char[] characterTable, String srcFile) {
+            this.decoder = srcCharset.newDecoder().onMalformedInput(
+                    CodingErrorAction.REPORT).onUnmappableCharacter(
+                    CodingErrorAction.REPORT);
+            this.encoder = newCharset.newEncoder().onMalformedInput(
+                    CodingErrorAction.REPORT).onUnmappableCharacter(
+                    CodingErrorAction.REPORT);
+            this.replacement = replacement;
+            this.replacementBytes = replacementBytes;
+            this.characterTable = characterTable;
+            this.srcFile = srcFile;
+        }
+
+        /**
+         * ブロックの文字コードを変換する。
+         * @param block 変換元のブロック
+         * @param offset ブロックのファイル先頭からの位置
+         * @return 変換したブロック
+         * @throws FileException 置換文字列が設定されておらず、不正なバイト列または表現できない文字がある場合。
+         */
+        ByteBuffer transcode(ByteBuffer block, long offset) {
+            // デコードする。
+            decoder.reset();
+            chars.clear();
+            int minCapacity = (int) (block.remaining() * decoder
+                    .maxCharsPerByte()) + 16;
+            if (chars.capacity() < minCapacity) {
+                chars = CharBuffer.allocate(minCapacity);
+            }
+            while (true) {
+                CoderResult result = block.hasRemaining() ? decoder.decode(
+                        block, chars, true) : decoder.flush(chars);
+                if (result.isUnderflow()) {
+                    if (!block.hasRemaining()
+                            && decoder.flush(chars).isUnderflow()) {
+                        break;
+                    }
+                    continue;
+                }
+                if (result.isOverflow()) {
+                    chars = grow(chars, chars.capacity());
+                    continue;
+                }
+                if (replacement == null) {
+                    throw new FileException("Malformed input was found. offset: "
+                            + (offset + block.position()), new IllegalStateException(), srcFile);
+                }
+                if (chars.remaining() < replacement.length()) {
+                    chars = grow(chars, replacement.length());
+                }
+                chars.put(replacement);
+                block.position(block.position() + result.length());
+            }
+            chars.flip();
+
+            // 文字の対応表で置き換える。
+            if (characterTable != null) {
+                char[] array = chars.array();
+                for (int i = 0; i < chars.limit(); i++) {
+                    array[i] = characterTable[array[i]];
+                }
+            }
+
+            // エンコードする。
+            encoder.reset();
+            ByteBuffer bytes = ByteBuffer.allocate((int) (chars.remaining()
+                    * encoder.averageBytesPerChar()) + 16);
+            while (true) {
+                CoderResult result = chars.hasRemaining() ? encoder.encode(
+                        chars, bytes, true) : encoder.flush(bytes);
+                if (result.isUnderflow()) {
+                    if (!chars.hasRemaining()
+                            && encoder.flush(bytes).isUnderflow()) {
+                        break;
+                    }
+                    continue;
+                }
+                if (result.isOverflow()) {
+                    bytes = grow(bytes, bytes.capacity());
+                    continue;
+                }
+                if (replacementBytes == null) {
+                    throw new FileException("Unmappable character was found. character: U+"
+                            + Integer.toHexString(chars.get(chars.position()))
+                                    .toUpperCase(), new IllegalStateException(), srcFile);
+                }
+                if (bytes.remaining() < replacementBytes.length) {
+                    bytes = grow(bytes, replacementBytes.length);
+                }
+                bytes.put(replacementBytes);
+                chars.position(chars.position() + result.length());
+            }
+            bytes.flip();
+            return bytes;
+        }
+
+        /**
+         * 文字バッファを拡張する。
+         * @param buffer 文字バッファ(書き込みモード)
+         * @param increment 拡張する文字数
+         * @return 拡張した文字バッファ(書き込みモード)
+         */
+        private static CharBuffer grow(CharBuffer buffer, int increment) {
+            CharBuffer grown = CharBuffer.allocate(buffer.capacity()
+                    + Math.max(increment, 16));
+            buffer.flip();
+            grown.put(buffer);
+            return grown;
+        }
+
+        /**
+         * バイトバッファを拡張する。
+         * @param buffer バイトバッファ(書き込みモード)
+         * @param increment 拡張するバイト数
+         * @return 拡張したバイトバッファ(書き込みモード)
+         */
+        private static ByteBuffer grow(ByteBuffer buffer, int increment) {
+            ByteBuffer grown = ByteBuffer.allocate(buffer.capacity()
+                    + Math.max(increment, 16));
+            buffer.flip();
+            grown.put(buffer);
+            return grown;
+        }
+    }
+}
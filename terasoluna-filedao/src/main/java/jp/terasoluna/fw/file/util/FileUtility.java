@@ -16,15 +16,23 @@
 
 package jp.terasoluna.fw.file.util;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jp.terasoluna.fw.file.dao.FileException;
 
@@ -38,7 +46,10 @@ import jp.terasoluna.fw.file.dao.FileException;
  * <li>ファイルのコピー</li>
  * <li>ファイルの削除</li>
  * <li>ファイルの結合</li>
+ * <li>ファイルの追記</li>
  * </ul>
+ * コピー・結合・追記は、{@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}により
+ * ヒープ上のバッファを経由せずに転送するメソッド(ゼロコピー)も提供する。ファイルロックの取得有無は引数で指定する。<br>
  * なお、ファイル機能で使用するパスは相対パス、絶対パスの両方を利用可能だが、<br>
  * 本クラスを直接利用する場合に限り絶対パスのみしか利用できない。<br>
  * 相対パスを利用したい場合は、<code>FileControlImpl</code>クラスにより 本クラスをラップして利用すること。
@@ -51,6 +62,16 @@ public class FileUtility {
      */
     private static boolean checkFileExist = false;
 
+    /**
+     * ゼロコピーの転送が進まない場合に、バッファ経由の転送に切り替えるまでの連続回数。
+     */
+    private static final int MAX_STALLED_TRANSFER_COUNT = 3;
+
+    /**
+     * バッファ経由で転送する場合のバッファサイズ。
+     */
+    private static final int TRANSFER_BUFFER_SIZE = 8192;
+
     /**
      * ファイルをコピーする。
      * <p>
@@ -281,6 +302,198 @@ public class FileUtility {
         }
     }
 
+    /**
+     * ファイルをゼロコピーでコピーする。
+     * <p>
+     * コピー先のファイルが存在する場合、ファイルが存在するかどうかのフラグに従って削除または例外をスローし、
+     * ヒープ上のバッファを経由せずに{@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}でコピーする。<br>
+     * <code>lock</code>が<code>true</code>の場合は、{@link #copyFile(String, String)}と同様に
+     * コピー元の共有ロックとコピー先の排他ロックを取得する。
+     * </p>
+     * @param srcFile コピー元のファイルのパス
+     * @param newFile コピー先のファイルのパス
+     * @param lock ファイルロックを取得する場合<code>true</code>
+     * @throws FileException ファイルのコピーに失敗した場合。
+     */
+    public static void copyFileByTransfer(String srcFile, String newFile,
+            boolean lock) {
+
+        checkAbsolutePath(srcFile);
+        checkAbsolutePath(newFile);
+
+        File srcFileObject = new File(srcFile);
+        // コピー元のパスにファイルが存在しない場合、エラーを投げて処理を終了する。
+        if (!srcFileObject.exists()) {
+            throw new FileException(srcFile + " is not exist.", srcFile);
+        }
+        File[] srcFileObjects = new File[] { srcFileObject };
+        checkNotSameFile(srcFileObjects, newFile);
+
+        prepareNewFile(newFile);
+
+        transferFiles(srcFileObjects, new File(newFile), lock);
+    }
+
+    /**
+     * ファイルをゼロコピーで結合する。
+     * <p>
+     * {@link #mergeFile(List, String)}と同じ条件で結合先を準備し、
+     * ヒープ上のバッファを経由せずに{@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}で結合する。<br>
+     * <code>lock</code>が<code>true</code>の場合は、{@link #mergeFile(List, String)}と同様に
+     * 結合元の共有ロックと結合先の排他ロックを取得する。
+     * </p>
+     * @param fileList 結合するファイルのリスト
+     * @param newFile 結合してできるファイルのパス
+     * @param lock ファイルロックを取得する場合<code>true</code>
+     * @throws FileException ファイルの結合に失敗した場合。
+     */
+    public static void mergeFileByTransfer(List<String> fileList,
+            String newFile, boolean lock) {
+
+        checkAbsolutePath(newFile);
+
+        File[] srcFileObjects = toExistingFiles(fileList);
+        checkNotSameFile(srcFileObjects, newFile);
+
+        prepareNewFile(newFile);
+
+        transferFiles(srcFileObjects, new File(newFile), lock);
+    }
+
+    /**
+     * ファイルをゼロコピーで追記する。
+     * <p>
+     * 追記元のファイルの内容を、追記先のファイルの末尾に追記する。<br>
+     * 追記先のファイルが存在しない場合は新たに作成する。<br>
+     * <code>lock</code>が<code>true</code>の場合は、追記元の共有ロックと追記先の排他ロックを取得する。
+     * </p>
+     * @param srcFile 追記元のファイルのパス
+     * @param targetFile 追記先のファイルのパス
+     * @param lock ファイルロックを取得する場合<code>true</code>
+     * @throws FileException ファイルの追記に失敗した場合。
+     */
+    public static void appendFile(String srcFile, String targetFile,
+            boolean lock) {
+
+        checkAbsolutePath(srcFile);
+        checkAbsolutePath(targetFile);
+
+        File srcFileObject = new File(srcFile);
+        // 追記元のパスにファイルが存在しない場合、エラーを投げて処理を終了する。
+        if (!srcFileObject.exists()) {
+            throw new FileException(srcFile + " is not exist.", srcFile);
+        }
+        File[] srcFileObjects = new File[] { srcFileObject };
+        checkNotSameFile(srcFileObjects, targetFile);
+
+        transferFiles(srcFileObjects, new File(targetFile), lock);
+    }
+
+    /**
+     * ファイルを並列に結合する。
+     * <p>
+     * {@link #mergeFile(List, String)}と同じ条件で結合先を準備し、結合後のサイズで結合先の領域を確保した後、
+     * 各結合元のファイルを結合先の算出済みの位置へ複数スレッドで並列に転送する。<br>
+     * 結合先は1つのFileChannelを全スレッドで共有し、位置を指定して書き込む。<br>
+     * <code>lock</code>が<code>true</code>の場合は、結合元の共有ロックと結合先の排他ロックを取得する。
+     * 結合先の排他ロックは、すべての転送が完了するまで保持する。<br>
+     * 各結合元は、開始位置の算出時のサイズ分だけを転送する。転送時に結合元のサイズが算出時と異なる場合は、
+     * 他の結合元の領域を上書きしたり未転送の領域を残したりしないよう、例外をスローする。<br>
+     * いずれかの転送に失敗した場合は、結合先のファイルは不完全な状態となる。
+     * </p>
+     * @param fileList 結合するファイルのリスト
+     * @param newFile 結合してできるファイルのパス
+     * @param threads 転送スレッド数
+     * @param lock ファイルロックを取得する場合<code>true</code>
+     * @throws FileException ファイルの結合に失敗した場合。
+     */
+    public static void mergeFileParallel(List<String> fileList,
+            String newFile, int threads, boolean lock) {
+
+        checkAbsolutePath(newFile);
+        if (threads <= 0) {
+            throw new FileException("threads must be 1 or more.", newFile);
+        }
+
+        final File[] srcFileObjects = toExistingFiles(fileList);
+        checkNotSameFile(srcFileObjects, newFile);
+
+        prepareNewFile(newFile);
+
+        // 結合元のサイズから、結合先での開始位置を算出する。
+        final long[] offsets = new long[srcFileObjects.length];
+        final long[] lengths = new long[srcFileObjects.length];
+        long totalSize = 0L;
+        for (int i = 0; i < srcFileObjects.length; i++) {
+            offsets[i] = totalSize;
+            lengths[i] = srcFileObjects[i].length();
+            totalSize += lengths[i];
+        }
+
+        final boolean lockSource = lock;
+        RandomAccessFile target = null;
+        FileLock outputFileLock = null;
+        ExecutorService executor = null;
+        try {
+            target = new RandomAccessFile(newFile, "rw");
+            // 結合先を別に開いてクローズすると、OSによっては結合先のロックが解除されるため、
+            // 全スレッドで同じFileChannelを共有する。
+            final FileChannel outputFileChannel = target.getChannel();
+            if (lock) {
+                outputFileLock = outputFileChannel.lock(0L, Long.MAX_VALUE,
+                        false);
+            }
+            // 結合後のサイズで領域を確保する。
+            target.setLength(totalSize);
+
+            executor = Executors.newFixedThreadPool(Math.max(1, Math.min(
+                    threads, srcFileObjects.length)));
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int i = 0; i < srcFileObjects.length; i++) {
+                final int index = i;
+                futures.add(executor.submit(new Callable<Void>() {
+                    public Void call() throws IOException {
+                        transferAt(srcFileObjects[index], outputFileChannel,
+                                offsets[index], lengths[index], lockSource);
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (FileNotFoundException e) {
+            throw new FileException("File control operation was failed.", e);
+        } catch (IOException e) {
+            throw new FileException("File control operation was failed.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof FileException) {
+                throw (FileException) cause;
+            }
+            throw new FileException("File control operation was failed.",
+                    (Exception) cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileException("File control operation was failed.", e);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            try {
+                if (outputFileLock != null) {
+                    outputFileLock.release();
+                }
+            } catch (IOException e) {
+                // 何もしない。(例外を無視する)
+            }
+            closeQuietly(target);
+        }
+    }
+
     /**
      * ファイル名の変更･ファイルの移動。
      * <p>
@@ -341,12 +554,317 @@ public class FileUtility {
         FileUtility.checkFileExist = checkFileExist;
     }
 
+    /**
+     * コピー先・結合先のファイルを準備する。<br>
+     * ファイルが存在する場合、ファイルが存在するかどうかのフラグが<code>true</code>であれば削除し、
+     * <code>false</code>であれば例外をスローする。
+     * @param newFile コピー先・結合先のファイルのパス
+     * @throws FileException ファイルが存在し削除できない場合。
+     */
+    private static void prepareNewFile(String newFile) {
+        File newFileObject = new File(newFile);
+        if (newFileObject.exists() && checkFileExist) {
+            boolean result = newFileObject.delete();
+            if (!result) {
+                throw new FileException("File control operation was failed.",
+                        newFile);
+            }
+        } else if (newFileObject.exists() && !checkFileExist) {
+            throw new FileException(newFile + " is exist.", newFile);
+        }
+    }
+
+    /**
+     * ファイルのパスのリストを、存在を確認したファイルの配列に変換する。
+     * @param fileList ファイルのパスのリスト
+     * @return ファイルの配列
+     * @throws FileException 絶対パスでない、または存在しないファイルが含まれる場合。
+     */
+    private static File[] toExistingFiles(List<String> fileList) {
+        File[] files = new File[fileList.size()];
+        int index = 0;
+        for (String srcFile : fileList) {
+            checkAbsolutePath(srcFile);
+            files[index] = new File(srcFile);
+            // 結合元のファイルが存在しない場合、エラーを投げて処理を終了する。
+            if (!files[index].exists()) {
+                throw new FileException(srcFile + " is not exist.", srcFile);
+            }
+            index++;
+        }
+        return files;
+    }
+
+    /**
+     * 転送元のファイルに転送先のファイルと同一のファイルが含まれないことを確認する。<br>
+     * 同一のファイルが含まれる場合、転送先の準備で転送元が削除される、または転送元が転送中に伸長し続けるため、例外をスローする。
+     * @param srcFiles 転送元のファイルの配列
+     * @param newFile 転送先のファイルのパス
+     * @throws FileException 同一のファイルが含まれる場合。
+     */
+    private static void checkNotSameFile(File[] srcFiles, String newFile) {
+        File newFileObject = new File(newFile);
+        if (!newFileObject.exists()) {
+            return;
+        }
+        try {
+            File canonicalNewFile = newFileObject.getCanonicalFile();
+            for (File srcFile : srcFiles) {
+                if (canonicalNewFile.equals(srcFile.getCanonicalFile())) {
+                    throw new FileException(srcFile.getPath() + " is same as "
+                            + newFile + ".", srcFile.getPath());
+                }
+            }
+        } catch (IOException e) {
+            throw new FileException("File control operation was failed.", e);
+        }
+    }
+
+    /**
+     * 複数のファイルを順に、転送先のファイルの末尾へゼロコピーで転送する。
+     * @param srcFiles 転送元のファイルの配列
+     * @param newFile 転送先のファイル
+     * @param lock ファイルロックを取得する場合<code>true</code>
+     * @throws FileException 転送に失敗した場合。
+     */
+    private static void transferFiles(File[] srcFiles, File newFile,
+            boolean lock) {
+        FileOutputStream fos = null;
+        FileLock outputFileLock = null;
+        try {
+            fos = new FileOutputStream(newFile, true);
+            FileChannel outputFileChannel = fos.getChannel();
+            if (lock) {
+                outputFileLock = outputFileChannel.lock(0L, Long.MAX_VALUE,
+                        false);
+            }
+            for (File srcFile : srcFiles) {
+                FileInputStream fis = null;
+                FileLock inputFileLock = null;
+                try {
+                    fis = new FileInputStream(srcFile);
+                    FileChannel inputFileChannel = fis.getChannel();
+                    if (lock) {
+                        inputFileLock = inputFileChannel.lock(0L,
+                                Long.MAX_VALUE, true);
+                    }
+                    transferEntirely(inputFileChannel, outputFileChannel);
+                } finally {
+                    if (inputFileLock != null) {
+                        inputFileLock.release();
+                    }
+                    closeQuietly(fis);
+                }
+            }
+        } catch (FileNotFoundException e) {
+            throw new FileException("File control operation was failed.", e);
+        } catch (IOException e) {
+            throw new FileException("File control operation was failed.", e);
+        } finally {
+            try {
+                if (outputFileLock != null) {
+                    outputFileLock.release();
+                }
+            } catch (IOException e) {
+                // 何もしない。(例外を無視する)
+            }
+            closeQuietly(fos);
+        }
+    }
+
+    /**
+     * ファイルを、転送先のファイルの指定位置へゼロコピーで転送する。<br>
+     * 転送先へは位置を指定して書き込み、転送先のFileChannelの現在位置を変更しないため、
+     * 同じ転送先のFileChannelを共有して複数スレッドから同時に呼び出すことが出来る。<br>
+     * 転送先の領域を超えて書き込まないよう、転送するバイト数は指定されたサイズに限定する。
+     * @param srcFile 転送元のファイル
+     * @param destChannel 転送先のFileChannel
+     * @param offset 転送先の開始位置
+     * @param length 転送先の領域のサイズ(開始位置の算出時の転送元のサイズ)
+     * @param lock 転送元の共有ロックを取得する場合<code>true</code>
+     * @throws IOException 転送に失敗した場合。
+     * @throws FileException 転送元のサイズが転送先の領域のサイズと異なる場合。
+     */
+    static void transferAt(File srcFile, FileChannel destChannel,
+            long offset, long length, boolean lock) throws IOException {
+        FileInputStream fis = null;
+        FileLock inputFileLock = null;
+        try {
+            fis = new FileInputStream(srcFile);
+            FileChannel inputFileChannel = fis.getChannel();
+            if (lock) {
+                inputFileLock = inputFileChannel.lock(0L, Long.MAX_VALUE, true);
+            }
+            checkSourceSize(srcFile, inputFileChannel, length);
+            transferEntirely(srcFile, inputFileChannel, destChannel, offset,
+                    length);
+            checkSourceSize(srcFile, inputFileChannel, length);
+        } finally {
+            if (inputFileLock != null) {
+                inputFileLock.release();
+            }
+            closeQuietly(fis);
+        }
+    }
+
+    /**
+     * 転送元のファイルの内容を、転送先の現在位置から完全に転送する。<br>
+     * 転送元のファイルが転送中に切り詰められた場合は、その時点で転送を終了する。<br>
+     * 転送元の残りがあるにもかかわらず転送が連続して進まない場合は、残りをバッファ経由で転送する。
+     * @param srcChannel 転送元のFileChannel
+     * @param destChannel 転送先のFileChannel
+     * @throws IOException 転送に失敗した場合。
+     */
+    static void transferEntirely(FileChannel srcChannel,
+            FileChannel destChannel) throws IOException {
+        transferEntirely(srcChannel, 0L, srcChannel.size(), destChannel);
+    }
+
+    /**
+     * 転送元のファイルの指定範囲を、転送先の現在位置から完全に転送する。<br>
+     * 転送元のファイルが転送中に切り詰められた場合は、その時点で転送を終了する。<br>
+     * 転送元の残りがあるにもかかわらず転送が連続して進まない場合は、残りをバッファ経由で転送する。
+     * @param srcChannel 転送元のFileChannel
+     * @param start 転送範囲の開始位置
+     * @param end 転送範囲の終了位置
+     * @param destChannel 転送先のFileChannel
+     * @throws IOException 転送に失敗した場合。
+     */
+    static void transferEntirely(FileChannel srcChannel, long start,
+            long end, FileChannel destChannel) throws IOException {
+        long position = start;
+        int stalledCount = 0;
+        while (position < end) {
+            long transferred = srcChannel.transferTo(position, end
+                    - position, destChannel);
+            if (transferred > 0) {
+                position += transferred;
+                stalledCount = 0;
+            } else if (srcChannel.size() <= position) {
+                break;
+            } else if (++stalledCount >= MAX_STALLED_TRANSFER_COUNT) {
+                copyBuffered(srcChannel, position, end, destChannel, -1L);
+                break;
+            }
+        }
+    }
+
+    /**
+     * 転送元のファイルのサイズが、転送先の領域のサイズと一致することを確認する。
+     * @param srcFile 転送元のファイル
+     * @param srcChannel 転送元のFileChannel
+     * @param length 転送先の領域のサイズ
+     * @throws IOException サイズの取得に失敗した場合。
+     * @throws FileException サイズが一致しない場合。
+     */
+    private static void checkSourceSize(File srcFile, FileChannel srcChannel,
+            long length) throws IOException {
+        if (srcChannel.size() != length) {
+            throw new FileException("Source file size was changed during the merge.", new IllegalStateException(), srcFile
+                    .getPath());
+        }
+    }
+
+    /**
+     * 転送元のファイルの先頭から指定サイズ分を、転送先の指定位置へ完全に転送する。<br>
+     * 転送先へは位置を指定して書き込むため、転送先のFileChannelの現在位置は変更しない。<br>
+     * 転送元のファイルが転送中に切り詰められ、指定サイズ分を転送できない場合は例外をスローする。<br>
+     * 転送元の残りがあるにもかかわらず転送が連続して進まない場合は、残りをバッファ経由で転送する。
+     * @param srcFile 転送元のファイル
+     * @param srcChannel 転送元のFileChannel
+     * @param destChannel 転送先のFileChannel
+     * @param destOffset 転送先の開始位置
+     * @param size 転送するバイト数
+     * @throws IOException 転送に失敗した場合。
+     * @throws FileException 指定サイズ分を転送できなかった場合。
+     */
+    private static void transferEntirely(File srcFile, FileChannel srcChannel,
+            FileChannel destChannel, long destOffset,
+            long size) throws IOException {
+        long position = 0L;
+        int stalledCount = 0;
+        while (position < size) {
+            srcChannel.position(position);
+            long transferred = destChannel.transferFrom(srcChannel, destOffset
+                    + position, size - position);
+            if (transferred > 0) {
+                position += transferred;
+                stalledCount = 0;
+            } else if (srcChannel.size() <= position) {
+                break;
+            } else if (++stalledCount >= MAX_STALLED_TRANSFER_COUNT) {
+                position = copyBuffered(srcChannel, position, size,
+                        destChannel, destOffset);
+                break;
+            }
+        }
+        if (position < size) {
+            throw new FileException("Source file size was changed during the merge.", new IllegalStateException(), srcFile
+                    .getPath());
+        }
+    }
+
+    /**
+     * 転送元のファイルの指定範囲を、ヒープ上のバッファを経由して転送する。<br>
+     * 転送元のファイルが転送中に切り詰められた場合は、その時点で転送を終了する。
+     * @param srcChannel 転送元のFileChannel
+     * @param position 転送元の開始位置
+     * @param size 転送元の終了位置
+     * @param destChannel 転送先のFileChannel
+     * @param destOffset 転送元の位置0に対応する転送先の位置。負の場合は転送先の現在位置に書き込む
+     * @return 転送を終了した転送元の位置
+     * @throws IOException 転送に失敗した場合。
+     */
+    private static long copyBuffered(FileChannel srcChannel, long position,
+            long size, FileChannel destChannel,
+            long destOffset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(TRANSFER_BUFFER_SIZE);
+        while (position < size) {
+            buffer.clear();
+            if (size - position < buffer.capacity()) {
+                buffer.limit((int) (size - position));
+            }
+            int read = srcChannel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            buffer.flip();
+            if (destOffset < 0) {
+                while (buffer.hasRemaining()) {
+                    destChannel.write(buffer);
+                }
+            } else {
+                long destPosition = destOffset + position;
+                while (buffer.hasRemaining()) {
+                    destPosition += destChannel.write(buffer, destPosition);
+                }
+            }
+            position += read;
+        }
+        return position;
+    }
+
+    /**
+     * ストリームをクローズする。<br>
+     * 引数がnullでなければクローズし、クローズする際にIOException例外が発生した場合は無視する。
+     * @param closeable クローズするストリーム
+     */
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (IOException e) {
+            // 何もしない。(例外を無視する)
+        }
+    }
+
     /**
      * 引数のパスが絶対パスであることを確認する。 絶対パスでない場合、例外をスローする。
      * @param filePath ファイルのパス
      * @throws ファイル機能例外
      */
-    private static void checkAbsolutePath(String filePath) {
+    static void checkAbsolutePath(String filePath) {
         if (filePath == null) {
             throw new FileException("File path is not set.", filePath);
         }
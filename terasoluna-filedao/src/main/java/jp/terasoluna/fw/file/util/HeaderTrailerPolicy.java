@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.util;
+
+/**
+ * ヘッダ部・トレイラ部の分割方針。<br>
+ * <br>
+ * ファイル分割時に、分割後の各ファイルへヘッダ部・トレイラ部をどのように出力するか(出力しない/先頭と末尾のみ/すべて[NONE/FIRST_AND_LAST/ALL])を示す。
+ * @see jp.terasoluna.fw.file.util.FileSplitUtility
+ */
+public enum HeaderTrailerPolicy {
+    /**
+     * 出力しない(分割後のファイルはデータ部のみとなる)
+     */
+    NONE,
+
+    /**
+     * 先頭のファイルにヘッダ部、末尾のファイルにトレイラ部を出力する(分割後のファイルを順に結合すると元のファイルとなる)
+     */
+    FIRST_AND_LAST,
+
+    /**
+     * すべてのファイルにヘッダ部とトレイラ部を出力する(分割後のファイルを元のファイルと同じフォーマットで読み込める)
+     */
+    ALL
+}
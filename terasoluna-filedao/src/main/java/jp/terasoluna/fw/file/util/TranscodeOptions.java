@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2016 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.terasoluna.fw.file.util;
+
+import java.util.Map;
+
+/**
+ * ファイルの文字コード変換の設定。
+ * <p>
+ * {@link FileTranscodeUtility}で文字コードを変換する際の、並列度・ブロックサイズ・置換文字列・文字の対応表を保持する。<br>
+ * 文字の対応表(ベンダー固有文字の対応表)は、変換元の文字コードでデコードした文字を、変換先の文字コードでエンコードする前に置き換える。
+ * 例えば、MS932の「～」(U+FF5E)をUTF-8の「〜」(U+301C)として出力する場合に利用する。
+ * 対応表は65536文字分の配列として保持し、1文字あたり定数時間で置き換える。
+ * 対応表で置き換えられるのは基本多言語面の文字のみである。<br>
+ * 置換文字列を設定しない場合、変換元のファイルに不正なバイト列、または変換先の文字コードで表現できない文字があるとエラーとする。
+ * </p>
+ * <b>※注意事項</b><br>
+ * 設定処理はスレッドセーフではないため、すべての設定を終えてから文字コード変換に利用すること。<br>
+ * @see jp.terasoluna.fw.file.util.FileTranscodeUtility
+ */
+public class TranscodeOptions {
+
+    /**
+     * ブロックサイズのデフォルト値(1MB)。
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    /**
+     * 変換スレッド数。
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 1つのスレッドでまとめて変換するバイト数の目安。
+     */
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+
+    /**
+     * 不正なバイト列、または変換先の文字コードで表現できない文字の置換文字列。
+     */
+    private String replacement = null;
+
+    /**
+     * 文字の対応表。対応表を設定しない場合は<code>null</code>。
+     */
+    private char[] characterTable = null;
+
+    /**
+     * 変換スレッド数を取得する。
+     * @return 変換スレッド数
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * 変換スレッド数を設定する。<br>
+     * デフォルト値は利用可能なプロセッサ数。
+     * @param threads 変換スレッド数
+     * @throws IllegalArgumentException 変換スレッド数が1より小さい場合
+     */
+    public void setThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be 1 or more.");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * ブロックサイズを取得する。
+     * @return ブロックサイズ
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * ブロックサイズを設定する。<br>
+     * ブロックは行区切り文字(LF)の直後で区切るため、1行がブロックサイズを超える場合は行の終わりまでを1つのブロックとする。<br>
+     * デフォルト値は{@link #DEFAULT_BLOCK_SIZE}。
+     * @param blockSize 1つのスレッドでまとめて変換するバイト数の目安
+     * @throws IllegalArgumentException ブロックサイズが1より小さい場合
+     */
+    public void setBlockSize(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be 1 or more.");
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * 置換文字列を取得する。
+     * @return 置換文字列。設定されていない場合は<code>null</code>
+     */
+    public String getReplacement() {
+        return replacement;
+    }
+
+    /**
+     * 置換文字列を設定する。<br>
+     * 不正なバイト列、または変換先の文字コードで表現できない文字を置換文字列に置き換える。
+     * 置換文字列は変換先の文字コードで表現できること。<br>
+     * デフォルト値は<code>null</code>(エラーとする)。
+     * @param replacement 置換文字列
+     */
+    public void setReplacement(String replacement) {
+        this.replacement = replacement;
+    }
+
+    /**
+     * 文字の対応を追加する。
+     * @param from 置き換える文字
+     * @param to 置き換え後の文字
+     */
+    public void putCharacterMapping(char from, char to) {
+        if (characterTable == null) {
+            characterTable = new char[Character.MAX_VALUE + 1];
+            for (int i = 0; i < characterTable.length; i++) {
+                characterTable[i] = (char) i;
+            }
+        }
+        characterTable[from] = to;
+    }
+
+    /**
+     * 文字の対応をまとめて追加する。
+     * @param characterMappings 置き換える文字と置き換え後の文字のマップ
+     */
+    public void setCharacterMappings(Map<Character, Character> characterMappings) {
+        for (Map.Entry<Character, Character> entry : characterMappings
+                .entrySet()) {
+            putCharacterMapping(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 文字の対応表を取得する。
+     * @return 文字の対応表(文字コードをインデックスとした置き換え後の文字の配列)。設定されていない場合は<code>null</code>
+     */
+    char[] getCharacterTable() {
+        return characterTable;
+    }
+}
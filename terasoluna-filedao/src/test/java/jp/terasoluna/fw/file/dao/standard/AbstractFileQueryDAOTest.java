@@ -1,13 +1,19 @@
 package jp.terasoluna.fw.file.dao.standard;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.nio.channels.ReadableByteChannel;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import jp.terasoluna.fw.file.dao.FileException;
+
 /**
  * {@link jp.terasoluna.fw.file.dao.standard.AbstractFileQueryDAO} クラスのテスト。
  * <p>
@@ -91,4 +97,70 @@ public class AbstractFileQueryDAOTest {
         // なし
     }
 
+    /**
+     * testExecute01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) inputStream:ByteArrayInputStreamインスタンス<br>
+     * (引数) clazz:CSVFileQueryDAO_Stub01<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * 原因例外:UnsupportedOperationException<br>
+     * <br>
+     * 入力ストリームからの読込に対応していないサブクラスの場合に、例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testExecute01() throws Exception {
+        // テスト対象のインスタンス化
+        AbstractFileQueryDAO abstractFileQueryDAO = new AbstractFileQueryDAO_Stub01();
+
+        try {
+            // テスト実施
+            abstractFileQueryDAO.execute(new ByteArrayInputStream(new byte[0]),
+                    CSVFileQueryDAO_Stub01.class);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("InputStream is not supported.", e.getMessage());
+            assertSame(UnsupportedOperationException.class, e.getCause()
+                    .getClass());
+        }
+    }
+
+    /**
+     * testExecute02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) channel:null<br>
+     * (引数) clazz:CSVFileQueryDAO_Stub01<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * 原因例外:IllegalArgumentException<br>
+     * <br>
+     * チャネルがnullの場合に、例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testExecute02() throws Exception {
+        // テスト対象のインスタンス化
+        AbstractFileQueryDAO abstractFileQueryDAO = new AbstractFileQueryDAO_Stub01();
+
+        try {
+            // テスト実施
+            abstractFileQueryDAO.execute((ReadableByteChannel) null,
+                    CSVFileQueryDAO_Stub01.class);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("channel is required.", e.getMessage());
+            assertSame(IllegalArgumentException.class, e.getCause()
+                    .getClass());
+        }
+    }
+
 }
@@ -1,13 +1,19 @@
 package jp.terasoluna.fw.file.dao.standard;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import jp.terasoluna.fw.file.dao.FileException;
+
 /**
  * {@link jp.terasoluna.fw.file.dao.standard.AbstractFileUpdateDAO} クラスのテスト。
  * <p>
@@ -91,4 +97,38 @@ public class AbstractFileUpdateDAOTest {
         // なし
     }
 
+    /**
+     * testExecute01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) channel:ByteArrayOutputStreamへ書き込むチャネル<br>
+     * (引数) clazz:CSVFileUpdateDAO_Stub01<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * 原因例外:UnsupportedOperationException<br>
+     * <br>
+     * チャネルへの書込に対応していないサブクラスの場合に、例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testExecute01() throws Exception {
+        // テスト対象のインスタンス化
+        AbstractFileUpdateDAO abstractFileUpdateDAO = new AbstractFileUpdateDAO_Stub01();
+
+        try {
+            // テスト実施
+            abstractFileUpdateDAO.execute(Channels.newChannel(
+                    new ByteArrayOutputStream()), CSVFileUpdateDAO_Stub01.class);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("WritableByteChannel is not supported.", e
+                    .getMessage());
+            assertSame(UnsupportedOperationException.class, e.getCause()
+                    .getClass());
+        }
+    }
+
 }
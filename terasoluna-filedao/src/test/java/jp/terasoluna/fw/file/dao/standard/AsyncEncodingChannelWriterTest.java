@@ -0,0 +1,270 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.AsyncEncodingChannelWriter} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> バックグラウンドスレッドでファイルチャネルに書き込む文字ストリーム。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.AsyncEncodingChannelWriter
+ */
+public class AsyncEncodingChannelWriterTest {
+
+    /**
+     * 一時ファイル。
+     */
+    private File tempFile;
+
+    /**
+     * 一時ファイルを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        tempFile = File.createTempFile("AsyncEncodingChannelWriterTest",
+                ".txt");
+    }
+
+    /**
+     * 一時ファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        tempFile.delete();
+    }
+
+    /**
+     * ファイルの内容を読み込む。
+     * @return ファイルの内容
+     * @throws IOException 入出力エラー
+     */
+    private byte[] readFile() throws IOException {
+        FileInputStream in = new FileInputStream(tempFile);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                out.write(buf, 0, len);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * testWrite01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C, F <br>
+     * <br>
+     * 入力値：(引数) バッファサイズを大きく超える量の文字列<br>
+     * (状態) bufferSize:64、bufferCount:2、3<br>
+     * <br>
+     * 期待値：(状態変化) OutputStreamWriterで書き込んだ場合と同じ内容が、同じ順序でファイルに書き込まれること。<br>
+     * <br>
+     * バックグラウンドスレッドで書き込んだ結果が欠落・順序の入れ替わりなく書き込まれることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWrite01() throws Exception {
+        for (int bufferCount = 2; bufferCount <= 3; bufferCount++) {
+            // 前提条件の設定
+            AsyncEncodingChannelWriter writer = new AsyncEncodingChannelWriter(new FileOutputStream(tempFile)
+                    .getChannel(), "UTF-8", 64, bufferCount);
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            OutputStreamWriter osw = new OutputStreamWriter(expected, "UTF-8");
+
+            // テスト実施
+            for (int i = 0; i < 20000; i++) {
+                String line = i + ",あいう,abc\r\n";
+                writer.write(line);
+                osw.write(line);
+            }
+            writer.flush();
+            long flushed = tempFile.length();
+            writer.close();
+            osw.close();
+
+            // 状態変化の確認
+            assertEquals(expected.size(), flushed);
+            assertArrayEquals(expected.toByteArray(), readFile());
+            assertEquals(expected.size(), writer.getWrittenBytes());
+            assertEquals(bufferCount, writer.getBufferCount());
+        }
+    }
+
+    /**
+     * testClose01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) 書き込み先のファイルチャネルが読み込み専用<br>
+     * <br>
+     * 期待値：(状態変化) 書き込み用のスレッドで発生したエラーが、closeの呼び出しでIOExceptionとして通知されること。<br>
+     * <br>
+     * closeがバックグラウンドスレッドのエラーを通知することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testClose01() throws Exception {
+        // 前提条件の設定
+        RandomAccessFile file = new RandomAccessFile(tempFile, "r");
+        FileChannel channel = file.getChannel();
+        AsyncEncodingChannelWriter writer = new AsyncEncodingChannelWriter(channel, "UTF-8", 16, 2);
+        writer.write("0123456789");
+
+        try {
+            // テスト実施
+            writer.close();
+            fail("IOExceptionがスローされませんでした。");
+        } catch (IOException e) {
+            // 状態変化の確認
+            assertEquals("Asynchronous write was failed.", e.getMessage());
+            assertTrue(e.getCause() != null);
+        } finally {
+            file.close();
+        }
+        assertFalse(channel.isOpen());
+    }
+
+    /**
+     * testClose02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) 書き込み先のチャネルがErrorをスローする<br>
+     * <br>
+     * 期待値：(状態変化) 書き込み用のスレッドで発生したErrorが、closeの呼び出しでIOExceptionの原因例外として通知されること。<br>
+     * <br>
+     * 書き込み用のスレッドがErrorで終了した場合に、closeが正常終了しないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test(timeout = 10000L)
+    public void testClose02() throws Exception {
+        // 前提条件の設定
+        final Error cause = new OutOfMemoryError("error");
+        WritableByteChannel channel = new WritableByteChannel() {
+            private boolean open = true;
+
+            public int write(ByteBuffer src) throws IOException {
+                throw cause;
+            }
+
+            public boolean isOpen() {
+                return open;
+            }
+
+            public void close() throws IOException {
+                open = false;
+            }
+        };
+        AsyncEncodingChannelWriter writer = new AsyncEncodingChannelWriter(channel, "UTF-8", 16, 2);
+        writer.write("0123456789012345678901234567890123456789");
+
+        try {
+            // テスト実施
+            writer.close();
+            fail("IOExceptionがスローされませんでした。");
+        } catch (IOException e) {
+            // 状態変化の確認
+            assertEquals("Asynchronous write was failed.", e.getMessage());
+            assertSame(cause, e.getCause());
+        }
+        assertFalse(channel.isOpen());
+    }
+
+    /**
+     * testWrite02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) 書き込み先のファイルチャネルが読み込み専用<br>
+     * <br>
+     * 期待値：(状態変化) エラー発生後の書き込み、flushでIOExceptionがスローされること。<br>
+     * <br>
+     * 書き込み処理がバックグラウンドスレッドのエラーを通知し、待機し続けないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWrite02() throws Exception {
+        // 前提条件の設定
+        RandomAccessFile file = new RandomAccessFile(tempFile, "r");
+        AsyncEncodingChannelWriter writer = new AsyncEncodingChannelWriter(file
+                .getChannel(), "UTF-8", 16, 2);
+        try {
+            // テスト実施
+            try {
+                writer.write("0123456789012345678901234567890123456789");
+                writer.flush();
+                fail("IOExceptionがスローされませんでした。");
+            } catch (IOException e) {
+                assertEquals("Asynchronous write was failed.", e.getMessage());
+            }
+            try {
+                writer.write("0123456789012345678901234567890123456789");
+                fail("IOExceptionがスローされませんでした。");
+            } catch (IOException e) {
+                assertEquals("Asynchronous write was failed.", e.getMessage());
+            }
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // エラーは通知済み
+            }
+            file.close();
+        }
+    }
+
+    /**
+     * testAsyncEncodingChannelWriter01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) bufferCount:1<br>
+     * <br>
+     * 期待値：(状態変化) 例外:IllegalArgumentException<br>
+     * <br>
+     * バイトバッファの数が2未満の場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testAsyncEncodingChannelWriter01() throws Exception {
+        FileOutputStream out = new FileOutputStream(tempFile);
+        try {
+            new AsyncEncodingChannelWriter(out.getChannel(), "UTF-8", 16, 1);
+            fail("IllegalArgumentExceptionがスローされませんでした。");
+        } catch (IllegalArgumentException e) {
+            assertEquals("bufferCount must be 2 or more.", e.getMessage());
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.BinaryBlockBuffer} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> バイナリファイルのブロック用バッファクラス。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.BinaryBlockBuffer
+ */
+public class BinaryBlockBufferTest {
+
+    /**
+     * testWriteSignedVarLong01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) value:0、-1、1、Integer.MIN_VALUE、Integer.MAX_VALUE、Long.MIN_VALUE、Long.MAX_VALUE<br>
+     * <br>
+     * 期待値：(状態変化) 書き込んだ値と同じ値が読み込まれること。0と-1は1バイトで書き込まれること。<br>
+     * <br>
+     * 符号付きの整数・長整数をジグザグ符号化して可変長で読み書きできることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWriteSignedVarLong01() throws Exception {
+        // 引数の設定
+        long[] values = new long[] { 0, -1, 1, Integer.MIN_VALUE,
+                Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE };
+        BinaryBlockBuffer buffer = new BinaryBlockBuffer(4);
+
+        // テスト実施
+        buffer.writeSignedVarLong(0);
+        buffer.writeSignedVarLong(-1);
+
+        // 状態変化の確認
+        assertEquals(2, buffer.size());
+
+        buffer.clear();
+        for (long value : values) {
+            buffer.writeSignedVarLong(value);
+            buffer.writeSignedVarInt((int) value);
+        }
+        for (long value : values) {
+            assertEquals(value, buffer.readSignedVarLong());
+            assertEquals((int) value, buffer.readSignedVarInt());
+        }
+        assertEquals(0, buffer.remaining());
+    }
+
+    /**
+     * testWriteString01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) value:""、"abc"、"日本語"<br>
+     * <br>
+     * 期待値：(状態変化) 書き込んだ文字列と同じ文字列が読み込まれること。<br>
+     * <br>
+     * 文字列をUTF-8のバイト数を前置して読み書きできることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWriteString01() throws Exception {
+        // 引数の設定
+        BinaryBlockBuffer buffer = new BinaryBlockBuffer(4);
+
+        // テスト実施
+        buffer.writeString("");
+        buffer.writeString("abc");
+        buffer.writeString("日本語");
+        buffer.writeLong(Double.doubleToRawLongBits(-1.5));
+        buffer.writeInt(Float.floatToRawIntBits(2.25f));
+
+        // 状態変化の確認
+        assertEquals("", buffer.readString());
+        assertEquals("abc", buffer.readString());
+        assertEquals("日本語", buffer.readString());
+        assertEquals(-1.5, Double.longBitsToDouble(buffer.readLong()), 0);
+        assertEquals(2.25f, Float.intBitsToFloat(buffer.readInt()), 0);
+        assertEquals(0, buffer.remaining());
+    }
+
+    /**
+     * testReadString01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) バッファ:バイト数のみで文字列の途中までしか格納されていない<br>
+     * <br>
+     * 期待値：(状態変化) 例外:IllegalStateException<br>
+     * メッセージ："Binary data is truncated."<br>
+     * <br>
+     * 格納されたデータが不足している場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadString01() throws Exception {
+        // 前提条件の設定
+        BinaryBlockBuffer buffer = new BinaryBlockBuffer(4);
+        buffer.writeVarInt(10);
+        buffer.writeByte('a');
+
+        try {
+            // テスト実施
+            buffer.readString();
+            fail("IllegalStateExceptionがスローされませんでした。");
+        } catch (IllegalStateException e) {
+            // 状態変化の確認
+            assertEquals("Binary data is truncated.", e.getMessage());
+        }
+    }
+}
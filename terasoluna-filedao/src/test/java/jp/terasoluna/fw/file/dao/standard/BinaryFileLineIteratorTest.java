@@ -0,0 +1,425 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineIterator;
+import jp.terasoluna.fw.file.dao.FileLineWriter;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.BinaryFileLineIterator} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> バイナリファイル用のファイルアクセス(データ取得)クラス。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.BinaryFileLineIterator
+ */
+public class BinaryFileLineIteratorTest {
+
+    /**
+     * テストで利用するファイル。
+     */
+    private File file = null;
+
+    /**
+     * テストで利用するファイルを作成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("BinaryFileLineIteratorTest", ".bin");
+    }
+
+    /**
+     * テストで利用したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * 行番号に応じた値を設定したファイル行オブジェクトを生成する。
+     * @param i 行番号
+     * @return ファイル行オブジェクト
+     */
+    private BinaryFileLineIterator_Stub01 createLine(int i) {
+        BinaryFileLineIterator_Stub01 line = new BinaryFileLineIterator_Stub01();
+        line.setStringValue(i % 7 == 0 ? null : "値" + i);
+        line.setIntValue(i - 500);
+        line.setLongValue(i % 2 == 0 ? null : Long.valueOf(i * 1000000007L));
+        line.setDecimalValue(new BigDecimal("-" + i + ".0" + i));
+        line.setDateValue(new Date(1400000000000L + i));
+        line.setBooleanValue(i % 3 == 0);
+        line.setDoubleValue(i / 4.0);
+        line.setCharValue((char) ('あ' + i % 10));
+        return line;
+    }
+
+    /**
+     * ファイル行オブジェクトが{@link #createLine(int)}で生成した値と一致することを確認する。
+     * @param i 行番号
+     * @param line ファイル行オブジェクト
+     */
+    private void assertLine(int i, BinaryFileLineIterator_Stub01 line) {
+        BinaryFileLineIterator_Stub01 expected = createLine(i);
+        assertEquals(expected.getStringValue(), line.getStringValue());
+        assertEquals(expected.getIntValue(), line.getIntValue());
+        assertEquals(expected.getLongValue(), line.getLongValue());
+        assertEquals(expected.getDecimalValue(), line.getDecimalValue());
+        assertEquals(expected.getDateValue(), line.getDateValue());
+        assertEquals(expected.isBooleanValue(), line.isBooleanValue());
+        assertEquals(expected.getDoubleValue(), line.getDoubleValue(), 0);
+        assertEquals(expected.getCharValue(), line.getCharValue());
+    }
+
+    /**
+     * ヘッダ部・データ部・トレイラ部を持つバイナリファイルを出力する。
+     * @param count データ部の行数
+     * @param blockCompression ブロックを圧縮する場合<code>true</code>
+     */
+    private void writeFile(int count, boolean blockCompression) {
+        BinaryFileUpdateDAO dao = new BinaryFileUpdateDAO();
+        dao.setBlockSize(512);
+        dao.setBlockCompression(blockCompression);
+        FileLineWriter<BinaryFileLineIterator_Stub01> writer = dao.execute(
+                file.getAbsolutePath(), BinaryFileLineIterator_Stub01.class);
+        writer.printHeaderLine(Arrays.asList("header1", "header2"));
+        for (int i = 0; i < count; i++) {
+            writer.printDataLine(createLine(i));
+        }
+        writer.printTrailerLine(Arrays.asList("trailer1"));
+        writer.closeFile();
+    }
+
+    /**
+     * testNext01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(状態) ファイル:ヘッダ部2行、データ部1000行(null値を含む)、トレイラ部1行のバイナリファイル<br>
+     * <br>
+     * 期待値：(戻り値) 出力したファイル行オブジェクトと同じ値のファイル行オブジェクトが順に返却されること。<br>
+     * (状態変化) ヘッダ部・トレイラ部が出力した文字列と一致すること。<br>
+     * <br>
+     * 複数のブロックに出力したデータ部を読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext01() throws Exception {
+        // 前提条件の設定
+        writeFile(1000, false);
+
+        // テスト実施
+        FileLineIterator<BinaryFileLineIterator_Stub01> iterator = new BinaryFileQueryDAO()
+                .execute(file.getAbsolutePath(),
+                        BinaryFileLineIterator_Stub01.class);
+        try {
+            // 返却値の確認
+            assertEquals(Arrays.asList("header1", "header2"), iterator
+                    .getHeader());
+            int count = 0;
+            while (iterator.hasNext()) {
+                assertLine(count, iterator.next());
+                count++;
+            }
+            assertEquals(1000, count);
+            assertEquals(Arrays.asList("trailer1"), iterator.getTrailer());
+            assertNull(createLine(0).getStringValue());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testNext02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(状態) ファイル:ブロックを圧縮して出力した、データ部1000行のバイナリファイル<br>
+     * <br>
+     * 期待値：(戻り値) 出力したファイル行オブジェクトと同じ値のファイル行オブジェクトが順に返却されること。<br>
+     * (状態変化) 圧縮しない場合よりファイルのバイト数が小さいこと。<br>
+     * <br>
+     * 圧縮したブロックを伸張して読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext02() throws Exception {
+        // 前提条件の設定
+        writeFile(1000, false);
+        long uncompressedLength = file.length();
+        writeFile(1000, true);
+
+        // テスト実施
+        FileLineIterator<BinaryFileLineIterator_Stub01> iterator = new BinaryFileLineIterator<BinaryFileLineIterator_Stub01>(file
+                .getAbsolutePath(), BinaryFileLineIterator_Stub01.class);
+        try {
+            // 返却値の確認
+            int count = 0;
+            while (iterator.hasNext()) {
+                assertLine(count, iterator.next());
+                count++;
+            }
+            assertEquals(1000, count);
+            assertEquals(Arrays.asList("header1", "header2"), iterator
+                    .getHeader());
+            assertEquals(Arrays.asList("trailer1"), iterator.getTrailer());
+
+            // 状態変化の確認
+            assertTrue(file.length() < uncompressedLength);
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testSkip01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) skipLines:700<br>
+     * (状態) ファイル:ブロックを圧縮して出力した、データ部1000行のバイナリファイル<br>
+     * (状態) トレイラ部取得済み<br>
+     * <br>
+     * 期待値：(状態変化) 次に読み込む行が701行目となり、最終行まで読み込めること。<br>
+     * <br>
+     * ブロック単位と行単位の読み飛ばしを組み合わせて読み飛ばせること、トレイラ部の取得後もデータ部を読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testSkip01() throws Exception {
+        // 前提条件の設定
+        writeFile(1000, true);
+        BinaryFileLineIterator<BinaryFileLineIterator_Stub01> iterator = new BinaryFileLineIterator<BinaryFileLineIterator_Stub01>(file
+                .getAbsolutePath(), BinaryFileLineIterator_Stub01.class);
+        try {
+            assertEquals(Arrays.asList("trailer1"), iterator.getTrailer());
+
+            // テスト実施
+            iterator.skip(700);
+
+            // 状態変化の確認
+            assertEquals(700, iterator.getCurrentLineCount());
+            int count = 700;
+            while (iterator.hasNext()) {
+                assertLine(count, iterator.next());
+                count++;
+            }
+            assertEquals(1000, count);
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testBinaryFileLineIterator01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) splitStart、splitEnd:ファイルを3等分した読込範囲<br>
+     * (状態) ファイル:データ部1000行のバイナリファイル<br>
+     * <br>
+     * 期待値：(戻り値) 3つの読込範囲で読み込んだデータ行を合わせると、全てのデータ行が重複・欠落なく順に返却されること。<br>
+     * <br>
+     * 同期マーカーによりブロックの先頭を探し、ファイルを分割して読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testBinaryFileLineIterator01() throws Exception {
+        // 前提条件の設定
+        writeFile(1000, false);
+        long length = file.length();
+        BinaryFileQueryDAO dao = new BinaryFileQueryDAO();
+
+        // テスト実施
+        List<Integer> counts = new ArrayList<Integer>();
+        int count = 0;
+        for (int part = 0; part < 3; part++) {
+            FileLineIterator<BinaryFileLineIterator_Stub01> iterator = dao
+                    .execute(file.getAbsolutePath(),
+                            BinaryFileLineIterator_Stub01.class, length
+                                    * part / 3, length * (part + 1) / 3);
+            try {
+                int partCount = 0;
+                while (iterator.hasNext()) {
+                    assertLine(count, iterator.next());
+                    count++;
+                    partCount++;
+                }
+                counts.add(partCount);
+                assertEquals(Arrays.asList("header1", "header2"), iterator
+                        .getHeader());
+            } finally {
+                iterator.closeFile();
+            }
+        }
+
+        // 返却値の確認
+        assertEquals(1000, count);
+        for (Integer partCount : counts) {
+            assertTrue(0 < partCount);
+        }
+    }
+
+    /**
+     * testBinaryFileLineIterator02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) clazz:出力時とカラム定義が異なるファイル行オブジェクトクラス<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Columns of binary file are different from FileLineObject."<br>
+     * <br>
+     * ファイルのカラム定義とファイル行オブジェクトが一致しない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testBinaryFileLineIterator02() throws Exception {
+        // 前提条件の設定
+        writeFile(10, false);
+
+        try {
+            // テスト実施
+            new BinaryFileLineIterator<BinaryFileLineIterator_Stub02>(file
+                    .getAbsolutePath(), BinaryFileLineIterator_Stub02.class);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Columns of binary file are different from FileLineObject.", e
+                    .getMessage());
+            assertEquals(file.getAbsolutePath(), e.getFileName());
+        }
+    }
+
+    /**
+     * testBinaryFileLineIterator03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) ファイル:テキストファイル<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："File is not a binary file of FileLineObject."<br>
+     * <br>
+     * バイナリファイルではない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testBinaryFileLineIterator03() throws Exception {
+        // 前提条件の設定
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write("aaa,bbb,ccc\r\n".getBytes("UTF-8"));
+        } finally {
+            fos.close();
+        }
+
+        try {
+            // テスト実施
+            new BinaryFileLineIterator<BinaryFileLineIterator_Stub01>(file
+                    .getAbsolutePath(), BinaryFileLineIterator_Stub01.class);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("File is not a binary file of FileLineObject.", e
+                    .getMessage());
+        }
+    }
+
+    /**
+     * testNext03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：D <br>
+     * <br>
+     * 入力値：(状態) ファイル:ヘッダ部・トレイラ部を出力し、データ部が0行のバイナリファイル<br>
+     * <br>
+     * 期待値：(戻り値) hasNext():false<br>
+     * <br>
+     * データ部が無い場合に、データ行が存在しないと判定されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext03() throws Exception {
+        // 前提条件の設定
+        writeFile(0, true);
+
+        // テスト実施
+        FileLineIterator<BinaryFileLineIterator_Stub01> iterator = new BinaryFileLineIterator<BinaryFileLineIterator_Stub01>(file
+                .getAbsolutePath(), BinaryFileLineIterator_Stub01.class);
+        try {
+            // 返却値の確認
+            assertFalse(iterator.hasNext());
+            assertEquals(2, iterator.getHeader().size());
+            assertEquals(1, iterator.getTrailer().size());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testBinaryFileLineIterator04() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) inputStream:ブロックを圧縮して出力した、データ部1000行のバイナリファイルの入力ストリーム<br>
+     * (状態) 700行読み飛ばし、続けて100行読込<br>
+     * <br>
+     * 期待値：(戻り値) 701行目から順にファイル行オブジェクトが返却されること。<br>
+     * (状態変化) ヘッダ部・トレイラ部が出力した文字列と一致し、トレイラ部の取得後はデータ行が存在しないと判定されること。<br>
+     * <br>
+     * 入力ストリームから先頭から順に読み込めること、トレイラ部の取得時に残りのデータ部を読み飛ばすことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testBinaryFileLineIterator04() throws Exception {
+        // 前提条件の設定
+        writeFile(1000, true);
+
+        // テスト実施
+        BinaryFileLineIterator<BinaryFileLineIterator_Stub01> iterator = (BinaryFileLineIterator<BinaryFileLineIterator_Stub01>) new BinaryFileQueryDAO()
+                .execute(new FileInputStream(file),
+                        BinaryFileLineIterator_Stub01.class);
+        try {
+            // 返却値の確認
+            assertEquals(Arrays.asList("header1", "header2"), iterator
+                    .getHeader());
+            iterator.skip(700);
+            assertEquals(700, iterator.getCurrentLineCount());
+            for (int i = 700; i < 800; i++) {
+                assertLine(i, iterator.next());
+            }
+
+            // 状態変化の確認
+            assertEquals(Arrays.asList("trailer1"), iterator.getTrailer());
+            assertFalse(iterator.hasNext());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(overWriteFlg = true)
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0)、@OutputFileColumn(columnIndex = 0)<br>
+ * String stringValue
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1)、@OutputFileColumn(columnIndex = 1)<br>
+ * int intValue
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 2)、@OutputFileColumn(columnIndex = 2)<br>
+ * Long longValue
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 3)、@OutputFileColumn(columnIndex = 3)<br>
+ * BigDecimal decimalValue
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 4)、@OutputFileColumn(columnIndex = 4)<br>
+ * Date dateValue
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 5)、@OutputFileColumn(columnIndex = 5)<br>
+ * boolean booleanValue
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 6)、@OutputFileColumn(columnIndex = 6)<br>
+ * double doubleValue
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 7)、@OutputFileColumn(columnIndex = 7)<br>
+ * char charValue
+ * </ul>
+ * </ul>
+ */
+@FileFormat(overWriteFlg = true)
+public class BinaryFileLineIterator_Stub01 {
+
+    @InputFileColumn(columnIndex = 0)
+    @OutputFileColumn(columnIndex = 0)
+    private String stringValue;
+
+    @InputFileColumn(columnIndex = 1)
+    @OutputFileColumn(columnIndex = 1)
+    private int intValue;
+
+    @InputFileColumn(columnIndex = 2)
+    @OutputFileColumn(columnIndex = 2)
+    private Long longValue;
+
+    @InputFileColumn(columnIndex = 3)
+    @OutputFileColumn(columnIndex = 3)
+    private java.math.BigDecimal decimalValue;
+
+    @InputFileColumn(columnIndex = 4)
+    @OutputFileColumn(columnIndex = 4)
+    private java.util.Date dateValue;
+
+    @InputFileColumn(columnIndex = 5)
+    @OutputFileColumn(columnIndex = 5)
+    private boolean booleanValue;
+
+    @InputFileColumn(columnIndex = 6)
+    @OutputFileColumn(columnIndex = 6)
+    private double doubleValue;
+
+    @InputFileColumn(columnIndex = 7)
+    @OutputFileColumn(columnIndex = 7)
+    private char charValue;
+
+    /**
+     * @return stringValue
+     */
+    public String getStringValue() {
+        return stringValue;
+    }
+
+    /**
+     * @param stringValue 設定する stringValue
+     */
+    public void setStringValue(String stringValue) {
+        this.stringValue = stringValue;
+    }
+
+    /**
+     * @return intValue
+     */
+    public int getIntValue() {
+        return intValue;
+    }
+
+    /**
+     * @param intValue 設定する intValue
+     */
+    public void setIntValue(int intValue) {
+        this.intValue = intValue;
+    }
+
+    /**
+     * @return longValue
+     */
+    public Long getLongValue() {
+        return longValue;
+    }
+
+    /**
+     * @param longValue 設定する longValue
+     */
+    public void setLongValue(Long longValue) {
+        this.longValue = longValue;
+    }
+
+    /**
+     * @return decimalValue
+     */
+    public java.math.BigDecimal getDecimalValue() {
+        return decimalValue;
+    }
+
+    /**
+     * @param decimalValue 設定する decimalValue
+     */
+    public void setDecimalValue(java.math.BigDecimal decimalValue) {
+        this.decimalValue = decimalValue;
+    }
+
+    /**
+     * @return dateValue
+     */
+    public java.util.Date getDateValue() {
+        return dateValue;
+    }
+
+    /**
+     * @param dateValue 設定する dateValue
+     */
+    public void setDateValue(java.util.Date dateValue) {
+        this.dateValue = dateValue;
+    }
+
+    /**
+     * @return booleanValue
+     */
+    public boolean isBooleanValue() {
+        return booleanValue;
+    }
+
+    /**
+     * @param booleanValue 設定する booleanValue
+     */
+    public void setBooleanValue(boolean booleanValue) {
+        this.booleanValue = booleanValue;
+    }
+
+    /**
+     * @return doubleValue
+     */
+    public double getDoubleValue() {
+        return doubleValue;
+    }
+
+    /**
+     * @param doubleValue 設定する doubleValue
+     */
+    public void setDoubleValue(double doubleValue) {
+        this.doubleValue = doubleValue;
+    }
+
+    /**
+     * @return charValue
+     */
+    public char getCharValue() {
+        return charValue;
+    }
+
+    /**
+     * @param charValue 設定する charValue
+     */
+    public void setCharValue(char charValue) {
+        this.charValue = charValue;
+    }
+
+}
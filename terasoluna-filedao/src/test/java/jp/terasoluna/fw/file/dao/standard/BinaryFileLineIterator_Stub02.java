@@ -0,0 +1,61 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0)、@OutputFileColumn(columnIndex = 0)<br>
+ * String stringValue
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1)、@OutputFileColumn(columnIndex = 1)<br>
+ * int intValue
+ * </ul>
+ * </ul>
+ */
+@FileFormat
+public class BinaryFileLineIterator_Stub02 {
+
+    @InputFileColumn(columnIndex = 0)
+    @OutputFileColumn(columnIndex = 0)
+    private String stringValue;
+
+    @InputFileColumn(columnIndex = 1)
+    @OutputFileColumn(columnIndex = 1)
+    private int intValue;
+
+    /**
+     * @return stringValue
+     */
+    public String getStringValue() {
+        return stringValue;
+    }
+
+    /**
+     * @param stringValue 設定する stringValue
+     */
+    public void setStringValue(String stringValue) {
+        this.stringValue = stringValue;
+    }
+
+    /**
+     * @return intValue
+     */
+    public int getIntValue() {
+        return intValue;
+    }
+
+    /**
+     * @param intValue 設定する intValue
+     */
+    public void setIntValue(int intValue) {
+        this.intValue = intValue;
+    }
+
+}
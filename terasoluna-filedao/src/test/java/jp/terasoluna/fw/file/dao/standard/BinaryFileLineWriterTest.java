@@ -0,0 +1,235 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineIterator;
+import jp.terasoluna.fw.file.dao.FileLineWriter;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.BinaryFileLineWriter} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> バイナリファイル用のファイルアクセス(データ出力)クラス。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.BinaryFileLineWriter
+ */
+public class BinaryFileLineWriterTest {
+
+    /**
+     * テストで利用するファイル。
+     */
+    private File file = null;
+
+    /**
+     * テストで利用するファイルを作成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("BinaryFileLineWriterTest", ".bin");
+        file.delete();
+    }
+
+    /**
+     * テストで利用したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * ファイル行オブジェクトを生成する。
+     * @param stringValue 文字列の値
+     * @param intValue 整数の値
+     * @return ファイル行オブジェクト
+     */
+    private BinaryFileLineIterator_Stub02 createLine(String stringValue,
+            int intValue) {
+        BinaryFileLineIterator_Stub02 line = new BinaryFileLineIterator_Stub02();
+        line.setStringValue(stringValue);
+        line.setIntValue(intValue);
+        return line;
+    }
+
+    /**
+     * testBinaryFileLineWriter01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) clazz:overWriteFlgがfalseのファイル行オブジェクトクラス<br>
+     * (状態) ファイル:同じカラム定義で出力済み<br>
+     * <br>
+     * 期待値：(状態変化) 既存のファイルの末尾に追記され、両方のデータ行を順に読み込めること。<br>
+     * <br>
+     * 上書きしない場合に、既存のファイルのカラム定義と同期マーカーを引き継いで追記されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testBinaryFileLineWriter01() throws Exception {
+        // 前提条件の設定
+        BinaryFileLineWriter<BinaryFileLineIterator_Stub02> writer = new BinaryFileLineWriter<BinaryFileLineIterator_Stub02>(file
+                .getAbsolutePath(), BinaryFileLineIterator_Stub02.class);
+        writer.printDataLine(createLine("a", 1));
+        writer.closeFile();
+
+        // テスト実施
+        writer = new BinaryFileLineWriter<BinaryFileLineIterator_Stub02>(file
+                .getAbsolutePath(), BinaryFileLineIterator_Stub02.class, 16, true);
+        writer.printDataLines(Arrays.asList(createLine("b", 2), createLine(
+                null, 3)));
+        writer.closeFile();
+
+        // 状態変化の確認
+        assertEquals(2, writer.getCurrentLineCount());
+        BinaryFileLineIterator<BinaryFileLineIterator_Stub02> iterator = new BinaryFileLineIterator<BinaryFileLineIterator_Stub02>(file
+                .getAbsolutePath(), BinaryFileLineIterator_Stub02.class);
+        try {
+            BinaryFileLineIterator_Stub02 line = iterator.next();
+            assertEquals("a", line.getStringValue());
+            assertEquals(1, line.getIntValue());
+            line = iterator.next();
+            assertEquals("b", line.getStringValue());
+            assertEquals(2, line.getIntValue());
+            line = iterator.next();
+            assertEquals(null, line.getStringValue());
+            assertEquals(3, line.getIntValue());
+            assertFalse(iterator.hasNext());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testBinaryFileLineWriter02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) channel:メモリ上の出力ストリームのチャネル<br>
+     * (引数) blockCompression:true<br>
+     * (状態) ヘッダ部1行、データ部100行、トレイラ部1行を出力<br>
+     * <br>
+     * 期待値：(状態変化) 出力したバイト列をチャネルから読み込むと、出力した内容と一致すること。<br>
+     * <br>
+     * ファイルを介さずにチャネルへ出力し、チャネルから読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testBinaryFileLineWriter02() throws Exception {
+        // 前提条件の設定
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryFileUpdateDAO updateDAO = new BinaryFileUpdateDAO();
+        updateDAO.setBlockSize(64);
+        updateDAO.setBlockCompression(true);
+
+        // テスト実施
+        FileLineWriter<BinaryFileLineIterator_Stub02> writer = updateDAO
+                .execute(Channels.newChannel(out),
+                        BinaryFileLineIterator_Stub02.class);
+        writer.printHeaderLine(Arrays.asList("header"));
+        for (int i = 0; i < 100; i++) {
+            writer.printDataLine(createLine("value" + i, i));
+        }
+        writer.printTrailerLine(Arrays.asList("trailer"));
+        writer.closeFile();
+
+        // 状態変化の確認
+        FileLineIterator<BinaryFileLineIterator_Stub02> iterator = new BinaryFileQueryDAO()
+                .execute(Channels.newChannel(new ByteArrayInputStream(out
+                        .toByteArray())), BinaryFileLineIterator_Stub02.class);
+        try {
+            assertEquals(Arrays.asList("header"), iterator.getHeader());
+            for (int i = 0; i < 100; i++) {
+                BinaryFileLineIterator_Stub02 line = iterator.next();
+                assertEquals("value" + i, line.getStringValue());
+                assertEquals(i, line.getIntValue());
+            }
+            assertFalse(iterator.hasNext());
+            assertEquals(Arrays.asList("trailer"), iterator.getTrailer());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testPrintHeaderLine01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) データ部出力済み<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Header part should be called before data part or trailer part."<br>
+     * <br>
+     * データ部の出力後にヘッダ部を出力した場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintHeaderLine01() throws Exception {
+        // 前提条件の設定
+        BinaryFileLineWriter<BinaryFileLineIterator_Stub02> writer = new BinaryFileLineWriter<BinaryFileLineIterator_Stub02>(file
+                .getAbsolutePath(), BinaryFileLineIterator_Stub02.class);
+        try {
+            writer.printDataLine(createLine("a", 1));
+
+            // テスト実施
+            writer.printHeaderLine(Arrays.asList("header"));
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Header part should be called before "
+                    + "data part or trailer part.", e.getMessage());
+        } finally {
+            writer.closeFile();
+        }
+    }
+
+    /**
+     * testPrintDataLine01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) トレイラ部出力済み<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Header part or data part should be called before TrailerPart"<br>
+     * <br>
+     * トレイラ部の出力後にデータ部を出力した場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine01() throws Exception {
+        // 前提条件の設定
+        BinaryFileLineWriter<BinaryFileLineIterator_Stub02> writer = new BinaryFileLineWriter<BinaryFileLineIterator_Stub02>(file
+                .getAbsolutePath(), BinaryFileLineIterator_Stub02.class);
+        try {
+            writer.printTrailerLine(Arrays.asList("trailer"));
+
+            // テスト実施
+            writer.printDataLine(createLine("a", 1));
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Header part or data part should be "
+                    + "called before TrailerPart", e.getMessage());
+        } finally {
+            writer.closeFile();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.BoundedInputStream} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 元のストリームの先頭から指定されたバイト数までを読み込む。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.BoundedInputStream
+ */
+public class BoundedInputStreamTest {
+
+    /**
+     * testRead01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(状態) 元のストリーム:10バイト、limit:6<br>
+     * <br>
+     * 期待値：(戻り値) 6バイトまで読み込め、以降は-1が返却されること。<br>
+     * <br>
+     * 指定されたバイト数を超えて読み込まないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testRead01() throws Exception {
+        // 前提条件の設定
+        BoundedInputStream in = new BoundedInputStream(new ByteArrayInputStream("0123456789"
+                .getBytes("US-ASCII")), 6);
+
+        // テスト実施
+        byte[] buf = new byte[8];
+        int count = in.read(buf, 0, 4);
+        int b = in.read();
+        int rest = in.read(buf, 0, 8);
+
+        // 返却値の確認
+        assertEquals(4, count);
+        assertEquals('4', b);
+        assertEquals(1, rest);
+        assertEquals('5', buf[0]);
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read(buf, 0, 8));
+        assertEquals(0, in.available());
+        assertFalse(in.markSupported());
+    }
+}
@@ -0,0 +1,74 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ByteCountingWriter} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 書き込んだ文字列のエンコード後のバイト数を数える文字出力ストリーム。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ByteCountingWriter
+ */
+public class ByteCountingWriterTest {
+
+    /**
+     * testWrite01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) 文字列:"aあ𠮷"をサロゲートペアの間で分割して書き込む<br>
+     * (状態) ファイルエンコーディング:UTF-8<br>
+     * <br>
+     * 期待値：(戻り値) 出力先に同じ文字列が書き込まれ、バイト数が8となること。<br>
+     * <br>
+     * サロゲートペアが書き込みをまたいでも1文字として数えることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWrite01() throws Exception {
+        // 前提条件の設定
+        StringWriter out = new StringWriter();
+        ByteCountingWriter writer = new ByteCountingWriter(out, "UTF-8");
+        String str = "aあ𠮷";
+
+        // テスト実施
+        writer.write(str, 0, 3);
+        writer.write(str.toCharArray(), 3, 1);
+
+        // 返却値の確認
+        assertEquals(str, out.toString());
+        assertEquals(8L, writer.getCount());
+    }
+
+    /**
+     * testWrite02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) 文字列:"aあ"、改行文字<br>
+     * (状態) ファイルエンコーディング:MS932<br>
+     * <br>
+     * 期待値：(戻り値) バイト数が4となること。<br>
+     * <br>
+     * ファイルエンコーディングで変換した場合のバイト数を数えることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWrite02() throws Exception {
+        // 前提条件の設定
+        ByteCountingWriter writer = new ByteCountingWriter(new StringWriter(), "MS932");
+
+        // テスト実施
+        writer.write("aあ");
+        writer.write('\n');
+
+        // 返却値の確認
+        assertEquals(4L, writer.getCount());
+    }
+}
@@ -1,18 +1,26 @@
 package jp.terasoluna.fw.file.dao.standard;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 import org.junit.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import jp.terasoluna.fw.file.annotation.NullStringConverter;
 import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
 import org.mockito.Mockito;
 
 /**
@@ -973,4 +981,280 @@ public class CSVFileLineIteratorTest {
         assertEquals("BBB", result3.getColumn3());
         assertEquals("|CCCC|", result3.getColumn4());
     }
+
+    /**
+     * 正常系<br>
+     * トレイラ部末尾読込。データ部を取得する前にトレイラ部を取得し、その後データ部を取得できること。
+     * @throws Exception
+     */
+    @Test
+    public void testGetTrailer01() throws Exception {
+        // 前提条件の設定
+        File file = File.createTempFile("CSVFileLineIteratorTest", ".csv");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            try {
+                out.write(("header\r\n1,データ1\r\n2,データ2\r\n3,データ3\r\n"
+                        + "count,3\r\nend,トレイラ\r\n").getBytes("MS932"));
+            } finally {
+                out.close();
+            }
+            Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+            columnParserMap.put("java.lang.String", new NullColumnParser());
+
+            CSVFileLineIterator<CSVFileLineIterator_Stub08> fileLineIterator = new CSVFileLineIterator<CSVFileLineIterator_Stub08>(file
+                    .getPath(), CSVFileLineIterator_Stub08.class, columnParserMap);
+
+            try {
+                // テスト実施
+                List<String> trailer = fileLineIterator.getTrailer();
+                assertEquals(2, trailer.size());
+                assertEquals("count,3", trailer.get(0));
+                assertEquals("end,トレイラ", trailer.get(1));
+
+                assertEquals(1, fileLineIterator.getHeader().size());
+                assertEquals("header", fileLineIterator.getHeader().get(0));
+
+                fileLineIterator.skip(1);
+                CSVFileLineIterator_Stub08 result2 = fileLineIterator.next();
+                CSVFileLineIterator_Stub08 result3 = fileLineIterator.next();
+
+                // 返却値の確認
+                assertEquals("2", result2.getColumn1());
+                assertEquals("データ2", result2.getColumn2());
+                assertEquals("3", result3.getColumn1());
+                assertEquals("データ3", result3.getColumn2());
+                assertFalse(fileLineIterator.hasNext());
+                assertSame(trailer, fileLineIterator.getTrailer());
+            } finally {
+                fileLineIterator.closeFile();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * 異常系<br>
+     * トレイラ部末尾読込。ヘッダ部とトレイラ部の行数分のデータが存在しない場合、ファイルオープン時に例外が発生すること。
+     * @throws Exception
+     */
+    @Test
+    public void testGetTrailer02() throws Exception {
+        // 前提条件の設定
+        File file = File.createTempFile("CSVFileLineIteratorTest", ".csv");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            try {
+                out.write("count,0\r\nend,0\r\n".getBytes("MS932"));
+            } finally {
+                out.close();
+            }
+            Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+            columnParserMap.put("java.lang.String", new NullColumnParser());
+
+            try {
+                // テスト実施
+                new CSVFileLineIterator<CSVFileLineIterator_Stub08>(file
+                        .getPath(), CSVFileLineIterator_Stub08.class, columnParserMap);
+                fail("FileExceptionがスローされませんでした。");
+            } catch (FileException e) {
+                // 返却値の確認
+                assertEquals("The data which can be acquired doesn't exist.", e
+                        .getMessage());
+                assertSame(NoSuchElementException.class, e.getCause()
+                        .getClass());
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * 正常系<br>
+     * レコードオフセットインデックスを利用する場合、インデックスファイルが存在しなければ作成せずに先頭から読み飛ばし、
+     * 事前に作成したインデックスファイルが存在すれば利用して、いずれも読み飛ばし後に正しいデータ行が取得できること。
+     * @throws Exception
+     */
+    @Test
+    public void testSkip01() throws Exception {
+        // 前提条件の設定
+        File file = File.createTempFile("CSVFileLineIteratorTest", ".csv");
+        File indexFile = new File(file.getPath() + RecordOffsetIndex.INDEX_FILE_SUFFIX);
+        try {
+            StringBuilder data = new StringBuilder("header\n");
+            for (int i = 0; i < 20; i++) {
+                data.append(i).append(",\"data\n").append(i).append("\"\n");
+            }
+            data.append("end,20\n");
+            FileOutputStream out = new FileOutputStream(file);
+            try {
+                out.write(data.toString().getBytes("UTF-8"));
+            } finally {
+                out.close();
+            }
+            Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+            columnParserMap.put("java.lang.String", new NullColumnParser());
+
+            CSVFileLineIterator<CSVFileLineIterator_Stub09> fileLineIterator = new CSVFileLineIterator<CSVFileLineIterator_Stub09>(file
+                    .getPath(), CSVFileLineIterator_Stub09.class, columnParserMap);
+            try {
+                // テスト実施
+                fileLineIterator.next();
+                fileLineIterator.skip(8);
+                CSVFileLineIterator_Stub09 result9 = fileLineIterator.next();
+                fileLineIterator.skip(9);
+                CSVFileLineIterator_Stub09 result19 = fileLineIterator.next();
+
+                // 返却値の確認
+                assertEquals("9", result9.getColumn1());
+                assertEquals("data\n9", result9.getColumn2());
+                assertEquals("19", result19.getColumn1());
+                assertEquals(20, fileLineIterator.getCurrentLineCount());
+                assertFalse(fileLineIterator.hasNext());
+                assertEquals("end,20", fileLineIterator.getTrailer().get(0));
+                assertEquals(false, indexFile.isFile());
+            } finally {
+                fileLineIterator.closeFile();
+            }
+
+            // 事前に作成したインデックスファイルを利用して読み飛ばす。
+            RecordOffsetIndex.loadOrBuild(file.getPath(), "UTF-8", "\n", '"', 0,
+                    1, 4);
+            assertEquals(true, indexFile.isFile());
+            fileLineIterator = new CSVFileLineIterator<CSVFileLineIterator_Stub09>(file
+                    .getPath(), CSVFileLineIterator_Stub09.class, columnParserMap);
+            try {
+                fileLineIterator.skip(9);
+                CSVFileLineIterator_Stub09 result9 = fileLineIterator.next();
+                assertEquals("9", result9.getColumn1());
+                assertEquals("data\n9", result9.getColumn2());
+                assertEquals("end,20", fileLineIterator.getTrailer().get(0));
+            } finally {
+                fileLineIterator.closeFile();
+            }
+
+            // インデックスファイルを利用して、データ部を超えて読み飛ばす。
+            fileLineIterator = new CSVFileLineIterator<CSVFileLineIterator_Stub09>(file
+                    .getPath(), CSVFileLineIterator_Stub09.class, columnParserMap);
+            try {
+                fileLineIterator.skip(25);
+                fail("FileLineExceptionがスローされませんでした。");
+            } catch (FileLineException e) {
+                assertEquals("The data which can be acquired doesn't exist.", e
+                        .getMessage());
+                assertEquals(21, e.getLineNo());
+                assertEquals(20, fileLineIterator.getCurrentLineCount());
+            } finally {
+                fileLineIterator.closeFile();
+            }
+        } finally {
+            file.delete();
+            indexFile.delete();
+        }
+    }
+
+    /**
+     * 正常系<br>
+     * 圧縮種別AUTOで拡張子が「.gz」の場合、GZIP形式で出力したファイルを伸張しながら読み込めること。
+     * @throws Exception
+     */
+    @Test
+    public void testNext04() throws Exception {
+        // 前提条件の設定
+        File file = File.createTempFile("CSVFileLineIteratorTest", ".csv.gz");
+        try {
+            Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+            columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+            CSVFileLineWriter<CSVFileLineIterator_Stub10> fileLineWriter = new CSVFileLineWriter<CSVFileLineIterator_Stub10>(file
+                    .getPath(), CSVFileLineIterator_Stub10.class, columnFormatterMap);
+            for (int i = 0; i < 5000; i++) {
+                CSVFileLineIterator_Stub10 line = new CSVFileLineIterator_Stub10();
+                line.setColumn1(String.valueOf(i));
+                line.setColumn2("データ" + i);
+                fileLineWriter.printDataLine(line);
+            }
+            fileLineWriter.printTrailerLine(Arrays.asList("end,5000"));
+            fileLineWriter.closeFile();
+
+            FileInputStream in = new FileInputStream(file);
+            try {
+                assertEquals(0x1f, in.read());
+                assertEquals(0x8b, in.read());
+            } finally {
+                in.close();
+            }
+
+            Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+            columnParserMap.put("java.lang.String", new NullColumnParser());
+            CSVFileLineIterator<CSVFileLineIterator_Stub10> fileLineIterator = new CSVFileLineIterator<CSVFileLineIterator_Stub10>(file
+                    .getPath(), CSVFileLineIterator_Stub10.class, columnParserMap);
+            try {
+                // テスト実施
+                int count = 0;
+                while (fileLineIterator.hasNext()) {
+                    CSVFileLineIterator_Stub10 result = fileLineIterator.next();
+
+                    // 返却値の確認
+                    assertEquals(String.valueOf(count), result.getColumn1());
+                    assertEquals("データ" + count, result.getColumn2());
+                    count++;
+                }
+                assertEquals(5000, count);
+                assertEquals("end,5000", fileLineIterator.getTrailer().get(0));
+            } finally {
+                fileLineIterator.closeFile();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * 正常系<br>
+     * 先読みバッファ数が2の場合、別スレッドで先読み・デコードしながら全角文字を含むファイルを読み込めること。
+     * @throws Exception
+     */
+    @Test
+    public void testNext05() throws Exception {
+        // 前提条件の設定
+        File file = File.createTempFile("CSVFileLineIteratorTest", ".csv");
+        try {
+            Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+            columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+            CSVFileLineWriter<CSVFileLineIterator_Stub10> fileLineWriter = new CSVFileLineWriter<CSVFileLineIterator_Stub10>(file
+                    .getPath(), CSVFileLineIterator_Stub10.class, columnFormatterMap);
+            for (int i = 0; i < 5000; i++) {
+                CSVFileLineIterator_Stub10 line = new CSVFileLineIterator_Stub10();
+                line.setColumn1(String.valueOf(i));
+                line.setColumn2("データ" + i);
+                fileLineWriter.printDataLine(line);
+            }
+            fileLineWriter.printTrailerLine(Arrays.asList("end,5000"));
+            fileLineWriter.closeFile();
+
+            Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+            columnParserMap.put("java.lang.String", new NullColumnParser());
+            CSVFileLineIterator<CSVFileLineIterator_Stub11> fileLineIterator = new CSVFileLineIterator<CSVFileLineIterator_Stub11>(file
+                    .getPath(), CSVFileLineIterator_Stub11.class, columnParserMap);
+            try {
+                // テスト実施
+                int count = 0;
+                while (fileLineIterator.hasNext()) {
+                    CSVFileLineIterator_Stub11 result = fileLineIterator.next();
+
+                    // 返却値の確認
+                    assertEquals(String.valueOf(count), result.getColumn1());
+                    assertEquals("データ" + count, result.getColumn2());
+                    count++;
+                }
+                assertEquals(5000, count);
+                assertEquals("end,5000", fileLineIterator.getTrailer().get(0));
+            } finally {
+                fileLineIterator.closeFile();
+            }
+        } finally {
+            file.delete();
+        }
+    }
 }
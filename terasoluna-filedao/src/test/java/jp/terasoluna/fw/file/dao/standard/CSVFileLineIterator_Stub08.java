@@ -0,0 +1,58 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\r\n", fileEncoding = "MS932", headerLineCount = 1, trailerLineCount = 2, trailerSeekFromEnd = true)
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0)<br>
+ * String column1
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1)<br>
+ * String column2
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\r\n", fileEncoding = "MS932", headerLineCount = 1, trailerLineCount = 2, trailerSeekFromEnd = true)
+public class CSVFileLineIterator_Stub08 {
+
+    @InputFileColumn(columnIndex = 0)
+    private String column1 = null;
+
+    @InputFileColumn(columnIndex = 1)
+    private String column2 = null;
+
+    /**
+     * @return column1
+     */
+    public String getColumn1() {
+        return column1;
+    }
+
+    /**
+     * @param column1 設定する column1
+     */
+    public void setColumn1(String column1) {
+        this.column1 = column1;
+    }
+
+    /**
+     * @return column2
+     */
+    public String getColumn2() {
+        return column2;
+    }
+
+    /**
+     * @param column2 設定する column2
+     */
+    public void setColumn2(String column2) {
+        this.column2 = column2;
+    }
+
+}
@@ -0,0 +1,17 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\r\n", fileEncoding = "MS932", trailerLineCount = 1, readAheadBufferCount = 2)
+ * <li>属性
+ * <ul>
+ * <li>{@link CSVFileLineIterator_Stub10}から継承
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\r\n", fileEncoding = "MS932", trailerLineCount = 1, readAheadBufferCount = 2)
+public class CSVFileLineIterator_Stub11 extends CSVFileLineIterator_Stub10 {
+}
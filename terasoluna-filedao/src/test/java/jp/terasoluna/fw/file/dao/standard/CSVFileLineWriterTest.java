@@ -7,7 +7,9 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import jp.terasoluna.fw.file.annotation.NullStringConverter;
@@ -650,4 +652,101 @@ public class CSVFileLineWriterTest {
             reader.close();
         }
     }
+
+    /**
+     * 正常系<br>
+     * FileFormatのdirectEncodingがtrueの場合に、ファイルチャネルへ直接エンコードして一括で書き込まれることを確認する。<br>
+     * 全角文字を含むカラムのパディング、エンコードできない文字の置換がBufferedWriter利用時と同じ結果となること。
+     * @throws Exception
+     */
+    @Test
+    public void testPrintDataLines01() throws Exception {
+        // 前処理(ファイル)
+        String fileName = TEMP_FILE_NAME;
+
+        // 前処理(試験対象)
+        Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+
+        CSVFileLineWriter<CSVFileLineWriter_Stub08> fileLineWriter = new CSVFileLineWriter<CSVFileLineWriter_Stub08>(fileName, CSVFileLineWriter_Stub08.class, columnFormatterMap);
+        assertEquals(EncodingChannelWriter.class, fileLineWriter.getWriter()
+                .getClass());
+
+        // 前処理(引数)
+        List<CSVFileLineWriter_Stub08> list = new ArrayList<CSVFileLineWriter_Stub08>();
+        for (int i = 0; i < 10000; i++) {
+            CSVFileLineWriter_Stub08 t = new CSVFileLineWriter_Stub08();
+            t.setColumn01("\u3042\"" + i);
+            t.setColumn02(i % 2 == 0 ? "\u3044" : Integer.toString(i));
+            list.add(t);
+        }
+        CSVFileLineWriter_Stub08 last = new CSVFileLineWriter_Stub08();
+        last.setColumn01("\ud842\udfb7");
+        last.setColumn02("1");
+        list.add(last);
+
+        // テスト実施
+        fileLineWriter.printDataLines(list);
+        fileLineWriter.closeFile();
+
+        // 判定
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), "MS932"));
+            for (int i = 0; i < 10000; i++) {
+                String column02 = (i % 2 == 0) ? "0000\u3044" : String.format(
+                        "%06d", i);
+                assertEquals("\"\u3042\"\"" + i + "\",\"" + column02 + "\"",
+                        reader.readLine());
+            }
+            assertEquals("\"?\",\"000001\"", reader.readLine());
+            assertEquals(null, reader.readLine());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * 正常系<br>
+     * FileFormatのdirectEncodingがfalseの場合に、コレクションの順に書き込まれることを確認する。
+     * @throws Exception
+     */
+    @Test
+    public void testPrintDataLines02() throws Exception {
+        // 前処理(ファイル)
+        String fileName = TEMP_FILE_NAME;
+
+        // 前処理(試験対象)
+        Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+
+        CSVFileLineWriter<CSVFileLine_Stub01> fileLineWriter = new CSVFileLineWriter<CSVFileLine_Stub01>(fileName, CSVFileLine_Stub01.class, columnFormatterMap);
+
+        // 前処理(引数)
+        List<CSVFileLine_Stub01> list = new ArrayList<CSVFileLine_Stub01>();
+        for (int i = 0; i < 2; i++) {
+            CSVFileLine_Stub01 t = new CSVFileLine_Stub01();
+            t.setColumn1(Integer.toString(i));
+            t.setColumn2("22");
+            t.setColumn3("333");
+            t.setColumn4("4444");
+            list.add(t);
+        }
+
+        // テスト実施
+        fileLineWriter.printDataLines(list);
+        fileLineWriter.closeFile();
+
+        // 判定
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), System
+                    .getProperty("file.encoding")));
+            assertEquals("\"0\",22,333,|4444|", reader.readLine());
+            assertEquals("\"1\",22,333,|4444|", reader.readLine());
+            assertEquals(null, reader.readLine());
+        } finally {
+            reader.close();
+        }
+    }
 }
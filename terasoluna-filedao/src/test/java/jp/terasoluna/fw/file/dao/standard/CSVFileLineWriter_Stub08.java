@@ -0,0 +1,45 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+import jp.terasoluna.fw.file.annotation.PaddingType;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <p>
+ * 以下の設定を持つ<br>
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\n", encloseChar = '\"', fileEncoding = "MS932", overWriteFlg = true, directEncoding = true)
+ * <li>属性
+ * <ul>
+ * <li>@OutputFileColumn(columnIndex = 0)<br>
+ * String column01
+ * <li>@OutputFileColumn(columnIndex = 1, bytes = 6, paddingType = PaddingType.LEFT, paddingChar = '0')<br>
+ * String column02
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\n", encloseChar = '\"', fileEncoding = "MS932", overWriteFlg = true, directEncoding = true)
+public class CSVFileLineWriter_Stub08 {
+    @OutputFileColumn(columnIndex = 0)
+    String column01 = null;
+
+    @OutputFileColumn(columnIndex = 1, bytes = 6, paddingType = PaddingType.LEFT, paddingChar = '0')
+    String column02 = null;
+
+    public String getColumn01() {
+        return column01;
+    }
+
+    public void setColumn01(String column01) {
+        this.column01 = column01;
+    }
+
+    public String getColumn02() {
+        return column02;
+    }
+
+    public void setColumn02(String column02) {
+        this.column02 = column02;
+    }
+}
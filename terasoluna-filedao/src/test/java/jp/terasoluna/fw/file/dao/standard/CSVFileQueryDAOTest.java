@@ -1,9 +1,14 @@
 package jp.terasoluna.fw.file.dao.standard;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 
+import java.io.ByteArrayInputStream;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -79,4 +84,95 @@ public class CSVFileQueryDAOTest {
         assertSame(columnParser, ReflectionTestUtils.getField(fileLineIterator,
                 "columnParserMap"));
     }
+
+    /**
+     * testExecute02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：E.F <br>
+     * <br>
+     * 入力値：(引数) inputStream:ヘッダ部1行、データ部3行、トレイラ部1行のデータを持つ入力ストリーム<br>
+     * (引数) clazz:trailerSeekFromEnd、recordIndexIntervalを設定したスタブ<br>
+     * CSVFileQueryDAO_Stub02<br>
+     * <br>
+     * 期待値：(戻り値) FileLineIterator<T>:CSVFileLineIterator<T>のインスタンス<br>
+     * (状態変化) ヘッダ部、データ部、トレイラ部が先頭から順に読み込まれること。<br>
+     * <br>
+     * 入力ストリームの場合はシークが必要な設定が無視され、先頭から順に読み込まれることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testExecute02() throws Exception {
+        // テスト対象のインスタンス化
+        CSVFileQueryDAO fileQueryDAO = new CSVFileQueryDAO();
+
+        // 引数の設定
+        ByteArrayInputStream inputStream = new ByteArrayInputStream("header\na,1\nb,2\nc,3\ntrailer\n"
+                .getBytes("UTF-8"));
+        Class<CSVFileQueryDAO_Stub02> clazz = CSVFileQueryDAO_Stub02.class;
+
+        // 前提条件の設定
+        Map<String, ColumnParser> columnParser = new HashMap<String, ColumnParser>();
+        columnParser.put("java.lang.String", new NullColumnParser());
+        fileQueryDAO.setColumnParserMap(columnParser);
+
+        // テスト実施
+        FileLineIterator<CSVFileQueryDAO_Stub02> fileLineIterator = fileQueryDAO
+                .execute(inputStream, clazz);
+
+        // 返却値の確認
+        assertEquals(CSVFileLineIterator.class, fileLineIterator.getClass());
+        assertNull(ReflectionTestUtils.getField(fileLineIterator, "fileName"));
+
+        // 状態変化の確認
+        assertEquals(Arrays.asList("header"), fileLineIterator.getHeader());
+        fileLineIterator.skip(1);
+        CSVFileQueryDAO_Stub02 result = fileLineIterator.next();
+        assertEquals("b", result.getName());
+        assertEquals("2", result.getValue());
+        result = fileLineIterator.next();
+        assertEquals("c", result.getName());
+        assertEquals("3", result.getValue());
+        assertFalse(fileLineIterator.hasNext());
+        assertEquals(Arrays.asList("trailer"), fileLineIterator.getTrailer());
+        fileLineIterator.closeFile();
+    }
+
+    /**
+     * testExecute03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：E <br>
+     * <br>
+     * 入力値：(引数) channel:データ部2行のデータを持つチャネル<br>
+     * (引数) clazz:CSVFileQueryDAO_Stub01<br>
+     * <br>
+     * 期待値：(戻り値) FileLineIterator<T>:チャネルから読み込むCSVFileLineIterator<T>のインスタンス<br>
+     * <br>
+     * チャネルを指定した場合に、チャネルのデータが読み込まれることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testExecute03() throws Exception {
+        // テスト対象のインスタンス化
+        CSVFileQueryDAO fileQueryDAO = new CSVFileQueryDAO();
+
+        // 前提条件の設定
+        Map<String, ColumnParser> columnParser = new HashMap<String, ColumnParser>();
+        columnParser.put("java.lang.String", new NullColumnParser());
+        fileQueryDAO.setColumnParserMap(columnParser);
+        String lineFeedChar = System.getProperty("line.separator");
+
+        // テスト実施
+        FileLineIterator<CSVFileQueryDAO_Stub01> fileLineIterator = fileQueryDAO
+                .execute(Channels.newChannel(new ByteArrayInputStream(("a"
+                        + lineFeedChar + "b" + lineFeedChar).getBytes())),
+                        CSVFileQueryDAO_Stub01.class);
+
+        // 返却値の確認
+        assertEquals("a", fileLineIterator.next().getDummy());
+        assertEquals("b", fileLineIterator.next().getDummy());
+        assertFalse(fileLineIterator.hasNext());
+        fileLineIterator.closeFile();
+    }
 }
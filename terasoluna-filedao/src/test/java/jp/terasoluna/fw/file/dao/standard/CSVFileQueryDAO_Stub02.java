@@ -0,0 +1,38 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+
+/**
+ * ヘッダ部・トレイラ部と、シークが必要な設定を持つ、ファイル行オブジェクトスタブクラス
+ * <p>
+ * 以下の設定を持つ<br>
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\n", fileEncoding = "UTF-8", headerLineCount = 1, trailerLineCount = 1,
+ * trailerSeekFromEnd = true, recordIndexInterval = 1)
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\n", fileEncoding = "UTF-8", headerLineCount = 1, trailerLineCount = 1, trailerSeekFromEnd = true, recordIndexInterval = 1)
+public class CSVFileQueryDAO_Stub02 {
+    @InputFileColumn(columnIndex = 0)
+    private String name;
+
+    @InputFileColumn(columnIndex = 1)
+    private String value;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
@@ -2,7 +2,11 @@ package jp.terasoluna.fw.file.dao.standard;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileReader;
+import java.nio.channels.Channels;
 import java.util.HashMap;
 
 import org.junit.Test;
@@ -80,4 +84,106 @@ public class CSVFileUpdateDAOTest {
         file.delete();
     }
 
+    /**
+     * testExecute02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(引数) fileName:一時ファイル<br>
+     * (引数) clazz:Class<T>インスタンス<br>
+     * (状態) asyncBufferCount:2<br>
+     * <br>
+     * 期待値：(戻り値) fileLineWriter:AsyncEncodingChannelWriterで書き込むCSVFileLineWriter<T>インスタンス<br>
+     * (状態変化) closeFile()の後に、書き込んだすべての行がファイルに出力されていること。<br>
+     * <br>
+     * 非同期出力を設定した場合に、バックグラウンドスレッドで書き込まれることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testExecute02() throws Exception {
+        // テスト対象のインスタンス化
+        CSVFileUpdateDAO fileUpdateDAO = new CSVFileUpdateDAO();
+        HashMap<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+        fileUpdateDAO.setColumnFormatterMap(columnFormatterMap);
+        fileUpdateDAO.setAsyncBufferCount(2);
+
+        // 引数の設定
+        File file = File.createTempFile("CSVFileUpdateDAOTest", ".csv");
+        file.deleteOnExit();
+
+        try {
+            // テスト実施
+            FileLineWriter<CSVFileUpdateDAO_Stub01> fileLineWriter = fileUpdateDAO
+                    .execute(file.getPath(), CSVFileUpdateDAO_Stub01.class);
+            assertEquals(AsyncEncodingChannelWriter.class, ReflectionTestUtils
+                    .getField(fileLineWriter, "writer").getClass());
+            for (int i = 0; i < 100000; i++) {
+                fileLineWriter.printDataLine(new CSVFileUpdateDAO_Stub01());
+            }
+            fileLineWriter.closeFile();
+
+            // 状態変化の確認
+            int lines = 0;
+            BufferedReader reader = new BufferedReader(new FileReader(file));
+            try {
+                while (reader.readLine() != null) {
+                    lines++;
+                }
+            } finally {
+                reader.close();
+            }
+            assertEquals(100000, lines);
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * testExecute03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(引数) channel:ByteArrayOutputStreamへ書き込むチャネル<br>
+     * (引数) clazz:Class<T>インスタンス<br>
+     * (状態) asyncBufferCount:2<br>
+     * <br>
+     * 期待値：(戻り値) fileLineWriter:チャネルへ書き込むCSVFileLineWriter<T>インスタンス<br>
+     * (状態変化) closeFile()の後に、書き込んだすべての行がチャネルに出力されていること。<br>
+     * <br>
+     * チャネルを指定した場合に、ファイルを介さずにチャネルへ書き込まれることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testExecute03() throws Exception {
+        // テスト対象のインスタンス化
+        CSVFileUpdateDAO fileUpdateDAO = new CSVFileUpdateDAO();
+        HashMap<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+        fileUpdateDAO.setColumnFormatterMap(columnFormatterMap);
+        fileUpdateDAO.setAsyncBufferCount(2);
+
+        // 引数の設定
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // テスト実施
+        FileLineWriter<CSVFileUpdateDAO_Stub01> fileLineWriter = fileUpdateDAO
+                .execute(Channels.newChannel(out), CSVFileUpdateDAO_Stub01.class);
+        CSVFileUpdateDAO_Stub01 stub = new CSVFileUpdateDAO_Stub01();
+        stub.setDummy("a");
+        fileLineWriter.printDataLine(stub);
+        stub.setDummy("b");
+        fileLineWriter.printDataLine(stub);
+        fileLineWriter.closeFile();
+
+        // 返却値の確認
+        assertEquals(null, ReflectionTestUtils.getField(fileLineWriter,
+                "fileName"));
+
+        // 状態変化の確認
+        String lineFeedChar = System.getProperty("line.separator");
+        assertEquals("a" + lineFeedChar + "b" + lineFeedChar, out.toString());
+    }
 }
@@ -0,0 +1,667 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+import jp.terasoluna.fw.file.dao.FileLineException;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ColumnBinderCompiler} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> setter/getterメソッドとカラムパーサー/カラムフォーマッタからカラムバインダを生成する。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ColumnBinderCompiler
+ */
+public class ColumnBinderCompilerTest {
+
+    /**
+     * testCompileInput01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) setter:String型属性のsetterメソッド<br>
+     * (引数) columnParser:NullColumnParser<br>
+     * <br>
+     * 期待値：(状態変化) ファイル行オブジェクトのString型属性にカラムの文字列が格納されること。<br>
+     * <br>
+     * 生成した入力カラムバインダが、カラムの文字列をそのまま格納することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileInput01() throws Exception {
+        // 引数の設定
+        Method setter = ColumnBinderCompiler_Stub01.class.getMethod(
+                "setStringValue", String.class);
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+
+        // テスト実施
+        InputColumnBinder binder = ColumnBinderCompiler.compile(setter,
+                new NullColumnParser());
+        binder.bind("abc", t, "");
+
+        // 状態変化の確認
+        assertEquals("abc", t.getStringValue());
+    }
+
+    /**
+     * testCompileInput02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) setter:int型属性のsetterメソッド<br>
+     * (引数) columnParser:IntColumnParser<br>
+     * <br>
+     * 期待値：(状態変化) ファイル行オブジェクトのint型属性に変換結果が格納されること。<br>
+     * <br>
+     * 生成した入力カラムバインダが、カラムの文字列をint型に変換して格納することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileInput02() throws Exception {
+        // 引数の設定
+        Method setter = ColumnBinderCompiler_Stub01.class.getMethod(
+                "setIntValue", int.class);
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+
+        // テスト実施
+        InputColumnBinder binder = ColumnBinderCompiler.compile(setter,
+                new IntColumnParser());
+        binder.bind("-123", t, "");
+
+        // 状態変化の確認
+        assertEquals(-123, t.getIntValue());
+    }
+
+    /**
+     * testCompileInput03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) setter:int型属性のsetterメソッド<br>
+     * (引数) columnParser:IntColumnParser<br>
+     * (引数) column:"abc"<br>
+     * <br>
+     * 期待値：(状態変化) 例外:NumberFormatException<br>
+     * <br>
+     * 整数以外の文字列の場合、IntColumnParserと同様にNumberFormatExceptionがスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileInput03() throws Exception {
+        // 引数の設定
+        Method setter = ColumnBinderCompiler_Stub01.class.getMethod(
+                "setIntValue", int.class);
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+        InputColumnBinder binder = ColumnBinderCompiler.compile(setter,
+                new IntColumnParser());
+
+        // テスト実施
+        try {
+            binder.bind("abc", t, "");
+            fail("NumberFormatExceptionがスローされませんでした。");
+        } catch (NumberFormatException e) {
+            assertEquals(NumberFormatException.class, e.getClass());
+        }
+    }
+
+    /**
+     * testCompileInput04() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) setter:BigDecimal型属性のsetterメソッド<br>
+     * (引数) columnParser:DecimalColumnParser<br>
+     * (引数) columnFormat:"###,###.##"<br>
+     * <br>
+     * 期待値：(状態変化) ファイル行オブジェクトのBigDecimal型属性に変換結果が格納されること。<br>
+     * <br>
+     * 生成した入力カラムバインダが、フォーマットに従いBigDecimal型に変換して格納することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileInput04() throws Exception {
+        // 引数の設定
+        Method setter = ColumnBinderCompiler_Stub01.class.getMethod(
+                "setDecimalValue", BigDecimal.class);
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+        InputColumnBinder binder = ColumnBinderCompiler.compile(setter,
+                new DecimalColumnParser());
+
+        // テスト実施
+        binder.bind("1,234.5", t, "###,###.##");
+
+        // 状態変化の確認
+        assertEquals(new BigDecimal("1234.5"), t.getDecimalValue());
+
+        // テスト実施
+        binder.bind("-0.001", t, "");
+
+        // 状態変化の確認
+        assertEquals(new BigDecimal("-0.001"), t.getDecimalValue());
+    }
+
+    /**
+     * testCompileInput05() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) setter:Date型属性のsetterメソッド<br>
+     * (引数) columnParser:DateColumnParser<br>
+     * (引数) columnFormat:""<br>
+     * <br>
+     * 期待値：(状態変化) ファイル行オブジェクトのDate型属性に"yyyyMMdd"でパースした結果が格納されること。<br>
+     * <br>
+     * 生成した入力カラムバインダが、フォーマット未指定の場合にデフォルトのフォーマットで変換することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileInput05() throws Exception {
+        // 引数の設定
+        Method setter = ColumnBinderCompiler_Stub01.class.getMethod(
+                "setDateValue", java.util.Date.class);
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+        InputColumnBinder binder = ColumnBinderCompiler.compile(setter,
+                new DateColumnParser());
+
+        // テスト実施
+        binder.bind("20161231", t, "");
+
+        // 状態変化の確認
+        assertEquals(new SimpleDateFormat("yyyyMMdd").parse("20161231"), t
+                .getDateValue());
+    }
+
+    /**
+     * testCompileInput06() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(引数) setter:int型属性のsetterメソッド<br>
+     * (引数) columnParser:IntColumnParserを継承したクラス(spy)<br>
+     * <br>
+     * 期待値：(状態変化) カラムパーサーのparseメソッドが呼び出されること。<br>
+     * <br>
+     * 標準のカラムパーサー以外の場合は、カラムパーサーに処理が委譲されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileInput06() throws Exception {
+        // 引数の設定
+        Method setter = ColumnBinderCompiler_Stub01.class.getMethod(
+                "setIntValue", int.class);
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+        ColumnParser columnParser = spy(new IntColumnParser());
+
+        // テスト実施
+        InputColumnBinder binder = ColumnBinderCompiler.compile(setter,
+                columnParser);
+        binder.bind("7", t, "fmt");
+
+        // 状態変化の確認
+        assertEquals(7, t.getIntValue());
+        verify(columnParser).parse(eq("7"), eq(t), eq(setter), eq("fmt"));
+    }
+
+    /**
+     * testCompileInput07() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) setter:例外をスローするint型属性のsetterメソッド<br>
+     * (引数) columnParser:IntColumnParser<br>
+     * <br>
+     * 期待値：(状態変化) 例外:setterメソッドがスローした例外をラップするInvocationTargetException<br>
+     * <br>
+     * setterメソッドが例外をスローする場合、リフレクション呼び出しと同様にInvocationTargetExceptionがスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileInput07() throws Exception {
+        // 引数の設定
+        Method setter = ColumnBinderCompiler_Stub02.class.getMethod(
+                "setIntValue", int.class);
+        ColumnBinderCompiler_Stub02 t = new ColumnBinderCompiler_Stub02();
+        InputColumnBinder binder = ColumnBinderCompiler.compile(setter,
+                new IntColumnParser());
+
+        // テスト実施
+        try {
+            binder.bind("1", t, "");
+            fail("InvocationTargetExceptionがスローされませんでした。");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof UnsupportedOperationException);
+            assertEquals("setIntValue()からの例外です", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * testCompileOutput01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) getter:String型属性のgetterメソッド<br>
+     * (引数) columnFormatter:NullColumnFormatter<br>
+     * <br>
+     * 期待値：(戻り値) 属性の値。属性がnullの場合は空文字。<br>
+     * <br>
+     * 生成した出力カラムバインダが、String型属性の値を返却することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileOutput01() throws Exception {
+        // 引数の設定
+        Method getter = ColumnBinderCompiler_Stub01.class.getMethod(
+                "getStringValue");
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+        OutputColumnBinder binder = ColumnBinderCompiler.compile(getter,
+                new NullColumnFormatter());
+
+        // テスト実施・返却値の確認
+        assertEquals("", binder.format(t, ""));
+        t.setStringValue("abc");
+        assertEquals("abc", binder.format(t, ""));
+    }
+
+    /**
+     * testCompileOutput02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) getter:int型、BigDecimal型、Date型属性のgetterメソッド<br>
+     * (引数) columnFormatter:IntColumnFormatter、DecimalColumnFormatter、DateColumnFormatter<br>
+     * <br>
+     * 期待値：(戻り値) 各カラムフォーマッタと同じ結果の文字列<br>
+     * <br>
+     * 生成した出力カラムバインダが、標準のカラムフォーマッタと同じ文字列を返却することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileOutput02() throws Exception {
+        // 引数の設定
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+        t.setIntValue(-45);
+        t.setDecimalValue(new BigDecimal("1234.5"));
+        t.setDateValue(new SimpleDateFormat("yyyyMMdd").parse("20161231"));
+
+        OutputColumnBinder intBinder = ColumnBinderCompiler.compile(
+                ColumnBinderCompiler_Stub01.class.getMethod("getIntValue"),
+                new IntColumnFormatter());
+        OutputColumnBinder decimalBinder = ColumnBinderCompiler.compile(
+                ColumnBinderCompiler_Stub01.class.getMethod(
+                        "getDecimalValue"), new DecimalColumnFormatter());
+        OutputColumnBinder dateBinder = ColumnBinderCompiler.compile(
+                ColumnBinderCompiler_Stub01.class.getMethod("getDateValue"),
+                new DateColumnFormatter());
+
+        // テスト実施・返却値の確認
+        assertEquals("-45", intBinder.format(t, ""));
+        assertEquals("1234.5", decimalBinder.format(t, ""));
+        assertEquals("1,234.50", decimalBinder.format(t, "#,##0.00"));
+        assertEquals("2016/12/31", dateBinder.format(t, "yyyy/MM/dd"));
+
+        t.setDecimalValue(null);
+        t.setDateValue(null);
+        assertEquals("", decimalBinder.format(t, ""));
+        assertEquals("", dateBinder.format(t, "yyyy/MM/dd"));
+    }
+
+    /**
+     * testCompileOutput03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(引数) getter:int型属性のgetterメソッド<br>
+     * (引数) columnFormatter:NullColumnFormatterを継承した匿名クラス<br>
+     * <br>
+     * 期待値：(戻り値) 匿名クラスのformatメソッドの戻り値<br>
+     * <br>
+     * 標準のカラムフォーマッタ以外の場合は、カラムフォーマッタに処理が委譲されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileOutput03() throws Exception {
+        // 引数の設定
+        Method getter = ColumnBinderCompiler_Stub01.class.getMethod(
+                "getIntValue");
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+        ColumnFormatter columnFormatter = new NullColumnFormatter() {
+            @Override
+            public String format(Object t, Method method,
+                    String columnFormat) throws IllegalArgumentException,
+                                        IllegalAccessException,
+                                        InvocationTargetException {
+                return "[" + super.format(t, method, columnFormat) + "]";
+            }
+        };
+        OutputColumnBinder binder = ColumnBinderCompiler.compile(getter,
+                columnFormatter);
+
+        // テスト実施・返却値の確認
+        t.setIntValue(5);
+        assertEquals("[5]", binder.format(t, ""));
+    }
+
+    /**
+     * testCompileOutput04() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) getter:例外をスローするint型属性のgetterメソッド<br>
+     * (引数) columnFormatter:IntColumnFormatter<br>
+     * <br>
+     * 期待値：(状態変化) 例外:getterメソッドがスローした例外をラップするInvocationTargetException<br>
+     * <br>
+     * getterメソッドが例外をスローする場合、リフレクション呼び出しと同様にInvocationTargetExceptionがスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileOutput04() throws Exception {
+        // 引数の設定
+        Method getter = ColumnBinderCompiler_Stub02.class.getMethod(
+                "getIntValue");
+        ColumnBinderCompiler_Stub02 t = new ColumnBinderCompiler_Stub02();
+        OutputColumnBinder binder = ColumnBinderCompiler.compile(getter,
+                new IntColumnFormatter());
+
+        // テスト実施
+        try {
+            binder.format(t, "");
+            fail("InvocationTargetExceptionがスローされませんでした。");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof UnsupportedOperationException);
+            assertEquals("getIntValue()からの例外です", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * testCompileOutput05() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) t:null<br>
+     * <br>
+     * 期待値：(状態変化) 例外:NullPointerException<br>
+     * <br>
+     * ファイル行オブジェクトがnullの場合、リフレクション呼び出しと同様にNullPointerExceptionがスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileOutput05() throws Exception {
+        // 引数の設定
+        Method getter = ColumnBinderCompiler_Stub01.class.getMethod(
+                "getStringValue");
+        OutputColumnBinder binder = ColumnBinderCompiler.compile(getter,
+                new NullColumnFormatter());
+
+        // テスト実施
+        try {
+            binder.format(null, "");
+            fail("NullPointerExceptionがスローされませんでした。");
+        } catch (NullPointerException e) {
+            assertNull(e.getMessage());
+        }
+    }
+
+    /**
+     * testCompileInput08() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) setter:long型、short型、double型、boolean型、char型属性のsetterメソッド<br>
+     * (引数) columnParser:LongColumnParser、ShortColumnParser、DoubleColumnParser、BooleanColumnParser、CharColumnParser<br>
+     * <br>
+     * 期待値：(状態変化) ファイル行オブジェクトの各属性に変換結果が格納されること。<br>
+     * <br>
+     * 生成した入力カラムバインダが、カラムの文字列をプリミティブ型に変換して格納することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileInput08() throws Exception {
+        // 引数の設定
+        Class<ColumnBinderCompiler_Stub03> clazz = ColumnBinderCompiler_Stub03.class;
+        ColumnBinderCompiler_Stub03 t = new ColumnBinderCompiler_Stub03();
+
+        // テスト実施
+        ColumnBinderCompiler.compile(clazz.getMethod("setLongValue",
+                long.class), new LongColumnParser()).bind("9876543210", t, "");
+        ColumnBinderCompiler.compile(clazz.getMethod("setShortValue",
+                short.class), new ShortColumnParser()).bind("-123", t, "");
+        ColumnBinderCompiler.compile(clazz.getMethod("setDoubleValue",
+                double.class), new DoubleColumnParser()).bind("0.125", t, "");
+        ColumnBinderCompiler.compile(clazz.getMethod("setBooleanValue",
+                boolean.class), new BooleanColumnParser()).bind("true", t, "");
+        ColumnBinderCompiler.compile(clazz.getMethod("setCharValue",
+                char.class), new CharColumnParser()).bind("Z", t, "");
+
+        // 状態変化の確認
+        assertEquals(9876543210L, t.getLongValue());
+        assertEquals((short) -123, t.getShortValue());
+        assertEquals(0.125d, t.getDoubleValue(), 0d);
+        assertTrue(t.isBooleanValue());
+        assertEquals('Z', t.getCharValue());
+    }
+
+    /**
+     * testCompileInput09() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) setter:long型、char型属性のsetterメソッド<br>
+     * (引数) column:変換できない文字列<br>
+     * <br>
+     * 期待値：(状態変化) 例外:NumberFormatException、IllegalArgumentException<br>
+     * <br>
+     * カラムパーサーと同じ例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileInput09() throws Exception {
+        Class<ColumnBinderCompiler_Stub03> clazz = ColumnBinderCompiler_Stub03.class;
+        ColumnBinderCompiler_Stub03 t = new ColumnBinderCompiler_Stub03();
+        try {
+            ColumnBinderCompiler.compile(clazz.getMethod("setLongValue",
+                    long.class), new LongColumnParser()).bind("1.0", t, "");
+            fail("NumberFormatExceptionがスローされませんでした。");
+        } catch (NumberFormatException e) {
+            assertEquals(NumberFormatException.class, e.getClass());
+        }
+        try {
+            ColumnBinderCompiler.compile(clazz.getMethod("setCharValue",
+                    char.class), new CharColumnParser()).bind("AB", t, "");
+            fail("IllegalArgumentExceptionがスローされませんでした。");
+        } catch (IllegalArgumentException e) {
+            assertEquals(IllegalArgumentException.class, e.getClass());
+        }
+    }
+
+    /**
+     * testCompileOutput06() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) getter:long型、short型、double型、boolean型、char型属性のgetterメソッド<br>
+     * (引数) columnFormatter:各プリミティブ型のカラムフォーマッタ<br>
+     * <br>
+     * 期待値：(戻り値) 各カラムフォーマッタと同じ結果の文字列<br>
+     * <br>
+     * 生成した出力カラムバインダが、標準のカラムフォーマッタと同じ文字列を返却することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileOutput06() throws Exception {
+        // 引数の設定
+        Class<ColumnBinderCompiler_Stub03> clazz = ColumnBinderCompiler_Stub03.class;
+        ColumnBinderCompiler_Stub03 t = new ColumnBinderCompiler_Stub03();
+        t.setLongValue(Long.MAX_VALUE);
+        t.setShortValue(Short.MIN_VALUE);
+        t.setDoubleValue(1.0E20d);
+        t.setBooleanValue(true);
+        t.setCharValue('\u3042');
+        Method[] getters = { clazz.getMethod("getLongValue"),
+                clazz.getMethod("getShortValue"),
+                clazz.getMethod("getDoubleValue"),
+                clazz.getMethod("isBooleanValue"),
+                clazz.getMethod("getCharValue") };
+        ColumnFormatter[] formatters = { new LongColumnFormatter(),
+                new ShortColumnFormatter(), new DoubleColumnFormatter(),
+                new BooleanColumnFormatter(), new CharColumnFormatter() };
+
+        for (int i = 0; i < getters.length; i++) {
+            // テスト実施
+            OutputColumnBinder binder = ColumnBinderCompiler.compile(
+                    getters[i], formatters[i]);
+
+            // 返却値の確認
+            assertEquals(formatters[i].format(t, getters[i], ""), binder
+                    .format(t, ""));
+        }
+    }
+
+    /**
+     * testCompileInput10() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) setter:検査例外をスローするString型属性のsetterメソッド<br>
+     * (引数) columnParser:NullColumnParser<br>
+     * <br>
+     * 期待値：(状態変化) 例外:setterメソッドがスローした例外をラップするInvocationTargetException<br>
+     * <br>
+     * setterメソッドが検査例外をスローする場合、InvocationTargetExceptionでラップされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileInput10() throws Exception {
+        // 引数の設定
+        Method setter = ColumnBinderCompiler_Stub02.class.getMethod(
+                "setStringValue", String.class);
+        ColumnBinderCompiler_Stub02 t = new ColumnBinderCompiler_Stub02();
+        InputColumnBinder binder = ColumnBinderCompiler.compile(setter,
+                new NullColumnParser());
+
+        // テスト実施
+        try {
+            binder.bind("abc", t, "");
+            fail("InvocationTargetExceptionがスローされませんでした。");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IOException);
+            assertEquals("setStringValue()からの例外です", e.getCause()
+                    .getMessage());
+        }
+    }
+
+    /**
+     * testCompileOutput07() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) getter:検査例外をスローするString型属性のgetterメソッド<br>
+     * (引数) columnFormatter:NullColumnFormatter<br>
+     * <br>
+     * 期待値：(状態変化) 例外:getterメソッドがスローした例外をラップするInvocationTargetException<br>
+     * <br>
+     * getterメソッドが検査例外をスローする場合、InvocationTargetExceptionでラップされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompileOutput07() throws Exception {
+        // 引数の設定
+        Method getter = ColumnBinderCompiler_Stub02.class.getMethod(
+                "getStringValue");
+        ColumnBinderCompiler_Stub02 t = new ColumnBinderCompiler_Stub02();
+        OutputColumnBinder binder = ColumnBinderCompiler.compile(getter,
+                new NullColumnFormatter());
+
+        // テスト実施
+        try {
+            binder.format(t, "");
+            fail("InvocationTargetExceptionがスローされませんでした。");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IOException);
+            assertEquals("getStringValue()からの例外です", e.getCause()
+                    .getMessage());
+        }
+    }
+
+    /**
+     * testNext01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) int型属性のsetterメソッドが実行時例外をスローするファイル行オブジェクトのCSVファイル<br>
+     * <br>
+     * 期待値：(状態変化) 例外:以下の情報を持つFileLineException<br>
+     * ・原因：setterメソッドがスローした例外をラップするInvocationTargetException<br>
+     * ・カラム名：intValue<br>
+     * <br>
+     * 生成したカラムバインダを利用するファイル行イテレータで、setterメソッドの例外がリフレクション呼び出しと同様に
+     * FileLineExceptionとして通知されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext01() throws Exception {
+        // 前提条件の設定
+        File file = File.createTempFile("ColumnBinderCompilerTest", ".csv");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write("1,a\r\n".getBytes("US-ASCII"));
+        } finally {
+            out.close();
+        }
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("int", new IntColumnParser());
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        CSVFileLineIterator<ColumnBinderCompiler_Stub02> iterator = new CSVFileLineIterator<ColumnBinderCompiler_Stub02>(file
+                .getAbsolutePath(), ColumnBinderCompiler_Stub02.class, columnParserMap);
+
+        try {
+            // テスト実施
+            iterator.next();
+            fail("FileLineExceptionがスローされませんでした。");
+        } catch (FileLineException e) {
+            // 状態変化の確認
+            assertTrue(e.getCause() instanceof InvocationTargetException);
+            assertTrue(e.getCause()
+                    .getCause() instanceof UnsupportedOperationException);
+            assertEquals("intValue", e.getColumnName());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+}
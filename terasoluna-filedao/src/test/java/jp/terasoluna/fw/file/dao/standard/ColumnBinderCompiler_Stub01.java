@@ -0,0 +1,63 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+
+/**
+ * publicのsetter/getterメソッドを持つファイル行オブジェクト。
+ */
+@FileFormat()
+public class ColumnBinderCompiler_Stub01 {
+
+    @InputFileColumn(columnIndex = 0)
+    @OutputFileColumn(columnIndex = 0)
+    private String stringValue;
+
+    @InputFileColumn(columnIndex = 1)
+    @OutputFileColumn(columnIndex = 1)
+    private int intValue;
+
+    @InputFileColumn(columnIndex = 2)
+    @OutputFileColumn(columnIndex = 2)
+    private BigDecimal decimalValue;
+
+    @InputFileColumn(columnIndex = 3)
+    @OutputFileColumn(columnIndex = 3)
+    private Date dateValue;
+
+    public String getStringValue() {
+        return stringValue;
+    }
+
+    public void setStringValue(String stringValue) {
+        this.stringValue = stringValue;
+    }
+
+    public int getIntValue() {
+        return intValue;
+    }
+
+    public void setIntValue(int intValue) {
+        this.intValue = intValue;
+    }
+
+    public BigDecimal getDecimalValue() {
+        return decimalValue;
+    }
+
+    public void setDecimalValue(BigDecimal decimalValue) {
+        this.decimalValue = decimalValue;
+    }
+
+    public Date getDateValue() {
+        return dateValue;
+    }
+
+    public void setDateValue(Date dateValue) {
+        this.dateValue = dateValue;
+    }
+}
@@ -0,0 +1,38 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.io.IOException;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+
+/**
+ * publicのsetter/getterメソッドが例外をスローするファイル行オブジェクト。
+ */
+@FileFormat()
+public class ColumnBinderCompiler_Stub02 {
+
+    @InputFileColumn(columnIndex = 0)
+    @OutputFileColumn(columnIndex = 0)
+    private int intValue;
+
+    @InputFileColumn(columnIndex = 1)
+    @OutputFileColumn(columnIndex = 1)
+    private String stringValue;
+
+    public int getIntValue() {
+        throw new UnsupportedOperationException("getIntValue()からの例外です");
+    }
+
+    public void setIntValue(int intValue) {
+        throw new UnsupportedOperationException("setIntValue()からの例外です");
+    }
+
+    public String getStringValue() throws IOException {
+        throw new IOException("getStringValue()からの例外です");
+    }
+
+    public void setStringValue(String stringValue) throws IOException {
+        throw new IOException("setStringValue()からの例外です");
+    }
+}
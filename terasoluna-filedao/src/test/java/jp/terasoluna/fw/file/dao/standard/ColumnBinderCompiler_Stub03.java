@@ -0,0 +1,72 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+
+/**
+ * プリミティブ型の属性を持つファイル行オブジェクト。
+ */
+@FileFormat()
+public class ColumnBinderCompiler_Stub03 {
+
+    @InputFileColumn(columnIndex = 0)
+    @OutputFileColumn(columnIndex = 0)
+    private long longValue;
+
+    @InputFileColumn(columnIndex = 1)
+    @OutputFileColumn(columnIndex = 1)
+    private short shortValue;
+
+    @InputFileColumn(columnIndex = 2)
+    @OutputFileColumn(columnIndex = 2)
+    private double doubleValue;
+
+    @InputFileColumn(columnIndex = 3)
+    @OutputFileColumn(columnIndex = 3)
+    private boolean booleanValue;
+
+    @InputFileColumn(columnIndex = 4)
+    @OutputFileColumn(columnIndex = 4)
+    private char charValue;
+
+    public long getLongValue() {
+        return longValue;
+    }
+
+    public void setLongValue(long longValue) {
+        this.longValue = longValue;
+    }
+
+    public short getShortValue() {
+        return shortValue;
+    }
+
+    public void setShortValue(short shortValue) {
+        this.shortValue = shortValue;
+    }
+
+    public double getDoubleValue() {
+        return doubleValue;
+    }
+
+    public void setDoubleValue(double doubleValue) {
+        this.doubleValue = doubleValue;
+    }
+
+    public boolean isBooleanValue() {
+        return booleanValue;
+    }
+
+    public void setBooleanValue(boolean booleanValue) {
+        this.booleanValue = booleanValue;
+    }
+
+    public char getCharValue() {
+        return charValue;
+    }
+
+    public void setCharValue(char charValue) {
+        this.charValue = charValue;
+    }
+}
@@ -0,0 +1,273 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.annotation.ColumnConstraint;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.dao.FileColumnConstraintException;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ColumnConstraintChecker} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> カラムの制約の検査クラス。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ColumnConstraintChecker
+ */
+public class ColumnConstraintCheckerTest {
+
+    /**
+     * テストで利用するファイル。
+     */
+    private File file = null;
+
+    /**
+     * テストで利用するファイルを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("ColumnConstraintCheckerTest", ".csv");
+    }
+
+    /**
+     * テストで利用したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * 属性のカラムの定義を取得する。
+     * @param fieldName 属性名
+     * @return カラムの定義
+     * @throws Exception 予期しない例外
+     */
+    private InputFileColumn getInputFileColumn(String fieldName) throws Exception {
+        return ColumnConstraintChecker_Stub01.class.getDeclaredField(fieldName)
+                .getAnnotation(InputFileColumn.class);
+    }
+
+    /**
+     * ファイルを作成し、ファイル行イテレータを生成する。
+     * @param content ファイルの内容
+     * @return ファイル行イテレータ
+     * @throws Exception 予期しない例外
+     */
+    private CSVFileLineIterator<ColumnConstraintChecker_Stub01> createIterator(
+            String content) throws Exception {
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(content.getBytes("UTF-8"));
+        } finally {
+            fos.close();
+        }
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        columnParserMap.put("int", new IntColumnParser());
+        return new CSVFileLineIterator<ColumnConstraintChecker_Stub01>(file
+                .getAbsolutePath(), ColumnConstraintChecker_Stub01.class, columnParserMap);
+    }
+
+    /**
+     * testCreate01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) inputFileColumn:制約の設定がないカラムの定義<br>
+     * <br>
+     * 期待値：(戻り値) null<br>
+     * <br>
+     * 制約が設定されていない場合は検査クラスが生成されないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCreate01() throws Exception {
+        // テスト実施
+        ColumnConstraintChecker result = ColumnConstraintChecker.create(
+                getInputFileColumn("note"), "UTF-8");
+
+        // 返却値の確認
+        assertNull(result);
+    }
+
+    /**
+     * testCheck01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：A,C <br>
+     * <br>
+     * 入力値：(引数) columnString:制約を満たす文字列、空文字列、数字以外を含む文字列、最大バイト数を超える文字列<br>
+     * <br>
+     * 期待値：(戻り値) null、REQUIRED、NUMERIC_STRING、MAX_BYTES<br>
+     * <br>
+     * 必須・数字・最大バイト数の制約が検査されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCheck01() throws Exception {
+        // 前提条件の設定
+        ColumnConstraintChecker checker = ColumnConstraintChecker.create(
+                getInputFileColumn("code"), "UTF-8");
+
+        // テスト実施・返却値の確認
+        assertNull(checker.check("0123"));
+        assertSame(ColumnConstraint.REQUIRED, checker.check(""));
+        assertSame(ColumnConstraint.NUMERIC_STRING, checker.check("01A3"));
+        assertSame(ColumnConstraint.NUMERIC_STRING, checker.check("-123"));
+        assertSame(ColumnConstraint.MAX_BYTES, checker.check("01234"));
+    }
+
+    /**
+     * testCheck02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：A,C <br>
+     * <br>
+     * 入力値：(引数) columnString:半角文字のみの文字列、空文字列、全角文字を含む文字列<br>
+     * <br>
+     * 期待値：(戻り値) null、null、HANKAKU_STRING<br>
+     * <br>
+     * 半角文字の制約が検査され、必須でない場合は空文字列を許容することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCheck02() throws Exception {
+        // 前提条件の設定
+        ColumnConstraintChecker checker = ColumnConstraintChecker.create(
+                getInputFileColumn("name"), "UTF-8");
+
+        // テスト実施・返却値の確認
+        assertNull(checker.check("abc 123"));
+        assertNull(checker.check(""));
+        assertSame(ColumnConstraint.HANKAKU_STRING, checker.check("abcあ"));
+    }
+
+    /**
+     * testNext01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：A <br>
+     * <br>
+     * 入力値：(状態) 制約を満たす行を持つCSVファイル<br>
+     * <br>
+     * 期待値：(戻り値) トリム後の値が格納されたファイル行オブジェクト<br>
+     * <br>
+     * 制約を満たす行は通常どおり読み込まれることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext01() throws Exception {
+        // 前提条件の設定
+        CSVFileLineIterator<ColumnConstraintChecker_Stub01> iterator = createIterator(" 0001 ,10,abc,あ\r\n");
+
+        try {
+            // テスト実施
+            ColumnConstraintChecker_Stub01 result = iterator.next();
+
+            // 返却値の確認
+            assertEquals("0001", result.getCode());
+            assertEquals(10, result.getAmount());
+            assertEquals("abc", result.getName());
+            assertEquals("あ", result.getNote());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testNext02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) 2カラム目が数値に変換できず、3カラム目が半角文字の制約を満たさない行を持つCSVファイル<br>
+     * <br>
+     * 期待値：(状態変化) 例外:以下の情報を持つFileColumnConstraintException<br>
+     * ・制約：HANKAKU_STRING<br>
+     * ・カラムの値："aあ"<br>
+     * ・行番号：2<br>
+     * ・カラム名：name<br>
+     * ・カラムインデックス：2<br>
+     * <br>
+     * 値の格納前に制約が検査され、後続の行は読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext02() throws Exception {
+        // 前提条件の設定
+        CSVFileLineIterator<ColumnConstraintChecker_Stub01> iterator = createIterator("0001,1,a,b\r\n0002,x,aあ,b\r\n0003,3,c,d\r\n");
+
+        try {
+            iterator.next();
+            try {
+                // テスト実施
+                iterator.next();
+                fail("FileColumnConstraintExceptionがスローされませんでした。");
+            } catch (FileColumnConstraintException e) {
+                // 状態変化の確認
+                assertSame(ColumnConstraint.HANKAKU_STRING, e.getConstraint());
+                assertEquals("aあ", e.getRejectedValue());
+                assertEquals("Column data violates a constraint.", e
+                        .getMessage());
+                assertEquals(2, e.getLineNo());
+                assertEquals("name", e.getColumnName());
+                assertEquals(2, e.getColumnIndex());
+                assertEquals(file.getAbsolutePath(), e.getFileName());
+                assertEquals(-1, e.getMaxBytes());
+            }
+            assertEquals("0003", iterator.next().getCode());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testNext03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) 1カラム目が最大バイト数の制約を満たさない行を持つCSVファイル<br>
+     * <br>
+     * 期待値：(状態変化) 例外:以下の情報を持つFileColumnConstraintException<br>
+     * ・制約：MAX_BYTES<br>
+     * ・カラムの値："01234"<br>
+     * ・最大バイト数：4<br>
+     * <br>
+     * 最大バイト数の制約違反の場合、制約の最大バイト数が例外に設定されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext03() throws Exception {
+        // 前提条件の設定
+        CSVFileLineIterator<ColumnConstraintChecker_Stub01> iterator = createIterator("01234,1,a,b\r\n");
+
+        try {
+            // テスト実施
+            iterator.next();
+            fail("FileColumnConstraintExceptionがスローされませんでした。");
+        } catch (FileColumnConstraintException e) {
+            // 状態変化の確認
+            assertSame(ColumnConstraint.MAX_BYTES, e.getConstraint());
+            assertEquals("01234", e.getRejectedValue());
+            assertEquals("code", e.getColumnName());
+            assertEquals(4, e.getMaxBytes());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+}
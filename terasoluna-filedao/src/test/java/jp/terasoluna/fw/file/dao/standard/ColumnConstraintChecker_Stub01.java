@@ -0,0 +1,108 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.TrimType;
+
+/**
+ * カラムの制約を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\r\n", fileEncoding = "UTF-8")
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0, trimType = TrimType.BOTH, required = true, maxBytes = 4, numericString = true)<br>
+ * String code
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1)<br>
+ * int amount
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 2, hankakuString = true)<br>
+ * String name
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 3)<br>
+ * String note
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\r\n", fileEncoding = "UTF-8")
+public class ColumnConstraintChecker_Stub01 {
+
+    @InputFileColumn(columnIndex = 0, trimType = TrimType.BOTH, required = true, maxBytes = 4, numericString = true)
+    private String code;
+
+    @InputFileColumn(columnIndex = 1)
+    private int amount;
+
+    @InputFileColumn(columnIndex = 2, hankakuString = true)
+    private String name;
+
+    @InputFileColumn(columnIndex = 3)
+    private String note;
+
+    /**
+     * code を取得する
+     * @return code
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * code を設定する
+     * @param code code
+     */
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    /**
+     * amount を取得する
+     * @return amount
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * amount を設定する
+     * @param amount amount
+     */
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * name を取得する
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * name を設定する
+     * @param name name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * note を取得する
+     * @return note
+     */
+    public String getNote() {
+        return note;
+    }
+
+    /**
+     * note を設定する
+     * @param note note
+     */
+    public void setNote(String note) {
+        this.note = note;
+    }
+}
@@ -0,0 +1,224 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ColumnStringCache} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> カラムの文字列のキャッシュクラス。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ColumnStringCache
+ */
+public class ColumnStringCacheTest {
+
+    /**
+     * testGetBytes01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：A <br>
+     * <br>
+     * 入力値：(引数) bytes:登録時と異なる配列の同じ内容のバイト列、未登録のバイト列<br>
+     * <br>
+     * 期待値：(戻り値) 登録済みのバイト列は登録した文字列のインスタンス、未登録のバイト列はnull<br>
+     * (状態変化) 登録後に元のバイト配列を変更しても結果が変わらないこと。<br>
+     * <br>
+     * バイト列のキーで登録した文字列が取得できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetBytes01() throws Exception {
+        // 前提条件の設定
+        ColumnStringCache cache = new ColumnStringCache();
+        byte[] record = "xxA01yy".getBytes("US-ASCII");
+        String value = "A01";
+        cache.put(record, 2, 3, value);
+        record[2] = 'Z';
+
+        // テスト実施
+        String result = cache.get("A01".getBytes("US-ASCII"), 0, 3);
+
+        // 返却値の確認
+        assertSame(value, result);
+        assertNull(cache.get(record, 2, 3));
+        assertNull(cache.get("A01 ".getBytes("US-ASCII"), 0, 4));
+    }
+
+    /**
+     * testCanonicalize01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：A,C <br>
+     * <br>
+     * 入力値：(引数) value:登録済みの文字列と同じ内容の別インスタンス、上限に達した後の未登録の文字列、null<br>
+     * (状態) maxEntries:1<br>
+     * <br>
+     * 期待値：(戻り値) 登録済みの文字列は最初に登録したインスタンス、上限に達した後の未登録の文字列は引数のインスタンス、nullはnull<br>
+     * (状態変化) 保持する件数が上限を超えないこと。<br>
+     * <br>
+     * 同じ内容の文字列が同じインスタンスにそろえられることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCanonicalize01() throws Exception {
+        // 前提条件の設定
+        ColumnStringCache cache = new ColumnStringCache(1);
+        String value = new String("A01");
+        String other = new String("B02");
+
+        // テスト実施
+        String first = cache.canonicalize(value);
+        String second = cache.canonicalize(new String("A01"));
+        String third = cache.canonicalize(other);
+        String fourth = cache.canonicalize(null);
+
+        // 返却値の確認
+        assertSame(value, first);
+        assertSame(value, second);
+        assertSame(other, third);
+        assertNull(fourth);
+
+        // 状態変化の確認
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * testPut01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) maxEntries:2<br>
+     * (状態) 3件の文字列とnullを登録<br>
+     * <br>
+     * 期待値：(状態変化) 上限の2件のみ登録され、nullは登録されないこと。<br>
+     * <br>
+     * 保持する件数が上限を超えないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPut01() throws Exception {
+        // 前提条件の設定
+        ColumnStringCache cache = new ColumnStringCache(2);
+
+        // テスト実施
+        byte[] keys = "k0k1k2k3".getBytes("US-ASCII");
+        cache.put(keys, 0, 2, null);
+        cache.put(keys, 2, 2, "v1");
+        cache.put(keys, 4, 2, "v2");
+        cache.put(keys, 6, 2, "v3");
+
+        // 状態変化の確認
+        assertEquals(2, cache.size());
+        assertNull(cache.get(keys, 0, 2));
+        assertEquals("v1", cache.get(keys, 2, 2));
+        assertEquals("v2", cache.get(keys, 4, 2));
+        assertNull(cache.get(keys, 6, 2));
+    }
+
+    /**
+     * testNext01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：A <br>
+     * <br>
+     * 入力値：(状態) dictionary = trueのカラムに同じ内容の値を持つ3レコードのホスト形式の固定長ファイル<br>
+     * <br>
+     * 期待値：(戻り値) dictionary = trueのカラムはトリム・文字変換後の同じインスタンス、
+     * それ以外のカラムは別のインスタンスが設定されること。<br>
+     * <br>
+     * ファイル行イテレータで文字列のキャッシュが利用されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext01() throws Exception {
+        // 前提条件の設定
+        File file = File.createTempFile("ColumnStringCacheTest", ".dat");
+        try {
+            FileOutputStream fos = new FileOutputStream(file);
+            try {
+                fos.write(" a01 x b02 x a01 x".getBytes("Cp037"));
+            } finally {
+                fos.close();
+            }
+            Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+            columnParserMap.put("java.lang.String", new NullColumnParser());
+            HostFixedFileLineIterator<ColumnStringCache_Stub01> iterator = new HostFixedFileLineIterator<ColumnStringCache_Stub01>(file
+                    .getAbsolutePath(), ColumnStringCache_Stub01.class, columnParserMap);
+
+            // テスト実施
+            ColumnStringCache_Stub01 first = iterator.next();
+            ColumnStringCache_Stub01 second = iterator.next();
+            ColumnStringCache_Stub01 third = iterator.next();
+            boolean hasNext = iterator.hasNext();
+            iterator.closeFile();
+
+            // 返却値の確認
+            assertEquals("A01", first.getCode());
+            assertEquals("B02", second.getCode());
+            assertSame(first.getCode(), third.getCode());
+            assertNotSame(first.getName(), third.getName());
+            assertFalse(hasNext);
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * testNext02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：A <br>
+     * <br>
+     * 入力値：(状態) dictionary = trueのカラムに同じ内容の値を持つ3行のCSVファイル<br>
+     * <br>
+     * 期待値：(戻り値) dictionary = trueのカラムはトリム・文字変換後の同じインスタンス、
+     * それ以外のカラムは別のインスタンスが設定されること。<br>
+     * <br>
+     * 文字ストリームで読み込むファイル行イテレータでも、文字列のキャッシュが利用されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext02() throws Exception {
+        // 前提条件の設定
+        File file = File.createTempFile("ColumnStringCacheTest", ".csv");
+        try {
+            FileOutputStream fos = new FileOutputStream(file);
+            try {
+                fos.write(" a01 ,x\r\n b02 ,x\r\na01,x\r\n".getBytes("UTF-8"));
+            } finally {
+                fos.close();
+            }
+            Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+            columnParserMap.put("java.lang.String", new NullColumnParser());
+            CSVFileLineIterator<ColumnStringCache_Stub02> iterator = new CSVFileLineIterator<ColumnStringCache_Stub02>(file
+                    .getAbsolutePath(), ColumnStringCache_Stub02.class, columnParserMap);
+
+            // テスト実施
+            ColumnStringCache_Stub02 first = iterator.next();
+            ColumnStringCache_Stub02 second = iterator.next();
+            ColumnStringCache_Stub02 third = iterator.next();
+            boolean hasNext = iterator.hasNext();
+            iterator.closeFile();
+
+            // 返却値の確認
+            assertEquals("A01", first.getCode());
+            assertEquals("B02", second.getCode());
+            assertSame(first.getCode(), third.getCode());
+            assertNotSame(first.getName(), third.getName());
+            assertFalse(hasNext);
+        } finally {
+            file.delete();
+        }
+    }
+}
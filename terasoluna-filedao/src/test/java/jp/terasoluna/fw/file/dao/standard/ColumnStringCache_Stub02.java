@@ -0,0 +1,63 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.StringConverterToUpperCase;
+import jp.terasoluna.fw.file.annotation.TrimType;
+
+/**
+ * 文字列のキャッシュを利用するカラムを持つ、CSVファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\r\n", fileEncoding = "UTF-8")
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0, trimType = TrimType.BOTH, stringConverter = StringConverterToUpperCase.class, dictionary = true)<br>
+ * String code
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1)<br>
+ * String name
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\r\n", fileEncoding = "UTF-8")
+public class ColumnStringCache_Stub02 {
+
+    @InputFileColumn(columnIndex = 0, trimType = TrimType.BOTH, stringConverter = StringConverterToUpperCase.class, dictionary = true)
+    private String code;
+
+    @InputFileColumn(columnIndex = 1)
+    private String name;
+
+    /**
+     * code を取得する
+     * @return code
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * code を設定する
+     * @param code code
+     */
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    /**
+     * name を取得する
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * name を設定する
+     * @param name name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,397 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.annotation.ColumnConstraint;
+import jp.terasoluna.fw.file.dao.FileColumnConstraintException;
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
+import jp.terasoluna.fw.file.dao.standard.ColumnarBatch.ColumnType;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ColumnarFileLineReader} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 列指向の一括読込クラス。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ColumnarFileLineReader
+ * @see jp.terasoluna.fw.file.dao.standard.ColumnarBatch
+ */
+public class ColumnarFileLineReaderTest {
+
+    /**
+     * テストで利用するファイル。
+     */
+    private File file = null;
+
+    /**
+     * テストで利用するファイルを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("ColumnarFileLineReaderTest", ".csv");
+    }
+
+    /**
+     * テストで利用したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * ファイルを作成する。
+     * @param content ファイルの内容
+     * @throws Exception 予期しない例外
+     */
+    private void writeFile(String content) throws Exception {
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(content.getBytes("UTF-8"));
+        } finally {
+            fos.close();
+        }
+    }
+
+    /**
+     * 列指向の一括読込クラスを生成する。
+     * @return 列指向の一括読込クラス
+     */
+    private ColumnarFileLineReader<ColumnarFileLineReader_Stub01> createReader() {
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        columnParserMap.put("int", new IntColumnParser());
+        columnParserMap.put("java.math.BigDecimal", new DecimalColumnParser());
+        columnParserMap.put("double", new DoubleColumnParser());
+        columnParserMap.put("java.util.Date", new DateColumnParser());
+        CSVFileQueryDAO dao = new CSVFileQueryDAO();
+        dao.setColumnParserMap(columnParserMap);
+        return dao.executeColumnar(file.getAbsolutePath(),
+                ColumnarFileLineReader_Stub01.class);
+    }
+
+    /**
+     * testReadBatch01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) batch:2行のバッチ<br>
+     * (状態) ファイル:ヘッダ部1行、データ部5行(値が空のカラムを含む)、トレイラ部1行<br>
+     * <br>
+     * 期待値：(戻り値) 2、2、1、0<br>
+     * (状態変化) 型ごとの配列に値が格納され、空のカラムは有効ビットが0となること。<br>
+     * 文字列はバッチをまたいで同じ値に同じコードが採番されること。<br>
+     * <br>
+     * データ部が指定した行数ごとに列指向で読み込まれることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadBatch01() throws Exception {
+        // 前提条件の設定
+        writeFile("region,qty,price,rate,date\r\n"
+                + " east ,10,12.5,0.5,2016/01/31\r\n"
+                + "west,-3,-0.01,1.25,2016/02/01\r\n"
+                + "east,,100,,\r\n"
+                + "north,7,3,2.0,2016/12/31\r\n"
+                + "west,1,99999999.99,-1,2017/01/01\r\n"
+                + "TOTAL,5\r\n");
+        ColumnarFileLineReader<ColumnarFileLineReader_Stub01> reader = createReader();
+        try {
+            reader.setScale("price", 2);
+            ColumnarBatch batch = reader.newBatch(2);
+            int region = batch.getColumnIndex("region");
+            int qty = batch.getColumnIndex("qty");
+            int price = batch.getColumnIndex("price");
+            int rate = batch.getColumnIndex("rate");
+            int date = batch.getColumnIndex("date");
+            SimpleDateFormat format = new SimpleDateFormat("yyyy/MM/dd");
+
+            // テスト実施
+            int first = reader.readBatch(batch);
+
+            // 返却値の確認
+            assertEquals(2, first);
+
+            // 状態変化の確認
+            assertEquals(Arrays.asList("region,qty,price,rate,date"), reader
+                    .getHeader());
+            assertEquals(1, batch.getFirstLineNo());
+            assertEquals(ColumnType.STRING, batch.getColumnType(region));
+            assertEquals(ColumnType.LONG, batch.getColumnType(qty));
+            assertEquals(ColumnType.DECIMAL, batch.getColumnType(price));
+            assertEquals(ColumnType.DOUBLE, batch.getColumnType(rate));
+            assertEquals(ColumnType.DATE, batch.getColumnType(date));
+            assertEquals(2, batch.getScale(price));
+            ColumnDictionary dictionary = batch.getDictionary(region);
+            assertEquals("east", dictionary.get(batch.getCodeVector(
+                    region)[0]));
+            assertEquals("west", dictionary.get(batch.getCodeVector(
+                    region)[1]));
+            assertEquals(10L, batch.getLongVector(qty)[0]);
+            assertEquals(-3L, batch.getLongVector(qty)[1]);
+            assertEquals(1250L, batch.getLongVector(price)[0]);
+            assertEquals(-1L, batch.getLongVector(price)[1]);
+            assertEquals(0.5d, batch.getDoubleVector(rate)[0], 0d);
+            assertEquals(1.25d, batch.getDoubleVector(rate)[1], 0d);
+            assertEquals(format.parse("2016/01/31").getTime(), batch
+                    .getLongVector(date)[0]);
+            assertEquals(format.parse("2016/02/01").getTime(), batch
+                    .getLongVector(date)[1]);
+            assertEquals(3L, batch.getValidity(qty)[0]);
+
+            // テスト実施
+            int second = reader.readBatch(batch);
+
+            // 返却値の確認
+            assertEquals(2, second);
+
+            // 状態変化の確認
+            assertEquals(3, batch.getFirstLineNo());
+            assertEquals(dictionary.getCode("east"), batch.getCodeVector(
+                    region)[0]);
+            assertEquals("north", dictionary.get(batch.getCodeVector(
+                    region)[1]));
+            assertTrue(batch.isNull(qty, 0));
+            assertTrue(batch.isNull(rate, 0));
+            assertTrue(batch.isNull(date, 0));
+            assertFalse(batch.isNull(price, 0));
+            assertEquals(10000L, batch.getLongVector(price)[0]);
+            assertFalse(batch.isNull(qty, 1));
+            assertEquals(7L, batch.getLongVector(qty)[1]);
+            assertEquals(300L, batch.getLongVector(price)[1]);
+
+            // テスト実施
+            int third = reader.readBatch(batch);
+            int fourth = reader.readBatch(batch);
+
+            // 返却値の確認
+            assertEquals(1, third);
+            assertEquals(0, fourth);
+
+            // 状態変化の確認
+            assertEquals(9999999999L, batch.getLongVector(price)[0]);
+            assertEquals(3, dictionary.size());
+            assertEquals(5, reader.getCurrentLineCount());
+            assertEquals(Arrays.asList("TOTAL,5"), reader.getTrailer());
+        } finally {
+            reader.closeFile();
+        }
+    }
+
+    /**
+     * testReadBatch02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) batch:複数のバッチ<br>
+     * <br>
+     * 期待値：(状態変化) バッチごとに独立した配列に格納され、バッチごとの合計の和がデータ部全体の合計と一致すること。<br>
+     * <br>
+     * 複数のバッチに読み込んだ値を集計できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadBatch02() throws Exception {
+        // 前提条件の設定
+        StringBuilder content = new StringBuilder("HEADER\r\n");
+        long expected = 0L;
+        for (int i = 0; i < 1000; i++) {
+            content.append("r").append(i % 3).append(',').append(i).append(
+                    ",15,0,2016/01/01\r\n");
+            expected += i;
+        }
+        content.append("TRAILER\r\n");
+        writeFile(content.toString());
+        ColumnarFileLineReader<ColumnarFileLineReader_Stub01> reader = createReader();
+        try {
+            ColumnarBatch[] batches = new ColumnarBatch[] { reader.newBatch(
+                    64), reader.newBatch(64) };
+            int qty = batches[0].getColumnIndex("qty");
+            long total = 0L;
+            int count = 0;
+
+            // テスト実施
+            for (int i = 0; reader.readBatch(batches[i % 2]) > 0; i++) {
+                ColumnarBatch batch = batches[i % 2];
+                long[] values = batch.getLongVector(qty);
+                for (int row = 0; row < batch.getRowCount(); row++) {
+                    total += values[row];
+                }
+                count += batch.getRowCount();
+            }
+
+            // 状態変化の確認
+            assertEquals(expected, total);
+            assertEquals(1000, count);
+            assertEquals(3, batches[0].getDictionary(0).size());
+            assertSame(batches[0].getDictionary(0), batches[1].getDictionary(
+                    0));
+            assertEquals(64, batches[0].getCapacity());
+            assertEquals(40, batches[1].getRowCount());
+            assertArrayEquals(new long[] { (1L << 40) - 1L }, batches[1]
+                    .getValidity(qty));
+        } finally {
+            reader.closeFile();
+        }
+    }
+
+    /**
+     * testReadBatch03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) ファイル:2行目の固定小数点数がスケールを超える小数部を持つ<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileLineException<br>
+     * メッセージ："Failed in coluomn data parsing."<br>
+     * 行番号、カラム名、カラムインデックスが設定されること。<br>
+     * <br>
+     * スケールを超える値の場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadBatch03() throws Exception {
+        // 前提条件の設定
+        writeFile("HEADER\r\n" + "east,1,1.5,0,2016/01/01\r\n"
+                + "east,1,1.55,0,2016/01/01\r\n" + "TRAILER\r\n");
+        ColumnarFileLineReader<ColumnarFileLineReader_Stub01> reader = createReader();
+        try {
+            reader.setScale("price", 1);
+
+            // テスト実施
+            reader.readBatch(reader.newBatch(10));
+            fail("FileLineExceptionがスローされませんでした。");
+        } catch (FileLineException e) {
+            // 状態変化の確認
+            assertEquals("Failed in coluomn data parsing.", e.getMessage());
+            assertEquals(2, e.getLineNo());
+            assertEquals("price", e.getColumnName());
+            assertEquals(2, e.getColumnIndex());
+            assertTrue(e.getCause() instanceof ArithmeticException);
+        } finally {
+            reader.closeFile();
+        }
+    }
+
+    /**
+     * testReadBatch04() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) ファイル:2行目のカラムが最大バイト数を超える<br>
+     * (状態) ファイル行オブジェクト:カラムの制約(必須、最大バイト数、数字)を持つ<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileColumnConstraintException<br>
+     * メッセージ："Column data violates a constraint."<br>
+     * 行番号、カラム名、カラムインデックス、制約、トリム後の値、最大バイト数が設定されること。<br>
+     * <br>
+     * 列指向の読込でもカラムの制約が検査されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadBatch04() throws Exception {
+        // 前提条件の設定
+        writeFile(" 0001 ,10,abc,a\r\n" + " 00001 ,20,def,b\r\n");
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        columnParserMap.put("int", new IntColumnParser());
+        ColumnarFileLineReader<ColumnConstraintChecker_Stub01> reader = new ColumnarFileLineReader<ColumnConstraintChecker_Stub01>(new CSVFileLineIterator<ColumnConstraintChecker_Stub01>(file
+                .getAbsolutePath(), ColumnConstraintChecker_Stub01.class, columnParserMap));
+        try {
+            // テスト実施
+            reader.readBatch(reader.newBatch(10));
+            fail("FileColumnConstraintExceptionがスローされませんでした。");
+        } catch (FileColumnConstraintException e) {
+            // 状態変化の確認
+            assertEquals("Column data violates a constraint.", e.getMessage());
+            assertEquals(2, e.getLineNo());
+            assertEquals("code", e.getColumnName());
+            assertEquals(0, e.getColumnIndex());
+            assertEquals(ColumnConstraint.MAX_BYTES, e.getConstraint());
+            assertEquals("00001", e.getRejectedValue());
+            assertEquals(4, e.getMaxBytes());
+        } finally {
+            reader.closeFile();
+        }
+    }
+
+    /**
+     * testSetScale01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) fieldName:固定小数点数ではないカラム<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * <br>
+     * 固定小数点数ではないカラムにスケールを設定した場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testSetScale01() throws Exception {
+        // 前提条件の設定
+        writeFile("HEADER\r\nTRAILER\r\n");
+        ColumnarFileLineReader<ColumnarFileLineReader_Stub01> reader = createReader();
+        try {
+            // テスト実施
+            reader.setScale("qty", 2);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Column type is different. column: qty, type: LONG", e
+                    .getMessage());
+        } finally {
+            reader.closeFile();
+        }
+    }
+
+    /**
+     * testColumnarFileLineReader01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) fileLineIterator:null<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："fileLineIterator is required."<br>
+     * <br>
+     * 引数がnullの場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testColumnarFileLineReader01() throws Exception {
+        try {
+            // テスト実施
+            new ColumnarFileLineReader<ColumnarFileLineReader_Stub01>(null);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("fileLineIterator is required.", e.getMessage());
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.TrimType;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\r\n", fileEncoding = "UTF-8", headerLineCount = 1, trailerLineCount = 1)
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0, trimType = TrimType.BOTH)<br>
+ * String region
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1)<br>
+ * int qty
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 2)<br>
+ * BigDecimal price
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 3)<br>
+ * double rate
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 4, columnFormat = "yyyy/MM/dd")<br>
+ * Date date
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\r\n", fileEncoding = "UTF-8", headerLineCount = 1, trailerLineCount = 1)
+public class ColumnarFileLineReader_Stub01 {
+
+    @InputFileColumn(columnIndex = 0, trimType = TrimType.BOTH)
+    private String region;
+
+    @InputFileColumn(columnIndex = 1)
+    private int qty;
+
+    @InputFileColumn(columnIndex = 2)
+    private BigDecimal price;
+
+    @InputFileColumn(columnIndex = 3)
+    private double rate;
+
+    @InputFileColumn(columnIndex = 4, columnFormat = "yyyy/MM/dd")
+    private Date date;
+
+    /**
+     * region を取得する
+     * @return region
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * region を設定する
+     * @param region region
+     */
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    /**
+     * qty を取得する
+     * @return qty
+     */
+    public int getQty() {
+        return qty;
+    }
+
+    /**
+     * qty を設定する
+     * @param qty qty
+     */
+    public void setQty(int qty) {
+        this.qty = qty;
+    }
+
+    /**
+     * price を取得する
+     * @return price
+     */
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    /**
+     * price を設定する
+     * @param price price
+     */
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    /**
+     * rate を取得する
+     * @return rate
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * rate を設定する
+     * @param rate rate
+     */
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * date を取得する
+     * @return date
+     */
+    public Date getDate() {
+        return date;
+    }
+
+    /**
+     * date を設定する
+     * @param date date
+     */
+    public void setDate(Date date) {
+        this.date = date;
+    }
+}
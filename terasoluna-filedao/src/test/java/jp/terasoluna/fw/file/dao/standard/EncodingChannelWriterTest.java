@@ -0,0 +1,283 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.EncodingChannelWriter} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> ファイルチャネルに直接エンコードして書き込む文字ストリーム。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.EncodingChannelWriter
+ */
+public class EncodingChannelWriterTest {
+
+    /**
+     * 一時ファイル。
+     */
+    private File tempFile;
+
+    /**
+     * 一時ファイルを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        tempFile = File.createTempFile("EncodingChannelWriterTest", ".txt");
+    }
+
+    /**
+     * 一時ファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        tempFile.delete();
+    }
+
+    /**
+     * ファイルの内容を読み込む。
+     * @return ファイルの内容
+     * @throws IOException 入出力エラー
+     */
+    private byte[] readFile() throws IOException {
+        FileInputStream in = new FileInputStream(tempFile);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                out.write(buf, 0, len);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * testWrite01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C, F <br>
+     * <br>
+     * 入力値：(引数) 文字列、文字配列、文字シーケンス(バッファサイズを超える量)<br>
+     * (状態) bufferSize:16<br>
+     * <br>
+     * 期待値：(状態変化) OutputStreamWriterで書き込んだ場合と同じ内容がファイルに書き込まれること。<br>
+     * <br>
+     * バッファが一杯になった場合もエンコード結果が欠落しないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWrite01() throws Exception {
+        // 前提条件の設定
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append("abcあい").append(i).append("\r\n");
+        }
+        EncodingChannelWriter writer = new EncodingChannelWriter(new FileOutputStream(tempFile)
+                .getChannel(), "MS932", 16);
+
+        // テスト実施
+        writer.write("xうy");
+        writer.write(new char[] { 'z', 'え' }, 1, 1);
+        writer.append(builder);
+        writer.close();
+
+        // 状態変化の確認
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        OutputStreamWriter osw = new OutputStreamWriter(expected, "MS932");
+        osw.write("xうyえ");
+        osw.write(builder.toString());
+        osw.close();
+        assertArrayEquals(expected.toByteArray(), readFile());
+        assertEquals(expected.size(), writer.getWrittenBytes());
+    }
+
+    /**
+     * testWrite02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(引数) サロゲートペアの上位文字と下位文字を別々に書き込む<br>
+     * エンコードできない文字、不正なサロゲート<br>
+     * <br>
+     * 期待値：(状態変化) 分割されたサロゲートペアが1文字としてエンコードされ、エンコードできない文字は代替文字に置換されること。<br>
+     * <br>
+     * OutputStreamWriterと同じ結果となることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWrite02() throws Exception {
+        // テスト実施
+        EncodingChannelWriter writer = new EncodingChannelWriter(new FileOutputStream(tempFile)
+                .getChannel(), "UTF-8", 8);
+        writer.write("a\ud842");
+        writer.write("\udfb7b");
+        writer.write("\ud842");
+        writer.write("");
+        writer.write("c\ud842");
+        writer.close();
+
+        // 状態変化の確認
+        assertArrayEquals("a𠮷b?c?".getBytes("UTF-8"), readFile());
+    }
+
+    /**
+     * testClose01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) クローズ済み<br>
+     * <br>
+     * 期待値：(状態変化) 再度のクローズでは何もしないこと。書き込みではIOExceptionがスローされること。<br>
+     * <br>
+     * クローズ後の操作を確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testClose01() throws Exception {
+        EncodingChannelWriter writer = new EncodingChannelWriter(new FileOutputStream(tempFile)
+                .getChannel(), "UTF-8", 8);
+        writer.write("abc");
+        writer.close();
+        writer.close();
+        try {
+            writer.write("d");
+            fail("IOExceptionがスローされませんでした。");
+        } catch (IOException e) {
+            assertEquals(IOException.class, e.getClass());
+        }
+        assertArrayEquals("abc".getBytes("UTF-8"), readFile());
+    }
+
+    /**
+     * testCommitLine01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C, F <br>
+     * <br>
+     * 入力値：(引数) 行バッファの初期サイズを超える1行分の文字列、1文字<br>
+     * (状態) bufferSize:16<br>
+     * <br>
+     * 期待値：(返却値) 書き込んだ文字列、行のエンコード後のバイト数<br>
+     * (状態変化) OutputStreamWriterで書き込んだ場合と同じ内容がファイルに書き込まれること。<br>
+     * <br>
+     * 行バッファへのエンコードと、バイトバッファへの移し替えを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCommitLine01() throws Exception {
+        // 前提条件の設定
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            builder.append("あい");
+        }
+        EncodingChannelWriter writer = new EncodingChannelWriter(new FileOutputStream(tempFile)
+                .getChannel(), "MS932", 16);
+
+        // テスト実施
+        writer.write("head\r\n");
+        writer.beginLine();
+        int columnBytes = writer.appendToLine(builder);
+        int delimiterBytes = writer.appendToLine(',');
+        int lineFeedBytes = writer.appendToLine("\r\n");
+        int lineBytes = writer.commitLine();
+        writer.write("tail");
+        writer.close();
+
+        // 返却値の確認
+        assertEquals(20000, columnBytes);
+        assertEquals(1, delimiterBytes);
+        assertEquals(2, lineFeedBytes);
+        assertEquals(20003, lineBytes);
+
+        // 状態変化の確認
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        OutputStreamWriter osw = new OutputStreamWriter(expected, "MS932");
+        osw.write("head\r\n");
+        osw.write(builder.toString());
+        osw.write(",\r\ntail");
+        osw.close();
+        assertArrayEquals(expected.toByteArray(), readFile());
+        assertEquals(expected.size(), writer.getWrittenBytes());
+    }
+
+    /**
+     * testCancelLine01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(状態) 書き込み中の行、サロゲートペアの上位文字で終わる行<br>
+     * <br>
+     * 期待値：(状態変化) 破棄した行はファイルに書き込まれないこと。<br>
+     * <br>
+     * 行の書き込みを破棄した場合に、前後の書き込みに影響しないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCancelLine01() throws Exception {
+        EncodingChannelWriter writer = new EncodingChannelWriter(new FileOutputStream(tempFile)
+                .getChannel(), "UTF-8", 8);
+
+        // テスト実施
+        writer.write("a\n");
+        writer.beginLine();
+        writer.appendToLine("discarded\ud842");
+        writer.cancelLine();
+        writer.beginLine();
+        writer.appendToLine("b\n");
+        writer.commitLine();
+        writer.beginLine();
+        writer.appendToLine("unfinished");
+        writer.close();
+
+        // 状態変化の確認
+        assertArrayEquals("a\nb\n".getBytes("UTF-8"), readFile());
+    }
+
+    /**
+     * testEncodingChannelWriter01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) charsetName:存在しない文字コード名、不正な文字コード名<br>
+     * <br>
+     * 期待値：(状態変化) 例外:UnsupportedEncodingException<br>
+     * <br>
+     * 文字コードがサポートされていない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testEncodingChannelWriter01() throws Exception {
+        for (String charsetName : new String[] { "NO-SUCH-CHARSET", "@@",
+                null }) {
+            FileOutputStream out = new FileOutputStream(tempFile);
+            try {
+                new EncodingChannelWriter(out.getChannel(), charsetName, 8);
+                fail("UnsupportedEncodingExceptionがスローされませんでした。");
+            } catch (UnsupportedEncodingException e) {
+                assertEquals(UnsupportedEncodingException.class, e.getClass());
+            } finally {
+                out.close();
+            }
+        }
+    }
+}
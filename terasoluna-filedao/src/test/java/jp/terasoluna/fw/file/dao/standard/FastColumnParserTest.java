@@ -0,0 +1,160 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.FastDateColumnParser}、
+ * {@link jp.terasoluna.fw.file.dao.standard.FastDecimalColumnParser}、
+ * {@link jp.terasoluna.fw.file.dao.standard.FastDateColumnFormatter}、
+ * {@link jp.terasoluna.fw.file.dao.standard.FastDecimalColumnFormatter} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 固定桁の日付・数値を高速に変換し、それ以外は汎用処理に切り替える。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.FastDateColumnParser
+ * @see jp.terasoluna.fw.file.dao.standard.FastDecimalColumnParser
+ */
+public class FastColumnParserTest {
+
+    /**
+     * testParse01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) column:固定桁の日付文字列と、形式が一致しない日付文字列<br>
+     * <br>
+     * 期待値：(状態変化) DateColumnParserと同じ値が格納されること。<br>
+     * <br>
+     * 高速変換と汎用処理のいずれでも同じ結果となることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testParse01() throws Exception {
+        // 前提条件の設定
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+        Method method = ColumnBinderCompiler_Stub01.class.getMethod(
+                "setDateValue", Date.class);
+        FastDateColumnParser parser = new FastDateColumnParser();
+
+        // テスト実施・確認
+        parser.parse("20160131", t, method, "");
+        assertEquals(new SimpleDateFormat("yyyyMMdd").parse("20160131"), t
+                .getDateValue());
+        parser.parse("2016/1/31", t, method, "yyyy/MM/dd");
+        assertEquals(new SimpleDateFormat("yyyy/MM/dd").parse("2016/1/31"), t
+                .getDateValue());
+        parser.parse("16-01-31", t, method, "yy-MM-dd");
+        assertEquals(new SimpleDateFormat("yy-MM-dd").parse("16-01-31"), t
+                .getDateValue());
+    }
+
+    /**
+     * testParse02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) column:日付として不正な文字列<br>
+     * <br>
+     * 期待値：(状態変化) 例外:ParseException<br>
+     * <br>
+     * 汎用処理と同じ例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testParse02() throws Exception {
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+        Method method = ColumnBinderCompiler_Stub01.class.getMethod(
+                "setDateValue", Date.class);
+        try {
+            new FastDateColumnParser().parse("2016/01/31", t, method,
+                    "yyyyMMdd");
+            fail("ParseExceptionがスローされませんでした。");
+        } catch (ParseException e) {
+            assertEquals(ParseException.class, e.getClass());
+        }
+    }
+
+    /**
+     * testParse03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) column:各種数値文字列<br>
+     * <br>
+     * 期待値：(状態変化) DecimalColumnParserと同じ値が格納されること。<br>
+     * <br>
+     * 高速変換と汎用処理のいずれでも同じ結果となることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testParse03() throws Exception {
+        // 前提条件の設定
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+        Method method = ColumnBinderCompiler_Stub01.class.getMethod(
+                "setDecimalValue", BigDecimal.class);
+        FastDecimalColumnParser parser = new FastDecimalColumnParser();
+        DecimalColumnParser expectedParser = new DecimalColumnParser();
+        ColumnBinderCompiler_Stub01 expected = new ColumnBinderCompiler_Stub01();
+
+        String[][] cases = { { "-123.450", "" }, { "1.5E3", "" },
+                { "1234.5", "#,##0.00" }, { "1,234.5", "#,##0.00" } };
+        for (String[] c : cases) {
+            // テスト実施
+            parser.parse(c[0], t, method, c[1]);
+            expectedParser.parse(c[0], expected, method, c[1]);
+
+            // 状態変化の確認
+            assertEquals(c[0], expected.getDecimalValue(), t.getDecimalValue());
+        }
+    }
+
+    /**
+     * testFormat01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) t:日付・数値を保持するファイル行オブジェクト<br>
+     * <br>
+     * 期待値：(戻り値) DateColumnFormatter、DecimalColumnFormatterと同じ文字列<br>
+     * <br>
+     * 高速変換と汎用処理のいずれでも同じ結果となることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testFormat01() throws Exception {
+        // 前提条件の設定
+        ColumnBinderCompiler_Stub01 t = new ColumnBinderCompiler_Stub01();
+        t.setDateValue(new SimpleDateFormat("yyyyMMddHHmmss").parse(
+                "20160131123456"));
+        t.setDecimalValue(new BigDecimal("-1234567.891"));
+        Method dateGetter = ColumnBinderCompiler_Stub01.class.getMethod(
+                "getDateValue");
+        Method decimalGetter = ColumnBinderCompiler_Stub01.class.getMethod(
+                "getDecimalValue");
+
+        // テスト実施・確認
+        for (String format : new String[] { "", "yyyy/MM/dd HH:mm:ss",
+                "yy/M/d" }) {
+            assertEquals(new DateColumnFormatter().format(t, dateGetter,
+                    format), new FastDateColumnFormatter().format(t,
+                            dateGetter, format));
+        }
+        for (String format : new String[] { "", "#,##0.00", "0.0%" }) {
+            assertEquals(new DecimalColumnFormatter().format(t, decimalGetter,
+                    format), new FastDecimalColumnFormatter().format(t,
+                            decimalGetter, format));
+        }
+    }
+}
@@ -1,17 +1,17 @@
 package jp.terasoluna.fw.file.dao.standard;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import jp.terasoluna.fw.file.annotation.PaddingType;
 import jp.terasoluna.fw.file.annotation.TrimType;
@@ -1812,47 +1812,21 @@ public class FileDAOUtilityTest {
      * <br>
      * 入力値：(引数) fileEncoding:"Shift_JIS"<br>
      * (引数) checkChar:','<br>
-     * (状態) encodingCache:以下の要素を持つConcurrentHashMapインスタンス<br>
-     * ・key："UTF-8"<br>
-     * value：以下の要素を持つConcurrentHashMapインスタンス<br>
-     * - key：',' | value：TRUE<br>
      * <br>
      * 期待値：(戻り値) boolean:true<br>
-     * (状態変化) encodingCache:以下の要素を持つConcurrentHashMapインスタンス<br>
-     * ・key："UTF-8"<br>
-     * value：以下の要素を持つConcurrentHashMapインスタンス<br>
-     * - key：',' | value：TRUE<br>
-     * 以下の要素を持つConcurrentHashMapインスタンス<br>
-     * ・key："Shift_JIS"<br>
-     * value：以下の要素を持つConcurrentHashMapインスタンス<br>
-     * - key：',' | value：TRUE<br>
-     * (状態変化) Map#put():2回呼ばれる<br>
+     * (状態変化) HalfWidthCharacterTable:"Shift_JIS"の判定テーブルで','が半角文字と判定される<br>
      * <br>
      * 正常ケース<br>
-     * (キャッシュあり、エンコーディングに対するキャッシュなし)<br>
      * エンコーディングに合う半角文字が入力された場合、TRUEが返されることを確認する。<br>
-     * また、その情報がキャッシュに残ることを確認する。 <br>
+     * また、判定結果がエンコーディングの判定テーブルと一致することを確認する。 <br>
      * @throws Exception このメソッドで発生した例外
      */
-    @SuppressWarnings("unchecked")
     @Test
     public void testIsHalfWidthChar02() throws Exception {
         // 前処理(引数)
         String fileEncoding = "Shift_JIS";
         char checkChar = ',';
 
-        // 前処理(状態)
-        Field field = FileDAOUtility.class.getDeclaredField("encodingCache");
-        field.setAccessible(true);
-        Map<String, Map<Character, Boolean>> encodingCache = (Map<String, Map<Character, Boolean>>) field
-                .get(FileDAOUtility.class);
-        encodingCache.clear();
-
-        Map<Character, Boolean> inputEncodingCache = new ConcurrentHashMap<Character, Boolean>();
-
-        inputEncodingCache.put(checkChar, Boolean.TRUE);
-        encodingCache.put("UTF-8", inputEncodingCache);
-
         // テスト実施
         Method method = FileDAOUtility.class.getDeclaredMethod(
                 "isHalfWidthChar", new Class[] { String.class, char.class });
@@ -1863,23 +1837,9 @@ public class FileDAOUtilityTest {
         // 判定(戻り値)
         assertTrue(Boolean.class.cast(result));
 
-        // 判定(encodingCache)
-        assertEquals(2, encodingCache.size());
-
-        // 判定(UTF-8)
-        assertTrue(encodingCache.containsKey("UTF-8"));
-        Map<Character, Boolean> uTF8CacheMap = encodingCache.get("UTF-8");
-        assertEquals(1, uTF8CacheMap.size());
-        assertTrue(uTF8CacheMap.containsKey(checkChar));
-        assertTrue(Boolean.class.cast(uTF8CacheMap.get(checkChar)));
-
-        // 判定(Shif_JIS)
-        assertTrue(encodingCache.containsKey(fileEncoding));
-        Map<Character, Boolean> shiftJISCacheMap = encodingCache.get(
-                fileEncoding);
-        assertEquals(1, shiftJISCacheMap.size());
-        assertTrue(shiftJISCacheMap.containsKey(checkChar));
-        assertTrue(Boolean.class.cast(shiftJISCacheMap.get(checkChar)));
+        // 判定(HalfWidthCharacterTable)
+        assertTrue(HalfWidthCharacterTable.getTable(fileEncoding).isHalfWidth(
+                checkChar));
     }
 
     /**
@@ -1890,62 +1850,37 @@ public class FileDAOUtilityTest {
      * <br>
      * 入力値：(引数) fileEncoding:"Shift_JIS"<br>
      * (引数) checkChar:','<br>
-     * (状態) encodingCache:以下の要素を持つConcurrentHashMapインスタンス<br>
-     * ・key："Shift_JIS"<br>
-     * value：以下の要素を持つConcurrentHashMapインスタンス<br>
-     * - key：',' | value：TRUE<br>
      * <br>
-     * 期待値：(戻り値) boolean:true<br>
-     * (状態変化) encodingCache:以下の要素を持つConcurrentHashMapインスタンス<br>
-     * ・key："Shift_JIS"<br>
-     * value：以下の要素を持つConcurrentHashMapインスタンス<br>
-     * - key：',' | value：TRUE<br>
-     * (状態変化) Map#put():呼ばれない<br>
+     * 期待値：(戻り値) boolean:true(2回とも)<br>
+     * (状態変化) HalfWidthCharacterTable:同一エンコーディングに対して同じ判定テーブルが返却される<br>
      * <br>
      * 正常ケース<br>
-     * (キャッシュあり、エンコーディング・チェック文字に対するキャッシュあり)<br>
-     * エンコーディングに合う半角文字が入力された場合、TRUEが返されることを確認する。<br>
-     * また、その情報がキャッシュから取得されたことを確認する。 <br>
+     * 同じエンコーディングで繰り返し判定した場合、TRUEが返されることを確認する。<br>
+     * また、判定テーブルがエンコーディングごとに共有されることを確認する。 <br>
      * @throws Exception このメソッドで発生した例外
      */
-    @SuppressWarnings("unchecked")
     @Test
     public void testIsHalfWidthChar03() throws Exception {
         // 前処理(引数)
         String fileEncoding = "Shift_JIS";
         char checkChar = ',';
 
-        // 前処理(状態)
-        Field field = FileDAOUtility.class.getDeclaredField("encodingCache");
-        field.setAccessible(true);
-        Map<String, Map<Character, Boolean>> encodingCache = (Map<String, Map<Character, Boolean>>) field
-                .get(FileDAOUtility.class);
-        encodingCache.clear();
-
-        Map<Character, Boolean> inputEncodingCache = new ConcurrentHashMap<Character, Boolean>();
-
-        inputEncodingCache.put(checkChar, Boolean.TRUE);
-        encodingCache.put("Shift_JIS", inputEncodingCache);
-
         // テスト実施
         Method method = FileDAOUtility.class.getDeclaredMethod(
                 "isHalfWidthChar", new Class[] { String.class, char.class });
         method.setAccessible(true);
-        Object result = method.invoke(FileDAOUtility.class, new Object[] {
+        Object result1 = method.invoke(FileDAOUtility.class, new Object[] {
+                fileEncoding, checkChar });
+        Object result2 = method.invoke(FileDAOUtility.class, new Object[] {
                 fileEncoding, checkChar });
 
         // 判定(戻り値)
-        assertTrue(Boolean.class.cast(result));
-
-        // 判定(encodingCache)
-        assertEquals(1, encodingCache.size());
+        assertTrue(Boolean.class.cast(result1));
+        assertTrue(Boolean.class.cast(result2));
 
-        assertTrue(encodingCache.containsKey(fileEncoding));
-        Map<Character, Boolean> shiftJISCacheMap = encodingCache.get(
-                fileEncoding);
-        assertEquals(1, shiftJISCacheMap.size());
-        assertTrue(shiftJISCacheMap.containsKey(checkChar));
-        assertTrue(Boolean.class.cast(shiftJISCacheMap.get(checkChar)));
+        // 判定(HalfWidthCharacterTable)
+        assertSame(HalfWidthCharacterTable.getTable(fileEncoding),
+                HalfWidthCharacterTable.getTable(fileEncoding));
     }
 
     /**
@@ -1955,64 +1890,32 @@ public class FileDAOUtilityTest {
      * 観点：C, D, E <br>
      * <br>
      * 入力値：(引数) fileEncoding:"Shift_JIS"<br>
-     * (引数) checkChar:','<br>
-     * (状態) encodingCache:以下の要素を持つConcurrentHashMapインスタンス<br>
-     * ・key："Shift_JIS"<br>
-     * value：以下の要素を持つConcurrentHashMapインスタンス<br>
-     * - key：'、' | value：FALSE<br>
+     * (引数) checkChar:'、'、','の順に判定<br>
      * <br>
-     * 期待値：(戻り値) boolean:true<br>
-     * (状態変化) encodingCache:以下の要素を持つConcurrentHashMapインスタンス<br>
-     * ・key："Shift_JIS"<br>
-     * value：以下の要素を持つConcurrentHashMapインスタンス<br>
-     * - key：'、' | value：FALSE<br>
-     * - key：',' | value：TRUE<br>
-     * (状態変化) Map#put():1回呼ばれる<br>
+     * 期待値：(戻り値) boolean:false、trueの順<br>
      * <br>
      * 正常ケース<br>
-     * (キャッシュあり、エンコーディングに対するキャッシュはあるが、 チェック文字に対するキャッシュではない。)<br>
-     * エンコーディングに合う半角文字が入力された場合、TRUEが返されることを確認する。<br>
-     * また、その情報がキャッシュされることを確認する。 <br>
+     * 同じエンコーディングで全角文字を判定した後に半角文字を判定した場合、
+     * 先の判定結果に影響されずTRUEが返されることを確認する。 <br>
      * @throws Exception このメソッドで発生した例外
      */
-    @SuppressWarnings("unchecked")
     @Test
     public void testIsHalfWidthChar04() throws Exception {
         // 前処理(引数)
         String fileEncoding = "Shift_JIS";
-        char checkChar = ',';
-
-        // 前処理(状態)
-        Field field = FileDAOUtility.class.getDeclaredField("encodingCache");
-        field.setAccessible(true);
-        Map<String, Map<Character, Boolean>> encodingCache = (Map<String, Map<Character, Boolean>>) field
-                .get(FileDAOUtility.class);
-        encodingCache.clear();
-
-        Map<Character, Boolean> inputEncodingCache = new ConcurrentHashMap<Character, Boolean>();
-        inputEncodingCache.put('、', Boolean.FALSE);
-        encodingCache.put("Shift_JIS", inputEncodingCache);
 
         // テスト実施
         Method method = FileDAOUtility.class.getDeclaredMethod(
                 "isHalfWidthChar", new Class[] { String.class, char.class });
         method.setAccessible(true);
-        Object result = method.invoke(FileDAOUtility.class, new Object[] {
-                fileEncoding, checkChar });
+        Object result1 = method.invoke(FileDAOUtility.class, new Object[] {
+                fileEncoding, '、' });
+        Object result2 = method.invoke(FileDAOUtility.class, new Object[] {
+                fileEncoding, ',' });
 
         // 判定(戻り値)
-        assertTrue(Boolean.class.cast(result));
-
-        // 判定(encodingCache)
-        assertEquals(1, encodingCache.size());
-        assertTrue(encodingCache.containsKey(fileEncoding));
-
-        Map<Character, Boolean> shiftJISCacheMap = encodingCache.get(
-                fileEncoding);
-        assertEquals(2, shiftJISCacheMap.size());
-        assertTrue(shiftJISCacheMap.containsKey(checkChar));
-        assertFalse(Boolean.class.cast(shiftJISCacheMap.get('、')));
-        assertTrue(Boolean.class.cast(shiftJISCacheMap.get(checkChar)));
+        assertFalse(Boolean.class.cast(result1));
+        assertTrue(Boolean.class.cast(result2));
     }
 
     /**
@@ -2023,35 +1926,20 @@ public class FileDAOUtilityTest {
      * <br>
      * 入力値：(引数) fileEncoding:"Shift_JIS"<br>
      * (引数) checkChar:'、'<br>
-     * (状態) encodingCache:要素を持たないConcurrentHashMapインスタンス<br>
      * <br>
      * 期待値：(戻り値) boolean:false<br>
-     * (状態変化) encodingCache:以下の要素を持つConcurrentHashMapインスタンス<br>
-     * ・key："Shift_JIS"<br>
-     * value：以下の要素を持つConcurrentHashMapインスタンス<br>
-     * - key：'、' | value：FALSE<br>
-     * (状態変化) Map#put():2回呼ばれる<br>
+     * (状態変化) HalfWidthCharacterTable:"Shift_JIS"の判定テーブルで'、'が半角文字と判定されない<br>
      * <br>
      * 正常ケース<br>
-     * (キャッシュなし)<br>
-     * エンコーディングに合う全角文字が入力された場合、FALSEが返されることを確認する。<br>
-     * また、その情報がキャッシュに残ることを確認する。 <br>
+     * エンコーディングに合う全角文字が入力された場合、FALSEが返されることを確認する。 <br>
      * @throws Exception このメソッドで発生した例外
      */
-    @SuppressWarnings("unchecked")
     @Test
     public void testIsHalfWidthChar05() throws Exception {
         // 前処理(引数)
         String fileEncoding = "Shift_JIS";
         char checkChar = '、';
 
-        // 前処理(状態)
-        Field field = FileDAOUtility.class.getDeclaredField("encodingCache");
-        field.setAccessible(true);
-        Map<String, Map<Character, Boolean>> encodingCache = (Map<String, Map<Character, Boolean>>) field
-                .get(FileDAOUtility.class);
-        encodingCache.clear();
-
         // テスト実施
         Method method = FileDAOUtility.class.getDeclaredMethod(
                 "isHalfWidthChar", new Class[] { String.class, char.class });
@@ -2062,18 +1950,9 @@ public class FileDAOUtilityTest {
         // 判定(戻り値)
         assertFalse(Boolean.class.cast(result));
 
-        // 判定(encodingCache)
-        assertEquals(1, encodingCache.size());
-        assertTrue(encodingCache.containsKey(fileEncoding));
-
-        Map<Character, Boolean> shiftJISCacheMap = encodingCache.get(
-                fileEncoding);
-        assertEquals(1, shiftJISCacheMap.size());
-        assertTrue(shiftJISCacheMap.containsKey(checkChar));
-        assertFalse(Boolean.class.cast(shiftJISCacheMap.get(checkChar)));
-
-        // 試験対象初期化
-        encodingCache.clear();
+        // 判定(HalfWidthCharacterTable)
+        assertFalse(HalfWidthCharacterTable.getTable(fileEncoding).isHalfWidth(
+                checkChar));
     }
 
     /**
@@ -2084,35 +1963,21 @@ public class FileDAOUtilityTest {
      * <br>
      * 入力値：(引数) fileEncoding:"XXX"<br>
      * (引数) checkChar:','<br>
-     * (状態) encodingCache:要素を持たないConcurrentHashMapインスタンス<br>
      * <br>
-     * 期待値：(状態変化) encodingCache:以下の要素を持つConcurrentHashMapインスタンス<br>
-     * ・key："Shift_JIS"<br>
-     * value：要素を持たないConcurrentHashMapインスタンス<br>
-     * (状態変化) Map#put():1回呼ばれる<br>
-     * (状態変化) -:以下の情報を持つFileExceptionが発生する。<br>
+     * 期待値：(状態変化) -:以下の情報を持つFileExceptionが発生する。<br>
      * ・メッセージ："Specified Encoding : XXX is not supported"<br>
      * ・原因例外：UnsupportedEncodingException<br>
      * <br>
      * 異常ケース<br>
-     * (キャッシュなし)<br>
      * 存在しないエンコーディングが入力された場合、例外が発生することを確認する。 <br>
      * @throws Exception このメソッドで発生した例外
      */
-    @SuppressWarnings("unchecked")
     @Test
     public void testIsHalfWidthChar06() throws Exception {
         // 前処理(引数)
         String fileEncoding = "XXX";
         char checkChar = ',';
 
-        // 前処理(状態)
-        Field field = FileDAOUtility.class.getDeclaredField("encodingCache");
-        field.setAccessible(true);
-        Map<String, Map<Character, Boolean>> encodingCache = (Map<String, Map<Character, Boolean>>) field
-                .get(FileDAOUtility.class);
-        encodingCache.clear();
-
         try {
             // テスト実施
             Method method = FileDAOUtility.class.getDeclaredMethod(
@@ -2129,18 +1994,7 @@ public class FileDAOUtilityTest {
                     .getTargetException().getMessage());
             assertTrue(e.getTargetException()
                     .getCause() instanceof UnsupportedEncodingException);
-
-            // 判定(encodingCache)
-            assertEquals(1, encodingCache.size());
-
-            assertTrue(encodingCache.containsKey(fileEncoding));
-            Map<Character, Boolean> shiftJISCacheMap = encodingCache.get(
-                    fileEncoding);
-            assertEquals(0, shiftJISCacheMap.size());
         }
-
-        // 試験対象初期化
-        encodingCache.clear();
     }
 
     /**
@@ -2151,31 +2005,19 @@ public class FileDAOUtilityTest {
      * <br>
      * 入力値：(引数) fileEncoding:null<br>
      * (引数) checkChar:','<br>
-     * (状態) encodingCache:要素を持たないConcurrentHashMapインスタンス<br>
      * <br>
-     * 期待値：(状態変化) encodingCache:要素を持たないConcurrentHashMapインスタンス<br>
-     * (状態変化) Map#put():呼ばれない<br>
-     * (状態変化) -:NullPointerExceptionが発生する。<br>
+     * 期待値：(状態変化) -:NullPointerExceptionが発生する。<br>
      * <br>
      * 異常ケース<br>
-     * (キャッシュなし)<br>
      * エンコーディングがnullの場合、例外が発生することを確認する。 <br>
      * @throws Exception このメソッドで発生した例外
      */
-    @SuppressWarnings("unchecked")
     @Test
     public void testIsHalfWidthChar07() throws Exception {
         // 前処理(引数)
         String fileEncoding = null;
         char checkChar = ',';
 
-        // 前処理(状態)
-        Field field = FileDAOUtility.class.getDeclaredField("encodingCache");
-        field.setAccessible(true);
-        Map<String, Map<Character, Boolean>> encodingCache = (Map<String, Map<Character, Boolean>>) field
-                .get(FileDAOUtility.class);
-        encodingCache.clear();
-
         try {
             // テスト実施
             Method method = FileDAOUtility.class.getDeclaredMethod(
@@ -2188,7 +2030,88 @@ public class FileDAOUtilityTest {
         } catch (InvocationTargetException e) {
             // 判定(例外)
             assertTrue(e.getTargetException() instanceof NullPointerException);
-            assertEquals(0, encodingCache.size());
         }
     }
+
+    /**
+     * testGetByteLength01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C, F <br>
+     * <br>
+     * 入力値：(引数) columnString:ASCII文字のみ、全角文字を含む文字列<br>
+     * (引数) fileEncoding:MS932、UTF-8、UTF-16、EUC-JP<br>
+     * <br>
+     * 期待値：(戻り値) String#getBytes(fileEncoding)の要素数と同じ値<br>
+     * <br>
+     * ASCII互換の有無にかかわらず、正しいバイト数が返却されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetByteLength01() throws Exception {
+        String[] columnStrings = { "", "abc 123", "\u3042\u3044", "a\u3042",
+                "\uff71" };
+        for (String fileEncoding : new String[] { "MS932", "UTF-8", "UTF-16",
+                "EUC-JP" }) {
+            for (String columnString : columnStrings) {
+                // テスト実施・判定
+                assertEquals(fileEncoding + ":" + columnString, columnString
+                        .getBytes(fileEncoding).length, FileDAOUtility
+                                .getByteLength(columnString, fileEncoding));
+            }
+        }
+    }
+
+    /**
+     * testGetByteLength02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) columnString:"abc"<br>
+     * (引数) fileEncoding:存在しないエンコーディング<br>
+     * <br>
+     * 期待値：(状態変化) 例外:UnsupportedEncodingException<br>
+     * <br>
+     * 存在しないエンコーディングの場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetByteLength02() throws Exception {
+        try {
+            // テスト実施
+            FileDAOUtility.getByteLength("abc", "NO-SUCH-ENCODING");
+            fail("UnsupportedEncodingExceptionが発生しませんでした。");
+        } catch (UnsupportedEncodingException e) {
+            // 判定(例外)
+            assertEquals(UnsupportedEncodingException.class, e.getClass());
+        }
+    }
+
+    /**
+     * testGetAsciiBytes01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) chars:"\r\n"、"\""、""、"\u3042"<br>
+     * (引数) fileEncoding:MS932、UTF-16<br>
+     * <br>
+     * 期待値：(戻り値) MS932のASCII文字は同じ値のバイト列、それ以外はnull<br>
+     * <br>
+     * ASCIIと同じバイトで表現される場合のみバイト列が返却されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetAsciiBytes01() throws Exception {
+        // テスト実施・判定
+        assertArrayEquals(new byte[] { '\r', '\n' }, FileDAOUtility
+                .getAsciiBytes("\r\n", "MS932"));
+        assertArrayEquals(new byte[] { '"' }, FileDAOUtility.getAsciiBytes(
+                "\"", "MS932"));
+        assertArrayEquals(new byte[0], FileDAOUtility.getAsciiBytes("",
+                "MS932"));
+        assertNull(FileDAOUtility.getAsciiBytes("\u3042", "MS932"));
+        assertNull(FileDAOUtility.getAsciiBytes("\n", "UTF-16"));
+    }
 }
@@ -0,0 +1,474 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.NullStringConverter;
+import jp.terasoluna.fw.file.annotation.PaddingType;
+import jp.terasoluna.fw.file.annotation.StringConverter;
+import jp.terasoluna.fw.file.annotation.TrimType;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.FileLineObjectMetadataRegistry} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> ファイル行オブジェクトのカラム定義情報をクラスと用途ごとに保持する。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.FileLineObjectMetadataRegistry
+ * @see jp.terasoluna.fw.file.dao.standard.FileLineObjectMetadata
+ */
+public class FileLineObjectMetadataRegistryTest {
+
+    /**
+     * 各テストで登録したカラム定義情報を削除する。
+     */
+    @After
+    public void tearDown() {
+        FileLineObjectMetadataRegistry.clear();
+    }
+
+    /**
+     * 入力用のカラム定義情報を生成する。
+     * @return カラム定義情報
+     * @throws Exception 予期しない例外
+     */
+    private FileLineObjectMetadata createInputMetadata() throws Exception {
+        Class<ColumnBinderCompiler_Stub01> clazz = ColumnBinderCompiler_Stub01.class;
+        Field[] fields = new Field[] { clazz.getDeclaredField("stringValue"),
+                clazz.getDeclaredField("intValue") };
+        Method[] methods = new Method[] { clazz.getMethod("setStringValue",
+                String.class), clazz.getMethod("setIntValue", int.class) };
+        return new FileLineObjectMetadata(clazz, fields, methods);
+    }
+
+    /**
+     * カラムレイアウトを持つ入力用のカラム定義情報を生成する。
+     * @return カラム定義情報
+     * @throws Exception 予期しない例外
+     */
+    private FileLineObjectMetadata createInputLayoutMetadata() throws Exception {
+        FileLineObjectMetadata metadata = createInputMetadata();
+        Field[] fields = metadata.getFields();
+        InputFileColumn[] inputFileColumns = new InputFileColumn[] {
+                fields[0].getAnnotation(InputFileColumn.class),
+                fields[1].getAnnotation(InputFileColumn.class) };
+        StringConverter converter = new NullStringConverter();
+        return FileLineObjectMetadata.forInput(metadata.getClazz(), fields,
+                metadata.getMethods(), inputFileColumns, new StringConverter[] {
+                        converter, converter });
+    }
+
+    /**
+     * testRegisterInputMetadata01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) metadata:入力用のカラム定義情報<br>
+     * (状態) 未登録<br>
+     * <br>
+     * 期待値：(戻り値) 引数のカラム定義情報<br>
+     * (状態変化) 入力用として取得でき、出力用としては取得できないこと。<br>
+     * <br>
+     * カラム定義情報が用途ごとに登録されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testRegisterInputMetadata01() throws Exception {
+        // 引数の設定
+        FileLineObjectMetadata metadata = createInputMetadata();
+
+        // テスト実施
+        FileLineObjectMetadata result = FileLineObjectMetadataRegistry
+                .registerInputMetadata(metadata);
+
+        // 返却値の確認
+        assertSame(metadata, result);
+
+        // 状態変化の確認
+        assertSame(metadata, FileLineObjectMetadataRegistry.getInputMetadata(
+                ColumnBinderCompiler_Stub01.class));
+        assertNull(FileLineObjectMetadataRegistry.getOutputMetadata(
+                ColumnBinderCompiler_Stub01.class));
+    }
+
+    /**
+     * testRegisterInputMetadata02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) metadata:入力用のカラム定義情報<br>
+     * (状態) 同じクラスのカラム定義情報が登録済み<br>
+     * <br>
+     * 期待値：(戻り値) 登録済みのカラム定義情報<br>
+     * <br>
+     * 既に登録されている場合は上書きされず、登録済みの情報が返却されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testRegisterInputMetadata02() throws Exception {
+        // 前提条件の設定
+        FileLineObjectMetadata registered = createInputMetadata();
+        FileLineObjectMetadataRegistry.registerInputMetadata(registered);
+
+        // テスト実施
+        FileLineObjectMetadata result = FileLineObjectMetadataRegistry
+                .registerInputMetadata(createInputMetadata());
+
+        // 返却値の確認
+        assertSame(registered, result);
+        assertSame(registered, FileLineObjectMetadataRegistry
+                .getInputMetadata(ColumnBinderCompiler_Stub01.class));
+    }
+
+    /**
+     * testRegisterInputMetadata03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) metadata:カラムレイアウトを持つ入力用のカラム定義情報<br>
+     * (状態) カラムレイアウトを持たないカラム定義情報が登録済み<br>
+     * <br>
+     * 期待値：(戻り値) 引数のカラム定義情報<br>
+     * (状態変化) カラムレイアウトを持つカラム定義情報に置き換えられること。<br>
+     * <br>
+     * カラムレイアウトを持たない登録済みの定義情報が置き換えられることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testRegisterInputMetadata03() throws Exception {
+        // 前提条件の設定
+        FileLineObjectMetadataRegistry.registerInputMetadata(
+                createInputMetadata());
+        FileLineObjectMetadata metadata = createInputLayoutMetadata();
+
+        // テスト実施
+        FileLineObjectMetadata result = FileLineObjectMetadataRegistry
+                .registerInputMetadata(metadata);
+
+        // 返却値の確認
+        assertSame(metadata, result);
+
+        // 状態変化の確認
+        assertSame(metadata, FileLineObjectMetadataRegistry.getInputMetadata(
+                ColumnBinderCompiler_Stub01.class));
+        assertSame(metadata, FileLineObjectMetadataRegistry
+                .registerInputMetadata(createInputMetadata()));
+    }
+
+    /**
+     * testClear01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(状態) 入力用・出力用のカラム定義情報が登録済み<br>
+     * <br>
+     * 期待値：(状態変化) すべてのカラム定義情報が削除されること。<br>
+     * <br>
+     * 登録済みのカラム定義情報が削除されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testClear01() throws Exception {
+        // 前提条件の設定
+        FileLineObjectMetadataRegistry.registerInputMetadata(
+                createInputMetadata());
+        FileLineObjectMetadataRegistry.registerOutputMetadata(
+                createInputMetadata());
+
+        // テスト実施
+        FileLineObjectMetadataRegistry.clear();
+
+        // 状態変化の確認
+        assertNull(FileLineObjectMetadataRegistry.getInputMetadata(
+                ColumnBinderCompiler_Stub01.class));
+        assertNull(FileLineObjectMetadataRegistry.getOutputMetadata(
+                ColumnBinderCompiler_Stub01.class));
+    }
+
+    /**
+     * testMetadata01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：E <br>
+     * <br>
+     * 入力値：(引数) clazz、fields、methods<br>
+     * <br>
+     * 期待値：(戻り値) 配列の複製が返却され、取得した配列を変更しても保持している内容が変わらないこと。<br>
+     * <br>
+     * カラム定義情報が不変であることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMetadata01() throws Exception {
+        // テスト実施
+        FileLineObjectMetadata metadata = createInputMetadata();
+        Field[] fields = metadata.getFields();
+        Method[] methods = metadata.getMethods();
+        fields[0] = null;
+        methods[0] = null;
+
+        // 返却値の確認
+        assertSame(ColumnBinderCompiler_Stub01.class, metadata.getClazz());
+        assertNotSame(fields, metadata.getFields());
+        assertEquals("stringValue", metadata.getFields()[0].getName());
+        assertEquals("setStringValue", metadata.getMethods()[0].getName());
+        assertFalse(metadata.hasSameFields(fields));
+        assertTrue(metadata.hasSameFields(createInputMetadata().getFields()));
+    }
+
+    /**
+     * testMetadata02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) fieldsとmethodsの要素数が異なる<br>
+     * <br>
+     * 期待値：(状態変化) 例外:IllegalArgumentException<br>
+     * <br>
+     * 属性とアクセサメソッドの数が一致しない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMetadata02() throws Exception {
+        try {
+            // テスト実施
+            new FileLineObjectMetadata(ColumnBinderCompiler_Stub01.class, new Field[1], new Method[0]);
+            fail("IllegalArgumentExceptionがスローされませんでした。");
+        } catch (IllegalArgumentException e) {
+            // 状態変化の確認
+            assertEquals(IllegalArgumentException.class, e.getClass());
+        }
+    }
+
+    /**
+     * testMetadata03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：E <br>
+     * <br>
+     * 入力値：(引数) clazz、fields、methods、inputFileColumns、stringConverters<br>
+     * <br>
+     * 期待値：(戻り値) アノテーションの設定値からカラムごとの配列が生成され、配列の複製が返却されること。<br>
+     * <br>
+     * カラムレイアウトがアノテーションから生成され、不変であることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMetadata03() throws Exception {
+        // テスト実施
+        FileLineObjectMetadata metadata = createInputLayoutMetadata();
+        int[] columnIndexs = metadata.getColumnIndexs();
+        StringConverter[] stringConverters = metadata.getStringConverters();
+        columnIndexs[0] = -1;
+        stringConverters[0] = null;
+
+        // 返却値の確認
+        assertTrue(metadata.hasColumnLayout());
+        assertFalse(createInputMetadata().hasColumnLayout());
+        assertNull(metadata.getOutputFileColumns());
+        assertEquals(2, metadata.getInputFileColumns().length);
+        assertArrayEquals(new int[] { 0, 1 }, metadata.getColumnIndexs());
+        assertArrayEquals(new int[] { -1, -1 }, metadata.getColumnBytes());
+        assertArrayEquals(new String[] { "", "" }, metadata.getColumnFormats());
+        assertArrayEquals(new PaddingType[] { PaddingType.NONE,
+                PaddingType.NONE }, metadata.getPaddingTypes());
+        assertArrayEquals(new TrimType[] { TrimType.NONE, TrimType.NONE },
+                metadata.getTrimTypes());
+        assertArrayEquals(new char[] { ' ', ' ' }, metadata.getPaddingChars());
+        assertArrayEquals(new char[] { ' ', ' ' }, metadata.getTrimChars());
+        assertEquals(NullStringConverter.class, metadata
+                .getStringConverters()[0].getClass());
+    }
+
+    /**
+     * testMetadata04() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) columnParserMap:属性の型(String、int)に対応するカラムパーサーを持つマップ、intのカラムパーサーを持たないマップ<br>
+     * <br>
+     * 期待値：(戻り値) 同じマップでは同じ入力カラムバインダが返却されること。
+     * 対応するカラムパーサーが無いマップではnullが返却されること。<br>
+     * <br>
+     * 入力カラムバインダがカラムパーサーのマップごとに1回だけ生成され、カラムパーサーの有無が確認されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMetadata04() throws Exception {
+        // 前提条件の設定
+        FileLineObjectMetadata metadata = createInputMetadata();
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        columnParserMap.put("int", new IntColumnParser());
+        Map<String, ColumnParser> stringOnlyMap = new HashMap<String, ColumnParser>();
+        stringOnlyMap.put("java.lang.String", new NullColumnParser());
+
+        // テスト実施
+        InputColumnBinder[] first = metadata.getInputColumnBinders(columnParserMap);
+        InputColumnBinder[] second = metadata.getInputColumnBinders(columnParserMap);
+
+        // 返却値の確認
+        assertEquals(2, first.length);
+        assertNotSame(first, second);
+        assertSame(first[0], second[0]);
+        assertSame(first[1], second[1]);
+        assertNull(metadata.getInputColumnBinders(stringOnlyMap));
+    }
+
+    /**
+     * testInit01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(引数) 同じファイル行オブジェクトのクラスでファイル行イテレータを2回生成<br>
+     * <br>
+     * 期待値：(状態変化) 1回目の初期化でカラム定義情報が登録され、2回目は同じ属性・メソッドが利用されること。<br>
+     * <br>
+     * ファイル行イテレータの初期化でカラム定義情報が共有されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testInit01() throws Exception {
+        // 前提条件の設定
+        String fileName = CSVFileLineIteratorTest.class.getResource(
+                "File_Empty.txt").getPath();
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        columnParserMap.put("int", new IntColumnParser());
+        columnParserMap.put("java.math.BigDecimal", new DecimalColumnParser());
+        columnParserMap.put("java.util.Date", new DateColumnParser());
+
+        // テスト実施
+        CSVFileLineIterator<ColumnBinderCompiler_Stub01> first = new CSVFileLineIterator<ColumnBinderCompiler_Stub01>(fileName, ColumnBinderCompiler_Stub01.class, columnParserMap);
+        first.closeFile();
+        FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                .getInputMetadata(ColumnBinderCompiler_Stub01.class);
+        CSVFileLineIterator<ColumnBinderCompiler_Stub01> second = new CSVFileLineIterator<ColumnBinderCompiler_Stub01>(fileName, ColumnBinderCompiler_Stub01.class, columnParserMap);
+        second.closeFile();
+
+        // 状態変化の確認
+        assertEquals(4, metadata.getFields().length);
+        assertTrue(metadata.hasColumnLayout());
+        assertArrayEquals(metadata.getFields(), second.getFields());
+        assertArrayEquals(metadata.getStringConverters(),
+                (StringConverter[]) ReflectionTestUtils.getField(second,
+                        "stringConverters"));
+        assertSame(metadata, FileLineObjectMetadataRegistry.getInputMetadata(
+                ColumnBinderCompiler_Stub01.class));
+    }
+
+    /**
+     * testInit02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(引数) 同じファイル行オブジェクトのクラス、同じカラムパーサーのマップでファイル行イテレータを2回生成<br>
+     * <br>
+     * 期待値：(状態変化) 2回目の初期化で1回目に生成した入力カラムバインダが利用されること。<br>
+     * <br>
+     * 入力カラムバインダがクラス・カラムパーサーのマップごとに1回だけ生成されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testInit02() throws Exception {
+        // 前提条件の設定
+        String fileName = CSVFileLineIteratorTest.class.getResource(
+                "File_Empty.txt").getPath();
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        columnParserMap.put("int", new IntColumnParser());
+        columnParserMap.put("java.math.BigDecimal", new DecimalColumnParser());
+        columnParserMap.put("java.util.Date", new DateColumnParser());
+
+        // テスト実施
+        CSVFileLineIterator<ColumnBinderCompiler_Stub01> first = new CSVFileLineIterator<ColumnBinderCompiler_Stub01>(fileName, ColumnBinderCompiler_Stub01.class, columnParserMap);
+        first.closeFile();
+        CSVFileLineIterator<ColumnBinderCompiler_Stub01> second = new CSVFileLineIterator<ColumnBinderCompiler_Stub01>(fileName, ColumnBinderCompiler_Stub01.class, columnParserMap);
+        second.closeFile();
+
+        // 状態変化の確認
+        InputColumnBinder[] firstBinders = (InputColumnBinder[]) ReflectionTestUtils
+                .getField(first, "columnBinders");
+        InputColumnBinder[] secondBinders = (InputColumnBinder[]) ReflectionTestUtils
+                .getField(second, "columnBinders");
+        assertEquals(4, secondBinders.length);
+        for (int i = 0; i < secondBinders.length; i++) {
+            assertSame(firstBinders[i], secondBinders[i]);
+        }
+    }
+
+    /**
+     * testInit03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(引数) 同じファイル行オブジェクトのクラスで、別のカラムパーサーのマップ、同じカラムパーサーのマップの順にファイル行イテレータを生成<br>
+     * <br>
+     * 期待値：(状態変化) 別のマップではアノテーションからカラムレイアウトが生成され、同じマップでは登録済みのカラムレイアウトが利用されること。<br>
+     * <br>
+     * 登録済みのカラムレイアウトが入力カラムバインダを生成済みのマップでのみ利用されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testInit03() throws Exception {
+        // 前提条件の設定
+        String fileName = CSVFileLineIteratorTest.class.getResource(
+                "File_Empty.txt").getPath();
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        columnParserMap.put("int", new IntColumnParser());
+        columnParserMap.put("java.math.BigDecimal", new DecimalColumnParser());
+        columnParserMap.put("java.util.Date", new DateColumnParser());
+        Map<String, ColumnParser> otherColumnParserMap = new HashMap<String, ColumnParser>();
+        otherColumnParserMap.put("java.lang.String", new NullColumnParser());
+        otherColumnParserMap.put("int", new IntColumnParser());
+        otherColumnParserMap.put("java.math.BigDecimal", new DecimalColumnParser());
+        otherColumnParserMap.put("java.util.Date", new DateColumnParser());
+
+        // テスト実施
+        CSVFileLineIterator<ColumnBinderCompiler_Stub01> first = new CSVFileLineIterator<ColumnBinderCompiler_Stub01>(fileName, ColumnBinderCompiler_Stub01.class, columnParserMap);
+        first.closeFile();
+        FileLineObjectMetadata metadata = FileLineObjectMetadataRegistry
+                .getInputMetadata(ColumnBinderCompiler_Stub01.class);
+        assertFalse(metadata.hasInputColumnBinders(otherColumnParserMap));
+        CSVFileLineIterator<ColumnBinderCompiler_Stub01> other = new CSVFileLineIterator<ColumnBinderCompiler_Stub01>(fileName, ColumnBinderCompiler_Stub01.class, otherColumnParserMap);
+        other.closeFile();
+        CSVFileLineIterator<ColumnBinderCompiler_Stub01> second = new CSVFileLineIterator<ColumnBinderCompiler_Stub01>(fileName, ColumnBinderCompiler_Stub01.class, columnParserMap);
+        second.closeFile();
+
+        // 状態変化の確認
+        assertTrue(metadata.hasInputColumnBinders(columnParserMap));
+        assertTrue(metadata.hasInputColumnBinders(otherColumnParserMap));
+        assertEquals(Boolean.FALSE, ReflectionTestUtils.getField(first,
+                "columnLayoutShared"));
+        assertEquals(Boolean.FALSE, ReflectionTestUtils.getField(other,
+                "columnLayoutShared"));
+        assertEquals(Boolean.TRUE, ReflectionTestUtils.getField(second,
+                "columnLayoutShared"));
+        assertArrayEquals(second.getFields(), other.getFields());
+    }
+}
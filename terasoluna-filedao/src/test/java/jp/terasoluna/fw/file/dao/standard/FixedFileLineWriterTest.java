@@ -1,13 +1,16 @@
 package jp.terasoluna.fw.file.dao.standard;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.util.HashMap;
@@ -17,6 +20,7 @@ import jp.terasoluna.fw.file.annotation.NullStringConverter;
 import jp.terasoluna.fw.file.annotation.OutputFileColumn;
 import jp.terasoluna.fw.file.annotation.PaddingType;
 import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.Test;
@@ -656,4 +660,86 @@ public class FixedFileLineWriterTest {
             reader.close();
         }
     }
+
+    /**
+     * testPrintDataLine04() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：C, F, G <br>
+     * <br>
+     * 入力値：(引数) t:全角文字を含むファイル行オブジェクト、バイト数が一致しないファイル行オブジェクト<br>
+     * (状態) FileFormat:directEncoding=true, fileEncoding="MS932"<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileLineException<br>
+     * バイト数が一致しない行は途中まで書き込まれず、前後の行は書き込まれること。<br>
+     * 書き込んだバイト数がファイルのサイズと一致すること。<br>
+     * <br>
+     * 直接エンコードする場合に、エンコードしたバイト数でバイト数チェックが行われることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine04() throws Exception {
+        // 前処理(ファイル)
+        String fileName = TEMP_FILE_NAME;
+
+        // 前処理(試験対象)
+        Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+
+        FixedFileLineWriter<FixedFileLine_Stub05> fileLineWriter = new FixedFileLineWriter<FixedFileLine_Stub05>(fileName, FixedFileLine_Stub05.class, columnFormatterMap);
+        fileLineWriter.enableByteCount();
+
+        // 前処理(引数)
+        FixedFileLine_Stub05 t1 = new FixedFileLine_Stub05();
+        FixedFileLine_Stub05 t2 = new FixedFileLine_Stub05();
+        FixedFileLine_Stub05 t3 = new FixedFileLine_Stub05();
+
+        t1.setColumn1("あ");
+        t1.setColumn2("ab12");
+        t2.setColumn1("ab");
+        t2.setColumn2("あいう");
+        t3.setColumn1("cd");
+        t3.setColumn2("いう");
+
+        // テスト実施
+        fileLineWriter.printDataLine(t1);
+        try {
+            fileLineWriter.printDataLine(t2);
+            fail("FileLineExceptionがスローされませんでした。");
+        } catch (FileLineException e) {
+            assertEquals(FileLineException.class, e.getClass());
+            assertEquals("column2", e.getColumnName());
+            assertEquals(2, e.getLineNo());
+        }
+        fileLineWriter.printDataLine(t3);
+        long writtenBytes = fileLineWriter.getWrittenBytes();
+
+        fileLineWriter.closeFile();
+
+        // 状態変化の確認
+        byte[] expected = "あab12\r\ncdいう\r\n".getBytes("MS932");
+        assertArrayEquals(expected, readFile(fileName));
+        assertEquals(expected.length, writtenBytes);
+    }
+
+    /**
+     * ファイルの内容を読み込む。
+     * @param fileName ファイル名
+     * @return ファイルの内容
+     * @throws IOException 入出力エラー
+     */
+    private byte[] readFile(String fileName) throws IOException {
+        FileInputStream in = new FileInputStream(fileName);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                out.write(buf, 0, len);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
 }
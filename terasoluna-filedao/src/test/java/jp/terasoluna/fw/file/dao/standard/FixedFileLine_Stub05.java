@@ -0,0 +1,30 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+
+@FileFormat(lineFeedChar = "\r\n", fileEncoding = "MS932", directEncoding = true)
+public class FixedFileLine_Stub05 {
+
+    @OutputFileColumn(columnIndex = 0, bytes = 2)
+    private String column1 = null;
+
+    @OutputFileColumn(columnIndex = 1, bytes = 4)
+    private String column2 = null;
+
+    public String getColumn1() {
+        return column1;
+    }
+
+    public void setColumn1(String column1) {
+        this.column1 = column1;
+    }
+
+    public String getColumn2() {
+        return column2;
+    }
+
+    public void setColumn2(String column2) {
+        this.column2 = column2;
+    }
+}
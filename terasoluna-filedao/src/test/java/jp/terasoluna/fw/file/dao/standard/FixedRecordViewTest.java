@@ -0,0 +1,398 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.FixedRecordView} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 固定長ファイルのデータ行のビュー(フライウェイト)。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.FixedRecordView
+ * @see jp.terasoluna.fw.file.dao.standard.FixedRecordFile
+ */
+public class FixedRecordViewTest {
+
+    /**
+     * テストで利用するファイル。
+     */
+    private File file = null;
+
+    /**
+     * テストで利用するファイルを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("FixedRecordViewTest", ".txt");
+    }
+
+    /**
+     * テストで利用したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * 行番号に応じたデータ行の文字列を生成する。
+     * @param i 行番号
+     * @return データ行の文字列
+     */
+    private String createRecord(int i) {
+        return String.format("C%-3d%6d%010d%08.2f201601%02dあい\r\n", i, i * 100
+                - 500, i * 100000007L, i * 1.25, i % 28 + 1);
+    }
+
+    /**
+     * ヘッダ部1行、データ部、トレイラ部1行のファイルを作成する。
+     * @param count データ部の行数
+     * @param suffix ファイルの末尾に追加する文字列
+     * @throws Exception 予期しない例外
+     */
+    private void writeFile(int count, String suffix) throws Exception {
+        StringBuilder content = new StringBuilder("HEADER\r\n");
+        for (int i = 0; i < count; i++) {
+            content.append(createRecord(i));
+        }
+        content.append("TRAILER,").append(count).append("\r\n").append(suffix);
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(content.toString().getBytes("UTF-8"));
+        } finally {
+            fos.close();
+        }
+    }
+
+    /**
+     * ビューが行番号に応じたデータ行を参照していることを確認する。
+     * @param i 行番号
+     * @param view ビュー
+     * @throws Exception 予期しない例外
+     */
+    private void assertRecord(int i, FixedRecordView view) throws Exception {
+        assertEquals(i, view.getRecordNumber());
+        assertEquals("C" + i, view.getString(0));
+        assertEquals(i * 100 - 500, view.getInt(1));
+        assertEquals(i * 100000007L, view.getLong(2));
+        assertEquals(new BigDecimal(String.format("%08.2f", i * 1.25)), view
+                .getDecimal(3));
+        assertEquals(new SimpleDateFormat("yyyyMMdd").parse(String.format(
+                "201601%02d", i % 28 + 1)), view.getDate(4));
+        assertEquals("あい", view.getString(5));
+    }
+
+    /**
+     * testNext01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(状態) ファイル:ヘッダ部1行、データ部100行、トレイラ部1行<br>
+     * <br>
+     * 期待値：(戻り値) データ部の各行を順に参照し、各カラムの値を型ごとのgetterで取得できること。<br>
+     * (状態変化) ヘッダ部・トレイラ部が読み込まれ、データ部の行数が100となること。<br>
+     * <br>
+     * データ部を先頭から順に参照できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext01() throws Exception {
+        // 前提条件の設定
+        writeFile(100, "");
+        FixedRecordFile recordFile = new FixedRecordFile(file.getAbsolutePath(), FixedRecordView_Stub01.class);
+        try {
+            FixedRecordView view = recordFile.newView();
+
+            // テスト実施
+            int count = 0;
+            while (view.next()) {
+                // 返却値の確認
+                assertRecord(count, view);
+                count++;
+            }
+
+            // 状態変化の確認
+            assertEquals(100, count);
+            assertEquals(100, recordFile.getRecordCount());
+            assertEquals(44, recordFile.getRecordBytes());
+            assertEquals(Arrays.asList("HEADER"), recordFile.getHeader());
+            assertEquals(Arrays.asList("TRAILER,100"), recordFile.getTrailer());
+            assertEquals(1, recordFile.getColumnIndex("amount"));
+            assertEquals(6, recordFile.getColumnCount());
+        } finally {
+            recordFile.close();
+        }
+    }
+
+    /**
+     * testMoveTo01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) number:99～0の降順<br>
+     * (状態) 1回にマップするバイト数:3行分(複数回に分けてマップ)<br>
+     * <br>
+     * 期待値：(戻り値) 指定した番号のデータ行を参照できること。<br>
+     * <br>
+     * データ行の番号を指定して、マップした範囲をまたいで任意の順序で参照できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMoveTo01() throws Exception {
+        // 前提条件の設定
+        writeFile(100, "");
+        FixedRecordFile recordFile = new FixedRecordFile(file.getAbsolutePath(), FixedRecordView_Stub01.class, 44 * 3);
+        try {
+            FixedRecordView view = recordFile.newView();
+
+            // テスト実施
+            for (int i = 99; i >= 0; i--) {
+                // 返却値の確認
+                assertRecord(i, view.moveTo(i));
+            }
+        } finally {
+            recordFile.close();
+        }
+    }
+
+    /**
+     * testCopyTo01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) target:OutputStream、WritableByteChannel<br>
+     * <br>
+     * 期待値：(状態変化) 参照しているデータ行のバイト列(行区切り文字を含む)がそのまま出力されること。
+     * 連続するデータ行を一括で出力できること。<br>
+     * <br>
+     * データ行のバイト列を変換せずに出力できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCopyTo01() throws Exception {
+        // 前提条件の設定
+        writeFile(10, "");
+        FixedRecordFile recordFile = new FixedRecordFile(file.getAbsolutePath(), FixedRecordView_Stub01.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(out);
+        try {
+            FixedRecordView view = recordFile.newView();
+
+            // テスト実施
+            while (view.next()) {
+                if (view.getInt(1) < 0) {
+                    view.copyTo(out);
+                } else if (view.getRecordNumber() % 2 == 0) {
+                    view.copyTo(channel);
+                }
+            }
+            recordFile.transferRecords(8, 2, channel);
+        } finally {
+            recordFile.close();
+        }
+
+        // 状態変化の確認
+        String expected = createRecord(0) + createRecord(1) + createRecord(2)
+                + createRecord(3) + createRecord(4) + createRecord(6)
+                + createRecord(8) + createRecord(8) + createRecord(9);
+        assertEquals(expected, out.toString("UTF-8"));
+    }
+
+    /**
+     * testGetInt01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) columnIndex:数値ではない文字列のカラム<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileLineException<br>
+     * メッセージ："Failed in coluomn data parsing."<br>
+     * 行番号、カラム名、カラムインデックスが設定されること。<br>
+     * <br>
+     * 数値に変換できない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetInt01() throws Exception {
+        // 前提条件の設定
+        writeFile(3, "");
+        FixedRecordFile recordFile = new FixedRecordFile(file.getAbsolutePath(), FixedRecordView_Stub01.class);
+        try {
+            FixedRecordView view = recordFile.newView().moveTo(2);
+
+            // テスト実施
+            view.getInt(0);
+            fail("FileLineExceptionがスローされませんでした。");
+        } catch (FileLineException e) {
+            // 状態変化の確認
+            assertEquals("Failed in coluomn data parsing.", e.getMessage());
+            assertEquals(3, e.getLineNo());
+            assertEquals("code", e.getColumnName());
+            assertEquals(0, e.getColumnIndex());
+            assertTrue(e.getCause() instanceof NumberFormatException);
+        } finally {
+            recordFile.close();
+        }
+    }
+
+    /**
+     * testGetInt02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) ファイル:UTF-8、トリム文字が全角空白(U+3000)で、NULで埋められたカラム<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Trim char is not half-width character."<br>
+     * <br>
+     * トリム文字がASCII文字ではない場合に、バイト列でトリムせず(NULをトリムせず)、
+     * FixedFileLineIteratorと同じトリム処理を行うことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetInt02() throws Exception {
+        // 前提条件の設定
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write("\u0000\u0000\u0000\u0000\u0000\u0000123-123.5\u3000\n".getBytes("UTF-8"));
+        } finally {
+            fos.close();
+        }
+        FixedRecordFile recordFile = new FixedRecordFile(file.getAbsolutePath(), FixedRecordView_Stub02.class);
+        try {
+            FixedRecordView view = recordFile.newView().moveTo(0);
+
+            // テスト実施
+            view.getInt(0);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Trim char is not half-width character.", e
+                    .getMessage());
+        } finally {
+            recordFile.close();
+        }
+    }
+
+    /**
+     * testGetInt03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(状態) ファイル:EBCDIC(Cp037)<br>
+     * <br>
+     * 期待値：(戻り値) 符号、数字、小数点を含む数値が取得できること。<br>
+     * <br>
+     * ファイルエンコーディングがASCII互換ではない場合に、文字列に変換してから数値に変換することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetInt03() throws Exception {
+        // 前提条件の設定
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write("  -12300042012.50\n".getBytes("Cp037"));
+        } finally {
+            fos.close();
+        }
+        FixedRecordFile recordFile = new FixedRecordFile(file.getAbsolutePath(), FixedRecordView_Stub03.class);
+        try {
+            FixedRecordView view = recordFile.newView().moveTo(0);
+
+            // テスト実施・返却値の確認
+            assertEquals(-123, view.getInt(0));
+            assertEquals(42L, view.getLong(1));
+            assertEquals(new BigDecimal("12.50"), view.getDecimal(2));
+        } finally {
+            recordFile.close();
+        }
+    }
+
+    /**
+     * testFixedRecordFile01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) ファイル:データ部のバイト数が1行分のバイト数の倍数ではない<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Data size is not a multiple of record bytes."<br>
+     * <br>
+     * データ部のバイト数が不正な場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testFixedRecordFile01() throws Exception {
+        // 前提条件の設定
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(("HEADER\r\n" + createRecord(0) + "X\r\n" + "TRAILER\r\n")
+                    .getBytes("UTF-8"));
+        } finally {
+            fos.close();
+        }
+
+        try {
+            // テスト実施
+            new FixedRecordFile(file.getAbsolutePath(), FixedRecordView_Stub01.class);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Data size is not a multiple of record bytes.", e
+                    .getMessage());
+        }
+    }
+
+    /**
+     * testNext02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：D <br>
+     * <br>
+     * 入力値：(状態) ファイル:ヘッダ部・トレイラ部のみ<br>
+     * <br>
+     * 期待値：(戻り値) next():false<br>
+     * <br>
+     * データ部が無い場合に、データ行が存在しないと判定されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext02() throws Exception {
+        // 前提条件の設定
+        writeFile(0, "");
+        FixedRecordFile recordFile = new FixedRecordFile(file.getAbsolutePath(), FixedRecordView_Stub01.class);
+        try {
+            // テスト実施・返却値の確認
+            assertFalse(recordFile.newView().next());
+            assertEquals(0, recordFile.getRecordCount());
+        } finally {
+            recordFile.close();
+        }
+    }
+}
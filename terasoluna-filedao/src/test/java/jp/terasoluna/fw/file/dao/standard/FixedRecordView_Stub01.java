@@ -0,0 +1,145 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.TrimType;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\r\n", fileEncoding = "UTF-8", headerLineCount = 1, trailerLineCount = 1)
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0, bytes = 4, trimType = TrimType.RIGHT)<br>
+ * String code
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1, bytes = 6, trimType = TrimType.LEFT)<br>
+ * int amount
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 2, bytes = 10)<br>
+ * long count
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 3, bytes = 8)<br>
+ * BigDecimal price
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 4, bytes = 8)<br>
+ * Date date
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 5, bytes = 6, trimType = TrimType.RIGHT)<br>
+ * String name
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\r\n", fileEncoding = "UTF-8", headerLineCount = 1, trailerLineCount = 1)
+public class FixedRecordView_Stub01 {
+
+    @InputFileColumn(columnIndex = 0, bytes = 4, trimType = TrimType.RIGHT)
+    private String code;
+
+    @InputFileColumn(columnIndex = 1, bytes = 6, trimType = TrimType.LEFT)
+    private int amount;
+
+    @InputFileColumn(columnIndex = 2, bytes = 10)
+    private long count;
+
+    @InputFileColumn(columnIndex = 3, bytes = 8)
+    private BigDecimal price;
+
+    @InputFileColumn(columnIndex = 4, bytes = 8)
+    private Date date;
+
+    @InputFileColumn(columnIndex = 5, bytes = 6, trimType = TrimType.RIGHT)
+    private String name;
+
+    /**
+     * @return code
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @param code 設定する code
+     */
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    /**
+     * @return amount
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * @param amount 設定する amount
+     */
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * @return count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @param count 設定する count
+     */
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    /**
+     * @return price
+     */
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    /**
+     * @param price 設定する price
+     */
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    /**
+     * @return date
+     */
+    public Date getDate() {
+        return date;
+    }
+
+    /**
+     * @param date 設定する date
+     */
+    public void setDate(Date date) {
+        this.date = date;
+    }
+
+    /**
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name 設定する name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,60 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.math.BigDecimal;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.TrimType;
+
+/**
+ * 全角のトリム文字を設定したカラムを持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\n", fileEncoding = "UTF-8")
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0, bytes = 9, trimType = TrimType.LEFT, trimChar = '　')<br>
+ * int amount
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1, bytes = 9, trimType = TrimType.RIGHT, trimChar = '　')<br>
+ * BigDecimal price
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\n", fileEncoding = "UTF-8")
+public class FixedRecordView_Stub02 {
+
+    @InputFileColumn(columnIndex = 0, bytes = 9, trimType = TrimType.LEFT, trimChar = '　')
+    private int amount;
+
+    @InputFileColumn(columnIndex = 1, bytes = 9, trimType = TrimType.RIGHT, trimChar = '　')
+    private BigDecimal price;
+
+    /**
+     * @return amount
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * @param amount 設定する amount
+     */
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * @return price
+     */
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    /**
+     * @param price 設定する price
+     */
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
@@ -0,0 +1,81 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.math.BigDecimal;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.TrimType;
+
+/**
+ * ASCII互換ではないファイルエンコーディングの、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\n", fileEncoding = "Cp037")
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0, bytes = 6, trimType = TrimType.LEFT)<br>
+ * int amount
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1, bytes = 5)<br>
+ * long count
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 2, bytes = 6)<br>
+ * BigDecimal price
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\n", fileEncoding = "Cp037")
+public class FixedRecordView_Stub03 {
+
+    @InputFileColumn(columnIndex = 0, bytes = 6, trimType = TrimType.LEFT)
+    private int amount;
+
+    @InputFileColumn(columnIndex = 1, bytes = 5)
+    private long count;
+
+    @InputFileColumn(columnIndex = 2, bytes = 6)
+    private BigDecimal price;
+
+    /**
+     * @return amount
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * @param amount 設定する amount
+     */
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * @return count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @param count 設定する count
+     */
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    /**
+     * @return price
+     */
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    /**
+     * @param price 設定する price
+     */
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
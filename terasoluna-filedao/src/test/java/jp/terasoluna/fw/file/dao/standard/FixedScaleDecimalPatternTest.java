@@ -0,0 +1,201 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DecimalFormat;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.FixedScaleDecimalPattern} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 固定小数桁の数値パターンを高速に変換する。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.FixedScaleDecimalPattern
+ */
+public class FixedScaleDecimalPatternTest {
+
+    /**
+     * testIsSupported01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) pattern:各種数値パターン<br>
+     * <br>
+     * 期待値：(戻り値) 「#」「0」「,」「.」のみで構成されるパターンのみtrue<br>
+     * <br>
+     * 固定小数桁のパターンのみ高速変換の対象となることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testIsSupported01() throws Exception {
+        assertTrue(new FixedScaleDecimalPattern("#,##0.00").isSupported());
+        assertTrue(new FixedScaleDecimalPattern("###,###.##").isSupported());
+        assertTrue(new FixedScaleDecimalPattern("0").isSupported());
+        assertFalse(new FixedScaleDecimalPattern(null).isSupported());
+        assertFalse(new FixedScaleDecimalPattern("").isSupported());
+        assertFalse(new FixedScaleDecimalPattern("0.00%").isSupported());
+        assertFalse(new FixedScaleDecimalPattern("¥#,##0").isSupported());
+        assertFalse(new FixedScaleDecimalPattern("0.0E0").isSupported());
+        assertFalse(new FixedScaleDecimalPattern("0.0.0").isSupported());
+        assertFalse(new FixedScaleDecimalPattern("#,##0;(#,##0)")
+                .isSupported());
+    }
+
+    /**
+     * testParsePlain01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) source:各種数値文字列<br>
+     * <br>
+     * 期待値：(戻り値) new BigDecimal(String)と同じ値・スケールのBigDecimal。変換できない場合はnull。<br>
+     * <br>
+     * フォーマット未指定時の変換結果を確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testParsePlain01() throws Exception {
+        assertEquals(new BigDecimal("-0.10"), FixedScaleDecimalPattern
+                .parsePlain("-0.10"));
+        assertEquals(new BigDecimal("+12"), FixedScaleDecimalPattern
+                .parsePlain("+12"));
+        assertEquals(new BigDecimal(".5"), FixedScaleDecimalPattern
+                .parsePlain(".5"));
+        assertEquals(new BigDecimal("1."), FixedScaleDecimalPattern
+                .parsePlain("1."));
+        assertEquals(new BigDecimal("000123456789012345678"),
+                FixedScaleDecimalPattern.parsePlain("000123456789012345678"));
+        assertNull(FixedScaleDecimalPattern.parsePlain(null));
+        assertNull(FixedScaleDecimalPattern.parsePlain(""));
+        assertNull(FixedScaleDecimalPattern.parsePlain("-"));
+        assertNull(FixedScaleDecimalPattern.parsePlain("1e3"));
+        assertNull(FixedScaleDecimalPattern.parsePlain("1,000"));
+        assertNull(FixedScaleDecimalPattern.parsePlain("1.2.3"));
+        assertNull(FixedScaleDecimalPattern.parsePlain("1234567890123456789"));
+    }
+
+    /**
+     * testFormat01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) value:各種数値<br>
+     * <br>
+     * 期待値：(戻り値) DecimalFormatと同じ文字列<br>
+     * <br>
+     * 丸め、3桁区切り、負のゼロなどがDecimalFormatと同じ結果となることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testFormat01() throws Exception {
+        FixedScaleDecimalPattern pattern = new FixedScaleDecimalPattern("#,##0.00");
+        assertEquals("1,234.50", pattern.format(new BigDecimal("1234.5")));
+        assertEquals("1,234.56", pattern.format(new BigDecimal("1234.565")));
+        assertEquals("-0.00", pattern.format(new BigDecimal("-0.001")));
+        assertEquals("0.00", pattern.format(BigDecimal.ZERO));
+        assertEquals("100", new FixedScaleDecimalPattern("###,###.##").format(
+                new BigDecimal("1E+2")));
+        assertNull(pattern.format(null));
+        assertNull(new FixedScaleDecimalPattern("0%").format(BigDecimal.ONE));
+    }
+
+    /**
+     * testCompatibility01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(引数) ランダムに生成した数値と数値文字列<br>
+     * <br>
+     * 期待値：(戻り値) 高速に変換できた場合は、DecimalFormatと同じ結果となること。<br>
+     * <br>
+     * 高速変換の結果が汎用処理と一致することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompatibility01() throws Exception {
+        Random random = new Random(0L);
+        String[] patterns = { "###,###.##", "#,##0.00", "0.00", "#", "#.##",
+                "000", "#,####", "0.#", "##0.0##" };
+        for (String p : patterns) {
+            FixedScaleDecimalPattern pattern = new FixedScaleDecimalPattern(p);
+            DecimalFormat formatter = new DecimalFormat(p);
+            DecimalFormat parser = new DecimalFormat(p);
+            parser.setParseBigDecimal(true);
+            for (int i = 0; i < 2000; i++) {
+                BigDecimal value = new BigDecimal(new BigInteger(1 + random
+                        .nextInt(60), random).multiply(BigInteger.valueOf(
+                                random.nextBoolean() ? 1 : -1)), random.nextInt(
+                                        12) - 3);
+                assertEquals(formatter.format(value), pattern.format(value));
+
+                String source = randomNumber(random);
+                BigDecimal result = pattern.parse(source);
+                if (result != null) {
+                    assertEquals(source, parser.parse(source), result);
+                }
+            }
+        }
+        for (int i = 0; i < 10000; i++) {
+            String source = randomNumber(random);
+            BigDecimal result = FixedScaleDecimalPattern.parsePlain(source);
+            if (result != null) {
+                assertEquals(source, new BigDecimal(source), result);
+            }
+        }
+    }
+
+    /**
+     * ランダムな数値文字列を生成する。
+     * @param random 乱数
+     * @return 数値文字列
+     */
+    private static String randomNumber(Random random) {
+        String chars = ".-,";
+        StringBuilder builder = new StringBuilder();
+        if (random.nextInt(3) == 0) {
+            builder.append('-');
+        }
+        int length = 1 + random.nextInt(22);
+        for (int i = 0; i < length; i++) {
+            if (random.nextInt(8) == 0) {
+                builder.append(chars.charAt(random.nextInt(chars.length())));
+            } else {
+                builder.append((char) ('0' + random.nextInt(10)));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * testParse01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) source:3桁区切り文字、「+」符号を含む文字列<br>
+     * <br>
+     * 期待値：(戻り値) null<br>
+     * <br>
+     * フォーマット指定時に高速に変換できない文字列の場合はnullが返却されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testParse01() throws Exception {
+        FixedScaleDecimalPattern pattern = new FixedScaleDecimalPattern("#,##0.00");
+        assertEquals(new BigDecimal("1234.5"), pattern.parse("1234.5"));
+        assertNull(pattern.parse("1,234.5"));
+        assertNull(pattern.parse("+1"));
+        assertNull(new FixedScaleDecimalPattern("0%").parse("1"));
+    }
+}
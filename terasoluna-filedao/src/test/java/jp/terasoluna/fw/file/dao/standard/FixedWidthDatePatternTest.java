@@ -0,0 +1,171 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.FixedWidthDatePattern} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 固定桁の日付パターンを高速に変換する。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.FixedWidthDatePattern
+ */
+public class FixedWidthDatePatternTest {
+
+    /**
+     * testIsSupported01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) pattern:各種日付パターン<br>
+     * <br>
+     * 期待値：(戻り値) 固定桁のパターンのみtrue<br>
+     * <br>
+     * 固定桁で表現できるパターンのみ高速変換の対象となることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testIsSupported01() throws Exception {
+        assertTrue(new FixedWidthDatePattern("yyyyMMdd").isSupported());
+        assertTrue(new FixedWidthDatePattern("yyyy/MM/dd").isSupported());
+        assertTrue(new FixedWidthDatePattern("HHmmss").isSupported());
+        assertTrue(new FixedWidthDatePattern("yyyy-MM-dd HH:mm:ss.SSS")
+                .isSupported());
+        assertFalse(new FixedWidthDatePattern("").isSupported());
+        assertFalse(new FixedWidthDatePattern("yyMMdd").isSupported());
+        assertFalse(new FixedWidthDatePattern("yyyy/M/d").isSupported());
+        assertFalse(new FixedWidthDatePattern("yyyyMMMdd").isSupported());
+        assertFalse(new FixedWidthDatePattern("yyyy'T'MM").isSupported());
+        assertFalse(new FixedWidthDatePattern("hhmmss a").isSupported());
+    }
+
+    /**
+     * testParse01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) source:パターンと形式が一致する文字列<br>
+     * <br>
+     * 期待値：(戻り値) SimpleDateFormatと同じDate<br>
+     * <br>
+     * パターンと形式が一致する文字列を変換できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testParse01() throws Exception {
+        assertEquals(new SimpleDateFormat("yyyyMMdd").parse("20160229"),
+                new FixedWidthDatePattern("yyyyMMdd").parse("20160229"));
+        assertEquals(new SimpleDateFormat("yyyy/MM/dd").parse("0001/01/01"),
+                new FixedWidthDatePattern("yyyy/MM/dd").parse("0001/01/01"));
+        assertEquals(new SimpleDateFormat("HHmmss").parse("235959"),
+                new FixedWidthDatePattern("HHmmss").parse("235959"));
+    }
+
+    /**
+     * testParse02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) source:形式が一致しない文字列、存在しない日付<br>
+     * <br>
+     * 期待値：(戻り値) null<br>
+     * <br>
+     * 高速に変換できない文字列の場合はnullが返却されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testParse02() throws Exception {
+        FixedWidthDatePattern pattern = new FixedWidthDatePattern("yyyy/MM/dd");
+        assertNull(pattern.parse(null));
+        assertNull(pattern.parse("2016/1/01"));
+        assertNull(pattern.parse("2016-01-01"));
+        assertNull(pattern.parse("2016/01/0a"));
+        assertNull(pattern.parse("2015/02/29"));
+        assertNull(pattern.parse("2016/13/01"));
+        assertNull(pattern.parse("0000/01/01"));
+        assertNull(new FixedWidthDatePattern("HHmmss").parse("240000"));
+        assertNull(new FixedWidthDatePattern("yyMMdd").parse("160101"));
+    }
+
+    /**
+     * testFormat01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) date:日付<br>
+     * <br>
+     * 期待値：(戻り値) SimpleDateFormatと同じ文字列<br>
+     * <br>
+     * 日付を文字列に変換できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testFormat01() throws Exception {
+        Date date = new SimpleDateFormat("yyyyMMddHHmmssSSS").parse(
+                "00990102030405006");
+        assertEquals("0099/01/02", new FixedWidthDatePattern("yyyy/MM/dd")
+                .format(date));
+        assertEquals("030405.006", new FixedWidthDatePattern("HHmmss.SSS")
+                .format(date));
+        assertNull(new FixedWidthDatePattern("yyyy/MM/dd").format(null));
+        assertNull(new FixedWidthDatePattern("yy/MM/dd").format(date));
+    }
+
+    /**
+     * testCompatibility01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(引数) ランダムに生成した日付と、その文字列表現の一部を書き換えた文字列<br>
+     * <br>
+     * 期待値：(戻り値) 高速に変換できた場合は、setLenient(false)のSimpleDateFormatと同じ結果となること。<br>
+     * <br>
+     * 高速変換の結果が汎用処理と一致することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCompatibility01() throws Exception {
+        Random random = new Random(0L);
+        String[] patterns = { "yyyyMMdd", "yyyy/MM/dd", "HHmmss",
+                "yyyyMMddHHmmssSSS", "yyyy-MM-dd HH:mm:ss" };
+        for (String p : patterns) {
+            FixedWidthDatePattern pattern = new FixedWidthDatePattern(p);
+            SimpleDateFormat sdf = new SimpleDateFormat(p);
+            sdf.setLenient(false);
+            for (int i = 0; i < 2000; i++) {
+                Date date = new Date((long) ((random.nextDouble() - 0.3) * 4.0e12));
+                String expected = sdf.format(date);
+                assertEquals(expected, pattern.format(date));
+
+                char[] chars = expected.toCharArray();
+                chars[random.nextInt(chars.length)] = (char) ('0' + random
+                        .nextInt(10));
+                String source = new String(chars);
+                Date result = pattern.parse(source);
+                if (result != null) {
+                    assertEquals(source, sdf.parse(source), result);
+                } else {
+                    try {
+                        sdf.parse(source);
+                    } catch (ParseException e) {
+                        // 汎用処理でもエラーとなる。
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.UnsupportedEncodingException;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.HalfWidthCharacterTable} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> ファイルエンコーディングごとの半角文字の判定テーブル。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.HalfWidthCharacterTable
+ */
+public class HalfWidthCharacterTableTest {
+
+    /**
+     * testIsHalfWidth01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：A <br>
+     * <br>
+     * 入力値：(引数) c:半角英数字、半角カナ、全角文字、サロゲート文字<br>
+     * (状態) fileEncoding:"MS932"<br>
+     * <br>
+     * 期待値：(戻り値) 半角英数字・半角カナはtrue、全角文字・サロゲート文字はfalse<br>
+     * <br>
+     * ファイルエンコーディングで1バイトとなる文字が半角文字と判定されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testIsHalfWidth01() throws Exception {
+        // 前提条件の設定
+        HalfWidthCharacterTable table = HalfWidthCharacterTable.getTable(
+                "MS932");
+
+        // テスト実施・返却値の確認
+        assertTrue(table.isHalfWidth('A'));
+        assertTrue(table.isHalfWidth(' '));
+        assertTrue(table.isHalfWidth('ｱ'));
+        assertFalse(table.isHalfWidth('ア'));
+        assertFalse(table.isHalfWidth('　'));
+        assertFalse(table.isHalfWidth('\ud842'));
+        assertTrue(table.isHalfWidth("Aｱ 1"));
+        assertFalse(table.isHalfWidth("Aア"));
+        assertTrue(table.isHalfWidth(""));
+    }
+
+    /**
+     * testIsHalfWidth02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：A <br>
+     * <br>
+     * 入力値：(引数) c:半角カナ<br>
+     * (状態) fileEncoding:"UTF-8"<br>
+     * <br>
+     * 期待値：(戻り値) false<br>
+     * <br>
+     * ファイルエンコーディングによって判定結果が異なることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testIsHalfWidth02() throws Exception {
+        // 前提条件の設定
+        HalfWidthCharacterTable table = HalfWidthCharacterTable.getTable(
+                "UTF-8");
+
+        // テスト実施・返却値の確認
+        assertTrue(table.isHalfWidth('A'));
+        assertFalse(table.isHalfWidth('ｱ'));
+    }
+
+    /**
+     * testGetTable01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) fileEncoding:同じファイルエンコーディングを2回指定<br>
+     * <br>
+     * 期待値：(戻り値) 同じ判定テーブル<br>
+     * <br>
+     * 判定テーブルがファイルエンコーディングごとに共有されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetTable01() throws Exception {
+        // テスト実施・返却値の確認
+        assertSame(HalfWidthCharacterTable.getTable("EUC-JP"),
+                HalfWidthCharacterTable.getTable("EUC-JP"));
+    }
+
+    /**
+     * testGetTable02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) fileEncoding:存在しないエンコーディング<br>
+     * <br>
+     * 期待値：(状態変化) 例外:UnsupportedEncodingException<br>
+     * <br>
+     * 存在しないエンコーディングの場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetTable02() throws Exception {
+        try {
+            // テスト実施
+            HalfWidthCharacterTable.getTable("aaa");
+            fail("UnsupportedEncodingExceptionがスローされませんでした。");
+        } catch (UnsupportedEncodingException e) {
+            // 状態変化の確認
+            assertSame(UnsupportedEncodingException.class, e.getClass());
+        }
+    }
+}
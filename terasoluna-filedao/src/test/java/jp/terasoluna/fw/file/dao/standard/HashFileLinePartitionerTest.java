@@ -0,0 +1,108 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.HashFileLinePartitioner} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> キー項目のハッシュ値で出力先パーティションを決定するクラス。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.HashFileLinePartitioner
+ */
+public class HashFileLinePartitionerTest {
+
+    /**
+     * testGetPartition01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) t:キー項目の値が"B1"、null<br>
+     * (引数) partitionCount:7<br>
+     * <br>
+     * 期待値：(戻り値) "B1"の場合:"B1".hashCode() % 7<br>
+     * nullの場合:0<br>
+     * <br>
+     * キー項目の値のハッシュ値からパーティションの番号が決定されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetPartition01() throws Exception {
+        // 前提条件の設定
+        HashFileLinePartitioner<PartitionedFileLineWriter_Stub01> partitioner = new HashFileLinePartitioner<PartitionedFileLineWriter_Stub01>("branchCode");
+        PartitionedFileLineWriter_Stub01 line = new PartitionedFileLineWriter_Stub01();
+
+        // テスト実施
+        line.setBranchCode("B1");
+        int result1 = partitioner.getPartition(line, 7);
+        line.setBranchCode(null);
+        int result2 = partitioner.getPartition(line, 7);
+
+        // 返却値の確認
+        assertEquals("B1".hashCode() % 7, result1);
+        assertEquals(0, result2);
+    }
+
+    /**
+     * testGetPartition02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) t:キー項目(int)の値がInteger.MIN_VALUE<br>
+     * (引数) partitionCount:3<br>
+     * <br>
+     * 期待値：(戻り値) 0以上、3未満の番号<br>
+     * <br>
+     * ハッシュ値が負の値の場合もパーティション数未満の番号が返却されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetPartition02() throws Exception {
+        // 前提条件の設定
+        HashFileLinePartitioner<PartitionedFileLineWriter_Stub01> partitioner = new HashFileLinePartitioner<PartitionedFileLineWriter_Stub01>("seq");
+        PartitionedFileLineWriter_Stub01 line = new PartitionedFileLineWriter_Stub01();
+        line.setSeq(Integer.MIN_VALUE + 1);
+
+        // テスト実施
+        int result = partitioner.getPartition(line, 3);
+
+        // 返却値の確認
+        assertEquals((Integer.MAX_VALUE & (Integer.MIN_VALUE + 1)) % 3, result);
+    }
+
+    /**
+     * testGetPartition03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) propertyName:getterメソッドが存在しない属性名<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："The getter method of column doesn't exist."<br>
+     * <br>
+     * キー項目のgetterメソッドが存在しない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testGetPartition03() throws Exception {
+        // 前提条件の設定
+        HashFileLinePartitioner<PartitionedFileLineWriter_Stub01> partitioner = new HashFileLinePartitioner<PartitionedFileLineWriter_Stub01>("notExist");
+
+        try {
+            // テスト実施
+            partitioner.getPartition(new PartitionedFileLineWriter_Stub01(), 3);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("The getter method of column doesn't exist.", e
+                    .getMessage());
+        }
+    }
+}
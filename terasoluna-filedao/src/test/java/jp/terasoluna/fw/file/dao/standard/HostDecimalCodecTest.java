@@ -0,0 +1,246 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.HostDecimalCodec} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> パック10進数、ゾーン10進数の変換クラス。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.HostDecimalCodec
+ */
+public class HostDecimalCodecTest {
+
+    /**
+     * int値の配列をバイト配列に変換する。
+     * @param values int値の配列
+     * @return バイト配列
+     */
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    /**
+     * testDecodePacked01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) bytes:0x12 0x34 0x5C、0x12 0x34 0x5D、0x12 0x34 0x5F、前後に別のバイトを含む配列<br>
+     * <br>
+     * 期待値：(戻り値) 12345、-12345、12345、小数点以下2桁のBigDecimal<br>
+     * <br>
+     * パック10進数が符号に応じて数値に変換されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testDecodePacked01() throws Exception {
+        // テスト実施・返却値の確認
+        assertEquals(12345L, HostDecimalCodec.decodePacked(bytes(0x12, 0x34,
+                0x5C), 0, 3));
+        assertEquals(-12345L, HostDecimalCodec.decodePacked(bytes(0x12, 0x34,
+                0x5D), 0, 3));
+        assertEquals(12345L, HostDecimalCodec.decodePacked(bytes(0x12, 0x34,
+                0x5F), 0, 3));
+        assertEquals(new BigDecimal("-123.45"), HostDecimalCodec.decodePacked(
+                bytes(0xFF, 0x12, 0x34, 0x5D, 0xFF), 1, 3, 2));
+    }
+
+    /**
+     * testDecodePacked02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：D <br>
+     * <br>
+     * 入力値：(引数) bytes:19桁を超えるパック10進数、Long.MIN_VALUE<br>
+     * <br>
+     * 期待値：(戻り値) BigDecimalの場合は桁数に関わらず変換され、long値の場合はlong型の範囲まで変換されること。<br>
+     * <br>
+     * long型で表現できない桁数のパック10進数が変換されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testDecodePacked02() throws Exception {
+        // 前提条件の設定
+        byte[] large = new byte[12];
+        HostDecimalCodec.encodePacked(new BigDecimal(
+                "-12345678901234567890.123"), 3, large, 0, 12);
+        byte[] min = new byte[10];
+        HostDecimalCodec.encodePacked(Long.MIN_VALUE, min, 0, 10);
+
+        // テスト実施・返却値の確認
+        assertEquals(new BigDecimal("-12345678901234567890.123"),
+                HostDecimalCodec.decodePacked(large, 0, 12, 3));
+        assertEquals(Long.MIN_VALUE, HostDecimalCodec.decodePacked(min, 0,
+                10));
+        try {
+            HostDecimalCodec.decodePacked(large, 0, 12);
+            fail("NumberFormatExceptionがスローされませんでした。");
+        } catch (NumberFormatException e) {
+            assertEquals("Value is out of range of long.", e.getMessage());
+        }
+    }
+
+    /**
+     * testDecodePacked03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) bytes:符号が不正、数字が不正なパック10進数<br>
+     * <br>
+     * 期待値：(状態変化) 例外:NumberFormatException<br>
+     * <br>
+     * 不正なパック10進数の場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testDecodePacked03() throws Exception {
+        try {
+            // テスト実施
+            HostDecimalCodec.decodePacked(bytes(0x12, 0x34, 0x56), 0, 3);
+            fail("NumberFormatExceptionがスローされませんでした。");
+        } catch (NumberFormatException e) {
+            // 状態変化の確認
+            assertEquals("Invalid sign: 6", e.getMessage());
+        }
+        try {
+            // テスト実施
+            HostDecimalCodec.decodePacked(bytes(0x1A, 0x34, 0x5C), 0, 3);
+            fail("NumberFormatExceptionがスローされませんでした。");
+        } catch (NumberFormatException e) {
+            // 状態変化の確認
+            assertEquals("Invalid digit. position: 1", e.getMessage());
+        }
+    }
+
+    /**
+     * testDecodeZoned01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,G <br>
+     * <br>
+     * 入力値：(引数) bytes:0xF1 0xF2 0xC3、0xF1 0xF2 0xD3、ゾーンが不正な値<br>
+     * <br>
+     * 期待値：(戻り値) 123、-1.23<br>
+     * (状態変化) ゾーンが不正な場合は例外:NumberFormatException<br>
+     * <br>
+     * ゾーン10進数が符号に応じて数値に変換されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testDecodeZoned01() throws Exception {
+        // テスト実施・返却値の確認
+        assertEquals(123L, HostDecimalCodec.decodeZoned(bytes(0xF1, 0xF2,
+                0xC3), 0, 3));
+        assertEquals(new BigDecimal("-1.23"), HostDecimalCodec.decodeZoned(
+                bytes(0xF1, 0xF2, 0xD3), 0, 3, 2));
+        try {
+            HostDecimalCodec.decodeZoned(bytes(0x31, 0xF2, 0xC3), 0, 3);
+            fail("NumberFormatExceptionがスローされませんでした。");
+        } catch (NumberFormatException e) {
+            assertEquals("Invalid zone. position: 0", e.getMessage());
+        }
+    }
+
+    /**
+     * testEncodePacked01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) value:12345、-1、BigDecimal(-12.3)をスケール2で4バイトに変換<br>
+     * <br>
+     * 期待値：(状態変化) 上位桁が0で埋められ、正は0xC、負は0xDの符号が格納されること。<br>
+     * <br>
+     * 数値がパック10進数に変換されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testEncodePacked01() throws Exception {
+        // 前提条件の設定
+        byte[] result = new byte[4];
+
+        // テスト実施・状態変化の確認
+        HostDecimalCodec.encodePacked(12345L, result, 0, 4);
+        assertArrayEquals(bytes(0x00, 0x12, 0x34, 0x5C), result);
+        HostDecimalCodec.encodePacked(-1L, result, 0, 4);
+        assertArrayEquals(bytes(0x00, 0x00, 0x00, 0x1D), result);
+        HostDecimalCodec.encodePacked(new BigDecimal("-12.3"), 2, result, 0,
+                4);
+        assertArrayEquals(bytes(0x00, 0x01, 0x23, 0x0D), result);
+    }
+
+    /**
+     * testEncodeZoned01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) value:42、BigDecimal(-1.5)をスケール1で4バイトに変換<br>
+     * <br>
+     * 期待値：(状態変化) 上位桁が0xF0で埋められ、最後のバイトの上位4ビットに符号が格納されること。<br>
+     * <br>
+     * 数値がゾーン10進数に変換されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testEncodeZoned01() throws Exception {
+        // 前提条件の設定
+        byte[] result = new byte[4];
+
+        // テスト実施・状態変化の確認
+        HostDecimalCodec.encodeZoned(42L, result, 0, 4);
+        assertArrayEquals(bytes(0xF0, 0xF0, 0xF4, 0xC2), result);
+        HostDecimalCodec.encodeZoned(new BigDecimal("-1.5"), 1, result, 0, 4);
+        assertArrayEquals(bytes(0xF0, 0xF0, 0xF1, 0xD5), result);
+    }
+
+    /**
+     * testEncodePacked02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) value:カラムの桁数を超える値、スケールを超える小数部を持つ値<br>
+     * <br>
+     * 期待値：(状態変化) 例外:IllegalArgumentException、ArithmeticException<br>
+     * <br>
+     * 変換できない値の場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testEncodePacked02() throws Exception {
+        // 前提条件の設定
+        byte[] result = new byte[2];
+
+        try {
+            // テスト実施
+            HostDecimalCodec.encodePacked(1000L, result, 0, 2);
+            fail("IllegalArgumentExceptionがスローされませんでした。");
+        } catch (IllegalArgumentException e) {
+            // 状態変化の確認
+            assertEquals("Value is too large for the column. value: 1000, digits: 3", e
+                    .getMessage());
+        }
+        try {
+            // テスト実施
+            HostDecimalCodec.encodeZoned(new BigDecimal("1.25"), 1, result, 0,
+                    2);
+            fail("ArithmeticExceptionがスローされませんでした。");
+        } catch (ArithmeticException e) {
+            // 状態変化の確認
+            assertEquals(ArithmeticException.class, e.getClass());
+        }
+    }
+}
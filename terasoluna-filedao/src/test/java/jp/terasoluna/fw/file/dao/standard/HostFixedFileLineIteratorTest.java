@@ -0,0 +1,521 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineException;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.HostFixedFileLineIterator} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> ホスト形式の固定長ファイル用のファイルアクセス(データ取得)クラス。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.HostFixedFileLineIterator
+ */
+public class HostFixedFileLineIteratorTest {
+
+    /**
+     * テストで利用するファイル。
+     */
+    private File file = null;
+
+    /**
+     * テストで利用するファイルを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("HostFixedFileLineIteratorTest", ".dat");
+    }
+
+    /**
+     * テストで利用したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * int値の配列をバイト配列に変換する。
+     * @param values int値の配列
+     * @return バイト配列
+     */
+    static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    /**
+     * ヘッダ部1行、データ部2行、トレイラ部1行のファイルの内容(Cp037、1レコード19バイト)を生成する。
+     * <ul>
+     * <li>1行目：code="AB"、qty=12345、amount=-1234.56、count=42、rate=1.5</li>
+     * <li>2行目：code="X"、qty=-1、amount=0.00、count=-7、rate=99.9</li>
+     * </ul>
+     * @return ファイルの内容
+     * @throws Exception 予期しない例外
+     */
+    static byte[] createContent() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write("HEADER             ".getBytes("Cp037"));
+        out.write("AB  ".getBytes("Cp037"));
+        out.write(bytes(0x12, 0x34, 0x5C));
+        out.write(bytes(0x00, 0x01, 0x23, 0x45, 0x6D));
+        out.write(bytes(0xF0, 0xF0, 0xF4, 0xC2));
+        out.write(bytes(0xF0, 0xF1, 0xC5));
+        out.write("X   ".getBytes("Cp037"));
+        out.write(bytes(0x00, 0x00, 0x1D));
+        out.write(bytes(0x00, 0x00, 0x00, 0x00, 0x0C));
+        out.write(bytes(0xF0, 0xF0, 0xF0, 0xD7));
+        out.write(bytes(0xF9, 0xF9, 0xC9));
+        out.write("TRAILER,2          ".getBytes("Cp037"));
+        return out.toByteArray();
+    }
+
+    /**
+     * ファイルを作成する。
+     * @param content ファイルの内容
+     * @throws Exception 予期しない例外
+     */
+    private void writeFile(byte[] content) throws Exception {
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(content);
+        } finally {
+            fos.close();
+        }
+    }
+
+    /**
+     * ファイル行イテレータを生成する。
+     * @return ファイル行イテレータ
+     */
+    private HostFixedFileLineIterator<HostFixedFileLineIterator_Stub01> createIterator() {
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        HostFixedFileQueryDAO dao = new HostFixedFileQueryDAO();
+        dao.setColumnParserMap(columnParserMap);
+        return (HostFixedFileLineIterator<HostFixedFileLineIterator_Stub01>) dao
+                .execute(file.getAbsolutePath(),
+                        HostFixedFileLineIterator_Stub01.class);
+    }
+
+    /**
+     * testNext01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(状態) ファイル:Cp037、パック10進数・ゾーン10進数のカラムを含む、ヘッダ部1行、データ部2行、トレイラ部1行<br>
+     * <br>
+     * 期待値：(戻り値) 文字カラムは文字コードを変換し、数値カラムはバイト列から直接変換した値が格納されること。<br>
+     * (状態変化) ヘッダ部・トレイラ部は末尾の空白を除去した文字列となること。<br>
+     * <br>
+     * ホスト形式の固定長ファイルを読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext01() throws Exception {
+        // 前提条件の設定
+        writeFile(createContent());
+        HostFixedFileLineIterator<HostFixedFileLineIterator_Stub01> iterator = createIterator();
+        try {
+            // テスト実施
+            HostFixedFileLineIterator_Stub01 first = iterator.next();
+            HostFixedFileLineIterator_Stub01 second = iterator.next();
+
+            // 返却値の確認
+            assertEquals("AB", first.getCode());
+            assertEquals(12345, first.getQty());
+            assertEquals(new BigDecimal("-1234.56"), first.getAmount());
+            assertEquals(42L, first.getCount());
+            assertEquals(new BigDecimal("1.5"), first.getRate());
+            assertEquals("X", second.getCode());
+            assertEquals(-1, second.getQty());
+            assertEquals(new BigDecimal("0.00"), second.getAmount());
+            assertEquals(-7L, second.getCount());
+            assertEquals(new BigDecimal("99.9"), second.getRate());
+
+            // 状態変化の確認
+            assertFalse(iterator.hasNext());
+            assertEquals(2, iterator.getCurrentLineCount());
+            assertEquals(Arrays.asList("HEADER"), iterator.getHeader());
+            assertEquals(Arrays.asList("TRAILER,2"), iterator.getTrailer());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testSkip01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) skipLines:1<br>
+     * <br>
+     * 期待値：(戻り値) 2行目のファイル行オブジェクト<br>
+     * <br>
+     * 読み飛ばした位置から読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testSkip01() throws Exception {
+        // 前提条件の設定
+        writeFile(createContent());
+        HostFixedFileLineIterator<HostFixedFileLineIterator_Stub01> iterator = createIterator();
+        try {
+            // テスト実施
+            iterator.skip(1);
+
+            // 返却値の確認
+            assertTrue(iterator.hasNext());
+            assertEquals("X", iterator.next().getCode());
+            assertFalse(iterator.hasNext());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testNext02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) ファイル:2行目のパック10進数の符号が不正<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileLineException<br>
+     * メッセージ："Failed in coluomn data parsing."<br>
+     * 行番号、カラム名、カラムインデックスが設定されること。<br>
+     * <br>
+     * パック10進数が不正な場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext02() throws Exception {
+        // 前提条件の設定
+        byte[] content = createContent();
+        content[19 * 2 + 6] = 0x13;
+        writeFile(content);
+        HostFixedFileLineIterator<HostFixedFileLineIterator_Stub01> iterator = createIterator();
+        try {
+            iterator.next();
+
+            // テスト実施
+            iterator.next();
+            fail("FileLineExceptionがスローされませんでした。");
+        } catch (FileLineException e) {
+            // 状態変化の確認
+            assertEquals("Failed in coluomn data parsing.", e.getMessage());
+            assertEquals(2, e.getLineNo());
+            assertEquals("qty", e.getColumnName());
+            assertEquals(1, e.getColumnIndex());
+            assertTrue(e.getCause() instanceof NumberFormatException);
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testHostFixedFileLineIterator01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) ファイル:サイズが1レコードのバイト数の倍数ではない<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Data size is not a multiple of record bytes."<br>
+     * <br>
+     * ファイルのサイズが不正な場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testHostFixedFileLineIterator01() throws Exception {
+        // 前提条件の設定
+        byte[] content = createContent();
+        writeFile(Arrays.copyOf(content, content.length - 1));
+
+        try {
+            // テスト実施
+            createIterator();
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Data size is not a multiple of record bytes.", e
+                    .getMessage());
+        }
+    }
+
+    /**
+     * testNext03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(状態) ファイル:testNext01と同じ内容<br>
+     * FileFormat:readAheadBufferCount=2<br>
+     * <br>
+     * 期待値：(戻り値) 先読みしない場合と同じファイル行オブジェクトが返却されること。<br>
+     * (状態変化) トレイラ部を先読みせず、データ部を読み終えること。<br>
+     * <br>
+     * 別スレッドでデータ部を先読みしながら読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext03() throws Exception {
+        // 前提条件の設定
+        writeFile(createContent());
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        HostFixedFileLineIterator<HostFixedFileLineIterator_Stub02> iterator = new HostFixedFileLineIterator<HostFixedFileLineIterator_Stub02>(file
+                .getAbsolutePath(), HostFixedFileLineIterator_Stub02.class, columnParserMap);
+        try {
+            // テスト実施
+            HostFixedFileLineIterator_Stub02 first = iterator.next();
+            HostFixedFileLineIterator_Stub02 second = iterator.next();
+
+            // 返却値の確認
+            assertEquals("AB", first.getCode());
+            assertEquals(new BigDecimal("-1234.56"), first.getAmount());
+            assertEquals("X", second.getCode());
+            assertEquals(new BigDecimal("99.9"), second.getRate());
+
+            // 状態変化の確認
+            assertFalse(iterator.hasNext());
+            assertEquals(Arrays.asList("TRAILER,2"), iterator.getTrailer());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testSkip02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) skipLines:1<br>
+     * (状態) FileFormat:readAheadBufferCount=2<br>
+     * <br>
+     * 期待値：(戻り値) 2行目のファイル行オブジェクト<br>
+     * <br>
+     * 先読みする場合も、読み飛ばした位置から読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testSkip02() throws Exception {
+        // 前提条件の設定
+        writeFile(createContent());
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        HostFixedFileLineIterator<HostFixedFileLineIterator_Stub02> iterator = new HostFixedFileLineIterator<HostFixedFileLineIterator_Stub02>(file
+                .getAbsolutePath(), HostFixedFileLineIterator_Stub02.class, columnParserMap);
+        try {
+            // テスト実施
+            iterator.skip(1);
+
+            // 返却値の確認
+            assertTrue(iterator.hasNext());
+            assertEquals("X", iterator.next().getCode());
+            assertFalse(iterator.hasNext());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testHostFixedFileLineIterator02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) FileFormat:readAheadBufferCount=1<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："readAheadBufferCount must be 0 or 2 or more."<br>
+     * <br>
+     * 先読みバッファ数が1の場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testHostFixedFileLineIterator02() throws Exception {
+        // 前提条件の設定
+        writeFile(createContent());
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+
+        try {
+            // テスト実施
+            new HostFixedFileLineIterator<HostFixedFileLineIterator_Stub03>(file
+                    .getAbsolutePath(), HostFixedFileLineIterator_Stub03.class, columnParserMap);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("readAheadBufferCount must be 0 or 2 or more.", e
+                    .getMessage());
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    /**
+     * testHostFixedFileLineIterator03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) inputStream:ヘッダ部1行、データ部2行、トレイラ部1行の内容を持つ入力ストリーム<br>
+     * <br>
+     * 期待値：(戻り値) ファイルから読み込んだ場合と同じファイル行オブジェクト<br>
+     * (状態変化) ヘッダ部・トレイラ部は末尾の空白を除去した文字列となること。<br>
+     * <br>
+     * 入力ストリームからヘッダ部・データ部・トレイラ部を順に読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testHostFixedFileLineIterator03() throws Exception {
+        // 前提条件の設定
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        HostFixedFileQueryDAO dao = new HostFixedFileQueryDAO();
+        dao.setColumnParserMap(columnParserMap);
+        HostFixedFileLineIterator<HostFixedFileLineIterator_Stub01> iterator = (HostFixedFileLineIterator<HostFixedFileLineIterator_Stub01>) dao
+                .execute(new ByteArrayInputStream(createContent()),
+                        HostFixedFileLineIterator_Stub01.class);
+        try {
+            // テスト実施
+            assertEquals(Arrays.asList("HEADER"), iterator.getHeader());
+            assertTrue(iterator.hasNext());
+            HostFixedFileLineIterator_Stub01 first = iterator.next();
+            assertTrue(iterator.hasNext());
+            HostFixedFileLineIterator_Stub01 second = iterator.next();
+
+            // 返却値の確認
+            assertEquals("AB", first.getCode());
+            assertEquals(12345, first.getQty());
+            assertEquals(new BigDecimal("-1234.56"), first.getAmount());
+            assertEquals("X", second.getCode());
+            assertEquals(-7L, second.getCount());
+            assertEquals(new BigDecimal("99.9"), second.getRate());
+
+            // 状態変化の確認
+            assertFalse(iterator.hasNext());
+            assertEquals(2, iterator.getCurrentLineCount());
+            assertEquals(Arrays.asList("TRAILER,2"), iterator.getTrailer());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testSkip03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) skipLines:1<br>
+     * (状態) 入力:チャネル、FileFormat:readAheadBufferCount=2<br>
+     * <br>
+     * 期待値：(戻り値) 2行目のファイル行オブジェクト<br>
+     * (状態変化) データ部を読み終える前にトレイラ部を取得でき、以降はデータ部を取得できないこと。<br>
+     * <br>
+     * チャネルから読み込む場合に、順に読み飛ばしてトレイラ部を取得できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testSkip03() throws Exception {
+        // 前提条件の設定
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        HostFixedFileQueryDAO dao = new HostFixedFileQueryDAO();
+        dao.setColumnParserMap(columnParserMap);
+        HostFixedFileLineIterator<HostFixedFileLineIterator_Stub02> iterator = (HostFixedFileLineIterator<HostFixedFileLineIterator_Stub02>) dao
+                .execute(Channels.newChannel(new ByteArrayInputStream(createContent())),
+                        HostFixedFileLineIterator_Stub02.class);
+        try {
+            // テスト実施
+            iterator.skip(1);
+            HostFixedFileLineIterator_Stub02 result = iterator.next();
+            iterator.skip(0);
+
+            // 返却値の確認
+            assertEquals("X", result.getCode());
+
+            // 状態変化の確認
+            iterator.closeFile();
+            iterator = (HostFixedFileLineIterator<HostFixedFileLineIterator_Stub02>) dao
+                    .execute(Channels.newChannel(new ByteArrayInputStream(createContent())),
+                            HostFixedFileLineIterator_Stub02.class);
+            assertEquals(Arrays.asList("TRAILER,2"), iterator.getTrailer());
+            assertFalse(iterator.hasNext());
+            try {
+                iterator.skip(1);
+                fail("FileLineExceptionがスローされませんでした。");
+            } catch (FileLineException e) {
+                assertEquals("The data which can be acquired doesn't exist.", e
+                        .getMessage());
+                assertEquals(1, e.getLineNo());
+            }
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testNext04() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) inputStream:末尾のレコードが1バイト欠けた内容を持つ入力ストリーム<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Data size is not a multiple of record bytes."<br>
+     * <br>
+     * 入力ストリームの終端がレコードの途中の場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testNext04() throws Exception {
+        // 前提条件の設定
+        byte[] content = createContent();
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        HostFixedFileLineIterator<HostFixedFileLineIterator_Stub01> iterator = new HostFixedFileLineIterator<HostFixedFileLineIterator_Stub01>(new ByteArrayInputStream(content, 0, content.length
+                - 1), HostFixedFileLineIterator_Stub01.class, columnParserMap);
+        try {
+            // テスト実施
+            iterator.next();
+            iterator.hasNext();
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Data size is not a multiple of record bytes.", e
+                    .getMessage());
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        } finally {
+            iterator.closeFile();
+        }
+    }
+}
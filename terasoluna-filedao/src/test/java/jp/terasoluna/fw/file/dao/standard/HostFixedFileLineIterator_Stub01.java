@@ -0,0 +1,134 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.math.BigDecimal;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.NumberEncoding;
+import jp.terasoluna.fw.file.annotation.TrimType;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(fileEncoding = "Cp037", headerLineCount = 1, trailerLineCount = 1)
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0, bytes = 4, trimType = TrimType.RIGHT)<br>
+ * String code
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1, bytes = 3, numberEncoding = NumberEncoding.PACKED)<br>
+ * int qty
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 2, bytes = 5, numberEncoding = NumberEncoding.PACKED, columnFormat = "0.00")<br>
+ * BigDecimal amount
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 3, bytes = 4, numberEncoding = NumberEncoding.ZONED)<br>
+ * long count
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 4, bytes = 3, numberEncoding = NumberEncoding.ZONED, columnFormat = "0.0")<br>
+ * BigDecimal rate
+ * </ul>
+ * </ul>
+ */
+@FileFormat(fileEncoding = "Cp037", headerLineCount = 1, trailerLineCount = 1)
+public class HostFixedFileLineIterator_Stub01 {
+
+    @InputFileColumn(columnIndex = 0, bytes = 4, trimType = TrimType.RIGHT)
+    private String code;
+
+    @InputFileColumn(columnIndex = 1, bytes = 3, numberEncoding = NumberEncoding.PACKED)
+    private int qty;
+
+    @InputFileColumn(columnIndex = 2, bytes = 5, numberEncoding = NumberEncoding.PACKED, columnFormat = "0.00")
+    private BigDecimal amount;
+
+    @InputFileColumn(columnIndex = 3, bytes = 4, numberEncoding = NumberEncoding.ZONED)
+    private long count;
+
+    @InputFileColumn(columnIndex = 4, bytes = 3, numberEncoding = NumberEncoding.ZONED, columnFormat = "0.0")
+    private BigDecimal rate;
+
+    /**
+     * code を取得する
+     * @return code
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * code を設定する
+     * @param code code
+     */
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    /**
+     * qty を取得する
+     * @return qty
+     */
+    public int getQty() {
+        return qty;
+    }
+
+    /**
+     * qty を設定する
+     * @param qty qty
+     */
+    public void setQty(int qty) {
+        this.qty = qty;
+    }
+
+    /**
+     * amount を取得する
+     * @return amount
+     */
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * amount を設定する
+     * @param amount amount
+     */
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * count を取得する
+     * @return count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * count を設定する
+     * @param count count
+     */
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    /**
+     * rate を取得する
+     * @return rate
+     */
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    /**
+     * rate を設定する
+     * @param rate rate
+     */
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+}
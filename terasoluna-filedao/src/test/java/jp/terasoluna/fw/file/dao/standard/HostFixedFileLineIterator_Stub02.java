@@ -0,0 +1,17 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(fileEncoding = "Cp037", headerLineCount = 1, trailerLineCount = 1, readAheadBufferCount = 2)
+ * <li>属性
+ * <ul>
+ * <li>{@link HostFixedFileLineIterator_Stub01}から継承
+ * </ul>
+ * </ul>
+ */
+@FileFormat(fileEncoding = "Cp037", headerLineCount = 1, trailerLineCount = 1, readAheadBufferCount = 2)
+public class HostFixedFileLineIterator_Stub02 extends HostFixedFileLineIterator_Stub01 {
+}
@@ -0,0 +1,220 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.dao.FileLineException;
+import jp.terasoluna.fw.file.dao.FileLineWriter;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.HostFixedFileLineWriter} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> ホスト形式の固定長ファイル用のファイルアクセス(データ書込)クラス。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.HostFixedFileLineWriter
+ */
+public class HostFixedFileLineWriterTest {
+
+    /**
+     * テストで利用するファイル。
+     */
+    private File file = null;
+
+    /**
+     * テストで利用するファイルを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("HostFixedFileLineWriterTest", ".dat");
+        file.delete();
+    }
+
+    /**
+     * テストで利用したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * ファイル行ライタを生成する。
+     * @return ファイル行ライタ
+     */
+    private FileLineWriter<HostFixedFileLineWriter_Stub01> createWriter() {
+        Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+        HostFixedFileUpdateDAO dao = new HostFixedFileUpdateDAO();
+        dao.setColumnFormatterMap(columnFormatterMap);
+        return dao.execute(file.getAbsolutePath(),
+                HostFixedFileLineWriter_Stub01.class);
+    }
+
+    /**
+     * ファイル行オブジェクトを生成する。
+     * @param code code
+     * @param qty qty
+     * @param amount amount
+     * @param count count
+     * @param rate rate
+     * @return ファイル行オブジェクト
+     */
+    private HostFixedFileLineWriter_Stub01 createLine(String code, int qty,
+            String amount, long count, String rate) {
+        HostFixedFileLineWriter_Stub01 line = new HostFixedFileLineWriter_Stub01();
+        line.setCode(code);
+        line.setQty(qty);
+        line.setAmount(new BigDecimal(amount));
+        line.setCount(count);
+        line.setRate(new BigDecimal(rate));
+        return line;
+    }
+
+    /**
+     * ファイルの内容を読み込む。
+     * @return ファイルの内容
+     * @throws Exception 予期しない例外
+     */
+    private byte[] readFile() throws Exception {
+        byte[] content = new byte[(int) file.length()];
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            int read = 0;
+            while (read < content.length) {
+                read += fis.read(content, read, content.length - read);
+            }
+        } finally {
+            fis.close();
+        }
+        return content;
+    }
+
+    /**
+     * testPrintDataLine01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) ヘッダ部1行、データ部2行、トレイラ部1行<br>
+     * <br>
+     * 期待値：(状態変化) 文字カラムはCp037に変換され、数値カラムはパック10進数・ゾーン10進数で出力されること。<br>
+     * ヘッダ部・トレイラ部は末尾を空白で埋めて1レコードのバイト数で出力されること。<br>
+     * <br>
+     * ホスト形式の固定長ファイルを書き込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine01() throws Exception {
+        // 前提条件の設定
+        FileLineWriter<HostFixedFileLineWriter_Stub01> writer = createWriter();
+
+        // テスト実施
+        try {
+            writer.printHeaderLine(Arrays.asList("HEADER"));
+            writer.printDataLine(createLine("AB", 12345, "-1234.56", 42L,
+                    "1.5"));
+            writer.printDataLine(createLine("X", -1, "0", -7L, "99.9"));
+            writer.printTrailerLine(Arrays.asList("TRAILER,2"));
+        } finally {
+            writer.closeFile();
+        }
+
+        // 状態変化の確認
+        assertArrayEquals(HostFixedFileLineIteratorTest.createContent(),
+                readFile());
+    }
+
+    /**
+     * testPrintDataLine02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) 2行目のqtyがパック10進数の桁数を超える<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileLineException<br>
+     * メッセージ："Failed in column data formatting."<br>
+     * 行番号、カラム名、カラムインデックスが設定されること。<br>
+     * <br>
+     * カラムの桁数を超える値の場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine02() throws Exception {
+        // 前提条件の設定
+        FileLineWriter<HostFixedFileLineWriter_Stub01> writer = createWriter();
+        try {
+            writer.printDataLine(createLine("AB", 1, "0", 0L, "0"));
+
+            // テスト実施
+            writer.printDataLine(createLine("AB", 123456, "0", 0L, "0"));
+            fail("FileLineExceptionがスローされませんでした。");
+        } catch (FileLineException e) {
+            // 状態変化の確認
+            assertEquals("Failed in column data formatting.", e.getMessage());
+            assertEquals(2, e.getLineNo());
+            assertEquals("qty", e.getColumnName());
+            assertEquals(1, e.getColumnIndex());
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        } finally {
+            writer.closeFile();
+        }
+    }
+
+    /**
+     * testPrintDataLine03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(引数) channel:ByteArrayOutputStreamへ書き込むチャネル<br>
+     * ヘッダ部1行、データ部2行、トレイラ部1行<br>
+     * <br>
+     * 期待値：(状態変化) ファイルに書き込んだ場合と同じ内容がチャネルに出力されること。<br>
+     * <br>
+     * チャネルを指定した場合に、ファイルを介さずに書き込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine03() throws Exception {
+        // 前提条件の設定
+        Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+        HostFixedFileUpdateDAO dao = new HostFixedFileUpdateDAO();
+        dao.setColumnFormatterMap(columnFormatterMap);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FileLineWriter<HostFixedFileLineWriter_Stub01> writer = dao.execute(
+                Channels.newChannel(out), HostFixedFileLineWriter_Stub01.class);
+
+        // テスト実施
+        try {
+            writer.printHeaderLine(Arrays.asList("HEADER"));
+            writer.printDataLine(createLine("AB", 12345, "-1234.56", 42L,
+                    "1.5"));
+            writer.printDataLine(createLine("X", -1, "0", -7L, "99.9"));
+            writer.printTrailerLine(Arrays.asList("TRAILER,2"));
+        } finally {
+            writer.closeFile();
+        }
+
+        // 状態変化の確認
+        assertArrayEquals(HostFixedFileLineIteratorTest.createContent(), out
+                .toByteArray());
+    }
+}
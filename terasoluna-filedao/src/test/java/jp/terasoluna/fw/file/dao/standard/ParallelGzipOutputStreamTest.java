@@ -0,0 +1,210 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ParallelGzipOutputStream} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> ブロックごとに複数スレッドで並列に圧縮し、GZIP形式で出力する。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ParallelGzipOutputStream
+ */
+public class ParallelGzipOutputStreamTest {
+
+    /**
+     * GZIP形式のデータを伸張する。
+     * @param compressed GZIP形式のデータ
+     * @return 伸張したデータ
+     * @throws IOException 伸張に失敗した場合
+     */
+    private byte[] gunzip(byte[] compressed) throws IOException {
+        InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed));
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[4096];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * testWrite01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) 繰り返しを含む約200KBのデータ<br>
+     * (状態) blockSize:1000、threads:3<br>
+     * <br>
+     * 期待値：(状態変化) 出力がGZIPInputStreamで元のデータに伸張でき、圧縮されていること。<br>
+     * <br>
+     * 複数ブロックを並列に圧縮した結果が、1つのGZIPデータとして伸張できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWrite01() throws Exception {
+        // 前提条件の設定
+        Random random = new Random(1);
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        for (int i = 0; i < 10000; i++) {
+            data.write(("line" + random.nextInt(100) + ",データ\r\n")
+                    .getBytes("UTF-8"));
+        }
+        byte[] expected = data.toByteArray();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ParallelGzipOutputStream out = new ParallelGzipOutputStream(compressed, 1000, 3, Deflater.DEFAULT_COMPRESSION);
+
+        // テスト実施
+        out.write(expected, 0, 12345);
+        out.flush();
+        for (int i = 12345; i < 20000; i++) {
+            out.write(expected[i]);
+        }
+        out.write(expected, 20000, expected.length - 20000);
+        out.close();
+        out.close();
+
+        // 状態変化の確認
+        assertArrayEquals(expected, gunzip(compressed.toByteArray()));
+        assertEquals(true, compressed.size() < expected.length / 2);
+    }
+
+    /**
+     * testWrite02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) データなし<br>
+     * <br>
+     * 期待値：(状態変化) 空のデータに伸張できること。<br>
+     * <br>
+     * 何も書き込まずにクローズした場合も、正しいGZIP形式となることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWrite02() throws Exception {
+        // 前提条件の設定
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        // テスト実施
+        new ParallelGzipOutputStream(compressed).close();
+
+        // 状態変化の確認
+        assertEquals(0, gunzip(compressed.toByteArray()).length);
+    }
+
+    /**
+     * testWrite03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) クローズ済み<br>
+     * <br>
+     * 期待値：(状態変化) 例外:IOException<br>
+     * <br>
+     * クローズ後の書き込みで例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWrite03() throws Exception {
+        // 前提条件の設定
+        ParallelGzipOutputStream out = new ParallelGzipOutputStream(new ByteArrayOutputStream());
+        out.close();
+
+        try {
+            // テスト実施
+            out.write(1);
+            fail("IOExceptionがスローされませんでした。");
+        } catch (IOException e) {
+            // 状態変化の確認
+            assertEquals("Stream closed.", e.getMessage());
+        }
+    }
+
+    /**
+     * testWrite04() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) 繰り返しを含む約200KBのデータ<br>
+     * (状態) 圧縮レベル1と9の2つのストリームに、ブロックサイズ未満ずつ交互に書き込む<br>
+     * <br>
+     * 期待値：(状態変化) 両方の出力がGZIPInputStreamで元のデータに伸張できること。<br>
+     * <br>
+     * 共有する圧縮スレッドのDeflaterと出力済みのブロックを使い回しても、各ストリームの出力が壊れないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testWrite04() throws Exception {
+        // 前提条件の設定
+        Random random = new Random(4);
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        for (int i = 0; i < 10000; i++) {
+            data.write(("line" + random.nextInt(100) + ",データ\r\n")
+                    .getBytes("UTF-8"));
+        }
+        byte[] expected = data.toByteArray();
+        ByteArrayOutputStream compressed1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed9 = new ByteArrayOutputStream();
+        ParallelGzipOutputStream out1 = new ParallelGzipOutputStream(compressed1, 1000, 2, Deflater.BEST_SPEED);
+        ParallelGzipOutputStream out9 = new ParallelGzipOutputStream(compressed9, 1000, 2, Deflater.BEST_COMPRESSION);
+
+        // テスト実施
+        for (int off = 0; off < expected.length; off += 700) {
+            int len = Math.min(700, expected.length - off);
+            out1.write(expected, off, len);
+            out9.write(expected, off, len);
+        }
+        out1.close();
+        out9.close();
+
+        // 状態変化の確認
+        assertArrayEquals(expected, gunzip(compressed1.toByteArray()));
+        assertArrayEquals(expected, gunzip(compressed9.toByteArray()));
+    }
+
+    /**
+     * testParallelGzipOutputStream01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) level:10<br>
+     * <br>
+     * 期待値：(状態変化) 例外:IllegalArgumentException<br>
+     * <br>
+     * 圧縮レベルが範囲外の場合に、圧縮スレッドではなくコンストラクタで例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testParallelGzipOutputStream01() throws Exception {
+        try {
+            // テスト実施
+            new ParallelGzipOutputStream(new ByteArrayOutputStream(), 1000, 2, 10);
+            fail("IllegalArgumentExceptionがスローされませんでした。");
+        } catch (IllegalArgumentException e) {
+            // 状態変化の確認
+            assertEquals("level is between -1 and 9.", e.getMessage());
+        }
+    }
+}
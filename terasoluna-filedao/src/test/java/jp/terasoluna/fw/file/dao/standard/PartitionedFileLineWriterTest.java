@@ -0,0 +1,511 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineWriter;
+import jp.terasoluna.fw.file.dao.FileUpdateDAO;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.PartitionedFileLineWriter} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 複数ファイルへの振り分け出力用のFileLineWriter。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.PartitionedFileLineWriter
+ */
+public class PartitionedFileLineWriterTest {
+
+    /**
+     * テストで利用するディレクトリ。
+     */
+    private File dir = null;
+
+    /**
+     * 連番をパーティション数で割った余りで振り分けるパーティション決定処理。
+     */
+    private static class SeqPartitioner implements
+                                       FileLinePartitioner<PartitionedFileLineWriter_Stub01> {
+
+        /**
+         * 利用するパーティション数。
+         */
+        private final int usedPartitions;
+
+        /**
+         * コンストラクタ。
+         * @param usedPartitions 利用するパーティション数
+         */
+        SeqPartitioner(int usedPartitions) {
+            this.usedPartitions = usedPartitions;
+        }
+
+        @Override
+        public int getPartition(PartitionedFileLineWriter_Stub01 t,
+                int partitionCount) {
+            return t.getSeq() % usedPartitions;
+        }
+    }
+
+    /**
+     * テストで利用するディレクトリを作成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        dir = File.createTempFile("PartitionedFileLineWriterTest", "");
+        dir.delete();
+        dir.mkdir();
+    }
+
+    /**
+     * テストで利用したディレクトリを削除する。
+     */
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    /**
+     * 各パーティションのFileLineWriterを生成するDAOを生成する。
+     * @return CSVファイル書き込み用DAO
+     */
+    private CSVFileUpdateDAO createDAO() {
+        Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+        columnFormatterMap.put("int", new IntColumnFormatter());
+        CSVFileUpdateDAO dao = new CSVFileUpdateDAO();
+        dao.setColumnFormatterMap(columnFormatterMap);
+        return dao;
+    }
+
+    /**
+     * パーティションごとのファイル名を生成する。
+     * @param count パーティション数
+     * @return ファイル名のリスト
+     */
+    private List<String> createFileNames(int count) {
+        List<String> fileNames = new ArrayList<String>();
+        for (int i = 0; i < count; i++) {
+            fileNames.add(new File(dir, "part" + i + ".csv").getAbsolutePath());
+        }
+        return fileNames;
+    }
+
+    /**
+     * ファイル行オブジェクトを生成する。
+     * @param seq 連番
+     * @return ファイル行オブジェクト
+     */
+    private PartitionedFileLineWriter_Stub01 createLine(int seq) {
+        PartitionedFileLineWriter_Stub01 line = new PartitionedFileLineWriter_Stub01();
+        line.setBranchCode("B" + (seq % 10));
+        line.setSeq(seq);
+        return line;
+    }
+
+    /**
+     * 出力前から存在するファイルを作成する。
+     * @param fileNames ファイル名のリスト
+     * @throws Exception 予期しない例外
+     */
+    private void createStaleFiles(List<String> fileNames) throws Exception {
+        for (String fileName : fileNames) {
+            FileOutputStream fos = new FileOutputStream(fileName);
+            try {
+                fos.write("stale\n".getBytes("UTF-8"));
+            } finally {
+                fos.close();
+            }
+        }
+    }
+
+    /**
+     * ファイルの全行を読み込む。
+     * @param fileName ファイル名
+     * @return 行のリスト
+     * @throws Exception 予期しない例外
+     */
+    private List<String> readLines(String fileName) throws Exception {
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), "UTF-8"));
+        try {
+            String line = null;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines;
+    }
+
+    /**
+     * testPrintDataLine01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) partitioner:支店コードのハッシュ値で振り分け<br>
+     * (引数) maxOpenFiles:2(パーティション数:3)<br>
+     * (引数) writerThreads:0<br>
+     * (状態) ヘッダ部1行、データ部100行、トレイラ部1行を出力<br>
+     * <br>
+     * 期待値：(状態変化) 各ファイルにヘッダ部・トレイラ部が1回ずつ出力され、
+     * データ行が支店コードのハッシュ値に応じたファイルに出力順で出力されること。<br>
+     * <br>
+     * 同時に開くファイル数の上限を超える場合に、ファイルを閉じて追記モードで開き直して出力できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine01() throws Exception {
+        // 引数の設定
+        List<String> fileNames = createFileNames(3);
+        HashFileLinePartitioner<PartitionedFileLineWriter_Stub01> partitioner = new HashFileLinePartitioner<PartitionedFileLineWriter_Stub01>("branchCode");
+
+        // テスト実施
+        PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01> writer = new PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01>(createDAO(), PartitionedFileLineWriter_Stub01.class, fileNames, partitioner, 2, 0);
+        writer.printHeaderLine(Arrays.asList("header"));
+        for (int i = 0; i < 100; i++) {
+            writer.printDataLine(createLine(i));
+        }
+        writer.printTrailerLine(Arrays.asList("trailer"));
+        writer.closeFile();
+
+        // 状態変化の確認
+        assertEquals(100, writer.getCurrentLineCount());
+        int count = 0;
+        for (int p = 0; p < fileNames.size(); p++) {
+            List<String> lines = readLines(fileNames.get(p));
+            assertEquals("header", lines.get(0));
+            assertEquals("trailer", lines.get(lines.size() - 1));
+            int previous = -1;
+            for (String line : lines.subList(1, lines.size() - 1)) {
+                String[] columns = line.split(",");
+                assertEquals(p, partitioner.getPartition(createLine(Integer
+                        .parseInt(columns[1])), fileNames.size()));
+                assertEquals(createLine(Integer.parseInt(columns[1]))
+                        .getBranchCode(), columns[0]);
+                assertTrue(previous < Integer.parseInt(columns[1]));
+                previous = Integer.parseInt(columns[1]);
+                count++;
+            }
+        }
+        assertEquals(100, count);
+    }
+
+    /**
+     * testPrintDataLine02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) partitioner:連番を3で割った余りで振り分け<br>
+     * (引数) maxOpenFiles:2(パーティション数:4)<br>
+     * (引数) writerThreads:2<br>
+     * (状態) ヘッダ部1行、データ部2000行、トレイラ部1行を出力<br>
+     * <br>
+     * 期待値：(状態変化) 各パーティションのファイルにデータ行が出力順で出力されること。
+     * データ行が振り分けられなかったパーティションのファイルは、ヘッダ部・トレイラ部のみで作成されること。<br>
+     * <br>
+     * 出力スレッドを利用して出力できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine02() throws Exception {
+        // 引数の設定
+        List<String> fileNames = createFileNames(4);
+
+        // テスト実施
+        PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01> writer = new PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01>(createDAO(), PartitionedFileLineWriter_Stub01.class, fileNames, new SeqPartitioner(3), 2, 2);
+        writer.printHeaderLine(Arrays.asList("header"));
+        List<PartitionedFileLineWriter_Stub01> lines = new ArrayList<PartitionedFileLineWriter_Stub01>();
+        for (int i = 0; i < 2000; i++) {
+            lines.add(createLine(i));
+        }
+        writer.printDataLines(lines);
+        writer.printTrailerLine(Arrays.asList("trailer"));
+        writer.closeFile();
+
+        // 状態変化の確認
+        for (int p = 0; p < 3; p++) {
+            List<String> result = readLines(fileNames.get(p));
+            assertEquals("header", result.get(0));
+            assertEquals("trailer", result.get(result.size() - 1));
+            List<String> expected = new ArrayList<String>();
+            for (int i = p; i < 2000; i += 3) {
+                expected.add(createLine(i).getBranchCode() + "," + i);
+            }
+            assertEquals(expected, result.subList(1, result.size() - 1));
+        }
+        assertEquals(Arrays.asList("header", "trailer"), readLines(fileNames
+                .get(3)));
+    }
+
+    /**
+     * testPrintDataLine06() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) partitioner:連番を3で割った余りで振り分け<br>
+     * (引数) maxOpenFiles:2(パーティション数:3)<br>
+     * (引数) writerThreads:3<br>
+     * (状態) ヘッダ部1行、データ部30行、トレイラ部1行を出力<br>
+     * <br>
+     * 期待値：(状態変化) 出力スレッドが2つとなり、同時に開くファイル数の合計が2以下となること。
+     * 各パーティションのファイルにデータ行が出力順で出力されること。<br>
+     * <br>
+     * 出力スレッド数が同時に開くファイル数の上限を超える場合に、上限を超えてファイルを開かないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine06() throws Exception {
+        // 引数の設定
+        List<String> fileNames = createFileNames(3);
+
+        // テスト実施
+        PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01> writer = new PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01>(createDAO(), PartitionedFileLineWriter_Stub01.class, fileNames, new SeqPartitioner(3), 2, 3);
+        List<?> groups = (List<?>) ReflectionTestUtils.getField(writer,
+                "groups");
+        int maxOpenFiles = 0;
+        for (Object group : groups) {
+            maxOpenFiles += (Integer) ReflectionTestUtils.getField(group,
+                    "maxOpenFiles");
+        }
+        writer.printHeaderLine(Arrays.asList("header"));
+        for (int i = 0; i < 30; i++) {
+            writer.printDataLine(createLine(i));
+        }
+        writer.printTrailerLine(Arrays.asList("trailer"));
+        writer.closeFile();
+
+        // 状態変化の確認
+        assertEquals(2, groups.size());
+        assertEquals(2, maxOpenFiles);
+        for (int p = 0; p < 3; p++) {
+            List<String> expected = new ArrayList<String>();
+            expected.add("header");
+            for (int i = p; i < 30; i += 3) {
+                expected.add(createLine(i).getBranchCode() + "," + i);
+            }
+            expected.add("trailer");
+            assertEquals(expected, readLines(fileNames.get(p)));
+        }
+    }
+
+    /**
+     * testPrintDataLine03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) partitioner:パーティション数以上の番号を返却<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Partition is out of range."<br>
+     * <br>
+     * パーティションの番号が範囲外の場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine03() throws Exception {
+        // 前提条件の設定
+        PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01> writer = new PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01>(createDAO(), PartitionedFileLineWriter_Stub01.class, createFileNames(2), new SeqPartitioner(3));
+        try {
+            writer.printDataLine(createLine(0));
+            writer.printDataLine(createLine(1));
+
+            // テスト実施
+            writer.printDataLine(createLine(2));
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Partition is out of range.", e.getMessage());
+        } finally {
+            writer.closeFile();
+        }
+    }
+
+    /**
+     * testPrintHeaderLine01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) データ部出力済み<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Header part should be called before data part or trailer part."<br>
+     * <br>
+     * データ部の出力後にヘッダ部を出力した場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintHeaderLine01() throws Exception {
+        // 前提条件の設定
+        PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01> writer = new PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01>(createDAO(), PartitionedFileLineWriter_Stub01.class, createFileNames(2), new SeqPartitioner(2), 0, 1);
+        try {
+            writer.printDataLine(createLine(0));
+
+            // テスト実施
+            writer.printHeaderLine(Arrays.asList("header"));
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Header part should be called before "
+                    + "data part or trailer part.", e.getMessage());
+        } finally {
+            writer.closeFile();
+        }
+    }
+
+    /**
+     * testPrintDataLine04() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) clazz:overWriteFlgがfalseのファイル行オブジェクトクラス<br>
+     * (引数) partitioner:連番を2で割った余りで振り分け<br>
+     * (引数) maxOpenFiles:1(パーティション数:2)<br>
+     * (状態) 各パーティションのファイルが出力前から存在する<br>
+     * (状態) ヘッダ部1行、データ部10行、トレイラ部1行を出力<br>
+     * <br>
+     * 期待値：(状態変化) 既存のファイルの内容の後に、各ファイルにヘッダ部・データ部5行・トレイラ部が出力されること。<br>
+     * <br>
+     * overWriteFlgがfalseの場合、既存のファイルが削除されずに追記されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine04() throws Exception {
+        // 前提条件の設定
+        List<String> fileNames = createFileNames(2);
+        createStaleFiles(fileNames);
+
+        // テスト実施
+        PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01> writer = new PartitionedFileLineWriter<PartitionedFileLineWriter_Stub01>(createDAO(), PartitionedFileLineWriter_Stub01.class, fileNames, new SeqPartitioner(2), 1, 0);
+        writer.printHeaderLine(Arrays.asList("header"));
+        for (int i = 0; i < 10; i++) {
+            writer.printDataLine(createLine(i));
+        }
+        writer.printTrailerLine(Arrays.asList("trailer"));
+        writer.closeFile();
+
+        // 状態変化の確認
+        assertEquals(Arrays.asList("stale", "header", "B0,0", "B2,2", "B4,4",
+                "B6,6", "B8,8", "trailer"), readLines(fileNames.get(0)));
+        assertEquals(Arrays.asList("stale", "header", "B1,1", "B3,3", "B5,5",
+                "B7,7", "B9,9", "trailer"), readLines(fileNames.get(1)));
+    }
+
+    /**
+     * testPrintDataLine05() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) clazz:overWriteFlgがtrueのファイル行オブジェクトクラス<br>
+     * (引数) partitioner:連番のハッシュ値で振り分け<br>
+     * (引数) maxOpenFiles:1(パーティション数:2)<br>
+     * (状態) 各パーティションのファイルが出力前から存在する<br>
+     * (状態) ヘッダ部1行、データ部10行、トレイラ部1行を出力<br>
+     * <br>
+     * 期待値：(状態変化) 既存のファイルの内容が残らず、各ファイルにヘッダ部・トレイラ部が1回ずつ出力され、
+     * データ行が上書きされずにすべて出力されること。<br>
+     * <br>
+     * overWriteFlgがtrueの場合も、ファイルを開き直す時に追記されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine05() throws Exception {
+        // 前提条件の設定
+        List<String> fileNames = createFileNames(2);
+        createStaleFiles(fileNames);
+
+        // テスト実施
+        PartitionedFileLineWriter<PartitionedFileLineWriter_Stub02> writer = new PartitionedFileLineWriter<PartitionedFileLineWriter_Stub02>(createDAO(), PartitionedFileLineWriter_Stub02.class, fileNames, new HashFileLinePartitioner<PartitionedFileLineWriter_Stub02>("seq"), 1, 0);
+        writer.printHeaderLine(Arrays.asList("header"));
+        for (int i = 0; i < 10; i++) {
+            PartitionedFileLineWriter_Stub02 line = new PartitionedFileLineWriter_Stub02();
+            line.setBranchCode("B" + i);
+            line.setSeq(i);
+            writer.printDataLine(line);
+        }
+        writer.printTrailerLine(Arrays.asList("trailer"));
+        writer.closeFile();
+
+        // 状態変化の確認
+        int count = 0;
+        for (String fileName : fileNames) {
+            List<String> lines = readLines(fileName);
+            assertEquals("header", lines.get(0));
+            assertEquals("trailer", lines.get(lines.size() - 1));
+            assertEquals(0, lines.lastIndexOf("header"));
+            assertEquals(-1, lines.indexOf("stale"));
+            count += lines.size() - 2;
+        }
+        assertEquals(10, count);
+    }
+
+    /**
+     * testPartitionedFileLineWriter01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) fileUpdateDAO:AbstractFileUpdateDAOのサブクラスではないDAO<br>
+     * (引数) clazz:overWriteFlgがtrueのファイル行オブジェクトクラス<br>
+     * (引数) maxOpenFiles:1(パーティション数:2)<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："fileUpdateDAO must support WritableByteChannel to reopen partition files."<br>
+     * <br>
+     * ファイルを追記モードで開き直せない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPartitionedFileLineWriter01() throws Exception {
+        // 引数の設定
+        FileUpdateDAO fileUpdateDAO = new FileUpdateDAO() {
+            @Override
+            public <T> FileLineWriter<T> execute(String fileName,
+                    Class<T> clazz) {
+                return createDAO().execute(fileName, clazz);
+            }
+        };
+
+        try {
+            // テスト実施
+            new PartitionedFileLineWriter<PartitionedFileLineWriter_Stub02>(fileUpdateDAO, PartitionedFileLineWriter_Stub02.class, createFileNames(2), new HashFileLinePartitioner<PartitionedFileLineWriter_Stub02>("seq"), 1, 0);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("fileUpdateDAO must support WritableByteChannel to "
+                    + "reopen partition files.", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\n", fileEncoding = "UTF-8")
+ * <li>属性
+ * <ul>
+ * <li>@OutputFileColumn(columnIndex = 0)<br>
+ * String branchCode
+ * </ul>
+ * <ul>
+ * <li>@OutputFileColumn(columnIndex = 1)<br>
+ * int seq
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\n", fileEncoding = "UTF-8")
+public class PartitionedFileLineWriter_Stub01 {
+
+    @OutputFileColumn(columnIndex = 0)
+    private String branchCode;
+
+    @OutputFileColumn(columnIndex = 1)
+    private int seq;
+
+    /**
+     * @return branchCode
+     */
+    public String getBranchCode() {
+        return branchCode;
+    }
+
+    /**
+     * @param branchCode 設定する branchCode
+     */
+    public void setBranchCode(String branchCode) {
+        this.branchCode = branchCode;
+    }
+
+    /**
+     * @return seq
+     */
+    public int getSeq() {
+        return seq;
+    }
+
+    /**
+     * @param seq 設定する seq
+     */
+    public void setSeq(int seq) {
+        this.seq = seq;
+    }
+}
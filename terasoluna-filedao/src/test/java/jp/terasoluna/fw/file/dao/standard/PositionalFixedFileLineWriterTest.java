@@ -0,0 +1,256 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.PositionalFixedFileLineWriter} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 固定長ファイルの位置指定出力用のFileLineWriter。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.PositionalFixedFileLineWriter
+ */
+public class PositionalFixedFileLineWriterTest {
+
+    /**
+     * テストで利用するファイル。
+     */
+    private File file = null;
+
+    /**
+     * テストで利用するファイル書き込み用DAO。
+     */
+    private FixedFileUpdateDAO dao = null;
+
+    /**
+     * テストで利用するファイルとDAOを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("PositionalFixedFileLineWriterTest", ".txt");
+        Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+        columnFormatterMap.put("int", new IntColumnFormatter());
+        dao = new FixedFileUpdateDAO();
+        dao.setColumnFormatterMap(columnFormatterMap);
+    }
+
+    /**
+     * テストで利用したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * ファイル行オブジェクトを生成する。
+     * @param seq 連番
+     * @return ファイル行オブジェクト
+     */
+    private PositionalFixedFileLineWriter_Stub01 createLine(int seq) {
+        PositionalFixedFileLineWriter_Stub01 line = new PositionalFixedFileLineWriter_Stub01();
+        line.setSeq(seq);
+        line.setName("あ" + (seq % 10));
+        return line;
+    }
+
+    /**
+     * ファイルの内容を文字列として読み込む。
+     * @return ファイルの内容
+     * @throws Exception 予期しない例外
+     */
+    private String readFile() throws Exception {
+        byte[] bytes = new byte[(int) file.length()];
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            int offset = 0;
+            while (offset < bytes.length) {
+                offset += fis.read(bytes, offset, bytes.length - offset);
+            }
+        } finally {
+            fis.close();
+        }
+        return new String(bytes, "UTF-8");
+    }
+
+    /**
+     * testPrintDataLine01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) index:0～3999を4スレッドに分け、各スレッドは降順に出力<br>
+     * (状態) ヘッダ部1行、トレイラ部1行を出力<br>
+     * <br>
+     * 期待値：(状態変化) ファイル:ヘッダ部、インデックス順のデータ部、トレイラ部の順に出力されること。<br>
+     * <br>
+     * 複数のスレッドから出力したデータ行が、インデックスの位置に出力されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine01() throws Exception {
+        // 前提条件の設定
+        final PositionalFixedFileLineWriter<PositionalFixedFileLineWriter_Stub01> writer = dao
+                .executePositional(file.getAbsolutePath(),
+                        PositionalFixedFileLineWriter_Stub01.class);
+        writer.printHeaderLine(Arrays.asList("header"));
+
+        // テスト実施
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                futures.add(executor.submit(new Callable<Object>() {
+                    public Object call() {
+                        for (int i = 3999 - thread; i >= 0; i -= 4) {
+                            writer.printDataLine(i, createLine(i));
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        writer.printTrailerLine(Arrays.asList("trailer"));
+        writer.closeFile();
+
+        // 状態変化の確認
+        assertEquals(4000, writer.getRecordCount());
+        assertEquals(8 + 6 + 2, writer.getRecordBytes());
+        StringBuilder expected = new StringBuilder("header\r\n");
+        for (int i = 0; i < 4000; i++) {
+            expected.append(String.format("%08d", i)).append("あ")
+                    .append(i % 10).append("  \r\n");
+        }
+        expected.append("trailer\r\n");
+        assertEquals(expected.toString(), readFile());
+    }
+
+    /**
+     * testPrintDataLine02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) printDataLine(2, t)の後にprintDataLine(t)、printDataLine(0, t)、printDataLine(1, t)<br>
+     * <br>
+     * 期待値：(状態変化) printDataLine(t)はインデックス3の位置に出力されること。<br>
+     * <br>
+     * インデックスを指定しない場合に、最大のインデックスの次の位置に出力されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine02() throws Exception {
+        // 前提条件の設定
+        PositionalFixedFileLineWriter<PositionalFixedFileLineWriter_Stub01> writer = dao
+                .executePositional(file.getAbsolutePath(),
+                        PositionalFixedFileLineWriter_Stub01.class);
+
+        // テスト実施
+        writer.printDataLine(2, createLine(2));
+        writer.printDataLine(createLine(3));
+        writer.printDataLines(Arrays.asList(createLine(4)));
+        writer.printDataLine(0, createLine(0));
+        writer.printDataLine(1, createLine(1));
+        writer.closeFile();
+
+        // 状態変化の確認
+        assertEquals("00000000あ0  \r\n00000001あ1  \r\n00000002あ2  \r\n"
+                + "00000003あ3  \r\n00000004あ4  \r\n", readFile());
+    }
+
+    /**
+     * testPrintHeaderLine01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) データ部出力済み<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Header part should be called before data part or trailer part."<br>
+     * <br>
+     * データ部の出力後にヘッダ部を出力した場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintHeaderLine01() throws Exception {
+        // 前提条件の設定
+        PositionalFixedFileLineWriter<PositionalFixedFileLineWriter_Stub01> writer = dao
+                .executePositional(file.getAbsolutePath(),
+                        PositionalFixedFileLineWriter_Stub01.class);
+        try {
+            writer.printDataLine(0, createLine(0));
+
+            // テスト実施
+            writer.printHeaderLine(Arrays.asList("header"));
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Header part should be called before "
+                    + "data part or trailer part.", e.getMessage());
+        } finally {
+            writer.closeFile();
+        }
+    }
+
+    /**
+     * testPrintDataLine03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) トレイラ部出力済み<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Header part or data part should be called before TrailerPart"<br>
+     * <br>
+     * トレイラ部の出力後にデータ部を出力した場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine03() throws Exception {
+        // 前提条件の設定
+        PositionalFixedFileLineWriter<PositionalFixedFileLineWriter_Stub01> writer = dao
+                .executePositional(file.getAbsolutePath(),
+                        PositionalFixedFileLineWriter_Stub01.class);
+        try {
+            writer.printTrailerLine(Arrays.asList("trailer"));
+
+            // テスト実施
+            writer.printDataLine(0, createLine(0));
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Header part or data part should be "
+                    + "called before TrailerPart", e.getMessage());
+        } finally {
+            writer.closeFile();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+import jp.terasoluna.fw.file.annotation.PaddingType;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\r\n", fileEncoding = "UTF-8", overWriteFlg = true)
+ * <li>属性
+ * <ul>
+ * <li>@OutputFileColumn(columnIndex = 0, bytes = 8, paddingType = PaddingType.LEFT, paddingChar = '0')<br>
+ * int seq
+ * </ul>
+ * <ul>
+ * <li>@OutputFileColumn(columnIndex = 1, bytes = 6, paddingType = PaddingType.RIGHT)<br>
+ * String name
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\r\n", fileEncoding = "UTF-8", overWriteFlg = true)
+public class PositionalFixedFileLineWriter_Stub01 {
+
+    @OutputFileColumn(columnIndex = 0, bytes = 8, paddingType = PaddingType.LEFT, paddingChar = '0')
+    private int seq;
+
+    @OutputFileColumn(columnIndex = 1, bytes = 6, paddingType = PaddingType.RIGHT)
+    private String name;
+
+    /**
+     * @return seq
+     */
+    public int getSeq() {
+        return seq;
+    }
+
+    /**
+     * @param seq 設定する seq
+     */
+    public void setSeq(int seq) {
+        this.seq = seq;
+    }
+
+    /**
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name 設定する name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+}
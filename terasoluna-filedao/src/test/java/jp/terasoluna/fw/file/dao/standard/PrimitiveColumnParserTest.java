@@ -0,0 +1,249 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.LongColumnParser}、
+ * {@link jp.terasoluna.fw.file.dao.standard.ShortColumnParser}、
+ * {@link jp.terasoluna.fw.file.dao.standard.DoubleColumnParser}、
+ * {@link jp.terasoluna.fw.file.dao.standard.BooleanColumnParser}、
+ * {@link jp.terasoluna.fw.file.dao.standard.CharColumnParser}
+ * と対応するカラムフォーマッタのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> プリミティブ型の属性に対するカラムの変換を行う。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.LongColumnParser
+ * @see jp.terasoluna.fw.file.dao.standard.LongColumnFormatter
+ */
+public class PrimitiveColumnParserTest {
+
+    /**
+     * 一時ファイル。
+     */
+    private File tempFile;
+
+    /**
+     * 一時ファイルを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        tempFile = File.createTempFile("PrimitiveColumnParserTest", ".csv");
+    }
+
+    /**
+     * 一時ファイルとカラム定義情報を削除する。
+     */
+    @After
+    public void tearDown() {
+        tempFile.delete();
+        FileLineObjectMetadataRegistry.clear();
+    }
+
+    /**
+     * testParse01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) column:各プリミティブ型の文字列<br>
+     * <br>
+     * 期待値：(状態変化) ファイル行オブジェクトの各属性に変換結果が格納されること。<br>
+     * <br>
+     * 各カラムパーサーがプリミティブ型に変換して格納することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testParse01() throws Exception {
+        // 前提条件の設定
+        ColumnBinderCompiler_Stub03 t = new ColumnBinderCompiler_Stub03();
+        Class<ColumnBinderCompiler_Stub03> clazz = ColumnBinderCompiler_Stub03.class;
+
+        // テスト実施
+        new LongColumnParser().parse("-9223372036854775808", t, clazz
+                .getMethod("setLongValue", long.class), "");
+        new ShortColumnParser().parse("32767", t, clazz.getMethod(
+                "setShortValue", short.class), "");
+        new DoubleColumnParser().parse("-1.5E3", t, clazz.getMethod(
+                "setDoubleValue", double.class), "");
+        new BooleanColumnParser().parse("TRUE", t, clazz.getMethod(
+                "setBooleanValue", boolean.class), "");
+        new CharColumnParser().parse("あ", t, clazz.getMethod("setCharValue",
+                char.class), "");
+
+        // 状態変化の確認
+        assertEquals(Long.MIN_VALUE, t.getLongValue());
+        assertEquals(Short.MAX_VALUE, t.getShortValue());
+        assertEquals(-1500d, t.getDoubleValue(), 0d);
+        assertTrue(t.isBooleanValue());
+        assertEquals('あ', t.getCharValue());
+    }
+
+    /**
+     * testParse02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) column:各プリミティブ型として不正な文字列<br>
+     * <br>
+     * 期待値：(状態変化) 例外:NumberFormatException、IllegalArgumentException<br>
+     * <br>
+     * 変換できない文字列の場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testParse02() throws Exception {
+        ColumnBinderCompiler_Stub03 t = new ColumnBinderCompiler_Stub03();
+        Class<ColumnBinderCompiler_Stub03> clazz = ColumnBinderCompiler_Stub03.class;
+        try {
+            new ShortColumnParser().parse("32768", t, clazz.getMethod(
+                    "setShortValue", short.class), "");
+            fail("NumberFormatExceptionがスローされませんでした。");
+        } catch (NumberFormatException e) {
+            assertEquals(NumberFormatException.class, e.getClass());
+        }
+        try {
+            new BooleanColumnParser().parse("1", t, clazz.getMethod(
+                    "setBooleanValue", boolean.class), "");
+            fail("IllegalArgumentExceptionがスローされませんでした。");
+        } catch (IllegalArgumentException e) {
+            assertEquals(IllegalArgumentException.class, e.getClass());
+            assertEquals("For input string: \"1\"", e.getMessage());
+        }
+        try {
+            new CharColumnParser().parse("", t, clazz.getMethod(
+                    "setCharValue", char.class), "");
+            fail("IllegalArgumentExceptionがスローされませんでした。");
+        } catch (IllegalArgumentException e) {
+            assertEquals(IllegalArgumentException.class, e.getClass());
+        }
+    }
+
+    /**
+     * testFormat01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) t:各プリミティブ型の値を保持するファイル行オブジェクト<br>
+     * <br>
+     * 期待値：(戻り値) 各値の文字列表現<br>
+     * <br>
+     * 各カラムフォーマッタがプリミティブ型の値を文字列に変換することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testFormat01() throws Exception {
+        // 前提条件の設定
+        ColumnBinderCompiler_Stub03 t = new ColumnBinderCompiler_Stub03();
+        t.setLongValue(12345678901L);
+        t.setShortValue((short) -1);
+        t.setDoubleValue(0.25d);
+        t.setBooleanValue(false);
+        t.setCharValue('A');
+        Class<ColumnBinderCompiler_Stub03> clazz = ColumnBinderCompiler_Stub03.class;
+
+        // テスト実施・返却値の確認
+        assertEquals("12345678901", new LongColumnFormatter().format(t, clazz
+                .getMethod("getLongValue"), ""));
+        assertEquals("-1", new ShortColumnFormatter().format(t, clazz
+                .getMethod("getShortValue"), ""));
+        assertEquals("0.25", new DoubleColumnFormatter().format(t, clazz
+                .getMethod("getDoubleValue"), ""));
+        assertEquals("false", new BooleanColumnFormatter().format(t, clazz
+                .getMethod("isBooleanValue"), ""));
+        assertEquals("A", new CharColumnFormatter().format(t, clazz
+                .getMethod("getCharValue"), ""));
+    }
+
+    /**
+     * testReadWrite01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：F <br>
+     * <br>
+     * 入力値：(状態) columnParserMap、columnFormatterMapに各プリミティブ型のカラムパーサー/カラムフォーマッタを設定<br>
+     * <br>
+     * 期待値：(状態変化) 書き込んだファイル行オブジェクトと同じ値が読み込まれること。<br>
+     * <br>
+     * boolean型の属性は「is」で始まるgetterメソッドで出力できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadWrite01() throws Exception {
+        // 前提条件の設定
+        Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("long", new LongColumnFormatter());
+        columnFormatterMap.put("short", new ShortColumnFormatter());
+        columnFormatterMap.put("double", new DoubleColumnFormatter());
+        columnFormatterMap.put("boolean", new BooleanColumnFormatter());
+        columnFormatterMap.put("char", new CharColumnFormatter());
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("long", new LongColumnParser());
+        columnParserMap.put("short", new ShortColumnParser());
+        columnParserMap.put("double", new DoubleColumnParser());
+        columnParserMap.put("boolean", new BooleanColumnParser());
+        columnParserMap.put("char", new CharColumnParser());
+
+        ColumnBinderCompiler_Stub03 data = new ColumnBinderCompiler_Stub03();
+        data.setLongValue(-42L);
+        data.setShortValue((short) 7);
+        data.setDoubleValue(3.5d);
+        data.setBooleanValue(true);
+        data.setCharValue('x');
+
+        // テスト実施
+        CSVFileLineWriter<ColumnBinderCompiler_Stub03> writer = new CSVFileLineWriter<ColumnBinderCompiler_Stub03>(tempFile.getPath(), ColumnBinderCompiler_Stub03.class, columnFormatterMap);
+        try {
+            writer.printDataLine(data);
+        } finally {
+            writer.closeFile();
+        }
+        CSVFileLineIterator<ColumnBinderCompiler_Stub03> iterator = new CSVFileLineIterator<ColumnBinderCompiler_Stub03>(tempFile.getPath(), ColumnBinderCompiler_Stub03.class, columnParserMap);
+        ColumnBinderCompiler_Stub03 result;
+        try {
+            result = iterator.next();
+            assertFalse(iterator.hasNext());
+        } finally {
+            iterator.closeFile();
+        }
+
+        // 状態変化の確認
+        assertEquals(-42L, result.getLongValue());
+        assertEquals((short) 7, result.getShortValue());
+        assertEquals(3.5d, result.getDoubleValue(), 0d);
+        assertTrue(result.isBooleanValue());
+        assertEquals('x', result.getCharValue());
+    }
+
+    /**
+     * testParseBoolean01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：E <br>
+     * <br>
+     * 入力値：(引数) column:「False」「true」<br>
+     * <br>
+     * 期待値：(戻り値) false、true<br>
+     * <br>
+     * 大文字・小文字を区別せずに変換されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testParseBoolean01() throws Exception {
+        assertFalse(BooleanColumnParser.parseBoolean("False"));
+        assertTrue(BooleanColumnParser.parseBoolean("true"));
+    }
+}
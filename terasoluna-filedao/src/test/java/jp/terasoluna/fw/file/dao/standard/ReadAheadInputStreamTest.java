@@ -0,0 +1,248 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ReadAheadInputStream} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 別スレッドで元のストリームから先読みする。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ReadAheadInputStream
+ */
+public class ReadAheadInputStreamTest {
+
+    /**
+     * testRead01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(状態) 元のストリーム:10000バイト、bufferSize:7、bufferCount:2<br>
+     * <br>
+     * 期待値：(戻り値) 元のストリームと同じデータが同じ順序で読み込めること。<br>
+     * <br>
+     * バッファを使い回して先読みしたデータが欠落しないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testRead01() throws Exception {
+        // 前提条件の設定
+        byte[] expected = new byte[10000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) i;
+        }
+        ReadAheadInputStream in = new ReadAheadInputStream(new ByteArrayInputStream(expected), 7, 2);
+
+        // テスト実施
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        result.write(in.read());
+        byte[] buf = new byte[100];
+        int n;
+        while ((n = in.read(buf, 0, buf.length)) != -1) {
+            result.write(buf, 0, n);
+        }
+
+        // 返却値の確認
+        assertArrayEquals(expected, result.toByteArray());
+        assertEquals(-1, in.read());
+        in.close();
+    }
+
+    /**
+     * testRead02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) 元のストリーム:3バイト読み込んだ後にIOExceptionをスローする<br>
+     * <br>
+     * 期待値：(戻り値) 3バイト読み込めた後、原因例外が元の例外であるIOExceptionがスローされること。<br>
+     * <br>
+     * 先読みスレッドで発生した例外が読込処理で通知されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testRead02() throws Exception {
+        // 前提条件の設定
+        final IOException cause = new IOException("error");
+        InputStream source = new InputStream() {
+            private int count = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (count++ < 3) {
+                    return 'a';
+                }
+                throw cause;
+            }
+        };
+        ReadAheadInputStream in = new ReadAheadInputStream(source, 1, 2);
+
+        // テスト実施
+        assertEquals('a', in.read());
+        assertEquals('a', in.read());
+        assertEquals('a', in.read());
+        try {
+            in.read();
+            fail("IOExceptionがスローされませんでした。");
+        } catch (IOException e) {
+            // 返却値の確認
+            assertEquals("Read-ahead was failed.", e.getMessage());
+            assertSame(cause, e.getCause());
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * testRead03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) 元のストリーム:1バイト読み込んだ後にErrorをスローする<br>
+     * <br>
+     * 期待値：(戻り値) 1バイト読み込めた後、原因例外の原因が元のErrorであるIOExceptionがスローされること。<br>
+     * <br>
+     * 先読みスレッドでErrorが発生しても読込処理が待機し続けないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test(timeout = 10000L)
+    public void testRead03() throws Exception {
+        // 前提条件の設定
+        final Error cause = new OutOfMemoryError("error");
+        InputStream source = new InputStream() {
+            private int count = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (count++ < 1) {
+                    return 'a';
+                }
+                throw cause;
+            }
+        };
+        ReadAheadInputStream in = new ReadAheadInputStream(source, 1, 2);
+
+        // テスト実施
+        assertEquals('a', in.read());
+        try {
+            in.read();
+            fail("IOExceptionがスローされませんでした。");
+        } catch (IOException e) {
+            // 返却値の確認
+            assertEquals("Read-ahead was failed.", e.getMessage());
+            assertSame(cause, e.getCause().getCause());
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * testClose01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(状態) 読込途中(先読みスレッドが空きバッファを待機している)<br>
+     * <br>
+     * 期待値：(状態変化) 先読みスレッドが停止し、以降の読込でIOExceptionがスローされること。<br>
+     * <br>
+     * 読込途中でクローズできることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testClose01() throws Exception {
+        // 前提条件の設定
+        ReadAheadInputStream in = new ReadAheadInputStream(new ByteArrayInputStream(new byte[1000]), 10, 2);
+        in.read();
+
+        // テスト実施
+        in.close();
+
+        // 状態変化の確認
+        try {
+            in.read();
+            fail("IOExceptionがスローされませんでした。");
+        } catch (IOException e) {
+            assertEquals("Stream closed.", e.getMessage());
+        }
+    }
+
+    /**
+     * testClose02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(状態) 元のストリームの読込が、割り込みに応答せずクローズまで待機する<br>
+     * <br>
+     * 期待値：(状態変化) クローズが待機し続けずに終了し、元のストリームが閉じられること。<br>
+     * <br>
+     * 割り込みに応答しない読込で先読みスレッドが待機している場合も、クローズできることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test(timeout = 10000L)
+    public void testClose02() throws Exception {
+        // 前提条件の設定
+        BlockingInputStream source = new BlockingInputStream();
+        ReadAheadInputStream in = new ReadAheadInputStream(source, 10, 2);
+        source.started.await();
+
+        // テスト実施
+        in.close();
+
+        // 状態変化の確認
+        assertEquals(0L, source.closed.getCount());
+    }
+
+    /**
+     * クローズされるまで、割り込みに応答せずに読込を待機するストリーム。
+     */
+    private static class BlockingInputStream extends InputStream {
+
+        /**
+         * 読込が開始されたことを示すラッチ。
+         */
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        /**
+         * クローズされたことを示すラッチ。
+         */
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public int read() throws IOException {
+            started.countDown();
+            boolean interrupted = false;
+            while (closed.getCount() > 0) {
+                try {
+                    closed.await();
+                } catch (InterruptedException e) {
+                    // 割り込みに応答しない読込を再現する
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Stream closed.");
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
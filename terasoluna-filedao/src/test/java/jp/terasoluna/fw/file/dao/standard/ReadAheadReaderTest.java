@@ -0,0 +1,313 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ReadAheadReader} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 別スレッドで元のストリームから読み込んでデコードし、先読みする。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ReadAheadReader
+ */
+public class ReadAheadReaderTest {
+
+    /**
+     * testRead01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(状態) 元のストリーム:UTF-8の全角・半角混在文字列、bufferSize:3、bufferCount:2<br>
+     * <br>
+     * 期待値：(戻り値) 元の文字列と同じ文字列が読み込めること。<br>
+     * <br>
+     * マルチバイト文字がバッファの境界をまたいでも欠落・文字化けしないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testRead01() throws Exception {
+        // 前提条件の設定
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            expected.append("あa𠮷").append(i).append("\r\n");
+        }
+        ReadAheadReader reader = new ReadAheadReader(new ByteArrayInputStream(expected
+                .toString().getBytes("UTF-8")), "UTF-8", 3, 2);
+
+        // テスト実施
+        StringBuilder result = new StringBuilder();
+        result.append((char) reader.read());
+        char[] buf = new char[100];
+        int n;
+        while ((n = reader.read(buf, 0, buf.length)) != -1) {
+            result.append(buf, 0, n);
+        }
+
+        // 返却値の確認
+        assertEquals(expected.toString(), result.toString());
+        assertEquals(-1, reader.read());
+        reader.close();
+    }
+
+    /**
+     * testRead02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) 元のストリーム:3バイト読み込んだ後にIOExceptionをスローする<br>
+     * <br>
+     * 期待値：(戻り値) 3文字読み込めた後、原因例外が元の例外であるIOExceptionがスローされること。<br>
+     * <br>
+     * 先読みスレッドで発生した例外が読込処理で通知されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testRead02() throws Exception {
+        // 前提条件の設定
+        final IOException cause = new IOException("error");
+        InputStream source = new InputStream() {
+            private int count = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (count++ < 3) {
+                    return 'a';
+                }
+                throw cause;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                b[off] = (byte) read();
+                return 1;
+            }
+        };
+        ReadAheadReader reader = new ReadAheadReader(source, "US-ASCII", 1, 2);
+
+        // テスト実施
+        assertEquals('a', reader.read());
+        assertEquals('a', reader.read());
+        assertEquals('a', reader.read());
+        try {
+            reader.read();
+            fail("IOExceptionがスローされませんでした。");
+        } catch (IOException e) {
+            // 返却値の確認
+            assertEquals("Read-ahead was failed.", e.getMessage());
+            assertSame(cause, e.getCause());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * testRead03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(状態) 元のストリーム:UTF-8として不正なバイト列で終わる<br>
+     * <br>
+     * 期待値：(戻り値) 不正なバイト列が置換文字に置き換えられること。<br>
+     * <br>
+     * InputStreamReaderと同様に不正なバイト列が置き換えられることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testRead03() throws Exception {
+        // 前提条件の設定
+        ReadAheadReader reader = new ReadAheadReader(new ByteArrayInputStream(new byte[] {
+                'a', (byte) 0xE3, (byte) 0x81 }), "UTF-8", 8, 2);
+
+        // テスト実施
+        char[] buf = new char[8];
+        int n = reader.read(buf, 0, buf.length);
+
+        // 返却値の確認
+        assertEquals("a�", new String(buf, 0, n));
+        assertEquals(-1, reader.read());
+        reader.close();
+    }
+
+    /**
+     * testRead04() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) 元のストリーム:1バイト読み込んだ後にErrorをスローする<br>
+     * <br>
+     * 期待値：(戻り値) 1文字読み込めた後、原因例外の原因が元のErrorであるIOExceptionがスローされること。<br>
+     * <br>
+     * 先読みスレッドでErrorが発生しても読込処理が待機し続けないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test(timeout = 10000L)
+    public void testRead04() throws Exception {
+        // 前提条件の設定
+        final Error cause = new OutOfMemoryError("error");
+        InputStream source = new InputStream() {
+            private int count = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (count++ < 1) {
+                    return 'a';
+                }
+                throw cause;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                b[off] = (byte) read();
+                return 1;
+            }
+        };
+        ReadAheadReader reader = new ReadAheadReader(source, "US-ASCII", 1, 2);
+
+        // テスト実施
+        assertEquals('a', reader.read());
+        try {
+            reader.read();
+            fail("IOExceptionがスローされませんでした。");
+        } catch (IOException e) {
+            // 返却値の確認
+            assertEquals("Read-ahead was failed.", e.getMessage());
+            assertSame(cause, e.getCause().getCause());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * testClose01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(状態) 読込途中(先読みスレッドが空きバッファを待機している)<br>
+     * <br>
+     * 期待値：(状態変化) 先読みスレッドが停止し、以降の読込でIOExceptionがスローされること。<br>
+     * <br>
+     * 読込途中でクローズできることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testClose01() throws Exception {
+        // 前提条件の設定
+        ReadAheadReader reader = new ReadAheadReader(new ByteArrayInputStream(new byte[1000]), "UTF-8", 10, 2);
+        reader.read();
+
+        // テスト実施
+        reader.close();
+
+        // 状態変化の確認
+        try {
+            reader.read();
+            fail("IOExceptionがスローされませんでした。");
+        } catch (IOException e) {
+            assertEquals("Stream closed.", e.getMessage());
+        }
+    }
+
+    /**
+     * testReadAheadReader01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) bufferCount:0<br>
+     * <br>
+     * 期待値：(状態変化) 例外:IllegalArgumentException<br>
+     * <br>
+     * バッファ数が0の場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadAheadReader01() throws Exception {
+        try {
+            // テスト実施
+            new ReadAheadReader(new ByteArrayInputStream(new byte[0]), "UTF-8", 10, 0);
+            fail("IllegalArgumentExceptionがスローされませんでした。");
+        } catch (IllegalArgumentException e) {
+            // 状態変化の確認
+            assertEquals("bufferCount is larger than 0.", e.getMessage());
+        }
+    }
+
+    /**
+     * testClose02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(状態) 元のストリームの読込が、割り込みに応答せずクローズまで待機する<br>
+     * <br>
+     * 期待値：(状態変化) クローズが待機し続けずに終了し、元のストリームが閉じられること。<br>
+     * <br>
+     * 割り込みに応答しない読込で先読みスレッドが待機している場合も、クローズできることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test(timeout = 10000L)
+    public void testClose02() throws Exception {
+        // 前提条件の設定
+        BlockingInputStream source = new BlockingInputStream();
+        ReadAheadReader reader = new ReadAheadReader(source, "UTF-8", 10, 2);
+        source.started.await();
+
+        // テスト実施
+        reader.close();
+
+        // 状態変化の確認
+        assertEquals(0L, source.closed.getCount());
+    }
+
+    /**
+     * クローズされるまで、割り込みに応答せずに読込を待機するストリーム。
+     */
+    private static class BlockingInputStream extends InputStream {
+
+        /**
+         * 読込が開始されたことを示すラッチ。
+         */
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        /**
+         * クローズされたことを示すラッチ。
+         */
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public int read() throws IOException {
+            started.countDown();
+            boolean interrupted = false;
+            while (closed.getCount() > 0) {
+                try {
+                    closed.await();
+                } catch (InterruptedException e) {
+                    // 割り込みに応答しない読込を再現する
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Stream closed.");
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ReconciliationTotals} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> データ部の件数・合計値の集計結果。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ReconciliationTotals
+ */
+public class ReconciliationTotalsTest {
+
+    /**
+     * ファイル行オブジェクトを生成する。
+     * @param total long型の属性の値
+     * @param boxedTotal Long型の属性の値
+     * @return ファイル行オブジェクト
+     */
+    private ReconciliationTotals_Stub01 createLine(long total, Long boxedTotal) {
+        ReconciliationTotals_Stub01 line = new ReconciliationTotals_Stub01();
+        line.setTotal(total);
+        line.setBoxedTotal(boxedTotal);
+        return line;
+    }
+
+    /**
+     * testAdd01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) long型・Long型の属性がLong.MAX_VALUE、Long.MAX_VALUE、-1、Long.MIN_VALUEのデータ行<br>
+     * (Long型の属性がnullのデータ行を含む)<br>
+     * <br>
+     * 期待値：(状態変化) 合計値がlongの範囲を超えても、正確な合計値となること。<br>
+     * <br>
+     * longで合計する属性の合計値がオーバーフローせず、BigDecimalに繰り越されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testAdd01() throws Exception {
+        // 前提条件の設定
+        ReconciliationTotals totals = new ReconciliationTotals(ReconciliationTotals_Stub01.class);
+        BigDecimal max = BigDecimal.valueOf(Long.MAX_VALUE);
+        BigDecimal min = BigDecimal.valueOf(Long.MIN_VALUE);
+
+        // テスト実施・状態変化の確認
+        totals.add(createLine(Long.MAX_VALUE, Long.MAX_VALUE));
+        totals.add(createLine(Long.MAX_VALUE, Long.MAX_VALUE));
+        assertEquals(max.add(max), totals.getSum("total"));
+        assertEquals(max.add(max), totals.getSum("boxedTotal"));
+
+        totals.add(createLine(-1L, null));
+        assertEquals(max.add(max).subtract(BigDecimal.ONE), totals.getSum(
+                "total"));
+        assertEquals(max.add(max), totals.getSum("boxedTotal"));
+
+        for (int i = 0; i < 3; i++) {
+            totals.add(createLine(Long.MIN_VALUE, Long.MIN_VALUE));
+        }
+        BigDecimal expected = max.add(max).add(min).add(min).add(min);
+        assertEquals(expected.subtract(BigDecimal.ONE), totals.getSum(
+                "total"));
+        assertEquals(expected, totals.getSum("boxedTotal"));
+        assertEquals(6L, totals.getCount());
+    }
+}
@@ -0,0 +1,46 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import jp.terasoluna.fw.file.annotation.ReconciliationSum;
+
+/**
+ * long型、Long型の合計対象の属性を持つ、ファイル行オブジェクトスタブクラス
+ * <p>
+ * ReconciliationTotalsのテストで使用する。
+ * </p>
+ */
+public class ReconciliationTotals_Stub01 {
+
+    @ReconciliationSum
+    private long total;
+
+    @ReconciliationSum
+    private Long boxedTotal;
+
+    /**
+     * @return total
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @param total 設定する total
+     */
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /**
+     * @return boxedTotal
+     */
+    public Long getBoxedTotal() {
+        return boxedTotal;
+    }
+
+    /**
+     * @param boxedTotal 設定する boxedTotal
+     */
+    public void setBoxedTotal(Long boxedTotal) {
+        this.boxedTotal = boxedTotal;
+    }
+}
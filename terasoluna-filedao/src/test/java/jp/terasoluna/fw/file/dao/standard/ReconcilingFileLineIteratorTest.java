@@ -0,0 +1,274 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.FileLineIterator;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ReconcilingFileLineIterator} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> データ部の件数・合計値を集計しながら読み込むFileLineIterator。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ReconcilingFileLineIterator
+ * @see jp.terasoluna.fw.file.dao.standard.ReconciliationTotals
+ */
+public class ReconcilingFileLineIteratorTest {
+
+    /**
+     * テストで利用するファイル。
+     */
+    private File file = null;
+
+    /**
+     * テストで利用するファイル読み込み用DAO。
+     */
+    private CSVFileQueryDAO dao = null;
+
+    /**
+     * テストで利用するファイルとDAOを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("ReconcilingFileLineIteratorTest", ".csv");
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        columnParserMap.put("java.math.BigDecimal", new DecimalColumnParser());
+        columnParserMap.put("int", new IntColumnParser());
+        columnParserMap.put("double", new DoubleColumnParser());
+        dao = new CSVFileQueryDAO();
+        dao.setColumnParserMap(columnParserMap);
+    }
+
+    /**
+     * テストで利用したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * ファイルを作成する。
+     * @param content ファイルの内容
+     * @throws Exception 予期しない例外
+     */
+    private void writeFile(String content) throws Exception {
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(content.getBytes("UTF-8"));
+        } finally {
+            fos.close();
+        }
+    }
+
+    /**
+     * 照合しながら読み込むFileLineIteratorを生成する。
+     * @return FileLineIterator
+     */
+    private ReconcilingFileLineIterator<ReconcilingFileLineIterator_Stub01> createIterator() {
+        FileLineIterator<ReconcilingFileLineIterator_Stub01> iterator = dao
+                .execute(file.getAbsolutePath(),
+                        ReconcilingFileLineIterator_Stub01.class);
+        return new ReconcilingFileLineIterator<ReconcilingFileLineIterator_Stub01>(iterator, ReconcilingFileLineIterator_Stub01.class);
+    }
+
+    /**
+     * testHasNext01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(状態) ファイル:データ部3行、トレイラ部の件数・合計値がデータ部と一致<br>
+     * <br>
+     * 期待値：(戻り値) データ部の読み込み完了時にhasNext():false<br>
+     * (状態変化) 集計結果:件数3、amountの合計1000.50、quantityの合計-3、rateの合計0.75<br>
+     * <br>
+     * トレイラ部と一致する場合に、例外がスローされずに読み込みが完了することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testHasNext01() throws Exception {
+        // 前提条件の設定
+        writeFile("A,1000.25,2,0.5\nB,-100.00,-6,0.25\nC,100.25,1,0\nT,3,1000.50,-3\n");
+        ReconcilingFileLineIterator<ReconcilingFileLineIterator_Stub01> iterator = createIterator();
+
+        try {
+            // テスト実施
+            int count = 0;
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+
+            // 返却値の確認
+            assertEquals(3, count);
+            assertFalse(iterator.hasNext());
+
+            // 状態変化の確認
+            ReconciliationTotals totals = iterator.getTotals();
+            assertEquals(3, totals.getCount());
+            assertEquals(new BigDecimal("1000.50"), totals.getSum("amount"));
+            assertEquals(BigDecimal.valueOf(-3), totals.getSum("quantity"));
+            assertEquals(0, BigDecimal.valueOf(0.75).compareTo(totals.getSum(
+                    "rate")));
+            assertEquals(3, totals.getSums().size());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testHasNext02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) ファイル:データ部2行、トレイラ部の件数が3<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Record count is different from trailer. count: 2, trailer: 3"<br>
+     * <br>
+     * 件数がトレイラ部と一致しない場合に、データ部の読み込み完了時に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testHasNext02() throws Exception {
+        // 前提条件の設定
+        writeFile("A,1,1,0\nB,2,2,0\nT,3,3,3\n");
+        ReconcilingFileLineIterator<ReconcilingFileLineIterator_Stub01> iterator = createIterator();
+
+        try {
+            // テスト実施
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Record count is different from trailer. count: 2, trailer: 3", e
+                    .getMessage());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testHasNext03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) ファイル:amountの合計が3、トレイラ部の合計値が4<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Sum of column is different from trailer. column: amount, sum: 3, trailer: 4"<br>
+     * <br>
+     * 合計値がトレイラ部と一致しない場合に、データ部の読み込み完了時に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testHasNext03() throws Exception {
+        // 前提条件の設定
+        writeFile("A,1,1,0\nB,2,2,0\nT,2,4,3\n");
+        ReconcilingFileLineIterator<ReconcilingFileLineIterator_Stub01> iterator = createIterator();
+
+        try {
+            // テスト実施
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Sum of column is different from trailer. column: amount, sum: 3, trailer: 4", e
+                    .getMessage());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testHasNext04() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) ファイル:トレイラ部が正規表現に一致しない<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Reconciliation value is not found in trailer. pattern: ^T,(\d+)"<br>
+     * <br>
+     * トレイラ部に照合する値が記載されていない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testHasNext04() throws Exception {
+        // 前提条件の設定
+        writeFile("A,1,1,0\nEND\n");
+        ReconcilingFileLineIterator<ReconcilingFileLineIterator_Stub01> iterator = createIterator();
+
+        try {
+            // テスト実施
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Reconciliation value is not found in trailer. pattern: ^T,(\\d+)", e
+                    .getMessage());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+
+    /**
+     * testSkip01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) skipLines:1<br>
+     * (状態) ファイル:データ部2行、トレイラ部の件数が2<br>
+     * <br>
+     * 期待値：(状態変化) 読み飛ばしたデータ行は集計されず、照合も行われないこと。<br>
+     * <br>
+     * データ行を読み飛ばした場合に照合が行われないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testSkip01() throws Exception {
+        // 前提条件の設定
+        writeFile("A,1,1,0\nB,2,2,0\nT,2,3,3\n");
+        ReconcilingFileLineIterator<ReconcilingFileLineIterator_Stub01> iterator = createIterator();
+
+        try {
+            // テスト実施
+            iterator.skip(1);
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+
+            // 状態変化の確認
+            assertEquals(1, iterator.getTotals().getCount());
+            assertEquals(BigDecimal.valueOf(2), iterator.getTotals().getSum(
+                    "amount"));
+        } finally {
+            iterator.closeFile();
+        }
+    }
+}
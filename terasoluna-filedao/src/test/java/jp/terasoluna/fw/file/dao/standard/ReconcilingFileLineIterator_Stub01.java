@@ -0,0 +1,113 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import java.math.BigDecimal;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+import jp.terasoluna.fw.file.annotation.OutputFileColumn;
+import jp.terasoluna.fw.file.annotation.ReconciliationCount;
+import jp.terasoluna.fw.file.annotation.ReconciliationSum;
+
+/**
+ * FileFormatアノテーション、照合設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(lineFeedChar = "\n", fileEncoding = "UTF-8", trailerLineCount = 1, overWriteFlg = true)
+ * <li>@ReconciliationCount(trailerPattern = "^T,(\\d+)")
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0)、@OutputFileColumn(columnIndex = 0)<br>
+ * String id
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1)、@OutputFileColumn(columnIndex = 1)、@ReconciliationSum(trailerPattern = "^T,\\d+,([-0-9.]+)")<br>
+ * BigDecimal amount
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 2)、@OutputFileColumn(columnIndex = 2)、@ReconciliationSum(trailerPattern = "^T,\\d+,[-0-9.]+,(-?\\d+)")<br>
+ * int quantity
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 3)、@OutputFileColumn(columnIndex = 3)、@ReconciliationSum<br>
+ * double rate
+ * </ul>
+ * </ul>
+ */
+@FileFormat(lineFeedChar = "\n", fileEncoding = "UTF-8", trailerLineCount = 1, overWriteFlg = true)
+@ReconciliationCount(trailerPattern = "^T,(\\d+)")
+public class ReconcilingFileLineIterator_Stub01 {
+
+    @InputFileColumn(columnIndex = 0)
+    @OutputFileColumn(columnIndex = 0)
+    private String id;
+
+    @InputFileColumn(columnIndex = 1)
+    @OutputFileColumn(columnIndex = 1)
+    @ReconciliationSum(trailerPattern = "^T,\\d+,([-0-9.]+)")
+    private BigDecimal amount;
+
+    @InputFileColumn(columnIndex = 2)
+    @OutputFileColumn(columnIndex = 2)
+    @ReconciliationSum(trailerPattern = "^T,\\d+,[-0-9.]+,(-?\\d+)")
+    private int quantity;
+
+    @InputFileColumn(columnIndex = 3)
+    @OutputFileColumn(columnIndex = 3)
+    @ReconciliationSum
+    private double rate;
+
+    /**
+     * @return id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @param id 設定する id
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return amount
+     */
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * @param amount 設定する amount
+     */
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * @return quantity
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * @param quantity 設定する quantity
+     */
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    /**
+     * @return rate
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * @param rate 設定する rate
+     */
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+}
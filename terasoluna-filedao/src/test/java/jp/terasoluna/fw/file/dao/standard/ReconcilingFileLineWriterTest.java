@@ -0,0 +1,127 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ReconcilingFileLineWriter} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> データ部の件数・合計値を集計しながら出力するFileLineWriter。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ReconcilingFileLineWriter
+ */
+public class ReconcilingFileLineWriterTest {
+
+    /**
+     * テストで利用するファイル。
+     */
+    private File file = null;
+
+    /**
+     * テストで利用するファイルを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("ReconcilingFileLineWriterTest", ".csv");
+    }
+
+    /**
+     * テストで利用したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * testPrintDataLine01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(状態) データ部1000行を出力し、集計結果の件数・合計値をトレイラ部に出力<br>
+     * <br>
+     * 期待値：(状態変化) 集計結果が出力したデータ行の件数・合計値と一致し、
+     * 出力したファイルを照合しながら読み込んだ集計結果とも一致すること。<br>
+     * <br>
+     * 出力時の集計結果でトレイラ部を出力し、読み込み時に照合できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine01() throws Exception {
+        // 前提条件の設定
+        Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+        columnFormatterMap.put("java.math.BigDecimal", new DecimalColumnFormatter());
+        columnFormatterMap.put("int", new IntColumnFormatter());
+        columnFormatterMap.put("double", new DoubleColumnFormatter());
+        CSVFileUpdateDAO updateDAO = new CSVFileUpdateDAO();
+        updateDAO.setColumnFormatterMap(columnFormatterMap);
+        List<ReconcilingFileLineIterator_Stub01> lines = new ArrayList<ReconcilingFileLineIterator_Stub01>();
+        BigDecimal amount = BigDecimal.ZERO;
+        int quantity = 0;
+        for (int i = 0; i < 1000; i++) {
+            ReconcilingFileLineIterator_Stub01 line = new ReconcilingFileLineIterator_Stub01();
+            line.setId("ID" + i);
+            line.setAmount(new BigDecimal(i + ".1" + (i % 10)));
+            line.setQuantity(i % 7 - 3);
+            line.setRate(0.5);
+            lines.add(line);
+            amount = amount.add(line.getAmount());
+            quantity += line.getQuantity();
+        }
+
+        // テスト実施
+        ReconcilingFileLineWriter<ReconcilingFileLineIterator_Stub01> writer = new ReconcilingFileLineWriter<ReconcilingFileLineIterator_Stub01>(updateDAO
+                .execute(file.getAbsolutePath(),
+                        ReconcilingFileLineIterator_Stub01.class), ReconcilingFileLineIterator_Stub01.class);
+        try {
+            writer.printDataLines(lines);
+            ReconciliationTotals totals = writer.getTotals();
+            writer.printTrailerLine(Arrays.asList("T," + totals.getCount()
+                    + "," + totals.getSum("amount") + "," + totals.getSum(
+                            "quantity")));
+        } finally {
+            writer.closeFile();
+        }
+
+        // 状態変化の確認
+        ReconciliationTotals totals = writer.getTotals();
+        assertEquals(1000, totals.getCount());
+        assertEquals(amount, totals.getSum("amount"));
+        assertEquals(BigDecimal.valueOf(quantity), totals.getSum("quantity"));
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(totals.getSum(
+                "rate")));
+
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        columnParserMap.put("java.math.BigDecimal", new DecimalColumnParser());
+        columnParserMap.put("int", new IntColumnParser());
+        columnParserMap.put("double", new DoubleColumnParser());
+        CSVFileQueryDAO queryDAO = new CSVFileQueryDAO();
+        queryDAO.setColumnParserMap(columnParserMap);
+        ReconcilingFileLineIterator<ReconcilingFileLineIterator_Stub01> iterator = new ReconcilingFileLineIterator<ReconcilingFileLineIterator_Stub01>(queryDAO
+                .execute(file.getAbsolutePath(),
+                        ReconcilingFileLineIterator_Stub01.class), ReconcilingFileLineIterator_Stub01.class);
+        try {
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+            assertEquals(totals.getSums(), iterator.getTotals().getSums());
+        } finally {
+            iterator.closeFile();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.RecordOffsetIndex} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> データ部の一定行数ごとの開始位置を保持する疎なインデックス。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.RecordOffsetIndex
+ */
+public class RecordOffsetIndexTest {
+
+    /**
+     * 一時ファイル。
+     */
+    private File tempFile;
+
+    /**
+     * インデックスファイル。
+     */
+    private File indexFile;
+
+    /**
+     * 一時ファイルを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        tempFile = File.createTempFile("RecordOffsetIndexTest", ".txt");
+        indexFile = new File(tempFile.getPath()
+                + RecordOffsetIndex.INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * 一時ファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        tempFile.delete();
+        indexFile.delete();
+    }
+
+    /**
+     * 一時ファイルに文字列を書き込む。
+     * @param data 書き込む文字列
+     * @throws Exception 予期しない例外
+     */
+    private void writeFile(String data) throws Exception {
+        FileOutputStream out = new FileOutputStream(tempFile);
+        try {
+            out.write(data.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * testBuild01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) lineFeedChar:"\r\n"、headerLineCount:1、interval:2<br>
+     * (状態) ファイル:ヘッダ1行、データ5行、末尾が行区切り文字で終わる<br>
+     * <br>
+     * 期待値：(戻り値) recordCount:5、データ行0,2,4の開始位置が記録されていること。<br>
+     * <br>
+     * ヘッダ部を除いたデータ行の開始位置が間隔ごとに記録されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testBuild01() throws Exception {
+        // 前提条件の設定
+        writeFile("h\r\nr0\r\nr1\r\nr2\r\nr3\r\nr4\r\n");
+
+        // テスト実施
+        RecordOffsetIndex index = RecordOffsetIndex.build(tempFile.getPath(),
+                "UTF-8", "\r\n", Character.MIN_VALUE, 0, 1, 2);
+
+        // 返却値の確認
+        assertEquals(5, index.getRecordCount());
+        assertEquals(2, index.getInterval());
+        assertEquals(3, index.getOffset(0));
+        assertEquals(3, index.getOffset(1));
+        assertEquals(11, index.getOffset(2));
+        assertEquals(4, index.getIndexedRecord(5));
+        assertEquals(19, index.getOffset(5));
+        assertEquals(4, index.getIndexedRecord(100));
+    }
+
+    /**
+     * testBuild02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) encloseChar:'"'、interval:1<br>
+     * (状態) ファイル:囲み文字内に行区切り文字を含む、末尾が行区切り文字で終わらない<br>
+     * <br>
+     * 期待値：(戻り値) 囲み文字内の行区切り文字は行の境界とされないこと。<br>
+     * <br>
+     * 囲み文字で囲まれた行区切り文字を読み飛ばすことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testBuild02() throws Exception {
+        // 前提条件の設定
+        writeFile("\"a\nb\",1\n\"c\"\"\",2\nx,3");
+
+        // テスト実施
+        RecordOffsetIndex index = RecordOffsetIndex.build(tempFile.getPath(),
+                "UTF-8", "\n", '"', 0, 0, 1);
+
+        // 返却値の確認
+        assertEquals(3, index.getRecordCount());
+        assertEquals(0, index.getOffset(0));
+        assertEquals(8, index.getOffset(1));
+        assertEquals(16, index.getOffset(2));
+    }
+
+    /**
+     * testBuild03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) lineFeedChar:""、totalBytes:3、headerLineCount:1、interval:2<br>
+     * (状態) ファイル:ヘッダ1行、データ4行<br>
+     * <br>
+     * 期待値：(戻り値) 1行分のバイト数から開始位置が計算されること。<br>
+     * <br>
+     * 固定長ファイルのインデックスを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testBuild03() throws Exception {
+        // 前提条件の設定
+        writeFile("hhh000111222333");
+
+        // テスト実施
+        RecordOffsetIndex index = RecordOffsetIndex.build(tempFile.getPath(),
+                "UTF-8", "", Character.MIN_VALUE, 3, 1, 2);
+
+        // 返却値の確認
+        assertEquals(4, index.getRecordCount());
+        assertEquals(3, index.getOffset(1));
+        assertEquals(9, index.getOffset(3));
+    }
+
+    /**
+     * testLoadOrBuild01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：E,F <br>
+     * <br>
+     * 入力値：(状態) インデックスファイルが存在しない<br>
+     * <br>
+     * 期待値：(状態変化) インデックスファイルが作成され、読み込んだインデックスが同じ内容であること。
+     * 対象ファイルが更新されると、そのインデックスは無効となること。<br>
+     * <br>
+     * インデックスファイルの保存・読込と、対象ファイル更新時の無効化を確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testLoadOrBuild01() throws Exception {
+        // 前提条件の設定
+        writeFile("r0\nr1\nr2\n");
+
+        // テスト実施
+        RecordOffsetIndex built = RecordOffsetIndex.loadOrBuild(tempFile
+                .getPath(), "UTF-8", "\n", Character.MIN_VALUE, 0, 0, 2);
+        RecordOffsetIndex loaded = RecordOffsetIndex.load(indexFile.getPath());
+
+        // 状態変化の確認
+        assertTrue(indexFile.isFile());
+        assertNotNull(loaded);
+        assertEquals(built.getRecordCount(), loaded.getRecordCount());
+        assertEquals(built.getOffset(2), loaded.getOffset(2));
+        assertTrue(loaded.isValidFor(tempFile.getPath(), "UTF-8", "\n",
+                Character.MIN_VALUE, 0, 0, 2));
+        assertFalse(loaded.isValidFor(tempFile.getPath(), "UTF-8", "\n",
+                Character.MIN_VALUE, 0, 1, 2));
+
+        writeFile("r0\nr1\nr2\nr3\n");
+        assertFalse(loaded.isValidFor(tempFile.getPath(), "UTF-8", "\n",
+                Character.MIN_VALUE, 0, 0, 2));
+        assertEquals(4, RecordOffsetIndex.loadOrBuild(tempFile.getPath(),
+                "UTF-8", "\n", Character.MIN_VALUE, 0, 0, 2).getRecordCount());
+    }
+
+    /**
+     * testStore01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：E,F <br>
+     * <br>
+     * 入力値：(引数) indexFileName:対象ファイルと一致しないインデックスファイル<br>
+     * <br>
+     * 期待値：(状態変化) インデックスファイルが置き換えられ、一時ファイルが残らないこと。<br>
+     * 保存前は無効、保存後は有効なインデックスが読み込めること。<br>
+     * <br>
+     * 既存のインデックスファイルを一時ファイル経由で置き換えることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testStore01() throws Exception {
+        // 前提条件の設定
+        writeFile("r0\nr1\n");
+        RecordOffsetIndex.build(tempFile.getPath(), "UTF-8", "\n",
+                Character.MIN_VALUE, 0, 1, 2).store(indexFile.getPath());
+        assertNull(RecordOffsetIndex.loadIfValid(tempFile.getPath(), "UTF-8",
+                "\n", Character.MIN_VALUE, 0, 0, 2));
+        RecordOffsetIndex index = RecordOffsetIndex.build(tempFile.getPath(),
+                "UTF-8", "\n", Character.MIN_VALUE, 0, 0, 2);
+
+        // テスト実施
+        index.store(indexFile.getPath());
+
+        // 状態変化の確認
+        RecordOffsetIndex loaded = RecordOffsetIndex.loadIfValid(tempFile
+                .getPath(), "UTF-8", "\n", Character.MIN_VALUE, 0, 0, 2);
+        assertNotNull(loaded);
+        assertEquals(2, loaded.getRecordCount());
+        for (File file : indexFile.getParentFile().listFiles()) {
+            assertFalse(file.getName().startsWith(indexFile.getName())
+                    && file.getName().endsWith(".tmp"));
+        }
+    }
+
+    /**
+     * testLoad01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(状態) インデックスファイルの形式が正しくない<br>
+     * <br>
+     * 期待値：(戻り値) null<br>
+     * <br>
+     * 破損したインデックスファイルは利用しないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testLoad01() throws Exception {
+        // 前提条件の設定
+        FileOutputStream out = new FileOutputStream(indexFile);
+        try {
+            out.write(new byte[] { 1, 2, 3 });
+        } finally {
+            out.close();
+        }
+
+        // テスト実施
+        RecordOffsetIndex result = RecordOffsetIndex.load(indexFile.getPath());
+
+        // 返却値の確認
+        assertNull(result);
+    }
+}
@@ -0,0 +1,283 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import jp.terasoluna.fw.file.dao.FileException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.ReverseTrailerReader} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> ファイルの末尾から行区切り文字を遡ってトレイラ部を読み込む。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.ReverseTrailerReader
+ */
+public class ReverseTrailerReaderTest {
+
+    /**
+     * 一時ファイル。
+     */
+    private File tempFile;
+
+    /**
+     * 一時ファイルを生成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        tempFile = File.createTempFile("ReverseTrailerReaderTest", ".txt");
+    }
+
+    /**
+     * 一時ファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        tempFile.delete();
+    }
+
+    /**
+     * 一時ファイルに文字列を書き込む。
+     * @param data 書き込む文字列
+     * @param encoding エンコーディング
+     * @throws Exception 予期しない例外
+     */
+    private void writeFile(String data, String encoding) throws Exception {
+        FileOutputStream out = new FileOutputStream(tempFile);
+        try {
+            out.write(data.getBytes(encoding));
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * testReadTrailer01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) trailerLineCount:2<br>
+     * (状態) ファイル:MS932、行区切り文字"\r\n"、末尾が行区切り文字で終わる、全角文字を含む<br>
+     * <br>
+     * 期待値：(戻り値) トレイラ部の2行がファイル内の順序で返却されること。<br>
+     * (状態変化) trailerStartOffset:トレイラ部1行目の先頭のバイト数<br>
+     * <br>
+     * 末尾の行区切り文字を行の終端として扱い、トレイラ部を読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadTrailer01() throws Exception {
+        // 前提条件の設定
+        String data = "ヘッダ\r\nデータ1\r\nデータ2\r\nトレイラ1\r\nトレイラ2\r\n";
+        writeFile(data, "MS932");
+        ReverseTrailerReader reader = new ReverseTrailerReader(tempFile
+                .getPath(), "MS932", "\r\n", 0);
+
+        // テスト実施
+        List<String> result = reader.readTrailer(2);
+
+        // 返却値の確認
+        assertEquals(2, result.size());
+        assertEquals("トレイラ1", result.get(0));
+        assertEquals("トレイラ2", result.get(1));
+
+        // 状態変化の確認
+        assertEquals("ヘッダ\r\nデータ1\r\nデータ2\r\n".getBytes("MS932").length,
+                reader.getTrailerStartOffset());
+    }
+
+    /**
+     * testReadTrailer02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) trailerLineCount:1<br>
+     * (状態) ファイル:UTF-8、行区切り文字"\n"、末尾が行区切り文字で終わらない<br>
+     * <br>
+     * 期待値：(戻り値) 最終行が返却されること。<br>
+     * <br>
+     * 末尾に行区切り文字が無い場合も最終行をトレイラ部として読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadTrailer02() throws Exception {
+        // 前提条件の設定
+        writeFile("data1\ndata2\nend", "UTF-8");
+        ReverseTrailerReader reader = new ReverseTrailerReader(tempFile
+                .getPath(), "UTF-8", "\n", 0);
+
+        // テスト実施
+        List<String> result = reader.readTrailer(1);
+
+        // 返却値の確認
+        assertEquals(1, result.size());
+        assertEquals("end", result.get(0));
+        assertEquals(12, reader.getTrailerStartOffset());
+    }
+
+    /**
+     * testReadTrailer03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) trailerLineCount:2<br>
+     * (状態) ファイル:行区切り文字"\n"、トレイラ部が読込単位(8192バイト)をまたぐ長さで、空行を含む<br>
+     * <br>
+     * 期待値：(戻り値) 長い行と空行が正しく返却されること。<br>
+     * <br>
+     * 読込単位をまたぐ行と空行を読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadTrailer03() throws Exception {
+        // 前提条件の設定
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            longLine.append((char) ('a' + i % 26));
+        }
+        writeFile("data\n" + longLine + "\n\n", "UTF-8");
+        ReverseTrailerReader reader = new ReverseTrailerReader(tempFile
+                .getPath(), "UTF-8", "\n", 0);
+
+        // テスト実施
+        List<String> result = reader.readTrailer(2);
+
+        // 返却値の確認
+        assertEquals(longLine.toString(), result.get(0));
+        assertEquals("", result.get(1));
+        assertEquals(5, reader.getTrailerStartOffset());
+    }
+
+    /**
+     * testReadTrailer04() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) trailerLineCount:2<br>
+     * (状態) ファイル:行区切り文字無し(固定長)、1行4バイト<br>
+     * <br>
+     * 期待値：(戻り値) 末尾の8バイトが4バイトずつ返却されること。<br>
+     * <br>
+     * 行区切り文字が無い場合は1行分のバイト数からトレイラ部を読み込めることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadTrailer04() throws Exception {
+        // 前提条件の設定
+        writeFile("aaaabbbbccccdddd", "UTF-8");
+        ReverseTrailerReader reader = new ReverseTrailerReader(tempFile
+                .getPath(), "UTF-8", "", 4);
+
+        // テスト実施
+        List<String> result = reader.readTrailer(2);
+
+        // 返却値の確認
+        assertEquals(2, result.size());
+        assertEquals("cccc", result.get(0));
+        assertEquals("dddd", result.get(1));
+        assertEquals(8, reader.getTrailerStartOffset());
+    }
+
+    /**
+     * testReadTrailer05() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) trailerLineCount:2<br>
+     * (状態) ファイル:2行のみ<br>
+     * <br>
+     * 期待値：(戻り値) 全行が返却され、trailerStartOffsetが0であること。<br>
+     * <br>
+     * ファイル全体がトレイラ部の場合を確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadTrailer05() throws Exception {
+        // 前提条件の設定
+        writeFile("t1\r\nt2\r\n", "UTF-8");
+        ReverseTrailerReader reader = new ReverseTrailerReader(tempFile
+                .getPath(), "UTF-8", "\r\n", 0);
+
+        // テスト実施
+        List<String> result = reader.readTrailer(2);
+
+        // 返却値の確認
+        assertEquals("t1", result.get(0));
+        assertEquals("t2", result.get(1));
+        assertEquals(0, reader.getTrailerStartOffset());
+    }
+
+    /**
+     * testReadTrailer06() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) trailerLineCount:3<br>
+     * (状態) ファイル:2行のみ<br>
+     * <br>
+     * 期待値：(状態変化) 例外:原因例外がNoSuchElementExceptionのFileException<br>
+     * <br>
+     * トレイラ行数分のデータが存在しない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReadTrailer06() throws Exception {
+        // 前提条件の設定
+        writeFile("t1\nt2\n", "UTF-8");
+        ReverseTrailerReader reader = new ReverseTrailerReader(tempFile
+                .getPath(), "UTF-8", "\n", 0);
+
+        try {
+            // テスト実施
+            reader.readTrailer(3);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("The data which can be acquired doesn't exist.", e
+                    .getMessage());
+            assertSame(NoSuchElementException.class, e.getCause().getClass());
+            assertEquals(tempFile.getPath(), e.getFileName());
+        }
+    }
+
+    /**
+     * testReverseTrailerReader01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) fileEncoding:"UTF-16"<br>
+     * <br>
+     * 期待値：(状態変化) 例外:原因例外がIllegalStateExceptionのFileException<br>
+     * <br>
+     * 行区切り文字がASCIIと同じバイトで表現されないエンコーディングの場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testReverseTrailerReader01() throws Exception {
+        try {
+            // テスト実施
+            new ReverseTrailerReader(tempFile.getPath(), "UTF-16", "\n", 0);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertSame(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+}
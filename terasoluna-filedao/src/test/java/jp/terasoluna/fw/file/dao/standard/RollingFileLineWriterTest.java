@@ -0,0 +1,250 @@
+package jp.terasoluna.fw.file.dao.standard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link jp.terasoluna.fw.file.dao.standard.RollingFileLineWriter} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> 件数・サイズごとに出力ファイルを切り替えるFileLineWriter。
+ * <p>
+ * @see jp.terasoluna.fw.file.dao.standard.RollingFileLineWriter
+ */
+public class RollingFileLineWriterTest {
+
+    /**
+     * テストで利用するディレクトリ。
+     */
+    private File dir = null;
+
+    /**
+     * テストで利用するディレクトリを作成する。
+     * @throws Exception 予期しない例外
+     */
+    @Before
+    public void setUp() throws Exception {
+        dir = File.createTempFile("RollingFileLineWriterTest", "");
+        dir.delete();
+        dir.mkdir();
+    }
+
+    /**
+     * テストで利用したディレクトリを削除する。
+     */
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    /**
+     * 各パートのFileLineWriterを生成するDAOを生成する。
+     * @return CSVファイル書き込み用DAO
+     */
+    private CSVFileUpdateDAO createDAO() {
+        Map<String, ColumnFormatter> columnFormatterMap = new HashMap<String, ColumnFormatter>();
+        columnFormatterMap.put("java.lang.String", new NullColumnFormatter());
+        columnFormatterMap.put("int", new IntColumnFormatter());
+        CSVFileUpdateDAO dao = new CSVFileUpdateDAO();
+        dao.setColumnFormatterMap(columnFormatterMap);
+        return dao;
+    }
+
+    /**
+     * ファイル行オブジェクトを生成する。
+     * @param branchCode 支店コード
+     * @param seq 連番
+     * @return ファイル行オブジェクト
+     */
+    private PartitionedFileLineWriter_Stub01 createLine(String branchCode,
+            int seq) {
+        PartitionedFileLineWriter_Stub01 line = new PartitionedFileLineWriter_Stub01();
+        line.setBranchCode(branchCode);
+        line.setSeq(seq);
+        return line;
+    }
+
+    /**
+     * ファイルの全行を読み込む。
+     * @param fileName ファイル名
+     * @return 行のリスト
+     * @throws Exception 予期しない例外
+     */
+    private List<String> readLines(String fileName) throws Exception {
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), "UTF-8"));
+        try {
+            String line = null;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines;
+    }
+
+    /**
+     * testPrintDataLine01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) maxLineCount:4、maxBytes:0、repeatHeader:true、manifestFileName:指定あり<br>
+     * (状態) ヘッダ部1行、データ部10行、トレイラ部1行を出力<br>
+     * <br>
+     * 期待値：(状態変化) 4件、4件、2件の3つのパートが作成され、すべてのパートにヘッダ部が、最後のパートにトレイラ部が出力されること。
+     * マニフェストファイルにパートごとのファイル名と件数が出力されること。<br>
+     * <br>
+     * データ行の件数ごとにパートを切り替えて出力できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine01() throws Exception {
+        // 引数の設定
+        String pattern = new File(dir, "part%03d.csv").getAbsolutePath();
+        String manifest = new File(dir, "manifest.csv").getAbsolutePath();
+
+        // テスト実施
+        RollingFileLineWriter<PartitionedFileLineWriter_Stub01> writer = new RollingFileLineWriter<PartitionedFileLineWriter_Stub01>(createDAO(), PartitionedFileLineWriter_Stub01.class, pattern, 4, 0L, true, manifest);
+        writer.printHeaderLine(Arrays.asList("header"));
+        for (int i = 0; i < 10; i++) {
+            writer.printDataLine(createLine("B", i));
+        }
+        writer.printTrailerLine(Arrays.asList("trailer"));
+        writer.closeFile();
+
+        // 状態変化の確認
+        assertEquals(10, writer.getCurrentLineCount());
+        List<String> fileNames = Arrays.asList(String.format(pattern, 1),
+                String.format(pattern, 2), String.format(pattern, 3));
+        assertEquals(fileNames, writer.getPartFileNames());
+        assertEquals(Arrays.asList(4, 4, 2), writer.getPartLineCounts());
+        assertEquals(Arrays.asList("header", "B,0", "B,1", "B,2", "B,3"),
+                readLines(fileNames.get(0)));
+        assertEquals(Arrays.asList("header", "B,4", "B,5", "B,6", "B,7"),
+                readLines(fileNames.get(1)));
+        assertEquals(Arrays.asList("header", "B,8", "B,9", "trailer"),
+                readLines(fileNames.get(2)));
+        assertEquals(Arrays.asList(fileNames.get(0) + ",4", fileNames.get(1)
+                + ",4", fileNames.get(2) + ",2"), readLines(manifest));
+    }
+
+    /**
+     * testPrintDataLine02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) maxLineCount:0、maxBytes:20、repeatHeader:false<br>
+     * (状態) ヘッダ部1行(7バイト)、データ部10行(UTF-8で1行6バイト)を出力<br>
+     * <br>
+     * 期待値：(状態変化) バイト数が20以上になった時点で次のパートに切り替わり、3件、4件、3件の3つのパートが作成されること。
+     * ヘッダ部は最初のパートのみに出力されること。<br>
+     * <br>
+     * 全角文字を含むデータ行をエンコード後のバイト数ごとにパートを切り替えて出力できることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testPrintDataLine02() throws Exception {
+        // 引数の設定
+        String pattern = new File(dir, "part%d.csv").getAbsolutePath();
+
+        // テスト実施
+        RollingFileLineWriter<PartitionedFileLineWriter_Stub01> writer = new RollingFileLineWriter<PartitionedFileLineWriter_Stub01>(createDAO(), PartitionedFileLineWriter_Stub01.class, pattern, 0, 20L, false, null);
+        writer.printHeaderLine(Arrays.asList("header"));
+        for (int i = 0; i < 10; i++) {
+            writer.printDataLine(createLine("あ", i));
+        }
+        writer.closeFile();
+
+        // 状態変化の確認
+        assertEquals(Arrays.asList(3, 4, 3), writer.getPartLineCounts());
+        assertEquals(Arrays.asList("header", "あ,0", "あ,1", "あ,2"),
+                readLines(String.format(pattern, 1)));
+        assertEquals(Arrays.asList("あ,3", "あ,4", "あ,5", "あ,6"),
+                readLines(String.format(pattern, 2)));
+        assertEquals(Arrays.asList("あ,7", "あ,8", "あ,9"), readLines(String
+                .format(pattern, 3)));
+        assertEquals(25L, new File(String.format(pattern, 1)).length());
+    }
+
+    /**
+     * testCloseFile01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) maxLineCount:4、manifestFileName:指定あり<br>
+     * (状態) ヘッダ部1行のみを出力<br>
+     * <br>
+     * 期待値：(状態変化) ヘッダ部のみのパートが1つ作成され、マニフェストファイルに件数0で出力されること。<br>
+     * <br>
+     * データ行が1件もない場合もパートが作成されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCloseFile01() throws Exception {
+        // 引数の設定
+        String pattern = new File(dir, "part%d.csv").getAbsolutePath();
+        String manifest = new File(dir, "manifest.csv").getAbsolutePath();
+
+        // テスト実施
+        RollingFileLineWriter<PartitionedFileLineWriter_Stub01> writer = new RollingFileLineWriter<PartitionedFileLineWriter_Stub01>(createDAO(), PartitionedFileLineWriter_Stub01.class, pattern, 4, 0L, true, manifest);
+        writer.printHeaderLine(Arrays.asList("header"));
+        writer.closeFile();
+
+        // 状態変化の確認
+        assertEquals(Arrays.asList("header"), readLines(String.format(pattern,
+                1)));
+        assertEquals(Arrays.asList(String.format(pattern, 1) + ",0"),
+                readLines(manifest));
+    }
+
+    /**
+     * testRollingFileLineWriter01() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) fileNamePattern:パート番号を埋め込む書式を含まない<br>
+     * <br>
+     * 期待値：(状態変化) 例外:IllegalArgumentException<br>
+     * メッセージ："fileNamePattern must contain part number."<br>
+     * <br>
+     * すべてのパートが同じファイル名となる場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testRollingFileLineWriter01() throws Exception {
+        try {
+            // テスト実施
+            new RollingFileLineWriter<PartitionedFileLineWriter_Stub01>(createDAO(), PartitionedFileLineWriter_Stub01.class, new File(dir, "part.csv")
+                    .getAbsolutePath(), 4);
+            fail("IllegalArgumentExceptionがスローされませんでした。");
+        } catch (IllegalArgumentException e) {
+            // 状態変化の確認
+            assertEquals("fileNamePattern must contain part number.", e
+                    .getMessage());
+        }
+    }
+}
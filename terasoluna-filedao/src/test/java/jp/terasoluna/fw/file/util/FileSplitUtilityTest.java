@@ -0,0 +1,352 @@
+package jp.terasoluna.fw.file.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.dao.FileException;
+import jp.terasoluna.fw.file.dao.standard.CSVFileLineIterator;
+import jp.terasoluna.fw.file.dao.standard.ColumnParser;
+import jp.terasoluna.fw.file.dao.standard.NullColumnParser;
+
+/**
+ * {@link jp.terasoluna.fw.file.util.FileSplitUtility} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> ファイル分割機能を実装するクラス.
+ * <p>
+ * @see jp.terasoluna.fw.file.util.FileSplitUtility
+ */
+public class FileSplitUtilityTest {
+
+    /**
+     * テストで作成したファイルのリスト。
+     */
+    private List<String> createdFiles = new ArrayList<String>();
+
+    /**
+     * テストで作成したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        for (String fileName : createdFiles) {
+            new File(fileName).delete();
+        }
+        FileUtility.setCheckFileExist(false);
+    }
+
+    /**
+     * テストクラスの配置ディレクトリのファイルの絶対パスを取得し、既存のファイルを削除する。
+     * @param name ファイル名
+     * @return ファイルの絶対パス
+     */
+    private String testFile(String name) {
+        String path = new File(FileSplitUtilityTest.class.getResource(
+                "FileSplitUtilityTest.class").getPath()).getParent()
+                + File.separator + name;
+        new File(path).delete();
+        createdFiles.add(path);
+        return path;
+    }
+
+    /**
+     * 分割後のファイルのパスのリストを作成する。
+     * @param prefix ファイル名の接頭辞
+     * @param parts 分割数
+     * @return 分割後のファイルのパスのリスト
+     */
+    private List<String> partFiles(String prefix, int parts) {
+        List<String> partFiles = new ArrayList<String>();
+        for (int i = 0; i < parts; i++) {
+            partFiles.add(testFile(prefix + "_part" + i + ".txt"));
+        }
+        return partFiles;
+    }
+
+    /**
+     * ファイルに文字列を書き込む。
+     * @param fileName ファイル名
+     * @param content 書き込む文字列
+     * @throws Exception 予期しない例外
+     */
+    private void write(String fileName, String content) throws Exception {
+        FileOutputStream fos = new FileOutputStream(fileName);
+        try {
+            fos.write(content.getBytes("UTF-8"));
+        } finally {
+            fos.close();
+        }
+    }
+
+    /**
+     * ファイルの内容を文字列として読み込む。
+     * @param fileName ファイル名
+     * @return ファイルの内容
+     * @throws Exception 予期しない例外
+     */
+    private String read(String fileName) throws Exception {
+        FileInputStream fis = new FileInputStream(fileName);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = fis.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            fis.close();
+        }
+    }
+
+    /**
+     * testSplitFile01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) srcFile:ヘッダ1行、囲み文字の中に行区切り文字を含むデータ30行、トレイラ1行のCSVファイル<br>
+     * (引数) clazz:FileSplitUtility_Stub01.class<br>
+     * (引数) partFiles:4ファイル<br>
+     * (引数) policy:ALL<br>
+     * <br>
+     * 期待値：(状態変化) 分割後の各ファイルが元のファイルと同じフォーマットで読み込め、
+     * ヘッダ部とトレイラ部が同じであり、データ行が元の順序で重複・欠落なく分割されること。<br>
+     * <br>
+     * 囲み文字の中の行区切り文字では分割されないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testSplitFile01() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testSplitFile01.txt");
+        StringBuilder content = new StringBuilder("header\n");
+        for (int i = 0; i < 30; i++) {
+            content.append("\"").append(i).append(
+                    "\",\"line1\nline2\nline3\"\n");
+        }
+        content.append("trailer\n");
+        write(srcFile, content.toString());
+
+        // 引数の設定
+        List<String> partFiles = partFiles("testSplitFile01", 4);
+
+        // テスト実施
+        FileSplitUtility.splitFile(srcFile, FileSplitUtility_Stub01.class,
+                partFiles, HeaderTrailerPolicy.ALL);
+
+        // 状態変化の確認
+        Map<String, ColumnParser> columnParserMap = new HashMap<String, ColumnParser>();
+        columnParserMap.put("java.lang.String", new NullColumnParser());
+        int expected = 0;
+        for (String partFile : partFiles) {
+            CSVFileLineIterator<FileSplitUtility_Stub01> iterator = new CSVFileLineIterator<FileSplitUtility_Stub01>(partFile, FileSplitUtility_Stub01.class, columnParserMap);
+            try {
+                assertEquals("header", iterator.getHeader().get(0));
+                int count = 0;
+                while (iterator.hasNext()) {
+                    FileSplitUtility_Stub01 line = iterator.next();
+                    assertEquals(String.valueOf(expected++), line.getColumn1());
+                    assertEquals("line1\nline2\nline3", line.getColumn2());
+                    count++;
+                }
+                assertTrue(0 < count);
+                assertEquals("trailer", iterator.getTrailer().get(0));
+            } finally {
+                iterator.closeFile();
+            }
+        }
+        assertEquals(30, expected);
+    }
+
+    /**
+     * testSplitFile02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) srcFile:行区切り文字がCRLFで、行の長さが異なるデータ50行のCSVファイル<br>
+     * (引数) clazz:FileSplitUtility_Stub03.class<br>
+     * (引数) partFiles:3ファイル<br>
+     * (引数) policy:FIRST_AND_LAST<br>
+     * <br>
+     * 期待値：(状態変化) 分割後の各ファイルが行の区切りで終わり、順に結合すると元のファイルと同じ内容となること。<br>
+     * <br>
+     * 囲み文字が無い場合に、分割位置の近傍の行区切り文字で分割されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testSplitFile02() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testSplitFile02.txt");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            content.append(i).append(",");
+            for (int j = 0; j < i % 7; j++) {
+                content.append("x");
+            }
+            content.append("\r\n");
+        }
+        write(srcFile, content.toString());
+
+        // 引数の設定
+        List<String> partFiles = partFiles("testSplitFile02", 3);
+
+        // テスト実施
+        FileSplitUtility.splitFile(srcFile, FileSplitUtility_Stub03.class,
+                partFiles, HeaderTrailerPolicy.FIRST_AND_LAST);
+
+        // 状態変化の確認
+        StringBuilder merged = new StringBuilder();
+        for (String partFile : partFiles) {
+            String part = read(partFile);
+            assertTrue(0 < part.length());
+            assertTrue(part.endsWith("\r\n"));
+            merged.append(part);
+        }
+        assertEquals(content.toString(), merged.toString());
+    }
+
+    /**
+     * testSplitFile03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：D <br>
+     * <br>
+     * 入力値：(引数) srcFile:ヘッダ1行、データ2行、トレイラ1行のCSVファイル<br>
+     * (引数) clazz:FileSplitUtility_Stub01.class<br>
+     * (引数) partFiles:5ファイル<br>
+     * (引数) policy:NONE<br>
+     * <br>
+     * 期待値：(状態変化) 分割後のファイルはデータ部のみで、データ行を含まないファイルが出力されること。<br>
+     * <br>
+     * データ行数が分割数より少ない場合に、行が重複・欠落しないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testSplitFile03() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testSplitFile03.txt");
+        write(srcFile, "header\n\"1\",\"a\"\n\"2\",\"b\"\ntrailer\n");
+
+        // 引数の設定
+        List<String> partFiles = partFiles("testSplitFile03", 5);
+
+        // テスト実施
+        FileSplitUtility.splitFile(srcFile, FileSplitUtility_Stub01.class,
+                partFiles, HeaderTrailerPolicy.NONE);
+
+        // 状態変化の確認
+        StringBuilder merged = new StringBuilder();
+        int emptyCount = 0;
+        for (String partFile : partFiles) {
+            String part = read(partFile);
+            if (part.length() == 0) {
+                emptyCount++;
+            }
+            merged.append(part);
+        }
+        assertEquals("\"1\",\"a\"\n\"2\",\"b\"\n", merged.toString());
+        assertEquals(3, emptyCount);
+    }
+
+    /**
+     * testSplitFile04() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) partFiles:存在するファイルを含む<br>
+     * (状態) FileUtility#checkFileExist:false<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："(分割後のファイル) is exist."<br>
+     * (状態変化) 存在するファイル:変更されないこと。<br>
+     * <br>
+     * 分割後のファイルが存在し、上書きが許可されていない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testSplitFile04() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testSplitFile04.txt");
+        write(srcFile, "1,a\r\n2,b\r\n");
+        List<String> partFiles = partFiles("testSplitFile04", 2);
+        write(partFiles.get(1), "exist");
+        FileUtility.setCheckFileExist(false);
+
+        try {
+            // テスト実施
+            FileSplitUtility.splitFile(srcFile,
+                    FileSplitUtility_Stub03.class, partFiles,
+                    HeaderTrailerPolicy.NONE);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals(partFiles.get(1) + " is exist.", e.getMessage());
+            assertEquals("exist", read(partFiles.get(1)));
+            assertTrue(!new File(partFiles.get(0)).exists());
+        }
+    }
+
+    /**
+     * testSplitFixedFile01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) srcFile:行区切り文字が無く、1行5バイトのヘッダ1行、データ10行、トレイラ1行の固定長ファイル<br>
+     * (引数) clazz:FileSplitUtility_Stub02.class<br>
+     * (引数) partFiles:3ファイル<br>
+     * (引数) policy:ALL<br>
+     * <br>
+     * 期待値：(状態変化) 分割後の各ファイルのデータ部が1行分のバイト数の倍数で分割され、
+     * 各ファイルにヘッダ部とトレイラ部が出力されること。<br>
+     * <br>
+     * 行区切り文字が無い固定長ファイルが行の途中で分割されないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testSplitFixedFile01() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testSplitFixedFile01.txt");
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            data.append("r").append(i).append("_xy");
+        }
+        write(srcFile, "HHHHH" + data + "TTTTT");
+
+        // 引数の設定
+        List<String> partFiles = partFiles("testSplitFixedFile01", 3);
+
+        // テスト実施
+        FileSplitUtility.splitFixedFile(srcFile,
+                FileSplitUtility_Stub02.class, partFiles,
+                HeaderTrailerPolicy.ALL);
+
+        // 状態変化の確認
+        StringBuilder merged = new StringBuilder();
+        for (String partFile : partFiles) {
+            String part = read(partFile);
+            assertTrue(part.startsWith("HHHHH"));
+            assertTrue(part.endsWith("TTTTT"));
+            String partData = part.substring(5, part.length() - 5);
+            assertTrue(0 < partData.length());
+            assertEquals(0, partData.length() % 5);
+            assertTrue(partData.startsWith("r"));
+            merged.append(partData);
+        }
+        assertEquals(data.toString(), merged.toString());
+    }
+}
@@ -0,0 +1,58 @@
+package jp.terasoluna.fw.file.util;
+
+import jp.terasoluna.fw.file.annotation.FileFormat;
+import jp.terasoluna.fw.file.annotation.InputFileColumn;
+
+/**
+ * FileFormatアノテーションの設定を持つ、ファイル行オブジェクトスタブクラス
+ * <ul>
+ * <li>@FileFormat(fileEncoding = "UTF-8", headerLineCount = 1, trailerLineCount = 1)
+ * <li>属性
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 0, bytes = 3)<br>
+ * String column1
+ * </ul>
+ * <ul>
+ * <li>@InputFileColumn(columnIndex = 1, bytes = 2)<br>
+ * String column2
+ * </ul>
+ * </ul>
+ */
+@FileFormat(fileEncoding = "UTF-8", headerLineCount = 1, trailerLineCount = 1)
+public class FileSplitUtility_Stub02 {
+
+    @InputFileColumn(columnIndex = 0, bytes = 3)
+    private String column1 = null;
+
+    @InputFileColumn(columnIndex = 1, bytes = 2)
+    private String column2 = null;
+
+    /**
+     * @return column1
+     */
+    public String getColumn1() {
+        return column1;
+    }
+
+    /**
+     * @param column1 設定する column1
+     */
+    public void setColumn1(String column1) {
+        this.column1 = column1;
+    }
+
+    /**
+     * @return column2
+     */
+    public String getColumn2() {
+        return column2;
+    }
+
+    /**
+     * @param column2 設定する column2
+     */
+    public void setColumn2(String column2) {
+        this.column2 = column2;
+    }
+
+}
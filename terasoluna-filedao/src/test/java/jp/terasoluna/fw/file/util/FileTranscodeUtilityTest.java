@@ -0,0 +1,398 @@
+package jp.terasoluna.fw.file.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * {@link jp.terasoluna.fw.file.util.FileTranscodeUtility} クラスのテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> ファイル文字コード変換機能を実装するクラス.
+ * <p>
+ * @see jp.terasoluna.fw.file.util.FileTranscodeUtility
+ */
+public class FileTranscodeUtilityTest {
+
+    /**
+     * テストで作成したファイルのリスト。
+     */
+    private List<String> createdFiles = new ArrayList<String>();
+
+    /**
+     * テストで作成したファイルを削除する。
+     */
+    @After
+    public void tearDown() {
+        for (String fileName : createdFiles) {
+            new File(fileName).delete();
+        }
+        FileUtility.setCheckFileExist(false);
+    }
+
+    /**
+     * テストクラスの配置ディレクトリのファイルの絶対パスを取得し、既存のファイルを削除する。
+     * @param name ファイル名
+     * @return ファイルの絶対パス
+     */
+    private String testFile(String name) {
+        String path = new File(FileTranscodeUtilityTest.class.getResource(
+                "FileTranscodeUtilityTest.class").getPath()).getParent()
+                + File.separator + name;
+        new File(path).delete();
+        createdFiles.add(path);
+        return path;
+    }
+
+    /**
+     * ファイルにバイト列を書き込む。
+     * @param fileName ファイル名
+     * @param content 書き込むバイト列
+     * @throws Exception 予期しない例外
+     */
+    private void write(String fileName, byte[] content) throws Exception {
+        FileOutputStream fos = new FileOutputStream(fileName);
+        try {
+            fos.write(content);
+        } finally {
+            fos.close();
+        }
+    }
+
+    /**
+     * ファイルの内容をバイト列として読み込む。
+     * @param fileName ファイル名
+     * @return ファイルの内容
+     * @throws Exception 予期しない例外
+     */
+    private byte[] read(String fileName) throws Exception {
+        FileInputStream fis = new FileInputStream(fileName);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = fis.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            fis.close();
+        }
+    }
+
+    /**
+     * testTranscodeFile01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) srcFile:全角文字を含む300行と、ブロックサイズを超える1行を含むMS932のファイル<br>
+     * (引数) srcEncoding:MS932、newEncoding:UTF-8<br>
+     * (引数) options:threads=4、blockSize=64<br>
+     * <br>
+     * 期待値：(状態変化) 変換先のファイルが、元の文字列をUTF-8でエンコードした内容と一致すること。<br>
+     * <br>
+     * 複数のブロックに分割して並列に変換しても、文字が欠落・重複せず元の順序で出力されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTranscodeFile01() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testTranscodeFile01_src.txt");
+        String newFile = testFile("testTranscodeFile01_new.txt");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            content.append(i).append(",日本語テキスト①").append(i).append("\r\n");
+            if (i == 150) {
+                for (int j = 0; j < 100; j++) {
+                    content.append("長い行");
+                }
+                content.append("\r\n");
+            }
+        }
+        content.append("最終行(改行なし)");
+        write(srcFile, content.toString().getBytes("MS932"));
+
+        // 引数の設定
+        TranscodeOptions options = new TranscodeOptions();
+        options.setThreads(4);
+        options.setBlockSize(64);
+
+        // テスト実施
+        FileTranscodeUtility.transcodeFile(srcFile, newFile, "MS932",
+                "UTF-8", options);
+
+        // 状態変化の確認
+        assertArrayEquals(content.toString().getBytes("UTF-8"),
+                read(newFile));
+    }
+
+    /**
+     * testTranscodeFile02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) srcFile:MS932の「～」(U+FF5E)、「－」(U+FF0D)を含むファイル<br>
+     * (引数) options:文字の対応表 U+FF5E→U+301C、U+FF0D→U+2212<br>
+     * <br>
+     * 期待値：(状態変化) 対応表で置き換えた文字がUTF-8で出力されること。<br>
+     * <br>
+     * ベンダー固有文字の対応表に従って文字を置き換えることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTranscodeFile02() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testTranscodeFile02_src.txt");
+        String newFile = testFile("testTranscodeFile02_new.txt");
+        write(srcFile, "1～2－3\n".getBytes("MS932"));
+
+        // 引数の設定
+        TranscodeOptions options = new TranscodeOptions();
+        options.putCharacterMapping('～', '〜');
+        options.putCharacterMapping('－', '−');
+
+        // テスト実施
+        FileTranscodeUtility.transcodeFile(srcFile, newFile, "MS932",
+                "UTF-8", options);
+
+        // 状態変化の確認
+        assertEquals("1〜2−3\n", new String(read(newFile), "UTF-8"));
+    }
+
+    /**
+     * testTranscodeFile03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) srcFile:MS932で表現できない文字「𠮷」と不正なバイト列を含むUTF-8のファイル<br>
+     * (引数) newEncoding:MS932<br>
+     * (引数) options:replacement="〓"<br>
+     * <br>
+     * 期待値：(状態変化) 表現できない文字と不正なバイト列が置換文字列に置き換えられること。<br>
+     * <br>
+     * 置換文字列を設定した場合はエラーとせずに置き換えることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTranscodeFile03() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testTranscodeFile03_src.txt");
+        String newFile = testFile("testTranscodeFile03_new.txt");
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.write("a𠮷b".getBytes("UTF-8"));
+        content.write(0xFF);
+        content.write("c\n".getBytes("UTF-8"));
+        write(srcFile, content.toByteArray());
+
+        // 引数の設定
+        TranscodeOptions options = new TranscodeOptions();
+        options.setReplacement("〓");
+
+        // テスト実施
+        FileTranscodeUtility.transcodeFile(srcFile, newFile, "UTF-8",
+                "MS932", options);
+
+        // 状態変化の確認
+        assertEquals("a〓b〓c\n", new String(read(newFile), "MS932"));
+    }
+
+    /**
+     * testTranscodeFile04() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) srcFile:5バイト目に不正なバイト列を含むUTF-8のファイル<br>
+     * (引数) options:replacement未設定<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："Malformed input was found. offset: 4"<br>
+     * <br>
+     * 置換文字列を設定しない場合、不正なバイト列の位置を含む例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTranscodeFile04() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testTranscodeFile04_src.txt");
+        String newFile = testFile("testTranscodeFile04_new.txt");
+        write(srcFile, new byte[] { 'a', '\n', 'b', 'c', (byte) 0xFF, '\n' });
+
+        // 引数の設定
+        TranscodeOptions options = new TranscodeOptions();
+        options.setBlockSize(2);
+
+        try {
+            // テスト実施
+            FileTranscodeUtility.transcodeFile(srcFile, newFile, "UTF-8",
+                    "MS932", options);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("Malformed input was found. offset: 4", e
+                    .getMessage());
+            assertEquals(srcFile, e.getFileName());
+        }
+    }
+
+    /**
+     * testTranscodeFile05() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) srcEncoding:UTF-16<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："LF must be ASCII in source encoding to transcode file."<br>
+     * <br>
+     * ブロックの区切り位置を判定できない文字コードの場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTranscodeFile05() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testTranscodeFile05_src.txt");
+        String newFile = testFile("testTranscodeFile05_new.txt");
+        write(srcFile, "abc\n".getBytes("UTF-16"));
+
+        try {
+            // テスト実施
+            FileTranscodeUtility.transcodeFile(srcFile, newFile, "UTF-16",
+                    "UTF-8");
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("LF must be ASCII in source encoding to transcode file.", e
+                    .getMessage());
+        }
+    }
+
+    /**
+     * testTranscodeFile06() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) srcFile:行区切り文字がCRで、全角文字を含む300行のMS932のファイル(LFを含まない)<br>
+     * (引数) srcEncoding:MS932、newEncoding:UTF-8<br>
+     * (引数) options:threads=4、blockSize=5<br>
+     * <br>
+     * 期待値：(状態変化) 変換先のファイルが、元の文字列をUTF-8でエンコードした内容と一致すること。<br>
+     * <br>
+     * LFを含まないファイルを文字の境界で区切って変換しても、文字が欠落・重複・分断されないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTranscodeFile06() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testTranscodeFile06_src.txt");
+        String newFile = testFile("testTranscodeFile06_new.txt");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            content.append(i).append(",日本語テキスト①").append(i).append("\r");
+        }
+        write(srcFile, content.toString().getBytes("MS932"));
+
+        // 引数の設定
+        TranscodeOptions options = new TranscodeOptions();
+        options.setThreads(4);
+        options.setBlockSize(5);
+
+        // テスト実施
+        FileTranscodeUtility.transcodeFile(srcFile, newFile, "MS932",
+                "UTF-8", options);
+
+        // 状態変化の確認
+        assertArrayEquals(content.toString().getBytes("UTF-8"),
+                read(newFile));
+    }
+
+    /**
+     * testTranscodeFile07() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) srcFile:不正なバイト列を含むUTF-8のファイル<br>
+     * (引数) newFile:内容が"old"の既存のファイル<br>
+     * (状態) checkFileExist:true<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * (状態変化) 変換先のファイルの内容が"old"のままであること。一時ファイルが残らないこと。<br>
+     * <br>
+     * 変換に失敗した場合、既存の変換先のファイルが変更されず、一時ファイルが削除されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTranscodeFile07() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testTranscodeFile07_src.txt");
+        String newFile = testFile("testTranscodeFile07_new.txt");
+        write(srcFile, new byte[] { 'a', '\n', 'b', 'c', (byte) 0xFF, '\n' });
+        write(newFile, "old".getBytes("UTF-8"));
+        FileUtility.setCheckFileExist(true);
+
+        try {
+            // テスト実施
+            FileTranscodeUtility.transcodeFile(srcFile, newFile, "UTF-8",
+                    "MS932");
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals("old", new String(read(newFile), "UTF-8"));
+            String[] names = new File(newFile).getParentFile().list();
+            for (String name : names) {
+                assertFalse(name, name.startsWith("testTranscodeFile07_new.txt")
+                        && name.endsWith(".tmp"));
+            }
+        }
+    }
+
+    /**
+     * testTranscodeFile08() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) srcFile:全角文字を含むMS932のファイル<br>
+     * (引数) newFile:内容が"old"の既存のファイル<br>
+     * (状態) checkFileExist:true<br>
+     * <br>
+     * 期待値：(状態変化) 変換先のファイルが変換結果で置き換えられること。<br>
+     * <br>
+     * 変換が完了した場合、既存の変換先のファイルが置き換えられることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTranscodeFile08() throws Exception {
+        // 前提条件の設定
+        String srcFile = testFile("testTranscodeFile08_src.txt");
+        String newFile = testFile("testTranscodeFile08_new.txt");
+        write(srcFile, "日本語\n".getBytes("MS932"));
+        write(newFile, "old".getBytes("UTF-8"));
+        FileUtility.setCheckFileExist(true);
+
+        // テスト実施
+        FileTranscodeUtility.transcodeFile(srcFile, newFile, "MS932",
+                "UTF-8");
+
+        // 状態変化の確認
+        assertEquals("日本語\n", new String(read(newFile), "UTF-8"));
+    }
+}
@@ -0,0 +1,1082 @@
+package jp.terasoluna.fw.file.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jp.terasoluna.fw.file.dao.FileException;
+
+/**
+ * {@link jp.terasoluna.fw.file.util.FileUtility} クラスのゼロコピー転送のテスト。
+ * <p>
+ * <h4>【クラスの概要】</h4> ファイル操作機能を実装するクラス.
+ * <p>
+ * @see jp.terasoluna.fw.file.util.FileUtility
+ */
+public class FileUtilityTransferTest {
+
+    /**
+     * テストクラスの配置ディレクトリに、指定した内容のファイルを作成する。
+     * @param name ファイル名
+     * @param content ファイルの内容
+     * @return 作成したファイルの絶対パス
+     * @throws Exception 予期しない例外
+     */
+    private String createTestFile(String name, String content) throws Exception {
+        return createBinaryTestFile(name, content == null ? null : content
+                .getBytes("UTF-8"));
+    }
+
+    /**
+     * テストクラスの配置ディレクトリに、指定したバイト列のファイルを作成する。
+     * @param name ファイル名
+     * @param content ファイルの内容。nullの場合はファイルを作成しない
+     * @return 作成したファイルの絶対パス
+     * @throws Exception 予期しない例外
+     */
+    private String createBinaryTestFile(String name,
+            byte[] content) throws Exception {
+        String classFileName = this.getClass().getSimpleName() + ".class";
+        URL url = this.getClass().getResource(classFileName);
+        String directoryPath = url.getPath().substring(0,
+                url.getPath().length() - classFileName.length());
+        File file = new File(directoryPath + name);
+        file.delete();
+        if (content != null) {
+            FileOutputStream fos = new FileOutputStream(file);
+            try {
+                fos.write(content);
+            } finally {
+                fos.close();
+            }
+        }
+        return file.getAbsolutePath();
+    }
+
+    /**
+     * 0x00～0xFFのバイト値を繰り返すバイト列を作成する。
+     * @param length バイト数
+     * @param start 先頭のバイト値
+     * @return バイト列
+     */
+    private byte[] createBinaryContent(int length, int start) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (start + i);
+        }
+        return content;
+    }
+
+    /**
+     * ファイルの内容をバイト列として読み込む。
+     * @param fileName ファイルのパス
+     * @return ファイルの内容
+     * @throws Exception 予期しない例外
+     */
+    private byte[] readTestFileBytes(String fileName) throws Exception {
+        FileInputStream fis = new FileInputStream(fileName);
+        try {
+            byte[] bytes = new byte[(int) new File(fileName).length()];
+            int offset = 0;
+            while (offset < bytes.length) {
+                offset += fis.read(bytes, offset, bytes.length - offset);
+            }
+            return bytes;
+        } finally {
+            fis.close();
+        }
+    }
+
+    /**
+     * ファイルの内容を文字列として読み込む。
+     * @param fileName ファイルのパス
+     * @return ファイルの内容
+     * @throws Exception 予期しない例外
+     */
+    private String readTestFile(String fileName) throws Exception {
+        return new String(readTestFileBytes(fileName), "UTF-8");
+    }
+
+    /**
+     * testCopyFileByTransfer01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) srcFile:存在するファイルの絶対パス<br>
+     * (引数) newFile:存在しないファイルの絶対パス<br>
+     * (引数) lock:true<br>
+     * <br>
+     * 期待値：(状態変化) newFileで指定したファイル:コピー元と同一の内容であること。<br>
+     * <br>
+     * ファイルロックを取得してゼロコピーでコピーされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCopyFileByTransfer01() throws Exception {
+        // 引数の設定
+        String srcFile = createTestFile("testCopyFileByTransfer01_src.txt",
+                "あいうえお\r\nabcde\r\n");
+        String newFile = createTestFile("testCopyFileByTransfer01_new.txt",
+                null);
+
+        try {
+            // テスト実施
+            FileUtility.copyFileByTransfer(srcFile, newFile, true);
+
+            // 状態変化の確認
+            assertEquals("あいうえお\r\nabcde\r\n", readTestFile(newFile));
+        } finally {
+            // テスト後ファイルを削除
+            new File(srcFile).delete();
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testCopyFileByTransfer02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) srcFile:存在するファイルの絶対パス<br>
+     * (引数) newFile:存在するファイルの絶対パス<br>
+     * (引数) lock:false<br>
+     * (状態) this.checkFileExist:false<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："(newFile) is exist."<br>
+     * (状態変化) newFileで指定したファイル:変更されないこと。<br>
+     * <br>
+     * コピー先のファイルが存在し、上書きが許可されていない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCopyFileByTransfer02() throws Exception {
+        // 引数の設定
+        String srcFile = createTestFile("testCopyFileByTransfer02_src.txt",
+                "abc");
+        String newFile = createTestFile("testCopyFileByTransfer02_new.txt",
+                "xyz");
+
+        // 前提条件の設定
+        ReflectionTestUtils.setField(FileUtility.class, "checkFileExist", false);
+
+        try {
+            // テスト実施
+            FileUtility.copyFileByTransfer(srcFile, newFile, false);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals(newFile + " is exist.", e.getMessage());
+            assertEquals("xyz", readTestFile(newFile));
+        } finally {
+            // テスト後ファイルを削除
+            new File(srcFile).delete();
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testMergeFileByTransfer01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) fileList:存在する3ファイル(うち1ファイルは空)の絶対パス<br>
+     * (引数) newFile:存在するファイルの絶対パス<br>
+     * (引数) lock:false<br>
+     * (状態) this.checkFileExist:true<br>
+     * <br>
+     * 期待値：(状態変化) newFileで指定したファイル:結合元のファイルがリストの順に結合された内容であること。<br>
+     * <br>
+     * 結合先のファイルが削除され、ゼロコピーで結合されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMergeFileByTransfer01() throws Exception {
+        // 引数の設定
+        List<String> fileList = new ArrayList<String>();
+        fileList.add(createTestFile("testMergeFileByTransfer01_src1.txt",
+                "111\n"));
+        fileList.add(createTestFile("testMergeFileByTransfer01_src2.txt", ""));
+        fileList.add(createTestFile("testMergeFileByTransfer01_src3.txt",
+                "333\n"));
+        String newFile = createTestFile("testMergeFileByTransfer01_new.txt",
+                "old");
+
+        // 前提条件の設定
+        ReflectionTestUtils.setField(FileUtility.class, "checkFileExist", true);
+
+        try {
+            // テスト実施
+            FileUtility.mergeFileByTransfer(fileList, newFile, false);
+
+            // 状態変化の確認
+            assertEquals("111\n333\n", readTestFile(newFile));
+        } finally {
+            // テスト後ファイルを削除
+            for (String srcFile : fileList) {
+                new File(srcFile).delete();
+            }
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testAppendFile01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) srcFile:存在するファイルの絶対パス<br>
+     * (引数) targetFile:存在するファイルの絶対パス<br>
+     * (引数) lock:true<br>
+     * <br>
+     * 期待値：(状態変化) targetFileで指定したファイル:元の内容の末尾に追記元の内容が追記されていること。<br>
+     * <br>
+     * 追記先のファイルの末尾に追記されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testAppendFile01() throws Exception {
+        // 引数の設定
+        String srcFile = createTestFile("testAppendFile01_src.txt", "def");
+        String targetFile = createTestFile("testAppendFile01_target.txt",
+                "abc");
+
+        try {
+            // テスト実施
+            FileUtility.appendFile(srcFile, targetFile, true);
+
+            // 状態変化の確認
+            assertEquals("abcdef", readTestFile(targetFile));
+            assertEquals("def", readTestFile(srcFile));
+        } finally {
+            // テスト後ファイルを削除
+            new File(srcFile).delete();
+            new File(targetFile).delete();
+        }
+    }
+
+    /**
+     * testAppendFile02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) srcFile:存在しないファイルの絶対パス<br>
+     * (引数) targetFile:存在しないファイルの絶対パス<br>
+     * (引数) lock:false<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："(srcFile) is not exist."<br>
+     * (状態変化) targetFileで指定したファイル:作成されないこと。<br>
+     * <br>
+     * 追記元のファイルが存在しない場合に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testAppendFile02() throws Exception {
+        // 引数の設定
+        String srcFile = createTestFile("testAppendFile02_src.txt", null);
+        String targetFile = createTestFile("testAppendFile02_target.txt",
+                null);
+
+        try {
+            // テスト実施
+            FileUtility.appendFile(srcFile, targetFile, false);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals(srcFile + " is not exist.", e.getMessage());
+            assertFalse(new File(targetFile).exists());
+        }
+    }
+
+    /**
+     * testMergeFileParallel01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) fileList:存在する20ファイルの絶対パス(サイズはそれぞれ異なる)<br>
+     * (引数) newFile:存在しないファイルの絶対パス<br>
+     * (引数) threads:4<br>
+     * (引数) lock:true<br>
+     * <br>
+     * 期待値：(状態変化) newFileで指定したファイル:結合元のファイルがリストの順に結合された内容であること。<br>
+     * <br>
+     * 複数スレッドで並列に転送しても、各ファイルが算出した位置に書き込まれることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMergeFileParallel01() throws Exception {
+        // 引数の設定
+        List<String> fileList = new ArrayList<String>();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int j = 0; j <= i * 100; j++) {
+                content.append((char) ('a' + i));
+            }
+            content.append("\n");
+            expected.append(content);
+            fileList.add(createTestFile("testMergeFileParallel01_src" + i
+                    + ".txt", content.toString()));
+        }
+        String newFile = createTestFile("testMergeFileParallel01_new.txt",
+                null);
+
+        try {
+            // テスト実施
+            FileUtility.mergeFileParallel(fileList, newFile, 4, true);
+
+            // 状態変化の確認
+            assertEquals(expected.toString(), readTestFile(newFile));
+        } finally {
+            // テスト後ファイルを削除
+            for (String srcFile : fileList) {
+                new File(srcFile).delete();
+            }
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testMergeFileParallel02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) fileList:存在するファイルと存在しないファイルの絶対パス<br>
+     * (引数) newFile:存在しないファイルの絶対パス<br>
+     * (引数) threads:2<br>
+     * (引数) lock:false<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："(存在しないファイル) is not exist."<br>
+     * (状態変化) newFileで指定したファイル:作成されないこと。<br>
+     * <br>
+     * 結合元のファイルが存在しない場合、結合先を作成する前に例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMergeFileParallel02() throws Exception {
+        // 引数の設定
+        List<String> fileList = new ArrayList<String>();
+        fileList.add(createTestFile("testMergeFileParallel02_src1.txt", "1"));
+        String notExist = createTestFile("testMergeFileParallel02_src2.txt",
+                null);
+        fileList.add(notExist);
+        String newFile = createTestFile("testMergeFileParallel02_new.txt",
+                null);
+
+        try {
+            // テスト実施
+            FileUtility.mergeFileParallel(fileList, newFile, 2, false);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals(notExist + " is not exist.", e.getMessage());
+            assertFalse(new File(newFile).exists());
+        } finally {
+            // テスト後ファイルを削除
+            new File(fileList.get(0)).delete();
+        }
+    }
+
+    /**
+     * testCopyFileByTransfer03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) srcFile:存在するファイルの絶対パス<br>
+     * (引数) newFile:srcFileと同じファイルを指す絶対パス<br>
+     * (引数) lock:true<br>
+     * (状態) this.checkFileExist:true<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："(srcFile) is same as (newFile)."<br>
+     * (状態変化) srcFileで指定したファイル:削除・変更されないこと。<br>
+     * <br>
+     * コピー元とコピー先が同一のファイルの場合、コピー元を削除せずに例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testCopyFileByTransfer03() throws Exception {
+        // 引数の設定
+        String srcFile = createTestFile("testCopyFileByTransfer03_src.txt",
+                "abc");
+        File srcFileObject = new File(srcFile);
+        String newFile = srcFileObject.getParent() + File.separator + "."
+                + File.separator + srcFileObject.getName();
+
+        // 前提条件の設定
+        ReflectionTestUtils.setField(FileUtility.class, "checkFileExist", true);
+
+        try {
+            // テスト実施
+            FileUtility.copyFileByTransfer(srcFile, newFile, true);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals(srcFile + " is same as " + newFile + ".", e
+                    .getMessage());
+            assertEquals(srcFile, e.getFileName());
+            assertEquals("abc", readTestFile(srcFile));
+        } finally {
+            // テスト後ファイルを削除
+            srcFileObject.delete();
+        }
+    }
+
+    /**
+     * testMergeFileByTransfer02() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) fileList:空のリスト<br>
+     * (引数) newFile:存在しないファイルの絶対パス<br>
+     * (引数) lock:true<br>
+     * <br>
+     * 期待値：(状態変化) newFileで指定したファイル:空のファイルが作成されること。<br>
+     * <br>
+     * 結合するファイルがない場合、空の結合先のファイルが作成されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMergeFileByTransfer02() throws Exception {
+        // 引数の設定
+        List<String> fileList = new ArrayList<String>();
+        String newFile = createTestFile("testMergeFileByTransfer02_new.txt",
+                null);
+
+        try {
+            // テスト実施
+            FileUtility.mergeFileByTransfer(fileList, newFile, true);
+
+            // 状態変化の確認
+            assertTrue(new File(newFile).exists());
+            assertEquals(0L, new File(newFile).length());
+        } finally {
+            // テスト後ファイルを削除
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testMergeFileByTransfer03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) fileList:0x00～0xFFの全バイト値を含む2ファイルの絶対パス<br>
+     * (引数) newFile:存在しないファイルの絶対パス<br>
+     * (引数) lock:true<br>
+     * <br>
+     * 期待値：(状態変化) newFileで指定したファイル:結合元のバイト列をリストの順に連結したバイト列と一致すること。<br>
+     * <br>
+     * 文字列として扱えないバイト値を含むファイルも、バイト単位で同一に結合されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMergeFileByTransfer03() throws Exception {
+        // 引数の設定
+        byte[] content1 = createBinaryContent(70000, 0);
+        byte[] content2 = createBinaryContent(12345, 7);
+        List<String> fileList = new ArrayList<String>();
+        fileList.add(createBinaryTestFile("testMergeFileByTransfer03_src1.dat",
+                content1));
+        fileList.add(createBinaryTestFile("testMergeFileByTransfer03_src2.dat",
+                content2));
+        String newFile = createTestFile("testMergeFileByTransfer03_new.dat",
+                null);
+
+        try {
+            // テスト実施
+            FileUtility.mergeFileByTransfer(fileList, newFile, true);
+
+            // 状態変化の確認
+            byte[] expected = new byte[content1.length + content2.length];
+            System.arraycopy(content1, 0, expected, 0, content1.length);
+            System.arraycopy(content2, 0, expected, content1.length,
+                    content2.length);
+            assertArrayEquals(expected, readTestFileBytes(newFile));
+        } finally {
+            // テスト後ファイルを削除
+            for (String srcFile : fileList) {
+                new File(srcFile).delete();
+            }
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testAppendFile03() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) srcFile:存在するファイルの絶対パス<br>
+     * (引数) targetFile:srcFileと同じ絶対パス<br>
+     * (引数) lock:false<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："(srcFile) is same as (targetFile)."<br>
+     * (状態変化) srcFileで指定したファイル:変更されないこと。<br>
+     * <br>
+     * 追記元と追記先が同一のファイルの場合、例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testAppendFile03() throws Exception {
+        // 引数の設定
+        String srcFile = createTestFile("testAppendFile03_src.txt", "abc");
+
+        try {
+            // テスト実施
+            FileUtility.appendFile(srcFile, srcFile, false);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals(srcFile + " is same as " + srcFile + ".", e
+                    .getMessage());
+            assertEquals("abc", readTestFile(srcFile));
+        } finally {
+            // テスト後ファイルを削除
+            new File(srcFile).delete();
+        }
+    }
+
+    /**
+     * testMergeFileParallel03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) fileList:空のリスト<br>
+     * (引数) newFile:存在しないファイルの絶対パス<br>
+     * (引数) threads:2<br>
+     * (引数) lock:true<br>
+     * <br>
+     * 期待値：(状態変化) newFileで指定したファイル:空のファイルが作成されること。<br>
+     * <br>
+     * 結合するファイルがない場合、空の結合先のファイルが作成されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMergeFileParallel03() throws Exception {
+        // 引数の設定
+        List<String> fileList = new ArrayList<String>();
+        String newFile = createTestFile("testMergeFileParallel03_new.txt",
+                null);
+
+        try {
+            // テスト実施
+            FileUtility.mergeFileParallel(fileList, newFile, 2, true);
+
+            // 状態変化の確認
+            assertTrue(new File(newFile).exists());
+            assertEquals(0L, new File(newFile).length());
+        } finally {
+            // テスト後ファイルを削除
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testMergeFileParallel04() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) fileList:存在する2ファイルの絶対パス(2つ目はnewFileと同じ)<br>
+     * (引数) newFile:存在するファイルの絶対パス<br>
+     * (引数) threads:2<br>
+     * (引数) lock:true<br>
+     * (状態) this.checkFileExist:true<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * メッセージ："(newFile) is same as (newFile)."<br>
+     * (状態変化) newFileで指定したファイル:削除・変更されないこと。<br>
+     * <br>
+     * 結合元に結合先と同一のファイルが含まれる場合、結合先を削除せずに例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMergeFileParallel04() throws Exception {
+        // 引数の設定
+        String newFile = createTestFile("testMergeFileParallel04_new.txt",
+                "new");
+        List<String> fileList = new ArrayList<String>();
+        fileList.add(createTestFile("testMergeFileParallel04_src1.txt", "1"));
+        fileList.add(newFile);
+
+        // 前提条件の設定
+        ReflectionTestUtils.setField(FileUtility.class, "checkFileExist", true);
+
+        try {
+            // テスト実施
+            FileUtility.mergeFileParallel(fileList, newFile, 2, true);
+            fail("FileExceptionがスローされませんでした。");
+        } catch (FileException e) {
+            // 状態変化の確認
+            assertEquals(newFile + " is same as " + newFile + ".", e
+                    .getMessage());
+            assertEquals("new", readTestFile(newFile));
+        } finally {
+            // テスト後ファイルを削除
+            new File(fileList.get(0)).delete();
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testMergeFileParallel05() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) fileList:0x00～0xFFの全バイト値を含む8ファイル(空のファイルを含む)の絶対パス<br>
+     * (引数) newFile:存在しないファイルの絶対パス<br>
+     * (引数) threads:3<br>
+     * (引数) lock:false<br>
+     * <br>
+     * 期待値：(状態変化) newFileで指定したファイル:結合元のバイト列をリストの順に連結したバイト列と一致すること。<br>
+     * <br>
+     * 並列に結合した結果が、バイト単位で逐次に連結した結果と一致することを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMergeFileParallel05() throws Exception {
+        // 引数の設定
+        List<String> fileList = new ArrayList<String>();
+        byte[] expected = new byte[0];
+        for (int i = 0; i < 8; i++) {
+            byte[] content = createBinaryContent((i % 3) * 40000 + i, i);
+            byte[] merged = new byte[expected.length + content.length];
+            System.arraycopy(expected, 0, merged, 0, expected.length);
+            System.arraycopy(content, 0, merged, expected.length,
+                    content.length);
+            expected = merged;
+            fileList.add(createBinaryTestFile("testMergeFileParallel05_src"
+                    + i + ".dat", content));
+        }
+        String newFile = createTestFile("testMergeFileParallel05_new.dat",
+                null);
+
+        try {
+            // テスト実施
+            FileUtility.mergeFileParallel(fileList, newFile, 3, false);
+
+            // 状態変化の確認
+            assertArrayEquals(expected, readTestFileBytes(newFile));
+        } finally {
+            // テスト後ファイルを削除
+            for (String srcFile : fileList) {
+                new File(srcFile).delete();
+            }
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testMergeFileParallel06() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) fileList:存在する2ファイルの絶対パス<br>
+     * (引数) newFile:存在しないファイルの絶対パス<br>
+     * (引数) threads:2<br>
+     * (引数) lock:true<br>
+     * <br>
+     * 期待値：(状態変化) newFileで指定したファイル:結合の完了後に同一プロセスから排他ロックを取得できること。<br>
+     * <br>
+     * 結合先の排他ロックが結合の完了時に解放されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testMergeFileParallel06() throws Exception {
+        // 引数の設定
+        List<String> fileList = new ArrayList<String>();
+        fileList.add(createTestFile("testMergeFileParallel06_src1.txt",
+                "aaaaa"));
+        fileList.add(createTestFile("testMergeFileParallel06_src2.txt",
+                "bbbbb"));
+        String newFile = createTestFile("testMergeFileParallel06_new.txt",
+                null);
+
+        try {
+            // テスト実施
+            FileUtility.mergeFileParallel(fileList, newFile, 2, true);
+
+            // 状態変化の確認
+            assertEquals("aaaaabbbbb", readTestFile(newFile));
+            RandomAccessFile file = new RandomAccessFile(newFile, "rw");
+            try {
+                // 同一プロセスでロックが保持されている場合はOverlappingFileLockExceptionとなる
+                FileLock lock = file.getChannel().tryLock();
+                assertNotNull(lock);
+                lock.release();
+            } finally {
+                file.close();
+            }
+        } finally {
+            // テスト後ファイルを削除
+            for (String srcFile : fileList) {
+                new File(srcFile).delete();
+            }
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testTransferEntirely01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C,F <br>
+     * <br>
+     * 入力値：(引数) srcChannel:transferTo()が常に0を返却するFileChannel(転送元のサイズ：20000バイト)<br>
+     * (引数) destChannel:空のファイルのFileChannel<br>
+     * <br>
+     * 期待値：(状態変化) 転送先のファイル:転送元と同一のバイト列であること。<br>
+     * <br>
+     * ゼロコピーの転送が進まない場合でも無限ループとならず、バッファ経由で転送されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTransferEntirely01() throws Exception {
+        // 引数の設定
+        byte[] content = createBinaryContent(20000, 0);
+        String srcFile = createBinaryTestFile("testTransferEntirely01_src.dat",
+                content);
+        String newFile = createTestFile("testTransferEntirely01_new.dat", "");
+
+        FileInputStream fis = new FileInputStream(srcFile);
+        FileOutputStream fos = new FileOutputStream(newFile);
+        try {
+            // テスト実施
+            FileUtility.transferEntirely(new StalledFileChannel(fis
+                    .getChannel()), fos.getChannel());
+            fos.close();
+
+            // 状態変化の確認
+            assertArrayEquals(content, readTestFileBytes(newFile));
+        } finally {
+            fis.close();
+            fos.close();
+            // テスト後ファイルを削除
+            new File(srcFile).delete();
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * transferAt()を呼び出す。
+     * @param srcFile 転送元のファイルのパス
+     * @param destFile 転送先のファイルのパス
+     * @param offset 転送先の開始位置
+     * @param length 転送先の領域のサイズ
+     * @throws Exception transferAt()がスローした例外
+     */
+    private void invokeTransferAt(String srcFile, String destFile,
+            long offset, long length) throws Exception {
+        RandomAccessFile dest = new RandomAccessFile(destFile, "rw");
+        try {
+            FileUtility.transferAt(new File(srcFile), dest.getChannel(),
+                    offset, length, false);
+        } finally {
+            dest.close();
+        }
+    }
+
+    /**
+     * testTransferAt01() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) srcFile:5バイトのファイル<br>
+     * (引数) destChannel:"xxxxxyyyyy"のファイルのFileChannel<br>
+     * (引数) offset:5<br>
+     * (引数) length:5<br>
+     * <br>
+     * 期待値：(状態変化) 転送先のファイル:"xxxxxaaaaa"<br>
+     * <br>
+     * 転送先の指定位置から、指定サイズ分が転送されることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTransferAt01() throws Exception {
+        // 引数の設定
+        String srcFile = createTestFile("testTransferAt01_src.txt", "aaaaa");
+        String newFile = createTestFile("testTransferAt01_new.txt",
+                "xxxxxyyyyy");
+
+        try {
+            // テスト実施
+            invokeTransferAt(srcFile, newFile, 5L, 5L);
+
+            // 状態変化の確認
+            assertEquals("xxxxxaaaaa", readTestFile(newFile));
+        } finally {
+            // テスト後ファイルを削除
+            new File(srcFile).delete();
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testTransferAt02() <br>
+     * <br>
+     * (異常系) <br>
+     * 観点：G <br>
+     * <br>
+     * 入力値：(引数) srcFile:10バイトのファイル(開始位置の算出後に増加)、5バイトのファイル(開始位置の算出後に減少)<br>
+     * (引数) destChannel:"xxxxxyyyyyzzzzz"のファイルのFileChannel<br>
+     * (引数) offset:5<br>
+     * (引数) length:8<br>
+     * <br>
+     * 期待値：(状態変化) 例外:FileException<br>
+     * (状態変化) 転送先のファイル:変更されないこと。<br>
+     * <br>
+     * 転送元のサイズが転送先の領域のサイズと異なる場合、他の領域を上書きせずに例外がスローされることを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTransferAt02() throws Exception {
+        // 引数の設定
+        String grownFile = createTestFile("testTransferAt02_src1.txt",
+                "aaaaaaaaaa");
+        String shrunkFile = createTestFile("testTransferAt02_src2.txt",
+                "bbbbb");
+        String newFile = createTestFile("testTransferAt02_new.txt",
+                "xxxxxyyyyyzzzzz");
+
+        try {
+            for (String srcFile : new String[] { grownFile, shrunkFile }) {
+                try {
+                    // テスト実施
+                    invokeTransferAt(srcFile, newFile, 5L, 8L);
+                    fail("FileExceptionがスローされませんでした。");
+                } catch (FileException e) {
+                    // 状態変化の確認
+                    assertEquals("Source file size was changed during the merge.", e
+                            .getMessage());
+                    assertEquals(srcFile, e.getFileName());
+                    assertEquals("xxxxxyyyyyzzzzz", readTestFile(newFile));
+                }
+            }
+        } finally {
+            // テスト後ファイルを削除
+            new File(grownFile).delete();
+            new File(shrunkFile).delete();
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * testTransferAt03() <br>
+     * <br>
+     * (正常系) <br>
+     * 観点：C <br>
+     * <br>
+     * 入力値：(引数) srcFile:5バイトのファイル<br>
+     * (引数) destChannel:排他ロックを取得済みの"xxxxxyyyyy"のファイルのFileChannel<br>
+     * (引数) offset:0、5(同じFileChannelで2回転送)<br>
+     * (引数) lock:true<br>
+     * <br>
+     * 期待値：(状態変化) 転送先のFileChannel:開いたままであり、排他ロックが有効であること。<br>
+     * 同一プロセスの別のFileChannelから転送先のロックを取得できないこと。<br>
+     * <br>
+     * 並列結合で1つの転送が完了しても、共有する転送先のFileChannelとその排他ロックが解放されないことを確認する。 <br>
+     * @throws Exception このメソッドで発生した例外
+     */
+    @Test
+    public void testTransferAt03() throws Exception {
+        // 引数の設定
+        String srcFile = createTestFile("testTransferAt03_src.txt", "aaaaa");
+        String newFile = createTestFile("testTransferAt03_new.txt",
+                "xxxxxyyyyy");
+
+        RandomAccessFile dest = new RandomAccessFile(newFile, "rw");
+        try {
+            FileChannel destChannel = dest.getChannel();
+            FileLock destLock = destChannel.lock();
+
+            // テスト実施
+            FileUtility.transferAt(new File(srcFile), destChannel, 0L, 5L,
+                    true);
+
+            // 状態変化の確認
+            assertTrue(destChannel.isOpen());
+            assertTrue(destLock.isValid());
+            RandomAccessFile other = new RandomAccessFile(newFile, "rw");
+            try {
+                other.getChannel().tryLock();
+                fail("OverlappingFileLockExceptionがスローされませんでした。");
+            } catch (OverlappingFileLockException e) {
+                // 転送先のロックが保持されている
+            } finally {
+                other.close();
+            }
+
+            // テスト実施
+            FileUtility.transferAt(new File(srcFile), destChannel, 5L, 5L,
+                    true);
+
+            // 状態変化の確認
+            assertTrue(destLock.isValid());
+            destLock.release();
+        } finally {
+            dest.close();
+        }
+        try {
+            assertEquals("aaaaaaaaaa", readTestFile(newFile));
+        } finally {
+            // テスト後ファイルを削除
+            new File(srcFile).delete();
+            new File(newFile).delete();
+        }
+    }
+
+    /**
+     * transferTo()で転送が進まないFileChannel。<br>
+     * transferTo()以外は、委譲先のFileChannelに処理を委譲する。
+     */
+    private static class StalledFileChannel extends FileChannel {
+
+        /**
+         * 委譲先のFileChannel。
+         */
+        private final FileChannel delegate;
+
+        /**
+         * コンストラクタ。
+         * @param delegate 委譲先のFileChannel
+         */
+        StalledFileChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long transferTo(long position, long count,
+                WritableByteChannel target) {
+            return 0L;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset,
+                int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset,
+                int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position,
+                long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position,
+                long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size,
+                boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size,
+                boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.StringTokenizer;
 
+import jp.terasoluna.fw.util.CharacterClassTable;
 import jp.terasoluna.fw.util.PropertyUtil;
 import jp.terasoluna.fw.util.StringUtil;
 
@@ -74,6 +75,22 @@ public class ValidationUtil {
     protected static final String ZENKAKU_BEGIN_U00_LIST =
         "＼￠￡§¨￢°±´¶×÷";
 
+    /**
+     * <code>ZENKAKU_BEGIN_U00_LIST</code> の判定テーブル。
+     */
+    private static final CharacterClassTable ZENKAKU_BEGIN_U00_TABLE =
+        new CharacterClassTable(ZENKAKU_BEGIN_U00_LIST);
+
+    /**
+     * 半角カナの判定テーブル。
+     */
+    private static volatile CharacterClassTable hankakuKanaTable = null;
+
+    /**
+     * 全角カナの判定テーブル。
+     */
+    private static volatile CharacterClassTable zenkakuKanaTable = null;
+
     static {
         // 半角カナ・全角カナ定義の変更
         setHankakuKanaList();
@@ -111,7 +128,13 @@ public class ValidationUtil {
      * @return 半角カナ文字であれば true
      */
     protected static boolean isHankakuKanaChar(char c) {
-        return hankakuKanaList.indexOf(c) >= 0;
+        CharacterClassTable table = hankakuKanaTable;
+        // 半角カナ定義が変更された場合は判定テーブルを生成し直す。
+        if (table == null || table.getChars() != hankakuKanaList) {
+            table = new CharacterClassTable(hankakuKanaList);
+            hankakuKanaTable = table;
+        }
+        return table.contains(c);
     }
 
     /**
@@ -121,7 +144,7 @@ public class ValidationUtil {
      * @return 半角文字であれば true
      */
     protected static boolean isHankakuChar(char c) {
-        return (c <= '\u00ff' && ZENKAKU_BEGIN_U00_LIST.indexOf(c) < 0)
+        return (c <= '\u00ff' && !ZENKAKU_BEGIN_U00_TABLE.contains(c))
                 || isHankakuKanaChar(c);
     }
 
@@ -142,7 +165,13 @@ public class ValidationUtil {
      * @return 全角カナ文字であれば true
      */
     protected static boolean isZenkakuKanaChar(char c) {
-        return zenkakuKanaList.indexOf(c) >= 0;
+        CharacterClassTable table = zenkakuKanaTable;
+        // 全角カナ定義が変更された場合は判定テーブルを生成し直す。
+        if (table == null || table.getChars() != zenkakuKanaList) {
+            table = new CharacterClassTable(zenkakuKanaList);
+            zenkakuKanaTable = table;
+        }
+        return table.contains(c);
     }
 
     /**